@@ -0,0 +1,134 @@
+# Copyright (c) 2020, Oracle and/or its affiliates.
+#
+# All rights reserved.
+#
+# Redistribution and use in source and binary forms, with or without modification, are
+# permitted provided that the following conditions are met:
+#
+# 1. Redistributions of source code must retain the above copyright notice, this list of
+# conditions and the following disclaimer.
+# 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+# conditions and the following disclaimer in the documentation and/or other materials provided
+# with the distribution.
+#
+# THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+# OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+# MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+# COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+# EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+# GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+# AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+# NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+# OF THE POSSIBILITY OF SUCH DAMAGE.
+# shared part of the import-package-cold and import-package-warm macro benchmarks: creates
+# a large package tree and imports all of its modules
+import importlib
+import os
+import shutil
+import sys
+import tempfile
+
+PACKAGE_NAME = "bench_import_tree"
+SUBPACKAGES = 10
+
+MODULE_TEMPLATE = '''
+import os
+
+
+CONSTANT_%(idx)d = %(idx)d
+
+
+class Base%(idx)d(object):
+    """Docstring of Base%(idx)d."""
+
+    def __init__(self, value=CONSTANT_%(idx)d):
+        self.value = value
+
+    def compute(self, n):
+        result = 0
+        for i in range(n):
+            if i %% 3 == 0:
+                result += i * self.value
+            elif i %% 3 == 1:
+                result -= i
+            else:
+                result ^= i
+        return result
+
+    @property
+    def doubled(self):
+        return self.value * 2
+
+
+class Derived%(idx)d(Base%(idx)d):
+    def compute(self, n):
+        try:
+            return super().compute(n) + len(os.sep)
+        except ValueError as e:
+            raise RuntimeError("unexpected") from e
+
+
+def helper_%(idx)d(*args, **kwargs):
+    items = [a for a in args if a is not None]
+    mapping = {k: v for k, v in kwargs.items() if v}
+    return sorted(items), dict(sorted(mapping.items()))
+'''
+
+_root = None
+_module_names = []
+_saved_dont_write_bytecode = sys.dont_write_bytecode
+
+
+def _create_package_tree(modules):
+    global _root
+    _root = tempfile.mkdtemp(prefix="graalpython-import-bench-")
+    top = os.path.join(_root, PACKAGE_NAME)
+    os.mkdir(top)
+    with open(os.path.join(top, "__init__.py"), "w") as f:
+        f.write("")
+    for idx in range(modules):
+        sub = "sub%d" % (idx % SUBPACKAGES)
+        subdir = os.path.join(top, sub)
+        if not os.path.isdir(subdir):
+            os.mkdir(subdir)
+            with open(os.path.join(subdir, "__init__.py"), "w") as f:
+                f.write("")
+        with open(os.path.join(subdir, "mod%d.py" % idx), "w") as f:
+            f.write(MODULE_TEMPLATE % {"idx": idx})
+        _module_names.append("%s.%s.mod%d" % (PACKAGE_NAME, sub, idx))
+    sys.path.insert(0, _root)
+
+
+def _unload_package_tree():
+    for name in list(sys.modules):
+        if name == PACKAGE_NAME or name.startswith(PACKAGE_NAME + "."):
+            del sys.modules[name]
+    importlib.invalidate_caches()
+
+
+def get_setup(cached):
+    def __setup__(modules):
+        _create_package_tree(modules)
+        sys.dont_write_bytecode = not cached
+        if cached:
+            # populate __pycache__ once, the measured imports only read it
+            for name in _module_names:
+                importlib.import_module(name)
+            _unload_package_tree()
+    return __setup__
+
+
+def __benchmark__(modules):
+    for name in _module_names:
+        importlib.import_module(name)
+
+
+def __cleanup__(modules):
+    _unload_package_tree()
+
+
+def __teardown__():
+    sys.dont_write_bytecode = _saved_dont_write_bytecode
+    if _root is not None:
+        sys.path.remove(_root)
+        shutil.rmtree(_root, ignore_errors=True)
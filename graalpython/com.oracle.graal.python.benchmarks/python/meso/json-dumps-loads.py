@@ -0,0 +1,73 @@
+# Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import json
+
+
+def make_payload(count):
+    # something shaped like a typical REST response: a list of flat records with a few nested
+    # lists and objects, numbers, booleans, nulls and some non-ASCII text
+    records = []
+    for i in range(count):
+        records.append({
+            "id": i,
+            "name": "user-%d" % i,
+            "email": "user%d@example.com" % i,
+            "active": i % 3 != 0,
+            "score": i * 1.25,
+            "tags": ["tag%d" % (i % 7), "tag%d" % (i % 11), "café"],
+            "history": [i, i + 1, i + 2, i + 3],
+            "address": {"street": "Main St. %d" % i, "zip": "%05d" % i, "geo": [47.37 + i / 1000, 8.54]},
+            "manager": None if i % 5 else i // 5,
+        })
+    return {"count": count, "next": None, "results": records}
+
+
+def measure(num):
+    payload = make_payload(1000)
+    checksum = 0
+    for i in range(num):
+        text = json.dumps(payload)
+        data = json.loads(text)
+        checksum += len(text) + len(data["results"])
+    print(checksum)
+
+
+def __benchmark__(num=200):
+    measure(num)
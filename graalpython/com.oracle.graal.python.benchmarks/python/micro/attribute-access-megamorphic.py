@@ -0,0 +1,86 @@
+# Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+# micro benchmark: class attribute and method lookups through deep MROs at megamorphic call sites
+
+iteration = 5000
+
+
+class Base(object):
+    scale = 3
+
+    def weight(self):
+        return 1
+
+
+class Mixin(object):
+    offset = 2
+
+
+def make_class(i):
+    # a chain of intermediate classes, so lookups of inherited attributes walk a long MRO
+    cls = Base
+    for depth in range(i % 4 + 1):
+        cls = type("Level%d_%d" % (i, depth), (cls,), {})
+    return type("Leaf%d" % i, (cls, Mixin), {})
+
+
+# more receiver classes than the inline caches hold
+CLASSES = [make_class(i) for i in range(32)]
+OBJECTS = [cls() for cls in CLASSES]
+
+
+def do_stuff():
+    objects = OBJECTS
+    total = 0
+    for i in range(iteration):
+        for o in objects:
+            total = (total + o.weight() * o.scale + o.offset) % 7
+
+    return total
+
+
+def measure(num):
+    for i in range(num):
+        result = do_stuff()
+
+    print(result)
+
+
+def __benchmark__(num=1000):
+    measure(num)
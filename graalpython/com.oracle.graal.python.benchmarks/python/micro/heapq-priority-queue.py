@@ -1,4 +1,4 @@
-# Copyright (c) 2018, 2020, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -37,23 +37,36 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
+import heapq
 
-def _sort(self, key=None, reverse=False):
-    if reverse:
-        if key:
-            lt = lambda a,b: key(a) > key(b)
-        else:
-            lt = lambda a,b: a > b
-    else:
-        if key:
-            lt = lambda a,b: key(a) < key(b)
-        else:
-            lt = lambda a,b: a < b
-    origLen = len(self)
-    TimSort(self, lt=lt).sort()
-    if(origLen != len(self)):
-        raise ValueError("list modified during sort")
-    return None
-
-
-list._sort = _sort
+
+class Task:
+    def __init__(self, name, cost):
+        self.name = name
+        self.cost = cost
+
+
+def schedule(num, workers):
+    # a discrete event scheduler with (time, sequence, task) entries
+    queue = []
+    seq = 0
+    for i in range(workers):
+        heapq.heappush(queue, (0.0, seq, Task("task%d" % i, i % 7 + 1)))
+        seq += 1
+    now = 0.0
+    for i in range(num):
+        now, _, task = heapq.heappop(queue)
+        seq += 1
+        heapq.heappush(queue, (now + task.cost * 0.5, seq, task))
+    # top-k of the remaining events
+    top = heapq.nsmallest(10, queue)
+    return now, seq, top[0][2].name
+
+
+def measure(num):
+    result = schedule(num, 500)
+    print("last event", result)
+
+
+def __benchmark__(num=1000000):
+    measure(num)
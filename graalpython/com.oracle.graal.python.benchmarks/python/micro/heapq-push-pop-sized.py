@@ -1,4 +1,4 @@
-# Copyright (c) 2018, 2020, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -37,30 +37,32 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
-@__graalpython__.builtin
-def reduce(function, iterable, initializer=None):
-    it = iter(iterable)
-    if initializer is None:
-        value = next(it)
-    else:
-        value = initializer
-    for element in it:
-        value = function(value, element)
-    return value
+import heapq
 
 
-class partial:
-    def __init__(self, func, *args, **keywords):
-        def newfunc(*fargs, **fkeywords):
-            newkeywords = keywords.copy()
-            newkeywords.update(fkeywords)
-            return func(*args, *fargs, **newkeywords)
-        self.func = func
-        self.args = args
-        self.keywords = keywords
-        self.newfunc = newfunc
+def push_pop(num, size):
+    # keeps a heap of ints at a steady size, like a timer queue
+    heap = []
+    seed = 17
+    for i in range(size):
+        seed = (seed * 1103515245 + 12345) & 0x7fffffff
+        heapq.heappush(heap, seed)
+    checksum = 0
+    for i in range(num):
+        seed = (seed * 1103515245 + 12345) & 0x7fffffff
+        checksum = (checksum + heapq.heappushpop(heap, seed)) & 0xffffffff
+        seed = (seed * 1103515245 + 12345) & 0x7fffffff
+        heapq.heappush(heap, seed)
+        checksum = (checksum + heapq.heappop(heap)) & 0xffffffff
+    while heap:
+        checksum = (checksum + heapq.heappop(heap)) & 0xffffffff
+    return checksum
 
-    def __call__(self, *args, **keywords):
-        return self.newfunc(*args, **keywords)
 
-    # TODO: correctly implement '__reduce__' and '__setstate__'
+def measure(num):
+    result = push_pop(num, 1000)
+    print("checksum", result)
+
+
+def __benchmark__(num=1000000):
+    measure(num)
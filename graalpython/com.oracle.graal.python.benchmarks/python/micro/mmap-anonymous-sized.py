@@ -54,10 +54,24 @@ def fill():
         mm.write(data)
 
 
+def scan():
+    # random access, searching and slicing
+    checksum = 0
+    for i in range(0, size, 64):
+        checksum += mm[i]
+    pos = mm.find(data, 0)
+    while pos != -1:
+        checksum += len(mm[pos:pos + ndata])
+        pos = mm.find(data, pos + ndata)
+    return checksum
+
+
 def measure(num):
+    checksum = 0
     for i in range(num):
         fill()
-    print(mm[0:ndata])
+        checksum = scan()
+    print(mm[0:ndata], checksum)
 
 
 def __benchmark__(num=100):
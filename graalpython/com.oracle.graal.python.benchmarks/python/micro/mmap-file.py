@@ -52,6 +52,21 @@ def fill(mm, size):
         mm.write(data)
 
 
+def scan(mm, size):
+    # random access, searching and slicing
+    checksum = 0
+    for i in range(0, size, 64):
+        checksum += mm[i]
+    pos = mm.find(data, 0)
+    while pos != -1:
+        checksum += len(mm[pos:pos + ndata])
+        pos = mm.find(data, pos + ndata)
+    mm.seek(0)
+    while mm.tell() < size:
+        checksum += len(mm.readline())
+    return checksum
+
+
 def measure(num):
     tmp_path = tempfile.mkstemp()
     with open(tmp_path[1], "wb") as f:
@@ -60,9 +75,11 @@ def measure(num):
     with open(tmp_path[1], "r+b") as f:
         mm = mmap.mmap(f.fileno(), 0)
         size = mm.size()
+        checksum = 0
         for i in range(num):
             fill(mm, size)
-        print(mm[0:ndata])
+            checksum = scan(mm, size)
+        print(mm[0:ndata], checksum)
 
 
 def __benchmark__(num=100):
@@ -36,11 +36,34 @@
 # LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
+# micro benchmark: allocation of objects with __slots__
 
+iteration = 50000
 
-__graalpython__.import_current_as_named_module_with_delegate(
-    module_name="_struct",
-    delegate_name="_cpython_struct",
-    delegate_attributes=['Struct', 'StructError', '_clearcache', 'calcsize', 'error', 'iter_unpack', 'pack',
-                         'pack_into', 'unpack', 'unpack_from'],
-    owner_globals=globals())
+
+class Foo(object):
+    __slots__ = ("a",)
+
+    def __init__(self, a):
+        self.a = a
+
+
+def do_stuff():
+    num = 24
+    foo = Foo(0)
+    for i in range(iteration):
+        num += foo.a % 3
+        foo = Foo(num)
+
+    return num
+
+
+def measure(num):
+    for i in range(num):
+        result = do_stuff()
+
+    print(result)
+
+
+def __benchmark__(num=5000):
+    measure(num)
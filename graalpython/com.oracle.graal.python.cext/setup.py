@@ -343,9 +343,7 @@ class NativeBuiltinModule:
 builtin_exts = (
     NativeBuiltinModule("_cpython_sre"),
     NativeBuiltinModule("_cpython_unicodedata"),
-    NativeBuiltinModule("_memoryview"),
     NativeBuiltinModule("_mmap"),
-    NativeBuiltinModule("_cpython_struct"),
     # the above modules are more core, we need them first to deal with later, more complex modules with dependencies
     NativeBuiltinModule("_bz2", deps=[Bzip2Depedency("bz2", "bzip2==1.0.8", "BZIP2")], extra_link_args=["-Wl,-rpath,%s/../lib/%s/" % (relative_rpath, SOABI)]),
 )
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -48,8 +48,122 @@ int bufferdecorator_getbuffer(PyBufferDecorator *self, Py_buffer *view, int flag
 }
 
 PyObject * PyMemoryView_FromObject(PyObject *v) {
-	// TODO(fa): This needs to be fixed. The actual implementation is located in
-	// '_memoryview.c'. However, the current way we use it does not allow C exts
-	// to link to it. We need to restructure this.
-	return NULL;
+    return PyObject_CallFunctionObjArgs((PyObject*)&PyMemoryView_Type, v, NULL);
+}
+
+void PyTruffle_ReleaseBuffer(Py_buffer *view) {
+    PyBuffer_Release(view);
+    free(view);
+}
+
+/* Creates a memoryview of the memory that a native object exports. The
+   memoryview holds on to the export until its last view was released. */
+PyObject* PyTruffle_MemoryViewFromObject(PyObject *obj) {
+    Py_buffer *view = (Py_buffer *) malloc(sizeof(Py_buffer));
+    if (view == NULL) {
+        return PyErr_NoMemory();
+    }
+    if (PyObject_GetBuffer(obj, view, PyBUF_FULL_RO) != 0) {
+        free(view);
+        return NULL;
+    }
+    if (view->len > INT32_MAX) {
+        PyTruffle_ReleaseBuffer(view);
+        PyErr_SetString(PyExc_OverflowError, "memoryview: buffer is too large");
+        return NULL;
+    }
+    if (view->suboffsets != NULL || !PyBuffer_IsContiguous(view, 'C')) {
+        PyTruffle_ReleaseBuffer(view);
+        PyErr_SetString(PyExc_BufferError, "memoryview: underlying buffer is not C-contiguous");
+        return NULL;
+    }
+    return (PyObject *) polyglot_invoke(PY_TRUFFLE_CEXT, "PyTruffle_MemoryViewFromBuffer",
+                                        native_to_java(obj),
+                                        view,
+                                        polyglot_from_i8_array(view->buf, view->len),
+                                        (int64_t) view->len,
+                                        view->readonly,
+                                        (int64_t) view->itemsize,
+                                        polyglot_from_string(view->format != NULL ? view->format : "B", SRC_CS),
+                                        view->ndim,
+                                        view->ndim > 0 ? polyglot_from_i64_array((int64_t *) view->shape, view->ndim) : NULL);
+}
+
+static Py_ssize_t memoryview_nbytes(PyObject *mv) {
+    PyObject *nbytes = PyObject_GetAttrString(mv, "nbytes");
+    Py_ssize_t result;
+    if (nbytes == NULL) {
+        return -1;
+    }
+    result = PyLong_AsSsize_t(nbytes);
+    Py_DECREF(nbytes);
+    return result;
+}
+
+static int memoryview_flag(PyObject *mv, const char *name) {
+    PyObject *flag = PyObject_GetAttrString(mv, name);
+    int result;
+    if (flag == NULL) {
+        return -1;
+    }
+    result = PyObject_IsTrue(flag);
+    Py_DECREF(flag);
+    return result;
+}
+
+/* A contiguous view of all the memory of its object is exported by that
+   object. Any other view is exported as a read-only copy of its bytes. */
+int memoryview_getbuffer(PyObject *self, Py_buffer *view, int flags) {
+    PyObject *obj;
+    PyObject *whole;
+    PyObject *bytes;
+    Py_ssize_t nbytes;
+    int readonly;
+    int exports_whole = 0;
+    int result;
+
+    readonly = memoryview_flag(self, "readonly");
+    if (readonly < 0) {
+        return -1;
+    }
+    if (((flags & PyBUF_WRITABLE) == PyBUF_WRITABLE) && readonly) {
+        PyErr_SetString(PyExc_BufferError, "memoryview: underlying buffer is not writable");
+        return -1;
+    }
+    nbytes = memoryview_nbytes(self);
+    if (nbytes < 0) {
+        return -1;
+    }
+    obj = PyObject_GetAttrString(self, "obj");
+    if (obj == NULL) {
+        return -1;
+    }
+    whole = PyMemoryView_FromObject(obj);
+    if (whole != NULL) {
+        exports_whole = memoryview_flag(self, "c_contiguous") == 1 && memoryview_nbytes(whole) == nbytes;
+        /* the view may hold on to the export of a native object */
+        Py_XDECREF(PyObject_CallMethod(whole, "release", NULL));
+        Py_DECREF(whole);
+    }
+    if (exports_whole) {
+        result = PyObject_GetBuffer(obj, view, flags);
+        Py_DECREF(obj);
+        if (result == 0 && readonly) {
+            view->readonly = 1;
+        }
+        return result;
+    }
+    Py_DECREF(obj);
+    PyErr_Clear();
+    if ((flags & PyBUF_WRITABLE) == PyBUF_WRITABLE) {
+        PyErr_SetString(PyExc_BufferError, "memoryview: underlying buffer is not C-contiguous");
+        return -1;
+    }
+    bytes = PyObject_CallMethod(self, "tobytes", NULL);
+    if (bytes == NULL) {
+        return -1;
+    }
+    result = PyBuffer_FillInfo(view, bytes, PyBytes_AsString(bytes), PyBytes_Size(bytes), 1, flags);
+    Py_DECREF(bytes);
+    return result;
 }
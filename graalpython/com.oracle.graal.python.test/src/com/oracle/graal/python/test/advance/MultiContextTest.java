@@ -40,8 +40,11 @@
  */
 package com.oracle.graal.python.test.advance;
 
+import static org.junit.Assert.assertEquals;
+
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Value;
 import org.junit.Test;
 
 import com.oracle.graal.python.test.PythonTests;
@@ -85,6 +88,21 @@ public class MultiContextTest extends PythonTests {
         }
     }
 
+    @Test
+    public void testBuiltinAttributesAndCalls() {
+        Engine engine = Engine.newBuilder().build();
+        for (int i = 0; i < 10; i++) {
+            try (Context context = newContext(engine)) {
+                Value result = context.eval("python", "def f(x):\n" +
+                                "    l = []\n" +
+                                "    l.append(x)\n" +
+                                "    return len(l) + 'abc'.index('c') + type(x).__name__.count('i')\n" +
+                                "sum(f(i) for i in range(1000))");
+                assertEquals(4000, result.asInt());
+            }
+        }
+    }
+
     private static Context newContext(Engine engine) {
         return Context.newBuilder().allowExperimentalOptions(true).allowAllAccess(true).engine(engine).build();
     }
@@ -37,7 +37,7 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
-from . import CPyExtTestCase, CPyExtFunction, unhandled_error_compare
+from . import CPyExtTestCase, CPyExtFunction, CPyExtType, unhandled_error_compare
 __dir__ = __file__.rpartition("/")[0]
 
 
@@ -68,3 +68,52 @@ class TestPyMemoryView(CPyExtTestCase):
         callfunction="test_flags",
         cmpfunc=unhandled_error_compare
     )
+
+
+class TestNativeBuffer(object):
+    def test_memoryview_of_native_buffer(self):
+        TestBuffer = CPyExtType("TestBuffer",
+                                """
+                                static char data[4] = {'a', 'b', 'c', 'd'};
+                                static int exports = 0;
+
+                                static int getbuffer(PyObject* self, Py_buffer* view, int flags) {
+                                    exports++;
+                                    return PyBuffer_FillInfo(view, self, data, sizeof(data), 0, flags);
+                                }
+
+                                static void releasebuffer(PyObject* self, Py_buffer* view) {
+                                    exports--;
+                                }
+
+                                static PyObject* get_exports(PyObject* self) {
+                                    return PyLong_FromLong(exports);
+                                }
+
+                                static PyBufferProcs TestBuffer_as_buffer = {
+                                    (getbufferproc) getbuffer,
+                                    (releasebufferproc) releasebuffer,
+                                };
+                                """,
+                                tp_as_buffer="&TestBuffer_as_buffer",
+                                tp_methods='{"get_exports", (PyCFunction)get_exports, METH_NOARGS, ""}',
+        )
+        obj = TestBuffer()
+        with memoryview(obj) as view:
+            assert view.obj is obj
+            assert not view.readonly
+            assert view.tobytes() == b"abcd"
+            view[0] = ord("x")
+            tail = view[2:]
+            assert obj.get_exports() == 1
+            # the memory is not copied
+            with memoryview(obj) as other:
+                assert other.tobytes() == b"xbcd"
+            assert obj.get_exports() == 1
+        # the slice still uses the export
+        assert obj.get_exports() == 1
+        tail[0] = ord("y")
+        tail.release()
+        assert obj.get_exports() == 0
+        with memoryview(obj) as view:
+            assert view.tobytes() == b"xbyd"
@@ -0,0 +1,373 @@
+# Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import sys
+import types
+
+
+def run(coro):
+    try:
+        while True:
+            coro.send(None)
+    except StopIteration as e:
+        return e.value
+
+
+def test_await_chain():
+    async def inner(x):
+        return x * 2
+
+    async def outer(x):
+        a = await inner(x)
+        b = await inner(a)
+        return a + b
+
+    coro = outer(3)
+    assert type(coro).__name__ == "coroutine"
+    assert run(coro) == 18
+
+
+def test_code_flags():
+    async def f():
+        pass
+
+    assert f.__code__.co_flags & 0x80
+    assert not f.__code__.co_flags & 0x20
+    f().close()
+
+
+def test_custom_await():
+    class Future:
+        def __init__(self):
+            self.value = None
+
+        def __await__(self):
+            yield self
+            return self.value
+
+    async def f(fut):
+        return await fut
+
+    fut = Future()
+    coro = f(fut)
+    assert coro.send(None) is fut
+    fut.value = 42
+    try:
+        coro.send(None)
+    except StopIteration as e:
+        assert e.value == 42
+    else:
+        assert False, "StopIteration expected"
+
+
+def test_not_awaitable():
+    async def f():
+        await 1
+
+    try:
+        run(f())
+    except TypeError as e:
+        assert "await" in str(e)
+    else:
+        assert False, "TypeError expected"
+
+
+def test_types_coroutine():
+    @types.coroutine
+    def sleep0():
+        yield "sleep"
+
+    async def f():
+        await sleep0()
+        return "done"
+
+    coro = f()
+    assert coro.send(None) == "sleep"
+    assert run(coro) == "done"
+
+
+def test_reuse():
+    async def f():
+        return 1
+
+    coro = f()
+    assert run(coro) == 1
+    try:
+        coro.send(None)
+    except RuntimeError:
+        pass
+    else:
+        assert False, "RuntimeError expected"
+
+
+def test_throw_into_coroutine():
+    @types.coroutine
+    def suspend():
+        yield
+
+    async def f():
+        try:
+            await suspend()
+        except ValueError:
+            return "caught"
+
+    coro = f()
+    coro.send(None)
+    try:
+        coro.throw(ValueError)
+    except StopIteration as e:
+        assert e.value == "caught"
+    else:
+        assert False, "StopIteration expected"
+
+
+class AsyncRange:
+    def __init__(self, n):
+        self.i = 0
+        self.n = n
+
+    def __aiter__(self):
+        return self
+
+    async def __anext__(self):
+        if self.i >= self.n:
+            raise StopAsyncIteration
+        self.i += 1
+        return self.i - 1
+
+
+def test_async_for():
+    async def f():
+        result = []
+        async for i in AsyncRange(4):
+            if i == 1:
+                continue
+            result.append(i)
+        else:
+            result.append("else")
+        return result
+
+    assert run(f()) == [0, 2, 3, "else"]
+
+
+def test_async_for_break():
+    async def f():
+        result = []
+        async for i in AsyncRange(10):
+            if i == 2:
+                break
+            result.append(i)
+        else:
+            result.append("else")
+        return result
+
+    assert run(f()) == [0, 1]
+
+
+def test_async_for_shadowed_builtin():
+    async def f():
+        StopAsyncIteration = KeyError
+        result = []
+        async for i in AsyncRange(3):
+            result.append(i)
+        return result
+
+    assert run(f()) == [0, 1, 2]
+
+
+class AsyncManager:
+    def __init__(self, log, suppress=False):
+        self.log = log
+        self.suppress = suppress
+
+    async def __aenter__(self):
+        self.log.append("enter")
+        return self
+
+    async def __aexit__(self, typ, val, tb):
+        self.log.append(("exit", typ))
+        return self.suppress
+
+
+def test_async_with():
+    log = []
+
+    async def f():
+        async with AsyncManager(log) as m:
+            log.append(type(m).__name__)
+        return "ok"
+
+    assert run(f()) == "ok"
+    assert log == ["enter", "AsyncManager", ("exit", None)]
+
+
+def test_async_with_exception():
+    log = []
+
+    async def f(suppress):
+        async with AsyncManager(log, suppress):
+            raise KeyError
+
+    run(f(True))
+    assert log == ["enter", ("exit", KeyError)]
+    try:
+        run(f(False))
+    except KeyError:
+        pass
+    else:
+        assert False, "KeyError expected"
+
+
+def test_async_with_shadowed_builtin():
+    log = []
+
+    async def f():
+        BaseException = KeyError
+        async with AsyncManager(log, True):
+            raise ValueError
+
+    run(f())
+    assert log == ["enter", ("exit", ValueError)]
+
+
+def test_await_outside_async_function():
+    try:
+        compile("def f():\n    await x\n", "<test>", "exec")
+    except SyntaxError:
+        pass
+    else:
+        assert False, "SyntaxError expected"
+
+
+class Suspend:
+    """Suspends the awaiting coroutine once, then evaluates to the given value."""
+    def __init__(self, value):
+        self.value = value
+
+    def __await__(self):
+        yield "suspend"
+        return self.value
+
+
+def test_async_generator_type():
+    async def agen():
+        yield 1
+
+    assert types.AsyncGeneratorType is type(agen())
+    assert type(agen()).__name__ == "async_generator"
+    assert agen.__code__.co_flags & 0x200
+    assert not agen.__code__.co_flags & 0xa0
+
+
+def test_async_generator_iteration():
+    async def agen(n):
+        for i in range(n):
+            yield await Suspend(i)
+
+    async def collect():
+        return [x async for x in agen(3)]
+
+    assert run(collect()) == [0, 1, 2]
+
+
+def test_async_generator_asend_athrow():
+    async def agen():
+        try:
+            x = yield 1
+            yield x * 2
+        except KeyError:
+            yield "caught"
+
+    async def drive():
+        g = agen()
+        results = [await g.asend(None), await g.asend(21), await g.athrow(KeyError)]
+        try:
+            await g.__anext__()
+        except StopAsyncIteration:
+            results.append("done")
+        return results
+
+    assert run(drive()) == [1, 42, "caught", "done"]
+
+
+def test_async_generator_aclose():
+    log = []
+
+    async def agen():
+        try:
+            yield 1
+            yield 2
+        finally:
+            log.append("closed")
+
+    async def drive():
+        g = agen()
+        assert await g.__anext__() == 1
+        await g.aclose()
+        try:
+            await g.__anext__()
+        except StopAsyncIteration:
+            log.append("exhausted")
+
+    run(drive())
+    assert log == ["closed", "exhausted"]
+
+
+def test_async_generator_syntax_errors():
+    for src in ["async def f():\n    yield 1\n    return 2\n", "async def f():\n    yield from g\n"]:
+        try:
+            compile(src, "<test>", "exec")
+        except SyntaxError:
+            pass
+        else:
+            assert False, "SyntaxError expected"
+
+
+def test_asyncio_run():
+    import asyncio
+
+    async def ticker(n):
+        for i in range(n):
+            await asyncio.sleep(0)
+            yield i
+
+    async def main():
+        return [i async for i in ticker(3)]
+
+    assert asyncio.run(main()) == [0, 1, 2]
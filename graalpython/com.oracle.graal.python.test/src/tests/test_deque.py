@@ -39,6 +39,7 @@
 import copy
 import random
 import sys
+import threading
 import unittest
 from collections import deque
 
@@ -629,3 +630,65 @@ class TestBasic(unittest.TestCase):
         klass = type(reversed(deque()))
         for s in ('abcd', range(2000)):
             self.assertEqual(list(klass(deque(s))), list(reversed(s)))
+
+    def test_rotate_bounded(self):
+        # a bounded deque that is full wraps around its whole buffer
+        for maxlen in range(1, 10):
+            for n in range(-12, 13):
+                d = deque(range(20), maxlen)
+                expected = list(d)
+                if expected:
+                    k = n % len(expected)
+                    expected = expected[-k:] + expected[:-k] if k else expected
+                d.rotate(n)
+                self.assertEqual(list(d), expected)
+                d.append('x')
+                self.assertEqual(d[-1], 'x')
+                self.assertEqual(len(d), maxlen)
+
+    def test_insert_bounded(self):
+        d = deque('abc', 3)
+        self.assertRaises(IndexError, d.insert, 0, 'x')
+        d = deque('abc', 4)
+        d.insert(-1, 'x')
+        self.assertEqual(list(d), ['a', 'b', 'x', 'c'])
+        d = deque('abc')
+        d.insert(-10, 'x')
+        d.insert(10, 'y')
+        self.assertEqual(list(d), ['x', 'a', 'b', 'c', 'y'])
+
+    def test_reduce(self):
+        d = deque('abc', 5)
+        cls, args, state, it = d.__reduce__()
+        self.assertIs(cls, deque)
+        self.assertEqual(args, ((), 5))
+        self.assertIsNone(state)
+        self.assertEqual(list(it), ['a', 'b', 'c'])
+        e = copy.deepcopy(d)
+        self.assertEqual(d, e)
+        self.assertEqual(e.maxlen, 5)
+
+    def test_concurrent_append_pop(self):
+        d = deque()
+        n = 20000
+
+        def produce():
+            for i in range(n):
+                d.append(i)
+
+        popped = []
+
+        def consume():
+            while len(popped) < n:
+                try:
+                    popped.append(d.popleft())
+                except IndexError:
+                    pass
+
+        threads = [threading.Thread(target=produce), threading.Thread(target=consume)]
+        for t in threads:
+            t.start()
+        for t in threads:
+            t.join()
+        self.assertEqual(popped, list(range(n)))
+        self.assertEqual(len(d), 0)
@@ -0,0 +1,206 @@
+# Copyright (c) 2020, Oracle and/or its affiliates.
+# Copyright (C) 1996-2017 Python Software Foundation
+#
+# Licensed under the PYTHON SOFTWARE FOUNDATION LICENSE VERSION 2
+
+import functools
+import pickle
+import unittest
+
+
+def capture(*args, **kw):
+    return args, kw
+
+
+class PartialTests(unittest.TestCase):
+
+    def test_call(self):
+        p = functools.partial(capture, 1, 2, a=10, b=20)
+        self.assertEqual(p(3, 4, b=30, c=40), ((1, 2, 3, 4), dict(a=10, b=30, c=40)))
+        p = functools.partial(map, lambda x: x * 10)
+        self.assertEqual(list(p([1, 2, 3, 4])), [10, 20, 30, 40])
+        p = functools.partial(max)
+        self.assertEqual(p(3, 7, 5), 7)
+
+    def test_attributes(self):
+        p = functools.partial(capture, 1, 2, a=10)
+        self.assertIs(p.func, capture)
+        self.assertEqual(p.args, (1, 2))
+        self.assertEqual(p.keywords, dict(a=10))
+        self.assertRaises(TypeError, functools.partial, 2)
+        p.attr = 42
+        self.assertEqual(p.attr, 42)
+        self.assertEqual(p.__dict__, {'attr': 42})
+
+    def test_nested_flattening(self):
+        inner = functools.partial(capture, 1, a=1, b=2)
+        outer = functools.partial(inner, 2, b=3)
+        self.assertIs(outer.func, capture)
+        self.assertEqual(outer.args, (1, 2))
+        self.assertEqual(outer.keywords, dict(a=1, b=3))
+        self.assertEqual(outer(3), ((1, 2, 3), dict(a=1, b=3)))
+
+    def test_subclass(self):
+        class MyPartial(functools.partial):
+            pass
+
+        p = MyPartial(capture, 1)
+        self.assertEqual(p(2, x=3), ((1, 2), dict(x=3)))
+        self.assertEqual(repr(p), "MyPartial(%r, 1)" % capture)
+
+    def test_repr(self):
+        p = functools.partial(capture, 1, 'a', key=[2])
+        self.assertEqual(repr(p), "functools.partial(%r, 1, 'a', key=[2])" % capture)
+
+    def test_pickle(self):
+        p = functools.partial(capture, 1, a=2)
+        p.attr = 3
+        q = pickle.loads(pickle.dumps(p))
+        self.assertEqual(q(4), ((1, 4), dict(a=2)))
+        self.assertEqual(q.attr, 3)
+
+    def test_setstate(self):
+        p = functools.partial(capture)
+        p.__setstate__((capture, (1,), None, None))
+        self.assertEqual(p(2), ((1, 2), {}))
+        self.assertRaises(TypeError, p.__setstate__, (capture, (1,), None))
+        self.assertRaises(TypeError, p.__setstate__, (1, (1,), None, None))
+        self.assertRaises(TypeError, p.__setstate__, (capture, [1], None, None))
+
+
+class ReduceTests(unittest.TestCase):
+
+    def test_reduce(self):
+        add = lambda x, y: x + y
+        self.assertEqual(functools.reduce(add, [1, 2, 3, 4]), 10)
+        self.assertEqual(functools.reduce(add, [1, 2, 3, 4], 10), 20)
+        self.assertEqual(functools.reduce(add, iter(['a', 'b', 'c'])), 'abc')
+        self.assertEqual(functools.reduce(add, [], 42), 42)
+        self.assertEqual(functools.reduce(add, [7]), 7)
+
+    def test_reduce_none_initial(self):
+        # None is a valid initial value
+        self.assertEqual(functools.reduce(lambda x, y: (x, y), [1], None), (None, 1))
+
+    def test_reduce_empty(self):
+        self.assertRaises(TypeError, functools.reduce, lambda x, y: x + y, [])
+        self.assertRaises(TypeError, functools.reduce, lambda x, y: x + y, 42)
+
+
+class LruCacheTests(unittest.TestCase):
+
+    def test_hits_and_misses(self):
+        calls = []
+
+        @functools.lru_cache(maxsize=2)
+        def square(x):
+            calls.append(x)
+            return x * x
+
+        self.assertEqual(square(2), 4)
+        self.assertEqual(square(2), 4)
+        self.assertEqual(square(3), 9)
+        self.assertEqual(calls, [2, 3])
+        self.assertEqual(square.cache_info(), functools._CacheInfo(1, 2, 2, 2))
+        square.cache_clear()
+        self.assertEqual(square.cache_info(), functools._CacheInfo(0, 0, 2, 0))
+        self.assertEqual(square(2), 4)
+        self.assertEqual(calls, [2, 3, 2])
+
+    def test_eviction_order(self):
+        calls = []
+
+        @functools.lru_cache(maxsize=2)
+        def f(x):
+            calls.append(x)
+            return x
+
+        f(1)
+        f(2)
+        f(1)  # 2 is now least recently used
+        f(3)  # evicts 2
+        f(1)
+        self.assertEqual(calls, [1, 2, 3])
+        f(2)
+        self.assertEqual(calls, [1, 2, 3, 2])
+        self.assertEqual(f.cache_info().currsize, 2)
+
+    def test_unbounded(self):
+        @functools.lru_cache(maxsize=None)
+        def f(x):
+            return x
+
+        for i in range(100):
+            f(i)
+        for i in range(100):
+            f(i)
+        self.assertEqual(f.cache_info(), functools._CacheInfo(100, 100, None, 100))
+
+    def test_zero_size(self):
+        @functools.lru_cache(maxsize=0)
+        def f(x):
+            return x
+
+        f(1)
+        f(1)
+        self.assertEqual(f.cache_info(), functools._CacheInfo(0, 2, 0, 0))
+
+    def test_keywords_and_typed(self):
+        @functools.lru_cache(typed=True)
+        def f(x, y=0):
+            return (type(x), x, y)
+
+        self.assertEqual(f(1), (int, 1, 0))
+        self.assertEqual(f(1.0), (float, 1.0, 0))
+        self.assertEqual(f(1, y=2), (int, 1, 2))
+        self.assertEqual(f(1, y=2), (int, 1, 2))
+        self.assertEqual(f.cache_info().hits, 1)
+        self.assertEqual(f.cache_info().misses, 3)
+
+    def test_unhashable(self):
+        @functools.lru_cache()
+        def f(x):
+            return x
+
+        self.assertRaises(TypeError, f, [])
+
+    def test_method(self):
+        class A:
+            @functools.lru_cache()
+            def double(self, x):
+                return 2 * x
+
+        a = A()
+        self.assertEqual(a.double(21), 42)
+        self.assertEqual(a.double(21), 42)
+        self.assertEqual(A.double.cache_info().hits, 1)
+
+    def test_threads(self):
+        import threading
+
+        @functools.lru_cache(maxsize=8)
+        def f(x):
+            return x * 2
+
+        def worker():
+            for i in range(500):
+                self.assertEqual(f(i % 12), (i % 12) * 2)
+
+        threads = [threading.Thread(target=worker) for _ in range(4)]
+        for t in threads:
+            t.start()
+        for t in threads:
+            t.join()
+        info = f.cache_info()
+        self.assertEqual(info.hits + info.misses, 2000)
+        self.assertLessEqual(info.currsize, 8)
+
+    def test_wrapper_attributes(self):
+        def f(x):
+            "doc"
+            return x
+
+        g = functools.lru_cache()(f)
+        self.assertIs(g.__wrapped__, f)
+        self.assertEqual(g.__name__, 'f')
+        self.assertEqual(g.__doc__, 'doc')
@@ -0,0 +1,164 @@
+# Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import hashlib
+import unittest
+
+DATA = bytes(range(256)) * 4
+
+EXPECTED = {
+    'md5': 'b2ea9f7fcea831a4a63b213f41a8855b',
+    'sha1': '5b00669c480d5cffbdfa8bdba99561160f2d1b77',
+    'sha224': '6290817f6001432cd441058d2bb82d88b3f32425ade4c93d56207838',
+    'sha256': '785b0751fc2c53dc14a4ce3d800e69ef9ce1009eb327ccf458afe09c242c26c9',
+    'sha384': '55fd17eeb1611f9193f6ac600238ce63aa298c2e332f042b80c8f691f800e4c7505af20c1a86a31f08504587395f081f',
+    'sha512': '37f652be867f28ed033269cbba201af2112c2b3fd334a89fd2f757938ddee815787cc61d6e24a8a33340d0f7e86ffc058816b88530766ba6e231620a130b566c',
+    'sha3_224': '5b37c09e5b5cf21b0d8097e9479fe6982003b617d41ab2293d77bf22',
+    'sha3_256': 'b6c70631c6ff932b9f380d9cde8750eb9bea393817a9aea410c2119eb7b9b870',
+    'sha3_384': 'bfdb44fcb75b4a02db0487b0c607630283ae792bbef4797bd993009a2fd15cf2425b1a9f82f25f6cdc7cac15be3d572e',
+    'sha3_512': 'b052fd4a09f988bbe4112d9a3eca8ccc517e56da866c1609504c37871146da80731bb681674a2000a41bcb78230b3d9069eb42820293ce23cba294550a1d4d3b',
+    'blake2b': '6b490f42e902f61b1ee12d3c85e34152e37c94d07ab9ea577cad6a6eb4690fad38064f53a19c225703a5c52cdc9a85add71b339d327e1630ee3432b920240e8a',
+    'blake2s': 'a049455add68f38d48845e25a52ba3100c4d0899178c202aec07364fecacf650',
+}
+
+EXPECTED_SHAKE = {
+    'shake_128': '7a2fa3e3da9562a19c7d525efcecd31b49e0acb18689552ecf5c51c505fd294f8784b698274e1162',
+    'shake_256': '60aff3fd4c0f158ba0ed6890336a907451281739d48cc8315211b3666061974229707d69e66dfc19',
+}
+
+
+class HashlibTest(unittest.TestCase):
+
+    def test_digests(self):
+        for name, expected in EXPECTED.items():
+            self.assertEqual(getattr(hashlib, name)(DATA).hexdigest(), expected, name)
+            self.assertEqual(hashlib.new(name, DATA).hexdigest(), expected, name)
+        for name, expected in EXPECTED_SHAKE.items():
+            self.assertEqual(getattr(hashlib, name)(DATA).hexdigest(40), expected, name)
+
+    def test_chunked_update(self):
+        for name in list(EXPECTED) + list(EXPECTED_SHAKE):
+            h = getattr(hashlib, name)()
+            for chunk in (1, 7, 63, 64, 65, 127, 128, 129, 136, 168):
+                for i in range(0, len(DATA), chunk):
+                    h.update(bytearray(DATA[i:i + chunk]))
+            whole = getattr(hashlib, name)(DATA * 10)
+            if name in EXPECTED_SHAKE:
+                self.assertEqual(h.digest(100), whole.digest(100), name)
+            else:
+                self.assertEqual(h.digest(), whole.digest(), name)
+
+    def test_copy(self):
+        for name in EXPECTED:
+            h = getattr(hashlib, name)(DATA[:100])
+            c = h.copy()
+            c.update(DATA[100:])
+            self.assertEqual(c.hexdigest(), EXPECTED[name])
+            self.assertEqual(h.hexdigest(), getattr(hashlib, name)(DATA[:100]).hexdigest())
+            # digest() does not finalize the object
+            h.update(DATA[100:])
+            self.assertEqual(h.hexdigest(), EXPECTED[name])
+
+    def test_memoryview(self):
+        for name in EXPECTED:
+            whole = bytearray(b'xx' + DATA + b'yy')
+            self.assertEqual(getattr(hashlib, name)(memoryview(whole)[2:-2]).hexdigest(), EXPECTED[name], name)
+            self.assertEqual(getattr(hashlib, name)(memoryview(DATA).cast('I')).hexdigest(), EXPECTED[name], name)
+        view = memoryview(DATA)
+        view.release()
+        self.assertRaises(ValueError, hashlib.md5, view)
+
+    def test_concurrent_update(self):
+        import threading
+        for name in ('md5', 'sha256', 'sha3_256', 'blake2b'):
+            h = getattr(hashlib, name)()
+            chunk = memoryview(DATA)
+
+            def run():
+                for _ in range(50):
+                    h.update(chunk)
+                    h.copy()
+                    h.digest()
+
+            threads = [threading.Thread(target=run) for _ in range(4)]
+            for t in threads:
+                t.start()
+            for t in threads:
+                t.join()
+            self.assertEqual(h.digest(), getattr(hashlib, name)(DATA * 200).digest(), name)
+
+    def test_attributes(self):
+        sizes = {'md5': (16, 64), 'sha1': (20, 64), 'sha224': (28, 64), 'sha256': (32, 64), 'sha384': (48, 128),
+                 'sha512': (64, 128), 'sha3_224': (28, 144), 'sha3_256': (32, 136), 'sha3_384': (48, 104),
+                 'sha3_512': (64, 72), 'shake_128': (0, 168), 'shake_256': (0, 136), 'blake2b': (64, 128),
+                 'blake2s': (32, 64)}
+        for name, (digest_size, block_size) in sizes.items():
+            h = hashlib.new(name)
+            self.assertEqual(h.name, name)
+            self.assertEqual(h.digest_size, digest_size)
+            self.assertEqual(h.block_size, block_size)
+        import _sha3
+        h = _sha3.sha3_256()
+        self.assertEqual((h._capacity_bits, h._rate_bits, h._suffix), (512, 1088, b'\x06'))
+        h = _sha3.shake_128()
+        self.assertEqual((h._capacity_bits, h._rate_bits, h._suffix), (256, 1344, b'\x1f'))
+
+    def test_blake2_parameters(self):
+        h = hashlib.blake2b(DATA, digest_size=32, key=b'secret', salt=b'salt', person=b'me', fanout=2, depth=3,
+                            leaf_size=4096, node_offset=5, node_depth=1, inner_size=32, last_node=True)
+        self.assertEqual(h.hexdigest(), 'be9559582dbfea2f7b150ec9c729205f366c952f900b12f8e14947e09c3ea19e')
+        h = hashlib.blake2s(DATA, digest_size=16, key=b'secret', salt=b'salt', person=b'me', fanout=2, depth=3,
+                            leaf_size=4096, node_offset=5, node_depth=1, inner_size=16, last_node=True)
+        self.assertEqual(h.hexdigest(), 'f73d146c5e016e03b40b2812ab577846')
+        self.assertEqual(hashlib.blake2b.MAX_DIGEST_SIZE, 64)
+        self.assertEqual(hashlib.blake2s.SALT_SIZE, 8)
+        self.assertRaises(ValueError, hashlib.blake2b, digest_size=65)
+        self.assertRaises(ValueError, hashlib.blake2s, key=b'k' * 33)
+        self.assertRaises(ValueError, hashlib.blake2b, depth=0)
+        self.assertRaises(ValueError, hashlib.blake2b, leaf_size=-1)
+        self.assertRaises(OverflowError, hashlib.blake2b, leaf_size=1 << 32)
+        self.assertRaises(OverflowError, hashlib.blake2s, node_offset=1 << 48)
+        self.assertRaises(TypeError, hashlib.blake2b, data=b'')
+
+    def test_errors(self):
+        for name in list(EXPECTED) + list(EXPECTED_SHAKE):
+            self.assertRaises(TypeError, hashlib.new(name).update, 'text')
+            self.assertRaises(TypeError, hashlib.new(name).update, 42)
+        self.assertRaises(TypeError, hashlib.md5().digest, 16)
+        self.assertRaises(TypeError, hashlib.shake_128().digest)
@@ -179,4 +179,142 @@ def test_local_property_25274():
     assert hasattr(package25274, 'tzname')
 
 
-    
\ No newline at end of file
+    
+
+def _import_from_cache(tmpdir, modname):
+    import io, os, importlib, importlib.util
+    source_path = os.path.join(tmpdir, modname + ".py")
+    with io.open(source_path, "w") as f:
+        f.write("value = 'from source 1'\n")
+    sys.path.insert(0, tmpdir)
+    saved_dont_write_bytecode = sys.dont_write_bytecode
+    sys.dont_write_bytecode = False
+    try:
+        importlib.invalidate_caches()
+        mod = importlib.import_module(modname)
+        assert mod.value == 'from source 1'
+        cache_path = importlib.util.cache_from_source(source_path)
+        assert os.path.exists(cache_path), "expected cached code at '%s'" % cache_path
+        assert mod.__cached__ == cache_path
+
+        # same size and mtime, so the cached code must be used instead of parsing the source again
+        st = os.stat(source_path)
+        with io.open(source_path, "w") as f:
+            f.write("value = 'from source 2'\n")
+        os.utime(source_path, ns=(st.st_atime_ns, st.st_mtime_ns))
+        del sys.modules[modname]
+        importlib.invalidate_caches()
+        mod = importlib.import_module(modname)
+        assert mod.value == 'from source 1', mod.value
+        return cache_path
+    finally:
+        sys.modules.pop(modname, None)
+        sys.dont_write_bytecode = saved_dont_write_bytecode
+        sys.path.remove(tmpdir)
+
+
+def test_cached_code_is_written_and_reused():
+    import os, shutil, tempfile
+    tmpdir = tempfile.mkdtemp()
+    try:
+        cache_path = _import_from_cache(tmpdir, "cached_module_25811")
+        assert os.path.dirname(cache_path) == os.path.join(tmpdir, "__pycache__")
+    finally:
+        shutil.rmtree(tmpdir, ignore_errors=True)
+
+
+def test_cached_code_honors_pycache_prefix():
+    import os, shutil, tempfile
+    tmpdir = tempfile.mkdtemp()
+    prefix = tempfile.mkdtemp()
+    saved_prefix = sys.pycache_prefix
+    sys.pycache_prefix = prefix
+    try:
+        cache_path = _import_from_cache(tmpdir, "cached_module_25812")
+        assert cache_path.startswith(prefix), cache_path
+        assert not os.path.exists(os.path.join(tmpdir, "__pycache__"))
+    finally:
+        sys.pycache_prefix = saved_prefix
+        shutil.rmtree(tmpdir, ignore_errors=True)
+        shutil.rmtree(prefix, ignore_errors=True)
+
+
+def test_cached_code_is_written_by_default():
+    import io, os, shutil, subprocess, tempfile
+    tmpdir = tempfile.mkdtemp()
+    try:
+        with io.open(os.path.join(tmpdir, "cached_module_25813.py"), "w") as f:
+            f.write("value = 42\n")
+        env = dict(os.environ)
+        env.pop("PYTHONDONTWRITEBYTECODE", None)
+        env.pop("PYTHONPYCACHEPREFIX", None)
+        out = subprocess.check_output(
+            [sys.executable, "-c", "import sys, cached_module_25813; print(sys.dont_write_bytecode, bool(sys.flags.dont_write_bytecode))"],
+            cwd=tmpdir, env=env)
+        assert out.split() == [b"False", b"False"], out
+        cached = os.listdir(os.path.join(tmpdir, "__pycache__"))
+        assert any(name.startswith("cached_module_25813.") for name in cached), cached
+    finally:
+        shutil.rmtree(tmpdir, ignore_errors=True)
+
+
+def _import_without_cache(tmpdir, modname):
+    import io, os, importlib
+    with io.open(os.path.join(tmpdir, modname + ".py"), "w") as f:
+        f.write("value = 'from source'\n")
+    sys.path.insert(0, tmpdir)
+    saved_dont_write_bytecode = sys.dont_write_bytecode
+    sys.dont_write_bytecode = False
+    try:
+        importlib.invalidate_caches()
+        mod = importlib.import_module(modname)
+        assert mod.value == 'from source'
+        # importing again from source must not be affected by the failed write either
+        del sys.modules[modname]
+        mod = importlib.import_module(modname)
+        assert mod.value == 'from source'
+    finally:
+        sys.modules.pop(modname, None)
+        sys.dont_write_bytecode = saved_dont_write_bytecode
+        sys.path.remove(tmpdir)
+
+
+def test_cached_code_with_read_only_cache_dir():
+    import os, shutil, stat, tempfile
+    tmpdir = tempfile.mkdtemp()
+    cache_dir = os.path.join(tmpdir, "__pycache__")
+    os.mkdir(cache_dir)
+    os.chmod(cache_dir, stat.S_IRUSR | stat.S_IXUSR)
+    try:
+        _import_without_cache(tmpdir, "cached_module_25814")
+    finally:
+        os.chmod(cache_dir, stat.S_IRWXU)
+        shutil.rmtree(tmpdir, ignore_errors=True)
+
+
+def test_cached_code_with_uncreatable_cache_dir():
+    import io, os, shutil, tempfile
+    tmpdir = tempfile.mkdtemp()
+    # a plain file where the cache directory should be, so it can neither be used nor created
+    with io.open(os.path.join(tmpdir, "__pycache__"), "w") as f:
+        f.write("not a directory")
+    try:
+        _import_without_cache(tmpdir, "cached_module_25815")
+    finally:
+        shutil.rmtree(tmpdir, ignore_errors=True)
+
+
+def test_cached_code_with_uncreatable_pycache_prefix():
+    import io, os, shutil, tempfile
+    tmpdir = tempfile.mkdtemp()
+    blocker = os.path.join(tmpdir, "blocker")
+    with io.open(blocker, "w") as f:
+        f.write("not a directory")
+    saved_prefix = sys.pycache_prefix
+    sys.pycache_prefix = os.path.join(blocker, "missing", "prefix")
+    try:
+        _import_without_cache(tmpdir, "cached_module_25816")
+        assert not os.path.exists(os.path.join(tmpdir, "__pycache__"))
+    finally:
+        sys.pycache_prefix = saved_prefix
+        shutil.rmtree(tmpdir, ignore_errors=True)
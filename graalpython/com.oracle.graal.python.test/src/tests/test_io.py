@@ -0,0 +1,257 @@
+# Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+
+import io
+import os
+import tempfile
+
+
+def assert_raises(err, fn, *args, **kwargs):
+    raised = False
+    try:
+        fn(*args, **kwargs)
+    except err:
+        raised = True
+    assert raised
+
+
+def _tmp_name():
+    fd, name = tempfile.mkstemp()
+    os.close(fd)
+    return name
+
+
+def test_buffered_read_write():
+    name = _tmp_name()
+    try:
+        with open(name, "wb") as f:
+            assert type(f) is io.BufferedWriter
+            assert f.write(b"hello\n") == 6
+            f.write(b"x" * 100000)
+            f.write(b"\nworld")
+        with open(name, "rb") as f:
+            assert type(f) is io.BufferedReader
+            assert f.peek()[:5] == b"hello"
+            assert f.readline() == b"hello\n"
+            assert f.tell() == 6
+            assert f.read(3) == b"xxx"
+            rest = f.read()
+            assert rest == b"x" * 99997 + b"\nworld"
+            assert f.read() == b""
+            f.seek(0)
+            assert list(f)[0] == b"hello\n"
+            f.seek(-5, 2)
+            buf = bytearray(10)
+            assert f.readinto(buf) == 5
+            assert buf[:5] == b"world"
+        assert f.closed
+        assert_raises(ValueError, f.read)
+    finally:
+        os.unlink(name)
+
+
+def test_buffered_random():
+    name = _tmp_name()
+    try:
+        with open(name, "w+b") as f:
+            assert type(f) is io.BufferedRandom
+            f.write(b"0123456789")
+            f.seek(2)
+            assert f.read(3) == b"234"
+            f.write(b"ab")
+            assert f.tell() == 7
+            f.seek(0)
+            assert f.read() == b"01234ab789"
+            f.truncate(4)
+            f.seek(0)
+            assert f.read() == b"0123"
+    finally:
+        os.unlink(name)
+
+
+def test_buffered_unsupported():
+    name = _tmp_name()
+    try:
+        with open(name, "wb") as f:
+            assert not hasattr(f, "read")
+            assert_raises(io.UnsupportedOperation, io.BufferedReader, f.raw)
+        assert_raises(ValueError, io.BufferedReader, io.FileIO(name), 0)
+    finally:
+        os.unlink(name)
+
+
+def test_buffered_after_raw_closed():
+    name = _tmp_name()
+    other = _tmp_name()
+    try:
+        f = open(name, "wb")
+        f.write(b"pending")
+        f.raw.close()
+        # the descriptor may be reused for the other file
+        with open(other, "wb") as g:
+            assert_raises(ValueError, f.flush)
+            assert_raises(ValueError, f.write, b"more")
+            g.write(b"other")
+        f.close()
+        with open(other, "rb") as g:
+            assert g.read() == b"other"
+    finally:
+        os.unlink(name)
+        os.unlink(other)
+
+
+def test_buffered_over_python_raw():
+    class Raw(io.RawIOBase):
+        def __init__(self, data):
+            self.data = data
+
+        def readable(self):
+            return True
+
+        def readinto(self, b):
+            n = min(len(b), len(self.data), 3)
+            b[0:n] = self.data[:n]
+            self.data = self.data[n:]
+            return n
+
+    f = io.BufferedReader(Raw(b"line1\nline2\n"), 4)
+    assert f.readline() == b"line1\n"
+    assert f.read() == b"line2\n"
+
+
+def test_buffered_reentrant_call():
+    errors = []
+
+    class Raw(io.RawIOBase):
+        def writable(self):
+            return True
+
+        def write(self, b):
+            try:
+                f.write(b"again")
+            except RuntimeError as e:
+                errors.append(e)
+            return len(b)
+
+    f = io.BufferedWriter(Raw(), 4)
+    f.write(b"data")
+    f.flush()
+    assert len(errors) == 1
+
+
+def test_text_read_write():
+    name = _tmp_name()
+    try:
+        with open(name, "w", encoding="utf-8") as f:
+            assert type(f) is io.TextIOWrapper
+            assert f.mode == "w"
+            assert f.write("héllo\n") == 6
+            f.writelines(["a\r\n", "b\r", "c"])
+        with open(name, "r", encoding="utf-8") as f:
+            assert f.encoding == "utf-8"
+            assert f.readline() == "héllo\n"
+            pos = f.tell()
+            assert pos == 7
+            assert f.read(1) == "a"
+            f.seek(pos)
+            assert f.readlines() == ["a\n", "b\n", "c"]
+            assert set(f.newlines) == {"\n", "\r\n", "\r"}
+        with open(name, "r", encoding="utf-8", newline="") as f:
+            assert list(f) == ["héllo\n", "a\r\n", "b\r", "c"]
+        with open(name, "rb") as f:
+            assert f.read() == "héllo\na\r\nb\rc".encode("utf-8")
+    finally:
+        os.unlink(name)
+
+
+def test_text_write_newline():
+    name = _tmp_name()
+    try:
+        with open(name, "w", newline="\r\n") as f:
+            f.write("a\nb\n")
+        with open(name, "rb") as f:
+            assert f.read() == b"a\r\nb\r\n"
+        assert_raises(ValueError, open, name, "w", newline="x")
+    finally:
+        os.unlink(name)
+
+
+def test_text_over_bytesio():
+    raw = io.BytesIO("€1\n€2\n".encode("utf-8"))
+    t = io.TextIOWrapper(raw, encoding="utf-8")
+    assert t.read() == "€1\n€2\n"
+
+
+def test_text_default_encoding():
+    import locale
+    t = io.TextIOWrapper(io.BytesIO())
+    assert t.encoding == locale.getpreferredencoding(False)
+
+
+def test_text_buffer_uses_wrapper_from_other_thread():
+    import threading
+
+    class Buffer(io.BytesIO):
+        def write(self, b):
+            if b == b"outer":
+                # the wrapper must not be locked while its buffer runs
+                t = threading.Thread(target=wrapper.write, args=("inner",))
+                t.start()
+                t.join(10)
+                assert not t.is_alive()
+            return super().write(b)
+
+    buf = Buffer()
+    wrapper = io.TextIOWrapper(buf, encoding="ascii", write_through=True)
+    wrapper.write("outer")
+    wrapper.flush()
+    assert buf.getvalue() == b"innerouter"
+
+
+def test_text_encoding():
+    name = _tmp_name()
+    try:
+        with open(name, "w", encoding="latin-1") as f:
+            f.write("café")
+            assert_raises(TypeError, f.write, b"bytes")
+        with open(name, "rb") as f:
+            assert f.read() == b"caf\xe9"
+    finally:
+        os.unlink(name)
@@ -98,3 +98,98 @@ class CombinationsTests(unittest.TestCase):
         self.assertRaises(ExpectedError, gulp, [None], keyfunc)
         keyfunc.skip = 1
         self.assertRaises(ExpectedError, gulp, [None, None], keyfunc)
+
+
+class SequenceFastPathTests(unittest.TestCase):
+
+    def test_chain_of_sequences(self):
+        self.assertEqual(list(chain([1, 2], (3,), [], 'ab', range(2))), [1, 2, 3, 'a', 'b', 0, 1])
+        self.assertEqual(list(chain.from_iterable([[1], (2, 3), []])), [1, 2, 3])
+        class MyList(list):
+            def __iter__(self):
+                return iter([42])
+        self.assertEqual(list(chain([1], MyList([2, 3]))), [1, 42])
+
+    def test_chain_pickle_while_reading_list(self):
+        import pickle
+        c = chain([1, 2, 3], [4])
+        self.assertEqual(next(c), 1)
+        c2 = pickle.loads(pickle.dumps(c))
+        self.assertEqual(list(c2), [2, 3, 4])
+        self.assertEqual(list(c), [2, 3, 4])
+
+    def test_islice_of_sequences(self):
+        l = list(range(20))
+        self.assertEqual(list(islice(l, 5)), l[:5])
+        self.assertEqual(list(islice(l, 3, 15, 4)), l[3:15:4])
+        self.assertEqual(list(islice(l, 18, None)), l[18:])
+        self.assertEqual(list(islice(tuple(l), 25, 30)), [])
+        self.assertEqual(list(islice(l, 0, None, 7)), l[::7])
+        import sys
+        self.assertEqual(list(islice(l, 2, sys.maxsize, 9)), l[2::9])
+        self.assertRaises(ValueError, islice, l, -1)
+        self.assertRaises(ValueError, islice, l, 1, 2, 0)
+
+    def test_islice_pickle(self):
+        import pickle
+        s = islice([0, 1, 2, 3, 4, 5, 6], 1, 6, 2)
+        self.assertEqual(next(s), 1)
+        self.assertEqual(list(pickle.loads(pickle.dumps(s))), [3, 5])
+        self.assertEqual(list(s), [3, 5])
+
+
+class BufferingTests(unittest.TestCase):
+
+    def test_cycle(self):
+        self.assertEqual(list(islice(cycle(x for x in range(3)), 10)), [0, 1, 2, 0, 1, 2, 0, 1, 2, 0])
+        self.assertEqual(list(cycle([])), [])
+        # the buffer has to grow past its initial size
+        self.assertEqual(list(islice(cycle(iter(range(100))), 250)), list(range(100)) * 2 + list(range(50)))
+
+    def test_tee(self):
+        a, b = tee(x for x in range(200))
+        self.assertEqual(next(a), 0)
+        self.assertEqual(list(a), list(range(1, 200)))
+        self.assertEqual(list(b), list(range(200)))
+        self.assertEqual(tee([1], 0), ())
+        self.assertRaises(ValueError, tee, [1], -1)
+        a, b, c = tee(iter([1, 2, 3]), 3)
+        d = a.__copy__()
+        self.assertEqual(next(a), 1)
+        self.assertEqual((list(b), list(c), list(d), list(a)), ([1, 2, 3], [1, 2, 3], [1, 2, 3], [2, 3]))
+
+    def test_tee_reentrant(self):
+        def gen():
+            yield 1
+            yield next(t[0])
+        t = tee(gen())
+        self.assertEqual(next(t[0]), 1)
+        self.assertRaises(RuntimeError, next, t[0])
+
+
+class CombinatoricsTests(unittest.TestCase):
+
+    def test_product(self):
+        self.assertEqual(list(product('ab', range(2))), [('a', 0), ('a', 1), ('b', 0), ('b', 1)])
+        self.assertEqual(list(product([0, 1], repeat=2)), [(0, 0), (0, 1), (1, 0), (1, 1)])
+        self.assertEqual(list(product()), [()])
+        self.assertEqual(list(product('ab', [])), [])
+
+    def test_permutations(self):
+        self.assertEqual(list(permutations('abc', 2)), [('a', 'b'), ('a', 'c'), ('b', 'a'), ('b', 'c'), ('c', 'a'), ('c', 'b')])
+        self.assertEqual(len(list(permutations(range(5)))), 120)
+        self.assertEqual(list(permutations('ab', 3)), [])
+
+    def test_combinations(self):
+        self.assertEqual(list(combinations(range(4), 3)), [(0, 1, 2), (0, 1, 3), (0, 2, 3), (1, 2, 3)])
+        self.assertEqual(list(combinations('ab', 0)), [()])
+        self.assertEqual(list(combinations('ab', 3)), [])
+
+    def test_pickle(self):
+        import pickle
+        for it in (permutations('abcd', 2), combinations('abcd', 2), product('ab', 'cd'),
+                   combinations_with_replacement('abc', 2)):
+            next(it)
+            next(it)
+            rest = list(pickle.loads(pickle.dumps(it)))
+            self.assertEqual(rest, list(it))
@@ -83,3 +83,49 @@ class JsonTest(unittest.TestCase):
             1521583201347000000,
             10,
         }
+
+    def test_speedups(self):
+        import json.decoder, json.encoder, json.scanner
+        import _json
+        assert json.decoder.scanstring is _json.scanstring
+        assert json.scanner.make_scanner is _json.make_scanner
+        assert json.encoder.c_make_encoder is _json.make_encoder
+        assert _json.scanstring('"a\\u00e9b" tail', 1) == ("aéb", 10)
+        assert _json.encode_basestring_ascii("é\"\n") == '"\\u00e9\\"\\n"'
+        assert _json.encode_basestring("é\"\n") == '"é\\"\\n"'
+
+    def test_roundtrip(self):
+        import json
+        doc = '{"a": [1, 2.5, "x\\ud83d\\ude00", null, true, false], "b": {"c": -0.5e-3}, "a": 3}'
+        data = json.loads(doc)
+        assert data == {"a": 3, "b": {"c": -0.0005}}
+        assert list(data.keys()) == ["a", "b"]
+        data = {"k": [1, 2, {"x": "€"}], "f": 1.25, 3: None, True: 2}
+        assert json.dumps(data) == '{"k": [1, 2, {"x": "\\u20ac"}], "f": 1.25, "3": null, "true": 2}'
+        assert json.dumps(data, ensure_ascii=False) == '{"k": [1, 2, {"x": "€"}], "f": 1.25, "3": null, "true": 2}'
+        assert json.dumps({"b": 1, "a": (2, 3)}, sort_keys=True, separators=(",", ":")) == '{"a":[2,3],"b":1}'
+        assert json.loads("[1, 2]", parse_int=float) == [1.0, 2.0]
+        assert json.loads('{"a": 1}', object_pairs_hook=list) == [("a", 1)]
+
+    def test_errors(self):
+        import json
+        for doc, msg, pos in [('[1, 2', "Expecting ',' delimiter", 5),
+                              ('{"a" 1}', "Expecting ':' delimiter", 5),
+                              ('{"a": 1,}', "Expecting property name enclosed in double quotes", 8),
+                              ('"abc', "Unterminated string starting at", 0),
+                              ('[1,]', "Expecting value", 3),
+                              ('"\\x"', "Invalid \\escape", 1)]:
+            try:
+                json.loads(doc)
+            except json.JSONDecodeError as e:
+                assert e.msg == msg, e.msg
+                assert e.pos == pos, e.pos
+            else:
+                assert False, doc
+        circular = []
+        circular.append(circular)
+        self.assertRaises(ValueError, json.dumps, circular)
+        self.assertRaises(ValueError, json.dumps, float("inf"), allow_nan=False)
+        self.assertRaises(TypeError, json.dumps, {(1,): 2})
+        assert json.dumps({(1,): 2, "a": 1}, skipkeys=True) == '{"a": 1}'
+        assert json.dumps(object(), default=lambda o: "obj") == '"obj"'
@@ -729,6 +729,36 @@ class ListTest(list_tests.CommonTest):
         l.extend(l)
         self.assertEqual([1,2,3,4,10,20,30,40], l)
 
+    def test_sort_storages(self):
+        for l in ([3, 1, 2, 1], [3 << 40, 1 << 40, 2, 1], [3.5, 1.0, 2.25, 1.0], ["c", "a", "b", "a"], [3, 1.0, 2, True]):
+            expected = sorted(l, key=lambda x: x)
+            l.sort()
+            self.assertEqual(expected, l)
+            l.sort(reverse=True)
+            self.assertEqual(expected[::-1], l)
+
+    def test_sort_stable(self):
+        data = [(i % 7, i) for i in range(500)]
+        data.reverse()
+        self.assertEqual(sorted(data, key=lambda t: t[0]),
+                         [t for k in range(7) for t in data if t[0] == k])
+        self.assertEqual(sorted(data, key=lambda t: t[0], reverse=True),
+                         [t for k in reversed(range(7)) for t in data if t[0] == k])
+        l = [0.0, -0.0, 1.0, -0.0, 0.0]
+        l.sort()
+        self.assertEqual("[0.0, -0.0, -0.0, 0.0, 1.0]", repr(l))
+
+    def test_sort_modified(self):
+        l = list(range(10))
+        self.assertRaises(ValueError, l.sort, key=lambda x: l.append(x) or x)
+        self.assertEqual(list(range(10)), l)
+
+        l = [3, 1, 0, 2]
+        self.assertRaises(ZeroDivisionError, l.sort, key=lambda x: 1 // x)
+        self.assertEqual([0, 1, 2, 3], sorted(l))
+        self.assertRaises(TypeError, [1, "a", 2].sort)
+        self.assertRaises(TypeError, l.sort, None)
+
 class ListCompareTest(CompareTest):
 
     def test_compare(self):
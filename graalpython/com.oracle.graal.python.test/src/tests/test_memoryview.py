@@ -50,3 +50,83 @@ def test_tobytes():
     b = b"\xff\x00\x00"
     v = memoryview(b)
     assert v.tobytes() == b
+
+
+def test_slice_is_view():
+    data = bytearray(b'abcdef')
+    v = memoryview(data)[1:5:2]
+    assert v.tobytes() == b'bd'
+    assert v.obj is data
+    assert v.strides == (2,)
+    assert not v.c_contiguous
+    data[1] = ord('x')
+    assert v[0] == ord('x')
+    v[1] = ord('y')
+    assert data == bytearray(b'axcyef')
+
+
+def test_cast():
+    data = bytearray(8)
+    v = memoryview(data).cast('i')
+    assert v.format == 'i'
+    assert v.itemsize == 4
+    assert len(v) == 2
+    v[1] = -2
+    assert v.tolist() == [0, -2]
+    m = memoryview(data).cast('B', [2, 4])
+    assert m.shape == (2, 4)
+    assert m.strides == (4, 1)
+    assert m[1, 0] == data[4]
+    try:
+        v.cast('i')
+    except TypeError:
+        pass
+    else:
+        assert False
+
+
+def test_release():
+    v = memoryview(b'abc')
+    with v as m:
+        assert m.tobytes() == b'abc'
+    try:
+        len(v)
+    except ValueError:
+        pass
+    else:
+        assert False
+    assert v == v
+
+
+def test_readonly():
+    v = memoryview(bytearray(b'abc')).toreadonly()
+    assert v.readonly
+    try:
+        v[0] = 1
+    except TypeError:
+        pass
+    else:
+        assert False
+    assert hash(memoryview(b'abc')) == hash(b'abc')
+
+
+def test_array_view():
+    import array
+    import sys
+    a = array.array('i', [1, 2, 3])
+    v = memoryview(a)
+    assert not v.readonly
+    assert v.format == 'i' and v.itemsize == 4 and v.nbytes == 12
+    assert v.tolist() == [1, 2, 3]
+    v[1] = 42
+    assert a[1] == 42
+    a[2] = -5
+    assert v[2] == -5
+    b = v.cast('B')
+    b[2:6] = bytes(4)
+    assert a[0] == int.from_bytes((1).to_bytes(4, sys.byteorder)[:2] + bytes(2), sys.byteorder)
+    assert a[1] == int.from_bytes(bytes(2) + (42).to_bytes(4, sys.byteorder)[2:], sys.byteorder)
+    d = array.array('d', [1.5, 2.5])
+    memoryview(d)[0] = 0.25
+    assert d[0] == 0.25
+    assert bytes(memoryview(d)) == d.tobytes()
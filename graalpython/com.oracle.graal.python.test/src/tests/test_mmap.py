@@ -164,6 +164,109 @@ class MmapTests(unittest.TestCase):
 
 
 
+    def test_access_parameter(self):
+        # Test for "access" keyword parameter
+        mapsize = 10
+        with open(TESTFN, "wb") as fp:
+            fp.write(b"a"*mapsize)
+        with open(TESTFN, "rb") as f:
+            m = mmap.mmap(f.fileno(), mapsize, access=mmap.ACCESS_READ)
+            self.assertEqual(m[:], b'a'*mapsize, "Readonly memory map data incorrect.")
+
+            # Ensuring that readonly mmap can't be slice assigned
+            with self.assertRaises(TypeError):
+                m[:] = b'b'*mapsize
+            # Ensuring that readonly mmap can't be item assigned
+            with self.assertRaises(TypeError):
+                m[0] = b'b'
+            # Ensuring that readonly mmap can't be write() to
+            with self.assertRaises(TypeError):
+                m.seek(0, 0)
+                m.write(b'abc')
+            # Ensuring that readonly mmap can't be write_byte() to
+            with self.assertRaises(TypeError):
+                m.seek(0, 0)
+                m.write_byte(b'd'[0])
+            m.close()
+
+        # Ensuring copy-on-write maps really are private
+        with open(TESTFN, "r+b") as f:
+            m = mmap.mmap(f.fileno(), mapsize, access=mmap.ACCESS_COPY)
+            m[:] = b'c'*mapsize
+            self.assertEqual(m[:], b'c'*mapsize, "Copy-on-write memory map data not written correctly.")
+            m.flush()
+            with open(TESTFN, "rb") as f2:
+                self.assertEqual(f2.read(), b'a'*mapsize, "Copy-on-write test data file should not be modified.")
+            m.close()
+
+        # Ensuring that write-through maps change the file
+        with open(TESTFN, "r+b") as f:
+            m = mmap.mmap(f.fileno(), mapsize, access=mmap.ACCESS_WRITE)
+            m[:] = b'd'*mapsize
+            m.flush()
+            m.close()
+        with open(TESTFN, "rb") as f:
+            self.assertEqual(f.read(), b'd'*mapsize, "Write-through memory map data file not updated properly.")
+
+    def test_offset(self):
+        with open(TESTFN, "wb") as f:
+            f.write(b'\0' * PAGESIZE)
+            f.write(b'foo')
+        with open(TESTFN, "r+b") as f:
+            m = mmap.mmap(f.fileno(), 0, offset=PAGESIZE)
+            self.assertEqual(len(m), 3)
+            self.assertEqual(m[:], b'foo')
+            self.assertEqual(m.tell(), 0)
+            m.close()
+            self.assertRaises(ValueError, mmap.mmap, f.fileno(), 0, offset=2 * PAGESIZE)
+            self.assertRaises(ValueError, mmap.mmap, f.fileno(), 2 * PAGESIZE)
+
+    def test_find_end(self):
+        n = 4
+        m = mmap.mmap(-1, n)
+        m[:] = b'abcd'
+        self.assertEqual(m.find(b'a'), 0)
+        self.assertEqual(m.find(b'cd'), 2)
+        self.assertEqual(m.find(b'cd', 0, -1), -1)
+        self.assertEqual(m.find(b'cd', -2), 2)
+        self.assertEqual(m.find(b'x'), -1)
+        self.assertEqual(m.rfind(b'b'), 1)
+        self.assertEqual(m.rfind(b'b', 2), -1)
+        m.close()
+
+    def test_readline(self):
+        m = mmap.mmap(-1, 11)
+        m.write(b'ab\ncd\n\nefgh')
+        m.seek(0)
+        self.assertEqual(m.readline(), b'ab\n')
+        self.assertEqual(m.readline(), b'cd\n')
+        self.assertEqual(m.readline(), b'\n')
+        self.assertEqual(m.readline(), b'efgh')
+        self.assertEqual(m.readline(), b'')
+        m.close()
+
+    def test_read_write_byte(self):
+        m = mmap.mmap(-1, 2)
+        m.write_byte(1)
+        m.write_byte(2)
+        self.assertRaises(ValueError, m.write_byte, 3)
+        m.seek(0)
+        self.assertEqual(m.read_byte(), 1)
+        self.assertEqual(m.read_byte(), 2)
+        self.assertRaises(ValueError, m.read_byte)
+        self.assertRaises(ValueError, m.write, b'x')
+        m.close()
+
+    def test_closed(self):
+        m = mmap.mmap(-1, 4)
+        m.close()
+        self.assertTrue(m.closed)
+        self.assertRaises(ValueError, m.__getitem__, 0)
+        self.assertRaises(ValueError, m.read)
+        self.assertRaises(ValueError, m.seek, 0)
+        self.assertRaises(ValueError, bytes, m)
+        self.assertRaises(ValueError, b'abcd'.startswith, m)
+
     def test_context_manager(self):
         with mmap.mmap(-1, 10) as m:
             self.assertFalse(m.closed)
@@ -178,6 +281,26 @@ class MmapTests(unittest.TestCase):
                               "wrong exception raised in context manager")
         self.assertTrue(m.closed, "context manager failed")
 
+    @unittest.skipUnless(sys.maxsize > _4G, "requires a 64-bit address space")
+    def test_slice_beyond_2G(self):
+        with open(TESTFN, "wb") as f:
+            f.seek(_2G + 2)
+            f.write(b'xyz')
+        with open(TESTFN, "r+b") as f:
+            m = mmap.mmap(f.fileno(), 0)
+            try:
+                self.assertEqual(len(m), _2G + 5)
+                self.assertEqual(m[-3:], b'xyz')
+                self.assertEqual(m[_2G:_2G + 4], b'\0\0xy')
+                self.assertEqual(m[-1:-4:-1], b'zyx')
+                self.assertEqual(m[-1::-_2G], b'z\0')
+                m[_2G + 2:_2G + 4] = b'XY'
+                self.assertEqual(m[-3:], b'XYz')
+                with self.assertRaises(IndexError):
+                    m[-3:] = b'ab'
+            finally:
+                m.close()
+
 
 
 def test_main():
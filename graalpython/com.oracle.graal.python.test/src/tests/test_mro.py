@@ -206,3 +206,30 @@ def test_class_with_slots_assignment():
         assert True
     else:
         assert False
+
+
+def test_megamorphic_lookup_sees_updates():
+    class Base:
+        def get(self):
+            return 1
+
+    classes = [type("C%d" % i, (Base,), {}) for i in range(12)]
+    objects = [cls() for cls in classes]
+
+    def total():
+        return sum(o.get() for o in objects)
+
+    assert total() == 12
+    Base.get = lambda self: 2
+    assert total() == 24
+    classes[3].get = lambda self: 10
+    assert total() == 32
+    del classes[3].get
+    assert total() == 24
+    classes[5].__bases__ = (object,)
+    try:
+        total()
+    except AttributeError:
+        pass
+    else:
+        assert False
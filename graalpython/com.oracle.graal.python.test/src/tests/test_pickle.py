@@ -66,5 +66,87 @@ class TestPickle(unittest.TestCase):
         assert [16,17,18,19] == [next(teeit2) for i in range(1, 5)]
         assert [16,17,18,19] == [next(teeit) for i in range(1, 5)]
 
+    def test_roundtrip_all_protocols(self):
+        shared = [1]
+        data = [1, -1, 255, 65536, -2**31, 2**63, -2**70, 1.5, float('inf'), 'a', '\u20ac\U0001F600', '',
+                b'', b'xy', bytearray(b'z'), {1, 2}, frozenset([3]), (), (1,), (1, 2, 3, 4), {}, {'b': 2.0},
+                None, True, False, len, int, type(None), Ellipsis, NotImplemented, [shared, shared]]
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            result = pickle.loads(pickle.dumps(data, proto))
+            self.assertEqual(data, result)
+            self.assertIs(result[-1][0], result[-1][1])
+
+    def test_recursive(self):
+        l = []
+        l.append(l)
+        t = ([],)
+        t[0].append(t)
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            r = pickle.loads(pickle.dumps(l, proto))
+            self.assertIs(r[0], r)
+            r = pickle.loads(pickle.dumps(t, proto))
+            self.assertIs(r[0][0], r)
+
+    def test_large(self):
+        data = [list(range(2500)), {i: str(i) for i in range(2100)}, b'q' * 200000, 'z' * 70000]
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            self.assertEqual(data, pickle.loads(pickle.dumps(data, proto)))
+
+    def test_compatible_output(self):
+        self.assertEqual(b'(lp0\nI1\naVa\np1\na.', pickle.dumps([1, 'a'], 0))
+        self.assertEqual(b'\x80\x02]q\x00(K\x01X\x01\x00\x00\x00aq\x01e.', pickle.dumps([1, 'a'], 2))
+        self.assertEqual(b'\x80\x04\x95\x0b\x00\x00\x00\x00\x00\x00\x00]\x94(K\x01\x8c\x01a\x94e.', pickle.dumps([1, 'a'], 4))
+        self.assertEqual(b'\x80\x02c__builtin__\nset\nq\x00]q\x01K\x01a\x85q\x02Rq\x03.', pickle.dumps({1}, 2))
+
+    def test_out_of_band_buffers(self):
+        buffers = []
+        data = [pickle.PickleBuffer(bytearray(b'abc')), pickle.PickleBuffer(b'de')]
+        s = pickle.dumps(data, 5, buffer_callback=buffers.append)
+        self.assertEqual(2, len(buffers))
+        result = pickle.loads(s, buffers=buffers)
+        self.assertIs(buffers[0], result[0])
+        self.assertIs(buffers[1], result[1])
+        self.assertEqual([b'abc', bytearray(b'de')], pickle.loads(pickle.dumps([pickle.PickleBuffer(b'abc'), pickle.PickleBuffer(bytearray(b'de'))], 5)))
+        self.assertRaises(ValueError, pickle.dumps, data, 4, buffer_callback=buffers.append)
+        self.assertRaises(pickle.UnpicklingError, pickle.loads, s)
+
+    def test_errors(self):
+        self.assertRaises(EOFError, pickle.loads, b'')
+        self.assertRaises(pickle.UnpicklingError, pickle.loads, b'\x80\x04X\x05\x00\x00\x00ab')
+        self.assertRaises(pickle.UnpicklingError, pickle.loads, b'\xff')
+        self.assertRaises(pickle.UnpicklingError, pickle.loads, b'(.')
+        self.assertRaises((pickle.PicklingError, AttributeError), pickle.dumps, lambda: 1)
+        self.assertRaises(ValueError, pickle.dumps, 1, pickle.HIGHEST_PROTOCOL + 1)
+
+    def test_persistent_id(self):
+        class P(pickle.Pickler):
+            def persistent_id(self, obj):
+                return 'ID' if obj == 'secret' else None
+
+        class U(pickle.Unpickler):
+            def persistent_load(self, pid):
+                return 'loaded:' + pid
+
+        class F:
+            def __init__(self):
+                self.data = b''
+                self.pos = 0
+            def write(self, b):
+                self.data += bytes(b)
+            def read(self, n):
+                result = self.data[self.pos:self.pos + n]
+                self.pos += len(result)
+                return result
+            def readline(self):
+                end = self.data.find(b'\n', self.pos) + 1 or len(self.data)
+                result = self.data[self.pos:end]
+                self.pos = end
+                return result
+
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            f = F()
+            P(f, proto).dump(['secret', 1])
+            self.assertEqual(['loaded:ID', 1], U(f).load())
+
 if __name__ == '__main__':
     unittest.main()
@@ -38,6 +38,7 @@
 # SOFTWARE.
 
 import unittest
+import errno
 import os
 import sys
 import posix
@@ -113,3 +114,229 @@ class PosixTests(unittest.TestCase):
     def delete_file(self, new_file_path, cwd):
         os.remove(new_file_path)
         os.remove(cwd + '/test.txt')
+
+
+class SendfileTests(unittest.TestCase):
+    DATA = bytes(range(256)) * 64
+
+    def setUp(self):
+        import tempfile
+        self.tmpdir = tempfile.mkdtemp()
+        self.src = os.path.join(self.tmpdir, 'src')
+        self.dst = os.path.join(self.tmpdir, 'dst')
+        with open(self.src, 'wb') as f:
+            f.write(self.DATA)
+
+    def tearDown(self):
+        import shutil
+        shutil.rmtree(self.tmpdir)
+
+    def read_dst(self):
+        with open(self.dst, 'rb') as f:
+            return f.read()
+
+    def test_sendfile_offset(self):
+        infd = os.open(self.src, os.O_RDONLY)
+        outfd = os.open(self.dst, os.O_WRONLY | os.O_CREAT)
+        try:
+            self.assertEqual(os.sendfile(outfd, infd, 100, 1000), 1000)
+            # an explicit offset does not move the input position
+            self.assertEqual(os.lseek(infd, 0, os.SEEK_CUR), 0)
+            self.assertEqual(os.lseek(outfd, 0, os.SEEK_CUR), 1000)
+            self.assertEqual(os.sendfile(outfd, infd, len(self.DATA), 1000), 0)
+        finally:
+            os.close(infd)
+            os.close(outfd)
+        self.assertEqual(self.read_dst(), self.DATA[100:1100])
+
+    def test_sendfile_current_position(self):
+        infd = os.open(self.src, os.O_RDONLY)
+        outfd = os.open(self.dst, os.O_WRONLY | os.O_CREAT)
+        try:
+            os.lseek(infd, 10, os.SEEK_SET)
+            self.assertEqual(os.sendfile(outfd, infd, None, 20), 20)
+            self.assertEqual(os.lseek(infd, 0, os.SEEK_CUR), 30)
+            self.assertRaises(OSError, os.sendfile, outfd, infd, -1, 20)
+        finally:
+            os.close(infd)
+            os.close(outfd)
+        self.assertEqual(self.read_dst(), self.DATA[10:30])
+
+    @unittest.skipUnless(hasattr(os, 'copy_file_range'), 'requires os.copy_file_range')
+    def test_copy_file_range(self):
+        infd = os.open(self.src, os.O_RDONLY)
+        outfd = os.open(self.dst, os.O_WRONLY | os.O_CREAT)
+        try:
+            self.assertEqual(os.copy_file_range(infd, outfd, 10), 10)
+            self.assertEqual(os.lseek(infd, 0, os.SEEK_CUR), 10)
+            self.assertEqual(os.copy_file_range(infd, outfd, 10, 50, 10), 10)
+            self.assertEqual(os.lseek(infd, 0, os.SEEK_CUR), 10)
+            self.assertEqual(os.lseek(outfd, 0, os.SEEK_CUR), 10)
+        finally:
+            os.close(infd)
+            os.close(outfd)
+        self.assertEqual(self.read_dst(), self.DATA[:10] + self.DATA[50:60])
+
+    def test_shutil_copyfile(self):
+        import shutil
+        shutil.copyfile(self.src, self.dst)
+        self.assertEqual(self.read_dst(), self.DATA)
+
+
+class BufferIOTests(unittest.TestCase):
+    def setUp(self):
+        import tempfile
+        fd, self.path = tempfile.mkstemp()
+        os.close(fd)
+        with open(self.path, 'wb') as f:
+            f.write(b'0123456789')
+
+    def tearDown(self):
+        os.remove(self.path)
+
+    def test_readinto(self):
+        fd = os.open(self.path, os.O_RDONLY)
+        try:
+            buf = bytearray(4)
+            self.assertEqual(posix._readinto(fd, buf), 4)
+            self.assertEqual(buf, b'0123')
+            view = memoryview(bytearray(b'........'))
+            self.assertEqual(posix._readinto(fd, view[2:]), 6)
+            self.assertEqual(view.obj, b'..456789')
+            self.assertEqual(posix._readinto(fd, buf), 0)
+            self.assertRaises(TypeError, posix._readinto, fd, b'readonly')
+        finally:
+            os.close(fd)
+
+    def test_readv_writev(self):
+        fd = os.open(self.path, os.O_RDWR)
+        try:
+            a, b = bytearray(3), bytearray(4)
+            self.assertEqual(os.readv(fd, [a, memoryview(b)]), 7)
+            self.assertEqual((a, b), (b'012', b'3456'))
+            self.assertEqual(os.readv(fd, (a, b)), 3)
+            self.assertEqual(a, b'789')
+            self.assertEqual(os.writev(fd, [b'ab', bytearray(b'cd'), memoryview(b'xefx')[1:3]]), 6)
+            self.assertRaises(TypeError, os.readv, fd, a)
+            self.assertRaises(TypeError, os.writev, fd, 1)
+        finally:
+            os.close(fd)
+        with open(self.path, 'rb') as f:
+            self.assertEqual(f.read(), b'0123456789abcdef')
+
+    def test_pread_pwrite(self):
+        fd = os.open(self.path, os.O_RDWR)
+        try:
+            self.assertEqual(os.pread(fd, 3, 4), b'456')
+            self.assertEqual(os.pread(fd, 100, 8), b'89')
+            self.assertEqual(os.pread(fd, 3, 20), b'')
+            self.assertEqual(os.pwrite(fd, b'xy', 2), 2)
+            self.assertEqual(os.pwrite(fd, memoryview(b'_z_')[1:2], 9), 1)
+            # the file position is not affected
+            self.assertEqual(os.lseek(fd, 0, os.SEEK_CUR), 0)
+            self.assertEqual(os.read(fd, 20), b'01xy45678z')
+        finally:
+            os.close(fd)
+
+    def test_write_buffers(self):
+        fd = os.open(self.path, os.O_WRONLY | os.O_TRUNC)
+        try:
+            self.assertEqual(os.write(fd, bytearray(b'ab')), 2)
+            self.assertEqual(os.write(fd, memoryview(b'xcdx')[1:3]), 2)
+        finally:
+            os.close(fd)
+        with open(self.path, 'rb') as f:
+            self.assertEqual(f.read(), b'abcd')
+
+    def test_fileio_readinto(self):
+        with open(self.path, 'rb', buffering=0) as f:
+            buf = bytearray(4)
+            self.assertEqual(f.readinto(buf), 4)
+            self.assertEqual(buf, b'0123')
+            big = bytearray(20)
+            self.assertEqual(f.readinto(big), 6)
+            self.assertEqual(big[:6], b'456789')
+            self.assertEqual(len(big), 20)
+
+
+class FileDescriptorTableTests(unittest.TestCase):
+    def setUp(self):
+        import tempfile
+        fd, self.path = tempfile.mkstemp()
+        os.close(fd)
+
+    def tearDown(self):
+        os.remove(self.path)
+
+    def test_lowest_free_fd(self):
+        fds = [os.open(self.path, os.O_RDONLY) for i in range(100)]
+        try:
+            self.assertEqual(len(set(fds)), 100)
+            os.close(fds[10])
+            os.close(fds[5])
+            fd = os.open(self.path, os.O_RDONLY)
+            self.assertEqual(fd, fds[5])
+            fds[5] = fd
+            fds[10] = os.dup(fds[0])
+        finally:
+            for fd in fds:
+                os.close(fd)
+
+    def test_dup_shares_channel(self):
+        fd = os.open(self.path, os.O_RDWR)
+        fd2 = os.dup(fd)
+        os.write(fd, b'abc')
+        os.close(fd)
+        # the duplicate keeps the file open
+        self.assertEqual(os.pread(fd2, 3, 0), b'abc')
+        fd3 = os.open(self.path, os.O_RDONLY)
+        os.dup2(fd2, fd3)
+        os.close(fd2)
+        self.assertEqual(os.pread(fd3, 3, 0), b'abc')
+        os.close(fd3)
+        self.assertRaises(OSError, os.close, fd3)
+
+    def test_dup2_same_fd(self):
+        fd = os.open(self.path, os.O_RDWR)
+        try:
+            self.assertEqual(os.dup2(fd, fd), fd)
+            os.write(fd, b'abc')
+            self.assertEqual(os.pread(fd, 3, 0), b'abc')
+        finally:
+            os.close(fd)
+
+    def test_dup2_bad_fd(self):
+        fd2 = os.open(self.path, os.O_RDONLY)
+        fd = os.open(self.path, os.O_RDWR)
+        os.close(fd)
+        try:
+            with self.assertRaises(OSError) as cm:
+                os.dup2(fd, fd)
+            self.assertEqual(cm.exception.errno, errno.EBADF)
+            with self.assertRaises(OSError) as cm:
+                os.dup2(fd, fd2)
+            self.assertEqual(cm.exception.errno, errno.EBADF)
+            # the target was left open
+            os.fstat(fd2)
+        finally:
+            os.close(fd2)
+
+    def test_concurrent_open_close(self):
+        import threading
+        errors = []
+
+        def worker():
+            try:
+                for i in range(200):
+                    fd = os.open(self.path, os.O_RDONLY)
+                    os.fstat(fd)
+                    os.close(fd)
+            except Exception as e:
+                errors.append(e)
+
+        threads = [threading.Thread(target=worker) for i in range(4)]
+        for t in threads:
+            t.start()
+        for t in threads:
+            t.join()
+        self.assertEqual(errors, [])
@@ -489,3 +489,47 @@ class ReTests(unittest.TestCase):
             r"(//?| ==?)|([[]]+)")
         for m in regex.finditer(''):
             self.fail()
+
+    def test_finditer_and_scanner(self):
+        self.assertEqual([m.span() for m in re.finditer('a*', 'baac')], [(0, 0), (1, 3), (3, 3), (4, 4)])
+        self.assertEqual([m.pos for m in re.compile('a').finditer('xaxa', 1)], [1, 1])
+        self.assertEqual([m.group() for m in re.compile('a.').finditer('aaaa', 0, 3)], ['aa'])
+        scanner = re.compile('a').scanner('aab')
+        self.assertEqual(scanner.match().span(), (0, 1))
+        self.assertEqual(scanner.match().span(), (1, 2))
+        self.assertIsNone(scanner.match())
+        self.assertIsNone(scanner.search())
+
+    def test_match_attributes(self):
+        m = re.match(r'(?P<a>x)(y)?(?P<c>z)?', 'xz')
+        self.assertEqual(m.lastindex, 3)
+        self.assertEqual(m.lastgroup, 'c')
+        self.assertEqual(m.groups(), ('x', None, 'z'))
+        self.assertEqual(m.groups('-'), ('x', '-', 'z'))
+        self.assertEqual(m.groupdict(), {'a': 'x', 'c': 'z'})
+        self.assertEqual(m.group(0, 'a', 2), ('xz', 'x', None))
+        self.assertEqual(m[1], 'x')
+        self.assertEqual(m.span(2), (-1, -1))
+        self.assertEqual(m.regs, ((0, 2), (0, 1), (-1, -1), (1, 2)))
+        self.assertEqual(m.expand(r'\g<c>-\1'), 'z-x')
+        self.assertEqual(repr(m), "<re.Match object; span=(0, 2), match='xz'>")
+        self.assertRaises(IndexError, m.group, 4)
+        self.assertRaises(IndexError, m.group, 'b')
+        self.assertIsNone(re.match('a', 'a').lastindex)
+
+    def test_pattern_repr(self):
+        self.assertEqual(repr(re.compile('a')), "re.compile('a')")
+        self.assertEqual(repr(re.compile('a', re.I | re.M)), "re.compile('a', re.IGNORECASE|re.MULTILINE)")
+        self.assertEqual(repr(re.compile(b'a', re.I)), "re.compile(b'a', re.IGNORECASE)")
+
+    def test_sub_template_errors(self):
+        p = re.compile('(?P<a>x)')
+        self.assertEqual(p.sub(r'\g<a>\g<a>', 'axb'), 'axxb')
+        self.assertEqual(p.sub(r'\g<a>\g<a>', 'xx'), 'xxxx')
+        self.assertRaises(re.error, p.sub, r'\g<a', 'x')
+        self.assertRaises(re.error, p.sub, r'\q', 'x')
+        self.assertRaises(IndexError, p.sub, r'\g<b>', 'x')
+        self.assertRaises(re.error, p.sub, r'\2', 'x')
+        self.assertEqual(re.sub(b'(a)', rb'[\1]', b'xax'), b'x[a]x')
+        self.assertEqual(re.sub('a', lambda m: None, 'bab'), 'bb')
+        self.assertRaises(TypeError, re.sub, 'a', lambda m: 1, 'a')
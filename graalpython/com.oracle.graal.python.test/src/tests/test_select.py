@@ -44,3 +44,73 @@ def test_select_raises_on_object_with_no_fileno_func():
     except TypeError:
         raised = True
     assert raised
+
+
+def test_poll_pipe():
+    import os, select
+    r, w = os.pipe()
+    try:
+        p = select.poll()
+        p.register(r, select.POLLIN)
+        p.register(w, select.POLLOUT)
+        assert p.poll(0) == [(w, select.POLLOUT)]
+        os.write(w, b"x")
+        assert sorted(p.poll(0)) == sorted([(r, select.POLLIN), (w, select.POLLOUT)])
+        p.modify(w, 0)
+        assert p.poll(None) == [(r, select.POLLIN)]
+        p.unregister(r)
+        assert p.poll(10) == []
+        try:
+            p.unregister(r)
+        except KeyError:
+            raised = True
+        assert raised
+    finally:
+        os.close(r)
+        os.close(w)
+
+
+def test_epoll_pipe():
+    import os, select
+    r, w = os.pipe()
+    try:
+        with select.epoll() as ep:
+            ep.register(r, select.EPOLLIN)
+            assert ep.poll(0) == []
+            os.write(w, b"x")
+            assert ep.poll(1) == [(r, select.EPOLLIN)]
+            assert ep.poll(1, 1) == [(r, select.EPOLLIN)]
+            raised = False
+            try:
+                ep.register(r, select.EPOLLIN)
+            except FileExistsError:
+                raised = True
+            assert raised
+            ep.unregister(r)
+            assert ep.poll(0) == []
+        assert ep.closed
+    finally:
+        os.close(r)
+        os.close(w)
+
+
+def test_poll_register_while_polling():
+    import os, select, threading
+    r1, w1 = os.pipe()
+    r2, w2 = os.pipe()
+    try:
+        p = select.poll()
+        p.register(r1, select.POLLIN)
+        result = []
+        t = threading.Thread(target=lambda: result.append(p.poll(5000)))
+        t.start()
+        # changing the registrations must not wait for, nor break, the running poll
+        p.register(r2, select.POLLIN)
+        os.write(w1, b"x")
+        t.join()
+        assert (r1, select.POLLIN) in result[0]
+        os.write(w2, b"x")
+        assert sorted(p.poll(1000)) == sorted([(r1, select.POLLIN), (r2, select.POLLIN)])
+    finally:
+        for fd in (r1, w1, r2, w2):
+            os.close(fd)
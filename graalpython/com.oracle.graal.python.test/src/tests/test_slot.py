@@ -94,6 +94,75 @@ class TestSlots(unittest.TestCase):
             except ValueError:
                 raised = True
             assert raised
-        
+
+    def test_no_dict_if_slots(self):
+        class C:
+            __slots__ = ('a', 'b')
+        class D(C):
+            __slots__ = ('c',)
+        for obj in (C(), D()):
+            obj.a = 1
+            obj.b = 2.5
+            self.assertEqual((obj.a, obj.b), (1, 2.5))
+            with self.assertRaises(AttributeError):
+                obj.__dict__
+            with self.assertRaises(AttributeError):
+                obj.x = 1
+            with self.assertRaises(AttributeError):
+                setattr(obj, 'x', 1)
+            self.assertFalse(hasattr(obj, 'x'))
+        d = D()
+        d.c = "c"
+        self.assertEqual(d.c, "c")
+        del d.c
+        with self.assertRaises(AttributeError):
+            d.c
+
+    def test_dict_if_dict_in_slots_or_base(self):
+        class C:
+            __slots__ = ('a', '__dict__')
+        class Base:
+            pass
+        class D(Base):
+            __slots__ = ('a',)
+        class S:
+            __slots__ = ('a',)
+        class E(S):
+            pass
+        for cls in (C, D, E):
+            obj = cls()
+            obj.a = 1
+            obj.x = 2
+            self.assertEqual(obj.x, 2)
+            self.assertEqual(obj.__dict__, {'x': 2})
+            self.assertEqual(obj.a, 1)
+
+    def test_many_slots(self):
+        names = tuple("s%d" % i for i in range(20))
+        C = type("C", (), {"__slots__": names})
+        obj = C()
+        for i, name in enumerate(names):
+            setattr(obj, name, i if i % 2 else str(i))
+        for i, name in enumerate(names):
+            self.assertEqual(getattr(obj, name), i if i % 2 else str(i))
+        with self.assertRaises(AttributeError):
+            obj.other = 1
+
+    def test_class_assignment_layout(self):
+        class S:
+            __slots__ = ('a',)
+        class T:
+            __slots__ = ('a',)
+        class U:
+            pass
+        obj = S()
+        obj.a = 1
+        obj.__class__ = T
+        self.assertIs(type(obj), T)
+        self.assertEqual(obj.a, 1)
+        with self.assertRaises(TypeError):
+            obj.__class__ = U
+
+
 if __name__ == "__main__":
     unittest.main()
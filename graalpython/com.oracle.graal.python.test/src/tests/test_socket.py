@@ -40,6 +40,8 @@
 import unittest
 
 import socket
+import select
+import threading
 
 
 def test_inet_aton():
@@ -66,3 +68,233 @@ def test_get_name_info():
     except TypeError:
         raised = True
     assert raised
+
+
+class TestStreamTransfer(unittest.TestCase):
+    def setUp(self):
+        self.server = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
+        self.server.bind(('127.0.0.1', 0))
+        self.server.listen(1)
+        self.client = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
+        self.client.connect(self.server.getsockname())
+        self.conn, _ = self.server.accept()
+
+    def tearDown(self):
+        self.conn.close()
+        self.client.close()
+        self.server.close()
+
+    def recv_exactly(self, n):
+        data = b''
+        while len(data) < n:
+            chunk = self.conn.recv(n - len(data))
+            if not chunk:
+                break
+            data += chunk
+        return data
+
+    def test_send_recv(self):
+        self.assertEqual(self.client.send(b'hello'), 5)
+        self.assertEqual(self.recv_exactly(5), b'hello')
+        self.client.sendall(bytearray(b'bytearray'))
+        self.assertEqual(self.recv_exactly(9), b'bytearray')
+        self.client.sendall(memoryview(b'xxmemoryviewxx')[2:-2])
+        self.assertEqual(self.recv_exactly(10), b'memoryview')
+        self.assertRaises(ValueError, self.conn.recv, -1)
+
+    def test_recv_large(self):
+        data = bytes(range(256)) * 1024
+        self.client.sendall(data)
+        self.assertEqual(self.recv_exactly(len(data)), data)
+
+    def test_recv_into_bytearray(self):
+        self.client.sendall(b'abcdef')
+        buf = bytearray(10)
+        n = 0
+        while n < 6:
+            n += self.conn.recv_into(memoryview(buf)[n:], 6 - n)
+        self.assertEqual(buf, b'abcdef\0\0\0\0')
+
+    def test_recv_into_nbytes(self):
+        self.client.sendall(b'abcdef')
+        buf = bytearray(b'..........')
+        n = self.conn.recv_into(buf, 1)
+        self.assertEqual(n, 1)
+        self.assertEqual(buf, b'a.........')
+        self.assertRaises(ValueError, self.conn.recv_into, buf, -1)
+        self.assertRaises(ValueError, self.conn.recv_into, buf, 11)
+        self.assertRaises(TypeError, self.conn.recv_into, b'readonly')
+        self.assertRaises(TypeError, self.conn.recv_into, memoryview(b'readonly'))
+
+    def test_sendfile(self):
+        import tempfile
+        data = bytes(range(256)) * 256
+        with tempfile.TemporaryFile() as f:
+            f.write(data)
+            f.flush()
+            self.assertEqual(self.client.sendfile(f, 1000), len(data) - 1000)
+            self.assertEqual(f.tell(), len(data))
+            self.assertEqual(self.recv_exactly(len(data) - 1000), data[1000:])
+            self.assertEqual(self.client.sendfile(f, 0, 10), 10)
+            self.assertEqual(self.recv_exactly(10), data[:10])
+        # the socket is still usable in blocking mode afterwards
+        self.client.sendall(b'done')
+        self.assertEqual(self.recv_exactly(4), b'done')
+
+    def test_nonblocking_recv(self):
+        self.conn.setblocking(False)
+        self.assertRaises(BlockingIOError, self.conn.recv, 16)
+        self.assertRaises(BlockingIOError, self.conn.recv_into, bytearray(16))
+        self.client.sendall(b'data')
+        select.select([self.conn], [], [], 5)
+        self.assertEqual(self.conn.recv(16), b'data')
+        self.client.close()
+        select.select([self.conn], [], [], 5)
+        # the end of the stream is not an error
+        self.assertEqual(self.conn.recv(16), b'')
+        self.assertEqual(self.conn.recv_into(bytearray(16)), 0)
+
+    def test_nonblocking_sendall(self):
+        self.client.setblocking(False)
+        data = b'x' * (1 << 20)
+        with self.assertRaises(BlockingIOError):
+            for i in range(64):
+                self.client.sendall(data)
+
+    def test_blocking_while_polled(self):
+        poller = select.poll()
+        poller.register(self.conn, select.POLLIN)
+        try:
+            self.assertIsNone(self.conn.gettimeout())
+            self.client.sendall(b'polled')
+            self.assertEqual(poller.poll(5000), [(self.conn.fileno(), select.POLLIN)])
+            self.assertEqual(self.recv_exactly(6), b'polled')
+            self.conn.setblocking(False)
+            self.assertRaises(BlockingIOError, self.conn.recv, 16)
+            self.conn.setblocking(True)
+            self.assertTrue(self.conn.getblocking())
+            self.client.sendall(b'again')
+            self.assertEqual(self.recv_exactly(5), b'again')
+        finally:
+            poller.unregister(self.conn)
+
+    def test_timeout_while_polled(self):
+        poller = select.poll()
+        poller.register(self.conn, select.POLLIN)
+        try:
+            self.conn.settimeout(0.2)
+            self.assertRaises(socket.timeout, self.conn.recv, 16)
+            self.assertRaises(socket.timeout, self.conn.recv_into, bytearray(16))
+            self.client.sendall(b'in time')
+            self.assertEqual(self.recv_exactly(7), b'in time')
+        finally:
+            poller.unregister(self.conn)
+
+    def test_concurrent_recv(self):
+        data = bytes(range(251)) * 400
+        received = []
+
+        def run():
+            while True:
+                chunk = self.conn.recv(1000)
+                if not chunk:
+                    break
+                received.append(chunk)
+
+        threads = [threading.Thread(target=run) for _ in range(4)]
+        for t in threads:
+            t.start()
+        self.client.sendall(data)
+        self.client.shutdown(socket.SHUT_WR)
+        for t in threads:
+            t.join(10)
+        # the chunks may be interleaved, but none may be lost or mixed up
+        self.assertEqual(sorted(b''.join(received)), sorted(data))
+
+
+class TestDatagram(unittest.TestCase):
+    def setUp(self):
+        self.receiver = socket.socket(socket.AF_INET, socket.SOCK_DGRAM)
+        self.receiver.bind(('127.0.0.1', 0))
+        self.sender = socket.socket(socket.AF_INET, socket.SOCK_DGRAM)
+        self.sender.bind(('127.0.0.1', 0))
+
+    def tearDown(self):
+        self.sender.close()
+        self.receiver.close()
+
+    def test_sendto_recvfrom(self):
+        self.assertEqual(self.sender.sendto(b'hello', self.receiver.getsockname()), 5)
+        data, addr = self.receiver.recvfrom(1024)
+        self.assertEqual(data, b'hello')
+        self.assertEqual(addr, self.sender.getsockname())
+        self.sender.sendto(memoryview(b'xxviewxx')[2:-2], 0, self.receiver.getsockname())
+        data, addr = self.receiver.recvfrom(1024)
+        self.assertEqual(data, b'view')
+
+    def test_recvfrom_truncates(self):
+        self.sender.sendto(b'abcdefgh', self.receiver.getsockname())
+        data, _ = self.receiver.recvfrom(4)
+        self.assertEqual(data, b'abcd')
+
+    def test_recvfrom_into(self):
+        self.sender.sendto(b'abcdef', self.receiver.getsockname())
+        buf = bytearray(b'..........')
+        n, addr = self.receiver.recvfrom_into(memoryview(buf)[2:])
+        self.assertEqual(n, 6)
+        self.assertEqual(buf, b'..abcdef..')
+        self.assertEqual(addr, self.sender.getsockname())
+        self.assertRaises(ValueError, self.receiver.recvfrom_into, buf, 11)
+
+    def test_connected(self):
+        self.sender.connect(self.receiver.getsockname())
+        self.assertEqual(self.sender.getpeername(), self.receiver.getsockname())
+        self.assertEqual(self.sender.send(b'connected'), 9)
+        self.assertEqual(self.receiver.recv(1024), b'connected')
+
+    def test_nonblocking(self):
+        self.receiver.setblocking(False)
+        self.assertRaises(BlockingIOError, self.receiver.recvfrom, 1024)
+        self.assertRaises(BlockingIOError, self.receiver.recvfrom_into, bytearray(16))
+        self.sender.sendto(b'ping', self.receiver.getsockname())
+        r, _, _ = select.select([self.receiver], [], [], 5)
+        self.assertEqual(r, [self.receiver])
+        self.assertEqual(self.receiver.recvfrom(1024)[0], b'ping')
+        _, w, _ = select.select([], [self.sender], [], 5)
+        self.assertEqual(w, [self.sender])
+
+    def test_concurrent_recvfrom(self):
+        other = socket.socket(socket.AF_INET, socket.SOCK_DGRAM)
+        other.bind(('127.0.0.1', 0))
+        try:
+            senders = {b'a': self.sender, b'b': other}
+            mismatches = []
+
+            def run():
+                for i in range(50):
+                    data, addr = self.receiver.recvfrom(16)
+                    if addr != senders[data].getsockname():
+                        mismatches.append((data, addr))
+
+            threads = [threading.Thread(target=run) for _ in range(4)]
+            for t in threads:
+                t.start()
+            for i in range(100):
+                self.sender.sendto(b'a', self.receiver.getsockname())
+                other.sendto(b'b', self.receiver.getsockname())
+            for t in threads:
+                t.join(10)
+            self.assertEqual(mismatches, [])
+        finally:
+            other.close()
+
+    def test_batch_receive(self):
+        address = self.receiver.getsockname()
+        buf = bytearray(64)
+        view = memoryview(buf)
+        for batch in range(20):
+            for i in range(50):
+                self.sender.sendto(b'metric:%d|c' % (batch * 50 + i), address)
+            for i in range(50):
+                n, _ = self.receiver.recvfrom_into(view)
+                self.assertEqual(bytes(buf[:n]), b'metric:%d|c' % (batch * 50 + i))
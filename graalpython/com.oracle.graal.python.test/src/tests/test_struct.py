@@ -145,3 +145,73 @@ def test_pack_unpack():
 def test_pack_nan():
     import math
     assert struct.pack('<d', math.nan) == b'\x00\x00\x00\x00\x00\x00\xf8\x7f'
+
+
+def test_struct_object():
+    s = struct.Struct('<hI')
+    assert s.format == '<hI'
+    assert s.size == 6
+    packed = s.pack(-2, 70000)
+    assert packed == b'\xfe\xff\x70\x11\x01\x00'
+    assert s.unpack(packed) == (-2, 70000)
+    assert struct.Struct(b'<hI').unpack(bytearray(packed)) == (-2, 70000)
+
+
+def test_pack_into_unpack_from():
+    s = struct.Struct('>HB')
+    buf = bytearray(b'\xaa' * 8)
+    s.pack_into(buf, 2, 0x1234, 7)
+    assert buf == b'\xaa\xaa\x12\x34\x07\xaa\xaa\xaa'
+    assert s.unpack_from(buf, 2) == (0x1234, 7)
+    assert s.unpack_from(buf, offset=-6) == (0x1234, 7)
+    assert struct.unpack_from('>H', buf) == (0xaaaa,)
+
+    view = memoryview(buf)[4:]
+    struct.pack_into('<H', view, 1, 0x5678)
+    assert buf == b'\xaa\xaa\x12\x34\x07\x78\x56\xaa'
+    assert struct.unpack_from('<H', view, 1) == (0x5678,)
+    assert struct.unpack('<H', view[1:3]) == (0x5678,)
+
+
+def test_iter_unpack():
+    data = struct.pack('<4h', 1, -2, 3, -4)
+    it = struct.iter_unpack('<h', data)
+    assert it.__length_hint__() == 4
+    assert list(it) == [(1,), (-2,), (3,), (-4,)]
+    assert it.__length_hint__() == 0
+    assert list(struct.Struct('<hh').iter_unpack(memoryview(data))) == [(1, -2), (3, -4)]
+
+
+def assert_raises(err, fn, *args):
+    try:
+        fn(*args)
+    except err:
+        pass
+    else:
+        assert False, "expected %s" % err
+
+
+def test_errors():
+    assert struct.error is struct.StructError
+    assert_raises(struct.error, struct.pack, '<b', 128)
+    assert_raises(struct.error, struct.pack, '<B', -1)
+    assert_raises(struct.error, struct.pack, '<Q', -1)
+    assert_raises(struct.error, struct.pack, '<i', 1.5)
+    assert_raises(struct.error, struct.pack, '<2h', 1)
+    assert_raises(struct.error, struct.pack, 'z', 1)
+    assert_raises(struct.error, struct.unpack, '<h', b'\x00')
+    assert_raises(struct.error, struct.unpack_from, '<i', bytearray(6), 3)
+    assert_raises(struct.error, struct.pack_into, '<i', bytearray(6), 3, 1)
+    assert_raises(struct.error, struct.iter_unpack, '<i', b'\x00' * 6)
+    assert_raises(TypeError, struct.pack_into, '<i', b'\x00' * 4, 0, 1)
+    assert_raises(TypeError, struct.unpack, '<h', 'ab')
+    assert_raises(OverflowError, struct.pack, '<e', 1e6)
+    assert struct.pack('<Q', 2 ** 64 - 1) == b'\xff' * 8
+    assert struct.unpack('<q', b'\xff' * 8) == (-1,)
+
+
+def test_clearcache():
+    assert struct.calcsize('<5sq') == 13
+    struct._clearcache()
+    assert struct.calcsize('<5sq') == 13
+    assert struct.calcsize('@bq') == 16
@@ -216,3 +216,38 @@ class GR15813ImportTests(ZipImportBaseTestCase):
         self.assertTrue(self.z.prefix == "")
         self.assertTrue(type(self.z._files) is dict)
         self.assertTrue(6, len(self.z._files))
+
+class RewrittenArchiveTests(ZipImportBaseTestCase):
+
+    def setUp(self):
+        ZipImportBaseTestCase.setUp(self)
+        self.path = support.TESTFN + ".zip"
+
+    def tearDown(self):
+        ZipImportBaseTestCase.tearDown(self)
+        support.unlink(self.path)
+
+    def write_module(self, source):
+        with ZipFile(self.path, "w", ZIP_DEFLATED) as z:
+            z.writestr("rewritten.py", source)
+
+    def test_code_of_rewritten_archive(self):
+        self.write_module("VALUE = 1\n")
+        z = zipimport.zipimporter(self.path)
+        self.assertEqual(1, self._run(z.get_code("rewritten"))["VALUE"])
+        self.assertEqual(1, self._run(z.get_code("rewritten"))["VALUE"])
+        self.write_module("VALUE = 22\n")
+        zipimport._zip_directory_cache.clear()
+        z = zipimport.zipimporter(self.path)
+        self.assertEqual(22, self._run(z.get_code("rewritten"))["VALUE"])
+
+    def test_coding_comment(self):
+        self.write_module("# -*- coding: latin-1 -*-\nVALUE = '\xe9'\n".encode("latin-1"))
+        z = zipimport.zipimporter(self.path)
+        self.assertEqual("\xe9", self._run(z.get_code("rewritten"))["VALUE"])
+        self.assertTrue(z.get_source("rewritten").endswith("VALUE = '\xe9'\n"))
+
+    def _run(self, code):
+        d = {}
+        exec(code, d)
+        return d
@@ -50,6 +50,8 @@ import com.oracle.graal.python.builtins.modules.ArrayModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.AstModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.AtexitModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.BinasciiModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.BisectModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.Blake2ModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.BuiltinConstructors;
 import com.oracle.graal.python.builtins.modules.BuiltinFunctions;
 import com.oracle.graal.python.builtins.modules.CmathModuleBuiltins;
@@ -64,9 +66,11 @@ import com.oracle.graal.python.builtins.modules.FcntlModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.FunctoolsModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.GcModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.GraalPythonModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.HeapqModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.IOModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ImpModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ItertoolsModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.JSONModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.JavaModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.LZMAModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.LocaleModuleBuiltins;
@@ -74,8 +78,10 @@ import com.oracle.graal.python.builtins.modules.LsprofModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.MMapModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.MarshalModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.MathModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.Md5ModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.MultiprocessingModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.OperatorModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.PickleModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.PolyglotModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.PosixSubprocessModuleBuiltins;
@@ -88,9 +94,14 @@ import com.oracle.graal.python.builtins.modules.ReadlineModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ResourceModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.SREModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.SelectModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.Sha1ModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.Sha256ModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.Sha3ModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.Sha512ModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.SignalModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.SocketModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.StringModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.StructModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.SysConfigModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.SysModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ThreadModuleBuiltins;
@@ -108,6 +119,8 @@ import com.oracle.graal.python.builtins.objects.bytes.BytesBuiltins;
 import com.oracle.graal.python.builtins.objects.cell.CellBuiltins;
 import com.oracle.graal.python.builtins.objects.code.CodeBuiltins;
 import com.oracle.graal.python.builtins.objects.complex.ComplexBuiltins;
+import com.oracle.graal.python.builtins.objects.deque.DequeBuiltins;
+import com.oracle.graal.python.builtins.objects.deque.DequeIterBuiltins;
 import com.oracle.graal.python.builtins.objects.dict.DictBuiltins;
 import com.oracle.graal.python.builtins.objects.dict.DictReprBuiltin;
 import com.oracle.graal.python.builtins.objects.dict.DictValuesBuiltins;
@@ -125,14 +138,48 @@ import com.oracle.graal.python.builtins.objects.function.BuiltinFunctionBuiltins
 import com.oracle.graal.python.builtins.objects.function.FunctionBuiltins;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
+import com.oracle.graal.python.builtins.objects.functools.LruCacheWrapperBuiltins;
+import com.oracle.graal.python.builtins.objects.functools.PartialBuiltins;
+import com.oracle.graal.python.builtins.objects.generator.AsyncGenASendBuiltins;
+import com.oracle.graal.python.builtins.objects.generator.AsyncGenAThrowBuiltins;
+import com.oracle.graal.python.builtins.objects.generator.AsyncGenBuiltins;
+import com.oracle.graal.python.builtins.objects.generator.CoroutineBuiltins;
+import com.oracle.graal.python.builtins.objects.generator.CoroutineWrapperBuiltins;
 import com.oracle.graal.python.builtins.objects.generator.GeneratorBuiltins;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.GetSetDescriptorTypeBuiltins;
+import com.oracle.graal.python.builtins.objects.hashlib.HashObjectBuiltins;
+import com.oracle.graal.python.builtins.objects.hashlib.Sha3Builtins;
 import com.oracle.graal.python.builtins.objects.ints.IntBuiltins;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.io.BufferedIOBuiltins;
+import com.oracle.graal.python.builtins.objects.io.BufferedReaderBuiltins;
+import com.oracle.graal.python.builtins.objects.io.BufferedWriterBuiltins;
+import com.oracle.graal.python.builtins.objects.io.TextIOWrapperBuiltins;
 import com.oracle.graal.python.builtins.objects.iterator.ForeignIteratorBuiltins;
 import com.oracle.graal.python.builtins.objects.iterator.IteratorBuiltins;
 import com.oracle.graal.python.builtins.objects.iterator.PZipBuiltins;
 import com.oracle.graal.python.builtins.objects.iterator.SentinelIteratorBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.AccumulateBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.ChainBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.CombinationsBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.CombinationsWithReplacementBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.CompressBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.CountBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.CycleBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.DropwhileBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.FilterfalseBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.GroupByBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.GrouperBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.IsliceBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.PermutationsBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.ProductBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.RepeatBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.StarmapBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.TakewhileBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.TeeBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.ZipLongestBuiltins;
+import com.oracle.graal.python.builtins.objects.json.JSONEncoderBuiltins;
+import com.oracle.graal.python.builtins.objects.json.JSONScannerBuiltins;
 import com.oracle.graal.python.builtins.objects.list.ListBuiltins;
 import com.oracle.graal.python.builtins.objects.lzma.LZMACompressorBuiltins;
 import com.oracle.graal.python.builtins.objects.lzma.LZMADecompressorBuiltins;
@@ -151,18 +198,28 @@ import com.oracle.graal.python.builtins.objects.module.ModuleBuiltins;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.object.ObjectBuiltins;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.pickle.PickleBufferBuiltins;
+import com.oracle.graal.python.builtins.objects.pickle.PicklerBuiltins;
+import com.oracle.graal.python.builtins.objects.pickle.UnpicklerBuiltins;
 import com.oracle.graal.python.builtins.objects.posix.DirEntryBuiltins;
 import com.oracle.graal.python.builtins.objects.posix.ScandirIteratorBuiltins;
 import com.oracle.graal.python.builtins.objects.random.RandomBuiltins;
 import com.oracle.graal.python.builtins.objects.range.RangeBuiltins;
 import com.oracle.graal.python.builtins.objects.referencetype.ReferenceTypeBuiltins;
 import com.oracle.graal.python.builtins.objects.reversed.ReversedBuiltins;
+import com.oracle.graal.python.builtins.objects.select.EpollBuiltins;
+import com.oracle.graal.python.builtins.objects.select.PollBuiltins;
 import com.oracle.graal.python.builtins.objects.set.BaseSetBuiltins;
 import com.oracle.graal.python.builtins.objects.set.FrozenSetBuiltins;
 import com.oracle.graal.python.builtins.objects.set.SetBuiltins;
 import com.oracle.graal.python.builtins.objects.slice.SliceBuiltins;
 import com.oracle.graal.python.builtins.objects.socket.SocketBuiltins;
+import com.oracle.graal.python.builtins.objects.sre.SREMatchBuiltins;
+import com.oracle.graal.python.builtins.objects.sre.SREPatternBuiltins;
+import com.oracle.graal.python.builtins.objects.sre.SREScannerBuiltins;
 import com.oracle.graal.python.builtins.objects.str.StringBuiltins;
+import com.oracle.graal.python.builtins.objects.struct.StructBuiltins;
+import com.oracle.graal.python.builtins.objects.struct.StructUnpackIteratorBuiltins;
 import com.oracle.graal.python.builtins.objects.superobject.SuperBuiltins;
 import com.oracle.graal.python.builtins.objects.thread.LockBuiltins;
 import com.oracle.graal.python.builtins.objects.thread.RLockBuiltins;
@@ -225,7 +282,6 @@ public final class Python3Core implements PythonCore {
                         "array",
                         "_thread",
                         "function",
-                        "_functools",
                         "method",
                         "code",
                         "_warnings",
@@ -235,13 +291,10 @@ public final class Python3Core implements PythonCore {
                         "classes",
                         "__graalpython__",
                         "_weakref",
-                        "itertools",
                         "faulthandler",
                         "base_exception",
                         PythonCextBuiltins.PYTHON_CEXT,
                         "_collections",
-                        "memoryview",
-                        "list",
                         "_codecs",
                         "_codecs_truffle",
                         "bytes",
@@ -268,7 +321,6 @@ public final class Python3Core implements PythonCore {
                         "pip_hook",
                         "_lsprof",
                         "marshal",
-                        "_struct",
                         "bool",
                         "_lzma"));
         // add service loader defined python file extensions
@@ -339,11 +391,37 @@ public final class Python3Core implements PythonCore {
                         new IteratorBuiltins(),
                         new ReversedBuiltins(),
                         new PZipBuiltins(),
+                        new AccumulateBuiltins(),
+                        new ChainBuiltins(),
+                        new CombinationsBuiltins(),
+                        new CombinationsWithReplacementBuiltins(),
+                        new CompressBuiltins(),
+                        new CountBuiltins(),
+                        new CycleBuiltins(),
+                        new DropwhileBuiltins(),
+                        new FilterfalseBuiltins(),
+                        new GroupByBuiltins(),
+                        new GrouperBuiltins(),
+                        new IsliceBuiltins(),
+                        new PermutationsBuiltins(),
+                        new ProductBuiltins(),
+                        new RepeatBuiltins(),
+                        new StarmapBuiltins(),
+                        new TakewhileBuiltins(),
+                        new TeeBuiltins(),
+                        new ZipLongestBuiltins(),
+                        new PartialBuiltins(),
+                        new LruCacheWrapperBuiltins(),
                         new EnumerateBuiltins(),
                         new MapBuiltins(),
                         new SentinelIteratorBuiltins(),
                         new ForeignIteratorBuiltins(),
                         new GeneratorBuiltins(),
+                        new CoroutineBuiltins(),
+                        new CoroutineWrapperBuiltins(),
+                        new AsyncGenBuiltins(),
+                        new AsyncGenASendBuiltins(),
+                        new AsyncGenAThrowBuiltins(),
                         new AbstractFunctionBuiltins(),
                         new FunctionBuiltins(),
                         new BuiltinFunctionBuiltins(),
@@ -372,6 +450,10 @@ public final class Python3Core implements PythonCore {
                         new WeakRefModuleBuiltins(),
                         new ReferenceTypeBuiltins(),
                         new IOModuleBuiltins(),
+                        new BufferedIOBuiltins(),
+                        new BufferedReaderBuiltins(),
+                        new BufferedWriterBuiltins(),
+                        new TextIOWrapperBuiltins(),
                         new StringModuleBuiltins(),
                         new ItertoolsModuleBuiltins(),
                         new FunctoolsModuleBuiltins(),
@@ -379,10 +461,37 @@ public final class Python3Core implements PythonCore {
                         new CodecsModuleBuiltins(),
                         new CodecsTruffleModuleBuiltins(),
                         new CollectionsModuleBuiltins(),
+                        new DequeBuiltins(),
+                        new DequeIterBuiltins(),
                         new JavaModuleBuiltins(),
+                        new JSONModuleBuiltins(),
+                        new JSONScannerBuiltins(),
+                        new JSONEncoderBuiltins(),
+                        new PickleModuleBuiltins(),
+                        new PicklerBuiltins(),
+                        new UnpicklerBuiltins(),
+                        new PickleBufferBuiltins(),
+                        new StructModuleBuiltins(),
+                        new StructBuiltins(),
+                        new StructUnpackIteratorBuiltins(),
+                        new HeapqModuleBuiltins(),
+                        new BisectModuleBuiltins(),
+                        new Md5ModuleBuiltins(),
+                        new Sha1ModuleBuiltins(),
+                        new Sha256ModuleBuiltins(),
+                        new Sha512ModuleBuiltins(),
+                        new Sha3ModuleBuiltins(),
+                        new Blake2ModuleBuiltins(),
+                        new HashObjectBuiltins(),
+                        new Sha3Builtins(),
                         new SREModuleBuiltins(),
+                        new SREPatternBuiltins(),
+                        new SREMatchBuiltins(),
+                        new SREScannerBuiltins(),
                         new AstModuleBuiltins(),
                         new SelectModuleBuiltins(),
+                        new PollBuiltins(),
+                        new EpollBuiltins(),
                         new SocketModuleBuiltins(),
                         new SocketBuiltins(),
                         new SignalModuleBuiltins(),
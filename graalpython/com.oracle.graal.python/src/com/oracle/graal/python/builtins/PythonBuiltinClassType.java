@@ -69,6 +69,11 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PBytes("bytes", BuiltinNames.BUILTINS),
     PCell("cell", false),
     PComplex("complex", BuiltinNames.BUILTINS),
+    PCoroutine("coroutine", false),
+    PCoroutineWrapper("coroutine_wrapper", false),
+    PAsyncGenerator("async_generator", false),
+    PAsyncGenASend("async_generator_asend", false),
+    PAsyncGenAThrow("async_generator_athrow", false),
     PDict("dict", BuiltinNames.BUILTINS),
     PDictItemIterator(BuiltinNames.DICT_ITEMITERATOR, false),
     PDictReverseItemIterator(BuiltinNames.DICT_REVERSE_ITEMITERATOR, false),
@@ -125,8 +130,61 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PDirEntry("DirEntry", "posix"),
     PLZMACompressor("LZMACompressor", "_lzma"),
     PLZMADecompressor("LZMADecompressor", "_lzma"),
+    PPoll("poll", "select"),
+    PEpoll("epoll", "select"),
+    PDeque("deque", "_collections"),
+    PDequeIter("_deque_iterator", "_collections", false),
+    PDequeRevIter("_deque_reverse_iterator", "_collections", false),
+    PBufferedReader("BufferedReader", "_io"),
+    PBufferedWriter("BufferedWriter", "_io"),
+    PBufferedRandom("BufferedRandom", "_io"),
+    PTextIOWrapper("TextIOWrapper", "_io"),
+    PJSONScanner("Scanner", "_json", false),
+    PJSONEncoder("Encoder", "_json", false),
+    PPickler("Pickler", "_pickle"),
+    PUnpickler("Unpickler", "_pickle"),
+    PPickleBuffer("PickleBuffer", "_pickle"),
+    PMD5("md5", "_md5", false),
+    PSHA1("sha1", "_sha1", false),
+    PSHA224("sha224", "_sha256", false),
+    PSHA256("sha256", "_sha256", false),
+    PSHA384("sha384", "_sha512", false),
+    PSHA512("sha512", "_sha512", false),
+    PSHA3_224("sha3_224", "_sha3"),
+    PSHA3_256("sha3_256", "_sha3"),
+    PSHA3_384("sha3_384", "_sha3"),
+    PSHA3_512("sha3_512", "_sha3"),
+    PShake128("shake_128", "_sha3"),
+    PShake256("shake_256", "_sha3"),
+    PBlake2b("blake2b", "_blake2"),
+    PBlake2s("blake2s", "_blake2"),
     LsprofProfiler("Profiler", "_lsprof"),
     PStruct("Struct", "_struct"),
+    PStructUnpackIterator("unpack_iterator", "_struct", false),
+    PSREPattern("Pattern", "_sre", false),
+    PSREMatch("Match", "_sre", false),
+    PSREScanner("SRE_Scanner", "_sre", false),
+    PAccumulate("accumulate", "itertools"),
+    PChain("chain", "itertools"),
+    PCombinations("combinations", "itertools"),
+    PCombinationsWithReplacement("combinations_with_replacement", "itertools"),
+    PCompress("compress", "itertools"),
+    PCount("count", "itertools"),
+    PCycle("cycle", "itertools"),
+    PDropwhile("dropwhile", "itertools"),
+    PFilterfalse("filterfalse", "itertools"),
+    PGroupBy("groupby", "itertools"),
+    PGrouper("_grouper", "itertools", false),
+    PIslice("islice", "itertools"),
+    PPermutations("permutations", "itertools"),
+    PProduct("product", "itertools"),
+    PRepeat("repeat", "itertools"),
+    PStarmap("starmap", "itertools"),
+    PTakewhile("takewhile", "itertools"),
+    PTee("_tee", "itertools", false),
+    PZipLongest("zip_longest", "itertools"),
+    PPartial("partial", "_functools"),
+    PLruCacheWrapper("_lru_cache_wrapper", "_functools"),
 
     // Errors and exceptions:
 
@@ -174,6 +232,9 @@ public enum PythonBuiltinClassType implements TruffleObject {
     ZLibError("error", "zlib"),
     LZMAError("LZMAError", "_lzma"),
     StructError("StructError", "_struct"),
+    PickleError("PickleError", "_pickle"),
+    PicklingError("PicklingError", "_pickle"),
+    UnpicklingError("UnpicklingError", "_pickle"),
     SocketGAIError("gaierror", "_socket"),
     SocketHError("herror", "_socket"),
     SocketTimeout("timeout", "_socket"),
@@ -342,6 +403,10 @@ public enum PythonBuiltinClassType implements TruffleObject {
         ZipImportError.base = ImportError;
         ZLibError.base = Exception;
         LZMAError.base = Exception;
+        StructError.base = Exception;
+        PickleError.base = Exception;
+        PicklingError.base = PickleError;
+        UnpicklingError.base = PickleError;
         SocketGAIError.base = OSError;
         SocketHError.base = OSError;
         SocketTimeout.base = OSError;
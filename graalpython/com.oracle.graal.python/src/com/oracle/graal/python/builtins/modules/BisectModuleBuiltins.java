@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
+import com.oracle.graal.python.nodes.expression.CoerceToBooleanNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.subscript.GetItemNode;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+
+@CoreFunctions(defineModule = "_bisect")
+public class BisectModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return BisectModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Finds the insertion point of {@code x} in {@code a[lo:hi]}, where {@code hi == -1} stands for
+     * {@code len(a)}. Lists of ints, longs and doubles are searched directly on their primitive
+     * arrays if {@code x} has the same type; everything else goes through {@code __getitem__} and
+     * a cached {@code <}.
+     */
+    @ImportStatic(PGuards.class)
+    abstract static class BisectNode extends PNodeWithContext {
+        private final boolean right;
+
+        @Child private BinaryComparisonNode ltNode;
+        @Child private CoerceToBooleanNode castToBooleanNode;
+
+        BisectNode(boolean right) {
+            this.right = right;
+        }
+
+        abstract int execute(VirtualFrame frame, Object a, Object x, int lo, int hi);
+
+        static BisectNode createLeft() {
+            return BisectModuleBuiltinsFactory.BisectNodeGen.create(false);
+        }
+
+        static BisectNode createRight() {
+            return BisectModuleBuiltinsFactory.BisectNodeGen.create(true);
+        }
+
+        @Specialization(guards = "isIntStorage(a)")
+        int doInt(PList a, int x, int lo, int hi,
+                        @Cached PRaiseNode raiseNode) {
+            IntSequenceStorage storage = (IntSequenceStorage) a.getSequenceStorage();
+            int[] array = storage.getInternalIntArray();
+            int length = storage.length();
+            int low = lo;
+            int high = hi == -1 ? length : hi;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                checkIndex(mid, length, raiseNode);
+                if (right ? x < array[mid] : !(array[mid] < x)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        @Specialization(guards = "isLongStorage(a)")
+        int doLong(PList a, long x, int lo, int hi,
+                        @Cached PRaiseNode raiseNode) {
+            LongSequenceStorage storage = (LongSequenceStorage) a.getSequenceStorage();
+            long[] array = storage.getInternalLongArray();
+            int length = storage.length();
+            int low = lo;
+            int high = hi == -1 ? length : hi;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                checkIndex(mid, length, raiseNode);
+                if (right ? x < array[mid] : !(array[mid] < x)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        @Specialization(guards = "isLongStorage(a)")
+        int doLongInt(PList a, int x, int lo, int hi,
+                        @Cached PRaiseNode raiseNode) {
+            return doLong(a, x, lo, hi, raiseNode);
+        }
+
+        @Specialization(guards = "isDoubleStorage(a)")
+        int doDouble(PList a, double x, int lo, int hi,
+                        @Cached PRaiseNode raiseNode) {
+            DoubleSequenceStorage storage = (DoubleSequenceStorage) a.getSequenceStorage();
+            double[] array = storage.getInternalDoubleArray();
+            int length = storage.length();
+            int low = lo;
+            int high = hi == -1 ? length : hi;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                checkIndex(mid, length, raiseNode);
+                if (right ? x < array[mid] : !(array[mid] < x)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        @Specialization(limit = "3")
+        int doGeneric(VirtualFrame frame, Object a, Object x, int lo, int hi,
+                        @CachedLibrary("a") PythonObjectLibrary lib,
+                        @Cached GetItemNode getItemNode) {
+            int low = lo;
+            int high = hi == -1 ? lib.lengthWithFrame(a, frame) : hi;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                Object item = getItemNode.execute(frame, a, mid);
+                if (right ? lessThan(frame, x, item) : !lessThan(frame, item, x)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        private static void checkIndex(int index, int length, PRaiseNode raiseNode) {
+            if (index >= length) {
+                throw raiseNode.raise(IndexError, ErrorMessages.LIST_INDEX_OUT_OF_RANGE);
+            }
+        }
+
+        private boolean lessThan(VirtualFrame frame, Object a, Object b) {
+            if (ltNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                ltNode = insert(BinaryComparisonNode.create(__LT__, __GT__, "<"));
+            }
+            try {
+                return ltNode.executeBool(frame, a, b);
+            } catch (UnexpectedResultException e) {
+                if (castToBooleanNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    castToBooleanNode = insert(CoerceToBooleanNode.createIfTrueNode());
+                }
+                return castToBooleanNode.executeBoolean(frame, e.getResult());
+            }
+        }
+    }
+
+    abstract static class BisectBuiltinNode extends PythonQuaternaryBuiltinNode {
+        int getLo(VirtualFrame frame, Object lo, PythonObjectLibrary lib) {
+            if (lo == PNone.NO_VALUE) {
+                return 0;
+            }
+            int value = lib.asSizeWithState(lo, PArguments.getThreadState(frame));
+            if (value < 0) {
+                throw raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "lo");
+            }
+            return value;
+        }
+
+        static int getHi(VirtualFrame frame, Object hi, PythonObjectLibrary lib) {
+            if (PGuards.isPNone(hi)) {
+                return -1;
+            }
+            return lib.asSizeWithState(hi, PArguments.getThreadState(frame));
+        }
+
+        static void insertItem(VirtualFrame frame, Object a, int index, Object x, PythonObjectLibrary lib, IsBuiltinClassProfile isListProfile,
+                        SequenceStorageNodes.InsertItemNode insertItemNode) {
+            if (a instanceof PList && isListProfile.profileObject(a, PythonBuiltinClassType.PList)) {
+                PList list = (PList) a;
+                SequenceStorage storage = list.getSequenceStorage();
+                list.setSequenceStorage(insertItemNode.execute(storage, Math.min(index, storage.length()), x));
+            } else {
+                lib.lookupAndCallRegularMethod(a, frame, "insert", index, x);
+            }
+        }
+    }
+
+    // bisect_right(a, x, lo=0, hi=None)
+    @Builtin(name = "bisect_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"})
+    @GenerateNodeFactory
+    abstract static class BisectRightNode extends BisectBuiltinNode {
+        @Specialization(limit = "3")
+        int bisect(VirtualFrame frame, Object a, Object x, Object lo, Object hi,
+                        @CachedLibrary("lo") PythonObjectLibrary loLib,
+                        @CachedLibrary("hi") PythonObjectLibrary hiLib,
+                        @Cached("createRight()") BisectNode bisectNode) {
+            return bisectNode.execute(frame, a, x, getLo(frame, lo, loLib), getHi(frame, hi, hiLib));
+        }
+    }
+
+    // bisect_left(a, x, lo=0, hi=None)
+    @Builtin(name = "bisect_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"})
+    @GenerateNodeFactory
+    abstract static class BisectLeftNode extends BisectBuiltinNode {
+        @Specialization(limit = "3")
+        int bisect(VirtualFrame frame, Object a, Object x, Object lo, Object hi,
+                        @CachedLibrary("lo") PythonObjectLibrary loLib,
+                        @CachedLibrary("hi") PythonObjectLibrary hiLib,
+                        @Cached("createLeft()") BisectNode bisectNode) {
+            return bisectNode.execute(frame, a, x, getLo(frame, lo, loLib), getHi(frame, hi, hiLib));
+        }
+    }
+
+    // insort_right(a, x, lo=0, hi=None)
+    @Builtin(name = "insort_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"})
+    @GenerateNodeFactory
+    abstract static class InsortRightNode extends BisectBuiltinNode {
+        @Specialization(limit = "3")
+        PNone insort(VirtualFrame frame, Object a, Object x, Object lo, Object hi,
+                        @CachedLibrary("lo") PythonObjectLibrary loLib,
+                        @CachedLibrary("hi") PythonObjectLibrary hiLib,
+                        @CachedLibrary("a") PythonObjectLibrary lib,
+                        @Cached IsBuiltinClassProfile isListProfile,
+                        @Cached SequenceStorageNodes.InsertItemNode insertItemNode,
+                        @Cached("createRight()") BisectNode bisectNode) {
+            int index = bisectNode.execute(frame, a, x, getLo(frame, lo, loLib), getHi(frame, hi, hiLib));
+            insertItem(frame, a, index, x, lib, isListProfile, insertItemNode);
+            return PNone.NONE;
+        }
+    }
+
+    // insort_left(a, x, lo=0, hi=None)
+    @Builtin(name = "insort_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"})
+    @GenerateNodeFactory
+    abstract static class InsortLeftNode extends BisectBuiltinNode {
+        @Specialization(limit = "3")
+        PNone insort(VirtualFrame frame, Object a, Object x, Object lo, Object hi,
+                        @CachedLibrary("lo") PythonObjectLibrary loLib,
+                        @CachedLibrary("hi") PythonObjectLibrary hiLib,
+                        @CachedLibrary("a") PythonObjectLibrary lib,
+                        @Cached IsBuiltinClassProfile isListProfile,
+                        @Cached SequenceStorageNodes.InsertItemNode insertItemNode,
+                        @Cached("createLeft()") BisectNode bisectNode) {
+            int index = bisectNode.execute(frame, a, x, getLo(frame, lo, loLib), getHi(frame, hi, hiLib));
+            insertItem(frame, a, index, x, lib, isListProfile, insertItemNode);
+            return PNone.NONE;
+        }
+    }
+}
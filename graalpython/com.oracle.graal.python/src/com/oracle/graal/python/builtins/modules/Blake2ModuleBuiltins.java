@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.hashlib.Blake2bEngine;
+import com.oracle.graal.python.builtins.objects.hashlib.Blake2sEngine;
+import com.oracle.graal.python.builtins.objects.hashlib.DigestEngine;
+import com.oracle.graal.python.builtins.objects.hashlib.HashUpdateNode;
+import com.oracle.graal.python.builtins.objects.hashlib.PHashObject;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.util.CastToJavaBigIntegerNodeGen;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+
+@CoreFunctions(defineModule = "_blake2")
+public class Blake2ModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return Blake2ModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        builtinConstants.put("BLAKE2B_SALT_SIZE", Blake2bEngine.SALT_SIZE);
+        builtinConstants.put("BLAKE2B_PERSON_SIZE", Blake2bEngine.PERSON_SIZE);
+        builtinConstants.put("BLAKE2B_MAX_KEY_SIZE", Blake2bEngine.MAX_KEY_SIZE);
+        builtinConstants.put("BLAKE2B_MAX_DIGEST_SIZE", Blake2bEngine.MAX_DIGEST_SIZE);
+        builtinConstants.put("BLAKE2S_SALT_SIZE", Blake2sEngine.SALT_SIZE);
+        builtinConstants.put("BLAKE2S_PERSON_SIZE", Blake2sEngine.PERSON_SIZE);
+        builtinConstants.put("BLAKE2S_MAX_KEY_SIZE", Blake2sEngine.MAX_KEY_SIZE);
+        builtinConstants.put("BLAKE2S_MAX_DIGEST_SIZE", Blake2sEngine.MAX_DIGEST_SIZE);
+        super.initialize(core);
+    }
+
+    @Override
+    public void postInitialize(PythonCore core) {
+        super.postInitialize(core);
+        PythonBuiltinClass blake2b = core.lookupType(PythonBuiltinClassType.PBlake2b);
+        blake2b.setAttribute("SALT_SIZE", Blake2bEngine.SALT_SIZE);
+        blake2b.setAttribute("PERSON_SIZE", Blake2bEngine.PERSON_SIZE);
+        blake2b.setAttribute("MAX_KEY_SIZE", Blake2bEngine.MAX_KEY_SIZE);
+        blake2b.setAttribute("MAX_DIGEST_SIZE", Blake2bEngine.MAX_DIGEST_SIZE);
+        PythonBuiltinClass blake2s = core.lookupType(PythonBuiltinClassType.PBlake2s);
+        blake2s.setAttribute("SALT_SIZE", Blake2sEngine.SALT_SIZE);
+        blake2s.setAttribute("PERSON_SIZE", Blake2sEngine.PERSON_SIZE);
+        blake2s.setAttribute("MAX_KEY_SIZE", Blake2sEngine.MAX_KEY_SIZE);
+        blake2s.setAttribute("MAX_DIGEST_SIZE", Blake2sEngine.MAX_DIGEST_SIZE);
+    }
+
+    abstract static class Blake2Node extends PythonBuiltinNode {
+        Object construct(Object cls, Object data, DigestEngine engine, HashUpdateNode updateNode) {
+            PHashObject hash = factory().createHashObject(cls, engine);
+            if (data != PNone.NO_VALUE) {
+                updateNode.execute(hash, data);
+            }
+            return hash;
+        }
+    }
+
+    // blake2b(data=b'', /, *, digest_size=64, key=b'', salt=b'', person=b'', fanout=1, depth=1,
+    // leaf_size=0, node_offset=0, node_depth=0, inner_size=0, last_node=False)
+    @Builtin(name = "blake2b", minNumOfPositionalArgs = 1, parameterNames = {"cls", "data"}, numOfPositionalOnlyArgs = 2, varArgsMarker = true, keywordOnlyNames = {"digest_size", "key", "salt",
+                    "person", "fanout", "depth", "leaf_size", "node_offset", "node_depth", "inner_size", "last_node"}, constructsClass = PythonBuiltinClassType.PBlake2b)
+    @GenerateNodeFactory
+    abstract static class Blake2bNode extends Blake2Node {
+        @Specialization
+        Object blake2b(Object cls, Object data, Object digestSize, Object key, Object salt, Object person, Object fanout, Object depth, Object leafSize, Object nodeOffset,
+                        Object nodeDepth, Object innerSize, Object lastNode,
+                        @Cached HashUpdateNode updateNode) {
+            return construct(cls, data, createEngine(true, digestSize, key, salt, person, fanout, depth, leafSize, nodeOffset, nodeDepth, innerSize, lastNode), updateNode);
+        }
+    }
+
+    // blake2s(data=b'', /, *, digest_size=32, key=b'', salt=b'', person=b'', fanout=1, depth=1,
+    // leaf_size=0, node_offset=0, node_depth=0, inner_size=0, last_node=False)
+    @Builtin(name = "blake2s", minNumOfPositionalArgs = 1, parameterNames = {"cls", "data"}, numOfPositionalOnlyArgs = 2, varArgsMarker = true, keywordOnlyNames = {"digest_size", "key", "salt",
+                    "person", "fanout", "depth", "leaf_size", "node_offset", "node_depth", "inner_size", "last_node"}, constructsClass = PythonBuiltinClassType.PBlake2s)
+    @GenerateNodeFactory
+    abstract static class Blake2sNode extends Blake2Node {
+        @Specialization
+        Object blake2s(Object cls, Object data, Object digestSize, Object key, Object salt, Object person, Object fanout, Object depth, Object leafSize, Object nodeOffset,
+                        Object nodeDepth, Object innerSize, Object lastNode,
+                        @Cached HashUpdateNode updateNode) {
+            return construct(cls, data, createEngine(false, digestSize, key, salt, person, fanout, depth, leafSize, nodeOffset, nodeDepth, innerSize, lastNode), updateNode);
+        }
+    }
+
+    /**
+     * Validates the BLAKE2 parameters like {@code blake2b_impl.c} does and creates the engine. This
+     * only runs once per hash object, so it uses the uncached libraries.
+     */
+    @TruffleBoundary
+    private static DigestEngine createEngine(boolean isBlake2b, Object digestSizeObj, Object keyObj, Object saltObj, Object personObj, Object fanoutObj, Object depthObj, Object leafSizeObj,
+                    Object nodeOffsetObj, Object nodeDepthObj, Object innerSizeObj, Object lastNodeObj) {
+        int maxDigestSize = isBlake2b ? Blake2bEngine.MAX_DIGEST_SIZE : Blake2sEngine.MAX_DIGEST_SIZE;
+        int digestSize = getInt(digestSizeObj, maxDigestSize);
+        if (digestSize <= 0 || digestSize > maxDigestSize) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.DIGEST_SIZE_MUST_BE_BETWEEN_1_AND_D_BYTES, maxDigestSize);
+        }
+        byte[] key = getBytes(keyObj, "key", isBlake2b ? Blake2bEngine.MAX_KEY_SIZE : Blake2sEngine.MAX_KEY_SIZE);
+        byte[] salt = getBytes(saltObj, "salt", isBlake2b ? Blake2bEngine.SALT_SIZE : Blake2sEngine.SALT_SIZE);
+        byte[] person = getBytes(personObj, "person", isBlake2b ? Blake2bEngine.PERSON_SIZE : Blake2sEngine.PERSON_SIZE);
+        int fanout = getIntInRange(fanoutObj, "fanout", 1, 0, 255);
+        int depth = getIntInRange(depthObj, "depth", 1, 1, 255);
+        long leafSize = getUnsigned(leafSizeObj, "leaf_size", 32);
+        long nodeOffset = getUnsigned(nodeOffsetObj, "node_offset", isBlake2b ? 64 : 48);
+        int nodeDepth = getIntInRange(nodeDepthObj, "node_depth", 0, 0, 255);
+        int innerSize = getIntInRange(innerSizeObj, "inner_size", 0, 0, maxDigestSize);
+        boolean lastNode = lastNodeObj != PNone.NO_VALUE && PythonObjectLibrary.getUncached().isTrue(lastNodeObj);
+        if (isBlake2b) {
+            return new Blake2bEngine(digestSize, key, salt, person, fanout, depth, leafSize, nodeOffset, nodeDepth, innerSize, lastNode);
+        } else {
+            return new Blake2sEngine(digestSize, key, salt, person, fanout, depth, leafSize, nodeOffset, nodeDepth, innerSize, lastNode);
+        }
+    }
+
+    private static int getInt(Object value, int defaultValue) {
+        if (value == PNone.NO_VALUE) {
+            return defaultValue;
+        }
+        return PythonObjectLibrary.getUncached().asSize(value);
+    }
+
+    private static int getIntInRange(Object value, String name, int defaultValue, int min, int max) {
+        int result = getInt(value, defaultValue);
+        if (result < min || result > max) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.S_MUST_BE_BETWEEN_D_AND_D, name, min, max);
+        }
+        return result;
+    }
+
+    private static long getUnsigned(Object value, String name, int bits) {
+        if (value == PNone.NO_VALUE) {
+            return 0;
+        }
+        BigInteger result = CastToJavaBigIntegerNodeGen.getUncached().execute(PythonObjectLibrary.getUncached().asIndex(value));
+        if (result.signum() < 0) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, name);
+        } else if (result.bitLength() > bits) {
+            throw PRaiseNode.getUncached().raise(OverflowError, ErrorMessages.S_IS_TOO_LARGE, name);
+        }
+        return result.longValue();
+    }
+
+    private static byte[] getBytes(Object value, String name, int maxLength) {
+        if (value == PNone.NO_VALUE) {
+            return new byte[0];
+        }
+        PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+        if (PGuards.isString(value) || !lib.isBuffer(value)) {
+            throw PRaiseNode.getUncached().raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, value);
+        }
+        byte[] result;
+        try {
+            result = lib.getBufferBytes(value);
+        } catch (UnsupportedMessageException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+        if (result.length > maxLength) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.MAXIMUM_S_LENGTH_IS_D_BYTES, name, maxLength);
+        }
+        return result;
+    }
+}
@@ -145,6 +145,7 @@ import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.iterator.PZip;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.map.PMap;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.CreateMemoryViewNode;
 import com.oracle.graal.python.builtins.objects.memoryview.PBuffer;
 import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
@@ -152,6 +153,7 @@ import com.oracle.graal.python.builtins.objects.object.ObjectBuiltins;
 import com.oracle.graal.python.builtins.objects.object.ObjectBuiltinsFactory;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.object.PythonSlotsObject;
 import com.oracle.graal.python.builtins.objects.range.PBigRange;
 import com.oracle.graal.python.builtins.objects.range.PIntRange;
 import com.oracle.graal.python.builtins.objects.range.RangeNodes;
@@ -2285,14 +2287,37 @@ public final class BuiltinConstructors extends PythonBuiltins {
                 throw raise(ValueError, ErrorMessages.TYPE_NAME_NO_NULL_CHARS);
             }
 
+            Object slotsValue = nslib.getItem(namespace.getDictStorage(), __SLOTS__);
+            SequenceStorage slotsStorage = null;
+            Object slotsObject = null;
+            int slotlen = 0;
+            int instanceSlotCount = -1;
+            if (slotsValue != null) {
+                // Make it into a list
+                if (slotsValue instanceof String) {
+                    slotsObject = factory().createList(new Object[]{slotsValue});
+                    slotsStorage = ((PList) slotsObject).getSequenceStorage();
+                } else if (slotsValue instanceof PTuple) {
+                    slotsObject = slotsValue;
+                    slotsStorage = ((PTuple) slotsValue).getSequenceStorage();
+                } else if (slotsValue instanceof PList) {
+                    slotsObject = slotsValue;
+                    slotsStorage = ((PList) slotsValue).getSequenceStorage();
+                } else {
+                    slotsObject = getCastToListNode().execute(frame, slotsValue);
+                    slotsStorage = ((PList) slotsObject).getSequenceStorage();
+                }
+                slotlen = getListLenNode().execute(slotsStorage);
+                instanceSlotCount = computeInstanceSlotCount(frame, basesArray, slotsStorage, slotlen);
+            }
+
             // 1.) create class, but avoid calling mro method - it might try to access __dict__ so
             // we have to copy dict slots first
-            PythonClass pythonClass = factory().createPythonClass(metaclass, name, false, basesArray);
+            PythonClass pythonClass = factory().createPythonClass(metaclass, name, false, instanceSlotCount, basesArray);
 
             // 2.) copy the dictionary slots
-            Object[] slots = new Object[1];
             boolean[] qualnameSet = new boolean[]{false};
-            copyDictSlots(pythonClass, namespace, nslib, slots, qualnameSet);
+            copyDictSlots(pythonClass, namespace, nslib, qualnameSet);
             if (!qualnameSet[0]) {
                 pythonClass.setQualName(name);
             }
@@ -2311,30 +2336,13 @@ public final class BuiltinConstructors extends PythonBuiltins {
             }
 
             boolean addDict = false;
-            if (slots[0] == null) {
+            if (slotsValue == null) {
                 // takes care of checking if we may_add_dict and adds it if needed
                 addDictIfNative(frame, pythonClass);
                 // TODO: tfel - also deal with weaklistoffset
             } else {
                 // have slots
 
-                // Make it into a list
-                SequenceStorage slotsStorage;
-                Object slotsObject;
-                if (slots[0] instanceof String) {
-                    slotsObject = factory().createList(slots);
-                    slotsStorage = ((PList) slotsObject).getSequenceStorage();
-                } else if (slots[0] instanceof PTuple) {
-                    slotsObject = slots[0];
-                    slotsStorage = ((PTuple) slots[0]).getSequenceStorage();
-                } else if (slots[0] instanceof PList) {
-                    slotsObject = slots[0];
-                    slotsStorage = ((PList) slots[0]).getSequenceStorage();
-                } else {
-                    slotsObject = getCastToListNode().execute(frame, slots[0]);
-                    slotsStorage = ((PList) slotsObject).getSequenceStorage();
-                }
-                int slotlen = getListLenNode().execute(slotsStorage);
                 // TODO: tfel - check if slots are allowed. They are not if the base class is var
                 // sized
 
@@ -2386,14 +2394,37 @@ public final class BuiltinConstructors extends PythonBuiltins {
             return pythonClass;
         }
 
-        private void copyDictSlots(PythonClass pythonClass, PDict namespace, HashingStorageLibrary nslib, Object[] slots, boolean[] qualnameSet) {
+        /**
+         * Instances of the new class are allocated as {@link PythonSlotsObject} if they cannot have
+         * a {@code __dict__}, i.e., if {@code __dict__} is not in the slots and every base is either
+         * {@code object} or a class whose instances are slots objects themselves. Returns the total
+         * number of slots in that case and {@code -1} otherwise.
+         */
+        private int computeInstanceSlotCount(VirtualFrame frame, PythonAbstractClass[] bases, SequenceStorage slotsStorage, int slotlen) {
+            int count = slotlen;
+            for (int i = 0; i < slotlen; i++) {
+                if (__DICT__.equals(getSlotItemNode().execute(frame, slotsStorage, i))) {
+                    return -1;
+                }
+            }
+            for (PythonAbstractClass base : bases) {
+                if (base instanceof PythonManagedClass && ((PythonManagedClass) base).hasSlotsLayout()) {
+                    count += ((PythonManagedClass) base).getInstanceSlotCount();
+                } else if (!(base instanceof PythonBuiltinClass && ((PythonBuiltinClass) base).getType() == PythonBuiltinClassType.PythonObject)) {
+                    return -1;
+                }
+            }
+            return count;
+        }
+
+        private void copyDictSlots(PythonClass pythonClass, PDict namespace, HashingStorageLibrary nslib, boolean[] qualnameSet) {
             // copy the dictionary slots over, as CPython does through PyDict_Copy
-            // Also check for a __slots__ sequence variable in dict
+            // __slots__ itself was already read by the caller
             for (DictEntry entry : nslib.entries(namespace.getDictStorage())) {
                 Object key = entry.getKey();
                 Object value = entry.getValue();
                 if (__SLOTS__.equals(key)) {
-                    slots[0] = value;
+                    // handled by the caller
                 } else if (SpecialMethodNames.__NEW__.equals(key)) {
                     // see CPython: if it's a plain function, make it a static function
                     if (value instanceof PFunction) {
@@ -2885,6 +2916,56 @@ public final class BuiltinConstructors extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "coroutine", takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PCoroutine, isPublic = false)
+    @GenerateNodeFactory
+    public abstract static class CoroutineTypeNode extends PythonBuiltinNode {
+        @SuppressWarnings("unused")
+        @Specialization
+        public Object coroutine(Object args, Object kwargs) {
+            throw raise(TypeError, ErrorMessages.CANNOT_CREATE_INSTANCES, "'coroutine'");
+        }
+    }
+
+    @Builtin(name = "coroutine_wrapper", takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PCoroutineWrapper, isPublic = false)
+    @GenerateNodeFactory
+    public abstract static class CoroutineWrapperTypeNode extends PythonBuiltinNode {
+        @SuppressWarnings("unused")
+        @Specialization
+        public Object coroutineWrapper(Object args, Object kwargs) {
+            throw raise(TypeError, ErrorMessages.CANNOT_CREATE_INSTANCES, "'coroutine_wrapper'");
+        }
+    }
+
+    @Builtin(name = "async_generator", takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PAsyncGenerator, isPublic = false)
+    @GenerateNodeFactory
+    public abstract static class AsyncGeneratorTypeNode extends PythonBuiltinNode {
+        @SuppressWarnings("unused")
+        @Specialization
+        public Object asyncGenerator(Object args, Object kwargs) {
+            throw raise(TypeError, ErrorMessages.CANNOT_CREATE_INSTANCES, "'async_generator'");
+        }
+    }
+
+    @Builtin(name = "async_generator_asend", takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PAsyncGenASend, isPublic = false)
+    @GenerateNodeFactory
+    public abstract static class AsyncGenASendTypeNode extends PythonBuiltinNode {
+        @SuppressWarnings("unused")
+        @Specialization
+        public Object asyncGenASend(Object args, Object kwargs) {
+            throw raise(TypeError, ErrorMessages.CANNOT_CREATE_INSTANCES, "'async_generator_asend'");
+        }
+    }
+
+    @Builtin(name = "async_generator_athrow", takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PAsyncGenAThrow, isPublic = false)
+    @GenerateNodeFactory
+    public abstract static class AsyncGenAThrowTypeNode extends PythonBuiltinNode {
+        @SuppressWarnings("unused")
+        @Specialization
+        public Object asyncGenAThrow(Object args, Object kwargs) {
+            throw raise(TypeError, ErrorMessages.CANNOT_CREATE_INSTANCES, "'async_generator_athrow'");
+        }
+    }
+
     @Builtin(name = "method", minNumOfPositionalArgs = 3, constructsClass = PythonBuiltinClassType.PMethod, isPublic = false)
     @GenerateNodeFactory
     public abstract static class MethodTypeNode extends PythonTernaryBuiltinNode {
@@ -3213,13 +3294,14 @@ public final class BuiltinConstructors extends PythonBuiltins {
         }
     }
 
-    // memoryview(obj)
-    @Builtin(name = MEMORYVIEW, minNumOfPositionalArgs = 2, constructsClass = PythonBuiltinClassType.PMemoryView)
+    // memoryview(object)
+    @Builtin(name = MEMORYVIEW, minNumOfPositionalArgs = 2, parameterNames = {"cls", "object"}, constructsClass = PythonBuiltinClassType.PMemoryView)
     @GenerateNodeFactory
     public abstract static class MemoryViewNode extends PythonBuiltinNode {
         @Specialization
-        public PMemoryView doGeneric(Object cls, Object value) {
-            return factory().createMemoryView(cls, value);
+        static PMemoryView doGeneric(Object cls, Object object,
+                        @Cached CreateMemoryViewNode createMemoryViewNode) {
+            return createMemoryViewNode.execute(cls, object);
         }
     }
 
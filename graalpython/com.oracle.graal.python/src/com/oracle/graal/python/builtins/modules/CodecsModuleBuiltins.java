@@ -102,29 +102,29 @@ public class CodecsModuleBuiltins extends PythonBuiltins {
         return CodecsModuleBuiltinsFactory.getFactories();
     }
 
-    abstract static class EncodeBaseNode extends PythonBuiltinNode {
+    public static CodingErrorAction convertCodingErrorAction(String errors) {
+        CodingErrorAction errorAction;
+        switch (errors) {
+            // TODO: see [GR-10256] to implement the correct handling mechanics
+            case "ignore":
+            case "surrogatepass":
+                errorAction = CodingErrorAction.IGNORE;
+                break;
+            case "replace":
+            case "surrogateescape":
+            case "namereplace":
+            case "backslashreplace":
+            case "xmlcharrefreplace":
+                errorAction = CodingErrorAction.REPLACE;
+                break;
+            default:
+                errorAction = CodingErrorAction.REPORT;
+                break;
+        }
+        return errorAction;
+    }
 
-        protected static CodingErrorAction convertCodingErrorAction(String errors) {
-            CodingErrorAction errorAction;
-            switch (errors) {
-                // TODO: see [GR-10256] to implement the correct handling mechanics
-                case "ignore":
-                case "surrogatepass":
-                    errorAction = CodingErrorAction.IGNORE;
-                    break;
-                case "replace":
-                case "surrogateescape":
-                case "namereplace":
-                case "backslashreplace":
-                case "xmlcharrefreplace":
-                    errorAction = CodingErrorAction.REPLACE;
-                    break;
-                default:
-                    errorAction = CodingErrorAction.REPORT;
-                    break;
-            }
-            return errorAction;
-        }
+    abstract static class EncodeBaseNode extends PythonBuiltinNode {
     }
 
     @Builtin(name = "unicode_escape_encode", minNumOfPositionalArgs = 1, parameterNames = {"str", "errors"})
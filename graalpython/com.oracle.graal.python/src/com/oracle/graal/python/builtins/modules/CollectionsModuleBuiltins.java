@@ -40,18 +40,87 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
-import java.util.ArrayList;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
 import java.util.List;
 
+import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.deque.PDeque;
+import com.oracle.graal.python.builtins.objects.deque.PDequeIterator;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
 
 @CoreFunctions(defineModule = "_collections")
 public class CollectionsModuleBuiltins extends PythonBuiltins {
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
-        return new ArrayList<>();
+        return CollectionsModuleBuiltinsFactory.getFactories();
+    }
+
+    // deque(iterable=(), maxlen=None); the arguments are consumed by deque.__init__
+    @Builtin(name = "deque", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PDeque)
+    @GenerateNodeFactory
+    public abstract static class DequeNode extends PythonVarargsBuiltinNode {
+        @Specialization(guards = "lib.isLazyPythonClass(cls)")
+        PDeque construct(Object cls, @SuppressWarnings("unused") Object[] arguments, @SuppressWarnings("unused") PKeyword[] keywords,
+                        @SuppressWarnings("unused") @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            return factory().createDeque(cls);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        PDeque construct(Object cls, Object[] arguments, PKeyword[] keywords) {
+            throw raise(TypeError, ErrorMessages.IS_NOT_TYPE_OBJ, "'cls'", cls);
+        }
+    }
+
+    // _deque_iterator(deque, index=0)
+    @Builtin(name = "_deque_iterator", minNumOfPositionalArgs = 2, parameterNames = {"cls", "deque", "index"}, constructsClass = PythonBuiltinClassType.PDequeIter)
+    @GenerateNodeFactory
+    public abstract static class DequeIterNode extends PythonTernaryBuiltinNode {
+        @Specialization(limit = "3")
+        PDequeIterator construct(VirtualFrame frame, @SuppressWarnings("unused") Object cls, PDeque deque, Object index,
+                        @CachedLibrary("index") PythonObjectLibrary lib) {
+            return advance(this, frame, factory().createDequeIterator(deque), index, lib);
+        }
+    }
+
+    // _deque_reverse_iterator(deque, index=0)
+    @Builtin(name = "_deque_reverse_iterator", minNumOfPositionalArgs = 2, parameterNames = {"cls", "deque", "index"}, constructsClass = PythonBuiltinClassType.PDequeRevIter)
+    @GenerateNodeFactory
+    public abstract static class DequeRevIterNode extends PythonTernaryBuiltinNode {
+        @Specialization(limit = "3")
+        PDequeIterator construct(VirtualFrame frame, @SuppressWarnings("unused") Object cls, PDeque deque, Object index,
+                        @CachedLibrary("index") PythonObjectLibrary lib) {
+            return advance(this, frame, factory().createDequeReverseIterator(deque), index, lib);
+        }
+    }
+
+    private static PDequeIterator advance(PythonBuiltinBaseNode node, VirtualFrame frame, PDequeIterator iterator, Object index, PythonObjectLibrary lib) {
+        if (index != PNone.NO_VALUE) {
+            int n = lib.asSizeWithState(index, PArguments.getThreadState(frame));
+            for (int i = 0; i < n && iterator.getRemaining() > 0; i++) {
+                if (iterator.next() == null) {
+                    throw node.raise(RuntimeError, ErrorMessages.DEQUE_MUTATED_DURING_ITERATION);
+                }
+            }
+        }
+        return iterator;
     }
 }
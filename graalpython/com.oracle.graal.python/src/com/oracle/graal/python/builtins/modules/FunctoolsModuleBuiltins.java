@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2020, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * The Universal Permissive License (UPL), Version 1.0
@@ -40,18 +40,129 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
-import java.util.ArrayList;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
 import java.util.List;
 
+import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.functools.PLruCacheWrapper;
+import com.oracle.graal.python.builtins.objects.functools.PPartial;
+import com.oracle.graal.python.builtins.objects.functools.PartialBuiltins;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.argument.keywords.ExecuteKeywordStarargsNode.ExpandKeywordStarargsNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.control.GetIteratorExpressionNode.GetIteratorNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @CoreFunctions(defineModule = "_functools")
 public class FunctoolsModuleBuiltins extends PythonBuiltins {
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
-        return new ArrayList<>();
+        return FunctoolsModuleBuiltinsFactory.getFactories();
+    }
+
+    // reduce(function, sequence[, initial])
+    @Builtin(name = "reduce", minNumOfPositionalArgs = 2, parameterNames = {"function", "sequence", "initial"})
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object reduce(VirtualFrame frame, Object function, Object sequence, Object initial,
+                        @Cached GetIteratorNode getIterator,
+                        @Cached GetNextNode getNextNode,
+                        @Cached CallNode callNode,
+                        @Cached IsBuiltinClassProfile stopIterationProfile) {
+            Object iterator = getIterator.executeWith(frame, sequence);
+            Object result = PGuards.isNoValue(initial) ? null : initial;
+            while (true) {
+                Object item;
+                try {
+                    item = getNextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(stopIterationProfile);
+                    break;
+                }
+                result = result == null ? item : callNode.execute(frame, function, result, item);
+            }
+            if (result == null) {
+                throw raise(TypeError, ErrorMessages.REDUCE_EMPTY_SEQ);
+            }
+            return result;
+        }
+    }
+
+    // partial(func, *args, **keywords)
+    @Builtin(name = "partial", minNumOfPositionalArgs = 2, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PPartial)
+    @GenerateNodeFactory
+    public abstract static class PartialNode extends PythonBuiltinNode {
+        @Specialization
+        PPartial construct(Object cls, Object function, Object[] args, PKeyword[] keywords,
+                        @Cached IsBuiltinClassProfile exactClassProfile,
+                        @Cached IsBuiltinClassProfile exactFunctionProfile,
+                        @Cached("createBinaryProfile()") ConditionProfile flattenProfile,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @Cached ExpandKeywordStarargsNode expandKeywordsNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            if (!lib.isCallable(function)) {
+                throw raise(TypeError, ErrorMessages.THE_FIRST_ARGUMENT_MUST_BE_CALLABLE);
+            }
+            // a partial of an exact partial object is flattened into a single one
+            if (flattenProfile.profile(function instanceof PPartial && exactClassProfile.profileClass(cls, PythonBuiltinClassType.PPartial) &&
+                            exactFunctionProfile.profileObject(function, PythonBuiltinClassType.PPartial))) {
+                PPartial inner = (PPartial) function;
+                Object[] innerArgs = getObjectArrayNode.execute(inner.getArgs());
+                Object[] allArgs = new Object[innerArgs.length + args.length];
+                PythonUtils.arraycopy(innerArgs, 0, allArgs, 0, innerArgs.length);
+                PythonUtils.arraycopy(args, 0, allArgs, innerArgs.length, args.length);
+                PKeyword[] allKeywords = PartialBuiltins.mergeKeywords(expandKeywordsNode.executeWith(inner.getKeywords()), keywords);
+                return factory().createPartial(cls, inner.getFunction(), factory().createTuple(allArgs), factory().createDict(allKeywords));
+            }
+            return factory().createPartial(cls, function, factory().createTuple(args), factory().createDict(keywords));
+        }
+    }
+
+    // _lru_cache_wrapper(user_function, maxsize, typed, cache_info_type)
+    @Builtin(name = "_lru_cache_wrapper", minNumOfPositionalArgs = 5, parameterNames = {"cls", "user_function", "maxsize", "typed",
+                    "cache_info_type"}, constructsClass = PythonBuiltinClassType.PLruCacheWrapper)
+    @GenerateNodeFactory
+    public abstract static class LruCacheWrapperNode extends PythonBuiltinNode {
+        @Specialization
+        PLruCacheWrapper construct(VirtualFrame frame, Object cls, Object function, Object maxSizeObj, Object typedObj, Object cacheInfoType,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            if (!lib.isCallable(function)) {
+                throw raise(TypeError, ErrorMessages.THE_FIRST_ARGUMENT_MUST_BE_CALLABLE);
+            }
+            int maxSize;
+            if (PGuards.isPNone(maxSizeObj)) {
+                maxSize = -1;
+            } else if (lib.canBeIndex(maxSizeObj)) {
+                // a huge maximum is as good as no maximum
+                maxSize = Math.max(lib.asSizeWithState(maxSizeObj, null, PArguments.getThreadState(frame)), 0);
+            } else {
+                throw raise(TypeError, ErrorMessages.MAXSIZE_SHOULD_BE_INTEGER_OR_NONE);
+            }
+            boolean typed = lib.isTrueWithState(typedObj, PArguments.getThreadState(frame));
+            return factory().createLruCacheWrapper(cls, function, maxSize, typed, cacheInfoType);
+        }
     }
 }
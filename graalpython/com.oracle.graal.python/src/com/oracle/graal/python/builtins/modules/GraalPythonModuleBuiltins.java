@@ -69,6 +69,7 @@ import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.argument.ReadIndexedArgumentNode;
 import com.oracle.graal.python.nodes.argument.ReadVarArgsNode;
+import com.oracle.graal.python.nodes.attributes.TypeAttributeCache;
 import com.oracle.graal.python.nodes.function.FunctionRootNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
@@ -361,6 +362,23 @@ public class GraalPythonModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    /**
+     * Returns the number of hits and misses of the type attribute cache of this context, or
+     * {@code None} unless the {@code TypeAttributeCacheStatistics} option is enabled.
+     */
+    @Builtin(name = "type_attribute_cache_stats", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    public abstract static class TypeAttributeCacheStats extends PythonBuiltinNode {
+        @Specialization
+        Object doIt() {
+            TypeAttributeCache.Counters counters = getContext().getTypeAttributeCache().getCounters();
+            if (counters == null) {
+                return PNone.NONE;
+            }
+            return factory().createTuple(new Object[]{counters.getHits(), counters.getMisses()});
+        }
+    }
+
     @Builtin(name = "tdebug", takesVarArgs = true)
     @GenerateNodeFactory
     public abstract static class DebugNode extends PythonBuiltinNode {
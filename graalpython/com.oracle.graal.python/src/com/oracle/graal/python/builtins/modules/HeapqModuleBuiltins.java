@@ -0,0 +1,562 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.IndexNodes.NormalizeIndexNode;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.ListGeneralizationNode;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.builtins.ListNodes;
+import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
+import com.oracle.graal.python.nodes.expression.CoerceToBooleanNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.api.profiles.ValueProfile;
+
+@CoreFunctions(defineModule = "_heapq")
+public class HeapqModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return HeapqModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * The heap operations of {@code _heapqmodule.c} on the storage of a list. Lists of ints, longs
+     * and doubles are sifted directly on their primitive arrays. Other lists are accessed through
+     * their storage and compared with a cached {@code <}. Since a comparison may run arbitrary
+     * code, the list is re-read and checked for size changes after every comparison.
+     */
+    static final class HeapNode extends Node {
+        private final boolean max;
+        private final ValueProfile storageProfile = ValueProfile.createClassProfile();
+
+        @Child private BinaryComparisonNode ltNode;
+        @Child private CoerceToBooleanNode castToBooleanNode;
+        @Child private SequenceStorageNodes.GetItemScalarNode getItemNode;
+        @Child private SequenceStorageNodes.SetItemScalarNode setItemNode;
+        @Child private SequenceStorageNodes.SetItemNode setItemGeneralizingNode;
+        @Child private PRaiseNode raiseNode;
+
+        private HeapNode(boolean max) {
+            this.max = max;
+        }
+
+        static HeapNode createMin() {
+            return new HeapNode(false);
+        }
+
+        static HeapNode createMax() {
+            return new HeapNode(true);
+        }
+
+        void push(VirtualFrame frame, PList heap) {
+            siftDown(frame, heap, 0, heap.getSequenceStorage().length() - 1);
+        }
+
+        Object pop(VirtualFrame frame, PList heap) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            int n = storage.length();
+            if (n == 0) {
+                throw raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object lastItem = getItem(storage, n - 1);
+            storage.setNewLength(n - 1);
+            if (n == 1) {
+                return lastItem;
+            }
+            Object result = getItem(storage, 0);
+            setItem(storage, 0, lastItem);
+            siftUp(frame, heap, 0);
+            return result;
+        }
+
+        Object replace(VirtualFrame frame, PList heap, Object item) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            if (storage.length() == 0) {
+                throw raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object result = getItem(storage, 0);
+            setTop(frame, heap, item);
+            siftUp(frame, heap, 0);
+            return result;
+        }
+
+        Object pushPop(VirtualFrame frame, PList heap, Object item) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            if (storage.length() == 0 || !lessThan(frame, getItem(storage, 0), item)) {
+                return item;
+            }
+            storage = heap.getSequenceStorage();
+            if (storage.length() == 0) {
+                throw raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object result = getItem(storage, 0);
+            setTop(frame, heap, item);
+            siftUp(frame, heap, 0);
+            return result;
+        }
+
+        void heapify(VirtualFrame frame, PList heap) {
+            SequenceStorage storage = storageProfile.profile(heap.getSequenceStorage());
+            int n = storage.length();
+            if (storage instanceof IntSequenceStorage) {
+                int[] array = ((IntSequenceStorage) storage).getInternalIntArray();
+                for (int i = n / 2 - 1; i >= 0; i--) {
+                    siftUp(array, n, i);
+                }
+            } else if (storage instanceof LongSequenceStorage) {
+                long[] array = ((LongSequenceStorage) storage).getInternalLongArray();
+                for (int i = n / 2 - 1; i >= 0; i--) {
+                    siftUp(array, n, i);
+                }
+            } else if (storage instanceof DoubleSequenceStorage) {
+                double[] array = ((DoubleSequenceStorage) storage).getInternalDoubleArray();
+                for (int i = n / 2 - 1; i >= 0; i--) {
+                    siftUp(array, n, i);
+                }
+            } else {
+                for (int i = n / 2 - 1; i >= 0; i--) {
+                    siftUpGeneric(frame, heap, i);
+                }
+            }
+        }
+
+        /**
+         * Moves the item at {@code pos} towards the root, but not above {@code startpos}.
+         */
+        private void siftDown(VirtualFrame frame, PList heap, int startpos, int pos) {
+            SequenceStorage storage = storageProfile.profile(heap.getSequenceStorage());
+            if (storage instanceof IntSequenceStorage) {
+                siftDown(((IntSequenceStorage) storage).getInternalIntArray(), startpos, pos);
+            } else if (storage instanceof LongSequenceStorage) {
+                siftDown(((LongSequenceStorage) storage).getInternalLongArray(), startpos, pos);
+            } else if (storage instanceof DoubleSequenceStorage) {
+                siftDown(((DoubleSequenceStorage) storage).getInternalDoubleArray(), startpos, pos);
+            } else {
+                siftDownGeneric(frame, heap, startpos, pos);
+            }
+        }
+
+        /**
+         * Moves the smaller child of each node up until a leaf is reached, starting at
+         * {@code pos}, and then puts the item from {@code pos} into place by sifting it down.
+         */
+        private void siftUp(VirtualFrame frame, PList heap, int pos) {
+            SequenceStorage storage = storageProfile.profile(heap.getSequenceStorage());
+            if (storage instanceof IntSequenceStorage) {
+                siftUp(((IntSequenceStorage) storage).getInternalIntArray(), storage.length(), pos);
+            } else if (storage instanceof LongSequenceStorage) {
+                siftUp(((LongSequenceStorage) storage).getInternalLongArray(), storage.length(), pos);
+            } else if (storage instanceof DoubleSequenceStorage) {
+                siftUp(((DoubleSequenceStorage) storage).getInternalDoubleArray(), storage.length(), pos);
+            } else {
+                siftUpGeneric(frame, heap, pos);
+            }
+        }
+
+        private void siftDown(int[] array, int startpos, int fromPos) {
+            int pos = fromPos;
+            int item = array[pos];
+            while (pos > startpos) {
+                int parentpos = (pos - 1) >> 1;
+                int parent = array[parentpos];
+                if (!(max ? parent < item : item < parent)) {
+                    break;
+                }
+                array[pos] = parent;
+                pos = parentpos;
+            }
+            array[pos] = item;
+        }
+
+        private void siftUp(int[] array, int endpos, int fromPos) {
+            int pos = fromPos;
+            int item = array[pos];
+            int childpos = 2 * pos + 1;
+            while (childpos < endpos) {
+                int rightpos = childpos + 1;
+                if (rightpos < endpos && !(max ? array[rightpos] < array[childpos] : array[childpos] < array[rightpos])) {
+                    childpos = rightpos;
+                }
+                array[pos] = array[childpos];
+                pos = childpos;
+                childpos = 2 * pos + 1;
+            }
+            array[pos] = item;
+            siftDown(array, fromPos, pos);
+        }
+
+        private void siftDown(long[] array, int startpos, int fromPos) {
+            int pos = fromPos;
+            long item = array[pos];
+            while (pos > startpos) {
+                int parentpos = (pos - 1) >> 1;
+                long parent = array[parentpos];
+                if (!(max ? parent < item : item < parent)) {
+                    break;
+                }
+                array[pos] = parent;
+                pos = parentpos;
+            }
+            array[pos] = item;
+        }
+
+        private void siftUp(long[] array, int endpos, int fromPos) {
+            int pos = fromPos;
+            long item = array[pos];
+            int childpos = 2 * pos + 1;
+            while (childpos < endpos) {
+                int rightpos = childpos + 1;
+                if (rightpos < endpos && !(max ? array[rightpos] < array[childpos] : array[childpos] < array[rightpos])) {
+                    childpos = rightpos;
+                }
+                array[pos] = array[childpos];
+                pos = childpos;
+                childpos = 2 * pos + 1;
+            }
+            array[pos] = item;
+            siftDown(array, fromPos, pos);
+        }
+
+        private void siftDown(double[] array, int startpos, int fromPos) {
+            int pos = fromPos;
+            double item = array[pos];
+            while (pos > startpos) {
+                int parentpos = (pos - 1) >> 1;
+                double parent = array[parentpos];
+                if (!(max ? parent < item : item < parent)) {
+                    break;
+                }
+                array[pos] = parent;
+                pos = parentpos;
+            }
+            array[pos] = item;
+        }
+
+        private void siftUp(double[] array, int endpos, int fromPos) {
+            int pos = fromPos;
+            double item = array[pos];
+            int childpos = 2 * pos + 1;
+            while (childpos < endpos) {
+                int rightpos = childpos + 1;
+                if (rightpos < endpos && !(max ? array[rightpos] < array[childpos] : array[childpos] < array[rightpos])) {
+                    childpos = rightpos;
+                }
+                array[pos] = array[childpos];
+                pos = childpos;
+                childpos = 2 * pos + 1;
+            }
+            array[pos] = item;
+            siftDown(array, fromPos, pos);
+        }
+
+        private void siftDownGeneric(VirtualFrame frame, PList heap, int startpos, int fromPos) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            int size = storage.length();
+            int pos = fromPos;
+            while (pos > startpos) {
+                int parentpos = (pos - 1) >> 1;
+                boolean less = lessThan(frame, getItem(storage, pos), getItem(storage, parentpos));
+                storage = checkSize(heap, size);
+                if (!less) {
+                    break;
+                }
+                swap(storage, pos, parentpos);
+                pos = parentpos;
+            }
+        }
+
+        private void siftUpGeneric(VirtualFrame frame, PList heap, int fromPos) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            int endpos = storage.length();
+            int limit = endpos >> 1;
+            int pos = fromPos;
+            while (pos < limit) {
+                int childpos = 2 * pos + 1;
+                if (childpos + 1 < endpos) {
+                    boolean less = lessThan(frame, getItem(storage, childpos), getItem(storage, childpos + 1));
+                    storage = checkSize(heap, endpos);
+                    if (!less) {
+                        childpos++;
+                    }
+                }
+                swap(storage, pos, childpos);
+                pos = childpos;
+            }
+            siftDownGeneric(frame, heap, fromPos, pos);
+        }
+
+        private SequenceStorage checkSize(PList heap, int size) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            if (storage.length() != size) {
+                throw raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "list");
+            }
+            return storage;
+        }
+
+        private void swap(SequenceStorage storage, int i, int j) {
+            Object tmp = getItem(storage, i);
+            setItem(storage, i, getItem(storage, j));
+            setItem(storage, j, tmp);
+        }
+
+        private boolean lessThan(VirtualFrame frame, Object a, Object b) {
+            if (ltNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                ltNode = insert(BinaryComparisonNode.create(__LT__, __GT__, "<"));
+            }
+            try {
+                return max ? ltNode.executeBool(frame, b, a) : ltNode.executeBool(frame, a, b);
+            } catch (UnexpectedResultException e) {
+                if (castToBooleanNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    castToBooleanNode = insert(CoerceToBooleanNode.createIfTrueNode());
+                }
+                return castToBooleanNode.executeBoolean(frame, e.getResult());
+            }
+        }
+
+        private Object getItem(SequenceStorage storage, int idx) {
+            if (getItemNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                getItemNode = insert(SequenceStorageNodes.GetItemScalarNode.create());
+            }
+            return getItemNode.execute(storage, idx);
+        }
+
+        private void setItem(SequenceStorage storage, int idx, Object value) {
+            if (setItemNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                setItemNode = insert(SequenceStorageNodes.SetItemScalarNode.create());
+            }
+            setItemNode.execute(storage, idx, value);
+        }
+
+        /** Replaces the first item with one that may not fit into the current storage. */
+        private void setTop(VirtualFrame frame, PList heap, Object item) {
+            if (setItemGeneralizingNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                setItemGeneralizingNode = insert(SequenceStorageNodes.SetItemNode.create(NormalizeIndexNode.forListAssign(), () -> ListGeneralizationNode.create()));
+            }
+            SequenceStorage storage = heap.getSequenceStorage();
+            SequenceStorage newStorage = setItemGeneralizingNode.executeInt(frame, storage, 0, item);
+            if (newStorage != storage) {
+                heap.setSequenceStorage(newStorage);
+            }
+        }
+
+        private PException raise(PythonBuiltinClassType type, String message, Object... arguments) {
+            if (raiseNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                raiseNode = insert(PRaiseNode.create());
+            }
+            throw raiseNode.raise(type, message, arguments);
+        }
+    }
+
+    // heappush(heap, item)
+    @Builtin(name = "heappush", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class HeapPushNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone push(VirtualFrame frame, PList heap, Object item,
+                        @Cached ListNodes.AppendNode appendNode,
+                        @Cached("createMin()") HeapNode heapNode) {
+            appendNode.execute(heap, item);
+            heapNode.push(frame, heap);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object error(Object heap, Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    // heappop(heap)
+    @Builtin(name = "heappop", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HeapPopNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object pop(VirtualFrame frame, PList heap,
+                        @Cached("createMin()") HeapNode heapNode) {
+            return heapNode.pop(frame, heap);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    // heapreplace(heap, item)
+    @Builtin(name = "heapreplace", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class HeapReplaceNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object replace(VirtualFrame frame, PList heap, Object item,
+                        @Cached("createMin()") HeapNode heapNode) {
+            return heapNode.replace(frame, heap, item);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object error(Object heap, Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    // heappushpop(heap, item)
+    @Builtin(name = "heappushpop", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class HeapPushPopNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object pushPop(VirtualFrame frame, PList heap, Object item,
+                        @Cached("createMin()") HeapNode heapNode) {
+            return heapNode.pushPop(frame, heap, item);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object error(Object heap, Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    // heapify(heap)
+    @Builtin(name = "heapify", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HeapifyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone heapify(VirtualFrame frame, PList heap,
+                        @Cached("createMin()") HeapNode heapNode) {
+            heapNode.heapify(frame, heap);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    // _heappop_max(heap)
+    @Builtin(name = "_heappop_max", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HeapPopMaxNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object pop(VirtualFrame frame, PList heap,
+                        @Cached("createMax()") HeapNode heapNode) {
+            return heapNode.pop(frame, heap);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    // _heapreplace_max(heap, item)
+    @Builtin(name = "_heapreplace_max", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class HeapReplaceMaxNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object replace(VirtualFrame frame, PList heap, Object item,
+                        @Cached("createMax()") HeapNode heapNode) {
+            return heapNode.replace(frame, heap, item);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object error(Object heap, Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    // _heapify_max(heap)
+    @Builtin(name = "_heapify_max", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HeapifyMaxNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone heapify(VirtualFrame frame, PList heap,
+                        @Cached("createMax()") HeapNode heapNode) {
+            heapNode.heapify(frame, heap);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+}
@@ -40,18 +40,128 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
-import java.util.ArrayList;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
 import java.util.List;
 
+import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.io.PBuffered;
+import com.oracle.graal.python.builtins.objects.io.PTextIO;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
 
 @CoreFunctions(defineModule = "_io")
 public class IOModuleBuiltins extends PythonBuiltins {
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
-        return new ArrayList<>();
+        return IOModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void postInitialize(PythonCore core) {
+        super.postInitialize(core);
+        // like CPython, flush whatever is left in the standard streams when the context exits
+        core.getContext().registerShutdownHook(IOModuleBuiltins::flushStdFiles);
+    }
+
+    private static void flushStdFiles(PythonContext context) {
+        PythonModule sys = context.getCore().lookupBuiltinModule("sys");
+        PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+        for (String name : new String[]{"stdout", "stderr"}) {
+            Object stream = sys.getAttribute(name);
+            if (stream == PNone.NO_VALUE || stream == PNone.NONE) {
+                continue;
+            }
+            try {
+                lib.lookupAndCallRegularMethod(stream, null, "flush");
+            } catch (PException e) {
+                // nothing sensible left to report this to
+            }
+        }
+    }
+
+    // BufferedReader(raw, buffer_size=DEFAULT_BUFFER_SIZE); the arguments are consumed by __init__
+    @Builtin(name = "BufferedReader", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PBufferedReader)
+    @GenerateNodeFactory
+    public abstract static class BufferedReaderNode extends PythonVarargsBuiltinNode {
+        @Specialization(guards = "lib.isLazyPythonClass(cls)")
+        PBuffered construct(Object cls, @SuppressWarnings("unused") Object[] arguments, @SuppressWarnings("unused") PKeyword[] keywords,
+                        @SuppressWarnings("unused") @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            return factory().createBuffered(cls);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        PBuffered construct(Object cls, Object[] arguments, PKeyword[] keywords) {
+            throw raise(TypeError, ErrorMessages.IS_NOT_TYPE_OBJ, "'cls'", cls);
+        }
+    }
+
+    // BufferedWriter(raw, buffer_size=DEFAULT_BUFFER_SIZE)
+    @Builtin(name = "BufferedWriter", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PBufferedWriter)
+    @GenerateNodeFactory
+    public abstract static class BufferedWriterNode extends PythonVarargsBuiltinNode {
+        @Specialization(guards = "lib.isLazyPythonClass(cls)")
+        PBuffered construct(Object cls, @SuppressWarnings("unused") Object[] arguments, @SuppressWarnings("unused") PKeyword[] keywords,
+                        @SuppressWarnings("unused") @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            return factory().createBuffered(cls);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        PBuffered construct(Object cls, Object[] arguments, PKeyword[] keywords) {
+            throw raise(TypeError, ErrorMessages.IS_NOT_TYPE_OBJ, "'cls'", cls);
+        }
+    }
+
+    // BufferedRandom(raw, buffer_size=DEFAULT_BUFFER_SIZE)
+    @Builtin(name = "BufferedRandom", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PBufferedRandom)
+    @GenerateNodeFactory
+    public abstract static class BufferedRandomNode extends PythonVarargsBuiltinNode {
+        @Specialization(guards = "lib.isLazyPythonClass(cls)")
+        PBuffered construct(Object cls, @SuppressWarnings("unused") Object[] arguments, @SuppressWarnings("unused") PKeyword[] keywords,
+                        @SuppressWarnings("unused") @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            return factory().createBuffered(cls);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        PBuffered construct(Object cls, Object[] arguments, PKeyword[] keywords) {
+            throw raise(TypeError, ErrorMessages.IS_NOT_TYPE_OBJ, "'cls'", cls);
+        }
+    }
+
+    // TextIOWrapper(buffer, encoding=None, errors=None, newline=None, line_buffering=False,
+    // write_through=False)
+    @Builtin(name = "TextIOWrapper", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PTextIOWrapper)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperNode extends PythonVarargsBuiltinNode {
+        @Specialization(guards = "lib.isLazyPythonClass(cls)")
+        PTextIO construct(Object cls, @SuppressWarnings("unused") Object[] arguments, @SuppressWarnings("unused") PKeyword[] keywords,
+                        @SuppressWarnings("unused") @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            return factory().createTextIO(cls);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        PTextIO construct(Object cls, Object[] arguments, PKeyword[] keywords) {
+            throw raise(TypeError, ErrorMessages.IS_NOT_TYPE_OBJ, "'cls'", cls);
+        }
     }
 }
@@ -25,19 +25,449 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
-import java.util.Collections;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COPY__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
 import java.util.List;
 
+import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
+import com.oracle.graal.python.builtins.objects.complex.PComplex;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.itertools.PAccumulate;
+import com.oracle.graal.python.builtins.objects.itertools.PChain;
+import com.oracle.graal.python.builtins.objects.itertools.PCombinations;
+import com.oracle.graal.python.builtins.objects.itertools.PCompress;
+import com.oracle.graal.python.builtins.objects.itertools.PCount;
+import com.oracle.graal.python.builtins.objects.itertools.PCycle;
+import com.oracle.graal.python.builtins.objects.itertools.PDropwhile;
+import com.oracle.graal.python.builtins.objects.itertools.PFilterfalse;
+import com.oracle.graal.python.builtins.objects.itertools.PGroupBy;
+import com.oracle.graal.python.builtins.objects.itertools.PGrouper;
+import com.oracle.graal.python.builtins.objects.itertools.PIslice;
+import com.oracle.graal.python.builtins.objects.itertools.PPermutations;
+import com.oracle.graal.python.builtins.objects.itertools.PProduct;
+import com.oracle.graal.python.builtins.objects.itertools.PRepeat;
+import com.oracle.graal.python.builtins.objects.itertools.PStarmap;
+import com.oracle.graal.python.builtins.objects.itertools.PTakewhile;
+import com.oracle.graal.python.builtins.objects.itertools.PTee;
+import com.oracle.graal.python.builtins.objects.itertools.PZipLongest;
+import com.oracle.graal.python.builtins.objects.itertools.TeeDataObject;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.builtins.TupleNodes.ConstructTupleNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.control.GetIteratorExpressionNode.GetIteratorNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
+/**
+ * The constructors of the {@code itertools} types and the {@code tee} function. The behavior of
+ * the iterators themselves lives in the builtins of the respective types in
+ * {@code builtins.objects.itertools}.
+ */
 @CoreFunctions(defineModule = "itertools")
 public final class ItertoolsModuleBuiltins extends PythonBuiltins {
 
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
-        return Collections.emptyList();
+        return ItertoolsModuleBuiltinsFactory.getFactories();
+    }
+
+    private static Object noneIfNoValue(Object value) {
+        return PGuards.isNoValue(value) ? PNone.NONE : value;
+    }
+
+    /**
+     * Builtin lists and tuples are sliced by index instead of through an iterator object.
+     */
+    public static boolean isIndexable(Object iterable, PythonObjectLibrary lib) {
+        return (iterable instanceof PList || iterable instanceof PTuple) && PGuards.cannotBeOverridden(lib.getLazyPythonClass(iterable));
+    }
+
+    /**
+     * Converts an iterable to an array like {@code tuple(iterable)} would. The result must not be
+     * modified.
+     */
+    static Object[] toArray(VirtualFrame frame, Object iterable, ConstructTupleNode constructTupleNode, GetObjectArrayNode getObjectArrayNode) {
+        return getObjectArrayNode.execute(constructTupleNode.execute(frame, iterable));
+    }
+
+    // accumulate(iterable[, func, *, initial=None])
+    @Builtin(name = "accumulate", minNumOfPositionalArgs = 2, parameterNames = {"cls", "iterable", "func"}, varArgsMarker = true, keywordOnlyNames = {
+                    "initial"}, constructsClass = PythonBuiltinClassType.PAccumulate)
+    @GenerateNodeFactory
+    public abstract static class AccumulateNode extends PythonBuiltinNode {
+        @Specialization
+        PAccumulate construct(VirtualFrame frame, Object cls, Object iterable, Object func, Object initial,
+                        @Cached GetIteratorNode getIterator) {
+            return factory().createAccumulate(cls, getIterator.executeWith(frame, iterable), noneIfNoValue(func), noneIfNoValue(initial));
+        }
+    }
+
+    // chain(*iterables)
+    @Builtin(name = "chain", minNumOfPositionalArgs = 1, takesVarArgs = true, constructsClass = PythonBuiltinClassType.PChain)
+    @GenerateNodeFactory
+    public abstract static class ChainNode extends PythonBuiltinNode {
+        @Specialization
+        PChain construct(VirtualFrame frame, Object cls, Object[] iterables,
+                        @Cached GetIteratorNode getIterator) {
+            return factory().createChain(cls, getIterator.executeWith(frame, factory().createTuple(iterables)));
+        }
+    }
+
+    // combinations(iterable, r)
+    @Builtin(name = "combinations", minNumOfPositionalArgs = 3, parameterNames = {"cls", "iterable", "r"}, constructsClass = PythonBuiltinClassType.PCombinations)
+    @GenerateNodeFactory
+    public abstract static class CombinationsNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PCombinations construct(VirtualFrame frame, Object cls, Object iterable, Object rObj,
+                        @Cached ConstructTupleNode constructTupleNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            int r = lib.asSizeWithState(rObj, PArguments.getThreadState(frame));
+            Object[] pool = toArray(frame, iterable, constructTupleNode, getObjectArrayNode);
+            if (r < 0) {
+                throw raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "r");
+            }
+            int[] indices = new int[r];
+            for (int i = 0; i < r; i++) {
+                indices[i] = i;
+            }
+            return factory().createCombinations(cls, pool, r, indices, r > pool.length);
+        }
+    }
+
+    // combinations_with_replacement(iterable, r)
+    @Builtin(name = "combinations_with_replacement", minNumOfPositionalArgs = 3, parameterNames = {"cls", "iterable",
+                    "r"}, constructsClass = PythonBuiltinClassType.PCombinationsWithReplacement)
+    @GenerateNodeFactory
+    public abstract static class CombinationsWithReplacementNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PCombinations construct(VirtualFrame frame, Object cls, Object iterable, Object rObj,
+                        @Cached ConstructTupleNode constructTupleNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            int r = lib.asSizeWithState(rObj, PArguments.getThreadState(frame));
+            Object[] pool = toArray(frame, iterable, constructTupleNode, getObjectArrayNode);
+            if (r < 0) {
+                throw raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "r");
+            }
+            return factory().createCombinations(cls, pool, r, new int[r], pool.length == 0 && r > 0);
+        }
+    }
+
+    // compress(data, selectors)
+    @Builtin(name = "compress", minNumOfPositionalArgs = 3, parameterNames = {"cls", "data", "selectors"}, constructsClass = PythonBuiltinClassType.PCompress)
+    @GenerateNodeFactory
+    public abstract static class CompressNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PCompress construct(VirtualFrame frame, Object cls, Object data, Object selectors,
+                        @Cached GetIteratorNode getIterator) {
+            return factory().createCompress(cls, getIterator.executeWith(frame, data), getIterator.executeWith(frame, selectors));
+        }
+    }
+
+    // count(start=0, step=1)
+    @Builtin(name = "count", minNumOfPositionalArgs = 1, parameterNames = {"cls", "start", "step"}, constructsClass = PythonBuiltinClassType.PCount)
+    @GenerateNodeFactory
+    public abstract static class CountNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PCount construct(Object cls, Object startObj, Object stepObj,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            Object start = PGuards.isNoValue(startObj) ? 0 : startObj;
+            Object step = PGuards.isNoValue(stepObj) ? 1 : stepObj;
+            if (!isNumber(start, lib) || !isNumber(step, lib)) {
+                throw raise(TypeError, ErrorMessages.NUMBER_IS_REQUIRED);
+            }
+            return factory().createCount(cls, start, step);
+        }
+
+        private static boolean isNumber(Object value, PythonObjectLibrary lib) {
+            return value instanceof PComplex || lib.canBeJavaDouble(value);
+        }
+    }
+
+    // cycle(iterable)
+    @Builtin(name = "cycle", minNumOfPositionalArgs = 2, constructsClass = PythonBuiltinClassType.PCycle)
+    @GenerateNodeFactory
+    public abstract static class CycleNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PCycle construct(VirtualFrame frame, Object cls, Object iterable,
+                        @Cached GetIteratorNode getIterator) {
+            return factory().createCycle(cls, getIterator.executeWith(frame, iterable));
+        }
+    }
+
+    // dropwhile(predicate, iterable)
+    @Builtin(name = "dropwhile", minNumOfPositionalArgs = 3, constructsClass = PythonBuiltinClassType.PDropwhile)
+    @GenerateNodeFactory
+    public abstract static class DropwhileNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PDropwhile construct(VirtualFrame frame, Object cls, Object predicate, Object iterable,
+                        @Cached GetIteratorNode getIterator) {
+            return factory().createDropwhile(cls, predicate, getIterator.executeWith(frame, iterable));
+        }
+    }
+
+    // filterfalse(function or None, iterable)
+    @Builtin(name = "filterfalse", minNumOfPositionalArgs = 3, constructsClass = PythonBuiltinClassType.PFilterfalse)
+    @GenerateNodeFactory
+    public abstract static class FilterfalseNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PFilterfalse construct(VirtualFrame frame, Object cls, Object function, Object iterable,
+                        @Cached GetIteratorNode getIterator) {
+            return factory().createFilterfalse(cls, function, getIterator.executeWith(frame, iterable));
+        }
+    }
+
+    // groupby(iterable, key=None)
+    @Builtin(name = "groupby", minNumOfPositionalArgs = 2, parameterNames = {"cls", "iterable", "key"}, constructsClass = PythonBuiltinClassType.PGroupBy)
+    @GenerateNodeFactory
+    public abstract static class GroupByNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PGroupBy construct(VirtualFrame frame, Object cls, Object iterable, Object key,
+                        @Cached GetIteratorNode getIterator) {
+            return factory().createGroupBy(cls, getIterator.executeWith(frame, iterable), noneIfNoValue(key));
+        }
+    }
+
+    // _grouper(parent, tgtkey)
+    @Builtin(name = "_grouper", minNumOfPositionalArgs = 3, constructsClass = PythonBuiltinClassType.PGrouper)
+    @GenerateNodeFactory
+    public abstract static class GrouperNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PGrouper construct(Object cls, PGroupBy parent, Object targetKey) {
+            PGrouper grouper = factory().createGrouper(cls, parent, targetKey);
+            parent.setCurrentGrouper(grouper);
+            return grouper;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object construct(Object cls, Object parent, Object targetKey) {
+            throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "_grouper()", 1, "itertools.groupby", parent);
+        }
+    }
+
+    // islice(iterable, stop)
+    // islice(iterable, start, stop[, step])
+    @Builtin(name = "islice", minNumOfPositionalArgs = 3, maxNumOfPositionalArgs = 5, constructsClass = PythonBuiltinClassType.PIslice)
+    @GenerateNodeFactory
+    public abstract static class IsliceNode extends PythonBuiltinNode {
+        @Specialization
+        PIslice construct(VirtualFrame frame, Object cls, Object iterable, Object arg1, Object arg2, Object arg3,
+                        @Cached GetIteratorNode getIterator,
+                        @Cached("createBinaryProfile()") ConditionProfile indexableProfile,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            int start = 0;
+            int stop;
+            int step = 1;
+            if (PGuards.isNoValue(arg2)) {
+                stop = toIndex(arg1, -1, ErrorMessages.ISLICE_STOP_MUST_BE_NONE_OR_INT, lib);
+            } else {
+                start = toIndex(arg1, 0, ErrorMessages.ISLICE_INDICES_MUST_BE_NONE_OR_INT, lib);
+                stop = toIndex(arg2, -1, ErrorMessages.ISLICE_STOP_MUST_BE_NONE_OR_INT, lib);
+                if (!PGuards.isNoValue(arg3)) {
+                    step = toIndex(arg3, 1, ErrorMessages.ISLICE_STEP_MUST_BE_POSITIVE_OR_NONE, lib);
+                    if (step == 0) {
+                        throw raise(ValueError, ErrorMessages.ISLICE_STEP_MUST_BE_POSITIVE_OR_NONE);
+                    }
+                }
+            }
+            if (indexableProfile.profile(isIndexable(iterable, lib))) {
+                return factory().createIslice(cls, null, (PSequence) iterable, start, stop, step);
+            }
+            return factory().createIslice(cls, getIterator.executeWith(frame, iterable), null, start, stop, step);
+        }
+
+        private int toIndex(Object value, int defaultValue, String errorMessage, PythonObjectLibrary lib) {
+            if (PGuards.isPNone(value)) {
+                return defaultValue;
+            }
+            if (lib.canBeIndex(value)) {
+                int result = lib.asSize(value, null);
+                if (result >= 0) {
+                    return result;
+                }
+            }
+            throw raise(ValueError, errorMessage);
+        }
+    }
+
+    // permutations(iterable, r=None)
+    @Builtin(name = "permutations", minNumOfPositionalArgs = 2, parameterNames = {"cls", "iterable", "r"}, constructsClass = PythonBuiltinClassType.PPermutations)
+    @GenerateNodeFactory
+    public abstract static class PermutationsNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PPermutations construct(VirtualFrame frame, Object cls, Object iterable, Object rObj,
+                        @Cached ConstructTupleNode constructTupleNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            Object[] pool = toArray(frame, iterable, constructTupleNode, getObjectArrayNode);
+            int r = pool.length;
+            if (!PGuards.isPNone(rObj)) {
+                r = lib.asSizeWithState(rObj, PArguments.getThreadState(frame));
+                if (r < 0) {
+                    throw raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "r");
+                }
+            }
+            return factory().createPermutations(cls, pool, r);
+        }
+    }
+
+    // product(*iterables, repeat=1)
+    @Builtin(name = "product", minNumOfPositionalArgs = 1, takesVarArgs = true, keywordOnlyNames = {"repeat"}, constructsClass = PythonBuiltinClassType.PProduct)
+    @GenerateNodeFactory
+    public abstract static class ProductNode extends PythonBuiltinNode {
+        @Specialization
+        PProduct construct(VirtualFrame frame, Object cls, Object[] iterables, Object repeatObj,
+                        @Cached ConstructTupleNode constructTupleNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            int repeat = 1;
+            if (!PGuards.isNoValue(repeatObj)) {
+                repeat = lib.asSizeWithState(repeatObj, PArguments.getThreadState(frame));
+                if (repeat < 0) {
+                    throw raise(ValueError, ErrorMessages.CANNOT_BE_NEGATIVE, "repeat argument");
+                }
+            }
+            int numIterables = iterables.length;
+            Object[][] pools = new Object[numIterables * repeat][];
+            for (int i = 0; i < numIterables; i++) {
+                pools[i] = toArray(frame, iterables[i], constructTupleNode, getObjectArrayNode);
+            }
+            for (int i = numIterables; i < pools.length; i++) {
+                pools[i] = pools[i - numIterables];
+            }
+            return factory().createProduct(cls, pools);
+        }
+    }
+
+    // repeat(object[, times])
+    @Builtin(name = "repeat", minNumOfPositionalArgs = 2, parameterNames = {"cls", "object", "times"}, constructsClass = PythonBuiltinClassType.PRepeat)
+    @GenerateNodeFactory
+    public abstract static class RepeatNode extends PythonTernaryBuiltinNode {
+        @Specialization(guards = "isNoValue(times)")
+        PRepeat construct(Object cls, Object element, @SuppressWarnings("unused") PNone times) {
+            return factory().createRepeat(cls, element, -1);
+        }
+
+        @Specialization(guards = "!isNoValue(times)", limit = "3")
+        PRepeat construct(VirtualFrame frame, Object cls, Object element, Object times,
+                        @CachedLibrary("times") PythonObjectLibrary lib) {
+            int count = lib.asSizeWithState(times, null, PArguments.getThreadState(frame));
+            return factory().createRepeat(cls, element, Math.max(count, 0));
+        }
+    }
+
+    // starmap(function, iterable)
+    @Builtin(name = "starmap", minNumOfPositionalArgs = 3, constructsClass = PythonBuiltinClassType.PStarmap)
+    @GenerateNodeFactory
+    public abstract static class StarmapNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PStarmap construct(VirtualFrame frame, Object cls, Object function, Object iterable,
+                        @Cached GetIteratorNode getIterator) {
+            return factory().createStarmap(cls, function, getIterator.executeWith(frame, iterable));
+        }
+    }
+
+    // takewhile(predicate, iterable)
+    @Builtin(name = "takewhile", minNumOfPositionalArgs = 3, constructsClass = PythonBuiltinClassType.PTakewhile)
+    @GenerateNodeFactory
+    public abstract static class TakewhileNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PTakewhile construct(VirtualFrame frame, Object cls, Object predicate, Object iterable,
+                        @Cached GetIteratorNode getIterator) {
+            return factory().createTakewhile(cls, predicate, getIterator.executeWith(frame, iterable));
+        }
+    }
+
+    // _tee(iterable)
+    @Builtin(name = "_tee", minNumOfPositionalArgs = 2, constructsClass = PythonBuiltinClassType.PTee)
+    @GenerateNodeFactory
+    public abstract static class TeeObjectNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTee construct(VirtualFrame frame, Object cls, Object iterable,
+                        @Cached GetIteratorNode getIterator) {
+            Object iterator = getIterator.executeWith(frame, iterable);
+            if (iterator instanceof PTee) {
+                PTee other = (PTee) iterator;
+                return factory().createTee(cls, other.getDataObject(), other.getIndex());
+            }
+            return factory().createTee(cls, new TeeDataObject(iterator), 0);
+        }
+    }
+
+    // tee(iterable, n=2)
+    @Builtin(name = "tee", minNumOfPositionalArgs = 1, parameterNames = {"iterable", "n"})
+    @GenerateNodeFactory
+    public abstract static class TeeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTuple tee(VirtualFrame frame, Object iterable, Object nObj,
+                        @Cached GetIteratorNode getIterator,
+                        @Cached CallNode callNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            int n = 2;
+            if (!PGuards.isNoValue(nObj)) {
+                n = lib.asSizeWithState(nObj, PArguments.getThreadState(frame));
+                if (n < 0) {
+                    throw raise(ValueError, ErrorMessages.S_MUST_BE_GE_ZERO, "n");
+                }
+            }
+            if (n == 0) {
+                return factory().createEmptyTuple();
+            }
+            Object iterator = getIterator.executeWith(frame, iterable);
+            Object[] result = new Object[n];
+            Object copyFunction = iterator instanceof PTee ? PNone.NO_VALUE : lib.lookupAttribute(iterator, frame, __COPY__);
+            if (copyFunction != PNone.NO_VALUE) {
+                result[0] = iterator;
+                for (int i = 1; i < n; i++) {
+                    result[i] = callNode.execute(frame, copyFunction);
+                }
+            } else {
+                PTee first = iterator instanceof PTee ? (PTee) iterator : factory().createTee(PythonBuiltinClassType.PTee, new TeeDataObject(iterator), 0);
+                result[0] = first;
+                for (int i = 1; i < n; i++) {
+                    result[i] = factory().createTee(PythonBuiltinClassType.PTee, first.getDataObject(), first.getIndex());
+                }
+            }
+            return factory().createTuple(result);
+        }
+    }
+
+    // zip_longest(*iterables, fillvalue=None)
+    @Builtin(name = "zip_longest", minNumOfPositionalArgs = 1, takesVarArgs = true, keywordOnlyNames = {"fillvalue"}, constructsClass = PythonBuiltinClassType.PZipLongest)
+    @GenerateNodeFactory
+    public abstract static class ZipLongestNode extends PythonBuiltinNode {
+        @Specialization
+        PZipLongest construct(VirtualFrame frame, Object cls, Object[] iterables, Object fillValue,
+                        @Cached GetIteratorNode getIterator) {
+            Object[] iterators = new Object[iterables.length];
+            for (int i = 0; i < iterables.length; i++) {
+                iterators[i] = getIterator.executeWith(frame, iterables[i]);
+            }
+            return factory().createZipLongest(cls, iterators, noneIfNoValue(fillValue));
+        }
     }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.json.PJSONEncoder;
+import com.oracle.graal.python.builtins.objects.json.PJSONEncoder.FastEncode;
+import com.oracle.graal.python.builtins.objects.json.PJSONScanner;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(defineModule = "_json")
+public class JSONModuleBuiltins extends PythonBuiltins {
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return JSONModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        // like in CPython, the factory functions are the scanner and encoder types themselves
+        builtinConstants.put("make_scanner", core.lookupType(PythonBuiltinClassType.PJSONScanner));
+        builtinConstants.put("make_encoder", core.lookupType(PythonBuiltinClassType.PJSONEncoder));
+        super.initialize(core);
+    }
+
+    @Builtin(name = "scanstring", minNumOfPositionalArgs = 2, parameterNames = {"string", "end", "strict"})
+    @GenerateNodeFactory
+    abstract static class ScanStringNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PTuple scanString(VirtualFrame frame, Object string, Object end, Object strict,
+                        @Cached CastToJavaStringNode castString,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            String s;
+            try {
+                s = castString.execute(string);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.FIRST_ARG_MUST_BE_STRING_NOT_P, string);
+            }
+            int endIdx = lib.asSizeWithState(end, PArguments.getThreadState(frame));
+            boolean strictMode = PGuards.isNoValue(strict) || lib.isTrueWithState(strict, PArguments.getThreadState(frame));
+            return PJSONScanner.scanString(s, endIdx, strictMode);
+        }
+    }
+
+    @Builtin(name = "encode_basestring_ascii", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EncodeBaseStringAsciiNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        String encode(Object string,
+                        @Cached CastToJavaStringNode castString) {
+            try {
+                return encodeString(castString.execute(string), true);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.FIRST_ARG_MUST_BE_STRING_NOT_P, string);
+            }
+        }
+    }
+
+    @Builtin(name = "encode_basestring", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EncodeBaseStringNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        String encode(Object string,
+                        @Cached CastToJavaStringNode castString) {
+            try {
+                return encodeString(castString.execute(string), false);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.FIRST_ARG_MUST_BE_STRING_NOT_P, string);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static String encodeString(String s, boolean asciiOnly) {
+        StringBuilder sb = new StringBuilder(s.length() + 2);
+        PJSONEncoder.appendString(sb, s, asciiOnly);
+        return sb.toString();
+    }
+
+    // make_scanner(context)
+    @Builtin(name = "make_scanner", minNumOfPositionalArgs = 2, parameterNames = {"$cls", "context"}, constructsClass = PythonBuiltinClassType.PJSONScanner)
+    @GenerateNodeFactory
+    abstract static class MakeScannerNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PJSONScanner make(VirtualFrame frame, Object cls, Object context,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            Object strict = lib.lookupAttributeStrict(context, frame, "strict");
+            Object objectHook = lib.lookupAttributeStrict(context, frame, "object_hook");
+            Object objectPairsHook = lib.lookupAttributeStrict(context, frame, "object_pairs_hook");
+            Object parseFloat = lib.lookupAttributeStrict(context, frame, "parse_float");
+            Object parseInt = lib.lookupAttributeStrict(context, frame, "parse_int");
+            Object parseConstant = lib.lookupAttributeStrict(context, frame, "parse_constant");
+            PJSONScanner scanner = factory().createJSONScanner(cls);
+            scanner.init(lib.isTrueWithState(strict, PArguments.getThreadState(frame)), objectHook, objectPairsHook, parseFloat, parseInt, parseConstant);
+            return scanner;
+        }
+    }
+
+    // make_encoder(markers, default, encoder, indent, key_separator, item_separator, sort_keys,
+    // skipkeys, allow_nan)
+    @Builtin(name = "make_encoder", minNumOfPositionalArgs = 10, parameterNames = {"$cls", "markers", "default", "encoder", "indent", "key_separator", "item_separator", "sort_keys", "skipkeys",
+                    "allow_nan"}, constructsClass = PythonBuiltinClassType.PJSONEncoder)
+    @GenerateNodeFactory
+    abstract static class MakeEncoderNode extends PythonBuiltinNode {
+        @Specialization(guards = "isDictOrNone(markers)")
+        PJSONEncoder make(VirtualFrame frame, Object cls, Object markers, Object defaultFn, Object encoder, Object indent, Object keySeparator, Object itemSeparator, Object sortKeys,
+                        Object skipKeys, Object allowNan,
+                        @Cached CastToJavaStringNode castString,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            String keySep = castSeparator(castString, keySeparator);
+            String itemSep = castSeparator(castString, itemSeparator);
+            PJSONEncoder result = factory().createJSONEncoder(cls);
+            result.init(markers, defaultFn, encoder, indent, keySep, itemSep, lib.isTrueWithState(sortKeys, PArguments.getThreadState(frame)),
+                            lib.isTrueWithState(skipKeys, PArguments.getThreadState(frame)), lib.isTrueWithState(allowNan, PArguments.getThreadState(frame)), getFastEncode(encoder));
+            return result;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        PJSONEncoder make(Object cls, Object markers, Object defaultFn, Object encoder, Object indent, Object keySeparator, Object itemSeparator, Object sortKeys, Object skipKeys,
+                        Object allowNan) {
+            throw raise(TypeError, ErrorMessages.MAKE_ENCODER_ARG_1_MUST_BE_DICT_NOT_P, markers);
+        }
+
+        private String castSeparator(CastToJavaStringNode castString, Object separator) {
+            try {
+                return castString.execute(separator);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.ARG_MUST_BE_S_NOT_P, "make_encoder()", "str", separator);
+            }
+        }
+
+        protected static boolean isDictOrNone(Object markers) {
+            return markers == PNone.NONE || markers instanceof PDict;
+        }
+
+        /** Strings are escaped inline if the encoder is one of this module's own functions. */
+        @TruffleBoundary
+        private FastEncode getFastEncode(Object encoder) {
+            PythonModule json = getCore().lookupBuiltinModule("_json");
+            if (encoder == json.getAttribute("encode_basestring_ascii")) {
+                return FastEncode.ASCII;
+            } else if (encoder == json.getAttribute("encode_basestring")) {
+                return FastEncode.UNICODE;
+            }
+            return FastEncode.NONE;
+        }
+    }
+}
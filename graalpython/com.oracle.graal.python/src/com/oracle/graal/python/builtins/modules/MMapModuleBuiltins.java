@@ -44,6 +44,7 @@ import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.StandardOpenOption;
 import java.util.HashSet;
@@ -73,10 +74,6 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 
 @CoreFunctions(defineModule = "mmap")
 public class MMapModuleBuiltins extends PythonBuiltins {
-    private static final int ACCESS_DEFAULT = 0;
-    private static final int ACCESS_READ = 1;
-    private static final int ACCESS_WRITE = 2;
-    private static final int ACCESS_COPY = 3;
 
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
@@ -84,10 +81,10 @@ public class MMapModuleBuiltins extends PythonBuiltins {
     }
 
     public MMapModuleBuiltins() {
-        builtinConstants.put("ACCESS_DEFAULT", ACCESS_DEFAULT);
-        builtinConstants.put("ACCESS_READ", ACCESS_READ);
-        builtinConstants.put("ACCESS_WRITE", ACCESS_WRITE);
-        builtinConstants.put("ACCESS_COPY", ACCESS_COPY);
+        builtinConstants.put("ACCESS_DEFAULT", PMMap.ACCESS_DEFAULT);
+        builtinConstants.put("ACCESS_READ", PMMap.ACCESS_READ);
+        builtinConstants.put("ACCESS_WRITE", PMMap.ACCESS_WRITE);
+        builtinConstants.put("ACCESS_COPY", PMMap.ACCESS_COPY);
     }
 
     @Builtin(name = "mmap", minNumOfPositionalArgs = 3, parameterNames = {"cls", "fd", "length", "tagname", "access", "offset"}, constructsClass = PythonBuiltinClassType.PMMap)
@@ -98,26 +95,43 @@ public class MMapModuleBuiltins extends PythonBuiltins {
         private final BranchProfile invalidLengthProfile = BranchProfile.create();
 
         @Specialization(guards = {"isAnonymous(fd)", "isNoValue(access)", "isNoValue(offset)"})
-        PMMap doAnonymous(Object clazz, @SuppressWarnings("unused") long fd, int length, @SuppressWarnings("unused") Object tagname, @SuppressWarnings("unused") PNone access,
+        PMMap doAnonymous(Object clazz, @SuppressWarnings("unused") long fd, long length, @SuppressWarnings("unused") Object tagname, @SuppressWarnings("unused") PNone access,
+                        @SuppressWarnings("unused") PNone offset) {
+            return doAnonymous(clazz, fd, length, tagname, PMMap.ACCESS_DEFAULT, offset);
+        }
+
+        @Specialization(guards = {"isAnonymous(fd)", "isNoValue(offset)"})
+        PMMap doAnonymous(Object clazz, @SuppressWarnings("unused") long fd, long length, @SuppressWarnings("unused") Object tagname, int access,
                         @SuppressWarnings("unused") PNone offset) {
             checkLength(length);
-            return factory().createMMap(clazz, new AnonymousMap(length), length, 0);
+            checkAccess(access);
+            return factory().createMMap(clazz, null, PMMap.allocateAnonymous(length), length, 0, access);
         }
 
         @Specialization(guards = {"fd >= 0", "isNoValue(access)", "isNoValue(offset)"})
-        PMMap doFile(Object clazz, long fd, int length, Object tagname, @SuppressWarnings("unused") PNone access, @SuppressWarnings("unused") PNone offset) {
-            return doFile(clazz, fd, length, tagname, ACCESS_DEFAULT, 0);
+        PMMap doFile(Object clazz, long fd, long length, Object tagname, @SuppressWarnings("unused") PNone access, @SuppressWarnings("unused") PNone offset) {
+            return doFile(clazz, fd, length, tagname, PMMap.ACCESS_DEFAULT, 0);
         }
 
         @Specialization(guards = {"fd >= 0", "isNoValue(offset)"})
-        PMMap doFile(Object clazz, long fd, int length, Object tagname, int access, @SuppressWarnings("unused") PNone offset) {
+        PMMap doFile(Object clazz, long fd, long length, Object tagname, int access, @SuppressWarnings("unused") PNone offset) {
             return doFile(clazz, fd, length, tagname, access, 0);
         }
 
+        @Specialization(guards = {"fd >= 0", "isNoValue(access)"})
+        PMMap doFile(Object clazz, long fd, long length, Object tagname, @SuppressWarnings("unused") PNone access, long offset) {
+            return doFile(clazz, fd, length, tagname, PMMap.ACCESS_DEFAULT, offset);
+        }
+
         // mmap(fileno, length, tagname=None, access=ACCESS_DEFAULT[, offset])
         @Specialization(guards = "fd >= 0")
-        PMMap doFile(Object clazz, long fd, long length, @SuppressWarnings("unused") Object tagname, @SuppressWarnings("unused") int access, long offset) {
+        PMMap doFile(Object clazz, long fd, long length, @SuppressWarnings("unused") Object tagname, int access, long offset) {
             checkLength(length);
+            checkAccess(access);
+            if (offset < 0) {
+                invalidLengthProfile.enter();
+                throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.MEM_MAPPED_OFFSET_MUST_BE_POSITIVE);
+            }
             int ifd;
             try {
                 ifd = PInt.intValueExact(fd);
@@ -126,31 +140,49 @@ public class MMapModuleBuiltins extends PythonBuiltins {
             }
 
             String path = getContext().getResources().getFilePath(ifd);
+            if (path == null) {
+                throw raiseOSError(null, OSErrorEnum.EBADF);
+            }
             TruffleFile truffleFile = getContext().getEnv().getPublicTruffleFile(path);
 
-            // TODO(fa) correctly honor access flags
-            Set<StandardOpenOption> options = set(StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // ACCESS_COPY also needs a writable channel to create a private mapping
+            Set<StandardOpenOption> options;
+            if (access == PMMap.ACCESS_READ) {
+                options = set(StandardOpenOption.READ);
+            } else {
+                options = set(StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
 
-            // we create a new channel otherwise we cannot guarantee that the cursor is exclusive
-            SeekableByteChannel fileChannel;
+            // we create a new channel; the mapping stays valid after the channel is closed
+            SeekableByteChannel fileChannel = null;
             try {
-                fileChannel = truffleFile.newByteChannel(options);
-                position(fileChannel, offset);
-
+                fileChannel = newByteChannel(truffleFile, options);
+                long fileSize = PMMap.size(fileChannel);
                 long actualLen;
                 if (length == 0) {
-                    try {
-                        actualLen = PMMap.size(fileChannel) - offset;
-                    } catch (IOException e) {
-                        throw raiseOSError(null, OSErrorEnum.EIO, e);
+                    if (offset >= fileSize) {
+                        throw raise(ValueError, ErrorMessages.MMAP_OFFSET_GREATER_THAN_FILE_SIZE);
                     }
+                    actualLen = fileSize - offset;
                 } else {
+                    if (offset > fileSize || fileSize - offset < length) {
+                        throw raise(ValueError, ErrorMessages.MMAP_LENGTH_GREATER_THAN_FILE_SIZE);
+                    }
                     actualLen = length;
                 }
 
-                return factory().createMMap(clazz, fileChannel, actualLen, offset);
+                ByteBuffer[] segments = PMMap.map(fileChannel, offset, actualLen, access);
+                SeekableByteChannel writeBackChannel = null;
+                if (!(fileChannel instanceof FileChannel) && (access == PMMap.ACCESS_DEFAULT || access == PMMap.ACCESS_WRITE)) {
+                    // the segments are only a heap copy; keep the channel to write changes back
+                    writeBackChannel = fileChannel;
+                    fileChannel = null;
+                }
+                return factory().createMMap(clazz, writeBackChannel, segments, actualLen, offset, access);
             } catch (IOException e) {
                 throw raise(ValueError, ErrorMessages.CANNOT_MMAP_FILE);
+            } finally {
+                close(fileChannel);
             }
         }
 
@@ -163,9 +195,25 @@ public class MMapModuleBuiltins extends PythonBuiltins {
             return s;
         }
 
+        @TruffleBoundary
+        private static SeekableByteChannel newByteChannel(TruffleFile file, Set<StandardOpenOption> options) throws IOException {
+            return file.newByteChannel(options);
+        }
+
+        @TruffleBoundary
+        private static void close(SeekableByteChannel ch) {
+            if (ch != null) {
+                try {
+                    ch.close();
+                } catch (IOException e) {
+                    // ignore; the mapping does not depend on the channel
+                }
+            }
+        }
+
         @Specialization(guards = "isIllegal(fd)")
         @SuppressWarnings("unused")
-        PMMap doAnonymous(Object clazz, int fd, Object length, Object tagname, PNone access, PNone offset) {
+        PMMap doAnonymous(Object clazz, int fd, Object length, Object tagname, Object access, Object offset) {
             throw raise(PythonBuiltinClassType.OSError);
         }
 
@@ -184,63 +232,11 @@ public class MMapModuleBuiltins extends PythonBuiltins {
             }
         }
 
-        @TruffleBoundary
-        private static void position(SeekableByteChannel ch, long offset) throws IOException {
-            ch.position(offset);
-        }
-    }
-
-    private static class AnonymousMap implements SeekableByteChannel {
-        private final byte[] data;
-
-        private boolean open = true;
-        private int cur;
-
-        public AnonymousMap(int cap) {
-            this.data = new byte[cap];
-        }
-
-        public boolean isOpen() {
-            return open;
-        }
-
-        public void close() throws IOException {
-            open = false;
-        }
-
-        public int read(ByteBuffer dst) throws IOException {
-            int nread = Math.min(dst.remaining(), data.length - cur);
-            dst.put(data, cur, nread);
-            return nread;
-        }
-
-        public int write(ByteBuffer src) throws IOException {
-            int nwrite = Math.min(src.remaining(), data.length - cur);
-            src.get(data, cur, nwrite);
-            return nwrite;
-        }
-
-        public long position() throws IOException {
-            return cur;
-        }
-
-        public SeekableByteChannel position(long newPosition) throws IOException {
-            if (newPosition < 0) {
-                throw new IllegalArgumentException();
-            }
-            cur = (int) newPosition;
-            return this;
-        }
-
-        public long size() throws IOException {
-            return data.length;
-        }
-
-        public SeekableByteChannel truncate(long size) throws IOException {
-            for (int i = 0; i < size; i++) {
-                data[i] = 0;
+        private void checkAccess(int access) {
+            if (access < PMMap.ACCESS_DEFAULT || access > PMMap.ACCESS_COPY) {
+                invalidLengthProfile.enter();
+                throw raise(ValueError, ErrorMessages.MMAP_INVALID_ACCESS_PARAMETER);
             }
-            return this;
         }
     }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.pickle.PPickleBuffer;
+import com.oracle.graal.python.builtins.objects.pickle.PPickler;
+import com.oracle.graal.python.builtins.objects.pickle.PUnpickler;
+import com.oracle.graal.python.builtins.objects.pickle.PicklerBuiltins;
+import com.oracle.graal.python.builtins.objects.pickle.UnpicklerBuiltins;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(defineModule = "_pickle")
+public class PickleModuleBuiltins extends PythonBuiltins {
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PickleModuleBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "Pickler", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PPickler)
+    @GenerateNodeFactory
+    public abstract static class PicklerNode extends PythonVarargsBuiltinNode {
+        @Specialization(guards = "lib.isLazyPythonClass(cls)")
+        PPickler construct(Object cls, @SuppressWarnings("unused") Object[] arguments, @SuppressWarnings("unused") PKeyword[] keywords,
+                        @SuppressWarnings("unused") @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            return factory().createPickler(cls);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        PPickler construct(Object cls, Object[] arguments, PKeyword[] keywords) {
+            throw raise(TypeError, ErrorMessages.IS_NOT_TYPE_OBJ, "'cls'", cls);
+        }
+    }
+
+    @Builtin(name = "Unpickler", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PUnpickler)
+    @GenerateNodeFactory
+    public abstract static class UnpicklerNode extends PythonVarargsBuiltinNode {
+        @Specialization(guards = "lib.isLazyPythonClass(cls)")
+        PUnpickler construct(Object cls, @SuppressWarnings("unused") Object[] arguments, @SuppressWarnings("unused") PKeyword[] keywords,
+                        @SuppressWarnings("unused") @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            return factory().createUnpickler(cls);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        PUnpickler construct(Object cls, Object[] arguments, PKeyword[] keywords) {
+            throw raise(TypeError, ErrorMessages.IS_NOT_TYPE_OBJ, "'cls'", cls);
+        }
+    }
+
+    // PickleBuffer(buffer)
+    @Builtin(name = "PickleBuffer", minNumOfPositionalArgs = 2, parameterNames = {"cls", "buffer"}, constructsClass = PythonBuiltinClassType.PPickleBuffer)
+    @GenerateNodeFactory
+    public abstract static class PickleBufferNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "3")
+        PPickleBuffer construct(Object cls, Object buffer,
+                        @CachedLibrary("buffer") PythonObjectLibrary lib) {
+            if (!lib.isBuffer(buffer)) {
+                throw raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, buffer);
+            }
+            return factory().createPickleBuffer(cls, buffer, isReadonly(buffer));
+        }
+
+        @TruffleBoundary
+        private static boolean isReadonly(Object buffer) {
+            if (buffer instanceof PBytes) {
+                return true;
+            } else if (buffer instanceof PByteArray) {
+                return false;
+            }
+            Object readonly = PythonObjectLibrary.getUncached().lookupAttribute(buffer, null, "readonly");
+            return readonly == PNone.NO_VALUE || PythonObjectLibrary.getUncached().isTrue(readonly);
+        }
+    }
+
+    // dump(obj, file, protocol=None, *, fix_imports=True, buffer_callback=None)
+    @Builtin(name = "dump", minNumOfPositionalArgs = 2, parameterNames = {"obj", "file", "protocol"}, varArgsMarker = true, keywordOnlyNames = {"fix_imports", "buffer_callback"})
+    @GenerateNodeFactory
+    abstract static class DumpNode extends PythonBuiltinNode {
+        @Specialization
+        Object dump(Object obj, Object file, Object protocol, Object fixImports, Object bufferCallback) {
+            PPickler pickler = factory().createPickler(PythonBuiltinClassType.PPickler);
+            PicklerBuiltins.initPickler(pickler, file, protocol, fixImports, bufferCallback);
+            return pickler.dump(obj);
+        }
+    }
+
+    // dumps(obj, protocol=None, *, fix_imports=True, buffer_callback=None)
+    @Builtin(name = "dumps", minNumOfPositionalArgs = 1, parameterNames = {"obj", "protocol"}, varArgsMarker = true, keywordOnlyNames = {"fix_imports", "buffer_callback"})
+    @GenerateNodeFactory
+    abstract static class DumpsNode extends PythonBuiltinNode {
+        @Specialization
+        Object dumps(Object obj, Object protocol, Object fixImports, Object bufferCallback) {
+            PPickler pickler = factory().createPickler(PythonBuiltinClassType.PPickler);
+            PicklerBuiltins.initPickler(pickler, null, protocol, fixImports, bufferCallback);
+            return pickler.dump(obj);
+        }
+    }
+
+    // load(file, *, fix_imports=True, encoding="ASCII", errors="strict", buffers=())
+    @Builtin(name = "load", minNumOfPositionalArgs = 1, parameterNames = {"file"}, varArgsMarker = true, keywordOnlyNames = {"fix_imports", "encoding", "errors", "buffers"})
+    @GenerateNodeFactory
+    abstract static class LoadNode extends PythonBuiltinNode {
+        @Specialization
+        Object load(Object file, Object fixImports, Object encoding, Object errors, Object buffers) {
+            PUnpickler unpickler = factory().createUnpickler(PythonBuiltinClassType.PUnpickler);
+            UnpicklerBuiltins.initUnpickler(unpickler, file, fixImports, encoding, errors, buffers);
+            return UnpicklerBuiltins.load(unpickler);
+        }
+    }
+
+    // loads(data, /, *, fix_imports=True, encoding="ASCII", errors="strict", buffers=())
+    @Builtin(name = "loads", minNumOfPositionalArgs = 1, parameterNames = {"data"}, varArgsMarker = true, keywordOnlyNames = {"fix_imports", "encoding", "errors", "buffers"})
+    @GenerateNodeFactory
+    abstract static class LoadsNode extends PythonBuiltinNode {
+        @Specialization
+        Object loads(Object data, Object fixImports, Object encoding, Object errors, Object buffers) {
+            PUnpickler unpickler = factory().createUnpickler(PythonBuiltinClassType.PUnpickler);
+            UnpicklerBuiltins.initUnpickler(unpickler, null, fixImports, encoding, errors, buffers);
+            UnpicklerBuiltins.setInput(unpickler, data);
+            return UnpicklerBuiltins.load(unpickler);
+        }
+    }
+}
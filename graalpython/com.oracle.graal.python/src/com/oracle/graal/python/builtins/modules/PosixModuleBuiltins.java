@@ -57,7 +57,10 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channel;
+import java.nio.channels.NonReadableChannelException;
+import java.nio.channels.NonWritableChannelException;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.LinkOption;
@@ -94,13 +97,11 @@ import com.oracle.graal.python.builtins.modules.PosixModuleBuiltinsFactory.StatN
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
-import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
 import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
 import com.oracle.graal.python.builtins.objects.common.SequenceNodes.LenNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.GetItemDynamicNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.GetItemNode;
-import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFactory.ToByteArrayNodeGen;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.floats.PFloat;
@@ -124,7 +125,10 @@ import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CastToJavaIntExactNode;
+import com.oracle.graal.python.nodes.util.ChannelNodes;
 import com.oracle.graal.python.nodes.util.ChannelNodes.ReadFromChannelNode;
+import com.oracle.graal.python.nodes.util.ChannelNodes.ReadIntoBufferNode;
+import com.oracle.graal.python.nodes.util.ChannelNodes.ToByteBufferNode;
 import com.oracle.graal.python.runtime.PosixResources;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonCore;
@@ -151,6 +155,7 @@ import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.dsl.TypeSystemReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
@@ -1141,7 +1146,6 @@ public class PosixModuleBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     @TypeSystemReference(PythonArithmeticTypes.class)
     public abstract static class WriteNode extends PythonFileNode {
-        @Child private SequenceStorageNodes.ToByteArrayNode toByteArrayNode;
         private final BranchProfile gotException = BranchProfile.create();
         private final BranchProfile notWritable = BranchProfile.create();
 
@@ -1188,10 +1192,22 @@ public class PosixModuleBuiltins extends PythonBuiltins {
             return data.getBytes();
         }
 
-        @Specialization
-        Object write(VirtualFrame frame, int fd, PBytesLike data,
+        @Specialization(guards = {"!isJavaByteArray(data)", "!isJavaString(data)"})
+        Object write(VirtualFrame frame, int fd, Object data,
+                        @Cached ToByteBufferNode toByteBufferNode,
                         @Cached("createClassProfile()") ValueProfile channelClassProfile) {
-            return write(frame, fd, getByteArray(data.getSequenceStorage()), channelClassProfile);
+            Channel channel = getResources().getFileChannel(fd, channelClassProfile);
+            if (channel instanceof WritableByteChannel) {
+                try {
+                    // writes straight from the memory of bytes-like objects
+                    return doWriteOp(toByteBufferNode.execute(data), channel);
+                } catch (IOException | NonWritableChannelException e) {
+                    gotException.enter();
+                    throw raiseOSError(frame, e);
+                }
+            }
+            notWritable.enter();
+            throw raiseOSError(frame, OSErrorEnum.EBADF);
         }
 
         @Specialization(limit = "getCallSiteInlineCacheMaxDepth()")
@@ -1201,12 +1217,17 @@ public class PosixModuleBuiltins extends PythonBuiltins {
             return recursive.executeWith(frame, lib.asSizeWithState(fd, PArguments.getThreadState(frame)), data);
         }
 
-        private byte[] getByteArray(SequenceStorage storage) {
-            if (toByteArrayNode == null) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                toByteArrayNode = insert(ToByteArrayNodeGen.create());
-            }
-            return toByteArrayNode.execute(storage);
+        @TruffleBoundary(allowInlining = true, transferToInterpreterOnException = false)
+        private static int doWriteOp(ByteBuffer data, Object channel) throws IOException {
+            return ((WritableByteChannel) channel).write(data);
+        }
+
+        static boolean isJavaByteArray(Object data) {
+            return data instanceof byte[];
+        }
+
+        static boolean isJavaString(Object data) {
+            return data instanceof String;
         }
 
         public static WriteNode create() {
@@ -1255,6 +1276,353 @@ public class PosixModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    /**
+     * Base class for builtins that read into or write from the memory of the caller's bytes-like
+     * objects instead of allocating intermediate {@code bytes}.
+     */
+    abstract static class BufferIONode extends PythonFileNode {
+        private final BranchProfile gotException = BranchProfile.create();
+
+        protected ReadableByteChannel getReadableChannel(VirtualFrame frame, int fd, ValueProfile channelClassProfile) {
+            Channel channel = getResources().getFileChannel(fd, channelClassProfile);
+            if (!(channel instanceof ReadableByteChannel)) {
+                throw raiseOSError(frame, OSErrorEnum.EBADF);
+            }
+            return (ReadableByteChannel) channel;
+        }
+
+        protected WritableByteChannel getWritableChannel(VirtualFrame frame, int fd, ValueProfile channelClassProfile) {
+            Channel channel = getResources().getFileChannel(fd, channelClassProfile);
+            if (!(channel instanceof WritableByteChannel)) {
+                throw raiseOSError(frame, OSErrorEnum.EBADF);
+            }
+            return (WritableByteChannel) channel;
+        }
+
+        protected SeekableByteChannel getSeekableChannel(VirtualFrame frame, int fd, ValueProfile channelClassProfile) {
+            Channel channel = getResources().getFileChannel(fd, channelClassProfile);
+            if (channel == null) {
+                throw raiseOSError(frame, OSErrorEnum.EBADF);
+            } else if (!(channel instanceof SeekableByteChannel)) {
+                throw raiseOSError(frame, OSErrorEnum.ESPIPE);
+            }
+            return (SeekableByteChannel) channel;
+        }
+
+        protected int getWritableBufferLength(Object buffer, PythonObjectLibrary lib) {
+            if (!lib.isBuffer(buffer)) {
+                throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.ARG_MUST_BE_READ_WRITE_BYTESLIKE_NOT_P, buffer);
+            }
+            try {
+                return lib.getBufferLength(buffer);
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        protected long checkOffset(VirtualFrame frame, long offset) {
+            if (offset < 0) {
+                throw raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            return offset;
+        }
+
+        protected int readInto(VirtualFrame frame, ReadableByteChannel channel, Object buffer, int size, ReadIntoBufferNode readIntoBufferNode) {
+            try {
+                // reads straight into the memory of the buffer, -1 at the end of the file
+                return Math.max(readIntoBufferNode.execute(channel, buffer, size), 0);
+            } catch (NonReadableChannelException e) {
+                gotException.enter();
+                throw raiseOSError(frame, e);
+            }
+        }
+
+        protected int write(VirtualFrame frame, WritableByteChannel channel, ByteBuffer src) {
+            try {
+                return doWrite(channel, src);
+            } catch (IOException | NonWritableChannelException e) {
+                gotException.enter();
+                throw raiseOSError(frame, e);
+            }
+        }
+
+        protected ByteSequenceStorage readAt(VirtualFrame frame, SeekableByteChannel channel, int size, long position) {
+            try {
+                return doReadAt(channel, size, position);
+            } catch (IOException | NonReadableChannelException e) {
+                gotException.enter();
+                throw raiseOSError(frame, e);
+            }
+        }
+
+        protected int writeAt(VirtualFrame frame, SeekableByteChannel channel, ByteBuffer src, long position) {
+            try {
+                return ChannelNodes.writeAt(channel, src, position);
+            } catch (IOException | NonWritableChannelException e) {
+                gotException.enter();
+                throw raiseOSError(frame, e);
+            }
+        }
+
+        @TruffleBoundary(allowInlining = true, transferToInterpreterOnException = false)
+        private static int doWrite(WritableByteChannel channel, ByteBuffer src) throws IOException {
+            return channel.write(src);
+        }
+
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        private static ByteSequenceStorage doReadAt(SeekableByteChannel channel, int size, long position) throws IOException {
+            // do not allocate more than the file can deliver
+            int sz = (int) Math.max(Math.min(size, channel.size() - position), 0);
+            byte[] array = new byte[sz];
+            int n = sz > 0 ? ChannelNodes.readAt(channel, ByteBuffer.wrap(array), position) : 0;
+            ByteSequenceStorage storage = new ByteSequenceStorage(array);
+            storage.setNewLength(Math.max(n, 0));
+            return storage;
+        }
+    }
+
+    // not part of the os API, only used by _io.FileIO.readinto
+    @Builtin(name = "_readinto", minNumOfPositionalArgs = 2, parameterNames = {"fd", "buffer"})
+    @GenerateNodeFactory
+    abstract static class ReadIntoNode extends BufferIONode {
+
+        @Specialization(limit = "3")
+        int readinto(VirtualFrame frame, Object fd, Object buffer,
+                        @CachedLibrary("buffer") PythonObjectLibrary bufferLib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary lib,
+                        @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                        @Cached ReadIntoBufferNode readIntoBufferNode) {
+            ReadableByteChannel channel = getReadableChannel(frame, lib.asSizeWithState(fd, PArguments.getThreadState(frame)), channelClassProfile);
+            return readInto(frame, channel, buffer, getWritableBufferLength(buffer, bufferLib), readIntoBufferNode);
+        }
+    }
+
+    @Builtin(name = "readv", minNumOfPositionalArgs = 2, parameterNames = {"fd", "buffers"})
+    @GenerateNodeFactory
+    abstract static class ReadvNode extends BufferIONode {
+
+        @Specialization(guards = "isList(buffers) || isPTuple(buffers)")
+        long readv(VirtualFrame frame, Object fd, PSequence buffers,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib,
+                        @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached ReadIntoBufferNode readIntoBufferNode) {
+            ReadableByteChannel channel = getReadableChannel(frame, lib.asSizeWithState(fd, PArguments.getThreadState(frame)), channelClassProfile);
+            SequenceStorage storage = buffers.getSequenceStorage();
+            int len = storage.length();
+            long total = 0;
+            for (int i = 0; i < len; i++) {
+                Object buffer = getItemNode.execute(storage, i);
+                int size = getWritableBufferLength(buffer, lib);
+                int n = readInto(frame, channel, buffer, size, readIntoBufferNode);
+                total += n;
+                if (n < size) {
+                    break;
+                }
+            }
+            return total;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        long readv(Object fd, Object buffers) {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.ARG_2_MUST_BE_SEQUENCE, "readv");
+        }
+    }
+
+    @Builtin(name = "writev", minNumOfPositionalArgs = 2, parameterNames = {"fd", "buffers"})
+    @GenerateNodeFactory
+    abstract static class WritevNode extends BufferIONode {
+
+        @Specialization(guards = "isList(buffers) || isPTuple(buffers)")
+        long writev(VirtualFrame frame, Object fd, PSequence buffers,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary lib,
+                        @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached ToByteBufferNode toByteBufferNode) {
+            WritableByteChannel channel = getWritableChannel(frame, lib.asSizeWithState(fd, PArguments.getThreadState(frame)), channelClassProfile);
+            SequenceStorage storage = buffers.getSequenceStorage();
+            int len = storage.length();
+            long total = 0;
+            for (int i = 0; i < len; i++) {
+                ByteBuffer src = toByteBufferNode.execute(getItemNode.execute(storage, i));
+                int size = src.remaining();
+                int n = write(frame, channel, src);
+                total += n;
+                if (n < size) {
+                    break;
+                }
+            }
+            return total;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        long writev(Object fd, Object buffers) {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.ARG_2_MUST_BE_SEQUENCE, "writev");
+        }
+    }
+
+    @Builtin(name = "pread", minNumOfPositionalArgs = 3, parameterNames = {"fd", "length", "offset"})
+    @GenerateNodeFactory
+    abstract static class PreadNode extends BufferIONode {
+
+        @Specialization
+        PBytes pread(VirtualFrame frame, Object fd, Object length, Object offset,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib,
+                        @Cached("createClassProfile()") ValueProfile channelClassProfile) {
+            ThreadState state = PArguments.getThreadState(frame);
+            SeekableByteChannel channel = getSeekableChannel(frame, lib.asSizeWithState(fd, state), channelClassProfile);
+            int size = lib.asSizeWithState(length, state);
+            if (size < 0) {
+                throw raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            return factory().createBytes(readAt(frame, channel, size, checkOffset(frame, lib.asJavaLong(offset))));
+        }
+    }
+
+    @Builtin(name = "pwrite", minNumOfPositionalArgs = 3, parameterNames = {"fd", "data", "offset"})
+    @GenerateNodeFactory
+    abstract static class PwriteNode extends BufferIONode {
+
+        @Specialization
+        int pwrite(VirtualFrame frame, Object fd, Object data, Object offset,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib,
+                        @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                        @Cached ToByteBufferNode toByteBufferNode) {
+            SeekableByteChannel channel = getSeekableChannel(frame, lib.asSizeWithState(fd, PArguments.getThreadState(frame)), channelClassProfile);
+            ByteBuffer src = toByteBufferNode.execute(data);
+            return writeAt(frame, channel, src, checkOffset(frame, lib.asJavaLong(offset)));
+        }
+    }
+
+    /**
+     * Base class for builtins that copy data between two descriptors without going through Python
+     * objects.
+     */
+    abstract static class TransferNode extends PythonFileNode {
+        protected static final long CURRENT_POSITION = -1;
+
+        private final BranchProfile gotException = BranchProfile.create();
+
+        protected SeekableByteChannel getInputChannel(VirtualFrame frame, int fd) {
+            Channel channel = getResources().getFileChannel(fd);
+            if (channel == null) {
+                throw raiseOSError(frame, OSErrorEnum.EBADF);
+            } else if (!(channel instanceof SeekableByteChannel)) {
+                // like sendfile(2), only regular files can be the source
+                throw raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            return (SeekableByteChannel) channel;
+        }
+
+        protected WritableByteChannel getOutputChannel(VirtualFrame frame, int fd) {
+            Channel channel = getResources().getFileChannel(fd);
+            if (channel instanceof PSocket) {
+                channel = ((PSocket) channel).getByteChannel();
+                if (channel == null) {
+                    throw raiseOSError(frame, OSErrorEnum.ENOTCONN);
+                }
+            }
+            if (!(channel instanceof WritableByteChannel)) {
+                throw raiseOSError(frame, OSErrorEnum.EBADF);
+            }
+            return (WritableByteChannel) channel;
+        }
+
+        protected long checkOffset(VirtualFrame frame, Object offset, PythonObjectLibrary lib) {
+            if (offset == PNone.NONE || offset == PNone.NO_VALUE) {
+                return CURRENT_POSITION;
+            }
+            return checkNonNegative(frame, lib.asJavaLong(offset));
+        }
+
+        protected long checkNonNegative(VirtualFrame frame, long value) {
+            if (value < 0) {
+                throw raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            return value;
+        }
+
+        protected long transfer(VirtualFrame frame, SeekableByteChannel in, long inOffset, WritableByteChannel out, long outOffset, long count) {
+            long n;
+            try {
+                n = doTransfer(in, inOffset, out, outOffset, count);
+            } catch (IOException e) {
+                gotException.enter();
+                throw raiseOSError(frame, e);
+            }
+            if (n < 0) {
+                throw raiseOSError(frame, OSErrorEnum.EAGAIN);
+            }
+            return n;
+        }
+
+        /**
+         * Returns the number of bytes copied or {@code -1} if nothing could be copied because
+         * {@code out} is a non-blocking channel that cannot take any data right now. The positions
+         * of the channels are only advanced if no explicit offset is given for them.
+         */
+        @TruffleBoundary
+        private static long doTransfer(SeekableByteChannel in, long inOffset, WritableByteChannel out, long outOffset, long count) throws IOException {
+            long position = inOffset == CURRENT_POSITION ? in.position() : inOffset;
+            long n;
+            if (outOffset == CURRENT_POSITION) {
+                n = ChannelNodes.transfer(in, position, out, count);
+            } else {
+                SeekableByteChannel seekableOut = (SeekableByteChannel) out;
+                long oldPosition = seekableOut.position();
+                try {
+                    seekableOut.position(outOffset);
+                    n = ChannelNodes.transfer(in, position, out, count);
+                } finally {
+                    seekableOut.position(oldPosition);
+                }
+            }
+            if (inOffset == CURRENT_POSITION) {
+                in.position(position + n);
+            }
+            if (n == 0 && count > 0 && position < in.size() && out instanceof SelectableChannel && !((SelectableChannel) out).isBlocking()) {
+                return -1;
+            }
+            return n;
+        }
+    }
+
+    @Builtin(name = "sendfile", minNumOfPositionalArgs = 4, parameterNames = {"out_fd", "in_fd", "offset", "count"})
+    @GenerateNodeFactory
+    abstract static class SendfileNode extends TransferNode {
+
+        @Specialization
+        long sendfile(VirtualFrame frame, Object outFd, Object inFd, Object offset, Object count,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            ThreadState state = PArguments.getThreadState(frame);
+            WritableByteChannel out = getOutputChannel(frame, lib.asSizeWithState(outFd, state));
+            SeekableByteChannel in = getInputChannel(frame, lib.asSizeWithState(inFd, state));
+            long inOffset = checkOffset(frame, offset, lib);
+            return transfer(frame, in, inOffset, out, CURRENT_POSITION, checkNonNegative(frame, lib.asJavaLong(count)));
+        }
+    }
+
+    @Builtin(name = "copy_file_range", minNumOfPositionalArgs = 3, parameterNames = {"src", "dst", "count", "offset_src", "offset_dst"})
+    @GenerateNodeFactory
+    abstract static class CopyFileRangeNode extends TransferNode {
+
+        @Specialization
+        long copyFileRange(VirtualFrame frame, Object src, Object dst, Object count, Object offsetSrc, Object offsetDst,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            ThreadState state = PArguments.getThreadState(frame);
+            SeekableByteChannel in = getInputChannel(frame, lib.asSizeWithState(src, state));
+            WritableByteChannel out = getOutputChannel(frame, lib.asSizeWithState(dst, state));
+            long inOffset = checkOffset(frame, offsetSrc, lib);
+            long outOffset = checkOffset(frame, offsetDst, lib);
+            if (outOffset != CURRENT_POSITION && !(out instanceof SeekableByteChannel)) {
+                throw raiseOSError(frame, OSErrorEnum.ESPIPE);
+            }
+            return transfer(frame, in, inOffset, out, outOffset, checkNonNegative(frame, lib.asJavaLong(count)));
+        }
+    }
+
     @Builtin(name = "isatty", minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
     @TypeSystemReference(PythonArithmeticTypes.class)
@@ -2051,6 +2419,11 @@ public class PosixModuleBuiltins extends PythonBuiltins {
     @Builtin(name = "ftruncate", minNumOfPositionalArgs = 2)
     @GenerateNodeFactory
     abstract static class FTruncateNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PNone ftruncate(VirtualFrame frame, int fd, int length) {
+            return ftruncate(frame, fd, (long) length);
+        }
+
         @Specialization
         PNone ftruncate(VirtualFrame frame, int fd, long length) {
             try {
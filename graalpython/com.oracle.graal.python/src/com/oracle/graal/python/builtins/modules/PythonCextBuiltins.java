@@ -93,6 +93,7 @@ import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PythonAbstractObject;
 import com.oracle.graal.python.builtins.objects.bytes.BytesBuiltins;
 import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.cext.CApiGuards;
 import com.oracle.graal.python.builtins.objects.cext.CArrayWrappers.CByteArrayWrapper;
@@ -183,6 +184,8 @@ import com.oracle.graal.python.builtins.objects.function.Signature;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.iterator.PSequenceIterator;
 import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.memoryview.BufferFormat;
+import com.oracle.graal.python.builtins.objects.memoryview.NativeBufferStorage;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
@@ -1527,6 +1530,55 @@ public class PythonCextBuiltins extends PythonBuiltins {
         }
     }
 
+    // directly called without landing function
+    @Builtin(name = "PyTruffle_MemoryViewFromBuffer", minNumOfPositionalArgs = 9)
+    @GenerateNodeFactory
+    abstract static class PyTruffle_MemoryViewFromBuffer extends NativeBuiltin {
+
+        @Specialization
+        Object doIt(Object obj, Object pyBuffer, Object buf, long len, int readonly, long itemsize, String formatString, int ndim, Object shape,
+                        @Cached AsPythonObjectNode asPythonObjectNode,
+                        @Cached CExtNodes.ToSulongNode toSulongNode) {
+            // the caller made sure that the buffer fits into an int
+            int length = (int) len;
+            BufferFormat format = BufferFormat.forString(formatString);
+            String viewFormatString = formatString;
+            int[] viewShape;
+            int[] viewStrides;
+            if (format == null || format.size != itemsize) {
+                // items the view cannot unpack are exposed as their bytes
+                format = BufferFormat.UNSIGNED_BYTE;
+                viewFormatString = "B";
+                viewShape = new int[]{length};
+                viewStrides = new int[]{1};
+            } else {
+                viewShape = readShape(shape, ndim);
+                viewStrides = new int[ndim];
+                int stride = format.size;
+                for (int i = ndim - 1; i >= 0; i--) {
+                    viewStrides[i] = stride;
+                    stride *= viewShape[i];
+                }
+            }
+            PByteArray memory = factory().createByteArray(new NativeBufferStorage(buf, length, pyBuffer));
+            return toSulongNode.execute(factory().createMemoryView(asPythonObjectNode.execute(obj), memory, 0, readonly != 0, viewFormatString, format, viewShape, viewStrides));
+        }
+
+        @TruffleBoundary
+        private static int[] readShape(Object shape, int ndim) {
+            InteropLibrary lib = InteropLibrary.getUncached();
+            int[] result = new int[ndim];
+            try {
+                for (int i = 0; i < ndim; i++) {
+                    result[i] = (int) lib.asLong(lib.readArrayElement(shape, i));
+                }
+            } catch (UnsupportedMessageException | InvalidArrayIndexException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+            return result;
+        }
+    }
+
     @Builtin(name = "PyThreadState_Get")
     @GenerateNodeFactory
     abstract static class PyThreadState_Get extends NativeBuiltin {
@@ -54,15 +54,21 @@ import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
 import com.oracle.graal.python.builtins.objects.bytes.BytesUtils;
 import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFactory.ToByteArrayNodeGen;
 import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.builtins.objects.sre.PSREPattern;
 import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
 import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
@@ -83,6 +89,7 @@ import com.oracle.truffle.api.dsl.TypeSystemReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -253,4 +260,35 @@ public class SREModuleBuiltins extends PythonBuiltins {
             }
         }
     }
+
+    /**
+     * Creates the {@code re.Pattern} object for a regex compiled with TRegex. {@code groupNames}
+     * maps group numbers to group names ({@code None} for unnamed groups) and {@code compiler} is
+     * a callable {@code (sticky, fullmatch)} producing the compiled variants of the regex.
+     */
+    @Builtin(name = "tregex_create_pattern", minNumOfPositionalArgs = 6, parameterNames = {"pattern", "flags", "groupindex", "group_names", "compiler", "regex"})
+    @GenerateNodeFactory
+    abstract static class TRegexCreatePattern extends PythonBuiltinNode {
+
+        @Specialization(limit = "1")
+        PSREPattern create(Object pattern, int flags, Object groupIndex, PTuple groupNames, Object compiler, Object regex,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @Cached CastToJavaStringNode castToJavaStringNode,
+                        @CachedLibrary("regex") InteropLibrary interop) {
+            Object[] names = getObjectArrayNode.execute(groupNames);
+            String[] javaNames = new String[names.length];
+            for (int i = 0; i < names.length; i++) {
+                if (names[i] != PNone.NONE) {
+                    javaNames[i] = castToJavaStringNode.execute(names[i]);
+                }
+            }
+            Object exec;
+            try {
+                exec = interop.readMember(regex, "exec");
+            } catch (UnsupportedMessageException | UnknownIdentifierException e) {
+                throw raise(TypeError, "%s", e);
+            }
+            return factory().createSREPattern(pattern, flags, PGuards.isBytes(pattern), groupIndex, javaNames, compiler, exec);
+        }
+    }
 }
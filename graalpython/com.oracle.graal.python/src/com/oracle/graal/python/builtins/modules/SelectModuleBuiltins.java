@@ -46,6 +46,7 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
@@ -57,14 +58,21 @@ import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
+import com.oracle.graal.python.builtins.objects.select.PollCleaner;
+import com.oracle.graal.python.builtins.objects.socket.PSocket;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
 import com.oracle.graal.python.nodes.builtins.ListNodes.FastConstructListNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallBinaryNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.PythonCore;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
@@ -77,12 +85,45 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.nodes.ControlFlowException;
+import com.oracle.truffle.api.object.HiddenKey;
 
 @CoreFunctions(defineModule = "select")
 public class SelectModuleBuiltins extends PythonBuiltins {
 
+    private static final HiddenKey POLL_CLEANER_KEY = new HiddenKey("pollCleaner");
+    private final PollCleaner pollCleaner = new PollCleaner();
+
     public SelectModuleBuiltins() {
         builtinConstants.put("error", PythonErrorType.OSError);
+
+        builtinConstants.put("POLLIN", PPoll.POLLIN);
+        builtinConstants.put("POLLPRI", PPoll.POLLPRI);
+        builtinConstants.put("POLLOUT", PPoll.POLLOUT);
+        builtinConstants.put("POLLERR", PPoll.POLLERR);
+        builtinConstants.put("POLLHUP", PPoll.POLLHUP);
+        builtinConstants.put("POLLNVAL", PPoll.POLLNVAL);
+        builtinConstants.put("POLLRDNORM", PPoll.POLLRDNORM);
+        builtinConstants.put("POLLRDBAND", PPoll.POLLRDBAND);
+        builtinConstants.put("POLLWRNORM", PPoll.POLLWRNORM);
+        builtinConstants.put("POLLWRBAND", PPoll.POLLWRBAND);
+        builtinConstants.put("POLLMSG", PPoll.POLLMSG);
+        builtinConstants.put("POLLRDHUP", PPoll.POLLRDHUP);
+
+        builtinConstants.put("EPOLLIN", PPoll.POLLIN);
+        builtinConstants.put("EPOLLPRI", PPoll.POLLPRI);
+        builtinConstants.put("EPOLLOUT", PPoll.POLLOUT);
+        builtinConstants.put("EPOLLERR", PPoll.POLLERR);
+        builtinConstants.put("EPOLLHUP", PPoll.POLLHUP);
+        builtinConstants.put("EPOLLRDNORM", PPoll.POLLRDNORM);
+        builtinConstants.put("EPOLLRDBAND", PPoll.POLLRDBAND);
+        builtinConstants.put("EPOLLWRNORM", PPoll.POLLWRNORM);
+        builtinConstants.put("EPOLLWRBAND", PPoll.POLLWRBAND);
+        builtinConstants.put("EPOLLMSG", PPoll.POLLMSG);
+        builtinConstants.put("EPOLLRDHUP", PPoll.POLLRDHUP);
+        builtinConstants.put("EPOLLEXCLUSIVE", PPoll.EPOLLEXCLUSIVE);
+        builtinConstants.put("EPOLLONESHOT", PPoll.EPOLLONESHOT);
+        builtinConstants.put("EPOLLET", Integer.toUnsignedLong(PPoll.EPOLLET));
+        builtinConstants.put("EPOLL_CLOEXEC", PPoll.EPOLL_CLOEXEC);
     }
 
     @Override
@@ -90,6 +131,44 @@ public class SelectModuleBuiltins extends PythonBuiltins {
         return SelectModuleBuiltinsFactory.getFactories();
     }
 
+    @Override
+    public void postInitialize(PythonCore core) {
+        super.postInitialize(core);
+        core.lookupBuiltinModule("select").setAttribute(POLL_CLEANER_KEY, pollCleaner);
+        core.getContext().registerAsyncAction(() -> {
+            try {
+                pollCleaner.closeCollected();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+    }
+
+    static PollCleaner getPollCleaner(PythonCore core, ReadAttributeFromObjectNode readNode) {
+        return (PollCleaner) readNode.execute(core.lookupBuiltinModule("select"), POLL_CLEANER_KEY);
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"cls"}, constructsClass = PythonBuiltinClassType.PPoll)
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PPoll doPoll(Object cls,
+                        @Cached ReadAttributeFromObjectNode readCleanerNode) {
+            return factory().createPoll(cls, getPollCleaner(getCore(), readCleanerNode));
+        }
+    }
+
+    @Builtin(name = "epoll", minNumOfPositionalArgs = 1, parameterNames = {"cls", "sizehint", "flags"}, constructsClass = PythonBuiltinClassType.PEpoll)
+    @GenerateNodeFactory
+    abstract static class EpollNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PPoll doEpoll(Object cls, @SuppressWarnings("unused") Object sizehint, @SuppressWarnings("unused") Object flags,
+                        @Cached ReadAttributeFromObjectNode readCleanerNode) {
+            return factory().createPoll(cls, getPollCleaner(getCore(), readCleanerNode));
+        }
+    }
+
     @Builtin(name = "select", minNumOfPositionalArgs = 3, parameterNames = {"rlist", "wlist", "xlist", "timeout"})
     @GenerateNodeFactory
     abstract static class SelectNode extends PythonBuiltinNode {
@@ -130,21 +209,19 @@ public class SelectModuleBuiltins extends PythonBuiltins {
             }
 
             // IMPORTANT: The meaning of the timeout value is slightly different:
-            // 'timeout == 0.0' means we should not block and return immediately. However, the Java
-            // API does not allow a non-blocking select. So we set the timeout to 1 ms.
+            // 'timeout == 0.0' means we should not block and return immediately, which we map to
+            // 'Selector.selectNow' by passing 0.
             //
-            // 'timeout == None' means we should wait indefinitely, i.e., we need to pass 0 to the
-            // Java API.
+            // 'timeout == None' means we should wait indefinitely, which we encode as -1.
             long timeoutMillis;
             if (!PGuards.isPNone(timeout)) {
                 double timeoutSecs = coerceTimeOutLib.asJavaDouble(timeout);
-                timeoutMillis = timeoutSecs != 0.0 ? (long) (timeoutSecs * 1000.0) : 1L;
+                if (timeoutSecs < 0) {
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "timeout");
+                }
+                timeoutMillis = (long) Math.ceil(timeoutSecs * 1000.0);
             } else {
-                timeoutMillis = 0;
-            }
-
-            if (timeoutMillis < 0) {
-                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "timeout");
+                timeoutMillis = -1;
             }
 
             try {
@@ -165,35 +242,66 @@ public class SelectModuleBuiltins extends PythonBuiltins {
 
         @TruffleBoundary
         private static void doSelect(ChannelFD[] readFDs, ChannelFD[] writeFDs, ChannelFD[] xFDs, long timeoutMillis) throws IOException {
-            Selector selector = Selector.open();
+            List<SelectableChannel> blockingChannels = new ArrayList<>();
+            try {
+                try (Selector selector = Selector.open()) {
+                    doSelect(selector, readFDs, writeFDs, xFDs, timeoutMillis, blockingChannels);
+                }
+            } finally {
+                // closing the selector deregistered the channels, so their mode can be restored
+                for (SelectableChannel channel : blockingChannels) {
+                    if (channel.isOpen()) {
+                        channel.configureBlocking(true);
+                    }
+                }
+            }
+        }
+
+        private static void register(Selector selector, SelectableChannel channel, int ops, List<SelectableChannel> blockingChannels) throws IOException {
+            // sockets may be in several sets, but a channel can only be registered once
+            SelectionKey key = channel.keyFor(selector);
+            if (key != null) {
+                key.interestOps(key.interestOps() | (channel.validOps() & ops));
+                return;
+            }
+            if (channel.isBlocking()) {
+                channel.configureBlocking(false);
+                blockingChannels.add(channel);
+            }
+            channel.register(selector, channel.validOps() & ops);
+        }
+
+        private static void doSelect(Selector selector, ChannelFD[] readFDs, ChannelFD[] writeFDs, ChannelFD[] xFDs, long timeoutMillis, List<SelectableChannel> blockingChannels)
+                        throws IOException {
 
             for (ChannelFD readFD : readFDs) {
-                readFD.channel.configureBlocking(false);
-                readFD.channel.register(selector, SelectionKey.OP_READ);
+                register(selector, readFD.channel, SelectionKey.OP_READ | SelectionKey.OP_ACCEPT, blockingChannels);
             }
 
             for (ChannelFD writeFD : writeFDs) {
-                writeFD.channel.configureBlocking(false);
-                writeFD.channel.register(selector, SelectionKey.OP_WRITE);
+                register(selector, writeFD.channel, SelectionKey.OP_WRITE, blockingChannels);
             }
 
             for (ChannelFD xFD : xFDs) {
                 // TODO(fa): not sure if these ops are representing
                 // "exceptional condition pending"
-                xFD.channel.configureBlocking(false);
-                xFD.channel.register(selector, SelectionKey.OP_ACCEPT | SelectionKey.OP_CONNECT);
+                register(selector, xFD.channel, SelectionKey.OP_ACCEPT | SelectionKey.OP_CONNECT, blockingChannels);
             }
 
-            int selected = selector.select(timeoutMillis);
+            if (timeoutMillis == 0) {
+                selector.selectNow();
+            } else if (timeoutMillis < 0) {
+                selector.select();
+            } else {
+                selector.select(timeoutMillis);
+            }
 
             // remove non-selected channels from given lists
-            int deleted = 0;
             for (int i = 0; i < readFDs.length; i++) {
                 ChannelFD readFD = readFDs[i];
                 SelectionKey selectionKey = readFD.channel.keyFor(selector);
-                if (!selectionKey.isReadable()) {
+                if (!(selectionKey.isReadable() || selectionKey.isAcceptable())) {
                     readFDs[i] = null;
-                    deleted++;
                 }
             }
 
@@ -202,7 +310,6 @@ public class SelectModuleBuiltins extends PythonBuiltins {
                 SelectionKey selectionKey = writeFD.channel.keyFor(selector);
                 if (!selectionKey.isWritable()) {
                     writeFDs[i] = null;
-                    deleted++;
                 }
             }
 
@@ -211,10 +318,8 @@ public class SelectModuleBuiltins extends PythonBuiltins {
                 SelectionKey selectionKey = xFD.channel.keyFor(selector);
                 if (!(selectionKey.isAcceptable() || selectionKey.isConnectable())) {
                     xFDs[i] = null;
-                    deleted++;
                 }
             }
-            assert selected == (readFDs.length + writeFDs.length + xFDs.length) - deleted;
         }
 
         private ChannelFD[] seq2set(VirtualFrame frame, Object sequence, PythonObjectLibrary sequenceLib, PythonObjectLibrary itemLib, LookupAndCallBinaryNode callGetItemNode,
@@ -228,6 +333,10 @@ public class SelectModuleBuiltins extends PythonBuiltins {
             for (int i = 0; i < len; i++) {
                 int fd = itemLib.asFileDescriptorWithState(callGetItemNode.executeObject(frame, pSequence, i), threadState);
                 Channel fileChannel = getContext().getResources().getFileChannel(fd);
+                if (fileChannel instanceof PSocket) {
+                    // sockets are selected through the channel backing them
+                    fileChannel = ((PSocket) fileChannel).getSelectableChannel();
+                }
                 if (!(fileChannel instanceof SelectableChannel)) {
                     throw NonSelectableChannel.INSTANCE;
                 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.hashlib.HashUpdateNode;
+import com.oracle.graal.python.builtins.objects.hashlib.MessageDigestEngine;
+import com.oracle.graal.python.builtins.objects.hashlib.PHashObject;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+
+@CoreFunctions(defineModule = "_sha256")
+public class Sha256ModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return Sha256ModuleBuiltinsFactory.getFactories();
+    }
+
+    // sha224(string=b'')
+    @Builtin(name = "sha224", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha224Node extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object sha224(Object string,
+                        @Cached HashUpdateNode updateNode) {
+            PHashObject hash = factory().createHashObject(PythonBuiltinClassType.PSHA224, MessageDigestEngine.create("sha224", "SHA-224", 64));
+            if (string != PNone.NO_VALUE) {
+                updateNode.execute(hash, string);
+            }
+            return hash;
+        }
+    }
+
+    // sha256(string=b'')
+    @Builtin(name = "sha256", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha256Node extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object sha256(Object string,
+                        @Cached HashUpdateNode updateNode) {
+            PHashObject hash = factory().createHashObject(PythonBuiltinClassType.PSHA256, MessageDigestEngine.create("sha256", "SHA-256", 64));
+            if (string != PNone.NO_VALUE) {
+                updateNode.execute(hash, string);
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.hashlib.DigestEngine;
+import com.oracle.graal.python.builtins.objects.hashlib.HashUpdateNode;
+import com.oracle.graal.python.builtins.objects.hashlib.KeccakEngine;
+import com.oracle.graal.python.builtins.objects.hashlib.PHashObject;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+
+@CoreFunctions(defineModule = "_sha3")
+public class Sha3ModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return Sha3ModuleBuiltinsFactory.getFactories();
+    }
+
+    static PHashObject createHash(PythonObjectFactory factory, Object cls, DigestEngine engine, Object data, HashUpdateNode updateNode) {
+        PHashObject hash = factory.createHashObject(cls, engine);
+        if (data != PNone.NO_VALUE) {
+            updateNode.execute(hash, data);
+        }
+        return hash;
+    }
+
+    // sha3_224(data=b'', /)
+    @Builtin(name = "sha3_224", minNumOfPositionalArgs = 1, parameterNames = {"cls", "data"}, numOfPositionalOnlyArgs = 2, constructsClass = PythonBuiltinClassType.PSHA3_224)
+    @GenerateNodeFactory
+    abstract static class Sha3224Node extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object construct(Object cls, Object data,
+                        @Cached HashUpdateNode updateNode) {
+            return createHash(factory(), cls, KeccakEngine.createSha3("sha3_224", 28), data, updateNode);
+        }
+    }
+
+    // sha3_256(data=b'', /)
+    @Builtin(name = "sha3_256", minNumOfPositionalArgs = 1, parameterNames = {"cls", "data"}, numOfPositionalOnlyArgs = 2, constructsClass = PythonBuiltinClassType.PSHA3_256)
+    @GenerateNodeFactory
+    abstract static class Sha3256Node extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object construct(Object cls, Object data,
+                        @Cached HashUpdateNode updateNode) {
+            return createHash(factory(), cls, KeccakEngine.createSha3("sha3_256", 32), data, updateNode);
+        }
+    }
+
+    // sha3_384(data=b'', /)
+    @Builtin(name = "sha3_384", minNumOfPositionalArgs = 1, parameterNames = {"cls", "data"}, numOfPositionalOnlyArgs = 2, constructsClass = PythonBuiltinClassType.PSHA3_384)
+    @GenerateNodeFactory
+    abstract static class Sha3384Node extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object construct(Object cls, Object data,
+                        @Cached HashUpdateNode updateNode) {
+            return createHash(factory(), cls, KeccakEngine.createSha3("sha3_384", 48), data, updateNode);
+        }
+    }
+
+    // sha3_512(data=b'', /)
+    @Builtin(name = "sha3_512", minNumOfPositionalArgs = 1, parameterNames = {"cls", "data"}, numOfPositionalOnlyArgs = 2, constructsClass = PythonBuiltinClassType.PSHA3_512)
+    @GenerateNodeFactory
+    abstract static class Sha3512Node extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object construct(Object cls, Object data,
+                        @Cached HashUpdateNode updateNode) {
+            return createHash(factory(), cls, KeccakEngine.createSha3("sha3_512", 64), data, updateNode);
+        }
+    }
+
+    // shake_128(data=b'', /)
+    @Builtin(name = "shake_128", minNumOfPositionalArgs = 1, parameterNames = {"cls", "data"}, numOfPositionalOnlyArgs = 2, constructsClass = PythonBuiltinClassType.PShake128)
+    @GenerateNodeFactory
+    abstract static class Shake128Node extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object construct(Object cls, Object data,
+                        @Cached HashUpdateNode updateNode) {
+            return createHash(factory(), cls, KeccakEngine.createShake("shake_128", 128), data, updateNode);
+        }
+    }
+
+    // shake_256(data=b'', /)
+    @Builtin(name = "shake_256", minNumOfPositionalArgs = 1, parameterNames = {"cls", "data"}, numOfPositionalOnlyArgs = 2, constructsClass = PythonBuiltinClassType.PShake256)
+    @GenerateNodeFactory
+    abstract static class Shake256Node extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object construct(Object cls, Object data,
+                        @Cached HashUpdateNode updateNode) {
+            return createHash(factory(), cls, KeccakEngine.createShake("shake_256", 256), data, updateNode);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.struct.PStruct;
+import com.oracle.graal.python.builtins.objects.struct.PStructUnpackIterator;
+import com.oracle.graal.python.builtins.objects.struct.StructFormatCache;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.GetStructFormatNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.IterUnpackNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.PackIntoNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.PackNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.UnpackFromNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.UnpackNode;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.object.HiddenKey;
+
+/**
+ * The {@code _struct} module. Formats are compiled once into a {@code StructFormat} that the
+ * packing and unpacking nodes specialize on. The module level functions share a bounded cache of
+ * compiled formats, like CPython's {@code cache_struct_converter}.
+ */
+@CoreFunctions(defineModule = "_struct")
+public class StructModuleBuiltins extends PythonBuiltins {
+    private static final HiddenKey CACHE = new HiddenKey("__struct_cache__");
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return StructModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        super.initialize(core);
+        builtinConstants.put("error", core.lookupType(PythonBuiltinClassType.StructError));
+    }
+
+    @Override
+    public void postInitialize(PythonCore core) {
+        super.postInitialize(core);
+        core.lookupBuiltinModule("_struct").setAttribute(CACHE, new StructFormatCache());
+    }
+
+    static StructFormatCache getCache(PythonModule module, ReadAttributeFromObjectNode readNode) {
+        return (StructFormatCache) readNode.execute(module, CACHE);
+    }
+
+    @Builtin(name = "Struct", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PStruct)
+    @GenerateNodeFactory
+    public abstract static class StructNode extends PythonVarargsBuiltinNode {
+        @Specialization(guards = "lib.isLazyPythonClass(cls)")
+        PStruct construct(Object cls, @SuppressWarnings("unused") Object[] arguments, @SuppressWarnings("unused") PKeyword[] keywords,
+                        @SuppressWarnings("unused") @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            return factory().createStruct(cls);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        PStruct construct(Object cls, Object[] arguments, PKeyword[] keywords) {
+            throw raise(TypeError, ErrorMessages.IS_NOT_TYPE_OBJ, "'cls'", cls);
+        }
+    }
+
+    // pack(format, v1, v2, ...)
+    @Builtin(name = "pack", minNumOfPositionalArgs = 2, parameterNames = {"$mod", "format"}, takesVarArgs = true, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class PackFunctionNode extends PythonBuiltinNode {
+        @Specialization
+        static PBytes pack(VirtualFrame frame, PythonModule self, Object format, Object[] args,
+                        @Cached ReadAttributeFromObjectNode readNode,
+                        @Cached GetStructFormatNode getStructFormatNode,
+                        @Cached PackNode packNode) {
+            return packNode.execute(frame, getStructFormatNode.execute(format, getCache(self, readNode)), args);
+        }
+    }
+
+    // pack_into(format, buffer, offset, v1, v2, ...)
+    @Builtin(name = "pack_into", minNumOfPositionalArgs = 2, parameterNames = {"$mod", "format"}, takesVarArgs = true, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class PackIntoFunctionNode extends PythonBuiltinNode {
+        @Specialization
+        static PNone packInto(VirtualFrame frame, PythonModule self, Object format, Object[] args,
+                        @Cached ReadAttributeFromObjectNode readNode,
+                        @Cached GetStructFormatNode getStructFormatNode,
+                        @Cached PackIntoNode packIntoNode) {
+            packIntoNode.execute(frame, getStructFormatNode.execute(format, getCache(self, readNode)), args);
+            return PNone.NONE;
+        }
+    }
+
+    // unpack(format, buffer, /)
+    @Builtin(name = "unpack", minNumOfPositionalArgs = 3, parameterNames = {"$mod", "format", "buffer"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class UnpackFunctionNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static PTuple unpack(PythonModule self, Object format, Object buffer,
+                        @Cached ReadAttributeFromObjectNode readNode,
+                        @Cached GetStructFormatNode getStructFormatNode,
+                        @Cached UnpackNode unpackNode) {
+            return unpackNode.execute(getStructFormatNode.execute(format, getCache(self, readNode)), buffer);
+        }
+    }
+
+    // unpack_from(format, /, buffer, offset=0)
+    @Builtin(name = "unpack_from", minNumOfPositionalArgs = 3, parameterNames = {"$mod", "format", "buffer", "offset"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class UnpackFromFunctionNode extends PythonBuiltinNode {
+        @Specialization(limit = "2")
+        static PTuple unpackFrom(VirtualFrame frame, PythonModule self, Object format, Object buffer, Object offset,
+                        @CachedLibrary("offset") PythonObjectLibrary lib,
+                        @Cached ReadAttributeFromObjectNode readNode,
+                        @Cached GetStructFormatNode getStructFormatNode,
+                        @Cached UnpackFromNode unpackFromNode) {
+            int offsetValue = PGuards.isNoValue(offset) ? 0 : lib.asSizeWithState(offset, IndexError, PArguments.getThreadState(frame));
+            return unpackFromNode.execute(getStructFormatNode.execute(format, getCache(self, readNode)), buffer, offsetValue);
+        }
+    }
+
+    // iter_unpack(format, buffer, /)
+    @Builtin(name = "iter_unpack", minNumOfPositionalArgs = 3, parameterNames = {"$mod", "format", "buffer"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class IterUnpackFunctionNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static PStructUnpackIterator iterUnpack(PythonModule self, Object format, Object buffer,
+                        @Cached ReadAttributeFromObjectNode readNode,
+                        @Cached GetStructFormatNode getStructFormatNode,
+                        @Cached IterUnpackNode iterUnpackNode) {
+            return iterUnpackNode.execute(getStructFormatNode.execute(format, getCache(self, readNode)), buffer);
+        }
+    }
+
+    // calcsize(format, /)
+    @Builtin(name = "calcsize", minNumOfPositionalArgs = 2, parameterNames = {"$mod", "format"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class CalcSizeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static int calcSize(PythonModule self, Object format,
+                        @Cached ReadAttributeFromObjectNode readNode,
+                        @Cached GetStructFormatNode getStructFormatNode) {
+            return getStructFormatNode.execute(format, getCache(self, readNode)).getSize();
+        }
+    }
+
+    @Builtin(name = "_clearcache", minNumOfPositionalArgs = 1, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class ClearCacheNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone clearCache(PythonModule self,
+                        @Cached ReadAttributeFromObjectNode readNode) {
+            getCache(self, readNode).clear();
+            return PNone.NONE;
+        }
+    }
+}
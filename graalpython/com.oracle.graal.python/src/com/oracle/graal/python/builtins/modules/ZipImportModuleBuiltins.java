@@ -49,6 +49,7 @@ import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.zipimporter.PZipImporter;
+import com.oracle.graal.python.builtins.objects.zipimporter.ZipArchiveCleaner;
 import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
@@ -57,6 +58,7 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.HiddenKey;
 
 @CoreFunctions(defineModule = ZipImportModuleBuiltins.ZIPIMPORT_MODULE_NAME)
 public class ZipImportModuleBuiltins extends PythonBuiltins {
@@ -65,6 +67,9 @@ public class ZipImportModuleBuiltins extends PythonBuiltins {
 
     private static final String ZIP_DIRECTORY_CACHE_NAME = "_zip_directory_cache";
 
+    private static final HiddenKey ARCHIVE_CLEANER_KEY = new HiddenKey("archiveCleaner");
+    private final ZipArchiveCleaner archiveCleaner = new ZipArchiveCleaner();
+
     private static final String ZIPIMPORTER_DOC = "zipimporter(archivepath) -> zipimporter object\n" +
                     "\n" +
                     "Create a new zipimporter instance. 'archivepath' must be a path to\n" +
@@ -86,15 +91,31 @@ public class ZipImportModuleBuiltins extends PythonBuiltins {
 
     }
 
+    @Override
+    public void postInitialize(PythonCore core) {
+        super.postInitialize(core);
+        core.lookupBuiltinModule(ZIPIMPORT_MODULE_NAME).setAttribute(ARCHIVE_CLEANER_KEY, archiveCleaner);
+        core.getContext().registerAsyncAction(() -> {
+            try {
+                archiveCleaner.closeCollected();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+    }
+
     @Builtin(name = "zipimporter", constructsClass = PythonBuiltinClassType.PZipImporter, minNumOfPositionalArgs = 2, doc = ZIPIMPORTER_DOC)
     @GenerateNodeFactory
     public abstract static class ZipImporterNode extends PythonBinaryBuiltinNode {
 
         @Specialization
         public PZipImporter createNew(Object cls, @SuppressWarnings("unused") Object path,
-                        @Cached("create()") ReadAttributeFromObjectNode readNode) {
+                        @Cached("create()") ReadAttributeFromObjectNode readNode,
+                        @Cached("create()") ReadAttributeFromObjectNode readCleanerNode) {
             PythonModule module = getCore().lookupBuiltinModule(ZIPIMPORT_MODULE_NAME);
-            return factory().createZipImporter(cls, (PDict) readNode.execute(module, ZIP_DIRECTORY_CACHE_NAME), getContext().getEnv().getFileNameSeparator());
+            return factory().createZipImporter(cls, (PDict) readNode.execute(module, ZIP_DIRECTORY_CACHE_NAME), (ZipArchiveCleaner) readCleanerNode.execute(module, ARCHIVE_CLEANER_KEY),
+                            getContext().getEnv().getFileNameSeparator());
         }
 
     }
@@ -44,6 +44,7 @@ import com.oracle.graal.python.PythonLanguage;
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.ImportStatic;
@@ -56,25 +57,61 @@ import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.InvalidAssumptionException;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @ExportLibrary(InteropLibrary.class)
 public final class HandleCache implements TruffleObject {
     public static final int CACHE_SIZE = 3;
 
-    final long[] keys;
+    /**
+     * Recently resolved handles of this cache's context. Unlike the inline caches of
+     * {@link GetOrInsertNode}, these entries live in the (per-context) cache object and can therefore
+     * be used when multiple contexts share the code.
+     */
+    private final Entry[] entries;
     private final TruffleObject ptrToResolveHandle;
 
     int pos = 0;
 
     public HandleCache(TruffleObject ptrToResolveHandle) {
-        keys = new long[CACHE_SIZE];
+        entries = new Entry[CACHE_SIZE];
         this.ptrToResolveHandle = ptrToResolveHandle;
     }
 
     protected int len() {
-        return keys.length;
+        return entries.length;
+    }
+
+    private static final class Entry {
+        final long handle;
+        final PythonNativeWrapper wrapper;
+        final Assumption handleValidAssumption;
+
+        Entry(long handle, PythonNativeWrapper wrapper, Assumption handleValidAssumption) {
+            this.handle = handle;
+            this.wrapper = wrapper;
+            this.handleValidAssumption = handleValidAssumption;
+        }
+    }
+
+    @ExplodeLoop
+    PythonNativeWrapper lookup(long handle) {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            Entry entry = entries[i];
+            if (entry != null && entry.handle == handle && entry.handleValidAssumption.isValid()) {
+                return entry.wrapper;
+            }
+        }
+        return null;
+    }
+
+    @TruffleBoundary
+    void insert(long handle, PythonNativeWrapper wrapper) {
+        entries[pos] = new Entry(handle, wrapper, wrapper.ensureHandleValidAssumption());
+        pos = (pos + 1) % CACHE_SIZE;
     }
 
     protected TruffleObject getPtrToResolveHandle() {
@@ -122,9 +159,18 @@ public final class HandleCache implements TruffleObject {
         }
 
         @Specialization(limit = "3", replaces = {"doCachedSingleContext", "doGenericSingleContext"})
-        static Object doGeneric(@SuppressWarnings("unused") HandleCache cache, long handle,
-                        @CachedLibrary("cache.getPtrToResolveHandle()") InteropLibrary interopLibrary) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
-            return resolveHandle(handle, cache.getPtrToResolveHandle(), interopLibrary);
+        static Object doGeneric(HandleCache cache, long handle,
+                        @CachedLibrary("cache.getPtrToResolveHandle()") InteropLibrary interopLibrary,
+                        @Cached ConditionProfile hitProfile) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+            PythonNativeWrapper cached = cache.lookup(handle);
+            if (hitProfile.profile(cached != null)) {
+                return cached;
+            }
+            Object resolved = resolveHandle(handle, cache.getPtrToResolveHandle(), interopLibrary);
+            if (resolved instanceof PythonNativeWrapper) {
+                cache.insert(handle, (PythonNativeWrapper) resolved);
+            }
+            return resolved;
         }
 
         static PythonNativeWrapper resolveHandleUncached(HandleCache cache, long handle)
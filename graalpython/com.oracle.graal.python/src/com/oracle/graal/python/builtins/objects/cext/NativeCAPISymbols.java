@@ -102,6 +102,8 @@ public abstract class NativeCAPISymbols {
     public static final String FUN_TRUFFLE_CANNOT_BE_HANDLE = "truffle_cannot_be_handle";
     public static final String FUN_GET_LONG_BITS_PER_DIGIT = "get_long_bits_in_digit";
     public static final String FUN_BULK_SUBREF = "PyTruffle_bulk_SUBREF";
+    public static final String FUN_PY_TRUFFLE_MEMORYVIEW_FROM_OBJECT = "PyTruffle_MemoryViewFromObject";
+    public static final String FUN_PY_TRUFFLE_RELEASE_BUFFER = "PyTruffle_ReleaseBuffer";
     private static final String FUN_GET_INT8_T_TYPEID = "get_int8_t_typeid";
     private static final String FUN_GET_INT16_T_TYPEID = "get_int16_t_typeid";
     private static final String FUN_GET_INT32_T_TYPEID = "get_int32_t_typeid";
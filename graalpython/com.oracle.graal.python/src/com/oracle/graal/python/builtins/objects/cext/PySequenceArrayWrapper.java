@@ -237,21 +237,14 @@ public final class PySequenceArrayWrapper extends PythonNativeWrapper {
 
         @Specialization
         @ExplodeLoop
-        static long doPMmapI64(PMMap mmap, long byteIdx,
-                        @Exclusive @Cached LookupInheritedAttributeNode.Dynamic lookupGetItemNode,
-                        @Exclusive @Cached CallNode callGetItemNode,
-                        @CachedLibrary(limit = "3") PythonObjectLibrary libItem) {
-
+        static long doPMmapI64(PMMap mmap, long byteIdx) {
             long len = mmap.getLength();
-            Object attrGetItem = lookupGetItemNode.execute(mmap, SpecialMethodNames.__GETITEM__);
-
-            int i = (int) byteIdx;
             long result = 0;
             for (int j = 0; j < Long.BYTES; j++) {
-                if (i + j < len) {
+                if (byteIdx + j < len) {
                     long shift = Byte.SIZE * j;
                     long mask = 0xFFL << shift;
-                    result |= (libItem.asJavaLong(callGetItemNode.execute(attrGetItem, mmap, byteIdx)) << shift) & mask;
+                    result |= ((long) mmap.getByte(byteIdx + j) << shift) & mask;
                 }
             }
             return result;
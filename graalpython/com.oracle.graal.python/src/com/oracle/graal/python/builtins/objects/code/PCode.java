@@ -89,6 +89,9 @@ public final class PCode extends PythonBuiltinObject {
     static final long FLAG_VAR_KW_ARGS = 0x8;
     static final long FLAG_LAMBDA = 0x10; // CO_NESTED on CPython, not needed
     static final long FLAG_GENERATOR = 0x20;
+    static final long FLAG_COROUTINE = 0x80; // CO_COROUTINE on CPython
+    static final long FLAG_ITERABLE_COROUTINE = 0x100; // set by types.coroutine
+    static final long FLAG_ASYNC_GENERATOR = 0x200;
     static final long FLAG_MODULE = 0x40; // CO_NOFREE on CPython, we use it on modules, it's
                                           // redundant anyway
 
@@ -303,10 +306,15 @@ public final class PCode extends PythonBuiltinObject {
             // Not on CPython
             flags |= FLAG_MODULE;
         } else {
-            // 0x20 - generator
+            // 0x20 - generator, 0x80 - coroutine, 0x200 - async generator
             if (funcRootNode instanceof GeneratorFunctionRootNode) {
-                flags |= FLAG_GENERATOR;
-                funcRootNode = ((GeneratorFunctionRootNode) funcRootNode).getFunctionRootNode();
+                GeneratorFunctionRootNode generatorRootNode = (GeneratorFunctionRootNode) funcRootNode;
+                if (generatorRootNode.isAsyncGenerator()) {
+                    flags |= FLAG_ASYNC_GENERATOR;
+                } else {
+                    flags |= generatorRootNode.isCoroutine() ? FLAG_COROUTINE : FLAG_GENERATOR;
+                }
+                funcRootNode = generatorRootNode.getFunctionRootNode();
             }
             // 0x04 - *arguments
             if (NodeUtil.findFirstNodeInstance(funcRootNode, ReadVarArgsNode.class) != null) {
@@ -448,6 +456,18 @@ public final class PCode extends PythonBuiltinObject {
         return (getFlags() & FLAG_GENERATOR) > 0;
     }
 
+    public boolean isCoroutine() {
+        return (getFlags() & FLAG_COROUTINE) > 0;
+    }
+
+    public boolean isAsyncGenerator() {
+        return (getFlags() & FLAG_ASYNC_GENERATOR) > 0;
+    }
+
+    public boolean isIterableCoroutine() {
+        return (getFlags() & FLAG_ITERABLE_COROUTINE) > 0;
+    }
+
     public static boolean isModule(int flags) {
         return (flags & FLAG_MODULE) > 0;
     }
@@ -0,0 +1,861 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.deque;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CONTAINS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DELITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__IADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__IMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LEN__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__MUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REVERSED__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETITEM__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.control.GetIteratorExpressionNode.GetIteratorNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDeque)
+public class DequeBuiltins extends PythonBuiltins {
+
+    @Override
+    public void initialize(PythonCore core) {
+        super.initialize(core);
+        this.builtinConstants.put(__HASH__, PNone.NONE);
+    }
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DequeBuiltinsFactory.getFactories();
+    }
+
+    private static SequenceStorage toStorage(PDeque deque) {
+        Object[] items = deque.toArray();
+        return new ObjectSequenceStorage(items);
+    }
+
+    private static int normalizeIndex(PythonBuiltinBaseNode node, VirtualFrame frame, PDeque self, Object idx, PythonObjectLibrary lib) {
+        if (!lib.canBeIndex(idx)) {
+            throw node.raise(TypeError, ErrorMessages.SEQUENCE_INDEX_MUST_BE_INT_NOT_P, idx);
+        }
+        int index = lib.asSizeWithState(idx, IndexError, PArguments.getThreadState(frame));
+        if (index < 0) {
+            index += self.getSize();
+        }
+        return index;
+    }
+
+    // deque.__init__(iterable=(), maxlen=None)
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "iterable", "maxlen"})
+    @GenerateNodeFactory
+    public abstract static class DequeInitNode extends PythonTernaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        PNone init(VirtualFrame frame, PDeque self, Object iterable, Object maxlen,
+                        @CachedLibrary("maxlen") PythonObjectLibrary lib,
+                        @Cached DequeExtendNode extendNode) {
+            int maxLength = -1;
+            if (!PGuards.isPNone(maxlen)) {
+                maxLength = lib.asSizeWithState(maxlen, PArguments.getThreadState(frame));
+                if (maxLength < 0) {
+                    throw raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "maxlen");
+                }
+            }
+            self.setMaxLength(maxLength);
+            if (self.getSize() > 0) {
+                self.clear();
+            }
+            if (iterable != PNone.NO_VALUE) {
+                extendNode.execute(frame, self, iterable);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    // deque.append(x)
+    @Builtin(name = "append", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeAppendNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static PNone append(PDeque self, Object value) {
+            self.append(value);
+            return PNone.NONE;
+        }
+    }
+
+    // deque.appendleft(x)
+    @Builtin(name = "appendleft", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeAppendLeftNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static PNone appendLeft(PDeque self, Object value) {
+            self.appendLeft(value);
+            return PNone.NONE;
+        }
+    }
+
+    // deque.pop()
+    @Builtin(name = "pop", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequePopNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        Object pop(PDeque self) {
+            Object result = self.pop();
+            if (result == null) {
+                throw raise(IndexError, ErrorMessages.POP_FROM_EMPTY_DEQUE);
+            }
+            return result;
+        }
+    }
+
+    // deque.popleft()
+    @Builtin(name = "popleft", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequePopLeftNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        Object popLeft(PDeque self) {
+            Object result = self.popLeft();
+            if (result == null) {
+                throw raise(IndexError, ErrorMessages.POP_FROM_EMPTY_DEQUE);
+            }
+            return result;
+        }
+    }
+
+    // deque.clear()
+    @Builtin(name = "clear", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequeClearNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static PNone clear(PDeque self) {
+            self.clear();
+            return PNone.NONE;
+        }
+    }
+
+    // deque.extend(iterable)
+    @Builtin(name = "extend", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeExtendNode extends PythonBinaryBuiltinNode {
+
+        public abstract PNone execute(VirtualFrame frame, PDeque self, Object iterable);
+
+        @Specialization
+        static PNone extendDeque(PDeque self, PDeque other) {
+            // also covers 'd.extend(d)'
+            self.appendAll(other.toArray());
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isDeque(iterable)")
+        static PNone extend(VirtualFrame frame, PDeque self, Object iterable,
+                        @Cached GetIteratorNode getIteratorNode,
+                        @Cached GetNextNode getNextNode,
+                        @Cached IsBuiltinClassProfile errorProfile) {
+            Object iterator = getIteratorNode.executeWith(frame, iterable);
+            while (true) {
+                Object value;
+                try {
+                    value = getNextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(errorProfile);
+                    return PNone.NONE;
+                }
+                self.append(value);
+            }
+        }
+
+        static boolean isDeque(Object obj) {
+            return obj instanceof PDeque;
+        }
+
+        public static DequeExtendNode create() {
+            return DequeBuiltinsFactory.DequeExtendNodeFactory.create();
+        }
+    }
+
+    // deque.extendleft(iterable)
+    @Builtin(name = "extendleft", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeExtendLeftNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static PNone extendDeque(PDeque self, PDeque other) {
+            Object[] items = other.toArray();
+            for (int i = 0; i < items.length; i++) {
+                self.appendLeft(items[i]);
+            }
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isDeque(iterable)")
+        static PNone extend(VirtualFrame frame, PDeque self, Object iterable,
+                        @Cached GetIteratorNode getIteratorNode,
+                        @Cached GetNextNode getNextNode,
+                        @Cached IsBuiltinClassProfile errorProfile) {
+            Object iterator = getIteratorNode.executeWith(frame, iterable);
+            while (true) {
+                Object value;
+                try {
+                    value = getNextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(errorProfile);
+                    return PNone.NONE;
+                }
+                self.appendLeft(value);
+            }
+        }
+
+        static boolean isDeque(Object obj) {
+            return obj instanceof PDeque;
+        }
+    }
+
+    // deque.copy()
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequeCopyNode extends PythonUnaryBuiltinNode {
+
+        public abstract Object execute(VirtualFrame frame, PDeque self);
+
+        @Specialization(limit = "3")
+        Object copy(VirtualFrame frame, PDeque self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached("createBinaryProfile()") ConditionProfile isBuiltinProfile,
+                        @Cached CallNode callNode) {
+            Object cls = lib.getLazyPythonClass(self);
+            int maxLength = self.getMaxLength();
+            if (isBuiltinProfile.profile(cls == PythonBuiltinClassType.PDeque)) {
+                PDeque copy = factory().createDeque(cls);
+                copy.setMaxLength(maxLength);
+                copy.appendAll(self.toArray());
+                return copy;
+            }
+            if (maxLength < 0) {
+                return callNode.execute(frame, cls, self);
+            }
+            return callNode.execute(frame, cls, self, maxLength);
+        }
+
+        public static DequeCopyNode create() {
+            return DequeBuiltinsFactory.DequeCopyNodeFactory.create();
+        }
+    }
+
+    // deque.__copy__()
+    @Builtin(name = __COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequeDunderCopyNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object copy(VirtualFrame frame, PDeque self,
+                        @Cached DequeCopyNode copyNode) {
+            return copyNode.execute(frame, self);
+        }
+    }
+
+    // deque.count(v)
+    @Builtin(name = "count", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeCountNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        int count(VirtualFrame frame, PDeque self, Object value,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            int state = self.getState();
+            int count = 0;
+            Object item;
+            for (int i = 0; (item = self.getItem(i, state)) != null; i++) {
+                if (lib.equalsWithFrame(item, value, lib, frame)) {
+                    count++;
+                }
+            }
+            if (self.getState() != state) {
+                throw raise(RuntimeError, ErrorMessages.DEQUE_MUTATED_DURING_ITERATION);
+            }
+            return count;
+        }
+    }
+
+    // deque.index(v, start=0, stop=len(deque))
+    @Builtin(name = "index", minNumOfPositionalArgs = 2, parameterNames = {"$self", "value", "start", "stop"})
+    @GenerateNodeFactory
+    public abstract static class DequeIndexNode extends PythonQuaternaryBuiltinNode {
+
+        @Specialization
+        int index(VirtualFrame frame, PDeque self, Object value, Object start, Object stop,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            int size = self.getSize();
+            int startIndex = start == PNone.NO_VALUE ? 0 : normalize(frame, start, size, lib);
+            int stopIndex = stop == PNone.NO_VALUE ? size : normalize(frame, stop, size, lib);
+            int state = self.getState();
+            Object item;
+            for (int i = startIndex; i < stopIndex && (item = self.getItem(i, state)) != null; i++) {
+                if (lib.equalsWithFrame(item, value, lib, frame)) {
+                    return i;
+                }
+            }
+            if (self.getState() != state) {
+                throw raise(RuntimeError, ErrorMessages.DEQUE_MUTATED_DURING_ITERATION);
+            }
+            throw raise(ValueError, ErrorMessages.R_IS_NOT_IN_DEQUE, value);
+        }
+
+        private static int normalize(VirtualFrame frame, Object obj, int size, PythonObjectLibrary lib) {
+            int index = lib.asSizeWithState(obj, null, PArguments.getThreadState(frame));
+            if (index < 0) {
+                index += size;
+                if (index < 0) {
+                    index = 0;
+                }
+            }
+            return Math.min(index, size);
+        }
+    }
+
+    // deque.insert(i, x)
+    @Builtin(name = "insert", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    public abstract static class DequeInsertNode extends PythonTernaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        PNone insert(VirtualFrame frame, PDeque self, Object idx, Object value,
+                        @CachedLibrary("idx") PythonObjectLibrary lib) {
+            int index = lib.asSizeWithState(idx, null, PArguments.getThreadState(frame));
+            synchronized (self) {
+                int size = self.getSize();
+                if (size == self.getMaxLength()) {
+                    throw raise(IndexError, ErrorMessages.DEQUE_ALREADY_AT_MAX_SIZE);
+                }
+                if (index < 0) {
+                    index = Math.max(0, index + size);
+                }
+                self.insert(index, value);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    // deque.remove(v)
+    @Builtin(name = "remove", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeRemoveNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        PNone remove(VirtualFrame frame, PDeque self, Object value,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            int state = self.getState();
+            Object item;
+            for (int i = 0; (item = self.getItem(i, state)) != null; i++) {
+                if (lib.equalsWithFrame(item, value, lib, frame)) {
+                    if (!self.deleteItem(i, state)) {
+                        throw raise(IndexError, ErrorMessages.DEQUE_MUTATED_DURING_REMOVE);
+                    }
+                    return PNone.NONE;
+                }
+            }
+            if (self.getState() != state) {
+                throw raise(IndexError, ErrorMessages.DEQUE_MUTATED_DURING_REMOVE);
+            }
+            throw raise(ValueError, ErrorMessages.DEQUE_REMOVE_X_NOT_IN_DEQUE);
+        }
+    }
+
+    // deque.reverse()
+    @Builtin(name = "reverse", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequeReverseNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static PNone reverse(PDeque self) {
+            self.reverse();
+            return PNone.NONE;
+        }
+    }
+
+    // deque.rotate(n=1)
+    @Builtin(name = "rotate", minNumOfPositionalArgs = 1, parameterNames = {"$self", "n"})
+    @GenerateNodeFactory
+    public abstract static class DequeRotateNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(guards = "isNoValue(n)")
+        static PNone rotateOne(PDeque self, @SuppressWarnings("unused") PNone n) {
+            self.rotate(1);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        static PNone rotate(PDeque self, int n) {
+            self.rotate(n);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isNoValue(n)", limit = "3")
+        static PNone rotate(VirtualFrame frame, PDeque self, Object n,
+                        @CachedLibrary("n") PythonObjectLibrary lib) {
+            self.rotate(lib.asJavaLongWithState(lib.asIndexWithState(n, PArguments.getThreadState(frame)), PArguments.getThreadState(frame)));
+            return PNone.NONE;
+        }
+    }
+
+    // deque.maxlen
+    @Builtin(name = "maxlen", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class DequeMaxLenNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object maxLen(PDeque self) {
+            int maxLength = self.getMaxLength();
+            return maxLength < 0 ? PNone.NONE : maxLength;
+        }
+    }
+
+    @Builtin(name = __LEN__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequeLenNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static int len(PDeque self) {
+            return self.getSize();
+        }
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequeIterNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        PDequeIterator iter(PDeque self) {
+            return factory().createDequeIterator(self);
+        }
+    }
+
+    @Builtin(name = __REVERSED__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequeReversedNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        PDequeIterator reversed(PDeque self) {
+            return factory().createDequeReverseIterator(self);
+        }
+    }
+
+    @Builtin(name = __CONTAINS__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeContainsNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        boolean contains(VirtualFrame frame, PDeque self, Object value,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            int state = self.getState();
+            Object item;
+            for (int i = 0; (item = self.getItem(i, state)) != null; i++) {
+                if (lib.equalsWithFrame(item, value, lib, frame)) {
+                    return true;
+                }
+            }
+            if (self.getState() != state) {
+                throw raise(RuntimeError, ErrorMessages.DEQUE_MUTATED_DURING_ITERATION);
+            }
+            return false;
+        }
+    }
+
+    @Builtin(name = __GETITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeGetItemNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        Object getItem(VirtualFrame frame, PDeque self, Object idx,
+                        @CachedLibrary("idx") PythonObjectLibrary lib) {
+            Object result = self.getItem(normalizeIndex(this, frame, self, idx, lib));
+            if (result == null) {
+                throw raise(IndexError, ErrorMessages.DEQUE_INDEX_OUT_OF_RANGE);
+            }
+            return result;
+        }
+    }
+
+    @Builtin(name = __SETITEM__, minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    public abstract static class DequeSetItemNode extends PythonTernaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        PNone setItem(VirtualFrame frame, PDeque self, Object idx, Object value,
+                        @CachedLibrary("idx") PythonObjectLibrary lib) {
+            if (!self.setItem(normalizeIndex(this, frame, self, idx, lib), value)) {
+                throw raise(IndexError, ErrorMessages.DEQUE_INDEX_OUT_OF_RANGE);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __DELITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeDelItemNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        PNone delItem(VirtualFrame frame, PDeque self, Object idx,
+                        @CachedLibrary("idx") PythonObjectLibrary lib) {
+            if (!self.deleteItem(normalizeIndex(this, frame, self, idx, lib))) {
+                throw raise(IndexError, ErrorMessages.DEQUE_INDEX_OUT_OF_RANGE);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __ADD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeAddNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static Object add(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached DequeCopyNode copyNode) {
+            Object result = copyNode.execute(frame, self);
+            if (result instanceof PDeque) {
+                ((PDeque) result).appendAll(other.toArray());
+            }
+            return result;
+        }
+
+        @Fallback
+        Object add(Object self, Object other) {
+            throw raise(TypeError, ErrorMessages.CAN_ONLY_CONCAT_S_NOT_P_TO_S, "deque", other, "deque");
+        }
+    }
+
+    @Builtin(name = __IADD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeIAddNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static PDeque iadd(VirtualFrame frame, PDeque self, Object other,
+                        @Cached DequeExtendNode extendNode) {
+            extendNode.execute(frame, self, other);
+            return self;
+        }
+    }
+
+    @Builtin(name = __IMUL__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeIMulNode extends PythonBinaryBuiltinNode {
+
+        public abstract Object execute(VirtualFrame frame, Object self, Object times);
+
+        @Specialization(guards = "lib.canBeIndex(times)", limit = "3")
+        static PDeque imul(VirtualFrame frame, PDeque self, Object times,
+                        @CachedLibrary("times") PythonObjectLibrary lib) {
+            int n = lib.asSizeWithState(times, PArguments.getThreadState(frame));
+            synchronized (self) {
+                if (n <= 0) {
+                    self.clear();
+                    return self;
+                }
+                Object[] items = self.toArray();
+                int maxLength = self.getMaxLength();
+                if (maxLength >= 0 && items.length > 0) {
+                    // only the trailing 'maxlen' elements survive anyway
+                    n = Math.min(n, maxLength / items.length + 1);
+                }
+                for (int i = 1; i < n; i++) {
+                    self.appendAll(items);
+                }
+            }
+            return self;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object imul(Object self, Object times) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        public static DequeIMulNode create() {
+            return DequeBuiltinsFactory.DequeIMulNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = __MUL__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeMulNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static Object mul(VirtualFrame frame, PDeque self, Object times,
+                        @Cached DequeCopyNode copyNode,
+                        @Cached DequeIMulNode imulNode) {
+            return imulNode.execute(frame, copyNode.execute(frame, self), times);
+        }
+    }
+
+    @Builtin(name = __RMUL__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeRMulNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static Object rmul(VirtualFrame frame, PDeque self, Object times,
+                        @Cached DequeCopyNode copyNode,
+                        @Cached DequeIMulNode imulNode) {
+            return imulNode.execute(frame, copyNode.execute(frame, self), times);
+        }
+    }
+
+    @Builtin(name = __EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeEqNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static boolean eq(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createEq()") SequenceStorageNodes.CmpNode cmpNode) {
+            return cmpNode.execute(frame, toStorage(self), toStorage(other));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object eq(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeNeNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static boolean ne(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createEq()") SequenceStorageNodes.CmpNode cmpNode) {
+            return !cmpNode.execute(frame, toStorage(self), toStorage(other));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object ne(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeLtNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static boolean lt(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createLt()") SequenceStorageNodes.CmpNode cmpNode) {
+            return cmpNode.execute(frame, toStorage(self), toStorage(other));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object lt(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeLeNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static boolean le(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createLe()") SequenceStorageNodes.CmpNode cmpNode) {
+            return cmpNode.execute(frame, toStorage(self), toStorage(other));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object le(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeGtNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static boolean gt(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createGt()") SequenceStorageNodes.CmpNode cmpNode) {
+            return cmpNode.execute(frame, toStorage(self), toStorage(other));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object gt(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeGeNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static boolean ge(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createGe()") SequenceStorageNodes.CmpNode cmpNode) {
+            return cmpNode.execute(frame, toStorage(self), toStorage(other));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object ge(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequeReprNode extends PythonUnaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        Object repr(VirtualFrame frame, PDeque self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached TypeNodes.GetNameNode getNameNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode) {
+            Object[] items = self.toArray();
+            String[] itemReprs = new String[items.length];
+            for (int i = 0; i < items.length; i++) {
+                if (items[i] == self) {
+                    itemReprs[i] = "[...]";
+                    continue;
+                }
+                Object reprString = reprNode.executeObject(frame, items[i]);
+                if (reprString instanceof PString) {
+                    reprString = ((PString) reprString).getValue();
+                }
+                if (!(reprString instanceof String)) {
+                    throw raise(TypeError, ErrorMessages.RETURNED_NON_STRING, "__repr__", reprString);
+                }
+                itemReprs[i] = (String) reprString;
+            }
+            return format(getNameNode.execute(lib.getLazyPythonClass(self)), itemReprs, self.getMaxLength());
+        }
+
+        @TruffleBoundary
+        private static String format(String typeName, String[] itemReprs, int maxLength) {
+            StringBuilder sb = new StringBuilder(typeName).append("([");
+            for (int i = 0; i < itemReprs.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(itemReprs[i]);
+            }
+            sb.append(']');
+            if (maxLength >= 0) {
+                sb.append(", maxlen=").append(maxLength);
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequeReduceNode extends PythonUnaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        Object reduce(PDeque self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object cls = lib.getLazyPythonClass(self);
+            PDict dict = lib.getDict(self);
+            int maxLength = self.getMaxLength();
+            Object args = maxLength < 0 ? factory().createEmptyTuple() : factory().createTuple(new Object[]{factory().createEmptyTuple(), maxLength});
+            return factory().createTuple(new Object[]{cls, args, dict != null ? dict : PNone.NONE, factory().createDequeIterator(self)});
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.deque;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code collections.deque} backed by a growable ring buffer whose capacity is always a power of
+ * two. All accessors synchronize on the deque itself, so concurrent appends and pops from several
+ * threads never corrupt the buffer. No Python code ever runs while the monitor is held; operations
+ * that need to compare elements take one element at a time and use {@link #getState()} to detect
+ * concurrent modification, like CPython does.
+ */
+public final class PDeque extends PythonBuiltinObject {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Object[] items = new Object[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    /** {@code -1} if the deque is unbounded. */
+    private int maxLength = -1;
+    /** Incremented by every operation that adds, removes or moves elements. */
+    private int state;
+
+    public PDeque(Object clazz, Shape instanceShape) {
+        super(clazz, instanceShape);
+    }
+
+    public synchronized int getMaxLength() {
+        return maxLength;
+    }
+
+    public synchronized void setMaxLength(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    public synchronized int getState() {
+        return state;
+    }
+
+    private int mask() {
+        return items.length - 1;
+    }
+
+    @TruffleBoundary
+    private void grow() {
+        Object[] newItems = new Object[items.length << 1];
+        int firstPart = Math.min(size, items.length - head);
+        System.arraycopy(items, head, newItems, 0, firstPart);
+        System.arraycopy(items, 0, newItems, firstPart, size - firstPart);
+        items = newItems;
+        head = 0;
+    }
+
+    public synchronized void append(Object value) {
+        state++;
+        if (size == maxLength) {
+            if (maxLength == 0) {
+                return;
+            }
+            items[head] = null;
+            head = (head + 1) & mask();
+            size--;
+        }
+        if (size == items.length) {
+            grow();
+        }
+        items[(head + size) & mask()] = value;
+        size++;
+    }
+
+    public synchronized void appendLeft(Object value) {
+        state++;
+        if (size == maxLength) {
+            if (maxLength == 0) {
+                return;
+            }
+            items[(head + size - 1) & mask()] = null;
+            size--;
+        }
+        if (size == items.length) {
+            grow();
+        }
+        head = (head - 1) & mask();
+        items[head] = value;
+        size++;
+    }
+
+    public synchronized void appendAll(Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            append(values[i]);
+        }
+    }
+
+    /**
+     * Removes and returns the rightmost element or {@code null} if the deque is empty.
+     */
+    public synchronized Object pop() {
+        if (size == 0) {
+            return null;
+        }
+        state++;
+        size--;
+        int idx = (head + size) & mask();
+        Object result = items[idx];
+        items[idx] = null;
+        return result;
+    }
+
+    /**
+     * Removes and returns the leftmost element or {@code null} if the deque is empty.
+     */
+    public synchronized Object popLeft() {
+        if (size == 0) {
+            return null;
+        }
+        state++;
+        size--;
+        Object result = items[head];
+        items[head] = null;
+        head = (head + 1) & mask();
+        return result;
+    }
+
+    public synchronized void clear() {
+        state++;
+        items = new Object[INITIAL_CAPACITY];
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the element at {@code index} or {@code null} if the index is out of bounds.
+     */
+    public synchronized Object getItem(int index) {
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        return items[(head + index) & mask()];
+    }
+
+    /**
+     * Returns the element at {@code index} or {@code null} if the deque was modified since
+     * {@code expectedState} was read or the index is out of bounds.
+     */
+    public synchronized Object getItem(int index, int expectedState) {
+        if (state != expectedState) {
+            return null;
+        }
+        return getItem(index);
+    }
+
+    public synchronized boolean setItem(int index, Object value) {
+        if (index < 0 || index >= size) {
+            return false;
+        }
+        items[(head + index) & mask()] = value;
+        return true;
+    }
+
+    public synchronized boolean deleteItem(int index) {
+        if (index < 0 || index >= size) {
+            return false;
+        }
+        rotate(-index);
+        popLeft();
+        rotate(index);
+        return true;
+    }
+
+    /**
+     * Like {@link #deleteItem(int)} but fails if the deque was modified since
+     * {@code expectedState} was read.
+     */
+    public synchronized boolean deleteItem(int index, int expectedState) {
+        return state == expectedState && deleteItem(index);
+    }
+
+    /**
+     * Inserts {@code value} before {@code index}. The index is clamped to the current bounds.
+     */
+    public synchronized void insert(int index, Object value) {
+        int idx = Math.max(0, Math.min(index, size));
+        if (idx == size) {
+            append(value);
+        } else if (idx == 0) {
+            appendLeft(value);
+        } else {
+            rotate(-idx);
+            appendLeft(value);
+            rotate(idx);
+        }
+    }
+
+    /**
+     * Rotates the deque {@code n} steps to the right, or to the left if {@code n} is negative.
+     * Moves at most half of the elements.
+     */
+    public synchronized void rotate(long n) {
+        if (size <= 1) {
+            return;
+        }
+        state++;
+        int half = size >> 1;
+        long steps = n;
+        if (steps > half || steps < -half) {
+            steps %= size;
+            if (steps > half) {
+                steps -= size;
+            } else if (steps < -half) {
+                steps += size;
+            }
+        }
+        int mask = mask();
+        if (size == items.length) {
+            head = (int) (head - steps) & mask;
+            return;
+        }
+        for (; steps > 0; steps--) {
+            int tail = (head + size - 1) & mask;
+            head = (head - 1) & mask;
+            items[head] = items[tail];
+            items[tail] = null;
+        }
+        for (; steps < 0; steps++) {
+            items[(head + size) & mask] = items[head];
+            items[head] = null;
+            head = (head + 1) & mask;
+        }
+    }
+
+    public synchronized void reverse() {
+        state++;
+        int mask = mask();
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int a = (head + i) & mask;
+            int b = (head + j) & mask;
+            Object tmp = items[a];
+            items[a] = items[b];
+            items[b] = tmp;
+        }
+    }
+
+    public synchronized Object[] toArray() {
+        Object[] result = new Object[size];
+        int firstPart = Math.min(size, items.length - head);
+        System.arraycopy(items, head, result, 0, firstPart);
+        System.arraycopy(items, 0, result, firstPart, size - firstPart);
+        return result;
+    }
+}
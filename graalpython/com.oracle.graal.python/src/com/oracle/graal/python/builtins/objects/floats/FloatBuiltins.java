@@ -135,11 +135,16 @@ public final class FloatBuiltins extends PythonBuiltins {
     @Builtin(name = __STR__, minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
     @TypeSystemReference(PythonArithmeticTypes.class)
-    abstract static class StrNode extends PythonUnaryBuiltinNode {
+    public abstract static class StrNode extends PythonUnaryBuiltinNode {
         @Specialization
         String str(double self) {
+            return doRepr(getCore(), self);
+        }
+
+        @TruffleBoundary
+        public static String doRepr(PythonCore core, double self) {
             Spec spec = new Spec(' ', '>', Spec.NONE, false, Spec.UNSPECIFIED, Spec.NONE, 0, 'r');
-            FloatFormatter f = new FloatFormatter(getCore(), spec);
+            FloatFormatter f = new FloatFormatter(core, spec);
             f.setMinFracDigits(1);
             return doFormat(self, f);
         }
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.functools;
+
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__QUALNAME__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CALL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DICT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GET__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PArguments.ThreadState;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.functools.PLruCacheWrapper.Entry;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PLruCacheWrapper)
+public final class LruCacheWrapperBuiltins extends PythonBuiltins {
+
+    private static final long KEYWORD_MARK_HASH = 0x2f6c7275L;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return LruCacheWrapperBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __CALL__, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    public abstract static class LruCacheCallNode extends PythonVarargsBuiltinNode {
+
+        @Specialization(guards = "self.getMaxSize() == 0")
+        static Object callUncached(VirtualFrame frame, PLruCacheWrapper self, Object[] args, PKeyword[] keywords,
+                        @Cached CallNode callNode) {
+            self.recordMiss();
+            return callNode.execute(frame, self.getFunction(), args, keywords);
+        }
+
+        @Specialization(guards = "self.getMaxSize() != 0")
+        Object callCached(VirtualFrame frame, PLruCacheWrapper self, Object[] args, PKeyword[] keywords,
+                        @Cached CallNode callNode,
+                        @Cached ConditionProfile simpleKeyProfile,
+                        @Cached ConditionProfile hitProfile,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary otherLib) {
+            ThreadState state = PArguments.getThreadState(frame);
+            // positional arguments of an untyped cache are their own key, so a hit does not allocate
+            Object[] key = simpleKeyProfile.profile(keywords.length == 0 && !self.isTyped()) ? args : makeKey(self, args, keywords, lib);
+            long hash = hashKey(key, lib, state);
+            Entry entry = lookup(self, hash, key, lib, otherLib, state);
+            if (hitProfile.profile(entry != null)) {
+                return self.recordHit(entry);
+            }
+            self.recordMiss();
+            Object result = callNode.execute(frame, self.getFunction(), args, keywords);
+            // the call may have re-entered the cache and added the same key, a concurrent call from
+            // another thread may still add it twice, which only wastes a slot until it is evicted
+            entry = lookup(self, hash, key, lib, otherLib, state);
+            if (entry != null) {
+                if (self.getMaxSize() < 0) {
+                    self.setResult(entry, result);
+                }
+            } else {
+                self.add(hash, key == args ? copyKey(args) : key, result);
+            }
+            return result;
+        }
+
+        private static Object[] makeKey(PLruCacheWrapper self, Object[] args, PKeyword[] keywords, PythonObjectLibrary lib) {
+            int length = args.length;
+            if (keywords.length > 0) {
+                length += 1 + 2 * keywords.length;
+            }
+            if (self.isTyped()) {
+                length += args.length + keywords.length;
+            }
+            Object[] key = new Object[length];
+            PythonUtils.arraycopy(args, 0, key, 0, args.length);
+            int i = args.length;
+            if (keywords.length > 0) {
+                key[i++] = PLruCacheWrapper.KEYWORD_MARK;
+                for (PKeyword keyword : keywords) {
+                    key[i++] = keyword.getName();
+                    key[i++] = keyword.getValue();
+                }
+            }
+            if (self.isTyped()) {
+                for (Object arg : args) {
+                    key[i++] = lib.getLazyPythonClass(arg);
+                }
+                for (PKeyword keyword : keywords) {
+                    key[i++] = lib.getLazyPythonClass(keyword.getValue());
+                }
+            }
+            return key;
+        }
+
+        private static Object[] copyKey(Object[] args) {
+            Object[] key = new Object[args.length];
+            PythonUtils.arraycopy(args, 0, key, 0, args.length);
+            return key;
+        }
+
+        private static long hashKey(Object[] key, PythonObjectLibrary lib, ThreadState state) {
+            long hash = key.length;
+            for (Object element : key) {
+                long elementHash = element == PLruCacheWrapper.KEYWORD_MARK ? KEYWORD_MARK_HASH : lib.hashWithState(element, state);
+                hash = hash * 31 + elementHash;
+            }
+            return hash;
+        }
+
+        private static Entry lookup(PLruCacheWrapper self, long hash, Object[] key, PythonObjectLibrary lib, PythonObjectLibrary otherLib, ThreadState state) {
+            // the keys are compared without holding the monitor of the cache
+            for (Entry entry = self.nextCandidate(hash, null); entry != null; entry = self.nextCandidate(hash, entry)) {
+                if (keysEqual(entry.getKey(), key, lib, otherLib, state)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        private static boolean keysEqual(Object[] a, Object[] b, PythonObjectLibrary lib, PythonObjectLibrary otherLib, ThreadState state) {
+            if (a.length != b.length) {
+                return false;
+            }
+            for (int i = 0; i < a.length; i++) {
+                if (a[i] == b[i]) {
+                    continue;
+                }
+                if (a[i] == PLruCacheWrapper.KEYWORD_MARK || b[i] == PLruCacheWrapper.KEYWORD_MARK || !lib.equalsWithState(a[i], b[i], otherLib, state)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object varArgExecute(VirtualFrame frame, @SuppressWarnings("unused") Object self, Object[] arguments, PKeyword[] keywords) throws VarargsBuiltinDirectInvocationNotSupported {
+            Object[] argsWithoutSelf = new Object[arguments.length - 1];
+            PythonUtils.arraycopy(arguments, 1, argsWithoutSelf, 0, argsWithoutSelf.length);
+            return execute(frame, arguments[0], argsWithoutSelf, keywords);
+        }
+    }
+
+    @Builtin(name = "cache_info", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class CacheInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object cacheInfo(VirtualFrame frame, PLruCacheWrapper self,
+                        @Cached CallNode callNode) {
+            Object maxSize = self.getMaxSize() < 0 ? PNone.NONE : self.getMaxSize();
+            return callNode.execute(frame, self.getCacheInfoType(), self.getHits(), self.getMisses(), maxSize, self.getSize());
+        }
+    }
+
+    @Builtin(name = "cache_clear", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class CacheClearNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object cacheClear(PLruCacheWrapper self) {
+            self.clear();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __GET__, minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    @SuppressWarnings("unused")
+    public abstract static class GetNode extends PythonTernaryBuiltinNode {
+        @Specialization(guards = "!isPNone(instance)")
+        Object doMethod(PLruCacheWrapper self, Object instance, Object klass) {
+            return factory().createMethod(instance, self);
+        }
+
+        @Specialization
+        static Object doWrapper(PLruCacheWrapper self, PNone instance, Object klass) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __DICT__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    public abstract static class DictNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "1")
+        static PNone dict(PLruCacheWrapper self, PDict mapping,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            try {
+                lib.setDict(self, mapping);
+            } catch (UnsupportedMessageException e) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw new IllegalStateException(e);
+            }
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "isNoValue(mapping)", limit = "1")
+        Object dict(PLruCacheWrapper self, @SuppressWarnings("unused") PNone mapping,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            PDict dict = lib.getDict(self);
+            if (dict == null) {
+                dict = factory().createDictFixedStorage(self);
+                try {
+                    lib.setDict(self, dict);
+                } catch (UnsupportedMessageException e) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    throw new IllegalStateException(e);
+                }
+            }
+            return dict;
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        // like CPython, the wrapper is pickled by reference to the decorated function's name
+        @Specialization(limit = "1")
+        static Object reduce(VirtualFrame frame, PLruCacheWrapper self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            return lib.lookupAttributeStrict(self, frame, __QUALNAME__);
+        }
+    }
+
+    @Builtin(name = __COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object copy(PLruCacheWrapper self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "__deepcopy__", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DeepCopyNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object deepcopy(PLruCacheWrapper self, @SuppressWarnings("unused") Object memo) {
+            return self;
+        }
+    }
+}
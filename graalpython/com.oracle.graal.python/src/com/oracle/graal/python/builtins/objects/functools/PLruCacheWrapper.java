@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.functools;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The wrapper created by {@code functools.lru_cache}. Cached results are kept in a hash table that
+ * is chained into a doubly linked list in order of use, so that the least recently used entry can
+ * be evicted in constant time. The table stores keys as plain arrays of the call arguments and
+ * leaves hashing and comparing them to the caller, which means that a cache hit for positional
+ * arguments does not need to allocate a key.
+ *
+ * The table, the use list and the statistics are only accessed while holding the monitor of the
+ * wrapper. Comparing keys and calling the wrapped function may run arbitrary code, so callers
+ * must not hold the monitor while doing that; they search the table entry by entry using
+ * {@link #nextCandidate}.
+ */
+public final class PLruCacheWrapper extends PythonBuiltinObject {
+    /** Separates positional from keyword arguments in a key, like {@code kwd_mark} in CPython. */
+    public static final Object KEYWORD_MARK = new Object();
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    public static final class Entry {
+        private final long hash;
+        private final Object[] key;
+        private Object result;
+        private Entry chain;
+        private Entry previous;
+        private Entry next;
+
+        Entry(long hash, Object[] key, Object result) {
+            this.hash = hash;
+            this.key = key;
+            this.result = result;
+        }
+
+        public Object[] getKey() {
+            return key;
+        }
+
+    }
+
+    private final Object function;
+    /** The maximum number of entries, or {@code -1} if the cache is unbounded. */
+    private final int maxSize;
+    private final boolean typed;
+    private final Object cacheInfoType;
+    private long hits;
+    private long misses;
+
+    private Entry[] table = new Entry[INITIAL_CAPACITY];
+    private int size;
+    /** Sentinel of the use list, {@code root.next} is the least recently used entry. */
+    private final Entry root = new Entry(0, null, null);
+
+    public PLruCacheWrapper(Object clazz, Shape instanceShape, Object function, int maxSize, boolean typed, Object cacheInfoType) {
+        super(clazz, instanceShape);
+        this.function = function;
+        this.maxSize = maxSize;
+        this.typed = typed;
+        this.cacheInfoType = cacheInfoType;
+        root.previous = root;
+        root.next = root;
+    }
+
+    public Object getFunction() {
+        return function;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isTyped() {
+        return typed;
+    }
+
+    public Object getCacheInfoType() {
+        return cacheInfoType;
+    }
+
+    @TruffleBoundary
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    @TruffleBoundary
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @TruffleBoundary
+    public synchronized int getSize() {
+        return size;
+    }
+
+    @TruffleBoundary
+    public synchronized void recordMiss() {
+        misses++;
+    }
+
+    /**
+     * Returns the entry following {@code previous} (or the first one if {@code previous} is
+     * {@code null}) in the hash chain of the given hash that has the same hash. The caller compares
+     * the keys. If {@code previous} was evicted in the meantime, the search ends early, which only
+     * results in a spurious miss.
+     */
+    @TruffleBoundary
+    public synchronized Entry nextCandidate(long hash, Entry previous) {
+        Entry entry;
+        if (previous == null) {
+            entry = table[indexFor(hash, table.length)];
+        } else if (previous.previous == null) {
+            return null;
+        } else {
+            entry = previous.chain;
+        }
+        while (entry != null && entry.hash != hash) {
+            entry = entry.chain;
+        }
+        return entry;
+    }
+
+    /**
+     * Counts a hit, marks the entry as the most recently used one and returns its result. The entry
+     * may have been evicted since it was found, in which case it is not linked again.
+     */
+    @TruffleBoundary
+    public synchronized Object recordHit(Entry entry) {
+        hits++;
+        if (entry.previous != null) {
+            unlink(entry);
+            linkLast(entry);
+        }
+        return entry.result;
+    }
+
+    @TruffleBoundary
+    public synchronized void setResult(Entry entry, Object result) {
+        entry.result = result;
+    }
+
+    /**
+     * Adds a new entry and evicts the least recently used ones if the cache grew beyond its
+     * maximum size.
+     */
+    @TruffleBoundary
+    public synchronized void add(long hash, Object[] key, Object result) {
+        if (size >= table.length - (table.length >> 2)) {
+            resize();
+        }
+        Entry entry = new Entry(hash, key, result);
+        int index = indexFor(hash, table.length);
+        entry.chain = table[index];
+        table[index] = entry;
+        linkLast(entry);
+        size++;
+        while (maxSize >= 0 && size > maxSize) {
+            remove(root.next);
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized void clear() {
+        Entry entry = root.next;
+        while (entry != root) {
+            Entry next = entry.next;
+            entry.previous = null;
+            entry.next = null;
+            entry = next;
+        }
+        table = new Entry[INITIAL_CAPACITY];
+        size = 0;
+        root.previous = root;
+        root.next = root;
+        hits = 0;
+        misses = 0;
+    }
+
+    private void remove(Entry entry) {
+        int index = indexFor(entry.hash, table.length);
+        Entry current = table[index];
+        if (current == entry) {
+            table[index] = entry.chain;
+        } else {
+            while (current.chain != entry) {
+                current = current.chain;
+            }
+            current.chain = entry.chain;
+        }
+        unlink(entry);
+        entry.previous = null;
+        entry.next = null;
+        size--;
+    }
+
+    private void resize() {
+        Entry[] oldTable = table;
+        Entry[] newTable = new Entry[oldTable.length * 2];
+        for (Entry head : oldTable) {
+            Entry entry = head;
+            while (entry != null) {
+                Entry nextInChain = entry.chain;
+                int index = indexFor(entry.hash, newTable.length);
+                entry.chain = newTable[index];
+                newTable[index] = entry;
+                entry = nextInChain;
+            }
+        }
+        table = newTable;
+    }
+
+    private void linkLast(Entry entry) {
+        entry.previous = root.previous;
+        entry.next = root;
+        root.previous.next = entry;
+        root.previous = entry;
+    }
+
+    private static void unlink(Entry entry) {
+        entry.previous.next = entry.next;
+        entry.next.previous = entry.previous;
+    }
+
+    private static int indexFor(long hash, int length) {
+        int h = (int) (hash ^ (hash >>> 32));
+        h ^= h >>> 16;
+        return h & (length - 1);
+    }
+}
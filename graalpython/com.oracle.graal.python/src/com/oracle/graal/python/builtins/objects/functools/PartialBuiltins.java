@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.functools;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CALL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DICT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETSTATE__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
+import com.oracle.graal.python.builtins.objects.function.PFunction;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.argument.CreateArgumentsNode;
+import com.oracle.graal.python.nodes.argument.keywords.ExecuteKeywordStarargsNode.ExpandKeywordStarargsNode;
+import com.oracle.graal.python.nodes.call.CallDispatchNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PPartial)
+public final class PartialBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PartialBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Merges keyword arguments such that the {@code overrides} replace {@code base} keywords of
+     * the same name. Neither array is modified.
+     */
+    public static PKeyword[] mergeKeywords(PKeyword[] base, PKeyword[] overrides) {
+        if (overrides.length == 0) {
+            return base;
+        } else if (base.length == 0) {
+            return overrides;
+        }
+        PKeyword[] merged = new PKeyword[base.length + overrides.length];
+        PythonUtils.arraycopy(base, 0, merged, 0, base.length);
+        int length = base.length;
+        outer: for (PKeyword keyword : overrides) {
+            for (int i = 0; i < base.length; i++) {
+                if (base[i].getName().equals(keyword.getName())) {
+                    merged[i] = keyword;
+                    continue outer;
+                }
+            }
+            merged[length++] = keyword;
+        }
+        if (length == merged.length) {
+            return merged;
+        }
+        PKeyword[] result = new PKeyword[length];
+        PythonUtils.arraycopy(merged, 0, result, 0, length);
+        return result;
+    }
+
+    static Object[] prependArgs(Object[] partialArgs, Object[] args) {
+        if (args.length == 0) {
+            return partialArgs;
+        } else if (partialArgs.length == 0) {
+            return args;
+        }
+        Object[] result = new Object[partialArgs.length + args.length];
+        PythonUtils.arraycopy(partialArgs, 0, result, 0, partialArgs.length);
+        PythonUtils.arraycopy(args, 0, result, partialArgs.length, args.length);
+        return result;
+    }
+
+    @Builtin(name = __CALL__, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    public abstract static class PartialCallNode extends PythonVarargsBuiltinNode {
+
+        // calls of Python functions go through the dispatch node so that the target is inlined
+        @Specialization(guards = "isPFunction(self.getFunction())")
+        static Object callFunction(VirtualFrame frame, PPartial self, Object[] args, PKeyword[] keywords,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @Cached ExpandKeywordStarargsNode expandKeywordsNode,
+                        @Cached CreateArgumentsNode createArgs,
+                        @Cached CallDispatchNode dispatch) {
+            PFunction function = (PFunction) self.getFunction();
+            Object[] allArgs = prependArgs(getObjectArrayNode.execute(self.getArgs()), args);
+            PKeyword[] allKeywords = mergeKeywords(expandKeywordsNode.executeWith(self.getKeywords()), keywords);
+            return dispatch.executeCall(frame, function, createArgs.execute(function, allArgs, allKeywords));
+        }
+
+        @Specialization(guards = "isPBuiltinFunction(self.getFunction())")
+        static Object callBuiltinFunction(VirtualFrame frame, PPartial self, Object[] args, PKeyword[] keywords,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @Cached ExpandKeywordStarargsNode expandKeywordsNode,
+                        @Cached CreateArgumentsNode createArgs,
+                        @Cached CallDispatchNode dispatch) {
+            PBuiltinFunction function = (PBuiltinFunction) self.getFunction();
+            Object[] allArgs = prependArgs(getObjectArrayNode.execute(self.getArgs()), args);
+            PKeyword[] allKeywords = mergeKeywords(expandKeywordsNode.executeWith(self.getKeywords()), keywords);
+            return dispatch.executeCall(frame, function, createArgs.execute(function, allArgs, allKeywords));
+        }
+
+        @Specialization(guards = "!isFunction(self.getFunction())")
+        static Object callOther(VirtualFrame frame, PPartial self, Object[] args, PKeyword[] keywords,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @Cached ExpandKeywordStarargsNode expandKeywordsNode,
+                        @Cached CallNode callNode) {
+            Object[] allArgs = prependArgs(getObjectArrayNode.execute(self.getArgs()), args);
+            PKeyword[] allKeywords = mergeKeywords(expandKeywordsNode.executeWith(self.getKeywords()), keywords);
+            return callNode.execute(frame, self.getFunction(), allArgs, allKeywords);
+        }
+
+        @Override
+        public Object varArgExecute(VirtualFrame frame, @SuppressWarnings("unused") Object self, Object[] arguments, PKeyword[] keywords) throws VarargsBuiltinDirectInvocationNotSupported {
+            Object[] argsWithoutSelf = new Object[arguments.length - 1];
+            PythonUtils.arraycopy(arguments, 1, argsWithoutSelf, 0, argsWithoutSelf.length);
+            return execute(frame, arguments[0], argsWithoutSelf, keywords);
+        }
+    }
+
+    @Builtin(name = "func", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class FuncNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object func(PPartial self) {
+            return self.getFunction();
+        }
+    }
+
+    @Builtin(name = "args", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class ArgsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object args(PPartial self) {
+            return self.getArgs();
+        }
+    }
+
+    @Builtin(name = "keywords", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class KeywordsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object keywords(PPartial self) {
+            return self.getKeywords();
+        }
+    }
+
+    @Builtin(name = __DICT__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    public abstract static class DictNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "1")
+        static PNone dict(PPartial self, PDict mapping,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            try {
+                lib.setDict(self, mapping);
+            } catch (UnsupportedMessageException e) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw new IllegalStateException(e);
+            }
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "isNoValue(mapping)", limit = "1")
+        Object dict(PPartial self, @SuppressWarnings("unused") PNone mapping,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            PDict dict = lib.getDict(self);
+            if (dict == null) {
+                dict = factory().createDictFixedStorage(self);
+                try {
+                    lib.setDict(self, dict);
+                } catch (UnsupportedMessageException e) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    throw new IllegalStateException(e);
+                }
+            }
+            return dict;
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object repr(VirtualFrame frame, PPartial self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached IsBuiltinClassProfile exactPartialProfile,
+                        @Cached TypeNodes.GetNameNode getNameNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @Cached ExpandKeywordStarargsNode expandKeywordsNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode,
+                        @Cached CastToJavaStringNode castToStringNode) {
+            Object[] args = getObjectArrayNode.execute(self.getArgs());
+            PKeyword[] keywords = expandKeywordsNode.executeWith(self.getKeywords());
+            String[] reprs = new String[1 + args.length + keywords.length];
+            reprs[0] = toRepr(frame, reprNode, castToStringNode, self.getFunction());
+            for (int i = 0; i < args.length; i++) {
+                reprs[1 + i] = toRepr(frame, reprNode, castToStringNode, args[i]);
+            }
+            String[] names = new String[keywords.length];
+            for (int i = 0; i < keywords.length; i++) {
+                names[i] = keywords[i].getName();
+                reprs[1 + args.length + i] = toRepr(frame, reprNode, castToStringNode, keywords[i].getValue());
+            }
+            Object type = lib.getLazyPythonClass(self);
+            // like CPython, use the module qualified name only for the builtin type
+            String typeName = exactPartialProfile.profileClass(type, PythonBuiltinClassType.PPartial) ? "functools.partial" : getNameNode.execute(type);
+            return format(typeName, reprs, names);
+        }
+
+        private String toRepr(VirtualFrame frame, LookupAndCallUnaryNode reprNode, CastToJavaStringNode castToStringNode, Object value) {
+            Object repr = reprNode.executeObject(frame, value);
+            try {
+                return castToStringNode.execute(repr);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.RETURNED_NON_STRING, "__repr__", repr);
+            }
+        }
+
+        @TruffleBoundary
+        private static String format(String typeName, String[] reprs, String[] names) {
+            StringBuilder sb = new StringBuilder(typeName).append('(').append(reprs[0]);
+            int numArgs = reprs.length - names.length;
+            for (int i = 1; i < reprs.length; i++) {
+                sb.append(", ");
+                if (i >= numArgs) {
+                    sb.append(names[i - numArgs]).append('=');
+                }
+                sb.append(reprs[i]);
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        PTuple reduce(PPartial self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary dictLib) {
+            Object keywords = dictLib.length(self.getKeywords()) > 0 ? self.getKeywords() : PNone.NONE;
+            PDict dict = lib.getDict(self);
+            Object state = factory().createTuple(new Object[]{self.getFunction(), self.getArgs(), keywords, dict != null ? dict : PNone.NONE});
+            PTuple args = factory().createTuple(new Object[]{self.getFunction()});
+            return factory().createTuple(new Object[]{lib.getLazyPythonClass(self), args, state});
+        }
+    }
+
+    @Builtin(name = __SETSTATE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class SetStateNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object setState(PPartial self, PTuple state,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary itemLib) {
+            Object[] items = getObjectArrayNode.execute(state);
+            if (items.length != 4 || !itemLib.isCallable(items[0]) || !(items[1] instanceof PTuple) || !(items[2] instanceof PDict || PNone.NONE == items[2])) {
+                throw raise(TypeError, ErrorMessages.INVALID_PARTIAL_STATE);
+            }
+            PTuple args = (PTuple) items[1];
+            PDict keywords = items[2] instanceof PDict ? (PDict) items[2] : factory().createDict();
+            self.setState(items[0], args, keywords);
+            if (items[3] instanceof PDict) {
+                try {
+                    lib.setDict(self, (PDict) items[3]);
+                } catch (UnsupportedMessageException e) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    throw new IllegalStateException(e);
+                }
+            }
+            return PNone.NONE;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object setState(Object self, Object state) {
+            throw raise(TypeError, ErrorMessages.INVALID_PARTIAL_STATE);
+        }
+    }
+}
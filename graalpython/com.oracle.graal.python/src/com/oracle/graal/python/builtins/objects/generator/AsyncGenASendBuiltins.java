@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.generator;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__AWAIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.generator.AsyncGenBuiltins.AsyncGenResultNode;
+import com.oracle.graal.python.builtins.objects.generator.PAsyncGenAwaitable.State;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+/**
+ * Builtins of the awaitable returned by {@code async_generator.asend} and {@code __anext__}. It
+ * resumes the generator with the send value until the generator yields.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PAsyncGenASend)
+public class AsyncGenASendBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return AsyncGenASendBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __AWAIT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AwaitNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object await(PAsyncGenASend self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object iter(PAsyncGenASend self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "send", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class SendNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object send(VirtualFrame frame, PAsyncGenASend self, Object value,
+                        @Cached GeneratorBuiltins.SendNode sendNode,
+                        @Cached AsyncGenResultNode resultNode) {
+            if (self.getState() == State.CLOSED) {
+                throw raise(StopIteration);
+            }
+            Object sendValue = value;
+            if (self.getState() == State.INIT) {
+                if (value == PNone.NONE) {
+                    sendValue = self.getSendValue();
+                }
+                self.setState(State.ITER);
+            }
+            Object result;
+            try {
+                result = sendNode.execute(frame, self.getAsyncGenerator(), sendValue);
+            } catch (PException e) {
+                throw resultNode.unwrapException(frame, self, e);
+            }
+            return resultNode.unwrapValue(self, result);
+        }
+
+        static SendNode create() {
+            return AsyncGenASendBuiltinsFactory.SendNodeFactory.create(null);
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class NextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object next(VirtualFrame frame, PAsyncGenASend self,
+                        @Cached SendNode sendNode) {
+            return sendNode.execute(frame, self, PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "throw", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 4)
+    @GenerateNodeFactory
+    abstract static class ThrowNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        Object sendThrow(VirtualFrame frame, PAsyncGenASend self, Object typ, Object val, Object tb,
+                        @Cached GeneratorBuiltins.ThrowNode throwNode,
+                        @Cached AsyncGenResultNode resultNode) {
+            if (self.getState() == State.CLOSED) {
+                throw raise(StopIteration);
+            }
+            Object result;
+            try {
+                result = throwNode.execute(frame, self.getAsyncGenerator(), typ, val, tb);
+            } catch (PException e) {
+                throw resultNode.unwrapException(frame, self, e);
+            }
+            return resultNode.unwrapValue(self, result);
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object close(PAsyncGenASend self) {
+            self.setState(State.CLOSED);
+            return PNone.NONE;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.generator;
+
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__NAME__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__QUALNAME__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__AITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ANEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+
+import java.util.List;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.code.PCode;
+import com.oracle.graal.python.builtins.objects.generator.PAsyncGenAwaitable.State;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.generator.YieldNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+/**
+ * Builtins of the {@code async_generator} type. Asynchronous generators are {@link PGenerator
+ * generators} created by {@code async def} functions that contain {@code yield}. They are not
+ * resumed directly, but through the {@link PAsyncGenASend} and {@link PAsyncGenAThrow} awaitables
+ * returned by {@code asend}, {@code athrow} and {@code aclose}. Finalization hooks
+ * ({@code sys.set_asyncgen_hooks}) are not supported.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PAsyncGenerator)
+public class AsyncGenBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return AsyncGenBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Translates the outcome of resuming an asynchronous generator for one of its awaitables.
+     */
+    static final class AsyncGenResultNode extends Node {
+        @Child private PRaiseNode raiseNode = PRaiseNode.create();
+        @Child private PythonObjectFactory factory = PythonObjectFactory.create();
+        @Child private IsBuiltinClassProfile isStopIteration = IsBuiltinClassProfile.create();
+        @Child private IsBuiltinClassProfile isStopAsyncIteration = IsBuiltinClassProfile.create();
+        private final ConditionProfile yieldedProfile = ConditionProfile.createBinaryProfile();
+
+        static AsyncGenResultNode create() {
+            return new AsyncGenResultNode();
+        }
+
+        /**
+         * A value produced by {@code yield} completes the awaitable with {@code StopIteration(value)}.
+         * Any other value comes from an {@code await} suspended in the generator and is passed on to
+         * the event loop.
+         */
+        Object unwrapValue(PAsyncGenAwaitable awaitable, Object result) {
+            if (yieldedProfile.profile(awaitable.getAsyncGenerator().getCurrentYieldNode() instanceof YieldNode)) {
+                awaitable.setState(State.CLOSED);
+                PythonLanguage language = lookupLanguageReference(PythonLanguage.class).get();
+                throw raiseNode.raiseExceptionObject(factory.createBaseException(StopIteration, factory.createTuple(new Object[]{result})), language);
+            }
+            return result;
+        }
+
+        /**
+         * A generator that returned ends the asynchronous iteration with {@code StopAsyncIteration},
+         * while a {@code StopAsyncIteration} raised by the generator body becomes a
+         * {@code RuntimeError}, like {@code StopIteration} in generators (PEP 479).
+         */
+        PException unwrapException(VirtualFrame frame, PAsyncGenAwaitable awaitable, PException e) {
+            awaitable.setState(State.CLOSED);
+            PGenerator generator = awaitable.getAsyncGenerator();
+            if (!generator.isRunning()) {
+                // exceptions thrown into an unstarted generator do not finish it on their own
+                generator.markAsFinished();
+            }
+            if (isStopIteration.profileException(e, StopIteration)) {
+                return raiseNode.raise(PythonBuiltinClassType.StopAsyncIteration);
+            } else if (isStopAsyncIteration.profileException(e, PythonBuiltinClassType.StopAsyncIteration)) {
+                return raiseNode.raise(RuntimeError, e.setCatchingFrameAndGetEscapedException(frame), ErrorMessages.ASYNC_GEN_RAISED_STOP_ASYNC_ITERATION);
+            }
+            return e;
+        }
+    }
+
+    @Builtin(name = __NAME__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class NameNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object name(VirtualFrame frame, PGenerator self, Object value,
+                        @Cached GeneratorBuiltins.NameNode nameNode) {
+            return nameNode.execute(frame, self, value);
+        }
+    }
+
+    @Builtin(name = __QUALNAME__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class QualnameNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object qualname(VirtualFrame frame, PGenerator self, Object value,
+                        @Cached GeneratorBuiltins.QualnameNode qualnameNode) {
+            return qualnameNode.execute(frame, self, value);
+        }
+    }
+
+    @Builtin(name = __AITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AIterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object aiter(PGenerator self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __ANEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ANextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object anext(PGenerator self) {
+            return factory().createAsyncGenASend(self, PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "asend", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ASendNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object asend(PGenerator self, Object value) {
+            return factory().createAsyncGenASend(self, value);
+        }
+    }
+
+    @Builtin(name = "athrow", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 4)
+    @GenerateNodeFactory
+    abstract static class AThrowNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        Object athrow(PGenerator self, Object typ, Object val, Object tb) {
+            return factory().createAsyncGenAThrow(self, typ, val, tb, false);
+        }
+    }
+
+    @Builtin(name = "aclose", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ACloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object aclose(PGenerator self) {
+            return factory().createAsyncGenAThrow(self, PNone.NO_VALUE, PNone.NO_VALUE, PNone.NO_VALUE, true);
+        }
+    }
+
+    @Builtin(name = "ag_code", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class GetCodeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object getCode(PGenerator self,
+                        @Cached("createBinaryProfile()") ConditionProfile hasCodeProfile) {
+            PCode code = self.getCode();
+            if (hasCodeProfile.profile(code == null)) {
+                code = factory().createCode(self.getCurrentCallTarget());
+                self.setCode(code);
+            }
+            return code;
+        }
+    }
+
+    @Builtin(name = "ag_running", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class GetRunningNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object getRunning(PGenerator self) {
+            return self.isRunning();
+        }
+    }
+
+    @Builtin(name = "ag_frame", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class GetFrameNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object getFrame(PGenerator self) {
+            return GeneratorBuiltins.GetFrameNode.getFrame(self, factory());
+        }
+    }
+
+    @Builtin(name = "ag_await", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class GetAwaitNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object getAwait(PGenerator self) {
+            return GeneratorBuiltins.GetYieldFromNode.getYieldFrom(self);
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static String repr(PGenerator self) {
+            return self.toString();
+        }
+    }
+}
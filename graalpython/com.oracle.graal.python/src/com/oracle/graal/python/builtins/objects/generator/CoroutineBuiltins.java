@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.generator;
+
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__NAME__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__QUALNAME__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__AWAIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.code.PCode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+/**
+ * Builtins of the {@code coroutine} type. Coroutine objects are {@link PGenerator generators}
+ * created by {@code async def} functions, so most methods delegate to the {@link GeneratorBuiltins
+ * generator implementation}. Unlike generators, coroutines are not iterable; {@code await} iterates
+ * them through the {@link PCoroutineWrapper} returned by {@code __await__}.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PCoroutine)
+public class CoroutineBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return CoroutineBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __NAME__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class NameNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object name(VirtualFrame frame, PGenerator self, Object value,
+                        @Cached GeneratorBuiltins.NameNode nameNode) {
+            return nameNode.execute(frame, self, value);
+        }
+    }
+
+    @Builtin(name = __QUALNAME__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class QualnameNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object qualname(VirtualFrame frame, PGenerator self, Object value,
+                        @Cached GeneratorBuiltins.QualnameNode qualnameNode) {
+            return qualnameNode.execute(frame, self, value);
+        }
+    }
+
+    @Builtin(name = __AWAIT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class AwaitNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object await(PGenerator self) {
+            return factory().createCoroutineWrapper(self);
+        }
+    }
+
+    @Builtin(name = "send", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class SendNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object send(VirtualFrame frame, PGenerator self, Object value,
+                        @Cached GeneratorBuiltins.SendNode sendNode) {
+            return sendNode.execute(frame, self, value);
+        }
+    }
+
+    @Builtin(name = "throw", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 4)
+    @GenerateNodeFactory
+    abstract static class ThrowNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object sendThrow(VirtualFrame frame, PGenerator self, Object typ, Object val, Object tb,
+                        @Cached GeneratorBuiltins.ThrowNode throwNode) {
+            return throwNode.execute(frame, self, typ, val, tb);
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object close(VirtualFrame frame, PGenerator self,
+                        @Cached GeneratorBuiltins.CloseNode closeNode) {
+            return closeNode.execute(frame, self);
+        }
+    }
+
+    @Builtin(name = "cr_code", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class GetCodeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object getCode(PGenerator self,
+                        @Cached("createBinaryProfile()") ConditionProfile hasCodeProfile) {
+            PCode code = self.getCode();
+            if (hasCodeProfile.profile(code == null)) {
+                code = factory().createCode(self.getCurrentCallTarget());
+                self.setCode(code);
+            }
+            return code;
+        }
+    }
+
+    @Builtin(name = "cr_running", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class GetRunningNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object getRunning(PGenerator self) {
+            return self.isRunning();
+        }
+    }
+
+    @Builtin(name = "cr_frame", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class GetFrameNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object getFrame(PGenerator self) {
+            return GeneratorBuiltins.GetFrameNode.getFrame(self, factory());
+        }
+    }
+
+    @Builtin(name = "cr_await", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class GetAwaitNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object getAwait(PGenerator self) {
+            return GeneratorBuiltins.GetYieldFromNode.getYieldFrom(self);
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static String repr(PGenerator self) {
+            return self.toString();
+        }
+    }
+}
@@ -67,8 +67,8 @@ import com.oracle.graal.python.nodes.call.special.LookupAndCallVarargsNode;
 import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
 import com.oracle.graal.python.nodes.frame.MaterializeFrameNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
-import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.generator.AbstractYieldNode;
 import com.oracle.graal.python.nodes.generator.YieldFromNode;
@@ -133,6 +133,9 @@ public class GeneratorBuiltins extends PythonBuiltins {
 
     private static void checkResumable(PythonBuiltinBaseNode node, PGenerator self) {
         if (self.isFinished()) {
+            if (self.isCoroutine()) {
+                throw node.raise(RuntimeError, ErrorMessages.CANNOT_REUSE_ALREADY_AWAITED_COROUTINE);
+            }
             throw node.raise(StopIteration);
         }
         if (self.isRunning()) {
@@ -199,7 +202,7 @@ public class GeneratorBuiltins extends PythonBuiltins {
 
     @Builtin(name = __NAME__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
     @GenerateNodeFactory
-    abstract static class NameNode extends PythonBinaryBuiltinNode {
+    public abstract static class NameNode extends PythonBinaryBuiltinNode {
         @Specialization(guards = "isNoValue(noValue)")
         static Object getName(PGenerator self, @SuppressWarnings("unused") PNone noValue) {
             return self.getName();
@@ -216,11 +219,15 @@ public class GeneratorBuiltins extends PythonBuiltins {
                         @Cached StringNodes.CastToJavaStringCheckedNode cast) {
             return setName(self, cast.cast(value, ErrorMessages.MUST_BE_SET_TO_S_OBJ, __NAME__, "string"));
         }
+
+        public static NameNode create() {
+            return GeneratorBuiltinsFactory.NameNodeFactory.create(null);
+        }
     }
 
     @Builtin(name = __QUALNAME__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
     @GenerateNodeFactory
-    abstract static class QualnameNode extends PythonBinaryBuiltinNode {
+    public abstract static class QualnameNode extends PythonBinaryBuiltinNode {
         @Specialization(guards = "isNoValue(noValue)")
         static Object getQualname(PGenerator self, @SuppressWarnings("unused") PNone noValue) {
             return self.getQualname();
@@ -237,6 +244,10 @@ public class GeneratorBuiltins extends PythonBuiltins {
                         @Cached StringNodes.CastToJavaStringCheckedNode cast) {
             return setQualname(self, cast.cast(value, ErrorMessages.MUST_BE_SET_TO_S_OBJ, __QUALNAME__, "string"));
         }
+
+        public static QualnameNode create() {
+            return GeneratorBuiltinsFactory.QualnameNodeFactory.create(null);
+        }
     }
 
     @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
@@ -258,11 +269,15 @@ public class GeneratorBuiltins extends PythonBuiltins {
             checkResumable(this, self);
             return resumeGeneratorNode.execute(frame, self, null);
         }
+
+        public static NextNode create() {
+            return GeneratorBuiltinsFactory.NextNodeFactory.create(null);
+        }
     }
 
     @Builtin(name = "send", minNumOfPositionalArgs = 2)
     @GenerateNodeFactory
-    public abstract static class SendNode extends PythonBuiltinNode {
+    public abstract static class SendNode extends PythonBinaryBuiltinNode {
 
         @Specialization
         Object send(VirtualFrame frame, PGenerator self, Object value,
@@ -273,12 +288,16 @@ public class GeneratorBuiltins extends PythonBuiltins {
             }
             return resumeGeneratorNode.execute(frame, self, value);
         }
+
+        public static SendNode create() {
+            return GeneratorBuiltinsFactory.SendNodeFactory.create(null);
+        }
     }
 
     // throw(typ[,val[,tb]])
     @Builtin(name = "throw", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 4)
     @GenerateNodeFactory
-    abstract static class ThrowNode extends PythonBuiltinNode {
+    public abstract static class ThrowNode extends PythonQuaternaryBuiltinNode {
 
         @Child private MaterializeFrameNode materializeFrameNode;
         @Child private GetTracebackNode getTracebackNode;
@@ -441,6 +460,10 @@ public class GeneratorBuiltins extends PythonBuiltins {
             throw raise(TypeError, ErrorMessages.THROW_THIRD_ARG_MUST_BE_TRACEBACK);
         }
 
+        public static ThrowNode create() {
+            return GeneratorBuiltinsFactory.ThrowNodeFactory.create(null);
+        }
+
         private MaterializeFrameNode ensureMaterializeFrameNode() {
             if (materializeFrameNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -489,12 +512,16 @@ public class GeneratorBuiltins extends PythonBuiltins {
                 } finally {
                     self.markAsFinished();
                 }
-                throw raise(RuntimeError, ErrorMessages.GENERATOR_IGNORED_EXIT);
+                throw raise(RuntimeError, self.isCoroutine() ? ErrorMessages.COROUTINE_IGNORED_EXIT : ErrorMessages.GENERATOR_IGNORED_EXIT);
             } else {
                 self.markAsFinished();
                 return PNone.NONE;
             }
         }
+
+        public static CloseNode create() {
+            return GeneratorBuiltinsFactory.CloseNodeFactory.create(null);
+        }
     }
 
     @Builtin(name = "gi_code", minNumOfPositionalArgs = 1, isGetter = true)
@@ -70,10 +70,25 @@ public final class PGenerator extends PythonBuiltinObject {
     private final GeneratorInfo generatorInfo;
     // running means it is currently on the stack, not just started
     private boolean running;
+    private final boolean isCoroutine;
+    private final boolean isAsyncGenerator;
 
     public static PGenerator create(String name, String qualname, RootCallTarget[] callTargets, FrameDescriptor frameDescriptor, Object[] arguments, PCell[] closure,
                     ExecutionCellSlots cellSlots, GeneratorInfo generatorInfo, PythonObjectFactory factory,
                     Object iterator) {
+        return create(PythonBuiltinClassType.PGenerator, name, qualname, callTargets, frameDescriptor, arguments, closure, cellSlots, generatorInfo, factory, iterator);
+    }
+
+    /**
+     * Creates a generator-like object of the given builtin class. Coroutine objects (class
+     * {@link PythonBuiltinClassType#PCoroutine}) are generators that are driven by {@code await}
+     * and {@code send} instead of iteration. Asynchronous generators (class
+     * {@link PythonBuiltinClassType#PAsyncGenerator}) are driven through the awaitables returned by
+     * their {@code asend} and {@code athrow} methods.
+     */
+    public static PGenerator create(PythonBuiltinClassType cls, String name, String qualname, RootCallTarget[] callTargets, FrameDescriptor frameDescriptor, Object[] arguments, PCell[] closure,
+                    ExecutionCellSlots cellSlots, GeneratorInfo generatorInfo, PythonObjectFactory factory, Object iterator) {
+        assert cls == PythonBuiltinClassType.PGenerator || cls == PythonBuiltinClassType.PCoroutine || cls == PythonBuiltinClassType.PAsyncGenerator;
         /*
          * Setting up the persistent frame in {@link #arguments}.
          */
@@ -103,7 +118,7 @@ public final class PGenerator extends PythonBuiltinObject {
         }
         assignCells(generatorFrame, cellVarSlots, cellVarAssumptions);
         PArguments.setGeneratorFrameLocals(generatorFrameArguments, factory.createDictLocals(generatorFrame));
-        return new PGenerator(name, qualname, callTargets, generatorInfo, frameDescriptor, arguments, closure, iterator);
+        return new PGenerator(cls, name, qualname, callTargets, generatorInfo, frameDescriptor, arguments, closure, iterator);
     }
 
     @ExplodeLoop
@@ -122,8 +137,11 @@ public final class PGenerator extends PythonBuiltinObject {
         }
     }
 
-    private PGenerator(String name, String qualname, RootCallTarget[] callTargets, GeneratorInfo generatorInfo, FrameDescriptor frameDescriptor, Object[] arguments, PCell[] closure, Object iterator) {
-        super(PythonBuiltinClassType.PGenerator, PythonBuiltinClassType.PGenerator.getInstanceShape());
+    private PGenerator(PythonBuiltinClassType cls, String name, String qualname, RootCallTarget[] callTargets, GeneratorInfo generatorInfo, FrameDescriptor frameDescriptor, Object[] arguments,
+                    PCell[] closure, Object iterator) {
+        super(cls, cls.getInstanceShape());
+        this.isCoroutine = cls == PythonBuiltinClassType.PCoroutine;
+        this.isAsyncGenerator = cls == PythonBuiltinClassType.PAsyncGenerator;
         this.name = name;
         this.qualname = qualname;
         this.callTargets = callTargets;
@@ -191,8 +209,21 @@ public final class PGenerator extends PythonBuiltinObject {
         return isPRangeIterator;
     }
 
+    public boolean isCoroutine() {
+        return isCoroutine;
+    }
+
+    public boolean isAsyncGenerator() {
+        return isAsyncGenerator;
+    }
+
     @Override
     public String toString() {
+        if (isCoroutine) {
+            return "<coroutine object " + qualname + " at " + hashCode() + ">";
+        } else if (isAsyncGenerator) {
+            return "<async_generator object " + qualname + " at " + hashCode() + ">";
+        }
         return "<generator object " + name + " at " + hashCode() + ">";
     }
 
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.hashlib;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * BLAKE2b (RFC 7693) with the full parameter block, i.e. salt, personalization and the tree
+ * hashing parameters that {@code _blake2.blake2b} accepts.
+ */
+public final class Blake2bEngine extends DigestEngine {
+    public static final int BLOCK_SIZE = 128;
+    public static final int MAX_DIGEST_SIZE = 64;
+    public static final int MAX_KEY_SIZE = 64;
+    public static final int SALT_SIZE = 16;
+    public static final int PERSON_SIZE = 16;
+
+    private static final long[] IV = {
+                    0x6a09e667f3bcc908L, 0xbb67ae8584caa73bL, 0x3c6ef372fe94f82bL, 0xa54ff53a5f1d36f1L,
+                    0x510e527fade682d1L, 0x9b05688c2b3e6c1fL, 0x1f83d9abfb41bd6bL, 0x5be0cd19137e2179L
+    };
+
+    static final byte[][] SIGMA = {
+                    {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15},
+                    {14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3},
+                    {11, 8, 12, 0, 5, 2, 15, 13, 10, 14, 3, 6, 7, 1, 9, 4},
+                    {7, 9, 3, 1, 13, 12, 11, 14, 2, 6, 5, 10, 4, 0, 15, 8},
+                    {9, 0, 5, 7, 2, 4, 10, 15, 14, 1, 11, 12, 6, 8, 3, 13},
+                    {2, 12, 6, 10, 0, 11, 8, 3, 4, 13, 7, 5, 15, 14, 1, 9},
+                    {12, 5, 1, 15, 14, 13, 4, 10, 0, 7, 6, 3, 9, 2, 8, 11},
+                    {13, 11, 7, 14, 12, 1, 3, 9, 5, 0, 15, 4, 8, 6, 2, 10},
+                    {6, 15, 14, 9, 11, 3, 0, 8, 12, 2, 13, 7, 1, 4, 10, 5},
+                    {10, 2, 8, 4, 7, 6, 1, 5, 15, 11, 9, 14, 3, 12, 13, 0}
+    };
+
+    private final long[] h;
+    private final byte[] buffer;
+    private int bufferLength;
+    private long counterLow;
+    private long counterHigh;
+    private final int digestSize;
+    private final boolean lastNode;
+
+    private Blake2bEngine(Blake2bEngine other) {
+        super(other.getName());
+        this.h = other.h.clone();
+        this.buffer = other.buffer.clone();
+        this.bufferLength = other.bufferLength;
+        this.counterLow = other.counterLow;
+        this.counterHigh = other.counterHigh;
+        this.digestSize = other.digestSize;
+        this.lastNode = other.lastNode;
+    }
+
+    /**
+     * The arguments must already be validated: {@code key}, {@code salt} and {@code person} are at
+     * most {@link #MAX_KEY_SIZE}, {@link #SALT_SIZE} and {@link #PERSON_SIZE} bytes long.
+     */
+    public Blake2bEngine(int digestSize, byte[] key, byte[] salt, byte[] person, int fanout, int depth, long leafSize, long nodeOffset, int nodeDepth, int innerSize, boolean lastNode) {
+        super("blake2b");
+        this.digestSize = digestSize;
+        this.lastNode = lastNode;
+        this.buffer = new byte[BLOCK_SIZE];
+        this.h = IV.clone();
+        h[0] ^= digestSize | key.length << 8 | fanout << 16 | (long) depth << 24 | leafSize << 32;
+        h[1] ^= nodeOffset;
+        h[2] ^= nodeDepth | innerSize << 8;
+        byte[] block = new byte[BLOCK_SIZE];
+        System.arraycopy(salt, 0, block, 0, salt.length);
+        System.arraycopy(person, 0, block, SALT_SIZE, person.length);
+        for (int i = 0; i < 4; i++) {
+            h[4 + i] ^= readLong(block, i * 8);
+        }
+        if (key.length > 0) {
+            System.arraycopy(key, 0, buffer, 0, key.length);
+            bufferLength = BLOCK_SIZE;
+        }
+    }
+
+    @Override
+    public int getDigestSize() {
+        return digestSize;
+    }
+
+    @Override
+    public int getBlockSize() {
+        return BLOCK_SIZE;
+    }
+
+    @Override
+    @TruffleBoundary
+    public void update(byte[] data, int offset, int length) {
+        int off = offset;
+        int end = offset + length;
+        while (off < end) {
+            // the last block must be compressed with the final flag set, so a full buffer is
+            // only flushed once more input arrives
+            if (bufferLength == BLOCK_SIZE) {
+                incrementCounter(BLOCK_SIZE);
+                compress(buffer, 0, false);
+                bufferLength = 0;
+            }
+            if (bufferLength == 0) {
+                while (end - off > BLOCK_SIZE) {
+                    incrementCounter(BLOCK_SIZE);
+                    compress(data, off, false);
+                    off += BLOCK_SIZE;
+                }
+            }
+            int n = Math.min(end - off, BLOCK_SIZE - bufferLength);
+            System.arraycopy(data, off, buffer, bufferLength, n);
+            bufferLength += n;
+            off += n;
+        }
+    }
+
+    @Override
+    @TruffleBoundary
+    public byte[] digest() {
+        Blake2bEngine last = new Blake2bEngine(this);
+        last.incrementCounter(last.bufferLength);
+        for (int i = last.bufferLength; i < BLOCK_SIZE; i++) {
+            last.buffer[i] = 0;
+        }
+        last.compress(last.buffer, 0, true);
+        byte[] out = new byte[digestSize];
+        for (int i = 0; i < digestSize; i++) {
+            out[i] = (byte) (last.h[i >> 3] >>> ((i & 7) * 8));
+        }
+        return out;
+    }
+
+    @Override
+    public DigestEngine copy() {
+        return new Blake2bEngine(this);
+    }
+
+    private void incrementCounter(int n) {
+        counterLow += n;
+        if (Long.compareUnsigned(counterLow, n) < 0) {
+            counterHigh++;
+        }
+    }
+
+    private void compress(byte[] block, int off, boolean last) {
+        long[] m = new long[16];
+        for (int i = 0; i < 16; i++) {
+            m[i] = readLong(block, off + i * 8);
+        }
+        long[] v = new long[16];
+        System.arraycopy(h, 0, v, 0, 8);
+        System.arraycopy(IV, 0, v, 8, 8);
+        v[12] ^= counterLow;
+        v[13] ^= counterHigh;
+        if (last) {
+            v[14] = ~v[14];
+            if (lastNode) {
+                v[15] = ~v[15];
+            }
+        }
+        for (int round = 0; round < 12; round++) {
+            byte[] s = SIGMA[round % 10];
+            mix(v, 0, 4, 8, 12, m[s[0]], m[s[1]]);
+            mix(v, 1, 5, 9, 13, m[s[2]], m[s[3]]);
+            mix(v, 2, 6, 10, 14, m[s[4]], m[s[5]]);
+            mix(v, 3, 7, 11, 15, m[s[6]], m[s[7]]);
+            mix(v, 0, 5, 10, 15, m[s[8]], m[s[9]]);
+            mix(v, 1, 6, 11, 12, m[s[10]], m[s[11]]);
+            mix(v, 2, 7, 8, 13, m[s[12]], m[s[13]]);
+            mix(v, 3, 4, 9, 14, m[s[14]], m[s[15]]);
+        }
+        for (int i = 0; i < 8; i++) {
+            h[i] ^= v[i] ^ v[i + 8];
+        }
+    }
+
+    private static void mix(long[] v, int a, int b, int c, int d, long x, long y) {
+        v[a] += v[b] + x;
+        v[d] = Long.rotateRight(v[d] ^ v[a], 32);
+        v[c] += v[d];
+        v[b] = Long.rotateRight(v[b] ^ v[c], 24);
+        v[a] += v[b] + y;
+        v[d] = Long.rotateRight(v[d] ^ v[a], 16);
+        v[c] += v[d];
+        v[b] = Long.rotateRight(v[b] ^ v[c], 63);
+    }
+
+    private static long readLong(byte[] data, int off) {
+        return (data[off] & 0xffL) | (data[off + 1] & 0xffL) << 8 | (data[off + 2] & 0xffL) << 16 | (data[off + 3] & 0xffL) << 24 |
+                        (data[off + 4] & 0xffL) << 32 | (data[off + 5] & 0xffL) << 40 | (data[off + 6] & 0xffL) << 48 | (data[off + 7] & 0xffL) << 56;
+    }
+}
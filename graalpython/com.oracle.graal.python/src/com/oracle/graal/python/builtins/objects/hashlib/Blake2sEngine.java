@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.hashlib;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * BLAKE2s (RFC 7693), the 32-bit variant of {@link Blake2bEngine}.
+ */
+public final class Blake2sEngine extends DigestEngine {
+    public static final int BLOCK_SIZE = 64;
+    public static final int MAX_DIGEST_SIZE = 32;
+    public static final int MAX_KEY_SIZE = 32;
+    public static final int SALT_SIZE = 8;
+    public static final int PERSON_SIZE = 8;
+
+    private static final int[] IV = {
+                    0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19
+    };
+
+    private final int[] h;
+    private final byte[] buffer;
+    private int bufferLength;
+    private long counter;
+    private final int digestSize;
+    private final boolean lastNode;
+
+    private Blake2sEngine(Blake2sEngine other) {
+        super(other.getName());
+        this.h = other.h.clone();
+        this.buffer = other.buffer.clone();
+        this.bufferLength = other.bufferLength;
+        this.counter = other.counter;
+        this.digestSize = other.digestSize;
+        this.lastNode = other.lastNode;
+    }
+
+    /**
+     * The arguments must already be validated: {@code key}, {@code salt} and {@code person} are at
+     * most {@link #MAX_KEY_SIZE}, {@link #SALT_SIZE} and {@link #PERSON_SIZE} bytes long and
+     * {@code nodeOffset} fits into 48 bits.
+     */
+    public Blake2sEngine(int digestSize, byte[] key, byte[] salt, byte[] person, int fanout, int depth, long leafSize, long nodeOffset, int nodeDepth, int innerSize, boolean lastNode) {
+        super("blake2s");
+        this.digestSize = digestSize;
+        this.lastNode = lastNode;
+        this.buffer = new byte[BLOCK_SIZE];
+        this.h = IV.clone();
+        h[0] ^= digestSize | key.length << 8 | fanout << 16 | depth << 24;
+        h[1] ^= (int) leafSize;
+        h[2] ^= (int) nodeOffset;
+        h[3] ^= (int) (nodeOffset >>> 32) | nodeDepth << 16 | innerSize << 24;
+        byte[] block = new byte[SALT_SIZE + PERSON_SIZE];
+        System.arraycopy(salt, 0, block, 0, salt.length);
+        System.arraycopy(person, 0, block, SALT_SIZE, person.length);
+        for (int i = 0; i < 4; i++) {
+            h[4 + i] ^= readInt(block, i * 4);
+        }
+        if (key.length > 0) {
+            System.arraycopy(key, 0, buffer, 0, key.length);
+            bufferLength = BLOCK_SIZE;
+        }
+    }
+
+    @Override
+    public int getDigestSize() {
+        return digestSize;
+    }
+
+    @Override
+    public int getBlockSize() {
+        return BLOCK_SIZE;
+    }
+
+    @Override
+    @TruffleBoundary
+    public void update(byte[] data, int offset, int length) {
+        int off = offset;
+        int end = offset + length;
+        while (off < end) {
+            if (bufferLength == BLOCK_SIZE) {
+                counter += BLOCK_SIZE;
+                compress(buffer, 0, false);
+                bufferLength = 0;
+            }
+            if (bufferLength == 0) {
+                while (end - off > BLOCK_SIZE) {
+                    counter += BLOCK_SIZE;
+                    compress(data, off, false);
+                    off += BLOCK_SIZE;
+                }
+            }
+            int n = Math.min(end - off, BLOCK_SIZE - bufferLength);
+            System.arraycopy(data, off, buffer, bufferLength, n);
+            bufferLength += n;
+            off += n;
+        }
+    }
+
+    @Override
+    @TruffleBoundary
+    public byte[] digest() {
+        Blake2sEngine last = new Blake2sEngine(this);
+        last.counter += last.bufferLength;
+        for (int i = last.bufferLength; i < BLOCK_SIZE; i++) {
+            last.buffer[i] = 0;
+        }
+        last.compress(last.buffer, 0, true);
+        byte[] out = new byte[digestSize];
+        for (int i = 0; i < digestSize; i++) {
+            out[i] = (byte) (last.h[i >> 2] >>> ((i & 3) * 8));
+        }
+        return out;
+    }
+
+    @Override
+    public DigestEngine copy() {
+        return new Blake2sEngine(this);
+    }
+
+    private void compress(byte[] block, int off, boolean last) {
+        int[] m = new int[16];
+        for (int i = 0; i < 16; i++) {
+            m[i] = readInt(block, off + i * 4);
+        }
+        int[] v = new int[16];
+        System.arraycopy(h, 0, v, 0, 8);
+        System.arraycopy(IV, 0, v, 8, 8);
+        v[12] ^= (int) counter;
+        v[13] ^= (int) (counter >>> 32);
+        if (last) {
+            v[14] = ~v[14];
+            if (lastNode) {
+                v[15] = ~v[15];
+            }
+        }
+        for (int round = 0; round < 10; round++) {
+            byte[] s = Blake2bEngine.SIGMA[round];
+            mix(v, 0, 4, 8, 12, m[s[0]], m[s[1]]);
+            mix(v, 1, 5, 9, 13, m[s[2]], m[s[3]]);
+            mix(v, 2, 6, 10, 14, m[s[4]], m[s[5]]);
+            mix(v, 3, 7, 11, 15, m[s[6]], m[s[7]]);
+            mix(v, 0, 5, 10, 15, m[s[8]], m[s[9]]);
+            mix(v, 1, 6, 11, 12, m[s[10]], m[s[11]]);
+            mix(v, 2, 7, 8, 13, m[s[12]], m[s[13]]);
+            mix(v, 3, 4, 9, 14, m[s[14]], m[s[15]]);
+        }
+        for (int i = 0; i < 8; i++) {
+            h[i] ^= v[i] ^ v[i + 8];
+        }
+    }
+
+    private static void mix(int[] v, int a, int b, int c, int d, int x, int y) {
+        v[a] += v[b] + x;
+        v[d] = Integer.rotateRight(v[d] ^ v[a], 16);
+        v[c] += v[d];
+        v[b] = Integer.rotateRight(v[b] ^ v[c], 12);
+        v[a] += v[b] + y;
+        v[d] = Integer.rotateRight(v[d] ^ v[a], 8);
+        v[c] += v[d];
+        v[b] = Integer.rotateRight(v[b] ^ v[c], 7);
+    }
+
+    private static int readInt(byte[] data, int off) {
+        return (data[off] & 0xff) | (data[off + 1] & 0xff) << 8 | (data[off + 2] & 0xff) << 16 | (data[off + 3] & 0xff) << 24;
+    }
+}
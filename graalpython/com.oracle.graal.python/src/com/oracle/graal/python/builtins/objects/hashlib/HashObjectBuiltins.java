@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.hashlib;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = {PythonBuiltinClassType.PMD5, PythonBuiltinClassType.PSHA1, PythonBuiltinClassType.PSHA224, PythonBuiltinClassType.PSHA256,
+                PythonBuiltinClassType.PSHA384, PythonBuiltinClassType.PSHA512, PythonBuiltinClassType.PSHA3_224, PythonBuiltinClassType.PSHA3_256,
+                PythonBuiltinClassType.PSHA3_384, PythonBuiltinClassType.PSHA3_512, PythonBuiltinClassType.PShake128, PythonBuiltinClassType.PShake256,
+                PythonBuiltinClassType.PBlake2b, PythonBuiltinClassType.PBlake2s})
+public class HashObjectBuiltins extends PythonBuiltins {
+    // the largest SHAKE digest CPython agrees to produce
+    private static final int MAX_SHAKE_LENGTH = 1 << 29;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return HashObjectBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "update", minNumOfPositionalArgs = 2, parameterNames = {"$self", "obj"})
+    @GenerateNodeFactory
+    abstract static class UpdateNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone update(PHashObject self, Object obj,
+                        @Cached HashUpdateNode updateNode) {
+            updateNode.execute(self, obj);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object copy(PHashObject self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            return factory().createHashObject(lib.getLazyPythonClass(self), self.copyEngine());
+        }
+    }
+
+    // digest() for the fixed size hashes, digest(length) for SHAKE
+    @Builtin(name = "digest", minNumOfPositionalArgs = 1, parameterNames = {"$self", "length"})
+    @GenerateNodeFactory
+    abstract static class DigestNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object digest(VirtualFrame frame, PHashObject self, Object length,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return factory().createBytes(computeDigest(frame, this, "digest", self, length, lib));
+        }
+    }
+
+    @Builtin(name = "hexdigest", minNumOfPositionalArgs = 1, parameterNames = {"$self", "length"})
+    @GenerateNodeFactory
+    abstract static class HexdigestNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object hexdigest(VirtualFrame frame, PHashObject self, Object length,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return toHex(computeDigest(frame, this, "hexdigest", self, length, lib));
+        }
+
+        @TruffleBoundary
+        private static String toHex(byte[] digest) {
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+                sb.append(Character.forDigit(b & 0xf, 16));
+            }
+            return sb.toString();
+        }
+    }
+
+    private static byte[] computeDigest(VirtualFrame frame, PythonBuiltinBaseNode node, String method, PHashObject self, Object length, PythonObjectLibrary lib) {
+        DigestEngine engine = self.getEngine();
+        if (engine instanceof KeccakEngine && ((KeccakEngine) engine).isShake()) {
+            if (length == PNone.NO_VALUE) {
+                throw node.raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, method, "length", 1);
+            }
+            int n = lib.asSizeWithState(length, PArguments.getThreadState(frame));
+            if (n < 0) {
+                throw node.raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "length");
+            } else if (n >= MAX_SHAKE_LENGTH) {
+                throw node.raise(ValueError, ErrorMessages.S_IS_TOO_LARGE, "length");
+            }
+            return self.digest(n);
+        }
+        if (length != PNone.NO_VALUE) {
+            throw node.raise(TypeError, ErrorMessages.S_TAKES_NO_ARGUMENTS_D_GIVEN, method, 1);
+        }
+        return self.digest();
+    }
+
+    @Builtin(name = "name", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class NameNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object name(PHashObject self) {
+            return self.getEngine().getName();
+        }
+    }
+
+    @Builtin(name = "digest_size", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class DigestSizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int digestSize(PHashObject self) {
+            return self.getEngine().getDigestSize();
+        }
+    }
+
+    @Builtin(name = "block_size", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class BlockSizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int blockSize(PHashObject self) {
+            return self.getEngine().getBlockSize();
+        }
+    }
+}
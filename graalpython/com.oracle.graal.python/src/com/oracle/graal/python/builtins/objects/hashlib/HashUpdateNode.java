@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.hashlib;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.GetInternalByteArrayNode;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+/**
+ * Feeds a bytes-like object into a hash object. Byte storages of {@code bytes} and
+ * {@code bytearray}, also when viewed by a C-contiguous {@code memoryview}, are handed to the engine
+ * as they are, other buffers are copied once.
+ */
+@ImportStatic(PGuards.class)
+public abstract class HashUpdateNode extends PNodeWithContext {
+
+    public abstract void execute(PHashObject self, Object data);
+
+    @Specialization
+    static void doBytes(PHashObject self, PBytesLike data,
+                    @Cached GetInternalByteArrayNode getBytes) {
+        SequenceStorage storage = data.getSequenceStorage();
+        self.update(getBytes.execute(storage), 0, storage.length());
+    }
+
+    @Specialization(guards = "isContiguousByteView(view)")
+    static void doMemoryView(PHashObject self, PMemoryView view,
+                    @Cached PRaiseNode raise) {
+        view.checkReleased(raise);
+        ByteSequenceStorage storage = (ByteSequenceStorage) ((PSequence) view.getBuffer()).getSequenceStorage();
+        int length = view.getLength();
+        MemoryViewNodes.checkBounds(storage.length(), view.getOffset(), length, raise);
+        self.update(storage.getInternalByteArray(), view.getOffset(), length);
+    }
+
+    @Specialization(guards = "isString(data)")
+    static void doString(@SuppressWarnings("unused") PHashObject self, @SuppressWarnings("unused") Object data,
+                    @Cached PRaiseNode raise) {
+        throw raise.raise(PythonBuiltinClassType.TypeError, ErrorMessages.UNICODE_OBJECTS_MUST_BE_ENCODED_BEFORE_HASHING);
+    }
+
+    @Specialization(guards = {"!isBytes(data)", "!isString(data)"}, limit = "3")
+    static void doBuffer(PHashObject self, Object data,
+                    @CachedLibrary("data") PythonObjectLibrary lib,
+                    @Cached PRaiseNode raise) {
+        byte[] bytes;
+        try {
+            bytes = lib.getBufferBytes(data);
+        } catch (UnsupportedMessageException e) {
+            throw raise.raise(PythonBuiltinClassType.TypeError, ErrorMessages.OBJ_SUPPORTING_BUFFER_API_REQUIRED);
+        }
+        self.update(bytes, 0, bytes.length);
+    }
+
+    static boolean isContiguousByteView(PMemoryView view) {
+        Object buffer = view.getBuffer();
+        return buffer instanceof PSequence && ((PSequence) buffer).getSequenceStorage() instanceof ByteSequenceStorage && view.isCContiguous();
+    }
+
+    public static HashUpdateNode create() {
+        return HashUpdateNodeGen.create();
+    }
+}
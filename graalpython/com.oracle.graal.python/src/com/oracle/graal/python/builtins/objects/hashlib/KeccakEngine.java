@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.hashlib;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * SHA-3 and SHAKE (FIPS 202) on top of the Keccak-f[1600] permutation. The sponge absorbs whole
+ * blocks straight from the input array; only a trailing partial block is XORed in byte by byte.
+ */
+public final class KeccakEngine extends DigestEngine {
+    private static final long[] ROUND_CONSTANTS = {
+                    0x0000000000000001L, 0x0000000000008082L, 0x800000000000808aL, 0x8000000080008000L,
+                    0x000000000000808bL, 0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L,
+                    0x000000000000008aL, 0x0000000000000088L, 0x0000000080008009L, 0x000000008000000aL,
+                    0x000000008000808bL, 0x800000000000008bL, 0x8000000000008089L, 0x8000000000008003L,
+                    0x8000000000008002L, 0x8000000000000080L, 0x000000000000800aL, 0x800000008000000aL,
+                    0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
+    };
+    private static final int[] ROTATIONS = {1, 3, 6, 10, 15, 21, 28, 36, 45, 55, 2, 14, 27, 41, 56, 8, 25, 43, 62, 18, 39, 61, 20, 44};
+    private static final int[] PI_LANES = {10, 7, 11, 17, 18, 3, 5, 16, 8, 21, 24, 4, 15, 23, 19, 13, 12, 2, 20, 14, 22, 9, 6, 1};
+
+    public static final byte SHA3_SUFFIX = 0x06;
+    public static final byte SHAKE_SUFFIX = 0x1f;
+
+    private final long[] state;
+    private final int rate;
+    private final int digestSize;
+    private final byte suffix;
+    /** The number of bytes of the current block that were already absorbed. */
+    private int position;
+
+    private KeccakEngine(String name, int rate, int digestSize, byte suffix, long[] state, int position) {
+        super(name);
+        this.rate = rate;
+        this.digestSize = digestSize;
+        this.suffix = suffix;
+        this.state = state;
+        this.position = position;
+    }
+
+    public static KeccakEngine createSha3(String name, int digestSize) {
+        return new KeccakEngine(name, 200 - 2 * digestSize, digestSize, SHA3_SUFFIX, new long[25], 0);
+    }
+
+    /** Creates a SHAKE instance with the given security strength in bits. */
+    public static KeccakEngine createShake(String name, int bits) {
+        return new KeccakEngine(name, 200 - bits / 4, 0, SHAKE_SUFFIX, new long[25], 0);
+    }
+
+    public boolean isShake() {
+        return suffix == SHAKE_SUFFIX;
+    }
+
+    /** Returns the digest size in bytes, which is {@code 0} for the variable length SHAKE. */
+    @Override
+    public int getDigestSize() {
+        return digestSize;
+    }
+
+    @Override
+    public int getBlockSize() {
+        return rate;
+    }
+
+    public int getRateBits() {
+        return rate * 8;
+    }
+
+    public int getCapacityBits() {
+        return 1600 - rate * 8;
+    }
+
+    public byte getSuffix() {
+        return suffix;
+    }
+
+    @Override
+    @TruffleBoundary
+    public void update(byte[] data, int offset, int length) {
+        int off = offset;
+        int end = offset + length;
+        while (off < end) {
+            if (position == 0 && end - off >= rate) {
+                for (int i = 0; i < rate / 8; i++) {
+                    state[i] ^= readLong(data, off + i * 8);
+                }
+                off += rate;
+                permute(state);
+            } else {
+                int n = Math.min(end - off, rate - position);
+                for (int i = 0; i < n; i++) {
+                    xorByte(state, position + i, data[off + i]);
+                }
+                off += n;
+                position += n;
+                if (position == rate) {
+                    permute(state);
+                    position = 0;
+                }
+            }
+        }
+    }
+
+    @Override
+    public byte[] digest() {
+        return digest(digestSize);
+    }
+
+    /** Squeezes {@code length} bytes from a finalized copy of the sponge. */
+    @TruffleBoundary
+    public byte[] digest(int length) {
+        long[] s = state.clone();
+        xorByte(s, position, suffix);
+        xorByte(s, rate - 1, (byte) 0x80);
+        permute(s);
+        byte[] out = new byte[length];
+        int outPosition = 0;
+        while (true) {
+            int n = Math.min(length - outPosition, rate);
+            for (int i = 0; i < n; i++) {
+                out[outPosition + i] = (byte) (s[i >> 3] >>> ((i & 7) * 8));
+            }
+            outPosition += n;
+            if (outPosition == length) {
+                return out;
+            }
+            permute(s);
+        }
+    }
+
+    @Override
+    public DigestEngine copy() {
+        return new KeccakEngine(getName(), rate, digestSize, suffix, state.clone(), position);
+    }
+
+    private static void xorByte(long[] s, int index, byte b) {
+        s[index >> 3] ^= (b & 0xffL) << ((index & 7) * 8);
+    }
+
+    private static long readLong(byte[] data, int off) {
+        return (data[off] & 0xffL) | (data[off + 1] & 0xffL) << 8 | (data[off + 2] & 0xffL) << 16 | (data[off + 3] & 0xffL) << 24 |
+                        (data[off + 4] & 0xffL) << 32 | (data[off + 5] & 0xffL) << 40 | (data[off + 6] & 0xffL) << 48 | (data[off + 7] & 0xffL) << 56;
+    }
+
+    private static void permute(long[] s) {
+        long[] c = new long[5];
+        for (int round = 0; round < 24; round++) {
+            // theta
+            for (int i = 0; i < 5; i++) {
+                c[i] = s[i] ^ s[i + 5] ^ s[i + 10] ^ s[i + 15] ^ s[i + 20];
+            }
+            for (int i = 0; i < 5; i++) {
+                long t = c[(i + 4) % 5] ^ Long.rotateLeft(c[(i + 1) % 5], 1);
+                for (int j = 0; j < 25; j += 5) {
+                    s[j + i] ^= t;
+                }
+            }
+            // rho and pi
+            long t = s[1];
+            for (int i = 0; i < 24; i++) {
+                int j = PI_LANES[i];
+                long next = s[j];
+                s[j] = Long.rotateLeft(t, ROTATIONS[i]);
+                t = next;
+            }
+            // chi
+            for (int j = 0; j < 25; j += 5) {
+                for (int i = 0; i < 5; i++) {
+                    c[i] = s[j + i];
+                }
+                for (int i = 0; i < 5; i++) {
+                    s[j + i] ^= ~c[(i + 1) % 5] & c[(i + 2) % 5];
+                }
+            }
+            // iota
+            s[0] ^= ROUND_CONSTANTS[round];
+        }
+    }
+}
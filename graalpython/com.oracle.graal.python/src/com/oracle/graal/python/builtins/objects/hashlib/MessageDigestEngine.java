@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.hashlib;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * MD5, SHA-1 and the SHA-2 family, backed by the platform's {@link MessageDigest} implementations.
+ */
+public final class MessageDigestEngine extends DigestEngine {
+    private final int blockSize;
+    private final MessageDigest md;
+
+    private MessageDigestEngine(String name, int blockSize, MessageDigest md) {
+        super(name);
+        this.blockSize = blockSize;
+        this.md = md;
+    }
+
+    @TruffleBoundary
+    public static MessageDigestEngine create(String name, String algorithm, int blockSize) {
+        try {
+            return new MessageDigestEngine(name, blockSize, MessageDigest.getInstance(algorithm));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to provide these algorithms
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    @Override
+    @TruffleBoundary
+    public int getDigestSize() {
+        return md.getDigestLength();
+    }
+
+    @Override
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    @Override
+    @TruffleBoundary
+    public void update(byte[] data, int offset, int length) {
+        md.update(data, offset, length);
+    }
+
+    @Override
+    @TruffleBoundary
+    public byte[] digest() {
+        return cloneDigest().digest();
+    }
+
+    @Override
+    @TruffleBoundary
+    public DigestEngine copy() {
+        return new MessageDigestEngine(getName(), blockSize, cloneDigest());
+    }
+
+    private MessageDigest cloneDigest() {
+        try {
+            return (MessageDigest) md.clone();
+        } catch (CloneNotSupportedException e) {
+            // the digests of the default providers are all cloneable
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.hashlib;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * An instance of one of the hash types of the {@code _md5}, {@code _sha1}, {@code _sha256},
+ * {@code _sha512}, {@code _sha3} and {@code _blake2} modules. Updating, digesting and copying
+ * synchronize on the hash object, like CPython's per-object lock, so threads sharing an object
+ * never see a half-updated state.
+ */
+public final class PHashObject extends PythonBuiltinObject {
+    private final DigestEngine engine;
+
+    public PHashObject(Object cls, Shape instanceShape, DigestEngine engine) {
+        super(cls, instanceShape);
+        this.engine = engine;
+    }
+
+    public DigestEngine getEngine() {
+        return engine;
+    }
+
+    @TruffleBoundary
+    public synchronized void update(byte[] data, int offset, int length) {
+        engine.update(data, offset, length);
+    }
+
+    @TruffleBoundary
+    public synchronized byte[] digest() {
+        return engine.digest();
+    }
+
+    /** The digest of the given length of a SHAKE hash. */
+    @TruffleBoundary
+    public synchronized byte[] digest(int length) {
+        return ((KeccakEngine) engine).digest(length);
+    }
+
+    @TruffleBoundary
+    public synchronized DigestEngine copyEngine() {
+        return engine.copy();
+    }
+}
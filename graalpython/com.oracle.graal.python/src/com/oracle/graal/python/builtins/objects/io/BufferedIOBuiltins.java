@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.io;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ENTER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EXIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETSTATE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.PosixResources;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+/**
+ * The methods shared by {@code BufferedReader}, {@code BufferedWriter} and {@code BufferedRandom}.
+ * Reading and writing methods are in {@link BufferedReaderBuiltins} and
+ * {@link BufferedWriterBuiltins}.
+ */
+@CoreFunctions(extendClasses = {PythonBuiltinClassType.PBufferedReader, PythonBuiltinClassType.PBufferedWriter, PythonBuiltinClassType.PBufferedRandom})
+public class BufferedIOBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return BufferedIOBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Converts an optional size argument, where {@code None} and a missing argument mean "no
+     * limit" ({@code -1}).
+     */
+    static int toSize(VirtualFrame frame, Object size, PythonObjectLibrary lib) {
+        if (PGuards.isPNone(size)) {
+            return -1;
+        }
+        return lib.asSizeWithState(size, PArguments.getThreadState(frame));
+    }
+
+    // BufferedReader(raw, buffer_size=DEFAULT_BUFFER_SIZE) and friends
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "raw", "buffer_size"})
+    @GenerateNodeFactory
+    public abstract static class BufferedInitNode extends PythonTernaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        PNone init(VirtualFrame frame, PBuffered self, Object raw, Object bufferSize,
+                        @CachedLibrary("raw") PythonObjectLibrary rawLib,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached IsSubtypeNode isSubtype) {
+            int size = PBuffered.DEFAULT_BUFFER_SIZE;
+            if (bufferSize != PNone.NO_VALUE) {
+                size = lib.asSizeWithState(bufferSize, PArguments.getThreadState(frame));
+                if (size <= 0) {
+                    throw raise(ValueError, ErrorMessages.BUF_SIZE_MUST_BE_POSITIVE);
+                }
+            }
+            Object cls = lib.getLazyPythonClass(self);
+            boolean random = isSubtype.execute(frame, cls, PythonBuiltinClassType.PBufferedRandom);
+            boolean readable = random || isSubtype.execute(frame, cls, PythonBuiltinClassType.PBufferedReader);
+            boolean writable = random || !readable;
+            if (readable && !lib.isTrue(rawLib.lookupAndCallRegularMethod(raw, frame, "readable"))) {
+                throw PBuffered.raiseUnsupported(ErrorMessages.STREAM_NOT_READABLE);
+            }
+            if (writable && !lib.isTrue(rawLib.lookupAndCallRegularMethod(raw, frame, "writable"))) {
+                throw PBuffered.raiseUnsupported(ErrorMessages.STREAM_NOT_WRITABLE);
+            }
+            if (random && !lib.isTrue(rawLib.lookupAndCallRegularMethod(raw, frame, "seekable"))) {
+                throw PBuffered.raiseUnsupported(ErrorMessages.STREAM_NOT_SEEKABLE);
+            }
+            PosixResources resources = null;
+            int fd = -1;
+            if (rawLib.getLazyPythonClass(raw) == getCore().lookupBuiltinModule("_io").getAttribute("FileIO")) {
+                // a plain FileIO can be bypassed and its channel used directly
+                fd = lib.asSizeWithState(rawLib.lookupAndCallRegularMethod(raw, frame, "fileno"), PArguments.getThreadState(frame));
+                resources = getContext().getResources();
+            }
+            self.init(raw, size, readable, writable, resources, fd);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "flush", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedFlushNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static PNone flush(PBuffered self) {
+            self.flush();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedCloseNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static PNone close(PBuffered self) {
+            self.close();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "detach", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedDetachNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object detach(PBuffered self) {
+            return self.detach();
+        }
+    }
+
+    @Builtin(name = "seek", minNumOfPositionalArgs = 2, parameterNames = {"$self", "target", "whence"})
+    @GenerateNodeFactory
+    public abstract static class BufferedSeekNode extends PythonTernaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        static long seek(VirtualFrame frame, PBuffered self, Object target, Object whence,
+                        @CachedLibrary("target") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary whenceLib) {
+            int w = whence == PNone.NO_VALUE ? 0 : whenceLib.asSizeWithState(whence, PArguments.getThreadState(frame));
+            return self.seek(lib.asJavaLongWithState(target, PArguments.getThreadState(frame)), w);
+        }
+    }
+
+    @Builtin(name = "tell", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedTellNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static long tell(PBuffered self) {
+            return self.tell();
+        }
+    }
+
+    @Builtin(name = "truncate", minNumOfPositionalArgs = 1, parameterNames = {"$self", "pos"})
+    @GenerateNodeFactory
+    public abstract static class BufferedTruncateNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static Object truncate(PBuffered self, Object pos) {
+            return self.truncate(pos == PNone.NO_VALUE ? PNone.NONE : pos);
+        }
+    }
+
+    @Builtin(name = "fileno", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedFilenoNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object fileno(VirtualFrame frame, PBuffered self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self.getRaw(), frame, "fileno");
+        }
+    }
+
+    @Builtin(name = "isatty", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedIsattyNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object isatty(VirtualFrame frame, PBuffered self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self.getRaw(), frame, "isatty");
+        }
+    }
+
+    @Builtin(name = "readable", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedReadableNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object readable(VirtualFrame frame, PBuffered self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self.getRaw(), frame, "readable");
+        }
+    }
+
+    @Builtin(name = "writable", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedWritableNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object writable(VirtualFrame frame, PBuffered self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self.getRaw(), frame, "writable");
+        }
+    }
+
+    @Builtin(name = "seekable", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedSeekableNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object seekable(VirtualFrame frame, PBuffered self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self.getRaw(), frame, "seekable");
+        }
+    }
+
+    @Builtin(name = "closed", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class BufferedClosedNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object closed(VirtualFrame frame, PBuffered self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAttributeStrict(self.getRaw(), frame, "closed");
+        }
+    }
+
+    @Builtin(name = "name", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class BufferedNameNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object name(VirtualFrame frame, PBuffered self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAttributeStrict(self.getRaw(), frame, "name");
+        }
+    }
+
+    @Builtin(name = "mode", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class BufferedModeNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object mode(VirtualFrame frame, PBuffered self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAttributeStrict(self.getRaw(), frame, "mode");
+        }
+    }
+
+    @Builtin(name = "raw", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class BufferedRawNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object raw(PBuffered self) {
+            return self.getRaw();
+        }
+    }
+
+    @Builtin(name = __ENTER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedEnterNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object enter(PBuffered self) {
+            self.checkOpen();
+            return self;
+        }
+    }
+
+    @Builtin(name = __EXIT__, minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    public abstract static class BufferedExitNode extends PythonBuiltinNode {
+
+        @Specialization(limit = "2")
+        static Object exit(VirtualFrame frame, Object self, @SuppressWarnings("unused") Object[] args,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self, frame, "close");
+        }
+    }
+
+    @Builtin(name = __GETSTATE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedGetStateNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        Object getState(Object self) {
+            throw raise(TypeError, ErrorMessages.CANNOT_SERIALIZE_P_OBJ, self);
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedReprNode extends PythonUnaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        Object repr(VirtualFrame frame, PBuffered self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary rawLib,
+                        @Cached TypeNodes.GetNameNode getNameNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode) {
+            Object cls = lib.getLazyPythonClass(self);
+            Object name = rawLib.lookupAttribute(self.getRaw(), frame, "name");
+            String nameRepr = null;
+            if (name != PNone.NO_VALUE) {
+                Object r = reprNode.executeObject(frame, name);
+                nameRepr = r instanceof PString ? ((PString) r).getValue() : (String) r;
+            }
+            return format(getNameNode.execute(cls), cls instanceof PythonBuiltinClassType, nameRepr);
+        }
+
+        @TruffleBoundary
+        static String format(String typeName, boolean builtin, String nameRepr) {
+            StringBuilder sb = new StringBuilder("<");
+            if (builtin) {
+                sb.append("_io.");
+            }
+            sb.append(typeName);
+            if (nameRepr != null) {
+                sb.append(" name=").append(nameRepr);
+            }
+            return sb.append('>').toString();
+        }
+    }
+}
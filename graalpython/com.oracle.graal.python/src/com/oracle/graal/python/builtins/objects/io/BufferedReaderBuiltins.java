@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.io;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETITEM__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = {PythonBuiltinClassType.PBufferedReader, PythonBuiltinClassType.PBufferedRandom})
+public class BufferedReaderBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return BufferedReaderBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "read", minNumOfPositionalArgs = 1, parameterNames = {"$self", "size"})
+    @GenerateNodeFactory
+    public abstract static class BufferedReadNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        Object read(VirtualFrame frame, PBuffered self, Object size,
+                        @CachedLibrary("size") PythonObjectLibrary lib) {
+            byte[] result = self.read(BufferedIOBuiltins.toSize(frame, size, lib));
+            return result == null ? PNone.NONE : factory().createBytes(result);
+        }
+    }
+
+    @Builtin(name = "read1", minNumOfPositionalArgs = 1, parameterNames = {"$self", "size"})
+    @GenerateNodeFactory
+    public abstract static class BufferedRead1Node extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        Object read1(VirtualFrame frame, PBuffered self, Object size,
+                        @CachedLibrary("size") PythonObjectLibrary lib) {
+            return factory().createBytes(self.read1(BufferedIOBuiltins.toSize(frame, size, lib)));
+        }
+    }
+
+    @Builtin(name = "peek", minNumOfPositionalArgs = 1, parameterNames = {"$self", "size"})
+    @GenerateNodeFactory
+    public abstract static class BufferedPeekNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        Object peek(PBuffered self, @SuppressWarnings("unused") Object size) {
+            return factory().createBytes(self.peek());
+        }
+    }
+
+    @Builtin(name = "readline", minNumOfPositionalArgs = 1, parameterNames = {"$self", "size"})
+    @GenerateNodeFactory
+    public abstract static class BufferedReadlineNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        Object readline(VirtualFrame frame, PBuffered self, Object size,
+                        @CachedLibrary("size") PythonObjectLibrary lib) {
+            return factory().createBytes(self.readline(BufferedIOBuiltins.toSize(frame, size, lib)));
+        }
+    }
+
+    @Builtin(name = "readlines", minNumOfPositionalArgs = 1, parameterNames = {"$self", "hint"})
+    @GenerateNodeFactory
+    public abstract static class BufferedReadlinesNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        PList readlines(VirtualFrame frame, PBuffered self, Object hint,
+                        @CachedLibrary("hint") PythonObjectLibrary lib) {
+            int limit = BufferedIOBuiltins.toSize(frame, hint, lib);
+            ArrayList<Object> lines = new ArrayList<>();
+            long total = 0;
+            while (true) {
+                byte[] line = self.readline(-1);
+                if (line.length == 0) {
+                    break;
+                }
+                add(lines, factory().createBytes(line));
+                total += line.length;
+                if (limit > 0 && total >= limit) {
+                    break;
+                }
+            }
+            return factory().createList(toArray(lines));
+        }
+
+        @TruffleBoundary
+        private static void add(ArrayList<Object> lines, Object line) {
+            lines.add(line);
+        }
+
+        @TruffleBoundary
+        private static Object[] toArray(ArrayList<Object> lines) {
+            return lines.toArray();
+        }
+    }
+
+    private static boolean isByteStorage(Object buffer) {
+        if (buffer instanceof PByteArray) {
+            SequenceStorage storage = ((PByteArray) buffer).getSequenceStorage();
+            return storage instanceof ByteSequenceStorage;
+        }
+        return false;
+    }
+
+    private static Object readInto(PythonBuiltinBaseNode node, PythonObjectFactory factory, VirtualFrame frame, PBuffered self, Object buffer, boolean readInto1, PythonObjectLibrary lib) {
+        if (isByteStorage(buffer)) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) ((PByteArray) buffer).getSequenceStorage();
+            int count;
+            if (readInto1) {
+                byte[] data = self.read1(storage.length());
+                System.arraycopy(data, 0, storage.getInternalByteArray(), 0, data.length);
+                count = data.length;
+            } else {
+                count = self.readInto(storage.getInternalByteArray(), 0, storage.length());
+            }
+            return count < 0 ? PNone.NONE : count;
+        }
+        if (!lib.isBuffer(buffer)) {
+            throw node.raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, buffer);
+        }
+        int len = lib.lengthWithFrame(buffer, frame);
+        byte[] data = readInto1 ? self.read1(len) : self.read(len);
+        if (data == null) {
+            return PNone.NONE;
+        }
+        lib.lookupAndCallSpecialMethod(buffer, frame, __SETITEM__, factory.createIntSlice(0, data.length, 1), factory.createBytes(data));
+        return data.length;
+    }
+
+    @Builtin(name = "readinto", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class BufferedReadIntoNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        Object readInto(VirtualFrame frame, PBuffered self, Object buffer,
+                        @CachedLibrary("buffer") PythonObjectLibrary lib) {
+            return BufferedReaderBuiltins.readInto(this, factory(), frame, self, buffer, false, lib);
+        }
+    }
+
+    @Builtin(name = "readinto1", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class BufferedReadInto1Node extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        Object readInto1(VirtualFrame frame, PBuffered self, Object buffer,
+                        @CachedLibrary("buffer") PythonObjectLibrary lib) {
+            return BufferedReaderBuiltins.readInto(this, factory(), frame, self, buffer, true, lib);
+        }
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedIterNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object iter(PBuffered self) {
+            self.checkOpen();
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class BufferedNextNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        Object next(PBuffered self) {
+            byte[] line = self.readline(-1);
+            if (line.length == 0) {
+                throw raise(StopIteration);
+            }
+            return factory().createBytes(line);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.io;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.control.GetIteratorExpressionNode.GetIteratorNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = {PythonBuiltinClassType.PBufferedWriter, PythonBuiltinClassType.PBufferedRandom})
+public class BufferedWriterBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return BufferedWriterBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "write", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class BufferedWriteNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        int write(PBuffered self, Object data,
+                        @CachedLibrary("data") PythonObjectLibrary lib) {
+            if (!lib.isBuffer(data)) {
+                throw raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, data);
+            }
+            try {
+                byte[] bytes = lib.getBufferBytes(data);
+                return self.write(bytes, 0, lib.getBufferLength(data));
+            } catch (UnsupportedMessageException e) {
+                throw raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, data);
+            }
+        }
+    }
+
+    // writelines(lines), which calls self.write for each line like IOBase.writelines
+    @Builtin(name = "writelines", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class BufferedWriteLinesNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        static PNone writeLines(VirtualFrame frame, PBuffered self, Object lines,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached GetIteratorNode getIteratorNode,
+                        @Cached GetNextNode getNextNode,
+                        @Cached IsBuiltinClassProfile errorProfile) {
+            self.checkOpen();
+            Object iterator = getIteratorNode.executeWith(frame, lines);
+            while (true) {
+                Object line;
+                try {
+                    line = getNextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(errorProfile);
+                    return PNone.NONE;
+                }
+                lib.lookupAndCallRegularMethod(self, frame, "write", line);
+            }
+        }
+    }
+}
@@ -0,0 +1,701 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.io;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OSError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.exception.PBaseException;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.PRaiseOSErrorNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.runtime.PosixResources;
+import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The state of an {@code _io.BufferedReader}, {@code _io.BufferedWriter} or
+ * {@code _io.BufferedRandom}. A single byte array holds either data read ahead from the raw stream
+ * ({@code buffer[readPos:readEnd]}) or data not yet written to it ({@code buffer[0:writeEnd]}),
+ * never both, just like CPython's {@code _io._Buffered}.
+ *
+ * If the raw stream is exactly an {@code _io.FileIO}, reads, writes and seeks go straight to the
+ * channel registered for its file descriptor in {@link PosixResources}; any other raw stream is
+ * driven through its Python {@code readinto}, {@code write}, {@code seek} and {@code tell}
+ * methods.
+ *
+ * Like CPython's {@code ENTER_BUFFERED}, operations are serialized by making the calling thread the
+ * {@link #owner} of the object for the duration of the operation. The monitor of the object only
+ * guards the owner itself, so no Java lock is held while the raw stream runs Python code, and a
+ * thread that calls back into the same object from the raw stream gets a {@code RuntimeError}
+ * instead of a corrupted buffer.
+ */
+public final class PBuffered extends PythonBuiltinObject {
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /** Returned by the raw operations if a non-blocking raw stream returned {@code None}. */
+    private static final int RAW_BLOCKED = -1;
+
+    private Object raw;
+    private boolean detached;
+    private boolean closed;
+    private boolean readable;
+    private boolean writable;
+
+    /** Only set if the raw stream is a plain {@code FileIO}. */
+    private PosixResources resources;
+    private int fd = -1;
+    /** The channel registered for {@link #fd} when the raw stream was attached. */
+    private Channel rawChannel;
+
+    private byte[] buffer;
+    private int readPos;
+    private int readEnd;
+    private int writeEnd;
+
+    /** The thread currently operating on the buffer, see {@link #enter}. */
+    private Thread owner;
+
+    public PBuffered(Object clazz, Shape instanceShape) {
+        super(clazz, instanceShape);
+    }
+
+    public void init(Object rawStream, int bufferSize, boolean isReadable, boolean isWritable, PosixResources posixResources, int fileDescriptor) {
+        enter();
+        try {
+            this.raw = rawStream;
+            this.detached = false;
+            this.closed = false;
+            this.readable = isReadable;
+            this.writable = isWritable;
+            this.resources = posixResources;
+            this.fd = fileDescriptor;
+            this.rawChannel = posixResources != null ? posixResources.getFileChannel(fileDescriptor) : null;
+            this.buffer = new byte[bufferSize];
+            this.readPos = 0;
+            this.readEnd = 0;
+            this.writeEnd = 0;
+        } finally {
+            leave();
+        }
+    }
+
+    public boolean isReadable() {
+        return readable;
+    }
+
+    public boolean isWritable() {
+        return writable;
+    }
+
+    /**
+     * Returns the raw stream, raising {@code ValueError} if the object was detached or never
+     * initialized.
+     */
+    @TruffleBoundary
+    public synchronized Object getRaw() {
+        if (raw == null) {
+            throw PRaiseNode.getUncached().raise(ValueError, detached ? ErrorMessages.RAW_STREAM_DETACHED : ErrorMessages.IO_OPERATION_ON_UNINIT_OBJECT);
+        }
+        return raw;
+    }
+
+    public synchronized int getBufferSize() {
+        return buffer == null ? 0 : buffer.length;
+    }
+
+    @TruffleBoundary
+    public byte[] read(int n) {
+        enter();
+        try {
+            prepareRead();
+            if (n < 0) {
+                return readAll();
+            }
+            byte[] result = new byte[n];
+            int got = readIntoOwned(result, 0, n);
+            if (got < 0) {
+                return null;
+            }
+            return got == n ? result : Arrays.copyOf(result, got);
+        } finally {
+            leave();
+        }
+    }
+
+    /**
+     * Reads up to {@code len} bytes, calling the raw stream as often as needed. Returns
+     * {@code -1} if the raw stream would block before anything was read.
+     */
+    @TruffleBoundary
+    public int readInto(byte[] dst, int off, int len) {
+        enter();
+        try {
+            return readIntoOwned(dst, off, len);
+        } finally {
+            leave();
+        }
+    }
+
+    private int readIntoOwned(byte[] dst, int off, int len) {
+        prepareRead();
+        int got = takeBuffered(dst, off, len);
+        while (got < len) {
+            int want = len - got;
+            int count;
+            if (want >= buffer.length) {
+                count = rawRead(dst, off + got, want);
+            } else {
+                count = fill();
+                if (count > 0) {
+                    count = takeBuffered(dst, off + got, want);
+                }
+            }
+            if (count == RAW_BLOCKED) {
+                return got == 0 ? -1 : got;
+            } else if (count == 0) {
+                break;
+            }
+            got += count;
+        }
+        return got;
+    }
+
+    /**
+     * Returns up to {@code n} bytes calling the raw stream at most once, and only if there is no
+     * data buffered.
+     */
+    @TruffleBoundary
+    public byte[] read1(int n) {
+        enter();
+        try {
+            prepareRead();
+            int max = n < 0 ? buffer.length : n;
+            if (max == 0) {
+                return new byte[0];
+            }
+            if (readEnd == readPos) {
+                if (max >= buffer.length) {
+                    byte[] result = new byte[max];
+                    int count = rawRead(result, 0, max);
+                    return count <= 0 ? new byte[0] : Arrays.copyOf(result, count);
+                }
+                if (fill() <= 0) {
+                    return new byte[0];
+                }
+            }
+            byte[] result = new byte[Math.min(max, readEnd - readPos)];
+            takeBuffered(result, 0, result.length);
+            return result;
+        } finally {
+            leave();
+        }
+    }
+
+    /**
+     * Copies whatever is buffered, or what a single raw read returns, into {@code dst}. Used by
+     * {@code TextIOWrapper} to read chunks without a Python call.
+     */
+    @TruffleBoundary
+    public int read1Into(ByteBuffer dst) {
+        enter();
+        try {
+            prepareRead();
+            if (readEnd == readPos && fill() <= 0) {
+                return 0;
+            }
+            int count = Math.min(dst.remaining(), readEnd - readPos);
+            dst.put(buffer, readPos, count);
+            readPos += count;
+            return count;
+        } finally {
+            leave();
+        }
+    }
+
+    @TruffleBoundary
+    public byte[] peek() {
+        enter();
+        try {
+            prepareRead();
+            if (readEnd == readPos && fill() <= 0) {
+                return new byte[0];
+            }
+            return Arrays.copyOfRange(buffer, readPos, readEnd);
+        } finally {
+            leave();
+        }
+    }
+
+    @TruffleBoundary
+    public byte[] readline(int limit) {
+        enter();
+        try {
+            prepareRead();
+            byte[] line = new byte[0];
+            int lineLen = 0;
+            while (true) {
+                int avail = readEnd - readPos;
+                int max = limit < 0 ? avail : Math.min(avail, limit - lineLen);
+                int take = max;
+                boolean found = false;
+                for (int i = readPos; i < readPos + max; i++) {
+                    if (buffer[i] == '\n') {
+                        take = i - readPos + 1;
+                        found = true;
+                        break;
+                    }
+                }
+                if (lineLen + take > line.length) {
+                    line = Arrays.copyOf(line, Math.max(lineLen + take, line.length * 2));
+                }
+                System.arraycopy(buffer, readPos, line, lineLen, take);
+                lineLen += take;
+                readPos += take;
+                if (found || (limit >= 0 && lineLen >= limit) || fill() <= 0) {
+                    break;
+                }
+            }
+            return lineLen == line.length ? line : Arrays.copyOf(line, lineLen);
+        } finally {
+            leave();
+        }
+    }
+
+    @TruffleBoundary
+    public int write(byte[] data, int off, int len) {
+        enter();
+        try {
+            prepareWrite();
+            if (writeEnd + len > buffer.length) {
+                flushWrites();
+                if (len >= buffer.length) {
+                    int done = 0;
+                    while (done < len) {
+                        int count = rawWrite(data, off + done, len - done);
+                        if (count == RAW_BLOCKED) {
+                            throw raiseBlocking(done);
+                        }
+                        done += count;
+                    }
+                    return len;
+                }
+            }
+            System.arraycopy(data, off, buffer, writeEnd, len);
+            writeEnd += len;
+            return len;
+        } finally {
+            leave();
+        }
+    }
+
+    @TruffleBoundary
+    public void flush() {
+        enter();
+        try {
+            checkOpen();
+            if (writeEnd > 0) {
+                flushWrites();
+            }
+        } finally {
+            leave();
+        }
+    }
+
+    @TruffleBoundary
+    public long tell() {
+        enter();
+        try {
+            checkOpen();
+            return rawTell() - (readEnd - readPos) + writeEnd;
+        } finally {
+            leave();
+        }
+    }
+
+    @TruffleBoundary
+    public long seek(long offset, int whence) {
+        enter();
+        try {
+            checkOpen();
+            if (whence < 0 || whence > 2) {
+                throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.INVALID_WHENCE_D, whence);
+            }
+            if (writeEnd > 0) {
+                flushWrites();
+            } else if (readEnd > 0 && whence != 2) {
+                // try to stay within the read buffer, where readPos corresponds to the logical position
+                long target = offset;
+                if (whence == 0) {
+                    target = offset - (rawTell() - readEnd);
+                } else {
+                    target = readPos + offset;
+                }
+                if (target >= 0 && target <= readEnd) {
+                    readPos = (int) target;
+                    return whence == 0 ? offset : rawTell() - (readEnd - readPos);
+                }
+            }
+            long rawOffset = whence == 1 ? offset - (readEnd - readPos) : offset;
+            readPos = readEnd = 0;
+            return rawSeek(rawOffset, whence);
+        } finally {
+            leave();
+        }
+    }
+
+    @TruffleBoundary
+    public Object truncate(Object pos) {
+        enter();
+        try {
+            checkOpen();
+            if (readEnd > readPos) {
+                rawSeek(readPos - readEnd, 1);
+            }
+            readPos = readEnd = 0;
+            if (writeEnd > 0) {
+                flushWrites();
+            }
+            return callMethod(raw, "truncate", pos);
+        } finally {
+            leave();
+        }
+    }
+
+    /**
+     * Flushes pending data and closes the raw stream, even if flushing fails. Does nothing if the
+     * raw stream is already closed.
+     */
+    @TruffleBoundary
+    public void close() {
+        enter();
+        try {
+            Object rawStream = getRaw();
+            if (closed || PythonObjectLibrary.getUncached().isTrue(PythonObjectLibrary.getUncached().lookupAttributeStrict(rawStream, null, "closed"))) {
+                return;
+            }
+            try {
+                if (writeEnd > 0) {
+                    flushWrites();
+                }
+            } finally {
+                closed = true;
+                readPos = readEnd = writeEnd = 0;
+                callMethod(rawStream, "close");
+            }
+        } finally {
+            leave();
+        }
+    }
+
+    @TruffleBoundary
+    public Object detach() {
+        enter();
+        try {
+            checkOpen();
+            if (writeEnd > 0) {
+                flushWrites();
+            }
+            Object rawStream = raw;
+            raw = null;
+            detached = true;
+            return rawStream;
+        } finally {
+            leave();
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized void checkOpen() {
+        getRaw();
+        if (closed) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.IO_OPERATION_ON_CLOSED_FILE);
+        }
+    }
+
+    /**
+     * Waits until no other thread operates on the buffer and makes the current thread its owner.
+     * Must be paired with {@link #leave}.
+     */
+    @TruffleBoundary
+    private void enter() {
+        Thread current = Thread.currentThread();
+        boolean interrupted = false;
+        synchronized (this) {
+            if (owner == current) {
+                throw PRaiseNode.getUncached().raise(RuntimeError, ErrorMessages.REENTRANT_CALL_INSIDE_P, this);
+            }
+            while (owner != null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            owner = current;
+        }
+        if (interrupted) {
+            current.interrupt();
+        }
+    }
+
+    @TruffleBoundary
+    private synchronized void leave() {
+        owner = null;
+        notifyAll();
+    }
+
+    private void prepareRead() {
+        checkOpen();
+        if (!readable) {
+            throw raiseUnsupported("read");
+        }
+        if (writeEnd > 0) {
+            flushWrites();
+        }
+    }
+
+    private void prepareWrite() {
+        checkOpen();
+        if (!writable) {
+            throw raiseUnsupported("write");
+        }
+        if (readEnd > readPos) {
+            // the raw stream is ahead of the logical position by what we read ahead
+            rawSeek(readPos - readEnd, 1);
+        }
+        readPos = readEnd = 0;
+    }
+
+    private int takeBuffered(byte[] dst, int off, int max) {
+        int count = Math.min(readEnd - readPos, max);
+        System.arraycopy(buffer, readPos, dst, off, count);
+        readPos += count;
+        return count;
+    }
+
+    /** Refills the (fully consumed) read buffer with a single raw read. */
+    private int fill() {
+        readPos = readEnd = 0;
+        int count = rawRead(buffer, 0, buffer.length);
+        if (count > 0) {
+            readEnd = count;
+        }
+        return count;
+    }
+
+    private byte[] readAll() {
+        byte[] result = Arrays.copyOfRange(buffer, readPos, Math.max(readEnd, readPos + buffer.length));
+        int len = readEnd - readPos;
+        readPos = readEnd = 0;
+        while (true) {
+            if (len == result.length) {
+                result = Arrays.copyOf(result, result.length * 2);
+            }
+            int count = rawRead(result, len, result.length - len);
+            if (count == RAW_BLOCKED) {
+                if (len == 0) {
+                    return null;
+                }
+                break;
+            } else if (count == 0) {
+                break;
+            }
+            len += count;
+        }
+        return Arrays.copyOf(result, len);
+    }
+
+    private void flushWrites() {
+        int done = 0;
+        try {
+            while (done < writeEnd) {
+                int count = rawWrite(buffer, done, writeEnd - done);
+                if (count == RAW_BLOCKED) {
+                    throw raiseBlocking(done);
+                }
+                done += count;
+            }
+        } finally {
+            System.arraycopy(buffer, done, buffer, 0, writeEnd - done);
+            writeEnd -= done;
+        }
+    }
+
+    /**
+     * Returns the channel of the raw {@code FileIO} as long as it is still the one registered for
+     * the file descriptor. Once the raw stream was closed, its descriptor may have been reused for
+     * another file, so from then on all operations go through the raw stream, which raises the
+     * appropriate error.
+     */
+    private Channel fastChannel() {
+        if (rawChannel != null && (!rawChannel.isOpen() || resources.getFileChannel(fd) != rawChannel)) {
+            rawChannel = null;
+            resources = null;
+        }
+        return rawChannel;
+    }
+
+    private int rawRead(byte[] dst, int off, int len) {
+        Channel channel = fastChannel();
+        if (channel instanceof ReadableByteChannel) {
+            try {
+                int count = ((ReadableByteChannel) channel).read(ByteBuffer.wrap(dst, off, len));
+                return count < 0 ? 0 : count;
+            } catch (IOException e) {
+                throw PRaiseOSErrorNode.getUncached().raiseOSError(null, e);
+            }
+        }
+        PByteArray target = PythonObjectFactory.getUncached().createByteArray(new byte[len]);
+        Object result = callMethod(raw, "readinto", target);
+        if (result == PNone.NONE) {
+            return RAW_BLOCKED;
+        }
+        int count = PythonObjectLibrary.getUncached().asSize(result);
+        if (count < 0 || count > len) {
+            throw PRaiseNode.getUncached().raise(OSError, ErrorMessages.RAW_S_RETURNED_INVALID_LENGTH, "readinto", count, len);
+        }
+        try {
+            System.arraycopy(PythonObjectLibrary.getUncached().getBufferBytes(target), 0, dst, off, count);
+        } catch (UnsupportedMessageException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+        return count;
+    }
+
+    private int rawWrite(byte[] src, int off, int len) {
+        Channel channel = fastChannel();
+        if (channel instanceof WritableByteChannel) {
+            try {
+                return ((WritableByteChannel) channel).write(ByteBuffer.wrap(src, off, len));
+            } catch (IOException e) {
+                throw PRaiseOSErrorNode.getUncached().raiseOSError(null, e);
+            }
+        }
+        Object result = callMethod(raw, "write", PythonObjectFactory.getUncached().createBytes(Arrays.copyOfRange(src, off, off + len)));
+        if (result == PNone.NONE) {
+            return RAW_BLOCKED;
+        }
+        int count = PythonObjectLibrary.getUncached().asSize(result);
+        if (count < 0 || count > len) {
+            throw PRaiseNode.getUncached().raise(OSError, ErrorMessages.RAW_S_RETURNED_INVALID_LENGTH, "write", count, len);
+        }
+        return count;
+    }
+
+    private long rawSeek(long offset, int whence) {
+        Channel channel = fastChannel();
+        if (channel instanceof SeekableByteChannel) {
+            SeekableByteChannel seekable = (SeekableByteChannel) channel;
+            try {
+                long target = offset;
+                if (whence == 1) {
+                    target += seekable.position();
+                } else if (whence == 2) {
+                    target += seekable.size();
+                }
+                if (target >= 0) {
+                    seekable.position(target);
+                    return target;
+                }
+            } catch (IOException e) {
+                throw PRaiseOSErrorNode.getUncached().raiseOSError(null, e);
+            }
+        }
+        return PythonObjectLibrary.getUncached().asJavaLong(callMethod(raw, "seek", offset, whence));
+    }
+
+    private long rawTell() {
+        Channel channel = fastChannel();
+        if (channel instanceof SeekableByteChannel) {
+            try {
+                return ((SeekableByteChannel) channel).position();
+            } catch (IOException e) {
+                throw PRaiseOSErrorNode.getUncached().raiseOSError(null, e);
+            }
+        }
+        return PythonObjectLibrary.getUncached().asJavaLong(callMethod(raw, "tell"));
+    }
+
+    private static Object callMethod(Object receiver, String name, Object... args) {
+        return PythonObjectLibrary.getUncached().lookupAndCallRegularMethod(receiver, null, name, args);
+    }
+
+    @TruffleBoundary
+    private static PException raiseBlocking(int written) {
+        Object type = PythonLanguage.getContext().getCore().lookupType(PythonBuiltinClassType.BlockingIOError);
+        PBaseException exc = (PBaseException) CallNode.getUncached().execute(type, OSErrorEnum.EAGAIN.getNumber(), ErrorMessages.WRITE_COULD_NOT_COMPLETE_WITHOUT_BLOCKING, written);
+        throw PRaiseNode.raise(PRaiseNode.getUncached(), exc, PythonOptions.isPExceptionWithJavaStacktrace(PythonLanguage.getCurrent()));
+    }
+
+    /**
+     * Raises {@code _io.UnsupportedOperation}, which is defined in Python as a subclass of both
+     * {@code OSError} and {@code ValueError}.
+     */
+    @TruffleBoundary
+    public static PException raiseUnsupported(String operation) {
+        Object type = PythonLanguage.getContext().getCore().lookupBuiltinModule("_io").getAttribute("UnsupportedOperation");
+        PBaseException exc = (PBaseException) CallNode.getUncached().execute(type, operation);
+        throw PRaiseNode.raise(PRaiseNode.getUncached(), exc, PythonOptions.isPExceptionWithJavaStacktrace(PythonLanguage.getCurrent()));
+    }
+}
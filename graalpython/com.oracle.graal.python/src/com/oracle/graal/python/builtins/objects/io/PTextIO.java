@@ -0,0 +1,643 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.io;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OSError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.UnicodeDecodeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.UnicodeEncodeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The state of an {@code _io.TextIOWrapper}. Bytes are decoded with a {@link CharsetDecoder} in
+ * chunks and kept untranslated in {@code decoded[decodedPos:decodedLen]}; newline translation is
+ * applied as characters are consumed, so the stream position can always be reconstructed by
+ * re-encoding the characters not consumed yet.
+ *
+ * If the buffer is one of the Java buffered objects, chunks are read from its read buffer and
+ * encoded text is written into its write buffer without going through Python calls.
+ *
+ * The monitor of the wrapper only guards the decoding and encoding state. Like in CPython, which
+ * has no lock for text wrappers, the buffer is always called without holding it.
+ */
+public final class PTextIO extends PythonBuiltinObject {
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final int SEEN_CR = 1;
+    private static final int SEEN_LF = 2;
+    private static final int SEEN_CRLF = 4;
+
+    private Object buffer;
+    private PBuffered fastBuffer;
+    private boolean hasRead1;
+    private boolean detached;
+    private String encoding;
+    private String errors;
+    private Object mode = PNone.NO_VALUE;
+    private Charset charset;
+    private CharsetDecoder decoder;
+    private CharsetEncoder encoder;
+
+    private boolean readUniversal;
+    private boolean readTranslate;
+    private String readNewline;
+    private String writeNewline;
+    private boolean lineBuffering;
+    private boolean writeThrough;
+    private int seenNewlines;
+
+    /** Bytes read from the buffer but not decoded yet, ready for reading. */
+    private ByteBuffer pendingBytes;
+    private char[] decoded = new char[0];
+    private int decodedPos;
+    private int decodedLen;
+    private boolean eof;
+
+    public PTextIO(Object clazz, Shape instanceShape) {
+        super(clazz, instanceShape);
+    }
+
+    /**
+     * @param newline {@code null} for universal newlines mode with translation, otherwise one of
+     *            {@code ""}, {@code "\n"}, {@code "\r"} or {@code "\r\n"}
+     */
+    @TruffleBoundary
+    public void init(Object bufferObject, String encodingName, Charset encodingCharset, String errorsName, CodingErrorAction action, String newline, boolean isLineBuffering,
+                    boolean isWriteThrough, boolean readable, boolean writable) {
+        PBuffered fast = bufferObject instanceof PBuffered && PythonObjectLibrary.getUncached().getLazyPythonClass(bufferObject) instanceof PythonBuiltinClassType
+                        ? (PBuffered) bufferObject
+                        : null;
+        // may run Python code, so it is looked up before taking the monitor
+        boolean read1 = fast != null || PythonObjectLibrary.getUncached().lookupAttribute(bufferObject, null, "read1") != PNone.NO_VALUE;
+        synchronized (this) {
+            this.buffer = bufferObject;
+            this.fastBuffer = fast;
+            this.hasRead1 = read1;
+            this.detached = false;
+            this.encoding = encodingName;
+            this.errors = errorsName;
+            this.charset = encodingCharset;
+            this.decoder = readable ? charset.newDecoder().onMalformedInput(action).onUnmappableCharacter(action) : null;
+            this.encoder = writable ? charset.newEncoder().onMalformedInput(action).onUnmappableCharacter(action) : null;
+            setNewline(newline);
+            this.lineBuffering = isLineBuffering;
+            this.writeThrough = isWriteThrough;
+            this.seenNewlines = 0;
+            this.pendingBytes = ByteBuffer.allocate(CHUNK_SIZE);
+            this.pendingBytes.flip();
+            resetDecoded();
+        }
+    }
+
+    /**
+     * Returns the buffer, raising {@code ValueError} if the wrapper was detached or never
+     * initialized.
+     */
+    public synchronized Object getBuffer() {
+        if (buffer == null) {
+            throw PRaiseNode.getUncached().raise(ValueError, detached ? ErrorMessages.UNDERLYING_BUFFER_DETACHED : ErrorMessages.IO_OPERATION_ON_UNINIT_OBJECT);
+        }
+        return buffer;
+    }
+
+    public synchronized String getEncoding() {
+        getBuffer();
+        return encoding;
+    }
+
+    public synchronized String getErrors() {
+        getBuffer();
+        return errors;
+    }
+
+    public synchronized boolean isLineBuffering() {
+        return lineBuffering;
+    }
+
+    public synchronized void setLineBuffering(boolean value) {
+        lineBuffering = value;
+    }
+
+    public synchronized boolean isWriteThrough() {
+        return writeThrough;
+    }
+
+    public synchronized void setWriteThrough(boolean value) {
+        writeThrough = value;
+    }
+
+    public synchronized Object getMode() {
+        return mode;
+    }
+
+    public synchronized void setMode(Object mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Switches encoding and error handler; only allowed as long as nothing was read yet.
+     */
+    @TruffleBoundary
+    public synchronized void setEncoding(String encodingName, Charset encodingCharset, String errorsName, CodingErrorAction action) {
+        getBuffer();
+        this.encoding = encodingName;
+        this.errors = errorsName;
+        this.charset = encodingCharset;
+        if (decoder != null) {
+            decoder = charset.newDecoder().onMalformedInput(action).onUnmappableCharacter(action);
+        }
+        if (encoder != null) {
+            encoder = charset.newEncoder().onMalformedInput(action).onUnmappableCharacter(action);
+        }
+    }
+
+    /**
+     * @see #init
+     */
+    @TruffleBoundary
+    public synchronized void setNewline(String newline) {
+        this.readUniversal = newline == null || newline.isEmpty();
+        this.readTranslate = newline == null;
+        this.readNewline = readUniversal ? null : newline;
+        this.writeNewline = newline == null || newline.isEmpty() || newline.equals("\n") ? null : newline;
+    }
+
+    /**
+     * The kinds of newlines seen so far in universal newlines mode, as {@code None}, a string or a
+     * tuple of strings.
+     */
+    @TruffleBoundary
+    public synchronized Object getNewlines() {
+        if (!readUniversal || seenNewlines == 0) {
+            return PNone.NONE;
+        }
+        String[] all = {"\r", "\n", "\r\n"};
+        String[] seen = new String[3];
+        int n = 0;
+        for (int i = 0; i < all.length; i++) {
+            if ((seenNewlines & (1 << i)) != 0) {
+                seen[n++] = all[i];
+            }
+        }
+        if (n == 1) {
+            return seen[0];
+        }
+        return PythonObjectFactory.getUncached().createTuple(Arrays.copyOf(seen, n, Object[].class));
+    }
+
+    @TruffleBoundary
+    public String read(int n) {
+        checkReadable();
+        if (n < 0) {
+            while (readChunk()) {
+                // decode everything up to EOF
+            }
+            synchronized (this) {
+                return consume(decodedLen);
+            }
+        }
+        StringBuilder result = new StringBuilder();
+        while (result.length() < n) {
+            if (!takeAvailable(result, n) && !readChunk()) {
+                break;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Appends what is decoded already to {@code result}, up to {@code n} characters. Returns
+     * {@code false} if nothing was available.
+     */
+    private synchronized boolean takeAvailable(StringBuilder result, int n) {
+        int avail = available();
+        if (avail == 0) {
+            return false;
+        }
+        if (!readTranslate) {
+            int count = Math.min(avail, n - result.length());
+            result.append(decoded, decodedPos, count);
+            decodedPos += count;
+        } else {
+            int end = decodedPos + avail;
+            while (decodedPos < end && result.length() < n) {
+                char c = decoded[decodedPos++];
+                if (c == '\r') {
+                    if (decodedPos < decodedLen && decoded[decodedPos] == '\n') {
+                        decodedPos++;
+                        seenNewlines |= SEEN_CRLF;
+                    } else {
+                        seenNewlines |= SEEN_CR;
+                    }
+                    c = '\n';
+                } else if (c == '\n') {
+                    seenNewlines |= SEEN_LF;
+                }
+                result.append(c);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads one line, where the line ending depends on the newline mode. Returns an empty string
+     * at EOF.
+     */
+    @TruffleBoundary
+    public String readline(int limit) {
+        checkReadable();
+        if (limit == 0) {
+            return "";
+        }
+        while (true) {
+            String line = takeLine(limit, false);
+            if (line != null) {
+                return line;
+            }
+            if (!readChunk()) {
+                return takeLine(limit, true);
+            }
+        }
+    }
+
+    /**
+     * Consumes the next line if it is decoded completely, otherwise returns {@code null}. If
+     * {@code atEOF}, whatever is decoded is a line.
+     */
+    private synchronized String takeLine(int limit, boolean atEOF) {
+        int end = -1;
+        int lineEnding = 0;
+        for (int offset = 0; decodedPos + offset < decodedLen; offset++) {
+            int i = decodedPos + offset;
+            char c = decoded[i];
+            if (readUniversal) {
+                if (c == '\n') {
+                    end = i + 1;
+                    lineEnding = SEEN_LF;
+                    break;
+                } else if (c == '\r') {
+                    if (i + 1 < decodedLen) {
+                        boolean crlf = decoded[i + 1] == '\n';
+                        end = crlf ? i + 2 : i + 1;
+                        lineEnding = crlf ? SEEN_CRLF : SEEN_CR;
+                        break;
+                    } else if (eof) {
+                        end = i + 1;
+                        lineEnding = SEEN_CR;
+                        break;
+                    }
+                    // need the next character to tell '\r' from '\r\n'
+                    break;
+                }
+            } else if (c == readNewline.charAt(0)) {
+                if (readNewline.length() == 1) {
+                    end = i + 1;
+                    break;
+                } else if (i + 1 < decodedLen) {
+                    if (decoded[i + 1] == readNewline.charAt(1)) {
+                        end = i + 2;
+                        break;
+                    }
+                } else if (!eof) {
+                    break;
+                }
+            }
+            if (limit >= 0 && offset + 1 >= limit) {
+                end = i + 1;
+                break;
+            }
+        }
+        if (end < 0) {
+            if (!atEOF) {
+                return null;
+            }
+            end = decodedLen;
+        }
+        seenNewlines |= lineEnding;
+        if (readTranslate && lineEnding != 0 && lineEnding != SEEN_LF) {
+            String line = new String(decoded, decodedPos, end - decodedPos - (lineEnding == SEEN_CRLF ? 2 : 1)) + "\n";
+            decodedPos = end;
+            return line;
+        }
+        return consume(end);
+    }
+
+    @TruffleBoundary
+    public int write(String text) {
+        Object buf;
+        PBuffered fast;
+        ByteBuffer encoded;
+        boolean needFlush;
+        synchronized (this) {
+            buf = getBuffer();
+            fast = fastBuffer;
+            if (encoder == null) {
+                throw PBuffered.raiseUnsupported("not writable");
+            }
+            boolean hasLF = text.indexOf('\n') >= 0;
+            String data = text;
+            if (writeNewline != null && hasLF) {
+                data = data.replace("\n", writeNewline);
+            }
+            needFlush = lineBuffering && (hasLF || data.indexOf('\r') >= 0);
+            try {
+                encoded = encoder.encode(CharBuffer.wrap(data));
+            } catch (CharacterCodingException e) {
+                throw PRaiseNode.getUncached().raise(UnicodeEncodeError, e);
+            }
+            if (decodedPos < decodedLen || pendingBytes.hasRemaining()) {
+                // like CPython, read-ahead is simply dropped
+                resetDecoded();
+            }
+        }
+        if (fast != null) {
+            fast.write(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining());
+        } else {
+            byte[] bytes = new byte[encoded.remaining()];
+            encoded.get(bytes);
+            callMethod(buf, "write", PythonObjectFactory.getUncached().createBytes(bytes));
+        }
+        if (needFlush) {
+            flushBuffer();
+        }
+        return text.codePointCount(0, text.length());
+    }
+
+    @TruffleBoundary
+    public void flushBuffer() {
+        Object buf;
+        PBuffered fast;
+        synchronized (this) {
+            buf = getBuffer();
+            fast = fastBuffer;
+        }
+        if (fast != null) {
+            fast.flush();
+        } else {
+            callMethod(buf, "flush");
+        }
+    }
+
+    @TruffleBoundary
+    public long tell() {
+        flushBuffer();
+        Object buf;
+        PBuffered fast;
+        synchronized (this) {
+            buf = getBuffer();
+            fast = fastBuffer;
+        }
+        long pos = fast != null ? fast.tell() : PythonObjectLibrary.getUncached().asJavaLong(callMethod(buf, "tell"));
+        synchronized (this) {
+            if (decoder == null || (decodedPos == decodedLen && !pendingBytes.hasRemaining())) {
+                return pos;
+            }
+            pos -= pendingBytes.remaining();
+            if (decodedPos < decodedLen) {
+                try {
+                    pos -= charset.newEncoder().encode(CharBuffer.wrap(decoded, decodedPos, decodedLen - decodedPos)).remaining();
+                } catch (CharacterCodingException e) {
+                    throw PRaiseNode.getUncached().raise(OSError, ErrorMessages.CANT_RECONSTRUCT_LOGICAL_FILE_POSITION);
+                }
+            }
+            return pos;
+        }
+    }
+
+    @TruffleBoundary
+    public long seek(long cookie, int whence) {
+        getBuffer();
+        long target = cookie;
+        if (whence == 1) {
+            if (cookie != 0) {
+                throw PBuffered.raiseUnsupported(ErrorMessages.CANT_DO_NONZERO_CUR_RELATIVE_SEEKS);
+            }
+            target = tell();
+        } else if (whence == 2) {
+            if (cookie != 0) {
+                throw PBuffered.raiseUnsupported(ErrorMessages.CANT_DO_NONZERO_END_RELATIVE_SEEKS);
+            }
+        } else if (whence != 0) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.INVALID_WHENCE_D, whence);
+        } else if (cookie < 0) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.NEGATIVE_SEEK_POSITION_D, cookie);
+        }
+        flushBuffer();
+        Object buf;
+        PBuffered fast;
+        synchronized (this) {
+            buf = getBuffer();
+            fast = fastBuffer;
+            resetDecoded();
+            if (encoder != null) {
+                encoder.reset();
+            }
+        }
+        int rawWhence = whence == 2 ? 2 : 0;
+        if (fast != null) {
+            return fast.seek(target, rawWhence);
+        }
+        return PythonObjectLibrary.getUncached().asJavaLong(callMethod(buf, "seek", target, rawWhence));
+    }
+
+    @TruffleBoundary
+    public Object detach() {
+        flushBuffer();
+        synchronized (this) {
+            Object buf = getBuffer();
+            buffer = null;
+            fastBuffer = null;
+            detached = true;
+            return buf;
+        }
+    }
+
+    private synchronized void checkReadable() {
+        getBuffer();
+        if (decoder == null) {
+            throw PBuffered.raiseUnsupported("not readable");
+        }
+    }
+
+    private void resetDecoded() {
+        decodedPos = decodedLen = 0;
+        pendingBytes.clear();
+        pendingBytes.flip();
+        eof = false;
+        if (decoder != null) {
+            decoder.reset();
+        }
+    }
+
+    /**
+     * The number of decoded characters that can be consumed without looking further ahead. A
+     * trailing {@code '\r'} is held back in translating mode until we know whether a {@code '\n'}
+     * follows.
+     */
+    private int available() {
+        int avail = decodedLen - decodedPos;
+        if (readTranslate && avail > 0 && !eof && decoded[decodedLen - 1] == '\r') {
+            avail--;
+        }
+        return avail;
+    }
+
+    private String consume(int end) {
+        String result;
+        if (readTranslate) {
+            StringBuilder sb = new StringBuilder(end - decodedPos);
+            for (int i = decodedPos; i < end; i++) {
+                char c = decoded[i];
+                if (c == '\r') {
+                    if (i + 1 < end && decoded[i + 1] == '\n') {
+                        i++;
+                        seenNewlines |= SEEN_CRLF;
+                    } else {
+                        seenNewlines |= SEEN_CR;
+                    }
+                    c = '\n';
+                } else if (c == '\n') {
+                    seenNewlines |= SEEN_LF;
+                }
+                sb.append(c);
+            }
+            result = sb.toString();
+        } else {
+            result = new String(decoded, decodedPos, end - decodedPos);
+        }
+        decodedPos = end;
+        return result;
+    }
+
+    /**
+     * Reads and decodes the next chunk of bytes. Returns {@code false} if EOF was already reached
+     * before, so that nothing new can be decoded.
+     */
+    private boolean readChunk() {
+        Object buf;
+        PBuffered fast;
+        boolean read1;
+        synchronized (this) {
+            if (eof) {
+                return false;
+            }
+            buf = getBuffer();
+            fast = fastBuffer;
+            read1 = hasRead1;
+        }
+        ByteBuffer chunk;
+        if (fast != null) {
+            chunk = ByteBuffer.allocate(CHUNK_SIZE);
+            fast.read1Into(chunk);
+            chunk.flip();
+        } else {
+            String method = read1 ? "read1" : "read";
+            Object result = callMethod(buf, method, CHUNK_SIZE);
+            try {
+                chunk = ByteBuffer.wrap(result == PNone.NONE ? new byte[0] : PythonObjectLibrary.getUncached().getBufferBytes(result));
+            } catch (UnsupportedMessageException e) {
+                throw PRaiseNode.getUncached().raise(TypeError, ErrorMessages.UNDERLYING_READ_SHOULD_HAVE_RETURNED_BYTES, method, result);
+            }
+        }
+        synchronized (this) {
+            pendingBytes.compact();
+            if (chunk.remaining() > pendingBytes.remaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(pendingBytes.position() + Math.max(chunk.remaining(), CHUNK_SIZE));
+                pendingBytes.flip();
+                larger.put(pendingBytes);
+                pendingBytes = larger;
+            }
+            eof = !chunk.hasRemaining();
+            pendingBytes.put(chunk);
+            pendingBytes.flip();
+            decodePending(eof);
+        }
+        return true;
+    }
+
+    private void decodePending(boolean last) {
+        if (decodedPos == decodedLen) {
+            decodedPos = decodedLen = 0;
+        } else if (decodedPos > 0) {
+            System.arraycopy(decoded, decodedPos, decoded, 0, decodedLen - decodedPos);
+            decodedLen -= decodedPos;
+            decodedPos = 0;
+        }
+        int needed = decodedLen + (int) (pendingBytes.remaining() * decoder.maxCharsPerByte()) + 4;
+        if (needed > decoded.length) {
+            decoded = Arrays.copyOf(decoded, Math.max(needed, decoded.length * 2));
+        }
+        CharBuffer out = CharBuffer.wrap(decoded, decodedLen, decoded.length - decodedLen);
+        CoderResult result = decoder.decode(pendingBytes, out, last);
+        if (!result.isError() && last) {
+            result = decoder.flush(out);
+        }
+        decodedLen = out.position();
+        if (result.isError()) {
+            throw PRaiseNode.getUncached().raise(UnicodeDecodeError, result.toString());
+        }
+    }
+
+    private static Object callMethod(Object receiver, String name, Object... args) {
+        return PythonObjectLibrary.getUncached().lookupAndCallRegularMethod(receiver, null, name, args);
+    }
+}
@@ -0,0 +1,649 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.io;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ENTER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EXIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETSTATE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.LookupError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.CodecsModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.nodes.BuiltinNames;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.control.GetIteratorExpressionNode.GetIteratorNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.util.CharsetMapping;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTextIOWrapper)
+public class TextIOWrapperBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TextIOWrapperBuiltinsFactory.getFactories();
+    }
+
+    private static String toStringOrNull(PythonBuiltinBaseNode node, Object value, String argName) {
+        if (PGuards.isPNone(value)) {
+            return null;
+        } else if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof PString) {
+            return ((PString) value).getValue();
+        }
+        throw node.raise(TypeError, ErrorMessages.ARG_MUST_BE_S_NOT_P, argName, "str", value);
+    }
+
+    private static Charset lookupCharset(PythonBuiltinBaseNode node, String encoding) {
+        Charset charset = CharsetMapping.getCharset(encoding);
+        if (charset == null) {
+            throw node.raise(LookupError, ErrorMessages.UNKNOWN_ENCODING, encoding);
+        }
+        return charset;
+    }
+
+    /**
+     * Returns the default encoding of text files like CPython, i.e., the result of
+     * {@code _bootlocale.getpreferredencoding(False)}.
+     */
+    @TruffleBoundary
+    private static String getPreferredEncoding(PythonBuiltinBaseNode node) {
+        PythonCore core = PythonLanguage.getContext().getCore();
+        Object importFunc = core.lookupBuiltinModule(BuiltinNames.BUILTINS).getAttribute(BuiltinNames.__IMPORT__);
+        Object bootlocale = CallNode.getUncached().execute(importFunc, "_bootlocale");
+        Object getter = PythonObjectLibrary.getUncached().lookupAttributeStrict(bootlocale, null, "getpreferredencoding");
+        String encoding = toStringOrNull(node, CallNode.getUncached().execute(getter, false), "encoding");
+        return encoding != null ? encoding : "utf-8";
+    }
+
+    private static String checkNewline(PythonBuiltinBaseNode node, String newline) {
+        if (newline != null && !newline.isEmpty() && !newline.equals("\n") && !newline.equals("\r") && !newline.equals("\r\n")) {
+            throw node.raise(ValueError, ErrorMessages.ILLEGAL_NEWLINE_VALUE_S, newline);
+        }
+        return newline;
+    }
+
+    // TextIOWrapper(buffer, encoding=None, errors=None, newline=None, line_buffering=False,
+    // write_through=False)
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer", "encoding", "errors", "newline", "line_buffering", "write_through"})
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperInitNode extends PythonBuiltinNode {
+
+        @Specialization(limit = "3")
+        PNone init(VirtualFrame frame, PTextIO self, Object buffer, Object encodingObj, Object errorsObj, Object newlineObj, Object lineBufferingObj, Object writeThroughObj,
+                        @CachedLibrary("buffer") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary flagLib) {
+            String encoding = toStringOrNull(this, encodingObj, "encoding");
+            if (encoding == null) {
+                encoding = getPreferredEncoding(this);
+            }
+            String errors = toStringOrNull(this, errorsObj, "errors");
+            if (errors == null) {
+                errors = "strict";
+            }
+            String newline = checkNewline(this, toStringOrNull(this, newlineObj, "newline"));
+            Charset charset = lookupCharset(this, encoding);
+            boolean lineBuffering = lineBufferingObj != PNone.NO_VALUE && flagLib.isTrue(lineBufferingObj);
+            boolean writeThrough = writeThroughObj != PNone.NO_VALUE && flagLib.isTrue(writeThroughObj);
+            boolean readable;
+            boolean writable;
+            if (buffer instanceof PBuffered) {
+                readable = ((PBuffered) buffer).isReadable();
+                writable = ((PBuffered) buffer).isWritable();
+            } else {
+                readable = flagLib.isTrue(lib.lookupAndCallRegularMethod(buffer, frame, "readable"));
+                writable = flagLib.isTrue(lib.lookupAndCallRegularMethod(buffer, frame, "writable"));
+            }
+            self.init(buffer, encoding, charset, errors, CodecsModuleBuiltins.convertCodingErrorAction(errors), newline, lineBuffering, writeThrough, readable, writable);
+            return PNone.NONE;
+        }
+    }
+
+    // reconfigure(*, encoding=None, errors=None, newline=None, line_buffering=None,
+    // write_through=None)
+    @Builtin(name = "reconfigure", minNumOfPositionalArgs = 1, parameterNames = {"$self"}, keywordOnlyNames = {"encoding", "errors", "newline", "line_buffering", "write_through"})
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperReconfigureNode extends PythonBuiltinNode {
+
+        @Specialization
+        PNone reconfigure(PTextIO self, Object encodingObj, Object errorsObj, Object newlineObj, Object lineBufferingObj, Object writeThroughObj,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary flagLib) {
+            self.flushBuffer();
+            String encoding = toStringOrNull(this, encodingObj, "encoding");
+            String errors = toStringOrNull(this, errorsObj, "errors");
+            if (encoding != null || errors != null) {
+                if (encoding == null) {
+                    encoding = self.getEncoding();
+                }
+                if (errors == null) {
+                    errors = encodingObj == PNone.NO_VALUE || encodingObj == PNone.NONE ? self.getErrors() : "strict";
+                }
+                self.setEncoding(encoding, lookupCharset(this, encoding), errors, CodecsModuleBuiltins.convertCodingErrorAction(errors));
+            }
+            if (newlineObj != PNone.NO_VALUE) {
+                self.setNewline(checkNewline(this, toStringOrNull(this, newlineObj, "newline")));
+            }
+            if (!PGuards.isPNone(lineBufferingObj)) {
+                self.setLineBuffering(flagLib.isTrue(lineBufferingObj));
+            }
+            if (!PGuards.isPNone(writeThroughObj)) {
+                self.setWriteThrough(flagLib.isTrue(writeThroughObj));
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "read", minNumOfPositionalArgs = 1, parameterNames = {"$self", "size"})
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperReadNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        static String read(VirtualFrame frame, PTextIO self, Object size,
+                        @CachedLibrary("size") PythonObjectLibrary lib) {
+            return self.read(BufferedIOBuiltins.toSize(frame, size, lib));
+        }
+    }
+
+    @Builtin(name = "readline", minNumOfPositionalArgs = 1, parameterNames = {"$self", "size"})
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperReadlineNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        static String readline(VirtualFrame frame, PTextIO self, Object size,
+                        @CachedLibrary("size") PythonObjectLibrary lib) {
+            return self.readline(BufferedIOBuiltins.toSize(frame, size, lib));
+        }
+    }
+
+    @Builtin(name = "readlines", minNumOfPositionalArgs = 1, parameterNames = {"$self", "hint"})
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperReadlinesNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        PList readlines(VirtualFrame frame, PTextIO self, Object hint,
+                        @CachedLibrary("hint") PythonObjectLibrary lib) {
+            int limit = BufferedIOBuiltins.toSize(frame, hint, lib);
+            ArrayList<Object> lines = new ArrayList<>();
+            long total = 0;
+            while (true) {
+                String line = self.readline(-1);
+                if (line.isEmpty()) {
+                    break;
+                }
+                add(lines, line);
+                total += line.length();
+                if (limit > 0 && total >= limit) {
+                    break;
+                }
+            }
+            return factory().createList(toArray(lines));
+        }
+
+        @TruffleBoundary
+        private static void add(ArrayList<Object> lines, Object line) {
+            lines.add(line);
+        }
+
+        @TruffleBoundary
+        private static Object[] toArray(ArrayList<Object> lines) {
+            return lines.toArray();
+        }
+    }
+
+    @Builtin(name = "write", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperWriteNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static int write(PTextIO self, String text) {
+            return self.write(text);
+        }
+
+        @Specialization
+        static int write(PTextIO self, PString text) {
+            return self.write(text.getValue());
+        }
+
+        @Specialization(guards = "!isString(text)")
+        int write(@SuppressWarnings("unused") PTextIO self, Object text) {
+            throw raise(TypeError, ErrorMessages.ARG_MUST_BE_S_NOT_P, "write()", "str", text);
+        }
+    }
+
+    // writelines(lines), which calls self.write for each line like IOBase.writelines
+    @Builtin(name = "writelines", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperWriteLinesNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        static PNone writeLines(VirtualFrame frame, PTextIO self, Object lines,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached GetIteratorNode getIteratorNode,
+                        @Cached GetNextNode getNextNode,
+                        @Cached IsBuiltinClassProfile errorProfile) {
+            Object iterator = getIteratorNode.executeWith(frame, lines);
+            while (true) {
+                Object line;
+                try {
+                    line = getNextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(errorProfile);
+                    return PNone.NONE;
+                }
+                lib.lookupAndCallRegularMethod(self, frame, "write", line);
+            }
+        }
+    }
+
+    @Builtin(name = "flush", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperFlushNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static PNone flush(PTextIO self) {
+            self.flushBuffer();
+            return PNone.NONE;
+        }
+    }
+
+    // close() flushes and closes the buffer, even if flushing failed
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperCloseNode extends PythonUnaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        static PNone close(VirtualFrame frame, PTextIO self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            Object buffer = self.getBuffer();
+            if (lib.isTrue(lib.lookupAttributeStrict(buffer, frame, "closed"))) {
+                return PNone.NONE;
+            }
+            try {
+                self.flushBuffer();
+            } finally {
+                lib.lookupAndCallRegularMethod(buffer, frame, "close");
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "detach", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperDetachNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object detach(PTextIO self) {
+            return self.detach();
+        }
+    }
+
+    @Builtin(name = "seek", minNumOfPositionalArgs = 2, parameterNames = {"$self", "cookie", "whence"})
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperSeekNode extends PythonTernaryBuiltinNode {
+
+        @Specialization(limit = "3")
+        static long seek(VirtualFrame frame, PTextIO self, Object cookie, Object whence,
+                        @CachedLibrary("cookie") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary whenceLib) {
+            int w = whence == PNone.NO_VALUE ? 0 : whenceLib.asSizeWithState(whence, PArguments.getThreadState(frame));
+            return self.seek(lib.asJavaLongWithState(cookie, PArguments.getThreadState(frame)), w);
+        }
+    }
+
+    @Builtin(name = "tell", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperTellNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static long tell(PTextIO self) {
+            return self.tell();
+        }
+    }
+
+    @Builtin(name = "truncate", minNumOfPositionalArgs = 1, parameterNames = {"$self", "pos"})
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperTruncateNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static Object truncate(VirtualFrame frame, PTextIO self, Object pos,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            self.flushBuffer();
+            return lib.lookupAndCallRegularMethod(self.getBuffer(), frame, "truncate", pos == PNone.NO_VALUE ? PNone.NONE : pos);
+        }
+    }
+
+    @Builtin(name = "fileno", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperFilenoNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object fileno(VirtualFrame frame, PTextIO self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self.getBuffer(), frame, "fileno");
+        }
+    }
+
+    @Builtin(name = "isatty", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperIsattyNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object isatty(VirtualFrame frame, PTextIO self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self.getBuffer(), frame, "isatty");
+        }
+    }
+
+    @Builtin(name = "readable", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperReadableNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object readable(VirtualFrame frame, PTextIO self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self.getBuffer(), frame, "readable");
+        }
+    }
+
+    @Builtin(name = "writable", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperWritableNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object writable(VirtualFrame frame, PTextIO self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self.getBuffer(), frame, "writable");
+        }
+    }
+
+    @Builtin(name = "seekable", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperSeekableNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object seekable(VirtualFrame frame, PTextIO self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self.getBuffer(), frame, "seekable");
+        }
+    }
+
+    @Builtin(name = "closed", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperClosedNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object closed(VirtualFrame frame, PTextIO self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAttributeStrict(self.getBuffer(), frame, "closed");
+        }
+    }
+
+    @Builtin(name = "name", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperNameNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object name(VirtualFrame frame, PTextIO self,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            return lib.lookupAttributeStrict(self.getBuffer(), frame, "name");
+        }
+    }
+
+    @Builtin(name = "buffer", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperBufferNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object buffer(PTextIO self) {
+            return self.getBuffer();
+        }
+    }
+
+    @Builtin(name = "encoding", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperEncodingNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static String encoding(PTextIO self) {
+            return self.getEncoding();
+        }
+    }
+
+    @Builtin(name = "errors", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperErrorsNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static String errors(PTextIO self) {
+            return self.getErrors();
+        }
+    }
+
+    @Builtin(name = "newlines", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperNewlinesNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object newlines(PTextIO self) {
+            return self.getNewlines();
+        }
+    }
+
+    @Builtin(name = "line_buffering", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperLineBufferingNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static boolean lineBuffering(PTextIO self) {
+            return self.isLineBuffering();
+        }
+    }
+
+    @Builtin(name = "write_through", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperWriteThroughNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static boolean writeThrough(PTextIO self) {
+            return self.isWriteThrough();
+        }
+    }
+
+    // mode is not known to the wrapper, open() sets it after construction
+    @Builtin(name = "mode", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperModeNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(guards = "isNoValue(none)")
+        Object get(PTextIO self, @SuppressWarnings("unused") PNone none) {
+            Object mode = self.getMode();
+            if (mode == PNone.NO_VALUE) {
+                throw raise(PythonBuiltinClassType.AttributeError, ErrorMessages.OBJ_P_HAS_NO_ATTR_S, self, "mode");
+            }
+            return mode;
+        }
+
+        @Specialization(guards = "!isNoValue(mode)")
+        static Object set(PTextIO self, Object mode) {
+            self.setMode(mode);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __ENTER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperEnterNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object enter(PTextIO self) {
+            self.getBuffer();
+            return self;
+        }
+    }
+
+    @Builtin(name = __EXIT__, minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperExitNode extends PythonBuiltinNode {
+
+        @Specialization(limit = "2")
+        static Object exit(VirtualFrame frame, Object self, @SuppressWarnings("unused") Object[] args,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self, frame, "close");
+        }
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperIterNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object iter(PTextIO self) {
+            self.getBuffer();
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperNextNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        Object next(PTextIO self) {
+            String line = self.readline(-1);
+            if (line.isEmpty()) {
+                throw raise(StopIteration);
+            }
+            return line;
+        }
+    }
+
+    @Builtin(name = __GETSTATE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperGetStateNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        Object getState(Object self) {
+            throw raise(TypeError, ErrorMessages.CANNOT_SERIALIZE_P_OBJ, self);
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class TextIOWrapperReprNode extends PythonUnaryBuiltinNode {
+
+        @Specialization(limit = "2")
+        Object repr(VirtualFrame frame, PTextIO self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached TypeNodes.GetNameNode getNameNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode) {
+            Object cls = lib.getLazyPythonClass(self);
+            StringBuilder sb = newBuilder(getNameNode.execute(cls), cls instanceof PythonBuiltinClassType);
+            Object name = lib.lookupAttribute(self, frame, "name");
+            if (name != PNone.NO_VALUE) {
+                append(sb, " name=", toJavaString(reprNode.executeObject(frame, name)));
+            }
+            Object mode = self.getMode();
+            if (mode != PNone.NO_VALUE) {
+                append(sb, " mode=", toJavaString(reprNode.executeObject(frame, mode)));
+            }
+            append(sb, " encoding=", toJavaString(reprNode.executeObject(frame, self.getEncoding())));
+            return finish(sb);
+        }
+
+        private static String toJavaString(Object repr) {
+            return repr instanceof PString ? ((PString) repr).getValue() : (String) repr;
+        }
+
+        @TruffleBoundary
+        private static StringBuilder newBuilder(String typeName, boolean builtin) {
+            return new StringBuilder("<").append(builtin ? "_io." : "").append(typeName);
+        }
+
+        @TruffleBoundary
+        private static void append(StringBuilder sb, String key, String value) {
+            sb.append(key).append(value);
+        }
+
+        @TruffleBoundary
+        private static String finish(StringBuilder sb) {
+            return sb.append('>').toString();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETSTATE__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.ItertoolsModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.iterator.PSequenceIterator;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.control.GetIteratorExpressionNode.GetIteratorNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PChain)
+public final class ChainBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return ChainBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "from_iterable", minNumOfPositionalArgs = 2, isClassmethod = true)
+    @GenerateNodeFactory
+    public abstract static class FromIterableNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PChain fromIterable(VirtualFrame frame, Object cls, Object iterable,
+                        @Cached GetIteratorNode getIterator) {
+            return factory().createChain(cls, getIterator.executeWith(frame, iterable));
+        }
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object iter(PChain self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class NextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object next(VirtualFrame frame, PChain self,
+                        @Cached GetNextNode getNextNode,
+                        @Cached GetIteratorNode getIterator,
+                        @Cached SequenceNodes.GetSequenceStorageNode getStorage,
+                        @Cached SequenceStorageNodes.LenNode lenNode,
+                        @Cached("createNotNormalized()") SequenceStorageNodes.GetItemNode getItemNode,
+                        @Cached IsBuiltinClassProfile activeStopProfile,
+                        @Cached IsBuiltinClassProfile sourceStopProfile,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            while (true) {
+                PSequence activeSequence = self.getActiveSequence();
+                if (activeSequence != null) {
+                    SequenceStorage storage = getStorage.execute(activeSequence);
+                    int index = self.getActiveIndex();
+                    if (index < lenNode.execute(storage)) {
+                        self.setActiveIndex(index + 1);
+                        return getItemNode.execute(frame, storage, index);
+                    }
+                    self.setActiveSequence(null);
+                } else if (self.getActive() != null) {
+                    try {
+                        return getNextNode.execute(frame, self.getActive());
+                    } catch (PException e) {
+                        e.expectStopIteration(activeStopProfile);
+                        self.setActive(null);
+                    }
+                }
+                if (self.getSource() == null) {
+                    throw raise(StopIteration);
+                }
+                Object iterable;
+                try {
+                    iterable = getNextNode.execute(frame, self.getSource());
+                } catch (PException e) {
+                    e.expectStopIteration(sourceStopProfile);
+                    self.setSource(null);
+                    throw raise(StopIteration);
+                }
+                if (ItertoolsModuleBuiltins.isIndexable(iterable, lib)) {
+                    self.setActiveSequence((PSequence) iterable);
+                } else {
+                    self.setActive(getIterator.executeWith(frame, iterable));
+                }
+            }
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        PTuple reduce(PChain self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object type = lib.getLazyPythonClass(self);
+            PTuple emptyArgs = factory().createEmptyTuple();
+            if (self.getSource() == null) {
+                return factory().createTuple(new Object[]{type, emptyArgs});
+            }
+            Object active = self.getActive();
+            if (self.getActiveSequence() != null) {
+                // the list or tuple is read by index, hand out an equivalent iterator
+                PSequenceIterator iterator = factory().createSequenceIterator(self.getActiveSequence());
+                iterator.index = self.getActiveIndex();
+                active = iterator;
+            }
+            PTuple state;
+            if (active == null) {
+                state = factory().createTuple(new Object[]{self.getSource()});
+            } else {
+                state = factory().createTuple(new Object[]{self.getSource(), active});
+            }
+            return factory().createTuple(new Object[]{type, emptyArgs, state});
+        }
+    }
+
+    @Builtin(name = __SETSTATE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class SetStateNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object setState(PChain self, PTuple state,
+                        @Cached SequenceNodes.GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            Object[] items = getObjectArrayNode.execute(state);
+            if (items.length < 1 || items.length > 2) {
+                throw raise(TypeError, ErrorMessages.INVALID_ARGUMENTS);
+            }
+            Object source = items[0];
+            Object active = items.length > 1 ? items[1] : null;
+            if (!isIterator(source, lib) || (active != null && !isIterator(active, lib))) {
+                throw raise(TypeError, ErrorMessages.ARGUMENTS_MUST_BE_ITERATORS);
+            }
+            self.setSource(source);
+            self.setActive(active);
+            return PNone.NONE;
+        }
+
+        private static boolean isIterator(Object obj, PythonObjectLibrary lib) {
+            return lib.lookupAttributeOnType(obj, __NEXT__) != PNone.NO_VALUE;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object setState(Object self, Object state) {
+            throw raise(TypeError, ErrorMessages.STATE_IS_NOT_A_TUPLE);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallBinaryNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.expression.BinaryArithmetic;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PCount)
+public final class CountBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return CountBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * The step is omitted from {@code repr} and {@code __reduce__} if it is the integer {@code 1}.
+     */
+    static boolean isDefaultStep(Object step) {
+        return (step instanceof Integer && (int) step == 1) || (step instanceof Long && (long) step == 1);
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object iter(PCount self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class NextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object next(VirtualFrame frame, PCount self,
+                        @Cached("createAdd()") LookupAndCallBinaryNode addNode) {
+            Object result = self.getCount();
+            self.setCount(addNode.executeObject(frame, result, self.getStep()));
+            return result;
+        }
+
+        static LookupAndCallBinaryNode createAdd() {
+            return BinaryArithmetic.Add.create();
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object repr(VirtualFrame frame, PCount self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached TypeNodes.GetNameNode getNameNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode) {
+            String typeName = getNameNode.execute(lib.getLazyPythonClass(self));
+            String countRepr = toRepr(frame, reprNode, self.getCount());
+            if (isDefaultStep(self.getStep())) {
+                return format(typeName, countRepr, null);
+            }
+            return format(typeName, countRepr, toRepr(frame, reprNode, self.getStep()));
+        }
+
+        private String toRepr(VirtualFrame frame, LookupAndCallUnaryNode reprNode, Object value) {
+            Object repr = reprNode.executeObject(frame, value);
+            if (repr instanceof PString) {
+                repr = ((PString) repr).getValue();
+            }
+            if (!(repr instanceof String)) {
+                throw raise(TypeError, ErrorMessages.RETURNED_NON_STRING, "__repr__", repr);
+            }
+            return (String) repr;
+        }
+
+        @TruffleBoundary
+        private static String format(String typeName, String countRepr, String stepRepr) {
+            if (stepRepr == null) {
+                return typeName + "(" + countRepr + ")";
+            }
+            return typeName + "(" + countRepr + ", " + stepRepr + ")";
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        PTuple reduce(PCount self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            PTuple args;
+            if (isDefaultStep(self.getStep())) {
+                args = factory().createTuple(new Object[]{self.getCount()});
+            } else {
+                args = factory().createTuple(new Object[]{self.getCount(), self.getStep()});
+            }
+            return factory().createTuple(new Object[]{lib.getLazyPythonClass(self), args});
+        }
+    }
+}
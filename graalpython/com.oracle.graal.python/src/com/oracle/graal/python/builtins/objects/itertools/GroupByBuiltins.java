@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETSTATE__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PArguments.ThreadState;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PGroupBy)
+public final class GroupByBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return GroupByBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Fetches the next value from the underlying iterator and computes its key.
+     */
+    static void step(VirtualFrame frame, PGroupBy self, GetNextNode getNextNode, CallNode callNode) {
+        Object value = getNextNode.execute(frame, self.getIterator());
+        Object key = PGuards.isPNone(self.getKeyFunction()) ? value : callNode.execute(frame, self.getKeyFunction(), value);
+        self.setCurrentValue(value);
+        self.setCurrentKey(key);
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object iter(PGroupBy self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class NextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object next(VirtualFrame frame, PGroupBy self,
+                        @Cached GetNextNode getNextNode,
+                        @Cached CallNode callNode,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary otherLib) {
+            ThreadState state = PArguments.getThreadState(frame);
+            self.setCurrentGrouper(null);
+            // skip to the next group
+            while (true) {
+                if (self.getCurrentKey() != null) {
+                    if (self.getTargetKey() == null || !lib.equalsWithState(self.getTargetKey(), self.getCurrentKey(), otherLib, state)) {
+                        break;
+                    }
+                }
+                step(frame, self, getNextNode, callNode);
+            }
+            self.setTargetKey(self.getCurrentKey());
+            PGrouper grouper = factory().createGrouper(PythonBuiltinClassType.PGrouper, self, self.getTargetKey());
+            self.setCurrentGrouper(grouper);
+            return factory().createTuple(new Object[]{self.getCurrentKey(), grouper});
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        PTuple reduce(PGroupBy self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object type = lib.getLazyPythonClass(self);
+            PTuple args = factory().createTuple(new Object[]{self.getIterator(), self.getKeyFunction()});
+            if (self.getTargetKey() != null && self.getCurrentKey() != null && self.getCurrentValue() != null) {
+                PTuple state = factory().createTuple(new Object[]{self.getCurrentKey(), self.getCurrentValue(), self.getTargetKey()});
+                return factory().createTuple(new Object[]{type, args, state});
+            }
+            return factory().createTuple(new Object[]{type, args});
+        }
+    }
+
+    @Builtin(name = __SETSTATE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class SetStateNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object setState(PGroupBy self, PTuple state,
+                        @Cached SequenceNodes.GetObjectArrayNode getObjectArrayNode) {
+            Object[] items = getObjectArrayNode.execute(state);
+            if (items.length != 3) {
+                throw raise(TypeError, ErrorMessages.INVALID_ARGUMENTS);
+            }
+            self.setCurrentKey(items[0]);
+            self.setCurrentValue(items[1]);
+            self.setTargetKey(items[2]);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object setState(Object self, Object state) {
+            throw raise(TypeError, ErrorMessages.STATE_IS_NOT_A_TUPLE);
+        }
+    }
+}
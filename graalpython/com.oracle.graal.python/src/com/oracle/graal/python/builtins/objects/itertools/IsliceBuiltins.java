@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETSTATE__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.iterator.PSequenceIterator;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PIslice)
+public final class IsliceBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return IsliceBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object iter(PIslice self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class NextNode extends PythonUnaryBuiltinNode {
+
+        @Specialization(guards = "self.isExhausted()")
+        Object exhausted(@SuppressWarnings("unused") PIslice self) {
+            throw raise(StopIteration);
+        }
+
+        @Specialization(guards = "self.getSequence() != null")
+        Object nextIndexed(VirtualFrame frame, PIslice self,
+                        @Cached SequenceNodes.GetSequenceStorageNode getStorage,
+                        @Cached SequenceStorageNodes.LenNode lenNode,
+                        @Cached("createNotNormalized()") SequenceStorageNodes.GetItemNode getItemNode) {
+            // skipped elements are never touched
+            int index = Math.max(self.getCount(), self.getNext());
+            int stop = self.getStop();
+            SequenceStorage storage = getStorage.execute(self.getSequence());
+            if ((stop != -1 && index >= stop) || index >= lenNode.execute(storage)) {
+                self.setCount(index);
+                self.setExhausted();
+                throw raise(StopIteration);
+            }
+            Object item = getItemNode.execute(frame, storage, index);
+            self.setCount(index + 1);
+            advance(self);
+            return item;
+        }
+
+        @Specialization(guards = "self.getIterator() != null")
+        Object nextIterated(VirtualFrame frame, PIslice self,
+                        @Cached GetNextNode getNextNode,
+                        @Cached IsBuiltinClassProfile stopIterationProfile) {
+            Object iterator = self.getIterator();
+            int stop = self.getStop();
+            try {
+                while (self.getCount() < self.getNext()) {
+                    getNextNode.execute(frame, iterator);
+                    self.setCount(self.getCount() + 1);
+                }
+                if (stop != -1 && self.getCount() >= stop) {
+                    self.setExhausted();
+                    throw raise(StopIteration);
+                }
+                Object item = getNextNode.execute(frame, iterator);
+                self.setCount(self.getCount() + 1);
+                advance(self);
+                return item;
+            } catch (PException e) {
+                e.expectStopIteration(stopIterationProfile);
+                self.setExhausted();
+                throw e;
+            }
+        }
+
+        private static void advance(PIslice self) {
+            int oldNext = self.getNext();
+            int next = oldNext + self.getStep();
+            if (next < oldNext) {
+                next = self.getStop() != -1 ? self.getStop() : Integer.MAX_VALUE;
+            } else if (self.getStop() != -1 && next > self.getStop()) {
+                next = self.getStop();
+            }
+            self.setNext(next);
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        PTuple reduce(PIslice self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object type = lib.getLazyPythonClass(self);
+            if (self.isExhausted()) {
+                PSequenceIterator empty = factory().createSequenceIterator(factory().createList());
+                return factory().createTuple(new Object[]{type, factory().createTuple(new Object[]{empty, 0}), 0});
+            }
+            Object iterator = self.getIterator();
+            if (self.getSequence() != null) {
+                // the list or tuple is read by index, hand out an equivalent iterator
+                PSequenceIterator sequenceIterator = factory().createSequenceIterator(self.getSequence());
+                sequenceIterator.index = self.getCount();
+                iterator = sequenceIterator;
+            }
+            Object stop = self.getStop() == -1 ? PNone.NONE : self.getStop();
+            PTuple args = factory().createTuple(new Object[]{iterator, self.getNext(), stop, self.getStep()});
+            return factory().createTuple(new Object[]{type, args, self.getCount()});
+        }
+    }
+
+    @Builtin(name = __SETSTATE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class SetStateNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "3")
+        static Object setState(VirtualFrame frame, PIslice self, Object state,
+                        @CachedLibrary("state") PythonObjectLibrary lib) {
+            self.setCount(lib.asSizeWithState(state, PArguments.getThreadState(frame)));
+            return PNone.NONE;
+        }
+    }
+}
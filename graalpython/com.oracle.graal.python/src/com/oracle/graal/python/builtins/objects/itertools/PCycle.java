@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * State of an {@code itertools.cycle} object. The elements seen during the first pass are kept in
+ * a growable array, later passes only read from that array.
+ */
+public final class PCycle extends PythonBuiltinObject {
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** The source iterator, or {@code null} once it is exhausted. */
+    private Object iterator;
+    private Object[] saved = new Object[INITIAL_CAPACITY];
+    private int savedSize;
+    private int index;
+    /**
+     * {@code true} if {@link #saved} already contains all elements of the source, so that elements
+     * still produced by the iterator must not be saved again.
+     */
+    private boolean firstPass;
+
+    public PCycle(Object clazz, Shape instanceShape, Object iterator) {
+        super(clazz, instanceShape);
+        this.iterator = iterator;
+    }
+
+    public Object getIterator() {
+        return iterator;
+    }
+
+    public void setIterator(Object iterator) {
+        this.iterator = iterator;
+    }
+
+    public int getSavedSize() {
+        return savedSize;
+    }
+
+    public Object getSaved(int i) {
+        return saved[i];
+    }
+
+    public void save(Object item) {
+        if (savedSize == saved.length) {
+            Object[] newSaved = new Object[saved.length * 2];
+            PythonUtils.arraycopy(saved, 0, newSaved, 0, savedSize);
+            saved = newSaved;
+        }
+        saved[savedSize++] = item;
+    }
+
+    public Object[] getSavedArray() {
+        Object[] result = new Object[savedSize];
+        PythonUtils.arraycopy(saved, 0, result, 0, savedSize);
+        return result;
+    }
+
+    public void setSavedArray(Object[] items) {
+        saved = items.length > 0 ? items : new Object[INITIAL_CAPACITY];
+        savedSize = items.length;
+        index = 0;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isFirstPass() {
+        return firstPass;
+    }
+
+    public void setFirstPass(boolean firstPass) {
+        this.firstPass = firstPass;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * State of an {@code itertools.groupby} object. The groupers it hands out share its iterator, only
+ * the most recently created grouper is still valid.
+ */
+public final class PGroupBy extends PythonBuiltinObject {
+    private final Object iterator;
+    /** The key function, or {@link PNone#NONE} to use the elements themselves as keys. */
+    private final Object keyFunction;
+    /** The key of the current group, or {@code null}. */
+    private Object targetKey;
+    /** The key of {@link #currentValue}, or {@code null}. */
+    private Object currentKey;
+    /** The element fetched from the iterator but not yet returned, or {@code null}. */
+    private Object currentValue;
+    private PGrouper currentGrouper;
+
+    public PGroupBy(Object clazz, Shape instanceShape, Object iterator, Object keyFunction) {
+        super(clazz, instanceShape);
+        this.iterator = iterator;
+        this.keyFunction = keyFunction;
+    }
+
+    public Object getIterator() {
+        return iterator;
+    }
+
+    public Object getKeyFunction() {
+        return keyFunction;
+    }
+
+    public Object getTargetKey() {
+        return targetKey;
+    }
+
+    public void setTargetKey(Object targetKey) {
+        this.targetKey = targetKey;
+    }
+
+    public Object getCurrentKey() {
+        return currentKey;
+    }
+
+    public void setCurrentKey(Object currentKey) {
+        this.currentKey = currentKey;
+    }
+
+    public Object getCurrentValue() {
+        return currentValue;
+    }
+
+    public void setCurrentValue(Object currentValue) {
+        this.currentValue = currentValue;
+    }
+
+    public PGrouper getCurrentGrouper() {
+        return currentGrouper;
+    }
+
+    public void setCurrentGrouper(PGrouper currentGrouper) {
+        this.currentGrouper = currentGrouper;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * State of an {@code itertools.islice} object. If the sliced iterable is a builtin list or tuple,
+ * its storage is read by index and skipped elements are never fetched.
+ */
+public final class PIslice extends PythonBuiltinObject {
+    /** The source iterator, or {@code null} if the source is read by index or is exhausted. */
+    private Object iterator;
+    /** The source sequence if it is read by index, or {@code null}. */
+    private PSequence sequence;
+    /** The index of the next element to return. */
+    private int next;
+    /** The index at which to stop, or {@code -1} for no limit. */
+    private final int stop;
+    private final int step;
+    /** The number of elements consumed from the source so far. */
+    private int count;
+
+    public PIslice(Object clazz, Shape instanceShape, Object iterator, PSequence sequence, int start, int stop, int step) {
+        super(clazz, instanceShape);
+        this.iterator = iterator;
+        this.sequence = sequence;
+        this.next = start;
+        this.stop = stop;
+        this.step = step;
+    }
+
+    public Object getIterator() {
+        return iterator;
+    }
+
+    public PSequence getSequence() {
+        return sequence;
+    }
+
+    public boolean isExhausted() {
+        return iterator == null && sequence == null;
+    }
+
+    public void setExhausted() {
+        iterator = null;
+        sequence = null;
+    }
+
+    public int getNext() {
+        return next;
+    }
+
+    public void setNext(int next) {
+        this.next = next;
+    }
+
+    public int getStop() {
+        return stop;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETSTATE__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PArguments.ThreadState;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PPermutations)
+public final class PermutationsBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PermutationsBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object iter(PPermutations self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class NextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object next(PPermutations self) {
+            if (self.isStopped()) {
+                throw raise(StopIteration);
+            }
+            Object[] pool = self.getPool();
+            int[] indices = self.getIndices();
+            int[] cycles = self.getCycles();
+            int n = pool.length;
+            int r = self.getR();
+            Object[] lastResult = self.getLastResult();
+            Object[] result = new Object[r];
+            if (lastResult == null) {
+                for (int i = 0; i < r; i++) {
+                    result[i] = pool[indices[i]];
+                }
+            } else {
+                if (n == 0) {
+                    self.setStopped(true);
+                    throw raise(StopIteration);
+                }
+                PythonUtils.arraycopy(lastResult, 0, result, 0, r);
+                int i = r - 1;
+                for (; i >= 0; i--) {
+                    cycles[i]--;
+                    if (cycles[i] == 0) {
+                        // rotate indices[i:] to the left by one
+                        int index = indices[i];
+                        for (int j = i; j < n - 1; j++) {
+                            indices[j] = indices[j + 1];
+                        }
+                        indices[n - 1] = index;
+                        cycles[i] = n - i;
+                    } else {
+                        int j = cycles[i];
+                        int index = indices[i];
+                        indices[i] = indices[n - j];
+                        indices[n - j] = index;
+                        for (int k = i; k < r; k++) {
+                            result[k] = pool[indices[k]];
+                        }
+                        break;
+                    }
+                }
+                if (i < 0) {
+                    self.setStopped(true);
+                    throw raise(StopIteration);
+                }
+            }
+            // the last result is never modified, so the tuple can share it
+            self.setLastResult(result);
+            return factory().createTuple(result);
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        PTuple reduce(PPermutations self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object type = lib.getLazyPythonClass(self);
+            if (self.getLastResult() == null) {
+                PTuple args = factory().createTuple(new Object[]{factory().createTuple(self.getPool()), self.getR()});
+                return factory().createTuple(new Object[]{type, args});
+            }
+            if (self.isStopped()) {
+                PTuple args = factory().createTuple(new Object[]{factory().createEmptyTuple(), self.getR()});
+                return factory().createTuple(new Object[]{type, args});
+            }
+            PTuple args = factory().createTuple(new Object[]{factory().createTuple(self.getPool()), self.getR()});
+            PTuple state = factory().createTuple(new Object[]{toTuple(self.getIndices()), toTuple(self.getCycles())});
+            return factory().createTuple(new Object[]{type, args, state});
+        }
+
+        private PTuple toTuple(int[] values) {
+            Object[] items = new Object[values.length];
+            for (int i = 0; i < values.length; i++) {
+                items[i] = values[i];
+            }
+            return factory().createTuple(items);
+        }
+    }
+
+    @Builtin(name = __SETSTATE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class SetStateNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object setState(VirtualFrame frame, PPermutations self, PTuple state,
+                        @Cached SequenceNodes.GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            Object[] items = getObjectArrayNode.execute(state);
+            if (items.length != 2 || !(items[0] instanceof PTuple) || !(items[1] instanceof PTuple)) {
+                throw raise(ValueError, ErrorMessages.INVALID_ARGUMENTS);
+            }
+            Object[] indicesState = getObjectArrayNode.execute(items[0]);
+            Object[] cyclesState = getObjectArrayNode.execute(items[1]);
+            Object[] pool = self.getPool();
+            int[] indices = self.getIndices();
+            int[] cycles = self.getCycles();
+            int n = pool.length;
+            int r = self.getR();
+            if (indicesState.length != n || cyclesState.length != r) {
+                throw raise(ValueError, ErrorMessages.INVALID_ARGUMENTS);
+            }
+            ThreadState threadState = PArguments.getThreadState(frame);
+            for (int i = 0; i < n; i++) {
+                indices[i] = Math.max(0, Math.min(lib.asSizeWithState(indicesState[i], threadState), n - 1));
+            }
+            for (int i = 0; i < r; i++) {
+                cycles[i] = Math.max(1, Math.min(lib.asSizeWithState(cyclesState[i], threadState), n - i));
+            }
+            Object[] lastResult = new Object[r];
+            for (int i = 0; i < r; i++) {
+                lastResult[i] = pool[indices[i]];
+            }
+            self.setLastResult(lastResult);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object setState(Object self, Object state) {
+            throw raise(TypeError, ErrorMessages.STATE_IS_NOT_A_TUPLE);
+        }
+    }
+}
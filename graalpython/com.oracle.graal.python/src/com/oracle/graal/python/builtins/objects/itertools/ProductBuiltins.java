@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETSTATE__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PArguments.ThreadState;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PProduct)
+public final class ProductBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return ProductBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object iter(PProduct self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class NextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object next(PProduct self) {
+            if (self.isStopped()) {
+                throw raise(StopIteration);
+            }
+            Object[][] pools = self.getPools();
+            int[] indices = self.getIndices();
+            int numPools = pools.length;
+            Object[] lastResult = self.getLastResult();
+            Object[] result = new Object[numPools];
+            if (lastResult == null) {
+                for (int i = 0; i < numPools; i++) {
+                    if (pools[i].length == 0) {
+                        self.setStopped(true);
+                        throw raise(StopIteration);
+                    }
+                    result[i] = pools[i][0];
+                }
+            } else {
+                PythonUtils.arraycopy(lastResult, 0, result, 0, numPools);
+                // update the pool indices right-to-left, like an odometer
+                int i = numPools - 1;
+                for (; i >= 0; i--) {
+                    Object[] pool = pools[i];
+                    indices[i]++;
+                    if (indices[i] == pool.length) {
+                        indices[i] = 0;
+                        result[i] = pool[0];
+                    } else {
+                        result[i] = pool[indices[i]];
+                        break;
+                    }
+                }
+                if (i < 0) {
+                    self.setStopped(true);
+                    throw raise(StopIteration);
+                }
+            }
+            // the last result is never modified, so the tuple can share it
+            self.setLastResult(result);
+            return factory().createTuple(result);
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        PTuple reduce(PProduct self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object type = lib.getLazyPythonClass(self);
+            if (self.isStopped()) {
+                PTuple args = factory().createTuple(new Object[]{factory().createEmptyTuple()});
+                return factory().createTuple(new Object[]{type, args});
+            }
+            Object[][] pools = self.getPools();
+            Object[] poolTuples = new Object[pools.length];
+            for (int i = 0; i < pools.length; i++) {
+                poolTuples[i] = factory().createTuple(pools[i]);
+            }
+            PTuple args = factory().createTuple(poolTuples);
+            if (self.getLastResult() == null) {
+                return factory().createTuple(new Object[]{type, args});
+            }
+            int[] indices = self.getIndices();
+            Object[] state = new Object[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                state[i] = indices[i];
+            }
+            return factory().createTuple(new Object[]{type, args, factory().createTuple(state)});
+        }
+    }
+
+    @Builtin(name = __SETSTATE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class SetStateNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object setState(VirtualFrame frame, PProduct self, PTuple state,
+                        @Cached SequenceNodes.GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            Object[] items = getObjectArrayNode.execute(state);
+            Object[][] pools = self.getPools();
+            int[] indices = self.getIndices();
+            if (items.length != pools.length) {
+                throw raise(ValueError, ErrorMessages.INVALID_ARGUMENTS);
+            }
+            ThreadState threadState = PArguments.getThreadState(frame);
+            for (int i = 0; i < pools.length; i++) {
+                int poolSize = pools[i].length;
+                if (poolSize == 0) {
+                    self.setStopped(true);
+                    return PNone.NONE;
+                }
+                indices[i] = Math.max(0, Math.min(lib.asSizeWithState(items[i], threadState), poolSize - 1));
+            }
+            Object[] lastResult = new Object[pools.length];
+            for (int i = 0; i < pools.length; i++) {
+                lastResult[i] = pools[i][indices[i]];
+            }
+            self.setLastResult(lastResult);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object setState(Object self, Object state) {
+            throw raise(TypeError, ErrorMessages.STATE_IS_NOT_A_TUPLE);
+        }
+    }
+}
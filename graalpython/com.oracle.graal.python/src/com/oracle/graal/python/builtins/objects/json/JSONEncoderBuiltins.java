@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.json;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CALL__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PJSONEncoder)
+public class JSONEncoderBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return JSONEncoderBuiltinsFactory.getFactories();
+    }
+
+    // the indent level is only meaningful with an indent, which this encoder does not support
+    @Builtin(name = __CALL__, minNumOfPositionalArgs = 3, parameterNames = {"$self", "obj", "_current_indent_level"})
+    @GenerateNodeFactory
+    abstract static class CallEncoderNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PTuple call(PJSONEncoder self, Object obj, @SuppressWarnings("unused") Object indentLevel) {
+            return factory().createTuple(new Object[]{self.encode(obj)});
+        }
+    }
+
+    @Builtin(name = "markers", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MarkersNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object markers(PJSONEncoder self) {
+            return self.getMarkers();
+        }
+    }
+
+    @Builtin(name = "default", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class DefaultNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object getDefault(PJSONEncoder self) {
+            return self.getDefault();
+        }
+    }
+
+    @Builtin(name = "encoder", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class EncoderNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object encoder(PJSONEncoder self) {
+            return self.getEncoder();
+        }
+    }
+
+    @Builtin(name = "indent", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class IndentNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object indent(PJSONEncoder self) {
+            return self.getIndent();
+        }
+    }
+
+    @Builtin(name = "key_separator", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class KeySeparatorNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static String keySeparator(PJSONEncoder self) {
+            return self.getKeySeparator();
+        }
+    }
+
+    @Builtin(name = "item_separator", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ItemSeparatorNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static String itemSeparator(PJSONEncoder self) {
+            return self.getItemSeparator();
+        }
+    }
+
+    @Builtin(name = "sort_keys", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SortKeysNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean sortKeys(PJSONEncoder self) {
+            return self.isSortKeys();
+        }
+    }
+
+    @Builtin(name = "skipkeys", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SkipKeysNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean skipKeys(PJSONEncoder self) {
+            return self.isSkipKeys();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.json;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CALL__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PJSONScanner)
+public class JSONScannerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return JSONScannerBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __CALL__, minNumOfPositionalArgs = 3, parameterNames = {"$self", "string", "idx"})
+    @GenerateNodeFactory
+    abstract static class CallScannerNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PTuple call(VirtualFrame frame, PJSONScanner self, Object string, Object idx,
+                        @Cached CastToJavaStringNode castString,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            String s;
+            try {
+                s = castString.execute(string);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.FIRST_ARG_MUST_BE_STRING_NOT_P, string);
+            }
+            return self.scanOnce(s, lib.asSizeWithState(idx, PArguments.getThreadState(frame)));
+        }
+    }
+
+    @Builtin(name = "strict", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class StrictNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean strict(PJSONScanner self) {
+            return self.isStrict();
+        }
+    }
+
+    @Builtin(name = "object_hook", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ObjectHookNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object objectHook(PJSONScanner self) {
+            return self.getObjectHook();
+        }
+    }
+
+    @Builtin(name = "object_pairs_hook", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ObjectPairsHookNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object objectPairsHook(PJSONScanner self) {
+            return self.getObjectPairsHook();
+        }
+    }
+
+    @Builtin(name = "parse_float", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ParseFloatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object parseFloat(PJSONScanner self) {
+            return self.getParseFloat();
+        }
+    }
+
+    @Builtin(name = "parse_int", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ParseIntNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object parseInt(PJSONScanner self) {
+            return self.getParseInt();
+        }
+    }
+
+    @Builtin(name = "parse_constant", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ParseConstantNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object parseConstant(PJSONScanner self) {
+            return self.getParseConstant();
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.json;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.IdentityHashMap;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.floats.FloatBuiltins;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code _json.Encoder}, as returned by {@code _json.make_encoder(...)}. Calling it serializes
+ * the whole object graph into one {@link StringBuilder} and returns a single chunk, instead of the
+ * list of fragments the pure Python {@code _iterencode} would produce. Follows
+ * {@code Modules/_json.c}; like there, {@code indent} is accepted but not supported, which is why
+ * {@code json.encoder} only uses this class when {@code indent is None}.
+ */
+public final class PJSONEncoder extends PythonBuiltinObject {
+    public enum FastEncode {
+        NONE,
+        ASCII,
+        UNICODE
+    }
+
+    private Object markers;
+    private Object defaultFn;
+    private Object encoder;
+    private Object indent;
+    private String keySeparator;
+    private String itemSeparator;
+    private boolean sortKeys;
+    private boolean skipKeys;
+    private boolean allowNan;
+    private FastEncode fastEncode;
+
+    public PJSONEncoder(Object clazz, Shape instanceShape) {
+        super(clazz, instanceShape);
+    }
+
+    public void init(Object markersValue, Object defaultValue, Object encoderValue, Object indentValue, String keySeparatorValue, String itemSeparatorValue, boolean sortKeysValue,
+                    boolean skipKeysValue, boolean allowNanValue, FastEncode fastEncodeValue) {
+        this.markers = markersValue;
+        this.defaultFn = defaultValue;
+        this.encoder = encoderValue;
+        this.indent = indentValue;
+        this.keySeparator = keySeparatorValue;
+        this.itemSeparator = itemSeparatorValue;
+        this.sortKeys = sortKeysValue;
+        this.skipKeys = skipKeysValue;
+        this.allowNan = allowNanValue;
+        this.fastEncode = fastEncodeValue;
+    }
+
+    public Object getMarkers() {
+        return markers;
+    }
+
+    public Object getDefault() {
+        return defaultFn;
+    }
+
+    public Object getEncoder() {
+        return encoder;
+    }
+
+    public Object getIndent() {
+        return indent;
+    }
+
+    public String getKeySeparator() {
+        return keySeparator;
+    }
+
+    public String getItemSeparator() {
+        return itemSeparator;
+    }
+
+    public boolean isSortKeys() {
+        return sortKeys;
+    }
+
+    public boolean isSkipKeys() {
+        return skipKeys;
+    }
+
+    /** Serializes {@code obj}; the result is the single chunk of the encoding. */
+    @TruffleBoundary
+    public String encode(Object obj) {
+        StringBuilder sb = new StringBuilder();
+        IdentityHashMap<Object, Object> seen = markers != PNone.NONE ? new IdentityHashMap<>() : null;
+        encodeObject(sb, obj, seen);
+        return sb.toString();
+    }
+
+    private void encodeObject(StringBuilder sb, Object obj, IdentityHashMap<Object, Object> seen) {
+        if (obj == PNone.NONE) {
+            sb.append("null");
+        } else if (obj == Boolean.TRUE) {
+            sb.append("true");
+        } else if (obj == Boolean.FALSE) {
+            sb.append("false");
+        } else if (obj instanceof String) {
+            encodeString(sb, (String) obj);
+        } else if (obj instanceof PString) {
+            encodeString(sb, ((PString) obj).getValue());
+        } else if (obj instanceof Integer || obj instanceof Long) {
+            sb.append(((Number) obj).longValue());
+        } else if (obj instanceof PInt) {
+            sb.append(((PInt) obj).getValue());
+        } else if (obj instanceof Double) {
+            encodeFloat(sb, (double) obj);
+        } else if (obj instanceof PFloat) {
+            encodeFloat(sb, ((PFloat) obj).getValue());
+        } else if (obj instanceof PList || obj instanceof PTuple) {
+            encodeSequence(sb, (PSequence) obj, seen);
+        } else if (obj instanceof PDict) {
+            encodeDict(sb, (PDict) obj, seen);
+        } else {
+            enter(obj, seen);
+            Object converted = CallNode.getUncached().execute(defaultFn, obj);
+            encodeObject(sb, converted, seen);
+            leave(obj, seen);
+        }
+    }
+
+    private static void enter(Object obj, IdentityHashMap<Object, Object> seen) {
+        if (seen != null && seen.put(obj, obj) != null) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.CIRCULAR_REFERENCE_DETECTED);
+        }
+    }
+
+    private static void leave(Object obj, IdentityHashMap<Object, Object> seen) {
+        if (seen != null) {
+            seen.remove(obj);
+        }
+    }
+
+    private void encodeFloat(StringBuilder sb, double value) {
+        if (Double.isFinite(value)) {
+            PythonCore core = PythonLanguage.getContext().getCore();
+            sb.append(FloatBuiltins.StrNode.doRepr(core, value));
+            return;
+        }
+        if (!allowNan) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.OUT_OF_RANGE_FLOAT_NOT_JSON_COMPLIANT);
+        }
+        if (Double.isNaN(value)) {
+            sb.append("NaN");
+        } else {
+            sb.append(value > 0 ? "Infinity" : "-Infinity");
+        }
+    }
+
+    private void encodeString(StringBuilder sb, String value) {
+        switch (fastEncode) {
+            case ASCII:
+                appendString(sb, value, true);
+                break;
+            case UNICODE:
+                appendString(sb, value, false);
+                break;
+            default:
+                Object encoded = CallNode.getUncached().execute(encoder, value);
+                if (encoded instanceof String) {
+                    sb.append((String) encoded);
+                } else if (encoded instanceof PString) {
+                    sb.append(((PString) encoded).getValue());
+                } else {
+                    throw PRaiseNode.getUncached().raise(TypeError, ErrorMessages.ENCODER_MUST_RETURN_STR_NOT_P, encoded);
+                }
+        }
+    }
+
+    private void encodeSequence(StringBuilder sb, PSequence seq, IdentityHashMap<Object, Object> seen) {
+        SequenceStorage storage = seq.getSequenceStorage();
+        int length = storage.length();
+        if (length == 0) {
+            sb.append("[]");
+            return;
+        }
+        enter(seq, seen);
+        sb.append('[');
+        for (int i = 0; i < storage.length(); i++) {
+            if (i > 0) {
+                sb.append(itemSeparator);
+            }
+            encodeObject(sb, SequenceStorageNodes.GetItemScalarNode.getUncached().execute(storage, i), seen);
+        }
+        sb.append(']');
+        leave(seq, seen);
+    }
+
+    private void encodeDict(StringBuilder sb, PDict dict, IdentityHashMap<Object, Object> seen) {
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage dictStorage = dict.getDictStorage();
+        int length = lib.length(dictStorage);
+        if (length == 0) {
+            sb.append("{}");
+            return;
+        }
+        enter(dict, seen);
+        // like CPython, take a snapshot of the items first (and sort that if requested)
+        Object[] items = new Object[length];
+        int n = 0;
+        for (HashingStorage.DictEntry entry : lib.entries(dictStorage)) {
+            items[n++] = PythonObjectFactory.getUncached().createTuple(new Object[]{entry.key, entry.value});
+        }
+        PList itemList = PythonObjectFactory.getUncached().createList(items);
+        if (sortKeys) {
+            PythonObjectLibrary.getUncached().lookupAndCallRegularMethod(itemList, null, "sort");
+        }
+        SequenceStorage itemStorage = itemList.getSequenceStorage();
+        sb.append('{');
+        boolean first = true;
+        for (int i = 0; i < itemStorage.length(); i++) {
+            PTuple item = (PTuple) SequenceStorageNodes.GetItemScalarNode.getUncached().execute(itemStorage, i);
+            SequenceStorage pair = item.getSequenceStorage();
+            Object key = SequenceStorageNodes.GetItemScalarNode.getUncached().execute(pair, 0);
+            Object value = SequenceStorageNodes.GetItemScalarNode.getUncached().execute(pair, 1);
+            String keyString;
+            if (key instanceof String) {
+                keyString = (String) key;
+            } else if (key instanceof PString) {
+                keyString = ((PString) key).getValue();
+            } else if (key instanceof Double || key instanceof PFloat) {
+                StringBuilder keyBuilder = new StringBuilder();
+                encodeFloat(keyBuilder, key instanceof Double ? (double) key : ((PFloat) key).getValue());
+                keyString = keyBuilder.toString();
+            } else if (key == Boolean.TRUE) {
+                keyString = "true";
+            } else if (key == Boolean.FALSE) {
+                keyString = "false";
+            } else if (key == PNone.NONE) {
+                keyString = "null";
+            } else if (key instanceof Integer || key instanceof Long) {
+                keyString = key.toString();
+            } else if (key instanceof PInt) {
+                keyString = ((PInt) key).getValue().toString();
+            } else if (skipKeys) {
+                continue;
+            } else {
+                throw PRaiseNode.getUncached().raise(TypeError, ErrorMessages.JSON_KEYS_MUST_BE_STR_INT_NOT_P, key);
+            }
+            if (!first) {
+                sb.append(itemSeparator);
+            }
+            first = false;
+            encodeString(sb, keyString);
+            sb.append(keySeparator);
+            encodeObject(sb, value, seen);
+        }
+        sb.append('}');
+        leave(dict, seen);
+    }
+
+    /**
+     * Appends {@code value} as a quoted JSON string; implements both
+     * {@code encode_basestring_ascii} and {@code encode_basestring}.
+     */
+    @TruffleBoundary
+    public static void appendString(StringBuilder sb, String value, boolean asciiOnly) {
+        sb.append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch >= ' ' && ch != '"' && ch != '\\' && (ch < 0x7f || !asciiOnly)) {
+                continue;
+            }
+            sb.append(value, start, i);
+            start = i + 1;
+            switch (ch) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\b':
+                    sb.append("\\b");
+                    break;
+                case '\f':
+                    sb.append("\\f");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    // control characters and, for the ASCII variant, everything above 0x7e; the
+                    // UTF-16 surrogates of a supplementary character come out as the escaped pair
+                    sb.append("\\u");
+                    String hex = Integer.toHexString(ch);
+                    for (int pad = hex.length(); pad < 4; pad++) {
+                        sb.append('0');
+                    }
+                    sb.append(hex);
+            }
+        }
+        sb.append(value, start, length);
+        sb.append('"');
+    }
+}
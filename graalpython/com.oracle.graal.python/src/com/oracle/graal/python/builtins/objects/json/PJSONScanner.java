@@ -0,0 +1,510 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.json;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.exception.PBaseException;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.BuiltinNames;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code _json.Scanner}, as returned by {@code _json.make_scanner(context)}. Parses a JSON
+ * document directly into {@link PDict} and {@link com.oracle.graal.python.builtins.objects.list.PList}
+ * objects, so that lists of numbers end up in the unboxed sequence storages and objects with string
+ * keys in the string-keyed dict storage. Follows {@code Modules/_json.c} closely, including the
+ * error positions and the {@code StopIteration(idx)} protocol used by {@code json.decoder}.
+ */
+public final class PJSONScanner extends PythonBuiltinObject {
+
+    /** The parse position and the key memo of one {@code scan_once} call. */
+    private static final class Cursor {
+        private final String s;
+        private final HashMap<String, String> memo = new HashMap<>();
+        private int pos;
+
+        private Cursor(String s, int pos) {
+            this.s = s;
+            this.pos = pos;
+        }
+    }
+
+    private boolean strict;
+    private Object objectHook;
+    private Object objectPairsHook;
+    private Object parseFloat;
+    private Object parseInt;
+    private Object parseConstant;
+    private boolean defaultParseFloat;
+    private boolean defaultParseInt;
+
+    public PJSONScanner(Object clazz, Shape instanceShape) {
+        super(clazz, instanceShape);
+    }
+
+    public void init(boolean strictValue, Object objectHookValue, Object objectPairsHookValue, Object parseFloatValue, Object parseIntValue, Object parseConstantValue) {
+        this.strict = strictValue;
+        this.objectHook = objectHookValue;
+        this.objectPairsHook = objectPairsHookValue;
+        this.parseFloat = parseFloatValue;
+        this.parseInt = parseIntValue;
+        this.parseConstant = parseConstantValue;
+        this.defaultParseFloat = parseFloatValue == PythonBuiltinClassType.PFloat || parseFloatValue == lookupType(PythonBuiltinClassType.PFloat);
+        this.defaultParseInt = parseIntValue == PythonBuiltinClassType.PInt || parseIntValue == lookupType(PythonBuiltinClassType.PInt);
+    }
+
+    @TruffleBoundary
+    private static Object lookupType(PythonBuiltinClassType type) {
+        return PythonLanguage.getContext().getCore().lookupType(type);
+    }
+
+    public boolean isStrict() {
+        return strict;
+    }
+
+    public Object getObjectHook() {
+        return objectHook;
+    }
+
+    public Object getObjectPairsHook() {
+        return objectPairsHook;
+    }
+
+    public Object getParseFloat() {
+        return parseFloat;
+    }
+
+    public Object getParseInt() {
+        return parseInt;
+    }
+
+    public Object getParseConstant() {
+        return parseConstant;
+    }
+
+    /**
+     * Scans one JSON value starting at {@code idx} and returns {@code (value, end)}. Raises
+     * {@code StopIteration(idx)} if there is no value at {@code idx}.
+     */
+    @TruffleBoundary
+    public PTuple scanOnce(String s, int idx) {
+        if (idx < 0) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.CANNOT_BE_NEGATIVE, "idx");
+        }
+        Cursor cursor = new Cursor(s, idx);
+        Object value = scanValue(cursor);
+        return PythonObjectFactory.getUncached().createTuple(new Object[]{value, cursor.pos});
+    }
+
+    /**
+     * Implements {@code _json.scanstring(s, end, strict=True)}: decodes the string whose contents
+     * start at {@code end} (just after the opening quote).
+     */
+    @TruffleBoundary
+    public static PTuple scanString(String s, int end, boolean strict) {
+        if (end < 0 || end > s.length()) {
+            throw PRaiseNode.getUncached().raise(ValueError, ErrorMessages.END_IS_OUT_OF_BOUNDS);
+        }
+        Cursor cursor = new Cursor(s, end);
+        String value = parseString(cursor, strict);
+        return PythonObjectFactory.getUncached().createTuple(new Object[]{value, cursor.pos});
+    }
+
+    private Object scanValue(Cursor c) {
+        String s = c.s;
+        int idx = c.pos;
+        int length = s.length();
+        if (idx >= length) {
+            throw stopIteration(idx);
+        }
+        switch (s.charAt(idx)) {
+            case '"':
+                c.pos = idx + 1;
+                return parseString(c, strict);
+            case '{':
+                c.pos = idx + 1;
+                return parseObject(c);
+            case '[':
+                c.pos = idx + 1;
+                return parseArray(c);
+            case 'n':
+                if (s.startsWith("null", idx)) {
+                    c.pos = idx + 4;
+                    return PNone.NONE;
+                }
+                break;
+            case 't':
+                if (s.startsWith("true", idx)) {
+                    c.pos = idx + 4;
+                    return true;
+                }
+                break;
+            case 'f':
+                if (s.startsWith("false", idx)) {
+                    c.pos = idx + 5;
+                    return false;
+                }
+                break;
+            case 'N':
+                if (s.startsWith("NaN", idx)) {
+                    c.pos = idx + 3;
+                    return CallNode.getUncached().execute(parseConstant, "NaN");
+                }
+                break;
+            case 'I':
+                if (s.startsWith("Infinity", idx)) {
+                    c.pos = idx + 8;
+                    return CallNode.getUncached().execute(parseConstant, "Infinity");
+                }
+                break;
+            case '-':
+                if (s.startsWith("-Infinity", idx)) {
+                    c.pos = idx + 9;
+                    return CallNode.getUncached().execute(parseConstant, "-Infinity");
+                }
+                break;
+        }
+        return parseNumber(c);
+    }
+
+    private static int skipWhitespace(String s, int start) {
+        int idx = start;
+        while (idx < s.length()) {
+            char ch = s.charAt(idx);
+            if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r') {
+                break;
+            }
+            idx++;
+        }
+        return idx;
+    }
+
+    private Object parseObject(Cursor c) {
+        String s = c.s;
+        int length = s.length();
+        ArrayList<Object> items = new ArrayList<>();
+        int idx = skipWhitespace(s, c.pos);
+        if (idx >= length || s.charAt(idx) != '}') {
+            while (true) {
+                if (idx >= length || s.charAt(idx) != '"') {
+                    throw decodeError("Expecting property name enclosed in double quotes", s, idx);
+                }
+                c.pos = idx + 1;
+                String key = parseString(c, strict);
+                String memoized = c.memo.putIfAbsent(key, key);
+                items.add(memoized != null ? memoized : key);
+                idx = skipWhitespace(s, c.pos);
+                if (idx >= length || s.charAt(idx) != ':') {
+                    throw decodeError("Expecting ':' delimiter", s, idx);
+                }
+                c.pos = skipWhitespace(s, idx + 1);
+                items.add(scanValue(c));
+                idx = skipWhitespace(s, c.pos);
+                if (idx < length && s.charAt(idx) == '}') {
+                    break;
+                }
+                if (idx >= length || s.charAt(idx) != ',') {
+                    throw decodeError("Expecting ',' delimiter", s, idx);
+                }
+                idx = skipWhitespace(s, idx + 1);
+            }
+        }
+        c.pos = idx + 1;
+
+        PythonObjectFactory factory = PythonObjectFactory.getUncached();
+        int count = items.size() / 2;
+        if (objectPairsHook != PNone.NONE) {
+            Object[] pairs = new Object[count];
+            for (int i = 0; i < count; i++) {
+                pairs[i] = factory.createTuple(new Object[]{items.get(2 * i), items.get(2 * i + 1)});
+            }
+            return CallNode.getUncached().execute(objectPairsHook, factory.createList(pairs));
+        }
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage storage = PDict.createNewStorage(true, count);
+        for (int i = 0; i < count; i++) {
+            storage = lib.setItem(storage, items.get(2 * i), items.get(2 * i + 1));
+        }
+        PDict dict = factory.createDict(storage);
+        if (objectHook != PNone.NONE) {
+            return CallNode.getUncached().execute(objectHook, dict);
+        }
+        return dict;
+    }
+
+    private Object parseArray(Cursor c) {
+        String s = c.s;
+        int length = s.length();
+        ArrayList<Object> items = new ArrayList<>();
+        int idx = skipWhitespace(s, c.pos);
+        if (idx >= length || s.charAt(idx) != ']') {
+            while (true) {
+                c.pos = idx;
+                items.add(scanValue(c));
+                idx = skipWhitespace(s, c.pos);
+                if (idx < length && s.charAt(idx) == ']') {
+                    break;
+                }
+                if (idx >= length || s.charAt(idx) != ',') {
+                    throw decodeError("Expecting ',' delimiter", s, idx);
+                }
+                idx = skipWhitespace(s, idx + 1);
+            }
+        }
+        c.pos = idx + 1;
+        // createList picks the int, double, ... storage if all elements allow it
+        return PythonObjectFactory.getUncached().createList(items.toArray());
+    }
+
+    private Object parseNumber(Cursor c) {
+        String s = c.s;
+        int start = c.pos;
+        int endIdx = s.length() - 1;
+        int idx = start;
+        if (s.charAt(idx) == '-') {
+            idx++;
+            if (idx > endIdx) {
+                throw stopIteration(start);
+            }
+        }
+        char ch = s.charAt(idx);
+        if (ch >= '1' && ch <= '9') {
+            idx++;
+            while (idx <= endIdx && isDigit(s.charAt(idx))) {
+                idx++;
+            }
+        } else if (ch == '0') {
+            idx++;
+        } else {
+            throw stopIteration(start);
+        }
+        boolean isFloat = false;
+        if (idx < endIdx && s.charAt(idx) == '.' && isDigit(s.charAt(idx + 1))) {
+            isFloat = true;
+            idx += 2;
+            while (idx <= endIdx && isDigit(s.charAt(idx))) {
+                idx++;
+            }
+        }
+        if (idx < endIdx && (s.charAt(idx) == 'e' || s.charAt(idx) == 'E')) {
+            int exponentStart = idx;
+            idx++;
+            if (idx < endIdx && (s.charAt(idx) == '-' || s.charAt(idx) == '+')) {
+                idx++;
+            }
+            while (idx <= endIdx && isDigit(s.charAt(idx))) {
+                idx++;
+            }
+            if (isDigit(s.charAt(idx - 1))) {
+                isFloat = true;
+            } else {
+                idx = exponentStart;
+            }
+        }
+        c.pos = idx;
+        String number = s.substring(start, idx);
+        if (isFloat) {
+            if (defaultParseFloat) {
+                return Double.parseDouble(number);
+            }
+            return CallNode.getUncached().execute(parseFloat, number);
+        }
+        if (!defaultParseInt) {
+            return CallNode.getUncached().execute(parseInt, number);
+        }
+        int digits = number.length() - (number.charAt(0) == '-' ? 1 : 0);
+        if (digits < 10) {
+            return Integer.parseInt(number);
+        } else if (digits < 19) {
+            long value = Long.parseLong(number);
+            if (value == (int) value) {
+                return (int) value;
+            }
+            return value;
+        }
+        BigInteger value = new BigInteger(number);
+        if (value.bitLength() < Long.SIZE) {
+            return value.longValue();
+        }
+        return PythonObjectFactory.getUncached().createInt(value);
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static String parseString(Cursor c, boolean strict) {
+        String s = c.s;
+        int length = s.length();
+        int begin = c.pos - 1;
+        int end = c.pos;
+        StringBuilder sb = null;
+        while (true) {
+            // find the end of the string or the next \ or "
+            char ch = 0;
+            int next;
+            for (next = end; next < length; next++) {
+                ch = s.charAt(next);
+                if (ch == '"' || ch == '\\') {
+                    break;
+                } else if (ch <= 0x1f && strict) {
+                    throw decodeError("Invalid control character at", s, next);
+                }
+            }
+            if (ch != '"' && ch != '\\') {
+                throw decodeError("Unterminated string starting at", s, begin);
+            }
+            if (ch == '"' && sb == null) {
+                // the common case: no escapes at all
+                c.pos = next + 1;
+                return s.substring(end, next);
+            }
+            if (sb == null) {
+                sb = new StringBuilder(next - end + 16);
+            }
+            sb.append(s, end, next);
+            next++;
+            if (ch == '"') {
+                end = next;
+                break;
+            }
+            if (next == length) {
+                throw decodeError("Unterminated string starting at", s, begin);
+            }
+            ch = s.charAt(next);
+            if (ch != 'u') {
+                end = next + 1;
+                switch (ch) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        break;
+                    case 'b':
+                        ch = '\b';
+                        break;
+                    case 'f':
+                        ch = '\f';
+                        break;
+                    case 'n':
+                        ch = '\n';
+                        break;
+                    case 'r':
+                        ch = '\r';
+                        break;
+                    case 't':
+                        ch = '\t';
+                        break;
+                    default:
+                        throw decodeError("Invalid \\escape", s, end - 2);
+                }
+                sb.append(ch);
+            } else {
+                next++;
+                end = next + 4;
+                if (end >= length) {
+                    throw decodeError("Invalid \\uXXXX escape", s, next - 1);
+                }
+                int codePoint = parseHex4(s, next, end);
+                // surrogate pair
+                if (Character.isHighSurrogate((char) codePoint) && end + 6 < length && s.charAt(end) == '\\' && s.charAt(end + 1) == 'u') {
+                    int low = parseHex4(s, end + 2, end + 6);
+                    if (Character.isLowSurrogate((char) low)) {
+                        codePoint = Character.toCodePoint((char) codePoint, (char) low);
+                        end += 6;
+                    }
+                }
+                sb.appendCodePoint(codePoint);
+            }
+        }
+        c.pos = end;
+        return sb.toString();
+    }
+
+    private static int parseHex4(String s, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(s.charAt(i), 16);
+            if (digit < 0) {
+                throw decodeError("Invalid \\uXXXX escape", s, end - 5);
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private static PException stopIteration(int idx) {
+        PythonObjectFactory factory = PythonObjectFactory.getUncached();
+        PBaseException exc = factory.createBaseException(PythonBuiltinClassType.StopIteration, factory.createTuple(new Object[]{idx}));
+        throw PRaiseNode.raise(PRaiseNode.getUncached(), exc, PythonOptions.isPExceptionWithJavaStacktrace(PythonLanguage.getCurrent()));
+    }
+
+    /** Raises {@code json.decoder.JSONDecodeError(msg, doc, pos)}, like {@code raise_errmsg}. */
+    private static PException decodeError(String msg, String doc, int pos) {
+        PythonCore core = PythonLanguage.getContext().getCore();
+        PythonObjectFactory factory = PythonObjectFactory.getUncached();
+        Object importFunc = core.lookupBuiltinModule(BuiltinNames.BUILTINS).getAttribute(BuiltinNames.__IMPORT__);
+        Object decoder = CallNode.getUncached().execute(importFunc, "json.decoder", PNone.NONE, PNone.NONE, factory.createList(new Object[]{"JSONDecodeError"}));
+        Object errorType = PythonObjectLibrary.getUncached().lookupAttributeStrict(decoder, null, "JSONDecodeError");
+        PBaseException exc = (PBaseException) CallNode.getUncached().execute(errorType, msg, doc, pos);
+        throw PRaiseNode.raise(PRaiseNode.getUncached(), exc, PythonOptions.isPExceptionWithJavaStacktrace(PythonLanguage.getCurrent()));
+    }
+}
@@ -50,6 +50,7 @@ import static com.oracle.graal.python.runtime.exception.PythonErrorType.MemoryEr
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
@@ -66,7 +67,6 @@ import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.Crea
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.ListGeneralizationNode;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.function.PArguments.ThreadState;
-import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.generator.PGenerator;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.iterator.IteratorNodes;
@@ -82,7 +82,6 @@ import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PGuards;
-import com.oracle.graal.python.nodes.attributes.GetAttributeNode;
 import com.oracle.graal.python.nodes.builtins.ListNodes;
 import com.oracle.graal.python.nodes.builtins.ListNodes.AppendNode;
 import com.oracle.graal.python.nodes.builtins.ListNodes.IndexNode;
@@ -93,9 +92,9 @@ import com.oracle.graal.python.nodes.control.GetNextNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
-import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
 import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.runtime.PythonCore;
@@ -108,9 +107,11 @@ import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorageFactory;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.ImportStatic;
@@ -848,68 +849,200 @@ public class ListBuiltins extends PythonBuiltins {
         }
     }
 
-    // list.sort(key=, reverse=)
-    @Builtin(name = SORT, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, needsFrame = true)
+    // list.sort(*, key=None, reverse=False)
+    @Builtin(name = SORT, minNumOfPositionalArgs = 1, takesVarArgs = true, keywordOnlyNames = {"key", "reverse"})
     @GenerateNodeFactory
-    public abstract static class ListSortNode extends PythonVarargsBuiltinNode {
+    public abstract static class ListSortNode extends PythonQuaternaryBuiltinNode {
 
-        protected static final String SORT = "_sort";
-        protected static final String KEY = "key";
+        public final Object sort(VirtualFrame frame, PList list) {
+            return execute(frame, list, PArguments.EMPTY_VARARGS, PNone.NO_VALUE, PNone.NO_VALUE);
+        }
 
-        protected static boolean isSortable(PList list, SequenceStorageNodes.LenNode lenNode) {
-            return lenNode.execute(list.getSequenceStorage()) > 1;
+        @Specialization(guards = "args.length != 0")
+        @SuppressWarnings("unused")
+        Object positional(PList list, Object[] args, Object key, Object reverse) {
+            throw raise(TypeError, ErrorMessages.S_TAKES_NO_POSITIONAL_ARGS, SORT);
         }
 
-        protected static boolean maySideEffect(PList list, PKeyword[] keywords) {
-            if (PGuards.isObjectStorage(list)) {
-                return true;
-            }
-            if (keywords.length > 0) {
-                if (keywords[0].getName().equals(KEY)) {
-                    return true;
+        @Specialization(guards = {"args.length == 0", "isPNone(key)", "isIntStorage(list)"})
+        static Object sortInt(VirtualFrame frame, PList list, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") Object key, Object reverse,
+                        @Shared("reverseLib") @CachedLibrary(limit = "1") PythonObjectLibrary reverseLib) {
+            IntSequenceStorage storage = (IntSequenceStorage) list.getSequenceStorage();
+            sortInts(storage.getInternalIntArray(), storage.length(), isReverse(frame, reverse, reverseLib));
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = {"args.length == 0", "isPNone(key)", "isLongStorage(list)"})
+        static Object sortLong(VirtualFrame frame, PList list, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") Object key, Object reverse,
+                        @Shared("reverseLib") @CachedLibrary(limit = "1") PythonObjectLibrary reverseLib) {
+            LongSequenceStorage storage = (LongSequenceStorage) list.getSequenceStorage();
+            sortLongs(storage.getInternalLongArray(), storage.length(), isReverse(frame, reverse, reverseLib));
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = {"args.length == 0", "isPNone(key)", "isDoubleStorage(list)", "!hasNaN(list)"})
+        static Object sortDouble(VirtualFrame frame, PList list, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") Object key, Object reverse,
+                        @Shared("reverseLib") @CachedLibrary(limit = "1") PythonObjectLibrary reverseLib) {
+            DoubleSequenceStorage storage = (DoubleSequenceStorage) list.getSequenceStorage();
+            sortDoubles(storage.getInternalDoubleArray(), storage.length(), isReverse(frame, reverse, reverseLib));
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = {"args.length == 0", "!isPrimitiveSort(list, key)"})
+        Object sortGeneric(VirtualFrame frame, PList list, @SuppressWarnings("unused") Object[] args, Object key, Object reverse,
+                        @Shared("reverseLib") @CachedLibrary(limit = "1") PythonObjectLibrary reverseLib,
+                        @Cached SequenceStorageNodes.ToArrayNode toArrayNode,
+                        @Cached SequenceStorageNodes.GetInternalArrayNode getInternalArrayNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached CallNode callKeyNode,
+                        @Cached TimSortNode timSortNode,
+                        @Cached("createBinaryProfile()") ConditionProfile keyProfile,
+                        @Cached("createBinaryProfile()") ConditionProfile stringsProfile) {
+            boolean rev = isReverse(frame, reverse, reverseLib);
+            SequenceStorage storage = list.getSequenceStorage();
+            int n = storage.length();
+            Object[] values = toArrayNode.execute(storage);
+            // like in CPython, the list is empty while it is being sorted, so that any modification
+            // by a key function or comparison can be detected afterwards
+            list.setSequenceStorage(EmptySequenceStorage.INSTANCE);
+            boolean modified;
+            try {
+                Object[] keys = values;
+                if (keyProfile.profile(!PGuards.isPNone(key))) {
+                    keys = new Object[n];
+                    for (int i = 0; i < n; i++) {
+                        keys[i] = callKeyNode.execute(frame, key, values[i]);
+                    }
+                }
+                // reversing before and after an ascending sort keeps equal elements stable
+                if (rev) {
+                    reverse(keys, values, n);
+                }
+                if (stringsProfile.profile(keys == values && isStrings(keys, n))) {
+                    sortStrings(keys, n);
+                } else {
+                    timSortNode.execute(frame, keys, keys == values ? null : values, n);
+                }
+                if (rev) {
+                    reverse(keys, values, n);
+                }
+            } finally {
+                modified = list.getSequenceStorage() != EmptySequenceStorage.INSTANCE;
+                if (values != getInternalArrayNode.execute(storage)) {
+                    for (int i = 0; i < n; i++) {
+                        setItemNode.execute(storage, i, values[i]);
+                    }
                 }
-                if (keywords.length > 1 && keywords[1].getName().equals(KEY)) {
+                list.setSequenceStorage(storage);
+            }
+            if (modified) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.LIST_MODIFIED_DURING_SORT);
+            }
+            return PNone.NONE;
+        }
+
+        static boolean isPrimitiveSort(PList list, Object key) {
+            return PGuards.isPNone(key) && (PGuards.isIntStorage(list) || PGuards.isLongStorage(list) || (PGuards.isDoubleStorage(list) && !hasNaN(list)));
+        }
+
+        static boolean hasNaN(PList list) {
+            DoubleSequenceStorage storage = (DoubleSequenceStorage) list.getSequenceStorage();
+            double[] values = storage.getInternalDoubleArray();
+            for (int i = 0; i < storage.length(); i++) {
+                if (Double.isNaN(values[i])) {
                     return true;
                 }
             }
             return false;
         }
 
-        public final Object sort(VirtualFrame frame, PList list) {
-            return this.execute(frame, list, PArguments.EMPTY_VARARGS, PKeyword.EMPTY_KEYWORDS);
+        private static boolean isReverse(VirtualFrame frame, Object reverse, PythonObjectLibrary lib) {
+            return !PGuards.isPNone(reverse) && lib.isTrueWithState(reverse, PArguments.getThreadState(frame));
         }
 
-        public abstract Object execute(VirtualFrame frame, PList list, Object[] arguments, PKeyword[] keywords);
+        private static boolean isStrings(Object[] keys, int n) {
+            for (int i = 0; i < n; i++) {
+                if (!(keys[i] instanceof String)) {
+                    return false;
+                }
+            }
+            return true;
+        }
 
-        @Specialization(guards = "!isSortable(list, lenNode)")
-        @SuppressWarnings("unused")
-        Object none(VirtualFrame frame, PList list, Object[] arguments, PKeyword[] keywords,
-                        @Cached SequenceStorageNodes.LenNode lenNode) {
-            return PNone.NONE;
+        private static void reverse(Object[] keys, Object[] values, int n) {
+            TimSortNode.reverse(keys, 0, n);
+            if (values != keys) {
+                TimSortNode.reverse(values, 0, n);
+            }
         }
 
-        @Specialization(guards = {"isSortable(list, lenNode)", "maySideEffect(list, keywords)"})
-        Object withKey(VirtualFrame frame, PList list, Object[] arguments, PKeyword[] keywords,
-                        @Cached("create(SORT)") GetAttributeNode sort,
-                        @Cached CallNode callSort,
-                        @SuppressWarnings("unused") @Cached SequenceStorageNodes.LenNode lenNode) {
-            list.getSequenceStorage().setLock();
-            try {
-                defaultSort(frame, list, arguments, keywords, sort, callSort, lenNode);
-            } finally {
-                list.getSequenceStorage().releaseLock();
+        @TruffleBoundary
+        private static void sortStrings(Object[] keys, int n) {
+            // 'Arrays.sort' is a stable merge sort for objects and 'String.compareTo' is the same
+            // order as 'str.__lt__'
+            Arrays.sort(keys, 0, n);
+        }
+
+        @TruffleBoundary
+        private static void sortInts(int[] values, int n, boolean reverse) {
+            Arrays.sort(values, 0, n);
+            if (reverse) {
+                for (int i = 0, j = n - 1; i < j; i++, j--) {
+                    int t = values[i];
+                    values[i] = values[j];
+                    values[j] = t;
+                }
             }
-            return PNone.NONE;
         }
 
-        @Specialization(guards = {"isSortable(list, lenNode)", "!maySideEffect(list, keywords)"})
-        Object defaultSort(VirtualFrame frame, PList list, Object[] arguments, PKeyword[] keywords,
-                        @Cached("create(SORT)") GetAttributeNode sort,
-                        @Cached CallNode callSort,
-                        @SuppressWarnings("unused") @Cached SequenceStorageNodes.LenNode lenNode) {
-            Object sortMethod = sort.executeObject(frame, list);
-            callSort.execute(sortMethod, arguments, keywords);
-            return PNone.NONE;
+        @TruffleBoundary
+        private static void sortLongs(long[] values, int n, boolean reverse) {
+            Arrays.sort(values, 0, n);
+            if (reverse) {
+                for (int i = 0, j = n - 1; i < j; i++, j--) {
+                    long t = values[i];
+                    values[i] = values[j];
+                    values[j] = t;
+                }
+            }
+        }
+
+        @TruffleBoundary
+        private static void sortDoubles(double[] values, int n, boolean reverse) {
+            // 'Arrays.sort' puts -0.0 before 0.0, but they are equal in Python and a stable sort
+            // must keep them in their original order
+            double[] zeros = null;
+            int zeroCount = 0;
+            boolean hasNegativeZero = false;
+            for (int i = 0; i < n; i++) {
+                if (values[i] == 0.0) {
+                    zeroCount++;
+                    hasNegativeZero |= Double.doubleToRawLongBits(values[i]) != 0L;
+                }
+            }
+            if (hasNegativeZero) {
+                zeros = new double[zeroCount];
+                for (int i = 0, j = 0; i < n; i++) {
+                    if (values[i] == 0.0) {
+                        zeros[j++] = values[i];
+                    }
+                }
+            }
+            Arrays.sort(values, 0, n);
+            if (reverse) {
+                for (int i = 0, j = n - 1; i < j; i++, j--) {
+                    double t = values[i];
+                    values[i] = values[j];
+                    values[j] = t;
+                }
+            }
+            if (zeros != null) {
+                int first = 0;
+                while (values[first] != 0.0) {
+                    first++;
+                }
+                PythonUtils.arraycopy(zeros, 0, values, first, zeroCount);
+            }
         }
 
         public static ListSortNode create() {
@@ -0,0 +1,652 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.list;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+
+import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
+import com.oracle.graal.python.nodes.expression.CoerceToBooleanNode;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
+
+/**
+ * A stable, in-place TimSort over an array of keys, closely following {@code listobject.c} (see
+ * {@code lib-graalpython/listsort.txt} for a description of the algorithm). All comparisons go
+ * through a cached {@code <} so that the usual inline caches for {@code __lt__} apply. If an
+ * optional array of values is given, it is permuted along with the keys.
+ *
+ * Even if a comparison raises, the arrays are left as a permutation of the input.
+ */
+public final class TimSortNode extends Node {
+    private static final int MIN_GALLOP = 7;
+    private static final int MAX_MERGE_PENDING = 85;
+
+    @Child private BinaryComparisonNode ltNode = BinaryComparisonNode.create(__LT__, __GT__, "<");
+    @Child private CoerceToBooleanNode castToBooleanNode;
+
+    public static TimSortNode create() {
+        return new TimSortNode();
+    }
+
+    private static final class MergeState {
+        final Object[] keys;
+        final Object[] values;
+
+        int minGallop = MIN_GALLOP;
+        Object[] tmpKeys;
+        Object[] tmpValues;
+
+        int pending;
+        final int[] runBase = new int[MAX_MERGE_PENDING];
+        final int[] runLen = new int[MAX_MERGE_PENDING];
+
+        MergeState(Object[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        void ensureTmp(int need) {
+            if (tmpKeys == null || tmpKeys.length < need) {
+                tmpKeys = new Object[need];
+                if (values != null) {
+                    tmpValues = new Object[need];
+                }
+            }
+        }
+
+        void move(int from, int to) {
+            keys[to] = keys[from];
+            if (values != null) {
+                values[to] = values[from];
+            }
+        }
+
+        void copy(int from, int to, int len) {
+            PythonUtils.arraycopy(keys, from, keys, to, len);
+            if (values != null) {
+                PythonUtils.arraycopy(values, from, values, to, len);
+            }
+        }
+
+        void copyToTmp(int from, int len) {
+            ensureTmp(len);
+            PythonUtils.arraycopy(keys, from, tmpKeys, 0, len);
+            if (values != null) {
+                PythonUtils.arraycopy(values, from, tmpValues, 0, len);
+            }
+        }
+
+        void moveFromTmp(int from, int to) {
+            keys[to] = tmpKeys[from];
+            if (values != null) {
+                values[to] = tmpValues[from];
+            }
+        }
+
+        void copyFromTmp(int from, int to, int len) {
+            PythonUtils.arraycopy(tmpKeys, from, keys, to, len);
+            if (values != null) {
+                PythonUtils.arraycopy(tmpValues, from, values, to, len);
+            }
+        }
+
+        void reverse(int lo, int hi) {
+            TimSortNode.reverse(keys, lo, hi);
+            if (values != null) {
+                TimSortNode.reverse(values, lo, hi);
+            }
+        }
+    }
+
+    static void reverse(Object[] a, int lo, int hi) {
+        for (int i = lo, j = hi - 1; i < j; i++, j--) {
+            Object t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /**
+     * Sorts the first {@code n} elements of {@code keys} in ascending order.
+     *
+     * @param values {@code null} or an array that is reordered like {@code keys}
+     */
+    public void execute(VirtualFrame frame, Object[] keys, Object[] values, int n) {
+        if (n < 2) {
+            return;
+        }
+        MergeState ms = new MergeState(keys, values);
+        int minrun = computeMinrun(n);
+        int lo = 0;
+        int remaining = n;
+        do {
+            int runLength = countRun(frame, keys, lo, lo + remaining);
+            if (runLength < 0) {
+                runLength = -runLength;
+                ms.reverse(lo, lo + runLength);
+            }
+            if (runLength < minrun) {
+                int force = Math.min(remaining, minrun);
+                binarySort(frame, ms, lo, lo + force, lo + runLength);
+                runLength = force;
+            }
+            ms.runBase[ms.pending] = lo;
+            ms.runLen[ms.pending] = runLength;
+            ms.pending++;
+            mergeCollapse(frame, ms);
+            lo += runLength;
+            remaining -= runLength;
+        } while (remaining > 0);
+        mergeForceCollapse(frame, ms);
+        assert ms.pending == 1 && ms.runBase[0] == 0 && ms.runLen[0] == n;
+    }
+
+    private boolean lt(VirtualFrame frame, Object a, Object b) {
+        try {
+            return ltNode.executeBool(frame, a, b);
+        } catch (UnexpectedResultException e) {
+            if (castToBooleanNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                castToBooleanNode = insert(CoerceToBooleanNode.createIfTrueNode());
+            }
+            return castToBooleanNode.executeBoolean(frame, e.getResult());
+        }
+    }
+
+    private static int computeMinrun(int length) {
+        int n = length;
+        int r = 0;
+        while (n >= 64) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * Returns the length of the run beginning at {@code lo}, negated if the run is strictly
+     * descending.
+     */
+    private int countRun(VirtualFrame frame, Object[] keys, int lo, int hi) {
+        if (lo + 1 == hi) {
+            return 1;
+        }
+        int n = 2;
+        if (lt(frame, keys[lo + 1], keys[lo])) {
+            for (int p = lo + 2; p < hi && lt(frame, keys[p], keys[p - 1]); p++) {
+                n++;
+            }
+            return -n;
+        }
+        for (int p = lo + 2; p < hi && !lt(frame, keys[p], keys[p - 1]); p++) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Binary insertion sort of {@code [lo, hi)}, where {@code [lo, start)} is already sorted.
+     */
+    private void binarySort(VirtualFrame frame, MergeState ms, int lo, int hi, int start) {
+        Object[] keys = ms.keys;
+        Object[] values = ms.values;
+        for (int i = start; i < hi; i++) {
+            Object pivot = keys[i];
+            int l = lo;
+            int r = i;
+            while (l < r) {
+                int p = l + ((r - l) >> 1);
+                if (lt(frame, pivot, keys[p])) {
+                    r = p;
+                } else {
+                    l = p + 1;
+                }
+            }
+            // equal elements stay in front of the pivot, which makes this stable
+            if (l < i) {
+                PythonUtils.arraycopy(keys, l, keys, l + 1, i - l);
+                keys[l] = pivot;
+                if (values != null) {
+                    Object pivotValue = values[i];
+                    PythonUtils.arraycopy(values, l, values, l + 1, i - l);
+                    values[l] = pivotValue;
+                }
+            }
+        }
+    }
+
+    /**
+     * Locates the leftmost position at which {@code key} would be inserted into the sorted range
+     * {@code a[base, base + n)}, starting the search at {@code base + hint}.
+     */
+    private int gallopLeft(VirtualFrame frame, Object key, Object[] a, int base, int n, int hint) {
+        int lastofs = 0;
+        int ofs = 1;
+        if (lt(frame, a[base + hint], key)) {
+            // a[hint] < key: gallop right until a[hint + lastofs] < key <= a[hint + ofs]
+            int maxofs = n - hint;
+            while (ofs < maxofs && lt(frame, a[base + hint + ofs], key)) {
+                lastofs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxofs;
+                }
+            }
+            ofs = Math.min(ofs, maxofs);
+            lastofs += hint;
+            ofs += hint;
+        } else {
+            // key <= a[hint]: gallop left until a[hint - ofs] < key <= a[hint - lastofs]
+            int maxofs = hint + 1;
+            while (ofs < maxofs && !lt(frame, a[base + hint - ofs], key)) {
+                lastofs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxofs;
+                }
+            }
+            ofs = Math.min(ofs, maxofs);
+            int k = lastofs;
+            lastofs = hint - ofs;
+            ofs = hint - k;
+        }
+        // now a[lastofs] < key <= a[ofs], so key belongs somewhere to the right of lastofs
+        lastofs++;
+        while (lastofs < ofs) {
+            int m = lastofs + ((ofs - lastofs) >> 1);
+            if (lt(frame, a[base + m], key)) {
+                lastofs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * Like {@link #gallopLeft}, but locates the rightmost position, i.e., after any elements equal
+     * to {@code key}.
+     */
+    private int gallopRight(VirtualFrame frame, Object key, Object[] a, int base, int n, int hint) {
+        int lastofs = 0;
+        int ofs = 1;
+        if (lt(frame, key, a[base + hint])) {
+            // key < a[hint]: gallop left until a[hint - ofs] <= key < a[hint - lastofs]
+            int maxofs = hint + 1;
+            while (ofs < maxofs && lt(frame, key, a[base + hint - ofs])) {
+                lastofs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxofs;
+                }
+            }
+            ofs = Math.min(ofs, maxofs);
+            int k = lastofs;
+            lastofs = hint - ofs;
+            ofs = hint - k;
+        } else {
+            // a[hint] <= key: gallop right until a[hint + lastofs] <= key < a[hint + ofs]
+            int maxofs = n - hint;
+            while (ofs < maxofs && !lt(frame, key, a[base + hint + ofs])) {
+                lastofs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxofs;
+                }
+            }
+            ofs = Math.min(ofs, maxofs);
+            lastofs += hint;
+            ofs += hint;
+        }
+        // now a[lastofs] <= key < a[ofs], so key belongs somewhere to the right of lastofs
+        lastofs++;
+        while (lastofs < ofs) {
+            int m = lastofs + ((ofs - lastofs) >> 1);
+            if (lt(frame, key, a[base + m])) {
+                ofs = m;
+            } else {
+                lastofs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * Merges runs {@code i} and {@code i + 1} of the pending stack.
+     */
+    private void mergeAt(VirtualFrame frame, MergeState ms, int i) {
+        int baseA = ms.runBase[i];
+        int lenA = ms.runLen[i];
+        int baseB = ms.runBase[i + 1];
+        int lenB = ms.runLen[i + 1];
+        assert lenA > 0 && lenB > 0 && baseA + lenA == baseB;
+
+        ms.runLen[i] = lenA + lenB;
+        if (i == ms.pending - 3) {
+            ms.runBase[i + 1] = ms.runBase[i + 2];
+            ms.runLen[i + 1] = ms.runLen[i + 2];
+        }
+        ms.pending--;
+
+        // elements of A that are already in place
+        int k = gallopRight(frame, ms.keys[baseB], ms.keys, baseA, lenA, 0);
+        baseA += k;
+        lenA -= k;
+        if (lenA == 0) {
+            return;
+        }
+        // elements of B that are already in place
+        lenB = gallopLeft(frame, ms.keys[baseA + lenA - 1], ms.keys, baseB, lenB, lenB - 1);
+        if (lenB == 0) {
+            return;
+        }
+        if (lenA <= lenB) {
+            mergeLo(frame, ms, baseA, lenA, baseB, lenB);
+        } else {
+            mergeHi(frame, ms, baseA, lenA, baseB, lenB);
+        }
+    }
+
+    /**
+     * Merges the adjacent runs A and B, where {@code lenA <= lenB}, by copying A to the temporary
+     * array and merging from the left.
+     */
+    private void mergeLo(VirtualFrame frame, MergeState ms, int baseA, int lenA, int baseB, int lenB) {
+        Object[] keys = ms.keys;
+        ms.copyToTmp(baseA, lenA);
+        Object[] tmp = ms.tmpKeys;
+        int na = lenA;
+        int nb = lenB;
+        int pa = 0;
+        int pb = baseB;
+        int dest = baseA;
+        boolean copyB = false;
+        try {
+            ms.move(pb++, dest++);
+            nb--;
+            if (nb == 0) {
+                return;
+            }
+            if (na == 1) {
+                copyB = true;
+                return;
+            }
+            int minGallop = ms.minGallop;
+            while (true) {
+                int acount = 0;
+                int bcount = 0;
+                // do the straightforward thing until one run appears to win consistently
+                while (true) {
+                    if (lt(frame, keys[pb], tmp[pa])) {
+                        ms.move(pb++, dest++);
+                        bcount++;
+                        acount = 0;
+                        nb--;
+                        if (nb == 0) {
+                            return;
+                        }
+                        if (bcount >= minGallop) {
+                            break;
+                        }
+                    } else {
+                        ms.moveFromTmp(pa++, dest++);
+                        acount++;
+                        bcount = 0;
+                        na--;
+                        if (na == 1) {
+                            copyB = true;
+                            return;
+                        }
+                        if (acount >= minGallop) {
+                            break;
+                        }
+                    }
+                }
+                // switch to galloping until neither run wins consistently anymore
+                minGallop++;
+                do {
+                    minGallop -= minGallop > 1 ? 1 : 0;
+                    ms.minGallop = minGallop;
+                    int k = gallopRight(frame, keys[pb], tmp, pa, na, 0);
+                    acount = k;
+                    if (k != 0) {
+                        ms.copyFromTmp(pa, dest, k);
+                        dest += k;
+                        pa += k;
+                        na -= k;
+                        if (na == 1) {
+                            copyB = true;
+                            return;
+                        }
+                        // na == 0 is impossible unless the comparison is inconsistent
+                        if (na == 0) {
+                            return;
+                        }
+                    }
+                    ms.move(pb++, dest++);
+                    nb--;
+                    if (nb == 0) {
+                        return;
+                    }
+                    k = gallopLeft(frame, tmp[pa], keys, pb, nb, 0);
+                    bcount = k;
+                    if (k != 0) {
+                        ms.copy(pb, dest, k);
+                        dest += k;
+                        pb += k;
+                        nb -= k;
+                        if (nb == 0) {
+                            return;
+                        }
+                    }
+                    ms.moveFromTmp(pa++, dest++);
+                    na--;
+                    if (na == 1) {
+                        copyB = true;
+                        return;
+                    }
+                } while (acount >= MIN_GALLOP || bcount >= MIN_GALLOP);
+                minGallop++;
+                ms.minGallop = minGallop;
+            }
+        } finally {
+            // also runs if a comparison raised, so that no element is lost
+            if (copyB) {
+                // the last element of A belongs at the end of the merge
+                ms.copy(pb, dest, nb);
+                ms.moveFromTmp(pa, dest + nb);
+            } else if (na > 0) {
+                ms.copyFromTmp(pa, dest, na);
+            }
+        }
+    }
+
+    /**
+     * Merges the adjacent runs A and B, where {@code lenA >= lenB}, by copying B to the temporary
+     * array and merging from the right.
+     */
+    private void mergeHi(VirtualFrame frame, MergeState ms, int baseA, int lenA, int baseB, int lenB) {
+        Object[] keys = ms.keys;
+        ms.copyToTmp(baseB, lenB);
+        Object[] tmp = ms.tmpKeys;
+        int na = lenA;
+        int nb = lenB;
+        int pa = baseA + lenA - 1;
+        int pb = lenB - 1;
+        int dest = baseB + lenB - 1;
+        boolean copyA = false;
+        try {
+            ms.move(pa--, dest--);
+            na--;
+            if (na == 0) {
+                return;
+            }
+            if (nb == 1) {
+                copyA = true;
+                return;
+            }
+            int minGallop = ms.minGallop;
+            while (true) {
+                int acount = 0;
+                int bcount = 0;
+                // do the straightforward thing until one run appears to win consistently
+                while (true) {
+                    if (lt(frame, tmp[pb], keys[pa])) {
+                        ms.move(pa--, dest--);
+                        acount++;
+                        bcount = 0;
+                        na--;
+                        if (na == 0) {
+                            return;
+                        }
+                        if (acount >= minGallop) {
+                            break;
+                        }
+                    } else {
+                        ms.moveFromTmp(pb--, dest--);
+                        bcount++;
+                        acount = 0;
+                        nb--;
+                        if (nb == 1) {
+                            copyA = true;
+                            return;
+                        }
+                        if (bcount >= minGallop) {
+                            break;
+                        }
+                    }
+                }
+                // switch to galloping until neither run wins consistently anymore
+                minGallop++;
+                do {
+                    minGallop -= minGallop > 1 ? 1 : 0;
+                    ms.minGallop = minGallop;
+                    int k = na - gallopRight(frame, tmp[pb], keys, baseA, na, na - 1);
+                    acount = k;
+                    if (k != 0) {
+                        dest -= k;
+                        pa -= k;
+                        ms.copy(pa + 1, dest + 1, k);
+                        na -= k;
+                        if (na == 0) {
+                            return;
+                        }
+                    }
+                    ms.moveFromTmp(pb--, dest--);
+                    nb--;
+                    if (nb == 1) {
+                        copyA = true;
+                        return;
+                    }
+                    k = nb - gallopLeft(frame, keys[pa], tmp, 0, nb, nb - 1);
+                    bcount = k;
+                    if (k != 0) {
+                        dest -= k;
+                        pb -= k;
+                        ms.copyFromTmp(pb + 1, dest + 1, k);
+                        nb -= k;
+                        if (nb == 1) {
+                            copyA = true;
+                            return;
+                        }
+                        // nb == 0 is impossible unless the comparison is inconsistent
+                        if (nb == 0) {
+                            return;
+                        }
+                    }
+                    ms.move(pa--, dest--);
+                    na--;
+                    if (na == 0) {
+                        return;
+                    }
+                } while (acount >= MIN_GALLOP || bcount >= MIN_GALLOP);
+                minGallop++;
+                ms.minGallop = minGallop;
+            }
+        } finally {
+            // also runs if a comparison raised, so that no element is lost
+            if (copyA) {
+                // the first element of B belongs at the front of the merge
+                dest -= na;
+                pa -= na;
+                ms.copy(pa + 1, dest + 1, na);
+                ms.moveFromTmp(pb, dest);
+            } else if (nb > 0) {
+                ms.copyFromTmp(0, dest - (nb - 1), nb);
+            }
+        }
+    }
+
+    /**
+     * Restores the run length invariants on the pending stack (see listsort.txt).
+     */
+    private void mergeCollapse(VirtualFrame frame, MergeState ms) {
+        int[] len = ms.runLen;
+        while (ms.pending > 1) {
+            int n = ms.pending - 2;
+            if ((n > 0 && len[n - 1] <= len[n] + len[n + 1]) || (n > 1 && len[n - 2] <= len[n - 1] + len[n])) {
+                if (len[n - 1] < len[n + 1]) {
+                    n--;
+                }
+                mergeAt(frame, ms, n);
+            } else if (len[n] <= len[n + 1]) {
+                mergeAt(frame, ms, n);
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void mergeForceCollapse(VirtualFrame frame, MergeState ms) {
+        int[] len = ms.runLen;
+        while (ms.pending > 1) {
+            int n = ms.pending - 2;
+            if (n > 0 && len[n - 1] < len[n + 1]) {
+                n--;
+            }
+            mergeAt(frame, ms, n);
+        }
+    }
+}
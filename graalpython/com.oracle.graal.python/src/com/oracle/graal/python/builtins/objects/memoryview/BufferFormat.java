@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.memoryview;
+
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+
+/**
+ * The native single character formats of the {@code struct} syntax that a memoryview unpacks and
+ * packs by itself. Sizes and byte order are those of the native platform (assuming LP64), like in
+ * {@code get_native_fmtchar} of CPython's {@code memoryobject.c}.
+ */
+public enum BufferFormat {
+    UNSIGNED_BYTE('B', 1, false),
+    SIGNED_BYTE('b', 1, true),
+    CHAR('c', 1, false),
+    BOOLEAN('?', 1, false),
+    SHORT('h', 2, true),
+    UNSIGNED_SHORT('H', 2, false),
+    INT('i', 4, true),
+    UNSIGNED_INT('I', 4, false),
+    LONG('l', 8, true),
+    UNSIGNED_LONG('L', 8, false),
+    LONG_LONG('q', 8, true),
+    UNSIGNED_LONG_LONG('Q', 8, false),
+    SSIZE_T('n', 8, true),
+    SIZE_T('N', 8, false),
+    FLOAT('f', 4, true),
+    DOUBLE('d', 8, true),
+    POINTER('P', 8, false);
+
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    private static final BigInteger TWO_POW_64 = BigInteger.ONE.shiftLeft(64);
+
+    public final char code;
+    public final int size;
+    private final boolean signed;
+
+    BufferFormat(char code, int size, boolean signed) {
+        this.code = code;
+        this.size = size;
+        this.signed = signed;
+    }
+
+    public boolean isByteFormat() {
+        return this == UNSIGNED_BYTE || this == SIGNED_BYTE || this == CHAR;
+    }
+
+    public boolean isInteger() {
+        return this != CHAR && this != BOOLEAN && this != FLOAT && this != DOUBLE;
+    }
+
+    /**
+     * Parses a native single character format optionally prefixed with '@'.
+     *
+     * @return the format or {@code null} if the string is not such a format
+     */
+    public static BufferFormat forString(String format) {
+        int i = format.length() > 0 && format.charAt(0) == '@' ? 1 : 0;
+        if (format.length() != i + 1) {
+            return null;
+        }
+        char c = format.charAt(i);
+        for (BufferFormat f : values()) {
+            if (f.code == c) {
+                return f;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of the item starting at {@code offset} as Python object.
+     */
+    public Object unpack(byte[] bytes, int offset, PythonObjectFactory factory) {
+        switch (this) {
+            case UNSIGNED_BYTE:
+                return bytes[offset] & 0xff;
+            case SIGNED_BYTE:
+                return (int) bytes[offset];
+            case CHAR:
+                return factory.createBytes(new byte[]{bytes[offset]});
+            case BOOLEAN:
+                return bytes[offset] != 0;
+            case FLOAT:
+                return (double) Float.intBitsToFloat((int) readRaw(bytes, offset, 4));
+            case DOUBLE:
+                return Double.longBitsToDouble(readRaw(bytes, offset, 8));
+            default:
+                long raw = readRaw(bytes, offset, size);
+                if (size == 8) {
+                    if (!signed && raw < 0) {
+                        return factory.createInt(BigInteger.valueOf(raw).add(TWO_POW_64));
+                    }
+                    return raw;
+                }
+                long value = signed ? (raw << (64 - size * 8)) >> (64 - size * 8) : raw;
+                return size < 4 || signed ? (Object) (int) value : (Object) value;
+        }
+    }
+
+    /**
+     * Checks whether the integer fits into this format.
+     */
+    public boolean fits(long value) {
+        assert isInteger();
+        if (size == 8) {
+            return signed || value >= 0;
+        }
+        long limit = 1L << (size * 8 - (signed ? 1 : 0));
+        return signed ? value >= -limit && value < limit : value >= 0 && value < limit;
+    }
+
+    /**
+     * Checks whether the big integer fits into this format.
+     */
+    public boolean fits(BigInteger value) {
+        assert isInteger();
+        if (size == 8 && !signed) {
+            return value.signum() >= 0 && value.bitLength() <= 64;
+        }
+        return value.bitLength() < 64 && fits(value.longValue());
+    }
+
+    public void packLong(byte[] bytes, int offset, long value) {
+        writeRaw(bytes, offset, size, value);
+    }
+
+    public void packDouble(byte[] bytes, int offset, double value) {
+        if (this == FLOAT) {
+            writeRaw(bytes, offset, 4, Float.floatToRawIntBits((float) value));
+        } else {
+            assert this == DOUBLE;
+            writeRaw(bytes, offset, 8, Double.doubleToRawLongBits(value));
+        }
+    }
+
+    /**
+     * Returns the integer item starting at {@code offset}. Unsigned 64-bit items are returned as
+     * their two's complement.
+     */
+    public long unpackLong(byte[] bytes, int offset) {
+        assert isInteger();
+        long raw = readRaw(bytes, offset, size);
+        return signed && size < 8 ? (raw << (64 - size * 8)) >> (64 - size * 8) : raw;
+    }
+
+    public double unpackDouble(byte[] bytes, int offset) {
+        if (this == FLOAT) {
+            return Float.intBitsToFloat((int) readRaw(bytes, offset, 4));
+        } else {
+            assert this == DOUBLE;
+            return Double.longBitsToDouble(readRaw(bytes, offset, 8));
+        }
+    }
+
+    private static long readRaw(byte[] bytes, int offset, int size) {
+        long result = 0;
+        for (int i = 0; i < size; i++) {
+            int b = bytes[offset + (LITTLE_ENDIAN ? size - 1 - i : i)] & 0xff;
+            result = (result << 8) | b;
+        }
+        return result;
+    }
+
+    private static void writeRaw(byte[] bytes, int offset, int size, long value) {
+        long v = value;
+        for (int i = 0; i < size; i++) {
+            bytes[offset + (LITTLE_ENDIAN ? i : size - 1 - i)] = (byte) v;
+            v >>>= 8;
+        }
+    }
+}
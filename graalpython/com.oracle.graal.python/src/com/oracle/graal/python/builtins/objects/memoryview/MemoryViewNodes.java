@@ -0,0 +1,624 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.memoryview;
+
+import static com.oracle.graal.python.builtins.objects.cext.NativeCAPISymbols.FUN_PY_TRUFFLE_MEMORYVIEW_FROM_OBJECT;
+import static com.oracle.graal.python.builtins.objects.cext.NativeCAPISymbols.FUN_PY_TRUFFLE_RELEASE_BUFFER;
+
+import java.math.BigInteger;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.array.PArray;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.cext.CExtNodes.AsPythonObjectNode;
+import com.oracle.graal.python.builtins.objects.cext.CExtNodes.PCallCapiFunction;
+import com.oracle.graal.python.builtins.objects.cext.CExtNodes.ToSulongNode;
+import com.oracle.graal.python.builtins.objects.cext.PythonAbstractNativeObject;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.GetItemScalarNode;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.SetItemScalarNode;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.mmap.PMMap;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.pickle.PPickleBuffer;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.GenerateUncached;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+
+public final class MemoryViewNodes {
+
+    private MemoryViewNodes() {
+    }
+
+    static boolean isByteSequenceStorage(PSequence sequence) {
+        return sequence.getSequenceStorage() instanceof ByteSequenceStorage;
+    }
+
+    static boolean isTypedStorage(PSequence sequence) {
+        SequenceStorage storage = sequence.getSequenceStorage();
+        return storage instanceof IntSequenceStorage || storage instanceof LongSequenceStorage || storage instanceof DoubleSequenceStorage;
+    }
+
+    /**
+     * Returns the format in which the items of an {@code array} are exposed.
+     */
+    static BufferFormat getTypedFormat(SequenceStorage storage) {
+        if (storage instanceof IntSequenceStorage) {
+            return BufferFormat.INT;
+        } else if (storage instanceof LongSequenceStorage) {
+            return BufferFormat.LONG;
+        } else if (storage instanceof DoubleSequenceStorage) {
+            return BufferFormat.DOUBLE;
+        }
+        // an empty array does not know its item type yet
+        return BufferFormat.UNSIGNED_BYTE;
+    }
+
+    private static void packTypedItem(SequenceStorage storage, BufferFormat format, int index, byte[] item) {
+        if (storage instanceof IntSequenceStorage) {
+            format.packLong(item, 0, ((IntSequenceStorage) storage).getIntItemNormalized(index));
+        } else if (storage instanceof LongSequenceStorage) {
+            format.packLong(item, 0, ((LongSequenceStorage) storage).getLongItemNormalized(index));
+        } else {
+            format.packDouble(item, 0, ((DoubleSequenceStorage) storage).getDoubleItemNormalized(index));
+        }
+    }
+
+    private static void unpackTypedItem(SequenceStorage storage, BufferFormat format, int index, byte[] item) {
+        if (storage instanceof IntSequenceStorage) {
+            ((IntSequenceStorage) storage).setIntItemNormalized(index, (int) format.unpackLong(item, 0));
+        } else if (storage instanceof LongSequenceStorage) {
+            ((LongSequenceStorage) storage).setLongItemNormalized(index, format.unpackLong(item, 0));
+        } else {
+            ((DoubleSequenceStorage) storage).setDoubleItemNormalized(index, format.unpackDouble(item, 0));
+        }
+    }
+
+    public static void checkBounds(int storageLength, int offset, int length, PRaiseNode raiseNode) {
+        // a bytearray may have been shrunk since the view was created
+        if (offset < 0 || offset + length > storageLength) {
+            throw raiseNode.raise(PythonBuiltinClassType.BufferError, ErrorMessages.MEMORYVIEW_BUFFER_SMALLER_THAN_VIEW);
+        }
+    }
+
+    static void checkMMap(PMMap mmap, PRaiseNode raiseNode) {
+        if (mmap.isClosed()) {
+            throw raiseNode.raise(PythonBuiltinClassType.ValueError, ErrorMessages.MMAP_CLOSED_OR_INVALID);
+        }
+    }
+
+    /**
+     * Copies bytes from the memory of a view's buffer.
+     */
+    @GenerateUncached
+    @ImportStatic(MemoryViewNodes.class)
+    public abstract static class ReadBytesNode extends Node {
+
+        public abstract void execute(Object buffer, int offset, byte[] dest, int destOffset, int length);
+
+        @Specialization(guards = "isByteSequenceStorage(sequence)")
+        static void doBytes(PSequence sequence, int offset, byte[] dest, int destOffset, int length,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) sequence.getSequenceStorage();
+            checkBounds(storage.length(), offset, length, raiseNode);
+            System.arraycopy(storage.getInternalByteArray(), offset, dest, destOffset, length);
+        }
+
+        /**
+         * Packs the items of an {@code array} of other than byte items, the byte offset may point
+         * into the middle of an item.
+         */
+        @Specialization(guards = "isTypedStorage(sequence)")
+        static void doTyped(PSequence sequence, int offset, byte[] dest, int destOffset, int length,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            SequenceStorage storage = sequence.getSequenceStorage();
+            BufferFormat format = getTypedFormat(storage);
+            checkBounds(storage.length() * format.size, offset, length, raiseNode);
+            byte[] item = new byte[format.size];
+            int pos = offset;
+            int end = offset + length;
+            while (pos < end) {
+                int start = pos % format.size;
+                int n = Math.min(format.size - start, end - pos);
+                packTypedItem(storage, format, pos / format.size, item);
+                System.arraycopy(item, start, dest, destOffset + pos - offset, n);
+                pos += n;
+            }
+        }
+
+        @Specialization(guards = {"!isByteSequenceStorage(sequence)", "!isTypedStorage(sequence)"})
+        static void doNative(PSequence sequence, int offset, byte[] dest, int destOffset, int length,
+                        @Cached GetItemScalarNode getItemNode,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            SequenceStorage storage = sequence.getSequenceStorage();
+            checkBounds(storage.length(), offset, length, raiseNode);
+            for (int i = 0; i < length; i++) {
+                dest[destOffset + i] = (byte) getItemNode.executeInt(storage, offset + i);
+            }
+        }
+
+        @Specialization
+        static void doMMap(PMMap mmap, int offset, byte[] dest, int destOffset, int length,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            checkMMap(mmap, raiseNode);
+            mmap.readBytes(offset, dest, destOffset, length);
+        }
+
+        public static ReadBytesNode create() {
+            return MemoryViewNodesFactory.ReadBytesNodeGen.create();
+        }
+    }
+
+    /**
+     * Copies bytes into the memory of a view's buffer.
+     */
+    @GenerateUncached
+    @ImportStatic(MemoryViewNodes.class)
+    public abstract static class WriteBytesNode extends Node {
+
+        public abstract void execute(Object buffer, int offset, byte[] src, int srcOffset, int length);
+
+        @Specialization(guards = "isByteSequenceStorage(sequence)")
+        static void doBytes(PSequence sequence, int offset, byte[] src, int srcOffset, int length,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) sequence.getSequenceStorage();
+            checkBounds(storage.length(), offset, length, raiseNode);
+            System.arraycopy(src, srcOffset, storage.getInternalByteArray(), offset, length);
+        }
+
+        /**
+         * Overwrites the bytes of the items of an {@code array} of other than byte items. Items
+         * that are only partially overwritten keep their other bytes.
+         */
+        @Specialization(guards = "isTypedStorage(sequence)")
+        static void doTyped(PSequence sequence, int offset, byte[] src, int srcOffset, int length,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            SequenceStorage storage = sequence.getSequenceStorage();
+            BufferFormat format = getTypedFormat(storage);
+            checkBounds(storage.length() * format.size, offset, length, raiseNode);
+            byte[] item = new byte[format.size];
+            int pos = offset;
+            int end = offset + length;
+            while (pos < end) {
+                int start = pos % format.size;
+                int n = Math.min(format.size - start, end - pos);
+                int index = pos / format.size;
+                if (n < format.size) {
+                    packTypedItem(storage, format, index, item);
+                }
+                System.arraycopy(src, srcOffset + pos - offset, item, start, n);
+                unpackTypedItem(storage, format, index, item);
+                pos += n;
+            }
+        }
+
+        @Specialization(guards = {"!isByteSequenceStorage(sequence)", "!isTypedStorage(sequence)"})
+        static void doNative(PSequence sequence, int offset, byte[] src, int srcOffset, int length,
+                        @Cached SetItemScalarNode setItemNode,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            SequenceStorage storage = sequence.getSequenceStorage();
+            checkBounds(storage.length(), offset, length, raiseNode);
+            for (int i = 0; i < length; i++) {
+                setItemNode.execute(storage, offset + i, src[srcOffset + i] & 0xff);
+            }
+        }
+
+        @Specialization
+        static void doMMap(PMMap mmap, int offset, byte[] src, int srcOffset, int length,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            checkMMap(mmap, raiseNode);
+            mmap.writeBytes(offset, src, srcOffset, length);
+        }
+
+        public static WriteBytesNode create() {
+            return MemoryViewNodesFactory.WriteBytesNodeGen.create();
+        }
+    }
+
+    /**
+     * Unpacks the item starting at the given byte offset of the view's buffer.
+     */
+    public abstract static class ReadItemAtNode extends PNodeWithContext {
+
+        public abstract Object execute(PMemoryView self, int offset);
+
+        @Specialization(guards = "isByteSequenceStorage(self)")
+        static Object doBytes(PMemoryView self, int offset,
+                        @Shared("factory") @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode raiseNode) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) ((PSequence) self.getBuffer()).getSequenceStorage();
+            checkBounds(storage.length(), offset, self.getItemSize(), raiseNode);
+            return self.getFormat().unpack(storage.getInternalByteArray(), offset, factory);
+        }
+
+        @Specialization(guards = "!isByteSequenceStorage(self)")
+        static Object doGeneric(PMemoryView self, int offset,
+                        @Shared("factory") @Cached PythonObjectFactory factory,
+                        @Cached ReadBytesNode readBytesNode) {
+            byte[] item = new byte[self.getItemSize()];
+            readBytesNode.execute(self.getBuffer(), offset, item, 0, item.length);
+            return self.getFormat().unpack(item, 0, factory);
+        }
+
+        static boolean isByteSequenceStorage(PMemoryView self) {
+            return self.getBuffer() instanceof PSequence && MemoryViewNodes.isByteSequenceStorage((PSequence) self.getBuffer());
+        }
+
+        public static ReadItemAtNode create() {
+            return MemoryViewNodesFactory.ReadItemAtNodeGen.create();
+        }
+    }
+
+    /**
+     * Packs a value into the item starting at the given byte offset of the view's buffer.
+     */
+    public abstract static class WriteItemAtNode extends PNodeWithContext {
+
+        public abstract void execute(VirtualFrame frame, PMemoryView self, int offset, Object value);
+
+        @Specialization
+        static void doIt(VirtualFrame frame, PMemoryView self, int offset, Object value,
+                        @Cached PackValueNode packValueNode,
+                        @Cached WriteBytesNode writeBytesNode) {
+            byte[] item = new byte[self.getItemSize()];
+            packValueNode.execute(frame, self.getFormat(), value, item, 0);
+            writeBytesNode.execute(self.getBuffer(), offset, item, 0, item.length);
+        }
+
+        public static WriteItemAtNode create() {
+            return MemoryViewNodesFactory.WriteItemAtNodeGen.create();
+        }
+    }
+
+    /**
+     * Converts a Python value to the bytes of an item like {@code pack_single} in CPython.
+     */
+    public abstract static class PackValueNode extends PNodeWithContext {
+
+        public abstract void execute(VirtualFrame frame, BufferFormat format, Object value, byte[] dest, int destOffset);
+
+        @Specialization(limit = "3")
+        static void pack(VirtualFrame frame, BufferFormat format, Object value, byte[] dest, int destOffset,
+                        @CachedLibrary("value") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary indexLib,
+                        @Cached PRaiseNode raiseNode) {
+            switch (format) {
+                case CHAR:
+                    if (!(value instanceof PBytes)) {
+                        throw raiseNode.raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMORYVIEW_INVALID_TYPE_FOR_FORMAT_S, format.code);
+                    }
+                    byte[] bytes;
+                    try {
+                        bytes = lib.getBufferBytes(value);
+                    } catch (UnsupportedMessageException e) {
+                        throw CompilerDirectives.shouldNotReachHere(e);
+                    }
+                    if (bytes.length != 1) {
+                        throw raiseNode.raise(PythonBuiltinClassType.ValueError, ErrorMessages.MEMORYVIEW_INVALID_VALUE_FOR_FORMAT_S, format.code);
+                    }
+                    dest[destOffset] = bytes[0];
+                    break;
+                case BOOLEAN:
+                    dest[destOffset] = (byte) (lib.isTrueWithState(value, PArguments.getThreadState(frame)) ? 1 : 0);
+                    break;
+                case FLOAT:
+                case DOUBLE:
+                    if (!lib.canBeJavaDouble(value)) {
+                        throw raiseNode.raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMORYVIEW_INVALID_TYPE_FOR_FORMAT_S, format.code);
+                    }
+                    format.packDouble(dest, destOffset, lib.asJavaDouble(value));
+                    break;
+                default:
+                    if (!lib.canBeIndex(value)) {
+                        throw raiseNode.raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMORYVIEW_INVALID_TYPE_FOR_FORMAT_S, format.code);
+                    }
+                    Object index = lib.asIndexWithState(value, PArguments.getThreadState(frame));
+                    format.packLong(dest, destOffset, toLong(format, index, indexLib, raiseNode));
+            }
+        }
+
+        private static long toLong(BufferFormat format, Object index, PythonObjectLibrary lib, PRaiseNode raiseNode) {
+            if (index instanceof PInt) {
+                BigInteger value = ((PInt) index).getValue();
+                if (format.fits(value)) {
+                    return value.longValue();
+                }
+            } else {
+                long value = lib.asJavaLong(index);
+                if (format.fits(value)) {
+                    return value;
+                }
+            }
+            throw raiseNode.raise(PythonBuiltinClassType.ValueError, ErrorMessages.MEMORYVIEW_INVALID_VALUE_FOR_FORMAT_S, format.code);
+        }
+
+        public static PackValueNode create() {
+            return MemoryViewNodesFactory.PackValueNodeGen.create();
+        }
+    }
+
+    /**
+     * Returns the byte offsets of all items of the view in C (row-major) or Fortran (column-major)
+     * order.
+     */
+    static int[] getItemOffsets(PMemoryView self, boolean fortranOrder) {
+        int[] shape = self.getBufferShape();
+        int[] strides = self.getBufferStrides();
+        int ndim = shape.length;
+        int[] offsets = new int[self.getItemCount()];
+        int[] indices = new int[ndim];
+        int offset = self.getOffset();
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = offset;
+            // advance the index of the fastest varying dimension and carry over
+            for (int k = 0; k < ndim; k++) {
+                int dim = fortranOrder ? k : ndim - 1 - k;
+                indices[dim]++;
+                offset += strides[dim];
+                if (indices[dim] < shape[dim]) {
+                    break;
+                }
+                offset -= indices[dim] * strides[dim];
+                indices[dim] = 0;
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Copies the items of a view into a new byte array, in C order. A C-contiguous view is copied
+     * in one go.
+     */
+    @GenerateUncached
+    public abstract static class ToJavaBytesNode extends Node {
+
+        public abstract byte[] execute(PMemoryView self);
+
+        @Specialization
+        static byte[] doIt(PMemoryView self,
+                        @Cached ReadBytesNode readBytesNode) {
+            return toBytes(self, false, readBytesNode);
+        }
+
+        static byte[] toBytes(PMemoryView self, boolean fortranOrder, ReadBytesNode readBytesNode) {
+            byte[] result = new byte[self.getLength()];
+            if (fortranOrder ? self.isFortranContiguous() : self.isCContiguous()) {
+                readBytesNode.execute(self.getBuffer(), self.getOffset(), result, 0, result.length);
+            } else {
+                int itemSize = self.getItemSize();
+                int[] offsets = getItemOffsets(self, fortranOrder);
+                for (int i = 0; i < offsets.length; i++) {
+                    readBytesNode.execute(self.getBuffer(), offsets[i], result, i * itemSize, itemSize);
+                }
+            }
+            return result;
+        }
+
+        public static ToJavaBytesNode create() {
+            return MemoryViewNodesFactory.ToJavaBytesNodeGen.create();
+        }
+    }
+
+    /**
+     * Creates a view of all the memory of an object, like {@code PyMemoryView_FromObject}. Native
+     * objects export their memory through their {@code bf_getbuffer} slot. Other buffers that are
+     * not backed by a byte storage are exported as a read-only copy of their bytes.
+     */
+    public abstract static class CreateMemoryViewNode extends PNodeWithContext {
+
+        public abstract PMemoryView execute(Object cls, Object object);
+
+        @Specialization
+        static PMemoryView fromBytes(Object cls, PBytes object,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            return createByteView(factory, cls, object, object, object.getSequenceStorage().length(), true);
+        }
+
+        @Specialization
+        static PMemoryView fromByteArray(Object cls, PByteArray object,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            return createByteView(factory, cls, object, object, object.getSequenceStorage().length(), false);
+        }
+
+        @Specialization(guards = "isByteSequenceStorage(object)")
+        static PMemoryView fromByteArray(Object cls, PArray object,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            return createByteView(factory, cls, object, object, object.getSequenceStorage().length(), false);
+        }
+
+        @Specialization(guards = "!isByteSequenceStorage(object)")
+        static PMemoryView fromArray(Object cls, PArray object,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            SequenceStorage storage = object.getSequenceStorage();
+            BufferFormat format = getTypedFormat(storage);
+            return factory.createMemoryView(cls, object, object, 0, false, String.valueOf(format.code), format, new int[]{storage.length()}, new int[]{format.size});
+        }
+
+        @Specialization
+        static PMemoryView fromMMap(Object cls, PMMap object,
+                        @Shared("factory") @Cached PythonObjectFactory factory,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            checkMMap(object, raiseNode);
+            try {
+                return createByteView(factory, cls, object, object, PInt.intValueExact(object.getLength()), object.isReadonly());
+            } catch (OverflowException e) {
+                throw raiseNode.raise(PythonBuiltinClassType.OverflowError, e);
+            }
+        }
+
+        @Specialization
+        static PMemoryView fromMemoryView(Object cls, PMemoryView object,
+                        @Shared("factory") @Cached PythonObjectFactory factory,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            object.checkReleased(raiseNode);
+            return factory.createMemoryView(cls, object.getOwner(), object.getBuffer(), object.getOffset(), object.isReadonly(), object.getFormatString(), object.getFormat(), object.getBufferShape(),
+                            object.getBufferStrides());
+        }
+
+        @Specialization
+        static PMemoryView fromPickleBuffer(Object cls, PPickleBuffer object,
+                        @Cached CreateMemoryViewNode createOwnerViewNode,
+                        @Shared("factory") @Cached PythonObjectFactory factory,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            Object owner = object.getOwner();
+            if (owner == null) {
+                throw raiseNode.raise(PythonBuiltinClassType.ValueError, ErrorMessages.OPERATION_FORBIDDEN_ON_RELEASED_PICKLEBUFFER);
+            }
+            PMemoryView view = createOwnerViewNode.execute(cls, owner);
+            if (object.isReadonly() && !view.isReadonly()) {
+                return factory.createMemoryView(cls, view.getOwner(), view.getBuffer(), view.getOffset(), true, view.getFormatString(), view.getFormat(), view.getBufferShape(), view.getBufferStrides());
+            }
+            return view;
+        }
+
+        @Specialization
+        static PMemoryView fromNative(Object cls, PythonAbstractNativeObject object,
+                        @Cached ToSulongNode toSulongNode,
+                        @Cached AsPythonObjectNode asPythonObjectNode,
+                        @Cached PCallCapiFunction callCapiFunction,
+                        @CachedContext(PythonLanguage.class) PythonContext context,
+                        @Cached IsBuiltinClassProfile isMemoryViewClass,
+                        @Shared("factory") @Cached PythonObjectFactory factory,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            Object result = asPythonObjectNode.execute(callCapiFunction.call(FUN_PY_TRUFFLE_MEMORYVIEW_FROM_OBJECT, toSulongNode.execute(object)));
+            if (!(result instanceof PMemoryView)) {
+                PException currentException = context.getCurrentException();
+                if (currentException == null) {
+                    throw raiseNode.raise(PythonBuiltinClassType.SystemError, ErrorMessages.RETURNED_NULL_WO_SETTING_ERROR, FUN_PY_TRUFFLE_MEMORYVIEW_FROM_OBJECT);
+                }
+                // consume exception
+                context.setCurrentException(null);
+                throw currentException.getExceptionForReraise();
+            }
+            PMemoryView view = (PMemoryView) result;
+            if (isMemoryViewClass.profileClass(cls, PythonBuiltinClassType.PMemoryView)) {
+                return view;
+            }
+            PMemoryView subclassView = factory.createMemoryView(cls, view.getOwner(), view.getBuffer(), view.getOffset(), view.isReadonly(), view.getFormatString(), view.getFormat(),
+                            view.getBufferShape(), view.getBufferStrides());
+            // the new view keeps the buffer exported
+            view.release();
+            return subclassView;
+        }
+
+        @Specialization(guards = "!isSpecialized(object)")
+        static PMemoryView fromBuffer(Object cls, Object object,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Shared("factory") @Cached PythonObjectFactory factory,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            if (PGuards.isString(object) || !lib.isBuffer(object)) {
+                throw raiseNode.raise(PythonBuiltinClassType.TypeError, ErrorMessages.MEMORYVIEW_BYTESLIKE_OBJ_REQUIRED, object);
+            }
+            byte[] bytes;
+            try {
+                bytes = lib.getBufferBytes(object);
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+            return createByteView(factory, cls, object, factory.createBytes(bytes), bytes.length, true);
+        }
+
+        static boolean isByteSequenceStorage(PArray array) {
+            return MemoryViewNodes.isByteSequenceStorage(array);
+        }
+
+        static boolean isSpecialized(Object object) {
+            return object instanceof PBytes || object instanceof PByteArray || object instanceof PArray || object instanceof PMMap || object instanceof PMemoryView || object instanceof PPickleBuffer ||
+                            object instanceof PythonAbstractNativeObject;
+        }
+
+        private static PMemoryView createByteView(PythonObjectFactory factory, Object cls, Object owner, Object buffer, int length, boolean readonly) {
+            return factory.createMemoryView(cls, owner, buffer, 0, readonly, "B", BufferFormat.UNSIGNED_BYTE, new int[]{length}, new int[]{1});
+        }
+
+        public static CreateMemoryViewNode create() {
+            return MemoryViewNodesFactory.CreateMemoryViewNodeGen.create();
+        }
+    }
+
+    /**
+     * Releases a view and, with the last view of the memory a native object exported, the
+     * {@code Py_buffer} holding the export.
+     */
+    @GenerateUncached
+    public abstract static class ReleaseViewNode extends Node {
+
+        public abstract void execute(PMemoryView self);
+
+        @Specialization
+        static void doIt(PMemoryView self,
+                        @Cached PCallCapiFunction callReleaseNode) {
+            Object pyBuffer = self.release();
+            if (pyBuffer != null) {
+                callReleaseNode.call(FUN_PY_TRUFFLE_RELEASE_BUFFER, pyBuffer);
+            }
+        }
+
+        public static ReleaseViewNode create() {
+            return MemoryViewNodesFactory.ReleaseViewNodeGen.create();
+        }
+    }
+}
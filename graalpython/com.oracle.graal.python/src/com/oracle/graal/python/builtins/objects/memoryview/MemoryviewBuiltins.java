@@ -40,48 +40,829 @@
  */
 package com.oracle.graal.python.builtins.objects.memoryview;
 
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DELITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ENTER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EXIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LEN__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETITEM__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.NotImplementedError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigInteger;
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PEllipsis;
 import com.oracle.graal.python.builtins.objects.PNone;
-import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
-import com.oracle.graal.python.nodes.attributes.WriteAttributeToObjectNode;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.PythonAbstractObject;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PArguments.ThreadState;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.CreateMemoryViewNode;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.ReadBytesNode;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.ReadItemAtNode;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.ReleaseViewNode;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.ToJavaBytesNode;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.WriteBytesNode;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.WriteItemAtNode;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.range.RangeNodes.LenOfRangeNode;
+import com.oracle.graal.python.builtins.objects.slice.PSlice;
+import com.oracle.graal.python.builtins.objects.slice.PSlice.SliceInfo;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.subscript.SliceLiteralNode.CoerceToIntSlice;
+import com.oracle.graal.python.nodes.subscript.SliceLiteralNode.ComputeIndices;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
 
 @CoreFunctions(extendClasses = PythonBuiltinClassType.PMemoryView)
 public class MemoryviewBuiltins extends PythonBuiltins {
+    // PyBUF_MAX_NDIM
+    private static final int MAX_DIM = 64;
 
     @Override
-    protected List<NodeFactory<SetCMemoryviewNode>> getNodeFactories() {
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
         return MemoryviewBuiltinsFactory.getFactories();
     }
 
-    @Builtin(name = PMemoryView.C_MEMORYVIEW, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    /**
+     * Creates the view of the items {@code start, start + step, ...} of the first dimension.
+     */
+    static PMemoryView createSliceView(PythonObjectFactory factory, PMemoryView self, SliceInfo info, int length) {
+        int[] shape = self.getBufferShape().clone();
+        int[] strides = self.getBufferStrides().clone();
+        shape[0] = length;
+        strides[0] = self.getBufferStrides()[0] * info.step;
+        return factory.createMemoryView(self.getOwner(), self.getBuffer(), self.getOffset() + info.start * self.getBufferStrides()[0], self.isReadonly(), self.getFormatString(), self.getFormat(), shape,
+                        strides);
+    }
+
+    /**
+     * Returns the byte offset of the item at {@code index} of the given dimension relative to the
+     * start of the view, like {@code lookup_dimension} in CPython.
+     */
+    static int getDimensionOffset(PMemoryView self, int dim, int index, PRaiseNode raiseNode) {
+        int length = self.getBufferShape()[dim];
+        int i = index < 0 ? index + length : index;
+        if (i < 0 || i >= length) {
+            throw raiseNode.raise(IndexError, ErrorMessages.INDEX_OUT_OF_BOUNDS_ON_DIMENSION_D, dim + 1);
+        }
+        return i * self.getBufferStrides()[dim];
+    }
+
+    static int getTupleOffset(PMemoryView self, Object[] indices, PythonObjectLibrary lib, ThreadState state, PRaiseNode raiseNode) {
+        if (indices.length > self.getDimensions()) {
+            throw raiseNode.raise(TypeError, ErrorMessages.CANNOT_INDEX_D_DIMENSION_VIEW_WITH_D, self.getDimensions(), indices.length);
+        }
+        int offset = self.getOffset();
+        for (int dim = 0; dim < indices.length; dim++) {
+            offset += getDimensionOffset(self, dim, lib.asSizeWithState(indices[dim], IndexError, state), raiseNode);
+        }
+        return offset;
+    }
+
+    static boolean isMultiIndex(Object[] items, PythonObjectLibrary lib) {
+        for (Object item : items) {
+            if (!lib.canBeIndex(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isMultiSlice(Object[] items) {
+        for (Object item : items) {
+            if (!(item instanceof PSlice)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Builtin(name = __GETITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GetItemNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        Object getSlice(PMemoryView self, PSlice key,
+                        @Cached CoerceToIntSlice sliceCast,
+                        @Cached ComputeIndices compute,
+                        @Cached LenOfRangeNode sliceLen) {
+            self.checkReleased(getRaiseNode());
+            if (self.getDimensions() == 0) {
+                throw raise(TypeError, ErrorMessages.INVALID_INDEXING_OF_0_DIM_MEMORY);
+            }
+            SliceInfo info = compute.execute(sliceCast.execute(key), self.getBufferShape()[0]);
+            return createSliceView(factory(), self, info, sliceLen.len(info));
+        }
+
+        @Specialization(guards = "!isPSlice(key)")
+        Object getItem(VirtualFrame frame, PMemoryView self, Object key,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @Cached ReadItemAtNode readItemNode) {
+            self.checkReleased(getRaiseNode());
+            if (self.getDimensions() == 0) {
+                if (key instanceof PTuple && getObjectArrayNode.execute(key).length == 0) {
+                    return readItemNode.execute(self, self.getOffset());
+                } else if (key == PEllipsis.INSTANCE) {
+                    return self;
+                }
+                throw raise(TypeError, ErrorMessages.INVALID_INDEXING_OF_0_DIM_MEMORY);
+            }
+            ThreadState state = PArguments.getThreadState(frame);
+            if (lib.canBeIndex(key)) {
+                if (self.getDimensions() > 1) {
+                    throw raise(NotImplementedError, ErrorMessages.MULTI_DIMENSIONAL_SUB_VIEWS_NOT_IMPLEMENTED);
+                }
+                int index = lib.asSizeWithState(key, IndexError, state);
+                return readItemNode.execute(self, self.getOffset() + getDimensionOffset(self, 0, index, getRaiseNode()));
+            }
+            if (key instanceof PTuple) {
+                Object[] items = getObjectArrayNode.execute(key);
+                if (isMultiIndex(items, lib)) {
+                    if (items.length < self.getDimensions()) {
+                        throw raise(NotImplementedError, ErrorMessages.SUB_VIEWS_NOT_IMPLEMENTED);
+                    }
+                    return readItemNode.execute(self, getTupleOffset(self, items, lib, state, getRaiseNode()));
+                } else if (isMultiSlice(items)) {
+                    throw raise(NotImplementedError, ErrorMessages.MULTI_DIMENSIONAL_SLICING_NOT_IMPLEMENTED);
+                }
+            }
+            throw raise(TypeError, ErrorMessages.MEMORYVIEW_INVALID_SLICE_KEY);
+        }
+    }
+
+    @Builtin(name = __SETITEM__, minNumOfPositionalArgs = 3)
     @GenerateNodeFactory
-    abstract static class SetCMemoryviewNode extends PythonBinaryBuiltinNode {
+    abstract static class SetItemNode extends PythonTernaryBuiltinNode {
+
+        @Specialization
+        Object setSlice(PMemoryView self, PSlice key, Object value,
+                        @Cached CoerceToIntSlice sliceCast,
+                        @Cached ComputeIndices compute,
+                        @Cached LenOfRangeNode sliceLen,
+                        @Cached CreateMemoryViewNode createMemoryViewNode,
+                        @Cached ToJavaBytesNode toJavaBytesNode,
+                        @Cached WriteBytesNode writeBytesNode,
+                        @Cached ReleaseViewNode releaseViewNode) {
+            checkWritable(self);
+            if (self.getDimensions() == 0) {
+                throw raise(TypeError, ErrorMessages.INVALID_INDEXING_OF_0_DIM_MEMORY);
+            } else if (self.getDimensions() != 1) {
+                throw raise(NotImplementedError, ErrorMessages.MEMORYVIEW_SLICE_ASSIGNMENT_RESTRICTED_TO_DIM_1);
+            }
+            SliceInfo info = compute.execute(sliceCast.execute(key), self.getBufferShape()[0]);
+            PMemoryView dest = createSliceView(factory(), self, info, sliceLen.len(info));
+            PMemoryView src = createMemoryViewNode.execute(PythonBuiltinClassType.PMemoryView, value);
+            byte[] bytes;
+            try {
+                if (src.getFormat() != dest.getFormat() || src.getDimensions() != 1 || src.getBufferShape()[0] != dest.getBufferShape()[0]) {
+                    throw raise(ValueError, ErrorMessages.MEMORYVIEW_DIFFERENT_STRUCTURES);
+                }
+                // copying the source first makes overlapping views work
+                bytes = toJavaBytesNode.execute(src);
+            } finally {
+                releaseViewNode.execute(src);
+            }
+            if (dest.isCContiguous()) {
+                writeBytesNode.execute(dest.getBuffer(), dest.getOffset(), bytes, 0, bytes.length);
+            } else {
+                int itemSize = dest.getItemSize();
+                int[] offsets = MemoryViewNodes.getItemOffsets(dest, false);
+                for (int i = 0; i < offsets.length; i++) {
+                    writeBytesNode.execute(dest.getBuffer(), offsets[i], bytes, i * itemSize, itemSize);
+                }
+            }
+            return PNone.NONE;
+        }
 
-        /*
-         * NOTE: DO NOT CHANGE THE NAME OF PROPERTY '__c_memoryview' it is also referenced in native
-         * code and Java code
+        @Specialization(guards = "!isPSlice(key)")
+        Object setItem(VirtualFrame frame, PMemoryView self, Object key, Object value,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @Cached WriteItemAtNode writeItemNode) {
+            checkWritable(self);
+            if (self.getDimensions() == 0) {
+                if (key == PEllipsis.INSTANCE || key instanceof PTuple && getObjectArrayNode.execute(key).length == 0) {
+                    writeItemNode.execute(frame, self, self.getOffset(), value);
+                    return PNone.NONE;
+                }
+                throw raise(TypeError, ErrorMessages.INVALID_INDEXING_OF_0_DIM_MEMORY);
+            }
+            ThreadState state = PArguments.getThreadState(frame);
+            if (lib.canBeIndex(key)) {
+                if (self.getDimensions() > 1) {
+                    throw raise(NotImplementedError, ErrorMessages.SUB_VIEWS_NOT_IMPLEMENTED);
+                }
+                int index = lib.asSizeWithState(key, IndexError, state);
+                writeItemNode.execute(frame, self, self.getOffset() + getDimensionOffset(self, 0, index, getRaiseNode()), value);
+                return PNone.NONE;
+            }
+            if (key instanceof PTuple) {
+                Object[] items = getObjectArrayNode.execute(key);
+                if (isMultiIndex(items, lib)) {
+                    if (items.length < self.getDimensions()) {
+                        throw raise(NotImplementedError, ErrorMessages.SUB_VIEWS_NOT_IMPLEMENTED);
+                    }
+                    writeItemNode.execute(frame, self, getTupleOffset(self, items, lib, state, getRaiseNode()), value);
+                    return PNone.NONE;
+                } else if (isMultiSlice(items)) {
+                    throw raise(NotImplementedError, ErrorMessages.MEMORYVIEW_SLICE_ASSIGNMENT_RESTRICTED_TO_DIM_1);
+                }
+            }
+            throw raise(TypeError, ErrorMessages.MEMORYVIEW_INVALID_SLICE_KEY);
+        }
+
+        private void checkWritable(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            if (self.isReadonly()) {
+                throw raise(TypeError, ErrorMessages.CANNOT_MODIFY_READONLY_MEMORY);
+            }
+        }
+    }
+
+    @Builtin(name = __DELITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DelItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object delItem(@SuppressWarnings("unused") PMemoryView self, @SuppressWarnings("unused") Object key) {
+            throw raise(TypeError, ErrorMessages.CANNOT_DELETE_MEMORY);
+        }
+    }
+
+    @Builtin(name = __LEN__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class LenNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        int len(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self.getDimensions() == 0 ? 1 : self.getBufferShape()[0];
+        }
+    }
+
+    @Builtin(name = "tobytes", minNumOfPositionalArgs = 1, parameterNames = {"$self", "order"})
+    @GenerateNodeFactory
+    abstract static class ToBytesNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PBytes tobytes(PMemoryView self, Object order,
+                        @Cached CastToJavaStringNode castToJavaStringNode,
+                        @Cached ReadBytesNode readBytesNode) {
+            self.checkReleased(getRaiseNode());
+            boolean fortranOrder = false;
+            if (!PGuards.isPNone(order)) {
+                String orderString;
+                try {
+                    orderString = castToJavaStringNode.execute(order);
+                } catch (CannotCastException e) {
+                    throw raise(ValueError, ErrorMessages.ORDER_MUST_BE_C_F_OR_A);
+                }
+                switch (orderString) {
+                    case "C":
+                        break;
+                    case "F":
+                        fortranOrder = true;
+                        break;
+                    case "A":
+                        fortranOrder = self.isFortranContiguous() && !self.isCContiguous();
+                        break;
+                    default:
+                        throw raise(ValueError, ErrorMessages.ORDER_MUST_BE_C_F_OR_A);
+                }
+            }
+            return factory().createBytes(ToJavaBytesNode.toBytes(self, fortranOrder, readBytesNode));
+        }
+    }
+
+    @Builtin(name = "hex", minNumOfPositionalArgs = 1, parameterNames = {"$self", "sep", "bytes_per_sep"})
+    @GenerateNodeFactory
+    abstract static class HexNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        String hex(VirtualFrame frame, PMemoryView self, Object sep, Object bytesPerSep,
+                        @Cached ToJavaBytesNode toJavaBytesNode,
+                        @Cached CastToJavaStringNode castToJavaStringNode,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            self.checkReleased(getRaiseNode());
+            byte[] bytes = toJavaBytesNode.execute(self);
+            if (PGuards.isPNone(sep)) {
+                return toHex(bytes, '\0', 0);
+            }
+            char sepChar = getSeparator(sep, castToJavaStringNode, lib);
+            int groupSize = PGuards.isNoValue(bytesPerSep) ? 1 : lib.asSizeWithState(bytesPerSep, PArguments.getThreadState(frame));
+            return toHex(bytes, sepChar, groupSize);
+        }
+
+        private char getSeparator(Object sep, CastToJavaStringNode castToJavaStringNode, PythonObjectLibrary lib) {
+            int c;
+            if (sep instanceof PBytes) {
+                byte[] bytes = getBytes(lib, sep);
+                if (bytes.length != 1) {
+                    throw raise(ValueError, ErrorMessages.SEP_MUST_BE_LENGTH_1);
+                }
+                c = bytes[0] & 0xff;
+            } else {
+                String string;
+                try {
+                    string = castToJavaStringNode.execute(sep);
+                } catch (CannotCastException e) {
+                    throw raise(TypeError, ErrorMessages.SEP_MUST_BE_STR_OR_BYTES);
+                }
+                if (string.length() != 1) {
+                    throw raise(ValueError, ErrorMessages.SEP_MUST_BE_LENGTH_1);
+                }
+                c = string.charAt(0);
+            }
+            if (c > 127) {
+                throw raise(ValueError, ErrorMessages.SEP_MUST_BE_ASCII);
+            }
+            return (char) c;
+        }
+
+        private static byte[] getBytes(PythonObjectLibrary lib, Object object) {
+            try {
+                return lib.getBufferBytes(object);
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        /**
+         * Like {@code _Py_strhex_impl}: a positive group size counts the groups from the right, a
+         * negative one from the left.
          */
-        @Specialization(guards = "isNoValue(value)")
-        Object set(Object self, @SuppressWarnings("unused") PNone value,
-                        @Cached("create()") ReadAttributeFromObjectNode readNode) {
-            return readNode.execute(self, PMemoryView.C_MEMORYVIEW);
+        @TruffleBoundary
+        private static String toHex(byte[] bytes, char sep, int groupSize) {
+            int n = Math.abs(groupSize);
+            StringBuilder sb = new StringBuilder(bytes.length * 3);
+            for (int i = 0; i < bytes.length; i++) {
+                if (i > 0 && n > 0 && (groupSize > 0 ? (bytes.length - i) % n : i % n) == 0) {
+                    sb.append(sep);
+                }
+                sb.append(Character.forDigit((bytes[i] >> 4) & 0xf, 16));
+                sb.append(Character.forDigit(bytes[i] & 0xf, 16));
+            }
+            return sb.toString();
         }
+    }
+
+    @Builtin(name = "tolist", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ToListNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object tolist(PMemoryView self,
+                        @Cached ReadItemAtNode readItemNode) {
+            self.checkReleased(getRaiseNode());
+            if (self.getDimensions() == 0) {
+                return readItemNode.execute(self, self.getOffset());
+            }
+            return toList(self, 0, self.getOffset(), readItemNode);
+        }
+
+        private PList toList(PMemoryView self, int dim, int offset, ReadItemAtNode readItemNode) {
+            int length = self.getBufferShape()[dim];
+            int stride = self.getBufferStrides()[dim];
+            Object[] items = new Object[length];
+            for (int i = 0; i < length; i++) {
+                int itemOffset = offset + i * stride;
+                if (dim == self.getDimensions() - 1) {
+                    items[i] = readItemNode.execute(self, itemOffset);
+                } else {
+                    items[i] = toList(self, dim + 1, itemOffset, readItemNode);
+                }
+            }
+            return factory().createList(items);
+        }
+    }
+
+    // cast(format, shape=None)
+    @Builtin(name = "cast", minNumOfPositionalArgs = 2, parameterNames = {"$self", "format", "shape"})
+    @GenerateNodeFactory
+    abstract static class CastNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object cast(VirtualFrame frame, PMemoryView self, Object formatObj, Object shapeObj,
+                        @Cached CastToJavaStringNode castToJavaStringNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            self.checkReleased(getRaiseNode());
+            String formatString;
+            try {
+                formatString = castToJavaStringNode.execute(formatObj);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.ARG_MUST_BE_S_NOT_P, "cast()", "str", formatObj);
+            }
+            if (!self.isCContiguous()) {
+                throw raise(TypeError, ErrorMessages.MEMORYVIEW_CASTS_RESTRICTED_TO_C_CONTIGUOUS);
+            }
+            boolean hasShape = !PGuards.isPNone(shapeObj);
+            if ((hasShape || self.getDimensions() != 1) && hasZeroInShape(self)) {
+                throw raise(TypeError, ErrorMessages.MEMORYVIEW_CANNOT_CAST_VIEW_WITH_ZEROS_IN_SHAPE_OR_STRIDES);
+            }
+            Object[] shapeItems = null;
+            if (hasShape) {
+                if (!(shapeObj instanceof PList || shapeObj instanceof PTuple)) {
+                    throw raise(TypeError, ErrorMessages.SHAPE_MUST_BE_A_LIST_OR_TUPLE);
+                }
+                shapeItems = getObjectArrayNode.execute(shapeObj);
+                if (shapeItems.length > MAX_DIM) {
+                    throw raise(ValueError, ErrorMessages.MEMORYVIEW_NUMBER_OF_DIMENSIONS_MUST_NOT_EXCEED_D, MAX_DIM);
+                }
+                if (self.getDimensions() != 1 && shapeItems.length != 1) {
+                    throw raise(TypeError, ErrorMessages.MEMORYVIEW_CAST_MUST_BE_1D_TO_ND_OR_ND_TO_1D);
+                }
+            }
+            BufferFormat format = BufferFormat.forString(formatString);
+            if (format == null) {
+                throw raise(ValueError, ErrorMessages.MEMORYVIEW_DESTINATION_FORMAT_ERROR);
+            }
+            if (!format.isByteFormat() && !self.getFormat().isByteFormat()) {
+                throw raise(TypeError, ErrorMessages.MEMORYVIEW_CANNOT_CAST_NON_BYTE);
+            }
+            int length = self.getLength();
+            if (length % format.size != 0) {
+                throw raise(TypeError, ErrorMessages.MEMORYVIEW_LENGTH_NOT_MULTIPLE_OF_ITEMSIZE);
+            }
+            int[] shape;
+            int[] strides;
+            if (shapeItems == null) {
+                shape = new int[]{length / format.size};
+                strides = new int[]{format.size};
+            } else {
+                shape = new int[shapeItems.length];
+                strides = new int[shapeItems.length];
+                ThreadState state = PArguments.getThreadState(frame);
+                long product = format.size;
+                for (int i = 0; i < shapeItems.length; i++) {
+                    if (!lib.canBeIndex(shapeItems[i])) {
+                        throw raise(TypeError, ErrorMessages.MEMORYVIEW_CAST_ELEMENTS_MUST_BE_INTS);
+                    }
+                    int n = lib.asSizeWithState(shapeItems[i], OverflowError, state);
+                    if (n <= 0) {
+                        throw raise(ValueError, ErrorMessages.MEMORYVIEW_CAST_ELEMENTS_MUST_BE_POSITIVE_INTS);
+                    }
+                    shape[i] = n;
+                    product = Math.min(product * n, Integer.MAX_VALUE + 1L);
+                }
+                if (product != length) {
+                    throw raise(TypeError, ErrorMessages.MEMORYVIEW_PRODUCT_SHAPE_ITEMSIZE_NOT_BUFFER_SIZE);
+                }
+                int stride = format.size;
+                for (int i = shape.length - 1; i >= 0; i--) {
+                    strides[i] = stride;
+                    stride *= shape[i];
+                }
+            }
+            return factory().createMemoryView(self.getOwner(), self.getBuffer(), self.getOffset(), self.isReadonly(), String.valueOf(format.code), format, shape, strides);
+        }
+
+        private static boolean hasZeroInShape(PMemoryView self) {
+            for (int i = 0; i < self.getDimensions(); i++) {
+                if (self.getBufferShape()[i] == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 
-        @Specialization(guards = "!isNoValue(cmemoryview)")
-        PNone set(Object self, Object cmemoryview,
-                        @Cached("create()") WriteAttributeToObjectNode writeNode) {
-            writeNode.execute(self, PMemoryView.C_MEMORYVIEW, cmemoryview);
+    @Builtin(name = "toreadonly", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ToReadonlyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object toreadonly(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return factory().createMemoryView(self.getOwner(), self.getBuffer(), self.getOffset(), true, self.getFormatString(), self.getFormat(), self.getBufferShape(), self.getBufferStrides());
+        }
+    }
+
+    @Builtin(name = "release", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReleaseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object release(PMemoryView self,
+                        @Cached ReleaseViewNode releaseViewNode) {
+            releaseViewNode.execute(self);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __ENTER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EnterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object enter(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self;
+        }
+    }
+
+    @Builtin(name = __EXIT__, minNumOfPositionalArgs = 4)
+    @GenerateNodeFactory
+    abstract static class ExitNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object exit(PMemoryView self, @SuppressWarnings("unused") Object type, @SuppressWarnings("unused") Object value, @SuppressWarnings("unused") Object traceback,
+                        @Cached ReleaseViewNode releaseViewNode) {
+            releaseViewNode.execute(self);
             return PNone.NONE;
         }
     }
+
+    @Builtin(name = __EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object eq(PMemoryView self, Object other,
+                        @Cached CreateMemoryViewNode createMemoryViewNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached ReadItemAtNode readItemNode) {
+            return compare(self, other, createMemoryViewNode, lib, readItemNode);
+        }
+    }
+
+    @Builtin(name = __NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object ne(PMemoryView self, Object other,
+                        @Cached CreateMemoryViewNode createMemoryViewNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached ReadItemAtNode readItemNode) {
+            Object result = compare(self, other, createMemoryViewNode, lib, readItemNode);
+            return result == PNotImplemented.NOT_IMPLEMENTED ? result : !((boolean) result);
+        }
+    }
+
+    /**
+     * Compares the unpacked items of two views like {@code memory_richcompare}. Only views of the
+     * same shape can be equal, their formats may differ.
+     */
+    static Object compare(PMemoryView self, Object other, CreateMemoryViewNode createMemoryViewNode, PythonObjectLibrary lib, ReadItemAtNode readItemNode) {
+        PMemoryView otherView;
+        if (other instanceof PMemoryView) {
+            otherView = (PMemoryView) other;
+        } else if (!PGuards.isString(other) && lib.isBuffer(other)) {
+            otherView = createMemoryViewNode.execute(PythonBuiltinClassType.PMemoryView, other);
+        } else {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+        if (self.isReleased() || otherView.isReleased()) {
+            return self == other;
+        }
+        if (self.getDimensions() != otherView.getDimensions()) {
+            return false;
+        }
+        for (int i = 0; i < self.getDimensions(); i++) {
+            if (self.getBufferShape()[i] != otherView.getBufferShape()[i]) {
+                return false;
+            }
+        }
+        int[] selfOffsets = MemoryViewNodes.getItemOffsets(self, false);
+        int[] otherOffsets = MemoryViewNodes.getItemOffsets(otherView, false);
+        for (int i = 0; i < selfOffsets.length; i++) {
+            if (!itemsEqual(readItemNode.execute(self, selfOffsets[i]), readItemNode.execute(otherView, otherOffsets[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two items as returned by {@link BufferFormat#unpack}.
+     */
+    @TruffleBoundary
+    private static boolean itemsEqual(Object a, Object b) {
+        if (a instanceof PBytes || b instanceof PBytes) {
+            return a instanceof PBytes && b instanceof PBytes && getByte((PBytes) a) == getByte((PBytes) b);
+        }
+        if (a instanceof Double || b instanceof Double) {
+            return toDouble(a) == toDouble(b);
+        }
+        return toBigInteger(a).equals(toBigInteger(b));
+    }
+
+    private static byte getByte(PBytes item) {
+        return ((ByteSequenceStorage) item.getSequenceStorage()).getInternalByteArray()[0];
+    }
+
+    private static double toDouble(Object item) {
+        return item instanceof Double ? (double) item : toBigInteger(item).doubleValue();
+    }
+
+    private static BigInteger toBigInteger(Object item) {
+        if (item instanceof PInt) {
+            return ((PInt) item).getValue();
+        } else if (item instanceof Boolean) {
+            return (boolean) item ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        return BigInteger.valueOf(((Number) item).longValue());
+    }
+
+    @Builtin(name = __HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        long hash(VirtualFrame frame, PMemoryView self,
+                        @Cached ToJavaBytesNode toJavaBytesNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            if (self.getCachedHash() != -1) {
+                return self.getCachedHash();
+            }
+            self.checkReleased(getRaiseNode());
+            if (!self.isReadonly()) {
+                throw raise(ValueError, ErrorMessages.CANNOT_HASH_WRITABLE_MEMORYVIEW);
+            } else if (!self.getFormat().isByteFormat()) {
+                throw raise(ValueError, ErrorMessages.MEMORYVIEW_HASHING_RESTRICTED_TO_BYTE_FORMATS);
+            }
+            ThreadState state = PArguments.getThreadState(frame);
+            // like CPython, refuse to hash views of unhashable exporters
+            lib.hashWithState(self.getOwner(), state);
+            long hash = lib.hashWithState(factory().createBytes(toJavaBytesNode.execute(self)), state);
+            self.setCachedHash(hash);
+            return hash;
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object reduce(PMemoryView self) {
+            throw raise(TypeError, ErrorMessages.CANNOT_PICKLE_P_OBJECT, self);
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static String repr(PMemoryView self) {
+            if (self.isReleased()) {
+                return String.format("<released memory at 0x%x>", PythonAbstractObject.systemHashCode(self));
+            }
+            return String.format("<memory at 0x%x>", PythonAbstractObject.systemHashCode(self));
+        }
+    }
+
+    @Builtin(name = "obj", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ObjNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object obj(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self.getOwner();
+        }
+    }
+
+    @Builtin(name = "nbytes", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class NBytesNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        int nbytes(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self.getLength();
+        }
+    }
+
+    @Builtin(name = "readonly", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ReadonlyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        boolean readonly(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self.isReadonly();
+        }
+    }
+
+    @Builtin(name = "itemsize", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ItemSizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        int itemsize(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self.getItemSize();
+        }
+    }
+
+    @Builtin(name = "format", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FormatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        String format(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self.getFormatString();
+        }
+    }
+
+    @Builtin(name = "ndim", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class NDimNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        int ndim(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self.getDimensions();
+        }
+    }
+
+    @Builtin(name = "shape", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ShapeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple shape(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return factory().createTuple(toObjectArray(self.getBufferShape()));
+        }
+    }
+
+    @Builtin(name = "strides", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class StridesNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple strides(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return factory().createTuple(toObjectArray(self.getBufferStrides()));
+        }
+    }
+
+    private static Object[] toObjectArray(int[] values) {
+        Object[] result = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+
+    @Builtin(name = "suboffsets", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SuboffsetsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple suboffsets(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return factory().createEmptyTuple();
+        }
+    }
+
+    @Builtin(name = "c_contiguous", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class CContiguousNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        boolean cContiguous(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self.isCContiguous();
+        }
+    }
+
+    @Builtin(name = "f_contiguous", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FContiguousNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        boolean fContiguous(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self.isFortranContiguous();
+        }
+    }
+
+    @Builtin(name = "contiguous", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ContiguousNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        boolean contiguous(PMemoryView self) {
+            self.checkReleased(getRaiseNode());
+            return self.isCContiguous() || self.isFortranContiguous();
+        }
+    }
 }
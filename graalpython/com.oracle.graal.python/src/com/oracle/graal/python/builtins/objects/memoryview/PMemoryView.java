@@ -40,51 +40,209 @@
  */
 package com.oracle.graal.python.builtins.objects.memoryview;
 
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.ToJavaBytesNode;
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
-import com.oracle.graal.python.nodes.attributes.ReadAttributeFromDynamicObjectNode;
-import com.oracle.graal.python.nodes.util.CastToByteNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
-import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.object.Shape;
 
+/**
+ * A view of the memory of a buffer. The memory is read and written through {@link #getBuffer()},
+ * which is either a sequence with a byte storage (like {@code bytes}, {@code bytearray} or a byte
+ * {@code array}), an {@code array} of other items or a
+ * {@link com.oracle.graal.python.builtins.objects.mmap.PMMap mmap}. The memory a native object
+ * exports is held by a byte sequence with a {@link NativeBufferStorage}. The view never copies the
+ * memory; slicing and casting create new views of the same buffer.
+ *
+ * The element at the indices {@code (i_0, ..., i_n)} starts at the byte
+ * {@code offset + i_0 * strides[0] + ... + i_n * strides[n]} of the buffer.
+ */
 @ExportLibrary(PythonObjectLibrary.class)
-public class PMemoryView extends PythonBuiltinObject {
+public final class PMemoryView extends PythonBuiltinObject {
 
-    static final String C_MEMORYVIEW = "__c_memoryview";
+    /** The object the view was created from, exposed as {@code obj}. */
+    private final Object owner;
+    /** The object holding the memory. */
+    private final Object buffer;
+    private final int offset;
+    private final boolean readonly;
+    private final String formatString;
+    private final BufferFormat format;
+    @CompilationFinal(dimensions = 1) private final int[] shape;
+    @CompilationFinal(dimensions = 1) private final int[] strides;
+    private boolean released;
+    /** The hash of a read-only view, kept after releasing it like in CPython. */
+    private long cachedHash = -1;
 
-    public PMemoryView(Object cls, Shape instanceShape, @SuppressWarnings("unused") Object obj) {
+    public PMemoryView(Object cls, Shape instanceShape, Object owner, Object buffer, int offset, boolean readonly, String formatString, BufferFormat format, int[] shape, int[] strides) {
         super(cls, instanceShape);
+        assert shape.length == strides.length;
+        this.owner = owner;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.readonly = readonly;
+        this.formatString = formatString;
+        this.format = format;
+        this.shape = shape;
+        this.strides = strides;
+        NativeBufferStorage nativeStorage = getNativeBufferStorage();
+        if (nativeStorage != null) {
+            nativeStorage.addView();
+        }
+    }
+
+    private NativeBufferStorage getNativeBufferStorage() {
+        if (buffer instanceof PSequence && ((PSequence) buffer).getSequenceStorage() instanceof NativeBufferStorage) {
+            return (NativeBufferStorage) ((PSequence) buffer).getSequenceStorage();
+        }
+        return null;
+    }
+
+    public Object getOwner() {
+        return owner;
+    }
+
+    public Object getBuffer() {
+        return buffer;
+    }
+
+    /** The position of the first byte of the view in the buffer. */
+    public int getOffset() {
+        return offset;
+    }
+
+    public boolean isReadonly() {
+        return readonly;
+    }
+
+    public String getFormatString() {
+        return formatString;
+    }
+
+    public BufferFormat getFormat() {
+        return format;
+    }
+
+    public int getItemSize() {
+        return format.size;
+    }
+
+    public int getDimensions() {
+        return shape.length;
+    }
+
+    public int[] getBufferShape() {
+        return shape;
+    }
+
+    public int[] getBufferStrides() {
+        return strides;
+    }
+
+    /** The number of items of the view. */
+    public int getItemCount() {
+        int n = 1;
+        for (int i = 0; i < shape.length; i++) {
+            n *= shape[i];
+        }
+        return n;
+    }
+
+    /** The number of bytes the items of the view occupy, exposed as {@code nbytes}. */
+    public int getLength() {
+        return getItemCount() * format.size;
+    }
+
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Marks the view as released.
+     *
+     * @return the native {@code Py_buffer} to release if this was the last view of the memory a
+     *         native object exported, {@code null} otherwise
+     */
+    public Object release() {
+        if (released) {
+            return null;
+        }
+        released = true;
+        NativeBufferStorage nativeStorage = getNativeBufferStorage();
+        return nativeStorage != null ? nativeStorage.removeView() : null;
+    }
+
+    public long getCachedHash() {
+        return cachedHash;
+    }
+
+    public void setCachedHash(long cachedHash) {
+        this.cachedHash = cachedHash;
+    }
+
+    public boolean isCContiguous() {
+        if (getItemCount() == 0) {
+            return true;
+        }
+        int expected = format.size;
+        for (int i = shape.length - 1; i >= 0; i--) {
+            if (shape[i] > 1 && strides[i] != expected) {
+                return false;
+            }
+            expected *= shape[i];
+        }
+        return true;
+    }
+
+    public boolean isFortranContiguous() {
+        if (getItemCount() == 0) {
+            return true;
+        }
+        int expected = format.size;
+        for (int i = 0; i < shape.length; i++) {
+            if (shape[i] > 1 && strides[i] != expected) {
+                return false;
+            }
+            expected *= shape[i];
+        }
+        return true;
+    }
+
+    /**
+     * Raises a {@code ValueError} if the view was released.
+     */
+    public void checkReleased(PRaiseNode raiseNode) {
+        if (released) {
+            throw raiseNode.raise(PythonBuiltinClassType.ValueError, ErrorMessages.OPERATION_FORBIDDEN_ON_RELEASED_MEMORYVIEW);
+        }
     }
 
     @ExportMessage
+    @SuppressWarnings("static-method")
     boolean isBuffer() {
         return true;
     }
 
     @ExportMessage
     int getBufferLength(
-                    @Shared("readNativeMemoryViewNode") @Cached ReadAttributeFromDynamicObjectNode readNativeMemoryViewNode,
-                    @CachedLibrary(limit = "1") PythonObjectLibrary lib) {
-        Object nativeMemoryViewObject = readNativeMemoryViewNode.execute(getStorage(), C_MEMORYVIEW);
-        return lib.length(nativeMemoryViewObject);
+                    @Shared("raise") @Cached PRaiseNode raiseNode) {
+        checkReleased(raiseNode);
+        return getLength();
     }
 
     @ExportMessage
     byte[] getBufferBytes(
-                    @Shared("readNativeMemoryViewNode") @Cached ReadAttributeFromDynamicObjectNode readNativeMemoryViewNode,
-                    @CachedLibrary(limit = "1") PythonObjectLibrary lib,
-                    @Cached PInteropSubscriptNode subscriptNode,
-                    @Cached CastToByteNode castToByteNode) {
-        Object nativeMemoryViewObject = readNativeMemoryViewNode.execute(getStorage(), C_MEMORYVIEW);
-        int len = lib.length(nativeMemoryViewObject);
-        byte[] data = new byte[len];
-        for (int i = 0; i < data.length; i++) {
-            data[i] = castToByteNode.execute(null, subscriptNode.execute(nativeMemoryViewObject, i));
-        }
-        return data;
+                    @Shared("raise") @Cached PRaiseNode raiseNode,
+                    @Cached ToJavaBytesNode toJavaBytesNode) {
+        checkReleased(raiseNode);
+        return toJavaBytesNode.execute(this);
     }
 }
@@ -58,8 +58,7 @@ import static com.oracle.graal.python.nodes.SpecialMethodNames.__RMUL__;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.__STR__;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.channels.SeekableByteChannel;
+import java.math.BigInteger;
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
@@ -67,21 +66,20 @@ import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
-import com.oracle.graal.python.builtins.objects.bytes.BytesBuiltins.BytesLikeNoGeneralizationNode;
 import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
-import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.GetInternalByteArrayNode;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
-import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
 import com.oracle.graal.python.builtins.objects.range.RangeNodes.LenOfRangeNode;
+import com.oracle.graal.python.builtins.objects.slice.PObjectSlice;
+import com.oracle.graal.python.builtins.objects.slice.PObjectSlice.SliceObjectInfo;
 import com.oracle.graal.python.builtins.objects.slice.PSlice;
 import com.oracle.graal.python.builtins.objects.slice.PSlice.SliceInfo;
 import com.oracle.graal.python.nodes.ErrorMessages;
-import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
@@ -90,22 +88,14 @@ import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.subscript.SliceLiteralNode.CoerceToIntSlice;
+import com.oracle.graal.python.nodes.subscript.SliceLiteralNode.CoerceToObjectSlice;
 import com.oracle.graal.python.nodes.subscript.SliceLiteralNode.ComputeIndices;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CannotCastException;
 import com.oracle.graal.python.nodes.util.CastToByteNode;
 import com.oracle.graal.python.nodes.util.CastToJavaLongLossyNode;
-import com.oracle.graal.python.nodes.util.ChannelNodes;
-import com.oracle.graal.python.nodes.util.ChannelNodes.ReadByteFromChannelNode;
-import com.oracle.graal.python.nodes.util.ChannelNodes.ReadFromChannelNode;
-import com.oracle.graal.python.nodes.util.ChannelNodes.WriteByteToChannelNode;
-import com.oracle.graal.python.nodes.util.ChannelNodes.WriteToChannelNode;
-import com.oracle.graal.python.runtime.exception.PythonErrorType;
-import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
-import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
-import com.oracle.graal.python.util.OverflowException;
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
@@ -120,55 +110,61 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
 @CoreFunctions(extendClasses = PythonBuiltinClassType.PMMap)
 public class MMapBuiltins extends PythonBuiltins {
 
-    protected interface MMapBaseNode {
+    static void checkValid(PythonBuiltinBaseNode node, PMMap self) {
+        if (self.isClosed()) {
+            throw node.raise(PythonBuiltinClassType.ValueError, ErrorMessages.MMAP_CLOSED_OR_INVALID);
+        }
     }
 
-    protected interface ByteReadingNode extends MMapBaseNode {
-
-        default ReadByteFromChannelNode createValueError(PRaiseNode raise) {
-            return ReadByteFromChannelNode.create(() -> new ChannelNodes.ReadByteErrorHandler() {
-
-                @Override
-                public int execute(Object channel) {
-                    throw raise.raise(PythonBuiltinClassType.ValueError, ErrorMessages.READ_BYTE_OUT_OF_RANGE);
-                }
-            });
+    static void checkWritable(PythonBuiltinBaseNode node, PMMap self) {
+        checkValid(node, self);
+        if (self.isReadonly()) {
+            throw node.raise(PythonBuiltinClassType.TypeError, ErrorMessages.MMAP_CANT_MODIFY_READONLY);
         }
+    }
 
-        default ReadByteFromChannelNode createIndexError(PRaiseNode raise) {
-            return ReadByteFromChannelNode.create(() -> new ChannelNodes.ReadByteErrorHandler() {
-
-                @Override
-                public int execute(Object channel) {
-                    throw raise.raise(PythonBuiltinClassType.IndexError, ErrorMessages.MMAP_INDEX_OUT_OF_RANGE);
-                }
-            });
-
+    /**
+     * The indices of a slice of a map. Maps may be longer than {@link Integer#MAX_VALUE} bytes, so
+     * slices are computed in {@code long} space.
+     */
+    @ValueType
+    static final class MMapSliceInfo {
+        final long start;
+        final long step;
+        final long length;
+
+        MMapSliceInfo(long start, long step, long length) {
+            this.start = start;
+            this.step = step;
+            this.length = length;
         }
     }
 
-    protected interface ByteWritingNode extends MMapBaseNode {
-
-        default WriteByteToChannelNode createValueError(PRaiseNode raise) {
-            return WriteByteToChannelNode.create(() -> new ChannelNodes.WriteByteErrorHandler() {
-
-                @Override
-                public void execute(Object channel, byte b) {
-                    throw raise.raise(PythonBuiltinClassType.ValueError, ErrorMessages.WRITE_BYTE_OUT_OF_RANGE);
-                }
-            });
+    static MMapSliceInfo computeSlice(PMMap self, PSlice idx, CoerceToIntSlice sliceCast, ComputeIndices compute, LenOfRangeNode sliceLen, CoerceToObjectSlice toBigIntSlice,
+                    ConditionProfile intLengthProfile) {
+        long length = self.getLength();
+        if (intLengthProfile.profile(length <= Integer.MAX_VALUE)) {
+            SliceInfo info = compute.execute(sliceCast.execute(idx), (int) length);
+            return new MMapSliceInfo(info.start, info.step, sliceLen.len(info));
         }
+        return computeLongSlice(toBigIntSlice.execute(idx), length);
+    }
 
-        default WriteByteToChannelNode createIndexError(PRaiseNode raise) {
-            return WriteByteToChannelNode.create(() -> new ChannelNodes.WriteByteErrorHandler() {
-
-                @Override
-                public void execute(Object channel, byte b) {
-                    throw raise.raise(PythonBuiltinClassType.IndexError, ErrorMessages.MMAP_INDEX_OUT_OF_RANGE);
-                }
-            });
-
+    @TruffleBoundary
+    private static MMapSliceInfo computeLongSlice(PObjectSlice slice, long length) {
+        SliceObjectInfo info = PObjectSlice.computeIndicesSlowPath(slice, BigInteger.valueOf(length), null);
+        // start and stop are clamped to [-1, length]
+        long start = ((BigInteger) info.start).longValue();
+        long stop = ((BigInteger) info.stop).longValue();
+        BigInteger step = (BigInteger) info.step;
+        long n;
+        if (step.signum() > 0) {
+            n = start < stop ? BigInteger.valueOf(stop - start - 1).divide(step).longValue() + 1 : 0;
+        } else {
+            n = stop < start ? BigInteger.valueOf(start - stop - 1).divide(step.negate()).longValue() + 1 : 0;
         }
+        // a step that does not fit a long selects at most one byte
+        return new MMapSliceInfo(start, n > 1 ? step.longValueExact() : 1, n);
     }
 
     @Override
@@ -234,7 +230,7 @@ public class MMapBuiltins extends PythonBuiltins {
 
     @Builtin(name = __GETITEM__, minNumOfPositionalArgs = 2)
     @GenerateNodeFactory
-    public abstract static class GetItemNode extends PythonBinaryBuiltinNode implements ByteReadingNode {
+    public abstract static class GetItemNode extends PythonBinaryBuiltinNode {
 
         public abstract Object executeObject(PMMap self, Object idxObj);
 
@@ -244,132 +240,92 @@ public class MMapBuiltins extends PythonBuiltins {
 
         @Specialization(guards = "!isPSlice(idxObj)", limit = "1")
         int doSingle(PMMap self, Object idxObj,
-                        @SuppressWarnings("unused") @Cached PRaiseNode raise,
-                        @Cached("createIndexError(raise)") ReadByteFromChannelNode readByteNode,
-                        @CachedLibrary("idxObj") PythonObjectLibrary libIdx) {
-
-            try {
-                long i = libIdx.asJavaLong(idxObj);
-                long len = self.getLength();
-                SeekableByteChannel channel = self.getChannel();
-                long idx = i < 0 ? i + len : i;
-
-                // save current position
-                long oldPos = PMMap.position(channel);
-
-                PMMap.position(channel, idx);
-                int res = readByteNode.execute(channel) & 0xFF;
-
-                // restore position
-                PMMap.position(channel, oldPos);
-
-                return res;
-
-            } catch (IOException e) {
-                throw raise(PythonBuiltinClassType.OSError, e);
+                        @CachedLibrary("idxObj") PythonObjectLibrary libIdx,
+                        @Cached("createBinaryProfile()") ConditionProfile outOfRangeProfile) {
+            checkValid(this, self);
+            long i = libIdx.asJavaLong(idxObj);
+            long len = self.getLength();
+            long idx = i < 0 ? i + len : i;
+            if (outOfRangeProfile.profile(idx < 0 || idx >= len)) {
+                throw raise(PythonBuiltinClassType.IndexError, ErrorMessages.MMAP_INDEX_OUT_OF_RANGE);
             }
+            return self.getByte(idx) & 0xFF;
         }
 
         @Specialization
         Object doSlice(PMMap self, PSlice idx,
-                        @Cached("create()") ReadFromChannelNode readNode,
                         @Cached CoerceToIntSlice sliceCast,
                         @Cached ComputeIndices compute,
-                        @Cached LenOfRangeNode sliceLen) {
-            try {
-                long len = self.getLength();
-                SliceInfo info = compute.execute(sliceCast.execute(idx), PInt.intValueExact(len));
-                SeekableByteChannel channel = self.getChannel();
-
-                // save current position
-                long oldPos = PMMap.position(channel);
-
-                PMMap.position(channel, info.start);
-                ByteSequenceStorage s = readNode.execute(channel, sliceLen.len(info));
-
-                // restore position
-                PMMap.position(channel, oldPos);
-
-                return factory().createBytes(s);
-            } catch (IOException e) {
-                throw raise(PythonBuiltinClassType.OSError, e);
-            } catch (OverflowException e) {
-                throw raise(PythonBuiltinClassType.OverflowError, e);
+                        @Cached LenOfRangeNode sliceLen,
+                        @Cached CoerceToObjectSlice toBigIntSlice,
+                        @Cached("createBinaryProfile()") ConditionProfile intLengthProfile,
+                        @Cached("createBinaryProfile()") ConditionProfile stepOneProfile) {
+            checkValid(this, self);
+            MMapSliceInfo info = computeSlice(self, idx, sliceCast, compute, sliceLen, toBigIntSlice, intLengthProfile);
+            if (info.length > Integer.MAX_VALUE) {
+                throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.MEMORY_MAPPED_READ_TOO_LARGE);
             }
+            int n = (int) info.length;
+            byte[] result;
+            if (stepOneProfile.profile(info.step == 1)) {
+                result = self.getBytes(info.start, n);
+            } else {
+                result = new byte[n];
+                long j = info.start;
+                for (int i = 0; i < n; i++, j += info.step) {
+                    result[i] = self.getByte(j);
+                }
+            }
+            return factory().createBytes(result);
         }
     }
 
     @Builtin(name = SpecialMethodNames.__SETITEM__, minNumOfPositionalArgs = 3)
     @GenerateNodeFactory
-    abstract static class SetItemNode extends PythonTernaryBuiltinNode implements ByteWritingNode {
+    abstract static class SetItemNode extends PythonTernaryBuiltinNode {
 
         @Specialization(guards = "!isPSlice(idxObj)", limit = "1")
         PNone doSingle(PMMap self, Object idxObj, Object val,
-                        @SuppressWarnings("unused") @Cached PRaiseNode raise,
-                        @Cached("createIndexError(raise)") WriteByteToChannelNode writeByteNode,
                         @CachedLibrary("idxObj") PythonObjectLibrary libIdx,
                         @Cached("createCoerce()") CastToByteNode castToByteNode,
                         @Cached("createBinaryProfile()") ConditionProfile outOfRangeProfile) {
+            checkWritable(this, self);
+            long i = libIdx.asJavaLong(idxObj);
+            long len = self.getLength();
+            long idx = i < 0 ? i + len : i;
 
-            try {
-                long i = libIdx.asJavaLong(idxObj);
-                long len = self.getLength();
-                SeekableByteChannel channel = self.getChannel();
-                long idx = i < 0 ? i + len : i;
-
-                if (outOfRangeProfile.profile(idx < 0 || idx >= len)) {
-                    throw raise(PythonBuiltinClassType.IndexError, ErrorMessages.MMAP_INDEX_OUT_OF_RANGE);
-                }
-
-                // save current position
-                long oldPos = PMMap.position(channel);
-
-                PMMap.position(channel, idx);
-                writeByteNode.execute(channel, castToByteNode.execute(null, val));
-
-                // restore position
-                PMMap.position(channel, oldPos);
-
-                return PNone.NONE;
-
-            } catch (IOException e) {
-                throw raise(PythonBuiltinClassType.OSError, e);
+            if (outOfRangeProfile.profile(idx < 0 || idx >= len)) {
+                throw raise(PythonBuiltinClassType.IndexError, ErrorMessages.MMAP_INDEX_OUT_OF_RANGE);
             }
+            self.putByte(idx, castToByteNode.execute(null, val));
+            return PNone.NONE;
         }
 
         @Specialization
         PNone doSlice(PMMap self, PSlice idx, PBytesLike val,
-                        @Cached("create()") WriteToChannelNode writeNode,
-                        @Cached("createBinaryProfile()") ConditionProfile invalidStepProfile,
+                        @Cached GetInternalByteArrayNode getInternalByteArrayNode,
+                        @Cached("createBinaryProfile()") ConditionProfile stepOneProfile,
                         @Cached CoerceToIntSlice sliceCast,
                         @Cached ComputeIndices compute,
-                        @Cached LenOfRangeNode sliceLen) {
-
-            try {
-                long len = self.getLength();
-                SliceInfo info = compute.execute(sliceCast.execute(idx), PInt.intValueExact(len));
-                SeekableByteChannel channel = self.getChannel();
-
-                if (invalidStepProfile.profile(info.step != 1)) {
-                    throw raise(PythonBuiltinClassType.SystemError, ErrorMessages.STEP_1_NOT_SUPPORTED);
+                        @Cached LenOfRangeNode sliceLen,
+                        @Cached CoerceToObjectSlice toBigIntSlice,
+                        @Cached("createBinaryProfile()") ConditionProfile intLengthProfile) {
+            checkWritable(this, self);
+            MMapSliceInfo info = computeSlice(self, idx, sliceCast, compute, sliceLen, toBigIntSlice, intLengthProfile);
+            int n = val.getSequenceStorage().length();
+            if (info.length != n) {
+                throw raise(PythonBuiltinClassType.IndexError, ErrorMessages.MMAP_SLICE_ASSIGNMENT_WRONG_SIZE);
+            }
+            byte[] data = getInternalByteArrayNode.execute(val.getSequenceStorage());
+            if (stepOneProfile.profile(info.step == 1)) {
+                self.writeBytes(info.start, data, 0, n);
+            } else {
+                long j = info.start;
+                for (int i = 0; i < n; i++, j += info.step) {
+                    self.putByte(j, data[i]);
                 }
-
-                // save current position
-                long oldPos = PMMap.position(channel);
-
-                PMMap.position(channel, info.start);
-                writeNode.execute(channel, val.getSequenceStorage(), sliceLen.len(info));
-
-                // restore position
-                PMMap.position(channel, oldPos);
-
-                return PNone.NONE;
-
-            } catch (IOException e) {
-                throw raise(PythonBuiltinClassType.OSError, e);
-            } catch (OverflowException e) {
-                throw raise(PythonBuiltinClassType.OverflowError, e);
             }
+            return PNone.NONE;
         }
 
         protected static CastToByteNode createCoerce() {
@@ -412,20 +368,14 @@ public class MMapBuiltins extends PythonBuiltins {
     abstract static class CloseNode extends PythonUnaryBuiltinNode {
 
         @Specialization
-        static PNone doClose(PMMap self,
-                        @Cached PRaiseNode raiseNode) {
+        PNone doClose(VirtualFrame frame, PMMap self) {
             try {
-                close(self);
+                self.close();
             } catch (IOException e) {
-                throw raiseNode.raise(PythonErrorType.BufferError, ErrorMessages.CANNOT_CLOSE_EXPORTED_PTRS_EXIST);
+                throw raiseOSError(frame, OSErrorEnum.EIO, e);
             }
             return PNone.NONE;
         }
-
-        @TruffleBoundary
-        private static void close(PMMap self) throws IOException {
-            self.getChannel().close();
-        }
     }
 
     @Builtin(name = "closed", minNumOfPositionalArgs = 1, isGetter = true)
@@ -433,9 +383,8 @@ public class MMapBuiltins extends PythonBuiltins {
     abstract static class ClosedNode extends PythonUnaryBuiltinNode {
 
         @Specialization
-        @TruffleBoundary
         static boolean close(PMMap self) {
-            return !self.getChannel().isOpen();
+            return self.isClosed();
         }
     }
 
@@ -444,35 +393,62 @@ public class MMapBuiltins extends PythonBuiltins {
     abstract static class SizeNode extends PythonBuiltinNode {
 
         @Specialization
-        static long size(PMMap self) {
+        long size(PMMap self) {
+            checkValid(this, self);
             return self.getLength();
         }
     }
 
     @Builtin(name = "tell", minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
-    abstract static class TellNode extends PythonBuiltinNode implements ByteReadingNode {
+    abstract static class TellNode extends PythonBuiltinNode {
         @Specialization
-        long readline(VirtualFrame frame, PMMap self) {
-            try {
-                SeekableByteChannel channel = self.getChannel();
-                return PMMap.position(channel) - self.getOffset();
-            } catch (IOException e) {
-                throw raiseOSError(frame, OSErrorEnum.EIO, e);
-            }
+        long tell(PMMap self) {
+            checkValid(this, self);
+            return self.getPosition();
         }
     }
 
     @Builtin(name = "read_byte", minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
     @TypeSystemReference(PythonArithmeticTypes.class)
-    abstract static class ReadByteNode extends PythonUnaryBuiltinNode implements ByteReadingNode {
+    abstract static class ReadByteNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        int readByte(PMMap self,
+                        @Cached BranchProfile outOfRangeProfile) {
+            checkValid(this, self);
+            long pos = self.getPosition();
+            if (pos >= self.getLength()) {
+                outOfRangeProfile.enter();
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.READ_BYTE_OUT_OF_RANGE);
+            }
+            self.setPosition(pos + 1);
+            return self.getByte(pos) & 0xFF;
+        }
+    }
+
+    @Builtin(name = "write_byte", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class WriteByteNode extends PythonBinaryBuiltinNode {
 
         @Specialization
-        static int readByte(PMMap self,
-                        @SuppressWarnings("unused") @Cached PRaiseNode raise,
-                        @Cached("createValueError(raise)") ReadByteFromChannelNode readByteNode) {
-            return readByteNode.execute(self.getChannel());
+        PNone writeByte(PMMap self, Object val,
+                        @Cached("createCoerce()") CastToByteNode castToByteNode,
+                        @Cached BranchProfile outOfRangeProfile) {
+            checkWritable(this, self);
+            long pos = self.getPosition();
+            if (pos >= self.getLength()) {
+                outOfRangeProfile.enter();
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.WRITE_BYTE_OUT_OF_RANGE);
+            }
+            self.putByte(pos, castToByteNode.execute(null, val));
+            self.setPosition(pos + 1);
+            return PNone.NONE;
+        }
+
+        protected static CastToByteNode createCoerce() {
+            return CastToByteNode.create(true);
         }
     }
 
@@ -482,66 +458,56 @@ public class MMapBuiltins extends PythonBuiltins {
     abstract static class ReadNode extends PythonBuiltinNode {
 
         @Specialization
-        PBytes readUnlimited(PMMap self, @SuppressWarnings("unused") PNone n,
-                        @Cached("create()") ReadFromChannelNode readChannelNode) {
+        PBytes readUnlimited(PMMap self, @SuppressWarnings("unused") PNone n) {
             // intentionally accept NO_VALUE and NONE; both mean that we read unlimited amount of
             // bytes
-            ByteSequenceStorage res = readChannelNode.execute(self.getChannel(), ReadFromChannelNode.MAX_READ);
-            return factory().createBytes(res);
+            checkValid(this, self);
+            return doRead(self, self.getLength() - self.getPosition());
         }
 
         @Specialization(guards = "!isNoValue(n)", limit = "getCallSiteInlineCacheMaxDepth()")
         PBytes read(VirtualFrame frame, PMMap self, Object n,
-                        @Cached("create()") ReadFromChannelNode readChannelNode,
                         @CachedLibrary("n") PythonObjectLibrary lib,
                         @Cached("createBinaryProfile()") ConditionProfile negativeProfile) {
+            checkValid(this, self);
+            long remaining = self.getLength() - self.getPosition();
             int nread = lib.asSizeWithState(n, PArguments.getThreadState(frame));
-            if (negativeProfile.profile(nread < 0)) {
-                return readUnlimited(self, PNone.NO_VALUE, readChannelNode);
+            if (negativeProfile.profile(nread < 0 || nread > remaining)) {
+                return doRead(self, remaining);
             }
-            ByteSequenceStorage res = readChannelNode.execute(self.getChannel(), nread);
-            return factory().createBytes(res);
+            return doRead(self, nread);
         }
 
+        private PBytes doRead(PMMap self, long n) {
+            if (n > Integer.MAX_VALUE) {
+                throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.MEMORY_MAPPED_READ_TOO_LARGE);
+            }
+            long pos = self.getPosition();
+            byte[] result = self.getBytes(pos, (int) n);
+            self.setPosition(pos + n);
+            return factory().createBytes(result);
+        }
     }
 
     @Builtin(name = "readline", minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
-    abstract static class ReadlineNode extends PythonUnaryBuiltinNode implements ByteReadingNode {
+    abstract static class ReadlineNode extends PythonUnaryBuiltinNode {
 
         @Specialization
         Object readline(PMMap self,
-                        @Cached SequenceStorageNodes.AppendNode appendNode) {
-
-            try {
-                ByteBuffer buf = ByteBuffer.allocate(4096);
-                SeekableByteChannel channel = self.getChannel();
-                ByteSequenceStorage res = new ByteSequenceStorage(16);
-                // search for newline char
-                outer: while (readIntoBuffer(channel, buf) > 0) {
-                    buf.flip();
-                    while (buf.hasRemaining()) {
-                        byte b = buf.get();
-                        // CPython really tests for '\n' only
-                        if (b != (byte) '\n') {
-                            appendNode.execute(res, b, BytesLikeNoGeneralizationNode.SUPPLIER);
-                        } else {
-                            // recover correct position (i.e. number of remaining bytes in buffer)
-                            PMMap.position(channel, PMMap.position(channel) - buf.remaining() - 1);
-                            break outer;
-                        }
-                    }
-                    buf.clear();
-                }
-                return factory().createBytes(res);
-            } catch (IOException e) {
-                throw raise(PythonBuiltinClassType.OSError, e);
+                        @Cached("createBinaryProfile()") ConditionProfile noNewlineProfile) {
+            checkValid(this, self);
+            long pos = self.getPosition();
+            long len = self.getLength();
+            // CPython really tests for '\n' only
+            long eol = self.indexOf((byte) '\n', pos, len);
+            long end = noNewlineProfile.profile(eol < 0) ? len : eol + 1;
+            if (end - pos > Integer.MAX_VALUE) {
+                throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.MEMORY_MAPPED_READ_TOO_LARGE);
             }
-        }
-
-        @TruffleBoundary(allowInlining = true)
-        private static int readIntoBuffer(SeekableByteChannel ch, ByteBuffer dst) throws IOException {
-            return ch.read(dst);
+            byte[] result = self.getBytes(pos, (int) (end - pos));
+            self.setPosition(end);
+            return factory().createBytes(result);
         }
     }
 
@@ -550,25 +516,35 @@ public class MMapBuiltins extends PythonBuiltins {
     abstract static class WriteNode extends PythonBinaryBuiltinNode {
 
         @Specialization
-        static int writeBytesLike(PMMap self, PBytesLike bytesLike,
-                        @Cached("create()") WriteToChannelNode writeNode) {
-            SeekableByteChannel channel = self.getChannel();
-            return writeNode.execute(channel, bytesLike.getSequenceStorage(), Integer.MAX_VALUE);
+        int writeBytesLike(PMMap self, PBytesLike bytesLike,
+                        @Cached GetInternalByteArrayNode getInternalByteArrayNode) {
+            int n = bytesLike.getSequenceStorage().length();
+            return write(self, getInternalByteArrayNode.execute(bytesLike.getSequenceStorage()), n);
         }
 
         @Specialization
-        static int writeMemoryview(VirtualFrame frame, PMMap self, PMemoryView memoryView,
-                        @Cached("create()") WriteToChannelNode writeNode,
+        int writeMemoryview(VirtualFrame frame, PMMap self, PMemoryView memoryView,
                         @Cached("create()") BytesNodes.ToBytesNode toBytesNode) {
             byte[] data = toBytesNode.execute(frame, memoryView);
-            return writeNode.execute(self.getChannel(), new ByteSequenceStorage(data), Integer.MAX_VALUE);
+            return write(self, data, data.length);
+        }
+
+        private int write(PMMap self, byte[] data, int n) {
+            checkWritable(this, self);
+            long pos = self.getPosition();
+            if (pos > self.getLength() - n) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.DATA_OUT_OF_RANGE);
+            }
+            self.writeBytes(pos, data, 0, n);
+            self.setPosition(pos + n);
+            return n;
         }
     }
 
     @Builtin(name = "seek", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 3)
     @GenerateNodeFactory
     @TypeSystemReference(PythonArithmeticTypes.class)
-    abstract static class SeekNode extends PythonBuiltinNode implements MMapBaseNode {
+    abstract static class SeekNode extends PythonBuiltinNode {
         @Specialization(guards = "isNoValue(how)")
         Object seek(VirtualFrame frame, PMMap self, long dist, @SuppressWarnings("unused") PNone how,
                         @Shared("errorProfile") @Cached BranchProfile errorProfile,
@@ -580,122 +556,47 @@ public class MMapBuiltins extends PythonBuiltins {
         Object seek(VirtualFrame frame, PMMap self, long dist, Object how,
                         @Shared("errorProfile") @Cached BranchProfile errorProfile,
                         @Shared("library") @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
-            try {
-                SeekableByteChannel channel = self.getChannel();
-                long size;
-                if (self.getLength() == 0) {
-                    size = PMMap.size(channel) - self.getOffset();
-                } else {
-                    size = self.getLength();
-                }
-                long where;
-                int ihow = lib.asSizeWithState(how, PArguments.getThreadState(frame));
-                switch (ihow) {
-                    case 0: /* relative to start */
-                        where = dist;
-                        break;
-                    case 1: /* relative to current position */
-                        where = PMMap.position(channel) + dist;
-                        break;
-                    case 2: /* relative to end */
-                        where = size + dist;
-                        break;
-                    default:
-                        errorProfile.enter();
-                        throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.UNKNOWN_S_TYPE, "seek");
-                }
-                if (where > size || where < 0) {
+            checkValid(this, self);
+            long size = self.getLength();
+            long where;
+            int ihow = lib.asSizeWithState(how, PArguments.getThreadState(frame));
+            switch (ihow) {
+                case 0: /* relative to start */
+                    where = dist;
+                    break;
+                case 1: /* relative to current position */
+                    where = self.getPosition() + dist;
+                    break;
+                case 2: /* relative to end */
+                    where = size + dist;
+                    break;
+                default:
                     errorProfile.enter();
-                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.SEEK_OUT_OF_RANGE);
-                }
-                PMMap.position(channel, where);
-                return PNone.NONE;
-            } catch (IOException e) {
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.UNKNOWN_S_TYPE, "seek");
+            }
+            if (where > size || where < 0) {
                 errorProfile.enter();
-                throw raiseOSError(frame, OSErrorEnum.EIO, e);
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.SEEK_OUT_OF_RANGE);
             }
+            self.setPosition(where);
+            return PNone.NONE;
         }
     }
 
-    @Builtin(name = "find", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 4)
-    @GenerateNodeFactory
-    @TypeSystemReference(PythonArithmeticTypes.class)
-    public abstract static class FindNode extends PythonBuiltinNode implements ByteReadingNode {
-
-        @Child private SequenceStorageNodes.GetItemNode getRightItemNode;
-
-        public abstract long execute(VirtualFrame frame, PMMap bytes, Object sub, Object starting, Object ending);
-
-        @Specialization
-        long find(VirtualFrame frame, PMMap primary, PBytesLike sub, Object starting, Object ending,
-                        @Shared("castLong") @Cached CastToJavaLongLossyNode castLong,
-                        @SuppressWarnings("unused") @Cached PRaiseNode raise,
-                        @Cached("createValueError(raise)") ReadByteFromChannelNode readByteNode) {
-            try {
-                SeekableByteChannel channel = primary.getChannel();
-                long len1 = PMMap.size(channel);
-
-                SequenceStorage needle = sub.getSequenceStorage();
-                int len2 = needle.length();
-
-                long s = castToLong(castLong, starting, 0);
-                long e = castToLong(castLong, ending, len1);
+    abstract static class FindBaseNode extends PythonBuiltinNode {
 
-                long start = s < 0 ? s + len1 : s;
-                long end = e < 0 ? e + len1 : e;
-
-                if (start >= len1 || len1 < len2) {
-                    return -1;
-                } else if (end > len1) {
-                    end = len1;
-                }
-
-                // TODO implement a more efficient algorithm
-                outer: for (long i = start; i < end; i++) {
-                    // TODO(fa) don't seek but use circular buffer
-                    PMMap.position(channel, i);
-                    for (int j = 0; j < len2; j++) {
-                        int hb = readByteNode.execute(channel);
-                        int nb = getGetRightItemNode().executeInt(frame, needle, j);
-                        if (nb != hb || i + j >= end) {
-                            continue outer;
-                        }
-                    }
-                    return i;
-                }
-                return -1;
-            } catch (IOException e) {
-                throw raise(PythonBuiltinClassType.OSError, e);
-            }
+        protected long[] computeRange(CastToJavaLongLossyNode castLong, PMMap self, Object starting, Object ending) {
+            long len = self.getLength();
+            long start = adjust(castToLong(castLong, starting, self.getPosition()), len);
+            long end = adjust(castToLong(castLong, ending, len), len);
+            return new long[]{start, end};
         }
 
-        @Specialization
-        long find(PMMap primary, int sub, Object starting, @SuppressWarnings("unused") Object ending,
-                        @Shared("castLong") @Cached CastToJavaLongLossyNode castLong,
-                        @SuppressWarnings("unused") @Cached PRaiseNode raise,
-                        @Cached("createValueError(raise)") ReadByteFromChannelNode readByteNode) {
-            try {
-                SeekableByteChannel channel = primary.getChannel();
-                long len1 = PMMap.size(channel);
-
-                long s = castToLong(castLong, starting, 0);
-                long e = castToLong(castLong, ending, len1);
-
-                long start = s < 0 ? s + len1 : s;
-                long end = Math.max(e < 0 ? e + len1 : e, len1);
-
-                PMMap.position(channel, start);
-
-                for (long i = start; i < end; i++) {
-                    int hb = readByteNode.execute(channel);
-                    if (hb == sub) {
-                        return i;
-                    }
-                }
-                return -1;
-            } catch (IOException e) {
-                throw raise(PythonBuiltinClassType.OSError, e);
+        private static long adjust(long idx, long len) {
+            if (idx < 0) {
+                return Math.max(idx + len, 0);
             }
+            return Math.min(idx, len);
         }
 
         private static long castToLong(CastToJavaLongLossyNode castLong, Object obj, long defaultVal) {
@@ -705,25 +606,61 @@ public class MMapBuiltins extends PythonBuiltins {
                 return defaultVal;
             }
         }
+    }
 
-        private SequenceStorageNodes.GetItemNode getGetRightItemNode() {
-            if (getRightItemNode == null) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                getRightItemNode = insert(SequenceStorageNodes.GetItemNode.create());
-            }
-            return getRightItemNode;
+    @Builtin(name = "find", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 4)
+    @GenerateNodeFactory
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    public abstract static class FindNode extends FindBaseNode {
+
+        public abstract long execute(VirtualFrame frame, PMMap bytes, Object sub, Object starting, Object ending);
+
+        @Specialization
+        long find(VirtualFrame frame, PMMap self, PBytesLike sub, Object starting, Object ending,
+                        @Shared("castLong") @Cached CastToJavaLongLossyNode castLong,
+                        @Cached("create()") BytesNodes.ToBytesNode toBytesNode) {
+            checkValid(this, self);
+            long[] range = computeRange(castLong, self, starting, ending);
+            return self.indexOf(toBytesNode.execute(frame, sub), range[0], range[1]);
+        }
+
+        @Specialization
+        long find(PMMap self, int sub, Object starting, Object ending,
+                        @Shared("castLong") @Cached CastToJavaLongLossyNode castLong) {
+            checkValid(this, self);
+            long[] range = computeRange(castLong, self, starting, ending);
+            return self.indexOf((byte) sub, range[0], range[1]);
         }
     }
 
-    @Builtin(name = "flush", minNumOfPositionalArgs = 1)
+    @Builtin(name = "rfind", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 4)
     @GenerateNodeFactory
-    abstract static class FlushNode extends PythonUnaryBuiltinNode {
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    public abstract static class RFindNode extends FindBaseNode {
 
         @Specialization
-        static Object seek(@SuppressWarnings("unused") PMMap self) {
-            return PNone.NONE;
+        long rfind(VirtualFrame frame, PMMap self, PBytesLike sub, Object starting, Object ending,
+                        @Cached CastToJavaLongLossyNode castLong,
+                        @Cached("create()") BytesNodes.ToBytesNode toBytesNode) {
+            checkValid(this, self);
+            long[] range = computeRange(castLong, self, starting, ending);
+            return self.lastIndexOf(toBytesNode.execute(frame, sub), range[0], range[1]);
         }
-
     }
 
+    @Builtin(name = "flush", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class FlushNode extends PythonBuiltinNode {
+
+        @Specialization
+        Object flush(VirtualFrame frame, PMMap self, @SuppressWarnings("unused") Object offset, @SuppressWarnings("unused") Object size) {
+            checkValid(this, self);
+            try {
+                self.flush();
+            } catch (IOException e) {
+                throw raiseOSError(frame, OSErrorEnum.EIO, e);
+            }
+            return PNone.NONE;
+        }
+    }
 }
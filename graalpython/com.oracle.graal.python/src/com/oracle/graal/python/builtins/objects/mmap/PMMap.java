@@ -41,38 +41,63 @@
 package com.oracle.graal.python.builtins.objects.mmap;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.SeekableByteChannel;
 
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
-import com.oracle.graal.python.nodes.util.CastToJavaIntExactNode;
-import com.oracle.graal.python.nodes.util.ChannelNodes.ReadFromChannelNode;
-import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.object.Shape;
-import com.oracle.truffle.api.profiles.BranchProfile;
 
+/**
+ * A memory map backed by one or more {@link ByteBuffer} segments. File maps use
+ * {@link MappedByteBuffer}s obtained from {@link FileChannel#map}; since a single buffer is limited
+ * to {@code int} indices, maps larger than {@link #SEGMENT_SIZE} are split into consecutive
+ * segments. Anonymous maps (and files that are not backed by a {@link FileChannel}) use heap
+ * buffers.
+ */
 @ExportLibrary(PythonObjectLibrary.class)
 public final class PMMap extends PythonObject {
 
-    private final SeekableByteChannel mappedByteBuffer;
+    public static final int ACCESS_DEFAULT = 0;
+    public static final int ACCESS_READ = 1;
+    public static final int ACCESS_WRITE = 2;
+    public static final int ACCESS_COPY = 3;
+
+    private static final int SEGMENT_SHIFT = 30;
+    public static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * Only set if the segments are a heap copy of a channel that could not be mapped and the
+     * changes need to be written back on {@code flush} and {@code close}.
+     */
+    private final SeekableByteChannel writeBackChannel;
+    private final ByteBuffer[] segments;
     private final long length;
     private final long offset;
+    private final int access;
+
+    private long pos;
+    private boolean closed;
 
-    public PMMap(Object pythonClass, Shape instanceShape, SeekableByteChannel mappedByteBuffer, long length, long offset) {
+    public PMMap(Object pythonClass, Shape instanceShape, SeekableByteChannel writeBackChannel, ByteBuffer[] segments, long length, long offset, int access) {
         super(pythonClass, instanceShape);
-        this.mappedByteBuffer = mappedByteBuffer;
+        this.writeBackChannel = writeBackChannel;
+        this.segments = segments;
         this.length = length;
         this.offset = offset;
-    }
-
-    public SeekableByteChannel getChannel() {
-        return mappedByteBuffer;
+        this.access = access;
     }
 
     public long getLength() {
@@ -83,6 +108,190 @@ public final class PMMap extends PythonObject {
         return offset;
     }
 
+    public long getPosition() {
+        return pos;
+    }
+
+    public void setPosition(long pos) {
+        assert 0 <= pos && pos <= length;
+        this.pos = pos;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public boolean isReadonly() {
+        return access == ACCESS_READ;
+    }
+
+    public byte getByte(long idx) {
+        assert 0 <= idx && idx < length;
+        return segments[(int) (idx >>> SEGMENT_SHIFT)].get((int) (idx & SEGMENT_MASK));
+    }
+
+    public void putByte(long idx, byte b) {
+        assert 0 <= idx && idx < length;
+        segments[(int) (idx >>> SEGMENT_SHIFT)].put((int) (idx & SEGMENT_MASK), b);
+    }
+
+    /**
+     * Copies {@code len} bytes starting at map index {@code start} into {@code dst}.
+     */
+    @TruffleBoundary(allowInlining = true)
+    public void readBytes(long start, byte[] dst, int dstOffset, int len) {
+        assert 0 <= start && start + len <= length;
+        long cur = start;
+        int done = 0;
+        while (done < len) {
+            int segOffset = (int) (cur & SEGMENT_MASK);
+            int n = Math.min(len - done, SEGMENT_SIZE - segOffset);
+            ByteBuffer view = segments[(int) (cur >>> SEGMENT_SHIFT)].duplicate();
+            view.position(segOffset);
+            view.get(dst, dstOffset + done, n);
+            done += n;
+            cur += n;
+        }
+    }
+
+    /**
+     * Copies {@code len} bytes from {@code src} to the map starting at map index {@code start}.
+     */
+    @TruffleBoundary(allowInlining = true)
+    public void writeBytes(long start, byte[] src, int srcOffset, int len) {
+        assert 0 <= start && start + len <= length;
+        long cur = start;
+        int done = 0;
+        while (done < len) {
+            int segOffset = (int) (cur & SEGMENT_MASK);
+            int n = Math.min(len - done, SEGMENT_SIZE - segOffset);
+            ByteBuffer view = segments[(int) (cur >>> SEGMENT_SHIFT)].duplicate();
+            view.position(segOffset);
+            view.put(src, srcOffset + done, n);
+            done += n;
+            cur += n;
+        }
+    }
+
+    public byte[] getBytes(long start, int len) {
+        byte[] result = new byte[len];
+        readBytes(start, result, 0, len);
+        return result;
+    }
+
+    /**
+     * Returns a {@link ByteBuffer} sharing the mapped memory of the region
+     * {@code [start, start + len)} or {@code null} if the region crosses a segment boundary and
+     * therefore cannot be represented by a single buffer.
+     */
+    @TruffleBoundary
+    public ByteBuffer getBufferView(long start, int len) {
+        assert 0 <= start && start + len <= length;
+        int segIdx = (int) (start >>> SEGMENT_SHIFT);
+        int segOffset = (int) (start & SEGMENT_MASK);
+        if (segOffset + len > SEGMENT_SIZE) {
+            return null;
+        }
+        ByteBuffer view = segments[segIdx].duplicate();
+        view.position(segOffset);
+        view.limit(segOffset + len);
+        return view.slice();
+    }
+
+    /**
+     * Searches for {@code needle} in the region {@code [start, end)} and returns the absolute index
+     * of the first occurrence or {@code -1}.
+     */
+    @TruffleBoundary(allowInlining = true)
+    public long indexOf(byte[] needle, long start, long end) {
+        int n = needle.length;
+        if (n == 0) {
+            return start <= end ? start : -1;
+        }
+        byte first = needle[0];
+        outer: for (long i = start; i <= end - n; i++) {
+            if (getByte(i) != first) {
+                continue;
+            }
+            for (int j = 1; j < n; j++) {
+                if (getByte(i + j) != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Like {@link #indexOf(byte[], long, long)} but searches backwards.
+     */
+    @TruffleBoundary(allowInlining = true)
+    public long lastIndexOf(byte[] needle, long start, long end) {
+        int n = needle.length;
+        outer: for (long i = end - n; i >= start; i--) {
+            for (int j = 0; j < n; j++) {
+                if (getByte(i + j) != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    public long indexOf(byte b, long start, long end) {
+        for (long i = start; i < end; i++) {
+            if (getByte(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @TruffleBoundary
+    public void flush() throws IOException {
+        if (closed || access == ACCESS_READ || access == ACCESS_COPY) {
+            return;
+        }
+        if (writeBackChannel != null) {
+            writeBackChannel.position(offset);
+            for (ByteBuffer segment : segments) {
+                ByteBuffer src = segment.duplicate();
+                src.clear();
+                while (src.hasRemaining()) {
+                    writeBackChannel.write(src);
+                }
+            }
+        } else {
+            for (ByteBuffer segment : segments) {
+                if (segment instanceof MappedByteBuffer) {
+                    ((MappedByteBuffer) segment).force();
+                }
+            }
+        }
+    }
+
+    @TruffleBoundary
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+            if (writeBackChannel != null) {
+                writeBackChannel.close();
+            }
+        } finally {
+            closed = true;
+            // drop the references such that the mapping can be released by the GC
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = null;
+            }
+        }
+    }
+
     @ExportMessage
     @SuppressWarnings("static-method")
     static boolean isBuffer(@SuppressWarnings("unused") PMMap self) {
@@ -91,41 +300,87 @@ public final class PMMap extends PythonObject {
 
     @ExportMessage
     int getBufferLength(
-                    @Shared("castToIntNode") @Cached CastToJavaIntExactNode castToIntNode) {
-        return castToIntNode.execute(length);
+                    @Shared("raise") @Cached PRaiseNode raiseNode) {
+        checkValid(raiseNode);
+        return getExportedLength(raiseNode);
     }
 
+    /**
+     * Copies the whole map. Consumers that can work on a {@link ByteBuffer} should prefer
+     * {@link #getBufferView} and only fall back to this for maps that span several segments.
+     */
     @ExportMessage
     byte[] getBufferBytes(
-                    @Shared("castToIntNode") @Cached CastToJavaIntExactNode castToIntNode,
-                    @Cached BranchProfile gotException,
-                    @Cached PRaiseNode raiseNode) {
+                    @Shared("raise") @Cached PRaiseNode raiseNode) {
+        checkValid(raiseNode);
+        return getBytes(0, getExportedLength(raiseNode));
+    }
 
-        try {
-            int len = castToIntNode.execute(length);
-
-            // save current position
-            // TODO: restore in case of failure
-            @SuppressWarnings("unused")
-            long oldPos = PMMap.position(mappedByteBuffer);
-
-            PMMap.position(mappedByteBuffer, 0);
-            ByteSequenceStorage s = ReadFromChannelNode.read(mappedByteBuffer, len, gotException, raiseNode);
-            return s.getInternalByteArray();
-        } catch (IOException e) {
-            // TODO(fa) how to handle?
-            return null;
+    /**
+     * The buffer protocol uses {@code int} lengths, so maps of 2 GiB or more cannot be exported.
+     */
+    private int getExportedLength(PRaiseNode raiseNode) {
+        if (length > Integer.MAX_VALUE) {
+            throw raiseNode.raise(PythonBuiltinClassType.BufferError, ErrorMessages.MMAP_TOO_LARGE_TO_EXPORT, length);
         }
+        return (int) length;
     }
 
+    private void checkValid(PRaiseNode raiseNode) {
+        if (closed) {
+            throw raiseNode.raise(PythonBuiltinClassType.ValueError, ErrorMessages.MMAP_CLOSED_OR_INVALID);
+        }
+    }
+
+    /**
+     * Allocates zero-filled heap segments for an anonymous map of the given length.
+     */
     @TruffleBoundary
-    static long position(SeekableByteChannel ch) throws IOException {
-        return ch.position();
+    public static ByteBuffer[] allocateAnonymous(long length) {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(length)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocate(segmentLength(length, i));
+        }
+        return segments;
     }
 
+    /**
+     * Maps the region {@code [offset, offset + length)} of the given channel. If the channel is
+     * not a {@link FileChannel}, the region is read into heap segments instead.
+     */
     @TruffleBoundary
-    static void position(SeekableByteChannel ch, long offset) throws IOException {
-        ch.position(offset);
+    public static ByteBuffer[] map(SeekableByteChannel channel, long offset, long length, int access) throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(length)];
+        if (channel instanceof FileChannel) {
+            FileChannel fc = (FileChannel) channel;
+            MapMode mode;
+            switch (access) {
+                case ACCESS_READ:
+                    mode = MapMode.READ_ONLY;
+                    break;
+                case ACCESS_COPY:
+                    mode = MapMode.PRIVATE;
+                    break;
+                default:
+                    mode = MapMode.READ_WRITE;
+                    break;
+            }
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = fc.map(mode, offset + ((long) i << SEGMENT_SHIFT), segmentLength(length, i));
+            }
+        } else {
+            channel.position(offset);
+            for (int i = 0; i < segments.length; i++) {
+                ByteBuffer segment = ByteBuffer.allocate(segmentLength(length, i));
+                while (segment.hasRemaining()) {
+                    if (channel.read(segment) < 0) {
+                        break;
+                    }
+                }
+                segments[i] = segment;
+            }
+        }
+        return segments;
     }
 
     @TruffleBoundary
@@ -133,4 +388,11 @@ public final class PMMap extends PythonObject {
         return ch.size();
     }
 
+    private static int segmentCount(long length) {
+        return (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    }
+
+    private static int segmentLength(long length, int segIdx) {
+        return (int) Math.min(SEGMENT_SIZE, length - ((long) segIdx << SEGMENT_SHIFT));
+    }
 }
@@ -68,6 +68,7 @@ import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.object.ObjectBuiltinsFactory.GetAttributeNodeFactory;
 import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.graal.python.builtins.objects.type.PythonManagedClass;
 import com.oracle.graal.python.builtins.objects.type.TypeNodes.CheckCompatibleForAssigmentNode;
 import com.oracle.graal.python.builtins.objects.type.TypeNodesFactory.CheckCompatibleForAssigmentNodeGen;
 import com.oracle.graal.python.nodes.BuiltinNames;
@@ -159,6 +160,10 @@ public class ObjectBuiltins extends PythonBuiltins {
                 errorSelfBranch.enter();
                 throw raise(TypeError, ERROR_MESSAGE);
             }
+            if (self instanceof PythonSlotsObject != ((PythonManagedClass) value).hasSlotsLayout()) {
+                errorSelfBranch.enter();
+                throw raise(TypeError, ErrorMessages.CLASS_ASIGMENT_S_LAYOUT_DIFFERS_FROM_S, ((PythonManagedClass) value).getName(), ((PythonManagedClass) lazyClass).getName());
+            }
 
             getCheckCompatibleForAssigmentNode().execute(frame, lazyClass, value);
 
@@ -565,7 +570,11 @@ public class ObjectBuiltins extends PythonBuiltins {
             return exactBuiltinInstanceProfile.profileIsOtherBuiltinObject(self, PythonBuiltinClassType.PythonModule);
         }
 
-        @Specialization(guards = {"!isBuiltinObjectExact(self)", "!isClass(self, iLib)", "!isExactObjectInstance(self)", "isNoValue(none)"})
+        protected static boolean hasNoDict(PythonObject self) {
+            return self instanceof PythonSlotsObject;
+        }
+
+        @Specialization(guards = {"!isBuiltinObjectExact(self)", "!isClass(self, iLib)", "!isExactObjectInstance(self)", "!hasNoDict(self)", "isNoValue(none)"})
         Object dict(PythonObject self, @SuppressWarnings("unused") PNone none,
                         @CachedLibrary(limit = "3") PythonObjectLibrary lib,
                         @SuppressWarnings("unused") @CachedLibrary(limit = "3") InteropLibrary iLib) {
@@ -582,7 +591,7 @@ public class ObjectBuiltins extends PythonBuiltins {
             return dict;
         }
 
-        @Specialization(guards = {"!isBuiltinObjectExact(self)", "!isClass(self, iLib)", "!isExactObjectInstance(self)"})
+        @Specialization(guards = {"!isBuiltinObjectExact(self)", "!isClass(self, iLib)", "!isExactObjectInstance(self)", "!hasNoDict(self)"})
         Object dict(PythonObject self, PDict dict,
                         @CachedLibrary(limit = "3") PythonObjectLibrary lib,
                         @SuppressWarnings("unused") @CachedLibrary(limit = "3") InteropLibrary iLib) {
@@ -104,7 +104,25 @@ public class PythonObject extends PythonAbstractObject {
             return klass;
         }
 
-        @Specialization(replaces = "getConstantClass")
+        public static PythonBuiltinClassType getInitialBuiltinClassType(PythonObject self) {
+            Object klass = self.initialPythonClass;
+            return klass instanceof PythonBuiltinClassType ? (PythonBuiltinClassType) klass : null;
+        }
+
+        /**
+         * Built-in class types are the same in every context, so this cache remains valid when
+         * multiple contexts share the code.
+         */
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"klass != null", "self.getShape() == cachedShape", "hasInitialClass(self, dylib)"}, limit = "1")
+        public static Object getConstantBuiltinClassType(PythonObject self,
+                        @Shared("dylib") @CachedLibrary(limit = "4") DynamicObjectLibrary dylib,
+                        @Cached("self.getShape()") Shape cachedShape,
+                        @Cached("getInitialBuiltinClassType(self)") PythonBuiltinClassType klass) {
+            return klass;
+        }
+
+        @Specialization(replaces = {"getConstantClass", "getConstantBuiltinClassType"})
         public static Object getPythonClass(PythonObject self,
                         @Shared("dylib") @CachedLibrary(limit = "4") DynamicObjectLibrary dylib) {
             return dylib.getOrDefault(self, CLASS, self.initialPythonClass);
@@ -185,6 +203,10 @@ public class PythonObject extends PythonAbstractObject {
 
     private static final Shape emptyShape = Shape.newBuilder().allowImplicitCastIntToDouble(false).allowImplicitCastIntToLong(true).shapeFlags(0).propertyAssumptions(true).build();
 
+    protected static Shape createEmptyShape(Class<? extends PythonObject> layout) {
+        return Shape.newBuilder().layout(layout).allowImplicitCastIntToDouble(false).allowImplicitCastIntToLong(true).shapeFlags(0).propertyAssumptions(true).build();
+    }
+
     public static Shape freshShape(Object klass) {
         return Shape.newBuilder(emptyShape).addConstantProperty(CLASS, klass, 0).build();
     }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.object;
+
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * Instances of classes that declare {@code __slots__} (without {@code __dict__}) all the way up to
+ * {@code object}. Such instances have no {@code __dict__}, only the hidden slot keys are ever stored
+ * in them, so their shapes use a layout with enough in-object fields to hold the slot values
+ * without allocating extension arrays. The layout is chosen from the number of slots when the
+ * class is created.
+ */
+public class PythonSlotsObject extends PythonObject {
+    private static final Shape EMPTY_SHAPE = createEmptyShape(PythonSlotsObject.class);
+    private static final Shape EMPTY_SHAPE_2 = createEmptyShape(PythonSlotsObject2.class);
+    private static final Shape EMPTY_SHAPE_4 = createEmptyShape(PythonSlotsObject4.class);
+    private static final Shape EMPTY_SHAPE_8 = createEmptyShape(PythonSlotsObject8.class);
+
+    protected PythonSlotsObject(Object pythonClass, Shape instanceShape) {
+        super(pythonClass, instanceShape);
+    }
+
+    public static PythonSlotsObject create(Object pythonClass, Shape instanceShape, int slotCount) {
+        if (slotCount == 0) {
+            return new PythonSlotsObject(pythonClass, instanceShape);
+        } else if (slotCount <= 2) {
+            return new PythonSlotsObject2(pythonClass, instanceShape);
+        } else if (slotCount <= 4) {
+            return new PythonSlotsObject4(pythonClass, instanceShape);
+        } else {
+            return new PythonSlotsObject8(pythonClass, instanceShape);
+        }
+    }
+
+    public static Shape freshShape(int slotCount) {
+        if (slotCount == 0) {
+            return EMPTY_SHAPE;
+        } else if (slotCount <= 2) {
+            return EMPTY_SHAPE_2;
+        } else if (slotCount <= 4) {
+            return EMPTY_SHAPE_4;
+        } else {
+            return EMPTY_SHAPE_8;
+        }
+    }
+
+    public static Shape freshShape(Object klass, int slotCount) {
+        return Shape.newBuilder(freshShape(slotCount)).addConstantProperty(CLASS, klass, 0).build();
+    }
+
+    /*
+     * Each layout has one object and one primitive field per slot, so that int and float values
+     * stored in slots don't need to be boxed.
+     */
+
+    static class PythonSlotsObject2 extends PythonSlotsObject {
+        @DynamicField private Object o0;
+        @DynamicField private Object o1;
+        @DynamicField private long p0;
+        @DynamicField private long p1;
+
+        PythonSlotsObject2(Object pythonClass, Shape instanceShape) {
+            super(pythonClass, instanceShape);
+        }
+    }
+
+    static class PythonSlotsObject4 extends PythonSlotsObject2 {
+        @DynamicField private Object o2;
+        @DynamicField private Object o3;
+        @DynamicField private long p2;
+        @DynamicField private long p3;
+
+        PythonSlotsObject4(Object pythonClass, Shape instanceShape) {
+            super(pythonClass, instanceShape);
+        }
+    }
+
+    static final class PythonSlotsObject8 extends PythonSlotsObject4 {
+        @DynamicField private Object o4;
+        @DynamicField private Object o5;
+        @DynamicField private Object o6;
+        @DynamicField private Object o7;
+        @DynamicField private long p4;
+        @DynamicField private long p5;
+        @DynamicField private long p6;
+        @DynamicField private long p7;
+
+        PythonSlotsObject8(Object pythonClass, Shape instanceShape) {
+            super(pythonClass, instanceShape);
+        }
+    }
+}
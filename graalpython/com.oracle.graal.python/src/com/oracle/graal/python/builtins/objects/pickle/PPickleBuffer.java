@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.pickle;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.exception.PythonErrorType;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.library.ExportLibrary;
+import com.oracle.truffle.api.library.ExportMessage;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code _pickle.PickleBuffer}: a wrapper around a buffer-exporting object that tells a protocol
+ * 5 pickler to transfer the data out-of-band. It references the exporting object itself, so that
+ * neither the pickler nor the unpickler ever copies the underlying storage.
+ */
+@ExportLibrary(PythonObjectLibrary.class)
+public final class PPickleBuffer extends PythonBuiltinObject {
+    private Object owner;
+    private final boolean readonly;
+
+    public PPickleBuffer(Object cls, Shape instanceShape, Object owner, boolean readonly) {
+        super(cls, instanceShape);
+        this.owner = owner;
+        this.readonly = readonly;
+    }
+
+    /** Returns the exporting object, or {@code null} if the buffer was released. */
+    public Object getOwner() {
+        return owner;
+    }
+
+    public boolean isReadonly() {
+        return readonly;
+    }
+
+    public void release() {
+        owner = null;
+    }
+
+    @ExportMessage
+    @SuppressWarnings("static-method")
+    boolean isBuffer() {
+        return true;
+    }
+
+    @ExportMessage
+    int getBufferLength(
+                    @CachedLibrary(limit = "2") PythonObjectLibrary lib,
+                    @Cached PRaiseNode raiseNode) throws UnsupportedMessageException {
+        return lib.getBufferLength(checkReleased(raiseNode));
+    }
+
+    @ExportMessage
+    byte[] getBufferBytes(
+                    @CachedLibrary(limit = "2") PythonObjectLibrary lib,
+                    @Cached PRaiseNode raiseNode) throws UnsupportedMessageException {
+        return lib.getBufferBytes(checkReleased(raiseNode));
+    }
+
+    Object checkReleased(PRaiseNode raiseNode) {
+        if (owner == null) {
+            throw raiseNode.raise(PythonErrorType.ValueError, ErrorMessages.OPERATION_FORBIDDEN_ON_RELEASED_PICKLEBUFFER);
+        }
+        return owner;
+    }
+}
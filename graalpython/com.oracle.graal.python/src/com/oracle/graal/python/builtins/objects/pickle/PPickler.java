@@ -0,0 +1,1402 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.pickle;
+
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.ADDITEMS;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.APPEND;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.APPENDS;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BATCHSIZE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BINBYTES;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BINFLOAT;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BINGET;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BININT;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BININT1;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BININT2;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BINPERSID;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BINPUT;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BINUNICODE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BUILD;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.BYTEARRAY8;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.EMPTY_DICT;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.EMPTY_LIST;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.EMPTY_SET;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.EMPTY_TUPLE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.EXT1;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.EXT2;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.EXT4;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.FLOAT;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.FRAME;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.FRAME_HEADER_SIZE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.FRAME_SIZE_MIN;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.FRAME_SIZE_TARGET;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.FROZENSET;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.GET;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.GLOBAL;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.INT;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.LIST;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.LONG;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.LONG1;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.LONG4;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.LONG_BINGET;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.LONG_BINPUT;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.MARK;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.MEMOIZE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.NEWFALSE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.NEWOBJ;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.NEWOBJ_EX;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.NEWTRUE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.NEXT_BUFFER;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.PERSID;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.POP;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.POP_MARK;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.PROTO;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.PUT;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.READONLY_BUFFER;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.REDUCE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.SETITEM;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.SETITEMS;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.SHORT_BINBYTES;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.SHORT_BINUNICODE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.STACK_GLOBAL;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.STOP;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.TUPLE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.TUPLE1;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.TUPLE2;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.TUPLE3;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.UNICODE;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.asExactString;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.call;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getCore;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getDeepAttribute;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getDottedPath;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getIterator;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getInternalBytes;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getModuleAttribute;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getPythonClass;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getTupleItems;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.importModule;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.isBuiltinType;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.isSameType;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.isTrue;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.isType;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.lookupAttribute;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.next;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.raise;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.repr;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PEllipsis;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.floats.FloatBuiltins;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.set.PBaseSet;
+import com.oracle.graal.python.builtins.objects.set.PFrozenSet;
+import com.oracle.graal.python.builtins.objects.set.PSet;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code _pickle.Pickler}. Serializes an object graph into a single growable byte array,
+ * following {@code Modules/_pickle.c} opcode for opcode, so that the output is byte-identical to
+ * CPython's for all protocols from 0 to 5. The memo is keyed by object identity. Payloads of at
+ * least {@link PickleUtils#FRAME_SIZE_TARGET} bytes are handed to {@code file.write} as they are,
+ * without being copied into the output buffer first.
+ */
+public final class PPickler extends PythonBuiltinObject {
+    private static final int WRITE_BUF_SIZE = 4096;
+
+    private int protocol = -1;
+    private Object writeFunc;
+    private Object bufferCallback;
+    private boolean fixImports;
+
+    private Object persistentId;
+    private Object reducerOverride;
+    private Object dispatchTable;
+
+    private final IdentityHashMap<Object, Integer> memo = new IdentityHashMap<>();
+
+    private byte[] out;
+    private int len;
+    private int frameStart = -1;
+    private boolean framing;
+
+    // module state, looked up on first use
+    private PDict copyregDispatchTable;
+    private PDict extensionRegistry;
+    private PDict nameMapping3To2;
+    private PDict importMapping3To2;
+
+    public PPickler(Object clazz, Shape instanceShape) {
+        super(clazz, instanceShape);
+    }
+
+    /**
+     * Initializes the pickler; {@code writeMethod} is the bound {@code write} method of the file or
+     * {@code null} if the result is returned as {@code bytes}.
+     */
+    public void init(int protocolValue, Object writeMethod, Object bufferCallbackValue, boolean fixImportsValue) {
+        this.protocol = protocolValue;
+        this.writeFunc = writeMethod;
+        this.bufferCallback = bufferCallbackValue == PNone.NONE ? null : bufferCallbackValue;
+        this.fixImports = fixImportsValue && protocolValue < 3;
+        this.memo.clear();
+    }
+
+    public boolean isInitialized() {
+        return protocol >= 0;
+    }
+
+    /** Sets the optional hooks; {@code null} means that the pickler does not define the hook. */
+    public void setHooks(Object persistentIdValue, Object reducerOverrideValue, Object dispatchTableValue) {
+        this.persistentId = persistentIdValue;
+        this.reducerOverride = reducerOverrideValue;
+        this.dispatchTable = dispatchTableValue;
+    }
+
+    public void clearMemo() {
+        memo.clear();
+    }
+
+    /**
+     * Pickles {@code obj}. Returns the pickle as {@code bytes} if there is no file, and
+     * {@link PNone#NONE} otherwise.
+     */
+    @TruffleBoundary
+    public Object dump(Object obj) {
+        out = new byte[WRITE_BUF_SIZE];
+        len = 0;
+        frameStart = -1;
+        try {
+            if (protocol >= 2) {
+                write(PROTO);
+                write((byte) protocol);
+                if (protocol >= 4) {
+                    framing = true;
+                }
+            }
+            save(obj, false);
+            write(STOP);
+            commitFrame();
+        } finally {
+            framing = false;
+        }
+        if (writeFunc != null) {
+            flushToFile();
+            out = null;
+            return PNone.NONE;
+        }
+        byte[] result = len >= out.length / 2 ? out : Arrays.copyOf(out, len);
+        PBytes bytes = PythonObjectFactory.getUncached().createBytes(new ByteSequenceStorage(result, len));
+        out = null;
+        return bytes;
+    }
+
+    // output buffer
+
+    private void reserve(int n) {
+        if (framing && frameStart == -1) {
+            ensureCapacity(n + FRAME_HEADER_SIZE);
+            frameStart = len;
+            len += FRAME_HEADER_SIZE;
+        } else {
+            ensureCapacity(n);
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (len + n > out.length) {
+            out = Arrays.copyOf(out, Math.max(out.length * 2, len + n));
+        }
+    }
+
+    private void write(byte b) {
+        reserve(1);
+        out[len++] = b;
+    }
+
+    private void write(byte opcode, byte arg) {
+        reserve(2);
+        out[len++] = opcode;
+        out[len++] = arg;
+    }
+
+    private void write(byte[] data, int size) {
+        reserve(size);
+        System.arraycopy(data, 0, out, len, size);
+        len += size;
+    }
+
+    /** Writes an opcode followed by an unsigned little-endian value of {@code n} bytes. */
+    private void writeOpcodeLE(byte opcode, long value, int n) {
+        reserve(1 + n);
+        out[len++] = opcode;
+        for (int i = 0; i < n; i++) {
+            out[len++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    /** Writes an opcode followed by a text argument and a newline, as protocol 0 does. */
+    private void writeText(byte opcode, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        reserve(bytes.length + 2);
+        out[len++] = opcode;
+        System.arraycopy(bytes, 0, out, len, bytes.length);
+        len += bytes.length;
+        out[len++] = '\n';
+    }
+
+    private void commitFrame() {
+        if (!framing || frameStart == -1) {
+            return;
+        }
+        int frameLen = len - frameStart - FRAME_HEADER_SIZE;
+        if (frameLen >= FRAME_SIZE_MIN) {
+            out[frameStart] = FRAME;
+            for (int i = 0; i < 8; i++) {
+                out[frameStart + 1 + i] = (byte) ((long) frameLen >>> (8 * i));
+            }
+        } else {
+            // too small for a frame: drop the reserved header
+            System.arraycopy(out, frameStart + FRAME_HEADER_SIZE, out, frameStart, frameLen);
+            len -= FRAME_HEADER_SIZE;
+        }
+        frameStart = -1;
+    }
+
+    private void opcodeBoundary() {
+        if (!framing || frameStart == -1) {
+            return;
+        }
+        if (len - frameStart - FRAME_HEADER_SIZE >= FRAME_SIZE_TARGET) {
+            commitFrame();
+            if (writeFunc != null) {
+                flushToFile();
+            }
+        }
+    }
+
+    /** Passes the buffered output to {@code file.write} and starts a new buffer. */
+    private void flushToFile() {
+        PBytes chunk = PythonObjectFactory.getUncached().createBytes(new ByteSequenceStorage(out, len));
+        out = new byte[WRITE_BUF_SIZE];
+        len = 0;
+        call(writeFunc, chunk);
+    }
+
+    /**
+     * Writes the header of a {@code bytes}, {@code bytearray} or {@code str} opcode followed by its
+     * payload. Large payloads end the current frame and, if there is a file, are passed to
+     * {@code file.write} directly; {@code payload} is the object to pass, or {@code null} if
+     * {@code data} may be wrapped into a new {@code bytes} object.
+     */
+    private void writeBytes(byte[] header, int headerSize, byte[] data, int size, Object payload) {
+        boolean wasFraming = framing;
+        boolean bypassBuffer = size >= FRAME_SIZE_TARGET;
+        if (bypassBuffer) {
+            commitFrame();
+            framing = false;
+        }
+        write(header, headerSize);
+        if (bypassBuffer && writeFunc != null) {
+            flushToFile();
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            call(writeFunc, payload != null ? payload : factory.createBytes(new ByteSequenceStorage(data, size)));
+        } else {
+            write(data, size);
+        }
+        framing = wasFraming;
+    }
+
+    private static byte[] sizeHeader(byte opcode, long size, int n) {
+        byte[] header = new byte[1 + n];
+        header[0] = opcode;
+        for (int i = 0; i < n; i++) {
+            header[1 + i] = (byte) (size >>> (8 * i));
+        }
+        return header;
+    }
+
+    // memo
+
+    private void memoPut(Object obj) {
+        int idx = memo.size();
+        memo.put(obj, idx);
+        if (protocol >= 4) {
+            write(MEMOIZE);
+        } else if (protocol >= 1) {
+            if (idx < 256) {
+                write(BINPUT, (byte) idx);
+            } else {
+                writeOpcodeLE(LONG_BINPUT, idx, 4);
+            }
+        } else {
+            writeText(PUT, Integer.toString(idx));
+        }
+    }
+
+    private void memoGet(int idx) {
+        if (protocol >= 1) {
+            if (idx < 256) {
+                write(BINGET, (byte) idx);
+            } else {
+                writeOpcodeLE(LONG_BINGET, idx, 4);
+            }
+        } else {
+            writeText(GET, Integer.toString(idx));
+        }
+    }
+
+    // save
+
+    private void save(Object object, boolean persSave) {
+        Object obj = object instanceof PythonBuiltinClassType ? getCore().lookupType((PythonBuiltinClassType) object) : object;
+        opcodeBoundary();
+        if (!persSave && persistentId != null && savePers(obj)) {
+            return;
+        }
+
+        if (obj == PNone.NONE) {
+            write(PickleUtils.NONE);
+            return;
+        } else if (obj instanceof Boolean) {
+            saveBool((boolean) obj);
+            return;
+        } else if (obj instanceof Integer || obj instanceof Long) {
+            saveLong(((Number) obj).longValue());
+            return;
+        } else if (obj instanceof Double) {
+            saveFloat((double) obj);
+            return;
+        }
+
+        Object clazz = getPythonClass(obj);
+        if (obj instanceof PInt && isBuiltinType(clazz, PythonBuiltinClassType.PInt)) {
+            saveBigInteger(((PInt) obj).getValue());
+            return;
+        } else if (obj instanceof PFloat && isBuiltinType(clazz, PythonBuiltinClassType.PFloat)) {
+            saveFloat(((PFloat) obj).getValue());
+            return;
+        }
+
+        Integer memoIdx = memo.get(obj);
+        if (memoIdx != null) {
+            memoGet(memoIdx);
+            return;
+        }
+
+        if (obj instanceof PBytes && isBuiltinType(clazz, PythonBuiltinClassType.PBytes)) {
+            saveBytes((PBytes) obj);
+            return;
+        } else if (obj instanceof String || obj instanceof PString && isBuiltinType(clazz, PythonBuiltinClassType.PString)) {
+            saveStr(obj, CastToJavaStringNode.getUncached().execute(obj));
+            return;
+        }
+
+        if (obj instanceof PDict && isBuiltinType(clazz, PythonBuiltinClassType.PDict)) {
+            saveDict((PDict) obj);
+            return;
+        } else if (obj instanceof PSet && isBuiltinType(clazz, PythonBuiltinClassType.PSet)) {
+            saveSet((PSet) obj);
+            return;
+        } else if (obj instanceof PFrozenSet && isBuiltinType(clazz, PythonBuiltinClassType.PFrozenSet)) {
+            saveFrozenSet((PFrozenSet) obj);
+            return;
+        } else if (obj instanceof PList && isBuiltinType(clazz, PythonBuiltinClassType.PList)) {
+            saveList((PList) obj);
+            return;
+        } else if (obj instanceof PTuple && isBuiltinType(clazz, PythonBuiltinClassType.PTuple)) {
+            saveTuple((PTuple) obj);
+            return;
+        } else if (obj instanceof PByteArray && isBuiltinType(clazz, PythonBuiltinClassType.PByteArray)) {
+            saveByteArray((PByteArray) obj);
+            return;
+        } else if (obj instanceof PPickleBuffer) {
+            savePickleBuffer((PPickleBuffer) obj);
+            return;
+        }
+
+        Object reduceValue = null;
+        if (reducerOverride != null) {
+            reduceValue = call(reducerOverride, obj);
+            if (reduceValue == PNotImplemented.NOT_IMPLEMENTED) {
+                reduceValue = null;
+            }
+        }
+        if (reduceValue == null) {
+            if (isBuiltinType(clazz, PythonBuiltinClassType.PythonClass)) {
+                saveType(obj);
+                return;
+            } else if (isBuiltinType(clazz, PythonBuiltinClassType.PFunction)) {
+                saveGlobal(obj, null);
+                return;
+            } else if (obj == PEllipsis.INSTANCE) {
+                // what 'ellipsis.__reduce__' returns in CPython
+                saveGlobal(obj, "Ellipsis");
+                return;
+            } else if (obj == PNotImplemented.NOT_IMPLEMENTED) {
+                saveGlobal(obj, "NotImplemented");
+                return;
+            }
+            Object reduceFunc = lookupDispatchTable(clazz);
+            if (reduceFunc != null) {
+                reduceValue = call(reduceFunc, obj);
+            } else if (isType(obj)) {
+                saveGlobal(obj, null);
+                return;
+            } else {
+                reduceValue = callReduce(obj);
+            }
+        }
+
+        String name = asExactString(reduceValue);
+        if (name == null && reduceValue instanceof PString) {
+            name = CastToJavaStringNode.getUncached().execute(reduceValue);
+        }
+        if (name != null) {
+            saveGlobal(obj, name);
+        } else if (reduceValue instanceof PTuple) {
+            saveReduce(getTupleItems((PTuple) reduceValue), obj);
+        } else {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.REDUCE_MUST_RETURN_STR_OR_TUPLE);
+        }
+    }
+
+    private Object lookupDispatchTable(Object clazz) {
+        if (dispatchTable == null) {
+            if (copyregDispatchTable == null) {
+                copyregDispatchTable = (PDict) getModuleAttribute("copyreg", "dispatch_table");
+            }
+            return HashingStorageLibrary.getUncached().getItem(copyregDispatchTable.getDictStorage(), clazz);
+        }
+        try {
+            return PythonObjectLibrary.getUncached().lookupAndCallSpecialMethod(dispatchTable, null, "__getitem__", clazz);
+        } catch (PException e) {
+            e.expect(PythonBuiltinClassType.KeyError, IsBuiltinClassProfile.getUncached());
+            return null;
+        }
+    }
+
+    private Object callReduce(Object obj) {
+        Object reduceEx = lookupAttribute(obj, "__reduce_ex__");
+        if (reduceEx != PNone.NO_VALUE) {
+            return call(reduceEx, protocol);
+        }
+        Object reduce = lookupAttribute(obj, "__reduce__");
+        if (reduce != PNone.NO_VALUE) {
+            return call(reduce);
+        }
+        throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_P_OBJECT_S, obj, repr(obj));
+    }
+
+    private boolean savePers(Object obj) {
+        Object pid = call(persistentId, obj);
+        if (pid == PNone.NONE) {
+            return false;
+        }
+        if (protocol >= 1) {
+            save(pid, true);
+            write(BINPERSID);
+        } else {
+            Object pidStr = PythonObjectLibrary.getUncached().lookupAndCallSpecialMethod(pid, null, "__str__");
+            String text = CastToJavaStringNode.getUncached().execute(pidStr);
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) > 0x7f) {
+                    throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.PERSISTENT_IDS_IN_PROTOCOL_0_MUST_BE_ASCII);
+                }
+            }
+            writeText(PERSID, text);
+        }
+        return true;
+    }
+
+    private void saveBool(boolean value) {
+        if (protocol >= 2) {
+            write(value ? NEWTRUE : NEWFALSE);
+        } else {
+            writeText(INT, value ? "01" : "00");
+        }
+    }
+
+    private void saveLong(long value) {
+        if (value == (int) value) {
+            if (protocol >= 1) {
+                if ((value & 0xffff_ffff_ffff_0000L) != 0) {
+                    writeOpcodeLE(BININT, value, 4);
+                } else if ((value & 0xff00L) != 0) {
+                    writeOpcodeLE(BININT2, value, 2);
+                } else {
+                    write(BININT1, (byte) value);
+                }
+            } else {
+                writeText(INT, Long.toString(value));
+            }
+        } else {
+            saveBigInteger(BigInteger.valueOf(value));
+        }
+    }
+
+    private void saveBigInteger(BigInteger value) {
+        if (value.bitLength() < 32) {
+            saveLong(value.intValue());
+        } else if (protocol >= 2) {
+            byte[] bigEndian = value.toByteArray();
+            int n = bigEndian.length;
+            if (n < 256) {
+                write(LONG1, (byte) n);
+            } else {
+                writeOpcodeLE(LONG4, n, 4);
+            }
+            reserve(n);
+            for (int i = 0; i < n; i++) {
+                out[len++] = bigEndian[n - 1 - i];
+            }
+        } else {
+            writeText(LONG, value.toString() + "L");
+        }
+    }
+
+    private void saveFloat(double value) {
+        if (protocol >= 1) {
+            long bits = Double.doubleToRawLongBits(value);
+            reserve(9);
+            out[len++] = BINFLOAT;
+            for (int i = 7; i >= 0; i--) {
+                out[len++] = (byte) (bits >>> (8 * i));
+            }
+        } else {
+            PythonCore core = getCore();
+            writeText(FLOAT, FloatBuiltins.StrNode.doRepr(core, value));
+        }
+    }
+
+    private void saveBytes(PBytes obj) {
+        SequenceStorage storage = obj.getSequenceStorage();
+        int size = storage.length();
+        byte[] data = getInternalBytes(storage);
+        if (protocol < 3) {
+            // bytes did not exist before protocol 3; pickle.py uses codecs.encode(latin1, 'latin1')
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            Object[] reduceValue;
+            if (size == 0) {
+                reduceValue = new Object[]{getCore().lookupType(PythonBuiltinClassType.PBytes), factory.createEmptyTuple()};
+            } else {
+                String latin1 = new String(data, 0, size, StandardCharsets.ISO_8859_1);
+                reduceValue = new Object[]{getModuleAttribute("codecs", "encode"), factory.createTuple(new Object[]{latin1, "latin1"})};
+            }
+            saveReduce(reduceValue, obj);
+            return;
+        }
+        saveBytesData(obj, data, size, obj);
+    }
+
+    private void saveBytesData(Object obj, byte[] data, int size, Object payload) {
+        byte[] header = size <= 0xff ? sizeHeader(SHORT_BINBYTES, size, 1) : sizeHeader(BINBYTES, size, 4);
+        writeBytes(header, header.length, data, size, payload);
+        memoPut(obj);
+    }
+
+    private void saveByteArray(PByteArray obj) {
+        SequenceStorage storage = obj.getSequenceStorage();
+        int size = storage.length();
+        byte[] data = getInternalBytes(storage);
+        if (protocol < 5) {
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            Object[] args = size == 0 ? new Object[0] : new Object[]{factory.createBytes(Arrays.copyOf(data, size))};
+            saveReduce(new Object[]{getCore().lookupType(PythonBuiltinClassType.PByteArray), factory.createTuple(args)}, obj);
+            return;
+        }
+        saveByteArrayData(obj, data, size, obj);
+    }
+
+    private void saveByteArrayData(Object obj, byte[] data, int size, Object payload) {
+        byte[] header = sizeHeader(BYTEARRAY8, size, 8);
+        writeBytes(header, header.length, data, size, payload);
+        memoPut(obj);
+    }
+
+    private void savePickleBuffer(PPickleBuffer obj) {
+        if (protocol < 5) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.PICKLEBUFFER_NEEDS_PROTOCOL_5);
+        }
+        Object owner = obj.getOwner();
+        if (owner == null) {
+            throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.OPERATION_FORBIDDEN_ON_RELEASED_PICKLEBUFFER);
+        }
+        boolean inBand = true;
+        if (bufferCallback != null) {
+            inBand = isTrue(call(bufferCallback, obj));
+        }
+        if (inBand) {
+            // write the data of the exporter without copying it if it is a bytes-like object
+            byte[] data;
+            int size;
+            Object payload;
+            if (owner instanceof PBytesLike) {
+                SequenceStorage storage = ((PBytesLike) owner).getSequenceStorage();
+                size = storage.length();
+                data = getInternalBytes(storage);
+                payload = owner;
+            } else {
+                PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+                try {
+                    size = lib.getBufferLength(owner);
+                    data = lib.getBufferBytes(owner);
+                } catch (UnsupportedMessageException e) {
+                    throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, owner);
+                }
+                payload = null;
+            }
+            if (obj.isReadonly()) {
+                saveBytesData(obj, data, size, payload);
+            } else {
+                saveByteArrayData(obj, data, size, payload);
+            }
+        } else {
+            write(NEXT_BUFFER);
+            if (obj.isReadonly()) {
+                write(READONLY_BUFFER);
+            }
+        }
+    }
+
+    private void saveStr(Object obj, String value) {
+        if (protocol >= 1) {
+            byte[] encoded = encodeUTF8(value);
+            int size = encoded.length;
+            byte[] header = size <= 0xff && protocol >= 4 ? sizeHeader(SHORT_BINUNICODE, size, 1) : sizeHeader(BINUNICODE, size, 4);
+            writeBytes(header, header.length, encoded, size, null);
+        } else {
+            writeText(UNICODE, rawUnicodeEscape(value));
+        }
+        memoPut(obj);
+    }
+
+    /** Encodes to UTF-8 with the {@code surrogatepass} error handler. */
+    private static byte[] encodeUTF8(String value) {
+        int n = value.length();
+        int i = 0;
+        while (i < n && value.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == n) {
+            return value.getBytes(StandardCharsets.ISO_8859_1);
+        }
+        byte[] result = new byte[n * 3];
+        int pos = 0;
+        for (int j = 0; j < n; j++) {
+            char c = value.charAt(j);
+            if (c < 0x80) {
+                result[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                result[pos++] = (byte) (0xc0 | (c >> 6));
+                result[pos++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && j + 1 < n && Character.isLowSurrogate(value.charAt(j + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++j));
+                result[pos++] = (byte) (0xf0 | (cp >> 18));
+                result[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                result[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                result[pos++] = (byte) (0x80 | (cp & 0x3f));
+            } else {
+                result[pos++] = (byte) (0xe0 | (c >> 12));
+                result[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                result[pos++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        return Arrays.copyOf(result, pos);
+    }
+
+    /**
+     * The {@code raw-unicode-escape} encoding, additionally escaping the characters that would
+     * break the line-oriented protocol 0 format. The result only contains latin-1 characters.
+     */
+    private static String rawUnicodeEscape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length();) {
+            int cp = value.codePointAt(i);
+            i += Character.charCount(cp);
+            if (cp >= 0x10000) {
+                sb.append(String.format("\\U%08x", cp));
+            } else if (cp >= 256 || cp == '\\' || cp == 0 || cp == '\n' || cp == '\r' || cp == 0x1a) {
+                sb.append(String.format("\\u%04x", cp));
+            } else {
+                sb.append((char) cp);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void saveTuple(PTuple obj) {
+        Object[] items = getTupleItems(obj);
+        int n = items.length;
+        if (n == 0) {
+            if (protocol >= 1) {
+                write(EMPTY_TUPLE);
+            } else {
+                write(MARK);
+                write(TUPLE);
+            }
+            return;
+        }
+        if (n <= 3 && protocol >= 2) {
+            for (Object item : items) {
+                save(item, false);
+            }
+            Integer idx = memo.get(obj);
+            if (idx != null) {
+                // the tuple is recursive: it was pickled while its items were saved
+                for (int i = 0; i < n; i++) {
+                    write(POP);
+                }
+                memoGet(idx);
+                return;
+            }
+            write(n == 1 ? TUPLE1 : n == 2 ? TUPLE2 : TUPLE3);
+        } else {
+            write(MARK);
+            for (Object item : items) {
+                save(item, false);
+            }
+            Integer idx = memo.get(obj);
+            if (idx != null) {
+                if (protocol >= 1) {
+                    write(POP_MARK);
+                } else {
+                    for (int i = 0; i <= n; i++) {
+                        write(POP);
+                    }
+                }
+                memoGet(idx);
+                return;
+            }
+            write(TUPLE);
+        }
+        memoPut(obj);
+    }
+
+    private void saveList(PList obj) {
+        if (protocol >= 1) {
+            write(EMPTY_LIST);
+        } else {
+            write(MARK);
+            write(LIST);
+        }
+        memoPut(obj);
+        if (obj.getSequenceStorage().length() == 0) {
+            return;
+        }
+        if (protocol >= 1) {
+            batchListExact(obj);
+        } else {
+            batchList(getIterator(obj));
+        }
+    }
+
+    /** Saves the items of an exact list, which may change while its items are pickled. */
+    private void batchListExact(PList obj) {
+        SequenceStorageNodes.GetItemScalarNode getItem = SequenceStorageNodes.GetItemScalarNode.getUncached();
+        if (obj.getSequenceStorage().length() == 1) {
+            save(getItem.execute(obj.getSequenceStorage(), 0), false);
+            write(APPEND);
+            return;
+        }
+        int total = 0;
+        do {
+            int thisBatch = 0;
+            write(MARK);
+            while (total < obj.getSequenceStorage().length()) {
+                save(getItem.execute(obj.getSequenceStorage(), total), false);
+                total++;
+                if (++thisBatch == BATCHSIZE) {
+                    break;
+                }
+            }
+            write(APPENDS);
+        } while (total < obj.getSequenceStorage().length());
+    }
+
+    private void batchList(Object iterator) {
+        if (protocol == 0) {
+            for (Object item = next(iterator); item != null; item = next(iterator)) {
+                save(item, false);
+                write(APPEND);
+            }
+            return;
+        }
+        int n;
+        do {
+            Object first = next(iterator);
+            if (first == null) {
+                break;
+            }
+            Object item = next(iterator);
+            if (item == null) {
+                save(first, false);
+                write(APPEND);
+                break;
+            }
+            write(MARK);
+            save(first, false);
+            n = 1;
+            while (item != null) {
+                save(item, false);
+                n++;
+                if (n == BATCHSIZE) {
+                    break;
+                }
+                item = next(iterator);
+            }
+            write(APPENDS);
+        } while (n == BATCHSIZE);
+    }
+
+    private void saveDict(PDict obj) {
+        if (protocol >= 1) {
+            write(EMPTY_DICT);
+        } else {
+            write(MARK);
+            write(PickleUtils.DICT);
+        }
+        memoPut(obj);
+        if (HashingStorageLibrary.getUncached().length(obj.getDictStorage()) == 0) {
+            return;
+        }
+        if (protocol >= 1) {
+            batchDictExact(obj);
+        } else {
+            Object items = PythonObjectLibrary.getUncached().lookupAndCallRegularMethod(obj, null, "items");
+            batchDict(getIterator(items));
+        }
+    }
+
+    /** Saves the items of an exact dict, which must not change while its items are pickled. */
+    private void batchDictExact(PDict obj) {
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage storage = obj.getDictStorage();
+        int size = lib.length(storage);
+        ArrayList<HashingStorage.DictEntry> entries = new ArrayList<>(size);
+        for (HashingStorage.DictEntry entry : lib.entries(storage)) {
+            entries.add(entry);
+        }
+        if (size == 1) {
+            save(entries.get(0).key, false);
+            save(entries.get(0).value, false);
+            write(SETITEM);
+            return;
+        }
+        int pos = 0;
+        int i;
+        do {
+            i = 0;
+            write(MARK);
+            while (pos < entries.size()) {
+                HashingStorage.DictEntry entry = entries.get(pos++);
+                save(entry.key, false);
+                save(entry.value, false);
+                if (++i == BATCHSIZE) {
+                    break;
+                }
+            }
+            write(SETITEMS);
+            if (lib.length(obj.getDictStorage()) != size) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "dictionary");
+            }
+        } while (i == BATCHSIZE);
+    }
+
+    private void batchDict(Object iterator) {
+        if (protocol == 0) {
+            for (Object item = next(iterator); item != null; item = next(iterator)) {
+                Object[] pair = asItemPair(item);
+                save(pair[0], false);
+                save(pair[1], false);
+                write(SETITEM);
+            }
+            return;
+        }
+        int n;
+        do {
+            Object first = next(iterator);
+            if (first == null) {
+                break;
+            }
+            Object[] firstPair = asItemPair(first);
+            Object item = next(iterator);
+            if (item == null) {
+                save(firstPair[0], false);
+                save(firstPair[1], false);
+                write(SETITEM);
+                break;
+            }
+            write(MARK);
+            save(firstPair[0], false);
+            save(firstPair[1], false);
+            n = 1;
+            while (item != null) {
+                Object[] pair = asItemPair(item);
+                save(pair[0], false);
+                save(pair[1], false);
+                n++;
+                if (n == BATCHSIZE) {
+                    break;
+                }
+                item = next(iterator);
+            }
+            write(SETITEMS);
+        } while (n == BATCHSIZE);
+    }
+
+    private static Object[] asItemPair(Object item) {
+        if (item instanceof PTuple) {
+            Object[] pair = getTupleItems((PTuple) item);
+            if (pair.length == 2) {
+                return pair;
+            }
+        }
+        throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.DICT_ITEMS_ITERATOR_MUST_RETURN_2_TUPLES);
+    }
+
+    private static Object[] getSetItems(PBaseSet obj) {
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage storage = obj.getDictStorage();
+        Object[] items = new Object[lib.length(storage)];
+        int i = 0;
+        for (Object key : lib.keys(storage)) {
+            items[i++] = key;
+        }
+        return items;
+    }
+
+    private void saveSet(PSet obj) {
+        Object[] items = getSetItems(obj);
+        if (protocol < 4) {
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            Object args = factory.createTuple(new Object[]{factory.createList(items)});
+            saveReduce(new Object[]{getCore().lookupType(PythonBuiltinClassType.PSet), args}, obj);
+            return;
+        }
+        write(EMPTY_SET);
+        memoPut(obj);
+        int size = items.length;
+        if (size == 0) {
+            return;
+        }
+        int pos = 0;
+        int i;
+        do {
+            i = 0;
+            write(MARK);
+            while (pos < size) {
+                save(items[pos++], false);
+                if (++i == BATCHSIZE) {
+                    break;
+                }
+            }
+            write(ADDITEMS);
+            if (HashingStorageLibrary.getUncached().length(obj.getDictStorage()) != size) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "set");
+            }
+        } while (i == BATCHSIZE);
+    }
+
+    private void saveFrozenSet(PFrozenSet obj) {
+        Object[] items = getSetItems(obj);
+        if (protocol < 4) {
+            PythonObjectFactory factory = PythonObjectFactory.getUncached();
+            Object args = factory.createTuple(new Object[]{factory.createList(items)});
+            saveReduce(new Object[]{getCore().lookupType(PythonBuiltinClassType.PFrozenSet), args}, obj);
+            return;
+        }
+        write(MARK);
+        for (Object item : items) {
+            save(item, false);
+        }
+        Integer idx = memo.get(obj);
+        if (idx != null) {
+            // the frozenset is recursive: it was pickled while its items were saved
+            write(POP_MARK);
+            memoGet(idx);
+            return;
+        }
+        write(FROZENSET);
+        memoPut(obj);
+    }
+
+    private void saveType(Object obj) {
+        PythonCore core = getCore();
+        Object singleton = null;
+        if (isBuiltinType(obj, PythonBuiltinClassType.PNone)) {
+            singleton = PNone.NONE;
+        } else if (isBuiltinType(obj, PythonBuiltinClassType.PNotImplemented)) {
+            singleton = PNotImplemented.NOT_IMPLEMENTED;
+        } else if (isBuiltinType(obj, PythonBuiltinClassType.PEllipsis)) {
+            singleton = PEllipsis.INSTANCE;
+        }
+        if (singleton != null) {
+            Object args = PythonObjectFactory.getUncached().createTuple(new Object[]{singleton});
+            saveReduce(new Object[]{core.lookupType(PythonBuiltinClassType.PythonClass), args}, obj);
+        } else {
+            saveGlobal(obj, null);
+        }
+    }
+
+    private void saveGlobal(Object obj, String name) {
+        String globalName = name;
+        if (globalName == null) {
+            Object qualname = lookupAttribute(obj, "__qualname__");
+            if (qualname == PNone.NO_VALUE) {
+                qualname = PickleUtils.getAttribute(obj, "__name__");
+            }
+            globalName = CastToJavaStringNode.getUncached().execute(qualname);
+        }
+        String[] dottedPath = getDottedPath(null, globalName);
+        String moduleName = whichModule(obj, dottedPath);
+
+        Object module;
+        try {
+            module = importModule(moduleName);
+        } catch (PException e) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_S_IMPORT_OF_MODULE_S_FAILED, repr(obj), repr(moduleName));
+        }
+        Object[] parent = new Object[1];
+        Object found;
+        try {
+            found = getDeepAttribute(module, dottedPath, parent);
+        } catch (PException e) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_S_ATTR_LOOKUP_S_ON_S_FAILED, repr(obj), globalName, moduleName);
+        }
+        if (found != obj) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_S_NOT_SAME_OBJECT_AS_S_S, repr(obj), moduleName, globalName);
+        }
+
+        if (protocol >= 2) {
+            int code = lookupExtensionCode(obj, moduleName, globalName);
+            if (code > 0) {
+                // extension codes are not memoized
+                if (code <= 0xff) {
+                    write(EXT1, (byte) code);
+                } else if (code <= 0xffff) {
+                    writeOpcodeLE(EXT2, code, 2);
+                } else {
+                    writeOpcodeLE(EXT4, code, 4);
+                }
+                return;
+            }
+        }
+
+        String lastName = dottedPath[dottedPath.length - 1];
+        if (protocol >= 4) {
+            // the memo is keyed by identity; module and qualified names are interned in CPython
+            save(moduleName.intern(), false);
+            save(globalName.intern(), false);
+            write(STACK_GLOBAL);
+        } else if (parent[0] != module) {
+            Object getattr = getCore().lookupBuiltinModule("builtins").getAttribute("getattr");
+            Object args = PythonObjectFactory.getUncached().createTuple(new Object[]{parent[0], lastName});
+            saveReduce(new Object[]{getattr, args}, null);
+        } else if (protocol >= 3) {
+            writeGlobal(encodeUTF8(moduleName), encodeUTF8(globalName));
+        } else {
+            String fixedModuleName = moduleName;
+            String fixedGlobalName = globalName;
+            if (fixImports) {
+                loadCompatMappings();
+                Object mapped = HashingStorageLibrary.getUncached().getItem(nameMapping3To2.getDictStorage(), PythonObjectFactory.getUncached().createTuple(new Object[]{moduleName, globalName}));
+                if (mapped instanceof PTuple) {
+                    Object[] pair = getTupleItems((PTuple) mapped);
+                    fixedModuleName = CastToJavaStringNode.getUncached().execute(pair[0]);
+                    fixedGlobalName = CastToJavaStringNode.getUncached().execute(pair[1]);
+                } else {
+                    Object mappedModule = HashingStorageLibrary.getUncached().getItem(importMapping3To2.getDictStorage(), moduleName);
+                    if (mappedModule != null) {
+                        fixedModuleName = CastToJavaStringNode.getUncached().execute(mappedModule);
+                    }
+                }
+            }
+            writeGlobal(encodeAscii("module", fixedModuleName), encodeAscii("global", fixedGlobalName));
+        }
+        memoPut(obj);
+    }
+
+    private void writeGlobal(byte[] moduleName, byte[] globalName) {
+        reserve(moduleName.length + globalName.length + 3);
+        out[len++] = GLOBAL;
+        System.arraycopy(moduleName, 0, out, len, moduleName.length);
+        len += moduleName.length;
+        out[len++] = '\n';
+        System.arraycopy(globalName, 0, out, len, globalName.length);
+        len += globalName.length;
+        out[len++] = '\n';
+    }
+
+    private byte[] encodeAscii(String kind, String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > 0x7f) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_S_IDENTIFIER_S_USING_PROTOCOL_D, kind, name, protocol);
+            }
+        }
+        return name.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static String whichModule(Object obj, String[] dottedPath) {
+        Object moduleName = lookupAttribute(obj, "__module__");
+        if (moduleName != PNone.NO_VALUE && moduleName != PNone.NONE) {
+            return CastToJavaStringNode.getUncached().execute(moduleName);
+        }
+        // fall back to searching all modules; iterate over a copy since importing may change them
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage modules = getCore().getContext().getSysModules().getDictStorage();
+        ArrayList<HashingStorage.DictEntry> entries = new ArrayList<>();
+        for (HashingStorage.DictEntry entry : lib.entries(modules)) {
+            entries.add(entry);
+        }
+        for (HashingStorage.DictEntry entry : entries) {
+            String name = asExactString(entry.key);
+            if (name == null || "__main__".equals(name) || entry.value == PNone.NONE) {
+                continue;
+            }
+            Object candidate;
+            try {
+                candidate = getDeepAttribute(entry.value, dottedPath, null);
+            } catch (PException e) {
+                e.expectAttributeError(IsBuiltinClassProfile.getUncached());
+                continue;
+            }
+            if (candidate == obj) {
+                return name;
+            }
+        }
+        return "__main__";
+    }
+
+    private int lookupExtensionCode(Object obj, String moduleName, String globalName) {
+        if (extensionRegistry == null) {
+            extensionRegistry = (PDict) getModuleAttribute("copyreg", "_extension_registry");
+        }
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        if (lib.length(extensionRegistry.getDictStorage()) == 0) {
+            return 0;
+        }
+        Object key = PythonObjectFactory.getUncached().createTuple(new Object[]{moduleName, globalName});
+        Object code = lib.getItem(extensionRegistry.getDictStorage(), key);
+        if (code == null) {
+            return 0;
+        }
+        long value = PythonObjectLibrary.getUncached().asJavaLong(code);
+        if (value <= 0 || value > 0x7fffffffL) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.CANT_PICKLE_S_EXTENSION_CODE_D_IS_OUT_OF_RANGE, repr(obj), value);
+        }
+        return (int) value;
+    }
+
+    private void loadCompatMappings() {
+        if (nameMapping3To2 == null) {
+            Object compatPickle = importModule("_compat_pickle");
+            nameMapping3To2 = (PDict) PickleUtils.getAttribute(compatPickle, "REVERSE_NAME_MAPPING");
+            importMapping3To2 = (PDict) PickleUtils.getAttribute(compatPickle, "REVERSE_IMPORT_MAPPING");
+        }
+    }
+
+    private void saveReduce(Object[] args, Object obj) {
+        int size = args.length;
+        if (size < 2 || size > 6) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.REDUCE_TUPLE_MUST_CONTAIN_2_THROUGH_6);
+        }
+        PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+        Object callable = args[0];
+        Object argtup = args[1];
+        Object state = size > 2 && args[2] != PNone.NONE ? args[2] : null;
+        Object listitems = size > 3 && args[3] != PNone.NONE ? args[3] : null;
+        Object dictitems = size > 4 && args[4] != PNone.NONE ? args[4] : null;
+        Object stateSetter = size > 5 && args[5] != PNone.NONE ? args[5] : null;
+
+        if (!lib.isCallable(callable)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.REDUCE_FIRST_ITEM_MUST_BE_CALLABLE);
+        }
+        if (!(argtup instanceof PTuple)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.REDUCE_SECOND_ITEM_MUST_BE_TUPLE);
+        }
+        if (listitems != null && lib.lookupAttributeOnType(listitems, "__next__") == PNone.NO_VALUE) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.REDUCE_S_ELEMENT_MUST_BE_ITERATOR_NOT_P, "fourth", listitems);
+        }
+        if (dictitems != null && lib.lookupAttributeOnType(dictitems, "__next__") == PNone.NO_VALUE) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.REDUCE_S_ELEMENT_MUST_BE_ITERATOR_NOT_P, "fifth", dictitems);
+        }
+        if (stateSetter != null && !lib.isCallable(stateSetter)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.REDUCE_SIXTH_ELEMENT_MUST_BE_FUNCTION_NOT_P, stateSetter);
+        }
+
+        String callableName = null;
+        if (protocol >= 2) {
+            Object nameObj = lookupAttribute(callable, "__name__");
+            if (nameObj instanceof String || nameObj instanceof PString) {
+                callableName = CastToJavaStringNode.getUncached().execute(nameObj);
+            }
+        }
+        Object[] argItems = getTupleItems((PTuple) argtup);
+        if ("__newobj_ex__".equals(callableName)) {
+            if (argItems.length != 3) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.NEWOBJ_EX_ARGS_LENGTH_MUST_BE_3_NOT_D, argItems.length);
+            }
+            Object cls = argItems[0];
+            checkNewObjClass(cls, obj, "__newobj_ex__");
+            Object newArgs = argItems[1];
+            if (!(newArgs instanceof PTuple)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.ARGS_D_FROM_NEWOBJ_EX_ARGS_MUST_BE_S_NOT_P, 1, "tuple", newArgs);
+            }
+            Object kwargs = argItems[2];
+            if (!(kwargs instanceof PDict)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.ARGS_D_FROM_NEWOBJ_EX_ARGS_MUST_BE_S_NOT_P, 2, "dict", kwargs);
+            }
+            if (protocol >= 4) {
+                save(cls, false);
+                save(newArgs, false);
+                save(kwargs, false);
+                write(NEWOBJ_EX);
+            } else {
+                // functools.partial(cls.__new__, cls, *args, **kwargs)
+                Object[] newArgItems = getTupleItems((PTuple) newArgs);
+                Object[] partialArgs = new Object[newArgItems.length + 2];
+                partialArgs[0] = PickleUtils.getAttribute(cls, "__new__");
+                partialArgs[1] = cls;
+                System.arraycopy(newArgItems, 0, partialArgs, 2, newArgItems.length);
+                HashingStorageLibrary hlib = HashingStorageLibrary.getUncached();
+                HashingStorage kwStorage = ((PDict) kwargs).getDictStorage();
+                PKeyword[] keywords = new PKeyword[hlib.length(kwStorage)];
+                int i = 0;
+                for (HashingStorage.DictEntry entry : hlib.entries(kwStorage)) {
+                    keywords[i++] = new PKeyword(CastToJavaStringNode.getUncached().execute(entry.key), entry.value);
+                }
+                Object partial = CallNode.getUncached().execute(getModuleAttribute("functools", "partial"), partialArgs, keywords);
+                save(partial, false);
+                save(PythonObjectFactory.getUncached().createEmptyTuple(), false);
+                write(REDUCE);
+            }
+        } else if ("__newobj__".equals(callableName)) {
+            if (argItems.length < 1) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.NEWOBJ_ARGLIST_IS_EMPTY);
+            }
+            Object cls = argItems[0];
+            checkNewObjClass(cls, obj, "__newobj__");
+            save(cls, false);
+            save(PythonObjectFactory.getUncached().createTuple(Arrays.copyOfRange(argItems, 1, argItems.length)), false);
+            write(NEWOBJ);
+        } else {
+            save(callable, false);
+            save(argtup, false);
+            write(REDUCE);
+        }
+
+        if (obj != null) {
+            Integer idx = memo.get(obj);
+            if (idx != null) {
+                // the object was pickled while its arguments were saved
+                write(POP);
+                memoGet(idx);
+                return;
+            }
+            memoPut(obj);
+        }
+        if (listitems != null) {
+            batchList(listitems);
+        }
+        if (dictitems != null) {
+            batchDict(dictitems);
+        }
+        if (state != null) {
+            if (stateSetter == null) {
+                save(state, false);
+                write(BUILD);
+            } else {
+                // call the state setter with the object and its state, and discard the result
+                save(stateSetter, false);
+                save(obj, false);
+                save(state, false);
+                write(TUPLE2);
+                write(REDUCE);
+                write(POP);
+            }
+        }
+    }
+
+    private static void checkNewObjClass(Object cls, Object obj, String name) {
+        if (!isType(cls)) {
+            throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.ARGS_0_FROM_S_ARGS_IS_NOT_TYPE, name);
+        }
+        if (obj != null) {
+            Object objClass = PickleUtils.getAttribute(obj, "__class__");
+            if (!isSameType(objClass, cls)) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.ARGS_0_FROM_S_ARGS_HAS_WRONG_CLASS, name);
+            }
+        }
+    }
+}
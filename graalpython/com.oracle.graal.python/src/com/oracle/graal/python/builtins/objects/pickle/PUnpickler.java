@@ -0,0 +1,1308 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.pickle;
+
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.asExactString;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.call;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getCore;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getDeepAttribute;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getDottedPath;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getInternalBytes;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getPythonClass;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.getTupleItems;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.importModule;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.isBuiltinType;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.isType;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.lookupAttribute;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.next;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.raise;
+import static com.oracle.graal.python.builtins.objects.pickle.PickleUtils.raiseWithArg;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.set.PSet;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.builtins.ListNodes;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code _pickle.Unpickler}. Interprets the pickle opcodes directly on a byte array: the data
+ * passed to {@code loads} is read in place, and files are read frame by frame (or, for older
+ * protocols, in chunks obtained with {@code peek}). Follows {@code Modules/_pickle.c}, including
+ * its error messages.
+ */
+public final class PUnpickler extends PythonBuiltinObject {
+    private static final int PREFETCH = 8192 * 16;
+
+    // the pickle data
+    private byte[] input = new byte[0];
+    private int pos;
+    private int limit;
+
+    // the file, if any; prefetched data is consumed from the file once it was processed
+    private Object readFunc;
+    private Object readlineFunc;
+    private Object peekFunc;
+    private boolean prefetched;
+    private int consumed;
+
+    private boolean fixImports = true;
+    private String encoding = "ASCII";
+    private String errors = "strict";
+    private Object buffers;
+    private Object persistentLoad;
+    private boolean initialized;
+
+    private int protocol;
+    private Object[] stack = new Object[16];
+    private int stackLen;
+    private int fence;
+    private int[] marks = new int[8];
+    private int marksLen;
+    private Object[] memo = new Object[32];
+    private int memoLen;
+
+    // module state, looked up on first use
+    private PDict extensionCache;
+    private PDict invertedRegistry;
+    private PDict nameMapping2To3;
+    private PDict importMapping2To3;
+
+    public PUnpickler(Object clazz, Shape instanceShape) {
+        super(clazz, instanceShape);
+    }
+
+    /**
+     * Initializes the unpickler; the file methods are {@code null} if the data is passed with
+     * {@link #setInput}. {@code buffersValue} is an iterator or {@link PNone#NONE}.
+     */
+    public void init(Object readMethod, Object readlineMethod, Object peekMethod, boolean fixImportsValue, String encodingValue, String errorsValue, Object buffersValue) {
+        this.readFunc = readMethod;
+        this.readlineFunc = readlineMethod;
+        this.peekFunc = peekMethod;
+        this.fixImports = fixImportsValue;
+        this.encoding = encodingValue;
+        this.errors = errorsValue;
+        this.buffers = buffersValue == PNone.NONE ? null : buffersValue;
+        this.memo = new Object[32];
+        this.memoLen = 0;
+        this.initialized = true;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /** Sets the data to unpickle. The array is used as it is and must not be modified. */
+    public void setInput(byte[] data, int length) {
+        input = data;
+        pos = 0;
+        limit = length;
+        prefetched = false;
+    }
+
+    /** Sets the {@code persistent_load} hook, {@code null} if there is none. */
+    public void setPersistentLoad(Object persistentLoadValue) {
+        this.persistentLoad = persistentLoadValue;
+    }
+
+    // input
+
+    private static PException truncated() {
+        throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PICKLE_DATA_WAS_TRUNCATED);
+    }
+
+    /** Consumes the prefetched data that was processed from the file. */
+    private void skipConsumed() {
+        if (prefetched && pos > consumed) {
+            call(readFunc, pos - consumed);
+            consumed = pos;
+        }
+    }
+
+    /** Replaces the input with {@code n} bytes from the file (or fewer, at the end of the file). */
+    private void readFromFile(int n) {
+        skipConsumed();
+        if (peekFunc != null && n < PREFETCH) {
+            Object data = null;
+            try {
+                data = call(peekFunc, PREFETCH);
+            } catch (PException e) {
+                e.expect(PythonBuiltinClassType.NotImplementedError, IsBuiltinClassProfile.getUncached());
+                peekFunc = null;
+            }
+            if (data != null) {
+                setFileInput(data);
+                prefetched = true;
+                consumed = 0;
+                if (n <= limit) {
+                    return;
+                }
+            }
+        }
+        setFileInput(call(readFunc, n));
+        prefetched = false;
+    }
+
+    private void setFileInput(Object data) {
+        if (data instanceof PBytesLike) {
+            SequenceStorage storage = ((PBytesLike) data).getSequenceStorage();
+            input = getInternalBytes(storage);
+            limit = storage.length();
+        } else {
+            PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+            try {
+                input = lib.getBufferBytes(data);
+                limit = lib.getBufferLength(data);
+            } catch (UnsupportedMessageException e) {
+                throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, data);
+            }
+        }
+        pos = 0;
+    }
+
+    /** Makes {@code n} bytes available at the returned index of {@link #input}. */
+    private int read(int n) {
+        if (limit - pos >= n) {
+            int start = pos;
+            pos += n;
+            return start;
+        }
+        if (readFunc == null) {
+            throw truncated();
+        }
+        readFromFile(n);
+        if (limit < n) {
+            throw truncated();
+        }
+        pos = n;
+        return 0;
+    }
+
+    private int readOpcode() {
+        if (pos < limit) {
+            return input[pos++] & 0xff;
+        }
+        if (readFunc != null) {
+            readFromFile(1);
+            if (limit >= 1) {
+                pos = 1;
+                return input[0] & 0xff;
+            }
+        }
+        throw raise(PythonBuiltinClassType.EOFError, ErrorMessages.RAN_OUT_OF_INPUT);
+    }
+
+    /** Reads a line and returns it without the newline, as latin-1 string. */
+    private String readLine(int minLength) {
+        String line = null;
+        for (int i = pos; i < limit; i++) {
+            if (input[i] == '\n') {
+                line = new String(input, pos, i - pos, StandardCharsets.ISO_8859_1);
+                pos = i + 1;
+                break;
+            }
+        }
+        if (line == null) {
+            if (readFunc == null) {
+                throw truncated();
+            }
+            skipConsumed();
+            setFileInput(call(readlineFunc));
+            prefetched = false;
+            if (limit == 0 || input[limit - 1] != '\n') {
+                throw truncated();
+            }
+            line = new String(input, 0, limit - 1, StandardCharsets.ISO_8859_1);
+            pos = limit;
+        }
+        // like in CPython, the length includes the newline
+        if (line.length() + 1 < minLength) {
+            throw truncated();
+        }
+        return line;
+    }
+
+    private long readLE(int n) {
+        int start = read(n);
+        long value = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            value = (value << 8) | (input[start + i] & 0xff);
+        }
+        return value;
+    }
+
+    /** Reads a size argument, which is at most what a Java array can hold. */
+    private int readSize(int n, String opcodeName) {
+        long size = readLE(n);
+        if (size < 0 || size > Integer.MAX_VALUE - 8) {
+            throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.S_EXCEEDS_SYSTEM_MAXIMUM_SIZE_OF_D_BYTES, opcodeName, Integer.MAX_VALUE - 8);
+        }
+        return (int) size;
+    }
+
+    /**
+     * Reads {@code size} bytes into a new {@code bytes} object. Data that is not in the input
+     * buffer any more is read from the file at once, and a {@code bytes} object returned by
+     * {@code read} is used without copying it.
+     */
+    private PBytes readBytesObject(int size) {
+        PythonObjectFactory factory = PythonObjectFactory.getUncached();
+        int available = limit - pos;
+        if (available >= size) {
+            int start = read(size);
+            return factory.createBytes(Arrays.copyOfRange(input, start, start + size));
+        }
+        if (readFunc == null) {
+            throw truncated();
+        }
+        byte[] head = Arrays.copyOfRange(input, pos, limit);
+        pos = limit;
+        skipConsumed();
+        Object data = call(readFunc, size - available);
+        prefetched = false;
+        input = new byte[0];
+        pos = limit = 0;
+        if (available == 0 && data instanceof PBytes && ((PBytes) data).getSequenceStorage().length() == size) {
+            return (PBytes) data;
+        }
+        byte[] tail;
+        int tailLength;
+        if (data instanceof PBytesLike) {
+            SequenceStorage storage = ((PBytesLike) data).getSequenceStorage();
+            tail = getInternalBytes(storage);
+            tailLength = storage.length();
+        } else {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, data);
+        }
+        if (available + tailLength < size) {
+            throw truncated();
+        }
+        byte[] result = Arrays.copyOf(head, size);
+        System.arraycopy(tail, 0, result, available, size - available);
+        return factory.createBytes(result);
+    }
+
+    private static byte[] getBytes(PBytes bytes) {
+        SequenceStorage storage = bytes.getSequenceStorage();
+        byte[] data = getInternalBytes(storage);
+        return data.length == storage.length() ? data : Arrays.copyOf(data, storage.length());
+    }
+
+    // stack
+
+    private void push(Object value) {
+        if (stackLen == stack.length) {
+            stack = Arrays.copyOf(stack, stackLen * 2);
+        }
+        stack[stackLen++] = value;
+    }
+
+    private PException stackUnderflow() {
+        if (marksLen > 0) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.UNEXPECTED_MARK_FOUND);
+        }
+        throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.UNPICKLING_STACK_UNDERFLOW);
+    }
+
+    private Object pop() {
+        if (stackLen <= fence) {
+            throw stackUnderflow();
+        }
+        Object value = stack[--stackLen];
+        stack[stackLen] = null;
+        return value;
+    }
+
+    private Object top() {
+        if (stackLen <= fence) {
+            throw stackUnderflow();
+        }
+        return stack[stackLen - 1];
+    }
+
+    private Object[] popItems(int start) {
+        if (start < fence) {
+            throw stackUnderflow();
+        }
+        Object[] items = Arrays.copyOfRange(stack, start, stackLen);
+        truncate(start);
+        return items;
+    }
+
+    private PTuple popTuple(int start) {
+        return PythonObjectFactory.getUncached().createTuple(popItems(start));
+    }
+
+    private void truncate(int newLength) {
+        Arrays.fill(stack, newLength, stackLen, null);
+        stackLen = newLength;
+    }
+
+    private void loadMark() {
+        if (marksLen == marks.length) {
+            marks = Arrays.copyOf(marks, marksLen * 2);
+        }
+        marks[marksLen++] = stackLen;
+        fence = stackLen;
+    }
+
+    private int marker() {
+        if (marksLen < 1) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.COULD_NOT_FIND_MARK);
+        }
+        int mark = marks[--marksLen];
+        fence = marksLen > 0 ? marks[marksLen - 1] : 0;
+        return mark;
+    }
+
+    // memo
+
+    private Object memoGet(long idx) {
+        if (idx >= 0 && idx < memo.length && memo[(int) idx] != null) {
+            return memo[(int) idx];
+        }
+        throw raiseWithArg(PythonBuiltinClassType.KeyError, idx == (int) idx ? (Object) (int) idx : (Object) idx);
+    }
+
+    private void memoPut(long idx, String opcodeName) {
+        if (idx < 0 || idx > Integer.MAX_VALUE - 8) {
+            throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.NEGATIVE_S_ARGUMENT, opcodeName);
+        }
+        Object value = top();
+        if (idx >= memo.length) {
+            memo = Arrays.copyOf(memo, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(idx + 1, memo.length * 2L)));
+        }
+        if (memo[(int) idx] == null) {
+            memoLen++;
+        }
+        memo[(int) idx] = value;
+    }
+
+    // load
+
+    @TruffleBoundary
+    public Object load() {
+        truncate(0);
+        marksLen = 0;
+        fence = 0;
+        protocol = 0;
+        while (true) {
+            int opcode = readOpcode();
+            if (opcode == (PickleUtils.STOP & 0xff)) {
+                break;
+            }
+            dispatch(opcode);
+        }
+        skipConsumed();
+        return pop();
+    }
+
+    private void dispatch(int opcode) {
+        switch ((byte) opcode) {
+            case PickleUtils.NONE:
+                push(PNone.NONE);
+                break;
+            case PickleUtils.NEWFALSE:
+                push(false);
+                break;
+            case PickleUtils.NEWTRUE:
+                push(true);
+                break;
+            case PickleUtils.BININT:
+                push((int) readLE(4));
+                break;
+            case PickleUtils.BININT1:
+                push((int) readLE(1));
+                break;
+            case PickleUtils.BININT2:
+                push((int) readLE(2));
+                break;
+            case PickleUtils.INT:
+                loadInt();
+                break;
+            case PickleUtils.LONG:
+                loadLong();
+                break;
+            case PickleUtils.LONG1:
+                loadCountedLong(1);
+                break;
+            case PickleUtils.LONG4:
+                loadCountedLong(4);
+                break;
+            case PickleUtils.FLOAT:
+                loadFloat();
+                break;
+            case PickleUtils.BINFLOAT: {
+                int start = read(8);
+                push(ByteBuffer.wrap(input, start, 8).getDouble());
+                break;
+            }
+            case PickleUtils.SHORT_BINBYTES:
+                push(readBytesObject((int) readLE(1)));
+                break;
+            case PickleUtils.BINBYTES:
+                push(readBytesObject(readSize(4, "BINBYTES")));
+                break;
+            case PickleUtils.BINBYTES8:
+                push(readBytesObject(readSize(8, "BINBYTES8")));
+                break;
+            case PickleUtils.BYTEARRAY8: {
+                PBytes bytes = readBytesObject(readSize(8, "BYTEARRAY8"));
+                push(PythonObjectFactory.getUncached().createByteArray(getBytes(bytes)));
+                break;
+            }
+            case PickleUtils.NEXT_BUFFER:
+                loadNextBuffer();
+                break;
+            case PickleUtils.READONLY_BUFFER:
+                loadReadonlyBuffer();
+                break;
+            case PickleUtils.STRING:
+                loadString();
+                break;
+            case PickleUtils.BINSTRING: {
+                long size = readLE(4);
+                if ((int) size < 0) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_PICKLE_HAS_NEGATIVE_BYTE_COUNT, "BINSTRING");
+                }
+                push(decodeString(readBytesObject((int) size)));
+                break;
+            }
+            case PickleUtils.SHORT_BINSTRING:
+                push(decodeString(readBytesObject((int) readLE(1))));
+                break;
+            case PickleUtils.UNICODE:
+                push(decodeRawUnicodeEscape(readLine(1)));
+                break;
+            case PickleUtils.SHORT_BINUNICODE:
+                push(decodeUTF8((int) readLE(1)));
+                break;
+            case PickleUtils.BINUNICODE:
+                push(decodeUTF8(readSize(4, "BINUNICODE")));
+                break;
+            case PickleUtils.BINUNICODE8:
+                push(decodeUTF8(readSize(8, "BINUNICODE8")));
+                break;
+            case PickleUtils.EMPTY_TUPLE:
+                push(PythonObjectFactory.getUncached().createEmptyTuple());
+                break;
+            case PickleUtils.TUPLE:
+                push(popTuple(marker()));
+                break;
+            case PickleUtils.TUPLE1:
+                loadCountedTuple(1);
+                break;
+            case PickleUtils.TUPLE2:
+                loadCountedTuple(2);
+                break;
+            case PickleUtils.TUPLE3:
+                loadCountedTuple(3);
+                break;
+            case PickleUtils.EMPTY_LIST:
+                push(PythonObjectFactory.getUncached().createList());
+                break;
+            case PickleUtils.LIST:
+                push(PythonObjectFactory.getUncached().createList(popItems(marker())));
+                break;
+            case PickleUtils.EMPTY_DICT:
+                push(PythonObjectFactory.getUncached().createDict());
+                break;
+            case PickleUtils.DICT:
+                loadDict();
+                break;
+            case PickleUtils.EMPTY_SET:
+                push(PythonObjectFactory.getUncached().createSet(PythonBuiltinClassType.PSet));
+                break;
+            case PickleUtils.FROZENSET:
+                loadFrozenSet();
+                break;
+            case PickleUtils.OBJ:
+                loadObj();
+                break;
+            case PickleUtils.INST:
+                loadInst();
+                break;
+            case PickleUtils.NEWOBJ:
+                loadNewObj();
+                break;
+            case PickleUtils.NEWOBJ_EX:
+                loadNewObjEx();
+                break;
+            case PickleUtils.GLOBAL: {
+                String moduleName = decodeUTF8Line(readLine(2));
+                String name = decodeUTF8Line(readLine(2));
+                push(callFindClass(moduleName, name));
+                break;
+            }
+            case PickleUtils.STACK_GLOBAL: {
+                Object name = pop();
+                Object moduleName = pop();
+                if (asExactString(name) == null || asExactString(moduleName) == null) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.STACK_GLOBAL_REQUIRES_STR);
+                }
+                push(callFindClass(moduleName, name));
+                break;
+            }
+            case PickleUtils.EXT1:
+                loadExtension(1);
+                break;
+            case PickleUtils.EXT2:
+                loadExtension(2);
+                break;
+            case PickleUtils.EXT4:
+                loadExtension(4);
+                break;
+            case PickleUtils.REDUCE: {
+                Object args = pop();
+                Object callable = pop();
+                if (!(args instanceof PTuple)) {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.ARGUMENT_LIST_MUST_BE_TUPLE);
+                }
+                push(CallNode.getUncached().execute(callable, getTupleItems((PTuple) args)));
+                break;
+            }
+            case PickleUtils.PERSID: {
+                String line = readLine(1);
+                for (int i = 0; i < line.length(); i++) {
+                    if (line.charAt(i) > 0x7f) {
+                        throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PERSISTENT_IDS_IN_PROTOCOL_0_MUST_BE_ASCII);
+                    }
+                }
+                push(persistentLoad(line));
+                break;
+            }
+            case PickleUtils.BINPERSID:
+                push(persistentLoad(pop()));
+                break;
+            case PickleUtils.POP:
+                if (marksLen > 0 && marks[marksLen - 1] == stackLen) {
+                    marker();
+                } else {
+                    pop();
+                }
+                break;
+            case PickleUtils.POP_MARK:
+                truncate(marker());
+                break;
+            case PickleUtils.DUP:
+                push(top());
+                break;
+            case PickleUtils.GET:
+                push(memoGet(parseIndex(readLine(2))));
+                break;
+            case PickleUtils.BINGET:
+                push(memoGet(readLE(1)));
+                break;
+            case PickleUtils.LONG_BINGET:
+                push(memoGet(readLE(4)));
+                break;
+            case PickleUtils.PUT: {
+                String line = readLine(2);
+                top();
+                memoPut(parseIndex(line), "PUT");
+                break;
+            }
+            case PickleUtils.BINPUT:
+                memoPut(readLE(1), "BINPUT");
+                break;
+            case PickleUtils.LONG_BINPUT:
+                memoPut(readLE(4), "LONG_BINPUT");
+                break;
+            case PickleUtils.MEMOIZE:
+                memoPut(memoLen, "MEMOIZE");
+                break;
+            case PickleUtils.APPEND:
+                doAppend(stackLen - 1);
+                break;
+            case PickleUtils.APPENDS:
+                doAppend(marker());
+                break;
+            case PickleUtils.SETITEM:
+                doSetItems(stackLen - 2);
+                break;
+            case PickleUtils.SETITEMS:
+                doSetItems(marker());
+                break;
+            case PickleUtils.ADDITEMS:
+                loadAddItems();
+                break;
+            case PickleUtils.BUILD:
+                loadBuild();
+                break;
+            case PickleUtils.MARK:
+                loadMark();
+                break;
+            case PickleUtils.PROTO: {
+                int proto = (int) readLE(1);
+                if (proto > PickleUtils.HIGHEST_PROTOCOL) {
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.UNSUPPORTED_PICKLE_PROTOCOL_D, proto);
+                }
+                protocol = proto;
+                break;
+            }
+            case PickleUtils.FRAME: {
+                int frameLength = readSize(8, "FRAME length");
+                // read the whole frame into the buffer, then rewind to its start
+                read(frameLength);
+                pos -= frameLength;
+                break;
+            }
+            default:
+                if (opcode >= 0x20 && opcode < 0x7f && opcode != '\'' && opcode != '\\') {
+                    throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.INVALID_LOAD_KEY_S, (char) opcode);
+                }
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.INVALID_LOAD_KEY_S, String.format("\\x%02x", opcode));
+        }
+    }
+
+    // numbers
+
+    private static Object toInt(BigInteger value) {
+        if (value.bitLength() < 32) {
+            return value.intValue();
+        } else if (value.bitLength() < 64) {
+            return value.longValue();
+        }
+        return PythonObjectFactory.getUncached().createInt(value);
+    }
+
+    private static Object parseInt(String text, int base) {
+        try {
+            return toInt(new BigInteger(text.trim(), base == 0 ? 10 : base));
+        } catch (NumberFormatException e) {
+            // let int() deal with prefixes and underscores, and produce the error message
+            return call(getCore().lookupType(PythonBuiltinClassType.PInt), text, base);
+        }
+    }
+
+    private static long parseIndex(String text) {
+        Object value = parseInt(text, 10);
+        return PythonObjectLibrary.getUncached().asJavaLong(value);
+    }
+
+    private void loadInt() {
+        String text = readLine(2);
+        if (text.equals("00") || text.equals("01")) {
+            push(text.charAt(1) == '1');
+        } else {
+            push(parseInt(text, 0));
+        }
+    }
+
+    private void loadLong() {
+        String text = readLine(2);
+        if (text.endsWith("L")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        push(parseInt(text, 0));
+    }
+
+    private void loadCountedLong(int n) {
+        long size = readLE(n);
+        if (n == 4 && (int) size < 0) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_PICKLE_HAS_NEGATIVE_BYTE_COUNT, "LONG");
+        }
+        if (size == 0) {
+            push(0);
+            return;
+        }
+        int start = read((int) size);
+        byte[] bigEndian = new byte[(int) size];
+        for (int i = 0; i < size; i++) {
+            bigEndian[i] = input[start + (int) size - 1 - i];
+        }
+        push(toInt(new BigInteger(bigEndian)));
+    }
+
+    private void loadFloat() {
+        String text = readLine(2);
+        double value;
+        try {
+            if (text.isEmpty() || !Character.isDigit(text.charAt(text.length() - 1))) {
+                // inf and nan are spelled differently in Java
+                throw new NumberFormatException();
+            }
+            value = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            push(call(getCore().lookupType(PythonBuiltinClassType.PFloat), text));
+            return;
+        }
+        push(value);
+    }
+
+    // strings
+
+    private Object decodeString(PBytes bytes) {
+        if ("bytes".equals(encoding)) {
+            return bytes;
+        }
+        if ("ASCII".equalsIgnoreCase(encoding) && "strict".equals(errors)) {
+            byte[] data = getBytes(bytes);
+            boolean ascii = true;
+            for (byte b : data) {
+                ascii &= b >= 0;
+            }
+            if (ascii) {
+                return new String(data, StandardCharsets.ISO_8859_1);
+            }
+        }
+        return PythonObjectLibrary.getUncached().lookupAndCallRegularMethod(bytes, null, "decode", encoding, errors);
+    }
+
+    private void loadString() {
+        String line = readLine(1);
+        int len = line.length();
+        if (len < 2 || line.charAt(0) != line.charAt(len - 1) || (line.charAt(0) != '\'' && line.charAt(0) != '"')) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.STRING_OPCODE_ARG_MUST_BE_QUOTED);
+        }
+        byte[] data = line.substring(1, len - 1).getBytes(StandardCharsets.ISO_8859_1);
+        push(decodeString(PythonObjectFactory.getUncached().createBytes(decodeEscape(data))));
+    }
+
+    /** Decodes the escape sequences of a Python 2 string literal, like {@code escape_decode}. */
+    private static byte[] decodeEscape(byte[] data) {
+        byte[] result = new byte[data.length];
+        int n = 0;
+        for (int i = 0; i < data.length; i++) {
+            byte b = data[i];
+            if (b != '\\' || i + 1 >= data.length) {
+                result[n++] = b;
+                continue;
+            }
+            byte c = data[++i];
+            switch (c) {
+                case '\n':
+                    break;
+                case '\\':
+                case '\'':
+                case '"':
+                    result[n++] = c;
+                    break;
+                case 'a':
+                    result[n++] = 7;
+                    break;
+                case 'b':
+                    result[n++] = '\b';
+                    break;
+                case 'f':
+                    result[n++] = '\f';
+                    break;
+                case 'n':
+                    result[n++] = '\n';
+                    break;
+                case 'r':
+                    result[n++] = '\r';
+                    break;
+                case 't':
+                    result[n++] = '\t';
+                    break;
+                case 'v':
+                    result[n++] = 11;
+                    break;
+                case 'x':
+                    if (i + 2 < data.length && Character.digit(data[i + 1], 16) >= 0 && Character.digit(data[i + 2], 16) >= 0) {
+                        result[n++] = (byte) (Character.digit(data[i + 1], 16) * 16 + Character.digit(data[i + 2], 16));
+                        i += 2;
+                        break;
+                    }
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.INVALID_X_ESCAPE_AT_POSITION_D, i - 1);
+                default:
+                    if (c >= '0' && c <= '7') {
+                        int value = c - '0';
+                        for (int k = 0; k < 2 && i + 1 < data.length && data[i + 1] >= '0' && data[i + 1] <= '7'; k++) {
+                            value = value * 8 + (data[++i] - '0');
+                        }
+                        result[n++] = (byte) value;
+                    } else {
+                        result[n++] = '\\';
+                        result[n++] = c;
+                    }
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /** Decodes the {@code raw-unicode-escape} encoding of a latin-1 string. */
+    private static String decodeRawUnicodeEscape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        int len = text.length();
+        for (int i = 0; i < len;) {
+            char c = text.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                i++;
+                continue;
+            }
+            // only an odd number of backslashes starts an escape
+            int start = i;
+            while (i < len && text.charAt(i) == '\\') {
+                sb.append('\\');
+                i++;
+            }
+            if (((i - start) & 1) == 0 || i >= len || (text.charAt(i) != 'u' && text.charAt(i) != 'U')) {
+                continue;
+            }
+            int count = text.charAt(i) == 'u' ? 4 : 8;
+            int cp = -1;
+            if (i + 1 + count <= len) {
+                try {
+                    cp = Integer.parseUnsignedInt(text.substring(i + 1, i + 1 + count), 16);
+                } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                    cp = -1;
+                }
+            }
+            if (cp < 0 || cp > Character.MAX_CODE_POINT) {
+                // let the codec produce the error
+                Object codecs = importModule("_codecs");
+                Object bytes = PythonObjectFactory.getUncached().createBytes(text.getBytes(StandardCharsets.ISO_8859_1));
+                Object result = call(PickleUtils.getAttribute(codecs, "raw_unicode_escape_decode"), bytes);
+                return CastToJavaStringNode.getUncached().execute(getTupleItems((PTuple) result)[0]);
+            }
+            sb.setLength(sb.length() - 1);
+            sb.appendCodePoint(cp);
+            i += 1 + count;
+        }
+        return sb.toString();
+    }
+
+    private Object decodeUTF8(int size) {
+        int start = read(size);
+        try {
+            return StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT).decode(
+                            ByteBuffer.wrap(input, start, size)).toString();
+        } catch (CharacterCodingException e) {
+            // lone surrogates are allowed
+            Object bytes = PythonObjectFactory.getUncached().createBytes(Arrays.copyOfRange(input, start, start + size));
+            return PythonObjectLibrary.getUncached().lookupAndCallRegularMethod(bytes, null, "decode", "utf-8", "surrogatepass");
+        }
+    }
+
+    private static String decodeUTF8Line(String line) {
+        byte[] data = line.getBytes(StandardCharsets.ISO_8859_1);
+        try {
+            return StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT).decode(ByteBuffer.wrap(data)).toString();
+        } catch (CharacterCodingException e) {
+            Object bytes = PythonObjectFactory.getUncached().createBytes(data);
+            return CastToJavaStringNode.getUncached().execute(PythonObjectLibrary.getUncached().lookupAndCallRegularMethod(bytes, null, "decode", "utf-8"));
+        }
+    }
+
+    // buffers
+
+    private void loadNextBuffer() {
+        if (buffers == null) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.PICKLE_STREAM_REFERS_TO_OUT_OF_BAND_DATA);
+        }
+        Object buffer = next(buffers);
+        if (buffer == null) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NOT_ENOUGH_OUT_OF_BAND_BUFFERS);
+        }
+        push(buffer);
+    }
+
+    /**
+     * Makes the buffer on top of the stack read-only. Instead of a read-only {@code memoryview}, a
+     * writable buffer is wrapped into a read-only {@code PickleBuffer}, which shares its data.
+     */
+    private void loadReadonlyBuffer() {
+        Object buffer = top();
+        if (buffer instanceof PBytes || buffer instanceof PPickleBuffer && ((PPickleBuffer) buffer).isReadonly()) {
+            return;
+        }
+        Object owner = buffer instanceof PPickleBuffer ? ((PPickleBuffer) buffer).getOwner() : buffer;
+        if (owner == null) {
+            throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.OPERATION_FORBIDDEN_ON_RELEASED_PICKLEBUFFER);
+        }
+        if (!PythonObjectLibrary.getUncached().isBuffer(owner)) {
+            throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, owner);
+        }
+        stack[stackLen - 1] = PythonObjectFactory.getUncached().createPickleBuffer(PythonBuiltinClassType.PPickleBuffer, owner, true);
+    }
+
+    // containers
+
+    private void loadCountedTuple(int n) {
+        if (stackLen - fence < n) {
+            throw stackUnderflow();
+        }
+        push(popTuple(stackLen - n));
+    }
+
+    private void loadDict() {
+        int start = marker();
+        if ((stackLen - start) % 2 != 0) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.ODD_NUMBER_OF_ITEMS_FOR_S, "DICT");
+        }
+        Object[] items = popItems(start);
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage storage = PDict.createNewStorage(false, items.length / 2);
+        for (int i = 0; i < items.length; i += 2) {
+            storage = lib.setItem(storage, items[i], items[i + 1]);
+        }
+        push(PythonObjectFactory.getUncached().createDict(storage));
+    }
+
+    private void loadFrozenSet() {
+        Object[] items = popItems(marker());
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage storage = PDict.createNewStorage(false, items.length);
+        for (Object item : items) {
+            storage = lib.setItem(storage, item, PNone.NONE);
+        }
+        push(PythonObjectFactory.getUncached().createFrozenSet(storage));
+    }
+
+    private void doAppend(int x) {
+        int len = stackLen;
+        if (x > len || x <= fence) {
+            throw stackUnderflow();
+        }
+        if (len == x) {
+            return;
+        }
+        Object list = stack[x - 1];
+        if (list instanceof PList && isBuiltinType(getPythonClass(list), PythonBuiltinClassType.PList)) {
+            ListNodes.AppendNode append = ListNodes.AppendNode.getUncached();
+            for (int i = x; i < len; i++) {
+                append.execute((PList) list, stack[i]);
+            }
+            truncate(x);
+            return;
+        }
+        Object extend = lookupAttribute(list, "extend");
+        if (extend != PNone.NO_VALUE) {
+            call(extend, PythonObjectFactory.getUncached().createList(popItems(x)));
+        } else {
+            // PEP 307 requires extend(), but older types may only have append()
+            Object append = PickleUtils.getAttribute(list, "append");
+            for (int i = x; i < len; i++) {
+                call(append, stack[i]);
+            }
+            truncate(x);
+        }
+    }
+
+    private void doSetItems(int x) {
+        int len = stackLen;
+        if (x > len || x <= fence) {
+            throw stackUnderflow();
+        }
+        if (len == x) {
+            return;
+        }
+        if ((len - x) % 2 != 0) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.ODD_NUMBER_OF_ITEMS_FOR_S, "SETITEMS");
+        }
+        Object dict = stack[x - 1];
+        if (dict instanceof PDict && isBuiltinType(getPythonClass(dict), PythonBuiltinClassType.PDict)) {
+            setDictItems((PDict) dict, x, len);
+        } else {
+            PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+            for (int i = x + 1; i < len; i += 2) {
+                lib.lookupAndCallSpecialMethod(dict, null, "__setitem__", stack[i - 1], stack[i]);
+            }
+        }
+        truncate(x);
+    }
+
+    private void setDictItems(PDict dict, int start, int end) {
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage storage = dict.getDictStorage();
+        for (int i = start + 1; i < end; i += 2) {
+            storage = lib.setItem(storage, stack[i - 1], stack[i]);
+        }
+        dict.setDictStorage(storage);
+    }
+
+    private void loadAddItems() {
+        int mark = marker();
+        int len = stackLen;
+        if (mark > len || mark <= fence) {
+            throw stackUnderflow();
+        }
+        if (len == mark) {
+            return;
+        }
+        Object set = stack[mark - 1];
+        if (set instanceof PSet) {
+            HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+            HashingStorage storage = ((PSet) set).getDictStorage();
+            for (int i = mark; i < len; i++) {
+                storage = lib.setItem(storage, stack[i], PNone.NONE);
+            }
+            ((PSet) set).setDictStorage(storage);
+        } else {
+            Object add = PickleUtils.getAttribute(set, "add");
+            for (int i = mark; i < len; i++) {
+                call(add, stack[i]);
+            }
+        }
+        truncate(mark);
+    }
+
+    // objects
+
+    private static Object instantiate(Object cls, PTuple args) {
+        Object[] items = getTupleItems(args);
+        if (items.length == 0 && isType(cls) && lookupAttribute(cls, "__getinitargs__") == PNone.NO_VALUE) {
+            return call(PickleUtils.getAttribute(cls, "__new__"), cls);
+        }
+        return CallNode.getUncached().execute(cls, items);
+    }
+
+    private void loadInst() {
+        int mark = marker();
+        String moduleName = readLine(2);
+        String className = readLine(2);
+        Object cls = callFindClass(moduleName, className);
+        push(instantiate(cls, popTuple(mark)));
+    }
+
+    private void loadObj() {
+        int mark = marker();
+        if (stackLen - mark < 1) {
+            throw stackUnderflow();
+        }
+        PTuple args = popTuple(mark + 1);
+        Object cls = pop();
+        push(instantiate(cls, args));
+    }
+
+    private void loadNewObj() {
+        Object args = pop();
+        if (!(args instanceof PTuple)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NEWOBJ_EXPECTED_ARG_TUPLE);
+        }
+        Object cls = pop();
+        if (!isType(cls)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NEWOBJ_CLASS_ARG_ISNT_TYPE);
+        }
+        Object[] items = getTupleItems((PTuple) args);
+        Object[] newArgs = new Object[items.length + 1];
+        newArgs[0] = cls;
+        System.arraycopy(items, 0, newArgs, 1, items.length);
+        push(CallNode.getUncached().execute(PickleUtils.getAttribute(cls, "__new__"), newArgs));
+    }
+
+    private void loadNewObjEx() {
+        Object kwargs = pop();
+        Object args = pop();
+        Object cls = pop();
+        if (!isType(cls)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NEWOBJ_EX_S_ARGUMENT_MUST_BE_S_NOT_P, "class", "type", cls);
+        }
+        if (!(args instanceof PTuple)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NEWOBJ_EX_S_ARGUMENT_MUST_BE_S_NOT_P, "args", "tuple", args);
+        }
+        if (!(kwargs instanceof PDict)) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NEWOBJ_EX_S_ARGUMENT_MUST_BE_S_NOT_P, "kwargs", "dict", kwargs);
+        }
+        Object[] items = getTupleItems((PTuple) args);
+        Object[] newArgs = new Object[items.length + 1];
+        newArgs[0] = cls;
+        System.arraycopy(items, 0, newArgs, 1, items.length);
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage kwStorage = ((PDict) kwargs).getDictStorage();
+        PKeyword[] keywords = new PKeyword[lib.length(kwStorage)];
+        int i = 0;
+        for (HashingStorage.DictEntry entry : lib.entries(kwStorage)) {
+            keywords[i++] = new PKeyword(CastToJavaStringNode.getUncached().execute(entry.key), entry.value);
+        }
+        push(CallNode.getUncached().execute(PickleUtils.getAttribute(cls, "__new__"), newArgs, keywords));
+    }
+
+    private void loadBuild() {
+        if (stackLen - 2 < fence) {
+            throw stackUnderflow();
+        }
+        Object state = pop();
+        Object inst = top();
+        Object setstate = lookupAttribute(inst, "__setstate__");
+        if (setstate != PNone.NO_VALUE) {
+            call(setstate, state);
+            return;
+        }
+        // the default __setstate__; protocol 2 added an optional slot state dict
+        Object slotstate = null;
+        if (state instanceof PTuple) {
+            Object[] pair = getTupleItems((PTuple) state);
+            if (pair.length == 2) {
+                state = pair[0];
+                slotstate = pair[1];
+            }
+        }
+        if (state != PNone.NONE) {
+            if (!(state instanceof PDict)) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.STATE_IS_NOT_A_DICT);
+            }
+            Object dict = PickleUtils.getAttribute(inst, "__dict__");
+            HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+            if (dict instanceof PDict) {
+                HashingStorage storage = ((PDict) dict).getDictStorage();
+                for (HashingStorage.DictEntry entry : lib.entries(((PDict) state).getDictStorage())) {
+                    storage = lib.setItem(storage, entry.key, entry.value);
+                }
+                ((PDict) dict).setDictStorage(storage);
+            } else {
+                for (HashingStorage.DictEntry entry : lib.entries(((PDict) state).getDictStorage())) {
+                    PythonObjectLibrary.getUncached().lookupAndCallSpecialMethod(dict, null, "__setitem__", entry.key, entry.value);
+                }
+            }
+        }
+        if (slotstate != null) {
+            if (!(slotstate instanceof PDict)) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.SLOT_STATE_IS_NOT_A_DICT);
+            }
+            HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+            Object setattr = getCore().lookupBuiltinModule("builtins").getAttribute("setattr");
+            for (HashingStorage.DictEntry entry : lib.entries(((PDict) slotstate).getDictStorage())) {
+                call(setattr, inst, entry.key, entry.value);
+            }
+        }
+    }
+
+    private Object persistentLoad(Object pid) {
+        if (persistentLoad == null) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.NO_PERSISTENT_LOAD_FUNCTION);
+        }
+        return call(persistentLoad, pid);
+    }
+
+    private Object callFindClass(Object moduleName, Object name) {
+        return PythonObjectLibrary.getUncached().lookupAndCallRegularMethod(this, null, "find_class", moduleName, name);
+    }
+
+    private void loadExtension(int n) {
+        int code = (int) readLE(n);
+        if (code <= 0) {
+            throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.EXT_SPECIFIES_CODE_LE_0);
+        }
+        if (extensionCache == null) {
+            Object copyreg = importModule("copyreg");
+            extensionCache = (PDict) PickleUtils.getAttribute(copyreg, "_extension_cache");
+            invertedRegistry = (PDict) PickleUtils.getAttribute(copyreg, "_inverted_registry");
+        }
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        Object obj = lib.getItem(extensionCache.getDictStorage(), code);
+        if (obj != null) {
+            push(obj);
+            return;
+        }
+        Object pair = lib.getItem(invertedRegistry.getDictStorage(), code);
+        if (pair == null) {
+            throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.UNREGISTERED_EXTENSION_CODE_D, code);
+        }
+        Object[] items = pair instanceof PTuple ? getTupleItems((PTuple) pair) : null;
+        if (items == null || items.length != 2 || !isString(items[0]) || !isString(items[1])) {
+            throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.INVERTED_REGISTRY_D_ISNT_2_TUPLE_OF_STRINGS, code);
+        }
+        obj = callFindClass(items[0], items[1]);
+        extensionCache.setDictStorage(lib.setItem(extensionCache.getDictStorage(), code, obj));
+        push(obj);
+    }
+
+    private static boolean isString(Object obj) {
+        return obj instanceof String || obj instanceof PString;
+    }
+
+    /** The default implementation of {@code find_class}. */
+    @TruffleBoundary
+    public Object findClass(Object moduleNameObj, Object nameObj) {
+        Object moduleName = moduleNameObj;
+        Object name = nameObj;
+        if (protocol < 3 && fixImports) {
+            if (nameMapping2To3 == null) {
+                Object compatPickle = importModule("_compat_pickle");
+                nameMapping2To3 = (PDict) PickleUtils.getAttribute(compatPickle, "NAME_MAPPING");
+                importMapping2To3 = (PDict) PickleUtils.getAttribute(compatPickle, "IMPORT_MAPPING");
+            }
+            HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+            Object key = PythonObjectFactory.getUncached().createTuple(new Object[]{moduleName, name});
+            Object mapped = lib.getItem(nameMapping2To3.getDictStorage(), key);
+            if (mapped instanceof PTuple) {
+                Object[] pair = getTupleItems((PTuple) mapped);
+                moduleName = pair[0];
+                name = pair[1];
+            } else {
+                Object mappedModule = lib.getItem(importMapping2To3.getDictStorage(), moduleName);
+                if (mappedModule != null) {
+                    moduleName = mappedModule;
+                }
+            }
+        }
+        Object module = importModule(moduleName);
+        String nameString = CastToJavaStringNode.getUncached().execute(name);
+        if (protocol >= 4) {
+            return getDeepAttribute(module, getDottedPath(module, nameString), null);
+        }
+        return PickleUtils.getAttribute(module, nameString);
+    }
+}
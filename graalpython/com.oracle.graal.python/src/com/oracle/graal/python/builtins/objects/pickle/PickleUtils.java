@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.pickle;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.exception.PBaseException;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.BuiltinNames;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.SpecialMethodNames;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.control.GetIteratorExpressionNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+
+/**
+ * Opcodes and slow-path helpers shared by {@link PPickler} and {@link PUnpickler}. The opcode names
+ * and values are those of {@code Lib/pickle.py}.
+ */
+public final class PickleUtils {
+    public static final int DEFAULT_PROTOCOL = 4;
+    public static final int HIGHEST_PROTOCOL = 5;
+
+    static final byte MARK = '(';
+    static final byte STOP = '.';
+    static final byte POP = '0';
+    static final byte POP_MARK = '1';
+    static final byte DUP = '2';
+    static final byte FLOAT = 'F';
+    static final byte INT = 'I';
+    static final byte BININT = 'J';
+    static final byte BININT1 = 'K';
+    static final byte LONG = 'L';
+    static final byte BININT2 = 'M';
+    static final byte NONE = 'N';
+    static final byte PERSID = 'P';
+    static final byte BINPERSID = 'Q';
+    static final byte REDUCE = 'R';
+    static final byte STRING = 'S';
+    static final byte BINSTRING = 'T';
+    static final byte SHORT_BINSTRING = 'U';
+    static final byte UNICODE = 'V';
+    static final byte BINUNICODE = 'X';
+    static final byte APPEND = 'a';
+    static final byte BUILD = 'b';
+    static final byte GLOBAL = 'c';
+    static final byte DICT = 'd';
+    static final byte EMPTY_DICT = '}';
+    static final byte APPENDS = 'e';
+    static final byte GET = 'g';
+    static final byte BINGET = 'h';
+    static final byte INST = 'i';
+    static final byte LONG_BINGET = 'j';
+    static final byte LIST = 'l';
+    static final byte EMPTY_LIST = ']';
+    static final byte OBJ = 'o';
+    static final byte PUT = 'p';
+    static final byte BINPUT = 'q';
+    static final byte LONG_BINPUT = 'r';
+    static final byte SETITEM = 's';
+    static final byte TUPLE = 't';
+    static final byte EMPTY_TUPLE = ')';
+    static final byte SETITEMS = 'u';
+    static final byte BINFLOAT = 'G';
+
+    // protocol 2
+    static final byte PROTO = (byte) 0x80;
+    static final byte NEWOBJ = (byte) 0x81;
+    static final byte EXT1 = (byte) 0x82;
+    static final byte EXT2 = (byte) 0x83;
+    static final byte EXT4 = (byte) 0x84;
+    static final byte TUPLE1 = (byte) 0x85;
+    static final byte TUPLE2 = (byte) 0x86;
+    static final byte TUPLE3 = (byte) 0x87;
+    static final byte NEWTRUE = (byte) 0x88;
+    static final byte NEWFALSE = (byte) 0x89;
+    static final byte LONG1 = (byte) 0x8a;
+    static final byte LONG4 = (byte) 0x8b;
+
+    // protocol 3
+    static final byte BINBYTES = 'B';
+    static final byte SHORT_BINBYTES = 'C';
+
+    // protocol 4
+    static final byte SHORT_BINUNICODE = (byte) 0x8c;
+    static final byte BINUNICODE8 = (byte) 0x8d;
+    static final byte BINBYTES8 = (byte) 0x8e;
+    static final byte EMPTY_SET = (byte) 0x8f;
+    static final byte ADDITEMS = (byte) 0x90;
+    static final byte FROZENSET = (byte) 0x91;
+    static final byte NEWOBJ_EX = (byte) 0x92;
+    static final byte STACK_GLOBAL = (byte) 0x93;
+    static final byte MEMOIZE = (byte) 0x94;
+    static final byte FRAME = (byte) 0x95;
+
+    // protocol 5
+    static final byte BYTEARRAY8 = (byte) 0x96;
+    static final byte NEXT_BUFFER = (byte) 0x97;
+    static final byte READONLY_BUFFER = (byte) 0x98;
+
+    static final int FRAME_SIZE_MIN = 4;
+    static final int FRAME_SIZE_TARGET = 64 * 1024;
+    static final int FRAME_HEADER_SIZE = 9;
+    static final int BATCHSIZE = 1000;
+
+    private PickleUtils() {
+    }
+
+    static PException raise(PythonBuiltinClassType type, String format, Object... args) {
+        throw PRaiseNode.getUncached().raise(type, format, args);
+    }
+
+    /** Raises an exception of the given type whose only argument is {@code arg}, e.g. a memo key. */
+    static PException raiseWithArg(PythonBuiltinClassType type, Object arg) {
+        PythonObjectFactory factory = PythonObjectFactory.getUncached();
+        PBaseException exc = factory.createBaseException(type, factory.createTuple(new Object[]{arg}));
+        throw PRaiseNode.raise(PRaiseNode.getUncached(), exc, PythonOptions.isPExceptionWithJavaStacktrace(PythonLanguage.getCurrent()));
+    }
+
+    static PythonCore getCore() {
+        return PythonLanguage.getContext().getCore();
+    }
+
+    /**
+     * Imports a module like {@code PyImport_Import}, i.e., returns the named (sub)module itself and
+     * not the top-level package.
+     */
+    static Object importModule(Object name) {
+        PythonObjectFactory factory = PythonObjectFactory.getUncached();
+        Object importFunc = getCore().lookupBuiltinModule(BuiltinNames.BUILTINS).getAttribute(BuiltinNames.__IMPORT__);
+        Object top = CallNode.getUncached().execute(importFunc, name, PNone.NONE, PNone.NONE, factory.createList(new Object[]{"__doc__"}));
+        Object module = HashingStorageLibrary.getUncached().getItem(PythonLanguage.getContext().getSysModules().getDictStorage(), name);
+        return module != null ? module : top;
+    }
+
+    static Object getModuleAttribute(String module, String name) {
+        return getAttribute(importModule(module), name);
+    }
+
+    /** Returns the attribute or {@link PNone#NO_VALUE} if there is no such attribute. */
+    static Object lookupAttribute(Object obj, String name) {
+        return PythonObjectLibrary.getUncached().lookupAttribute(obj, null, name);
+    }
+
+    static Object getAttribute(Object obj, String name) {
+        return PythonObjectLibrary.getUncached().lookupAttributeStrict(obj, null, name);
+    }
+
+    /**
+     * Returns the backing array of a byte storage without copying; only the first
+     * {@code storage.length()} bytes are valid.
+     */
+    static byte[] getInternalBytes(SequenceStorage storage) {
+        if (storage instanceof ByteSequenceStorage) {
+            return ((ByteSequenceStorage) storage).getInternalByteArray();
+        }
+        SequenceStorageNodes.GetItemScalarNode getItemNode = SequenceStorageNodes.GetItemScalarNode.getUncached();
+        byte[] result = new byte[storage.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) getItemNode.executeInt(storage, i);
+        }
+        return result;
+    }
+
+    static Object call(Object callable, Object... args) {
+        return CallNode.getUncached().execute(callable, args);
+    }
+
+    static boolean isTrue(Object obj) {
+        return PythonObjectLibrary.getUncached().isTrue(obj);
+    }
+
+    static String repr(Object obj) {
+        Object result = PythonObjectLibrary.getUncached().lookupAndCallSpecialMethod(obj, null, SpecialMethodNames.__REPR__);
+        return CastToJavaStringNode.getUncached().execute(result);
+    }
+
+    /** Returns the value of an object whose type is exactly {@code str}, {@code null} otherwise. */
+    static String asExactString(Object obj) {
+        if (obj instanceof String) {
+            return (String) obj;
+        } else if (obj instanceof PString && isBuiltinType(getPythonClass(obj), PythonBuiltinClassType.PString)) {
+            return CastToJavaStringNode.getUncached().execute(obj);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the type of {@code obj}. Builtin types are resolved to their class objects, so that
+     * the result can be compared by identity and used as a dictionary key.
+     */
+    static Object getPythonClass(Object obj) {
+        Object clazz = PythonObjectLibrary.getUncached().getLazyPythonClass(obj);
+        if (clazz instanceof PythonBuiltinClassType) {
+            return getCore().lookupType((PythonBuiltinClassType) clazz);
+        }
+        return clazz;
+    }
+
+    static boolean isBuiltinType(Object clazz, PythonBuiltinClassType type) {
+        return IsBuiltinClassProfile.profileClassSlowPath(clazz, type);
+    }
+
+    static boolean isType(Object obj) {
+        return PythonObjectLibrary.getUncached().isLazyPythonClass(obj);
+    }
+
+    /** Compares two types by identity, treating a builtin type and its class object as the same. */
+    static boolean isSameType(Object a, Object b) {
+        Object left = a instanceof PythonBuiltinClassType ? getCore().lookupType((PythonBuiltinClassType) a) : a;
+        Object right = b instanceof PythonBuiltinClassType ? getCore().lookupType((PythonBuiltinClassType) b) : b;
+        return left == right;
+    }
+
+    static Object getIterator(Object obj) {
+        return GetIteratorExpressionNode.GetIteratorWithoutFrameNode.getUncached().executeWithGlobalState(obj);
+    }
+
+    /** Returns the next item of {@code iterator} or {@code null} if it is exhausted. */
+    static Object next(Object iterator) {
+        try {
+            return PythonObjectLibrary.getUncached().lookupAndCallRegularMethod(iterator, null, SpecialMethodNames.__NEXT__);
+        } catch (PException e) {
+            e.expectStopIteration(IsBuiltinClassProfile.getUncached());
+            return null;
+        }
+    }
+
+    static Object[] getTupleItems(PTuple tuple) {
+        SequenceStorage storage = tuple.getSequenceStorage();
+        Object[] items = new Object[storage.length()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = SequenceStorageNodes.GetItemScalarNode.getUncached().execute(storage, i);
+        }
+        return items;
+    }
+
+    /**
+     * Splits a qualified name for {@code getattribute}, rejecting names of objects that are local
+     * to a function.
+     */
+    static String[] getDottedPath(Object obj, String name) {
+        String[] path = name.split("\\.", -1);
+        for (String subpath : path) {
+            if ("<locals>".equals(subpath)) {
+                if (obj == null) {
+                    throw raise(PythonBuiltinClassType.AttributeError, ErrorMessages.CANT_PICKLE_LOCAL_OBJECT_S, repr(name));
+                } else {
+                    throw raise(PythonBuiltinClassType.AttributeError, ErrorMessages.CANT_GET_LOCAL_ATTRIBUTE_S_ON_S, repr(name), repr(obj));
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Follows a dotted path starting at {@code obj}. If {@code parent} is not {@code null}, its
+     * first element receives the object that holds the last attribute.
+     */
+    static Object getDeepAttribute(Object obj, String[] path, Object[] parent) {
+        Object current = obj;
+        Object owner = null;
+        for (String subpath : path) {
+            owner = current;
+            current = getAttribute(current, subpath);
+        }
+        if (parent != null) {
+            parent[0] = owner;
+        }
+        return current;
+    }
+}
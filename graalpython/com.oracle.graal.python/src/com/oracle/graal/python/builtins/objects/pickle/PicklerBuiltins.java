@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.pickle;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PPickler)
+public class PicklerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PicklerBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Validates the arguments of {@code Pickler(...)}, {@code dump} and {@code dumps}, and
+     * initializes {@code pickler}. {@code file} is {@code null} for {@code dumps}.
+     */
+    @TruffleBoundary
+    public static void initPickler(PPickler pickler, Object file, Object protocol, Object fixImports, Object bufferCallback) {
+        PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+        int proto = PickleUtils.DEFAULT_PROTOCOL;
+        if (!PGuards.isPNone(protocol)) {
+            proto = lib.asSize(protocol);
+            if (proto < 0) {
+                proto = PickleUtils.HIGHEST_PROTOCOL;
+            } else if (proto > PickleUtils.HIGHEST_PROTOCOL) {
+                throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.ValueError, ErrorMessages.PICKLE_PROTOCOL_MUST_BE_LE_D, PickleUtils.HIGHEST_PROTOCOL);
+            }
+        }
+        Object callback = PGuards.isPNone(bufferCallback) ? PNone.NONE : bufferCallback;
+        if (callback != PNone.NONE && proto < 5) {
+            throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.ValueError, ErrorMessages.BUFFER_CALLBACK_NEEDS_PROTOCOL_5);
+        }
+        Object write = null;
+        if (file != null) {
+            write = lib.lookupAttribute(file, null, "write");
+            if (write == PNone.NO_VALUE) {
+                throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.TypeError, ErrorMessages.FILE_MUST_HAVE_WRITE_ATTR);
+            }
+        }
+        boolean fix = fixImports == PNone.NO_VALUE || lib.isTrue(fixImports);
+        pickler.init(proto, write, callback, fix);
+    }
+
+    private static Object lookupHook(PPickler self, String name) {
+        Object hook = PythonObjectLibrary.getUncached().lookupAttribute(self, null, name);
+        return hook == PNone.NO_VALUE || hook == PNone.NONE ? null : hook;
+    }
+
+    // Pickler.__init__(file, protocol=None, fix_imports=True, buffer_callback=None)
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "file", "protocol", "fix_imports", "buffer_callback"})
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonBuiltinNode {
+        @Specialization
+        static PNone init(PPickler self, Object file, Object protocol, Object fixImports, Object bufferCallback) {
+            initPickler(self, file, protocol, fixImports, bufferCallback);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "dump", minNumOfPositionalArgs = 2, parameterNames = {"$self", "obj"})
+    @GenerateNodeFactory
+    abstract static class DumpNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object dump(PPickler self, Object obj) {
+            if (!self.isInitialized()) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.S_INIT_WAS_NOT_CALLED_BY_P, "Pickler", self);
+            }
+            return doDump(self, obj);
+        }
+
+        @TruffleBoundary
+        private static Object doDump(PPickler self, Object obj) {
+            // the hooks are only defined by subclasses
+            self.setHooks(lookupHook(self, "persistent_id"), lookupHook(self, "reducer_override"), lookupHook(self, "dispatch_table"));
+            return self.dump(obj);
+        }
+    }
+
+    @Builtin(name = "clear_memo", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ClearMemoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone clearMemo(PPickler self) {
+            self.clearMemo();
+            return PNone.NONE;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.pickle;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.control.GetIteratorExpressionNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PUnpickler)
+public class UnpicklerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return UnpicklerBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Validates the arguments of {@code Unpickler(...)}, {@code load} and {@code loads}, and
+     * initializes {@code unpickler}. {@code file} is {@code null} for {@code loads}.
+     */
+    @TruffleBoundary
+    public static void initUnpickler(PUnpickler unpickler, Object file, Object fixImports, Object encoding, Object errors, Object buffers) {
+        PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+        Object read = null;
+        Object readline = null;
+        Object peek = null;
+        if (file != null) {
+            peek = lib.lookupAttribute(file, null, "peek");
+            read = lib.lookupAttribute(file, null, "read");
+            readline = lib.lookupAttribute(file, null, "readline");
+            if (read == PNone.NO_VALUE || readline == PNone.NO_VALUE) {
+                throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.TypeError, ErrorMessages.FILE_MUST_HAVE_READ_AND_READLINE_ATTRS);
+            }
+        }
+        boolean fix = fixImports == PNone.NO_VALUE || lib.isTrue(fixImports);
+        String enc = encoding == PNone.NO_VALUE ? "ASCII" : CastToJavaStringNode.getUncached().execute(encoding);
+        String err = errors == PNone.NO_VALUE ? "strict" : CastToJavaStringNode.getUncached().execute(errors);
+        Object buffersIterator = PGuards.isPNone(buffers) ? PNone.NONE : GetIteratorExpressionNode.GetIteratorWithoutFrameNode.getUncached().executeWithGlobalState(buffers);
+        unpickler.init(read, readline, peek == PNone.NO_VALUE ? null : peek, fix, enc, err, buffersIterator);
+    }
+
+    /** Sets the data passed to {@code loads}; {@code bytes} and {@code bytearray} are not copied. */
+    @TruffleBoundary
+    public static void setInput(PUnpickler unpickler, Object data) {
+        if (data instanceof PBytesLike) {
+            SequenceStorage storage = ((PBytesLike) data).getSequenceStorage();
+            unpickler.setInput(PickleUtils.getInternalBytes(storage), storage.length());
+            return;
+        }
+        PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+        if (!(data instanceof String || data instanceof PString) && lib.isBuffer(data)) {
+            try {
+                unpickler.setInput(lib.getBufferBytes(data), lib.getBufferLength(data));
+                return;
+            } catch (UnsupportedMessageException e) {
+                // fall through
+            }
+        }
+        throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, data);
+    }
+
+    @TruffleBoundary
+    public static Object load(PUnpickler unpickler) {
+        Object persistentLoad = PythonObjectLibrary.getUncached().lookupAttribute(unpickler, null, "persistent_load");
+        unpickler.setPersistentLoad(persistentLoad == PNone.NO_VALUE ? null : persistentLoad);
+        return unpickler.load();
+    }
+
+    // Unpickler.__init__(file, *, fix_imports=True, encoding="ASCII", errors="strict", buffers=())
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "file"}, varArgsMarker = true, keywordOnlyNames = {"fix_imports", "encoding", "errors", "buffers"})
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonBuiltinNode {
+        @Specialization
+        static PNone init(PUnpickler self, Object file, Object fixImports, Object encoding, Object errors, Object buffers) {
+            initUnpickler(self, file, fixImports, encoding, errors, buffers);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "load", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class LoadNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object load(PUnpickler self) {
+            if (!self.isInitialized()) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.S_INIT_WAS_NOT_CALLED_BY_P, "Unpickler", self);
+            }
+            return UnpicklerBuiltins.load(self);
+        }
+    }
+
+    @Builtin(name = "find_class", minNumOfPositionalArgs = 3, parameterNames = {"$self", "module_name", "global_name"})
+    @GenerateNodeFactory
+    abstract static class FindClassNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object findClass(PUnpickler self, Object moduleName, Object globalName) {
+            return self.findClass(moduleName, globalName);
+        }
+    }
+}
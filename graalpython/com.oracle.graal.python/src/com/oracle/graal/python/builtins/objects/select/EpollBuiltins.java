@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2019, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ENTER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EXIT__;
+
+import java.io.IOException;
+import java.nio.channels.Channel;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+/**
+ * {@code select.epoll} on top of the same long-lived selector as {@code select.poll}. Java's
+ * selectors are level-triggered, so {@code EPOLLET} is accepted but has no effect.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PEpoll)
+public class EpollBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return EpollBuiltinsFactory.getFactories();
+    }
+
+    static void checkOpen(PythonBuiltinBaseNode node, PPoll self) {
+        if (self.isClosed()) {
+            throw node.raise(PythonBuiltinClassType.ValueError, ErrorMessages.IO_OPERATION_ON_CLOSED_EPOLL);
+        }
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends PythonTernaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object register(VirtualFrame frame, PPoll self, Object fdObj, Object eventmask,
+                        @CachedLibrary("fdObj") PythonObjectLibrary fdLib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary maskLib) {
+            checkOpen(this, self);
+            int fd = fdLib.asFileDescriptorWithState(fdObj, PArguments.getThreadState(frame));
+            int events = PGuards.isNoValue(eventmask) ? PollBuiltins.DEFAULT_EVENTS : (int) maskLib.asJavaLongWithState(eventmask, PArguments.getThreadState(frame));
+            Channel channel = getContext().getResources().getFileChannel(fd);
+            if (channel == null) {
+                throw raiseOSError(frame, OSErrorEnum.EBADF);
+            }
+            try {
+                if (!self.register(fd, channel, events)) {
+                    throw raiseOSError(frame, OSErrorEnum.EEXIST);
+                }
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends PythonTernaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object modify(VirtualFrame frame, PPoll self, Object fdObj, Object eventmask,
+                        @CachedLibrary("fdObj") PythonObjectLibrary fdLib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary maskLib) {
+            checkOpen(this, self);
+            int fd = fdLib.asFileDescriptorWithState(fdObj, PArguments.getThreadState(frame));
+            int events = (int) maskLib.asJavaLongWithState(eventmask, PArguments.getThreadState(frame));
+            if (!self.modify(fd, events)) {
+                throw raiseOSError(frame, OSErrorEnum.ENOENT);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object unregister(VirtualFrame frame, PPoll self, Object fdObj,
+                        @CachedLibrary("fdObj") PythonObjectLibrary fdLib) {
+            checkOpen(this, self);
+            int fd = fdLib.asFileDescriptorWithState(fdObj, PArguments.getThreadState(frame));
+            try {
+                if (!self.unregister(fd)) {
+                    throw raiseOSError(frame, OSErrorEnum.ENOENT);
+                }
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout", "maxevents"})
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonBuiltinNode {
+        @Specialization
+        PList poll(VirtualFrame frame, PPoll self, Object timeout, Object maxevents,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary timeoutLib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary maxeventsLib) {
+            checkOpen(this, self);
+            // the timeout is given in seconds; None or a negative value block indefinitely
+            long timeoutMillis = -1;
+            if (!PGuards.isPNone(timeout)) {
+                timeoutMillis = (long) Math.ceil(timeoutLib.asJavaDoubleWithState(timeout, PArguments.getThreadState(frame)) * 1000.0);
+            }
+            int maxEvents = -1;
+            if (!PGuards.isPNone(maxevents)) {
+                maxEvents = maxeventsLib.asSizeWithState(maxevents, PArguments.getThreadState(frame));
+                if (maxEvents == 0 || maxEvents < -1) {
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.MAXEVENTS_MUST_BE_GREATER_THAN_ZERO, maxEvents);
+                }
+            }
+            try {
+                return PollBuiltins.toList(factory(), self.poll(timeoutMillis < 0 ? -1 : timeoutMillis, maxEvents));
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object close(VirtualFrame frame, PPoll self) {
+            try {
+                self.close();
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "closed", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ClosedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean closed(PPoll self) {
+            return self.isClosed();
+        }
+    }
+
+    @Builtin(name = __ENTER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EnterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PPoll enter(PPoll self) {
+            checkOpen(this, self);
+            return self;
+        }
+    }
+
+    @Builtin(name = __EXIT__, minNumOfPositionalArgs = 4)
+    @GenerateNodeFactory
+    abstract static class ExitNode extends PythonBuiltinNode {
+        @Specialization
+        Object exit(VirtualFrame frame, PPoll self, @SuppressWarnings("unused") Object type, @SuppressWarnings("unused") Object value, @SuppressWarnings("unused") Object traceback) {
+            try {
+                self.close();
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2019, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.socket.PSocket;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * Backs both {@code select.poll} and {@code select.epoll} objects. In contrast to
+ * {@code select.select}, which builds a fresh {@link Selector} for every call, the registered
+ * channels stay registered with one long-lived selector, so a {@link #poll} only costs the actual
+ * selection.
+ */
+public final class PPoll extends PythonBuiltinObject {
+    public static final int POLLIN = 0x001;
+    public static final int POLLPRI = 0x002;
+    public static final int POLLOUT = 0x004;
+    public static final int POLLERR = 0x008;
+    public static final int POLLHUP = 0x010;
+    public static final int POLLNVAL = 0x020;
+    public static final int POLLRDNORM = 0x040;
+    public static final int POLLRDBAND = 0x080;
+    public static final int POLLWRNORM = 0x100;
+    public static final int POLLWRBAND = 0x200;
+    public static final int POLLMSG = 0x400;
+    public static final int POLLRDHUP = 0x2000;
+
+    public static final int EPOLLEXCLUSIVE = 1 << 28;
+    public static final int EPOLLONESHOT = 1 << 30;
+    public static final int EPOLLET = 1 << 31;
+    public static final int EPOLL_CLOEXEC = 0x80000;
+
+    private static final int READ_EVENTS = POLLIN | POLLPRI | POLLRDNORM | POLLRDBAND;
+    private static final int WRITE_EVENTS = POLLOUT | POLLWRNORM | POLLWRBAND;
+
+    private static final class Registration {
+        private final int fd;
+        /** {@code null} if the channel cannot be selected on; such fds are always ready. */
+        private final SelectableChannel channel;
+        /** {@code false} if the fd did not refer to an open channel when it was registered. */
+        private final boolean valid;
+        private final boolean wasBlocking;
+        private final SelectionKey key;
+        private volatile int events;
+
+        private Registration(int fd, SelectableChannel channel, boolean valid, boolean wasBlocking, SelectionKey key, int events) {
+            this.fd = fd;
+            this.channel = channel;
+            this.valid = valid;
+            this.wasBlocking = wasBlocking;
+            this.key = key;
+            this.events = events;
+        }
+    }
+
+    /**
+     * The selector and the channels registered with it, which have to be released when the poll
+     * object is closed or collected.
+     */
+    private static final class SelectorResources implements Closeable {
+        private final Selector selector;
+        private final Map<Integer, Registration> registrations;
+
+        private SelectorResources(Selector selector, Map<Integer, Registration> registrations) {
+            this.selector = selector;
+            this.registrations = registrations;
+        }
+
+        @Override
+        public void close() throws IOException {
+            selector.close();
+            for (Registration registration : registrations.values()) {
+                if (registration.key != null) {
+                    restoreBlocking(registration);
+                }
+            }
+        }
+    }
+
+    /**
+     * Concurrent, so that {@link #poll} can read it without holding the monitor, which guards all
+     * modifications and is never held while selecting.
+     */
+    private final Map<Integer, Registration> registrations = new ConcurrentHashMap<>();
+    private final PollCleaner cleaner;
+    private SelectorResources resources;
+    private volatile int unselectableCount;
+    private volatile boolean closed;
+
+    public PPoll(Object clazz, Shape instanceShape, PollCleaner cleaner) {
+        super(clazz, instanceShape);
+        this.cleaner = cleaner;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Registers {@code fd} for the given poll events. The channel is switched to non-blocking mode
+     * while it is registered and restored on {@link #unregister}. A {@code null} channel registers
+     * an invalid fd, which is reported with {@link #POLLNVAL}.
+     *
+     * @return {@code false} if {@code fd} was already registered
+     */
+    @TruffleBoundary
+    public synchronized boolean register(int fd, Channel channel, int events) throws IOException {
+        if (registrations.containsKey(fd)) {
+            return false;
+        }
+        SelectableChannel selectable = toSelectable(channel);
+        Registration registration;
+        if (selectable != null) {
+            boolean wasBlocking = selectable.isBlocking();
+            selectable.configureBlocking(false);
+            Selector sel = getSelector();
+            // a concurrent poll would block the registration until it returns
+            sel.wakeup();
+            SelectionKey key = selectable.register(sel, interestOps(selectable, events));
+            registration = new Registration(fd, selectable, true, wasBlocking, key, events);
+            key.attach(registration);
+        } else {
+            registration = new Registration(fd, null, channel != null, false, null, events);
+            unselectableCount++;
+        }
+        registrations.put(fd, registration);
+        return true;
+    }
+
+    /**
+     * @return {@code false} if {@code fd} was not registered
+     */
+    @TruffleBoundary
+    public synchronized boolean modify(int fd, int events) {
+        Registration registration = registrations.get(fd);
+        if (registration == null) {
+            return false;
+        }
+        registration.events = events;
+        if (registration.key != null && registration.key.isValid()) {
+            registration.key.interestOps(interestOps(registration.channel, events));
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code false} if {@code fd} was not registered
+     */
+    @TruffleBoundary
+    public synchronized boolean unregister(int fd) throws IOException {
+        Registration registration = registrations.remove(fd);
+        if (registration == null) {
+            return false;
+        }
+        if (registration.key != null) {
+            registration.key.cancel();
+            // flush the cancelled key so that the channel may become blocking again
+            resources.selector.selectNow();
+            restoreBlocking(registration);
+        } else {
+            unselectableCount--;
+        }
+        return true;
+    }
+
+    /**
+     * Waits for events on the registered fds.
+     *
+     * @param timeoutMillis negative to block indefinitely, zero to return immediately
+     * @param maxEvents the maximum number of reported fds, negative for no limit
+     * @return pairs of {@code fd, revents}
+     */
+    @TruffleBoundary
+    public int[] poll(long timeoutMillis, int maxEvents) throws IOException {
+        Selector sel = getSelector();
+        if (unselectableCount > 0 || timeoutMillis == 0) {
+            sel.selectNow();
+        } else if (timeoutMillis < 0) {
+            sel.select();
+        } else {
+            sel.select(timeoutMillis);
+        }
+
+        int limit = maxEvents < 0 ? Integer.MAX_VALUE : maxEvents;
+        int[] result = new int[Math.min(limit, registrations.size()) * 2];
+        int n = 0;
+        Set<SelectionKey> selectedKeys = sel.selectedKeys();
+        synchronized (selectedKeys) {
+            Iterator<SelectionKey> selected = selectedKeys.iterator();
+            while (selected.hasNext() && n < result.length) {
+                SelectionKey key = selected.next();
+                Registration registration = (Registration) key.attachment();
+                int revents = key.isValid() ? readyEvents(key.readyOps(), registration.events) : POLLNVAL;
+                if (revents != 0) {
+                    result[n++] = registration.fd;
+                    result[n++] = revents;
+                    if ((registration.events & EPOLLONESHOT) != 0 && key.isValid()) {
+                        registration.events = 0;
+                        key.interestOps(0);
+                    }
+                }
+            }
+            // selection is level-triggered, so fds we could not report are selected again next time
+            selectedKeys.clear();
+        }
+        if (unselectableCount > 0) {
+            for (Registration registration : registrations.values()) {
+                if (n >= result.length) {
+                    break;
+                }
+                if (registration.channel == null) {
+                    int revents = registration.valid ? registration.events & (READ_EVENTS | WRITE_EVENTS) : POLLNVAL;
+                    if (revents != 0) {
+                        result[n++] = registration.fd;
+                        result[n++] = revents;
+                    }
+                }
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    @TruffleBoundary
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (resources != null) {
+            resources.close();
+        }
+        registrations.clear();
+        unselectableCount = 0;
+    }
+
+    private synchronized Selector getSelector() throws IOException {
+        if (resources == null) {
+            resources = new SelectorResources(Selector.open(), registrations);
+            cleaner.register(this, resources);
+        }
+        return resources.selector;
+    }
+
+    private static SelectableChannel toSelectable(Channel channel) {
+        if (channel instanceof PSocket) {
+            return ((PSocket) channel).getSelectableChannel();
+        } else if (channel instanceof SelectableChannel) {
+            return (SelectableChannel) channel;
+        }
+        return null;
+    }
+
+    private static int interestOps(SelectableChannel channel, int events) {
+        int valid = channel.validOps();
+        int ops = 0;
+        if ((events & READ_EVENTS) != 0) {
+            ops |= valid & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT);
+        }
+        if ((events & WRITE_EVENTS) != 0) {
+            ops |= valid & SelectionKey.OP_WRITE;
+            if (channel instanceof SocketChannel && ((SocketChannel) channel).isConnectionPending()) {
+                ops |= SelectionKey.OP_CONNECT;
+            }
+        }
+        return ops;
+    }
+
+    private static int readyEvents(int readyOps, int events) {
+        int revents = 0;
+        if ((readyOps & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT)) != 0) {
+            revents |= events & (POLLIN | POLLRDNORM);
+        }
+        if ((readyOps & (SelectionKey.OP_WRITE | SelectionKey.OP_CONNECT)) != 0) {
+            revents |= events & (POLLOUT | POLLWRNORM);
+        }
+        return revents;
+    }
+
+    private static void restoreBlocking(Registration registration) {
+        if (registration.wasBlocking && registration.channel.isOpen()) {
+            try {
+                registration.channel.configureBlocking(true);
+            } catch (IOException | IllegalBlockingModeException e) {
+                // still registered with another selector; leave it non-blocking
+            }
+        }
+    }
+}
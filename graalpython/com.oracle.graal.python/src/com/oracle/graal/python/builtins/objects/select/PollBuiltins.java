@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2019, 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PPoll)
+public class PollBuiltins extends PythonBuiltins {
+
+    static final int DEFAULT_EVENTS = PPoll.POLLIN | PPoll.POLLPRI | PPoll.POLLOUT;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PollBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends PythonTernaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object register(VirtualFrame frame, PPoll self, Object fdObj, Object eventmask,
+                        @CachedLibrary("fdObj") PythonObjectLibrary fdLib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary maskLib) {
+            int fd = fdLib.asFileDescriptorWithState(fdObj, PArguments.getThreadState(frame));
+            int events = PGuards.isNoValue(eventmask) ? DEFAULT_EVENTS : maskLib.asSizeWithState(eventmask, PArguments.getThreadState(frame));
+            try {
+                if (!self.register(fd, getContext().getResources().getFileChannel(fd), events)) {
+                    self.modify(fd, events);
+                }
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "eventmask"})
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends PythonTernaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object modify(VirtualFrame frame, PPoll self, Object fdObj, Object eventmask,
+                        @CachedLibrary("fdObj") PythonObjectLibrary fdLib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary maskLib) {
+            int fd = fdLib.asFileDescriptorWithState(fdObj, PArguments.getThreadState(frame));
+            int events = maskLib.asSizeWithState(eventmask, PArguments.getThreadState(frame));
+            if (!self.modify(fd, events)) {
+                throw raiseOSError(frame, OSErrorEnum.ENOENT);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object unregister(VirtualFrame frame, PPoll self, Object fdObj,
+                        @CachedLibrary("fdObj") PythonObjectLibrary fdLib) {
+            int fd = fdLib.asFileDescriptorWithState(fdObj, PArguments.getThreadState(frame));
+            try {
+                if (!self.unregister(fd)) {
+                    throw raise(PythonBuiltinClassType.KeyError, "%d", fd);
+                }
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout"})
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PList poll(VirtualFrame frame, PPoll self, Object timeout,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary timeoutLib) {
+            // the timeout is given in milliseconds; None or a negative value block indefinitely
+            long timeoutMillis = -1;
+            if (!PGuards.isPNone(timeout)) {
+                timeoutMillis = (long) Math.ceil(timeoutLib.asJavaDoubleWithState(timeout, PArguments.getThreadState(frame)));
+            }
+            try {
+                return toList(factory(), self.poll(timeoutMillis < 0 ? -1 : timeoutMillis, -1));
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+        }
+    }
+
+    /**
+     * Converts the {@code fd, revents} pairs returned by {@link PPoll#poll} to a list of tuples.
+     */
+    static PList toList(PythonObjectFactory factory, int[] events) {
+        Object[] result = new Object[events.length / 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = factory.createTuple(new Object[]{events[2 * i], events[2 * i + 1]});
+        }
+        return factory.createList(result);
+    }
+}
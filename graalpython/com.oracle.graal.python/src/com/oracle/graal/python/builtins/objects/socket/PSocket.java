@@ -41,11 +41,21 @@
 package com.oracle.graal.python.builtins.objects.socket;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
 import java.nio.channels.Channel;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
@@ -59,8 +69,9 @@ public class PSocket extends PythonBuiltinObject implements Channel {
     public static final int AF_INET = 2;
     public static final int AF_INET6 = 23;
 
-    public static final int SOCK_DGRAM = 1;
-    public static final int SOCK_STREAM = 2;
+    // must match the constants of the _socket module
+    public static final int SOCK_STREAM = 1;
+    public static final int SOCK_DGRAM = 2;
 
     public static final int AI_PASSIVE = 1;
     public static final int AI_CANONNAME = 2;
@@ -83,6 +94,11 @@ public class PSocket extends PythonBuiltinObject implements Channel {
 
     public static final int IPPROTO_TCP = 6;
 
+    /** The smallest receive buffer that is allocated, so that small receives share one buffer. */
+    private static final int MIN_RECEIVE_BUFFER = 8 * 1024;
+    /** Receive buffers larger than this are not kept for reuse. */
+    private static final int MAX_POOLED_RECEIVE_BUFFER = 64 * 1024;
+
     @CompilationFinal private static InetSocketAddress EPHEMERAL_ADDRESS;
 
     private static InetSocketAddress getEphemeralAddress() {
@@ -102,17 +118,23 @@ public class PSocket extends PythonBuiltinObject implements Channel {
     public int serverPort;
     public String serverHost;
 
-    private double timeout;
+    private volatile double timeout;
 
     private InetSocketAddress address = getEphemeralAddress();
 
     private SocketChannel socket;
 
     private ServerSocketChannel serverSocket;
-    private boolean blocking;
+
+    private DatagramChannel datagramSocket;
+    private StreamReceiver streamReceiver;
+
+    private boolean blocking = true;
 
     private HashMap<Object, Object> options;
 
+    private final AtomicReference<ByteBuffer> receiveBuffer = new AtomicReference<>();
+
     public PSocket(Object cls, Shape instanceShape, int family, int type, int proto) {
         super(cls, instanceShape);
         this.family = family;
@@ -169,6 +191,75 @@ public class PSocket extends PythonBuiltinObject implements Channel {
         return socket;
     }
 
+    public DatagramChannel getDatagramSocket() {
+        return datagramSocket;
+    }
+
+    public boolean isDatagram() {
+        return type == SOCK_DGRAM;
+    }
+
+    /**
+     * Returns the channel of a datagram socket, opening it on first use in the current blocking
+     * mode. Unlike stream sockets, which only know whether they are a client or a server once they
+     * connect or listen, a datagram socket always uses the same kind of channel.
+     */
+    @TruffleBoundary
+    public DatagramChannel getOrOpenDatagramSocket() throws IOException {
+        assert isDatagram();
+        if (datagramSocket == null) {
+            DatagramChannel channel = DatagramChannel.open();
+            channel.configureBlocking(blocking);
+            datagramSocket = channel;
+        }
+        return datagramSocket;
+    }
+
+    /**
+     * Returns a receiver that reads datagrams from this socket's datagram channel and remembers
+     * their sender. Every call gets its own receiver, so that concurrent receives on the same socket
+     * do not see each other's sender.
+     */
+    @TruffleBoundary
+    public DatagramReceiver getDatagramReceiver() throws IOException {
+        return new DatagramReceiver(getOrOpenDatagramSocket());
+    }
+
+    /**
+     * Returns a receiver that reads from the channel of a connected stream socket, or {@code null}
+     * if the socket is not connected. The receiver is reused across calls.
+     */
+    @TruffleBoundary
+    public StreamReceiver getStreamReceiver() {
+        if (socket == null) {
+            return null;
+        }
+        if (streamReceiver == null) {
+            streamReceiver = new StreamReceiver(socket);
+        }
+        return streamReceiver;
+    }
+
+    /**
+     * Returns the channel for reading and writing data, i.e., the channel of a connected stream
+     * socket or of a datagram socket, or {@code null} if there is none.
+     */
+    public ByteChannel getByteChannel() {
+        return socket != null ? socket : datagramSocket;
+    }
+
+    /**
+     * Returns the channel to use for selecting on this socket or {@code null} if there is none yet.
+     */
+    public SelectableChannel getSelectableChannel() {
+        if (serverSocket != null) {
+            return serverSocket;
+        } else if (socket != null) {
+            return socket;
+        }
+        return datagramSocket;
+    }
+
     public void setServerSocket(ServerSocketChannel serverSocket) {
         if (this.getSocket() != null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -193,9 +284,44 @@ public class PSocket extends PythonBuiltinObject implements Channel {
         this.blocking = blocking;
     }
 
+    /**
+     * Waits until this socket is ready for {@code ops} if it is blocking but its channel is not.
+     * The channel stays non-blocking while it is registered with a selector, e.g., of a poll
+     * object, so blocking operations are emulated by waiting on a selector first. Each wait opens
+     * its own selector, since several threads may operate on the same socket.
+     *
+     * @throws SocketTimeoutException if the socket has a timeout and it expires first
+     */
+    @TruffleBoundary
+    public void awaitReady(int ops) throws IOException {
+        SelectableChannel channel = getSelectableChannel();
+        if (!blocking || channel == null || channel.isBlocking()) {
+            return;
+        }
+        double seconds = timeout;
+        long timeoutMillis = seconds > 0 ? Math.max(1, (long) (seconds * 1000)) : 0;
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        // closing the selector deregisters the channel, so that it may become blocking again
+        try (Selector selector = Selector.open()) {
+            channel.register(selector, channel.validOps() & ops);
+            long waitMillis = timeoutMillis;
+            while (selector.select(waitMillis) == 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException();
+                }
+                if (timeoutMillis > 0) {
+                    waitMillis = deadline - System.currentTimeMillis();
+                    if (waitMillis <= 0) {
+                        throw new SocketTimeoutException();
+                    }
+                }
+            }
+        }
+    }
+
     @TruffleBoundary
     public boolean isOpen() {
-        return (getSocket() != null && getSocket().isOpen()) || (getServerSocket() != null && getServerSocket().isOpen());
+        return (getSocket() != null && getSocket().isOpen()) || (getServerSocket() != null && getServerSocket().isOpen()) || (datagramSocket != null && datagramSocket.isOpen());
     }
 
     @TruffleBoundary
@@ -204,6 +330,36 @@ public class PSocket extends PythonBuiltinObject implements Channel {
             getSocket().close();
         } else if (getServerSocket() != null) {
             getServerSocket().close();
+        } else if (datagramSocket != null) {
+            datagramSocket.close();
+        }
+    }
+
+    /**
+     * Returns a buffer for receiving at most {@code size} bytes. Buffers of up to
+     * {@link #MAX_POOLED_RECEIVE_BUFFER} bytes are direct buffers, which the channel fills without
+     * the intermediate copy it makes for heap buffers, and are reused across receives. The buffer
+     * must be handed back with {@link #releaseReceiveBuffer} once its contents were consumed. The
+     * pooled buffer is handed to one thread at a time, concurrent receives allocate their own.
+     */
+    @TruffleBoundary
+    public ByteBuffer takeReceiveBuffer(int size) {
+        ByteBuffer buffer = receiveBuffer.getAndSet(null);
+        if (buffer == null || buffer.capacity() < size) {
+            if (size > MAX_POOLED_RECEIVE_BUFFER) {
+                return ByteBuffer.allocate(size);
+            }
+            buffer = ByteBuffer.allocateDirect(Math.max(size, MIN_RECEIVE_BUFFER));
+        }
+        buffer.clear();
+        buffer.limit(size);
+        return buffer;
+    }
+
+    @TruffleBoundary
+    public void releaseReceiveBuffer(ByteBuffer buffer) {
+        if (buffer.isDirect()) {
+            receiveBuffer.set(buffer);
         }
     }
 
@@ -222,4 +378,82 @@ public class PSocket extends PythonBuiltinObject implements Channel {
         }
         return PNone.NONE;
     }
+
+    /**
+     * A channel that sockets receive from. Its {@link #read} returns {@link #NOTHING_RECEIVED} if no
+     * data was available yet, which can only happen in non-blocking mode.
+     */
+    public abstract static class Receiver implements ReadableByteChannel {
+        public static final int NOTHING_RECEIVED = -2;
+    }
+
+    /**
+     * Tells apart the end of the stream, for which {@link #read} returns {@code -1}, from a read that
+     * found no data in non-blocking mode, for which it returns {@link #NOTHING_RECEIVED}. The
+     * receiver keeps no state of its own and is shared by all calls.
+     */
+    public static final class StreamReceiver extends Receiver {
+        private final SocketChannel channel;
+
+        StreamReceiver(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            boolean hasSpace = dst.hasRemaining();
+            int length = channel.read(dst);
+            return length == 0 && hasSpace ? NOTHING_RECEIVED : length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Adapts {@link DatagramChannel#receive} to a {@link ReadableByteChannel} so that datagrams can
+     * be received straight into the memory of a buffer object like data read from a stream.
+     */
+    public static final class DatagramReceiver extends Receiver {
+        private final DatagramChannel channel;
+        private SocketAddress source;
+
+        DatagramReceiver(DatagramChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Receives one datagram into {@code dst} and returns its length. A datagram larger than
+         * the remaining space is truncated. In non-blocking mode, {@link #NOTHING_RECEIVED} is
+         * returned if no datagram was available.
+         */
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int start = dst.position();
+            source = channel.receive(dst);
+            return source == null ? NOTHING_RECEIVED : dst.position() - start;
+        }
+
+        /** The sender of the datagram received by the last {@link #read} call. */
+        public SocketAddress getSource() {
+            return source;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
 }
@@ -47,11 +47,15 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.IllegalBlockingModeException;
 import java.nio.channels.NotYetConnectedException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
-import java.util.Arrays;
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
@@ -60,34 +64,34 @@ import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PNotImplemented;
-import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
-import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
 import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
-import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
-import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.socket.PSocket.DatagramReceiver;
+import com.oracle.graal.python.builtins.objects.socket.PSocket.Receiver;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.nodes.ErrorMessages;
-import com.oracle.graal.python.nodes.call.special.LookupAndCallTernaryNode;
-import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
-import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
-import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.nodes.util.ChannelNodes.ReadIntoBufferNode;
+import com.oracle.graal.python.nodes.util.ChannelNodes.ToByteBufferNode;
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.library.CachedLibrary;
-import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @CoreFunctions(extendClasses = PythonBuiltinClassType.PSocket)
 @SuppressWarnings("unused")
@@ -116,6 +120,7 @@ public class SocketBuiltins extends PythonBuiltins {
         @TruffleBoundary
         Object accept(PSocket socket) {
             try {
+                socket.awaitReady(SelectionKey.OP_ACCEPT);
                 SocketChannel acceptSocket = socket.getServerSocket().accept();
                 if (acceptSocket == null) {
                     throw raise(PythonBuiltinClassType.OSError);
@@ -130,6 +135,8 @@ public class SocketBuiltins extends PythonBuiltins {
                 newSocket.setSocket(acceptSocket);
                 Object[] output = {fd, ((InetSocketAddress) addr).getAddress().getHostAddress()};
                 return factory().createTuple(output);
+            } catch (SocketTimeoutException e) {
+                throw raise(PythonBuiltinClassType.SocketTimeout, ErrorMessages.TIMED_OUT);
             } catch (IOException e) {
                 throw raise(PythonBuiltinClassType.OSError);
             }
@@ -153,8 +160,21 @@ public class SocketBuiltins extends PythonBuiltins {
 
             socket.serverHost = (String) hostAndPort[0];
             socket.serverPort = port;
+            if (socket.isDatagram()) {
+                // datagram sockets do not listen, so they are bound right away
+                try {
+                    doBind(socket, hostAndPort);
+                } catch (IOException e) {
+                    throw raise(PythonBuiltinClassType.OSError);
+                }
+            }
             return PNone.NONE;
         }
+
+        @TruffleBoundary
+        private static void doBind(PSocket socket, Object[] hostAndPort) throws IOException {
+            socket.getOrOpenDatagramSocket().bind(toInetSocketAddress(hostAndPort));
+        }
     }
 
     // close()
@@ -184,6 +204,16 @@ public class SocketBuiltins extends PythonBuiltins {
                 } catch (IOException e) {
                     throw raise(PythonBuiltinClassType.OSError, ErrorMessages.BAD_FILE_DESCRIPTOR);
                 }
+            } else if (socket.getDatagramSocket() != null) {
+                if (!socket.getDatagramSocket().isOpen()) {
+                    throw raise(PythonBuiltinClassType.OSError, ErrorMessages.BAD_FILE_DESCRIPTOR);
+                }
+
+                try {
+                    socket.getDatagramSocket().close();
+                } catch (IOException e) {
+                    throw raise(PythonBuiltinClassType.OSError, ErrorMessages.BAD_FILE_DESCRIPTOR);
+                }
             }
             getContext().getResources().close(socket.getFileno());
             return PNone.NONE;
@@ -208,13 +238,32 @@ public class SocketBuiltins extends PythonBuiltins {
 
         @TruffleBoundary
         private static void doConnect(PSocket socket, Object[] hostAndPort) throws IOException {
-            InetSocketAddress socketAddress = new InetSocketAddress((String) hostAndPort[0], (Integer) hostAndPort[1]);
+            InetSocketAddress socketAddress = toInetSocketAddress(hostAndPort);
+            if (socket.isDatagram()) {
+                // only sets the default destination and the only accepted source
+                socket.getOrOpenDatagramSocket().connect(socketAddress);
+                return;
+            }
             SocketChannel channel = SocketChannel.open();
             channel.connect(socketAddress);
             socket.setSocket(channel);
         }
     }
 
+    @TruffleBoundary
+    private static InetSocketAddress toInetSocketAddress(Object[] hostAndPort) {
+        String host = (String) hostAndPort[0];
+        int port = (int) hostAndPort[1];
+        // like in CPython, the empty string stands for INADDR_ANY
+        return host.isEmpty() ? new InetSocketAddress(port) : new InetSocketAddress(host, port);
+    }
+
+    @TruffleBoundary
+    private static Object[] fromInetSocketAddress(SocketAddress address) {
+        InetSocketAddress inetAddress = (InetSocketAddress) address;
+        return new Object[]{inetAddress.getAddress().getHostAddress(), inetAddress.getPort()};
+    }
+
     // getpeername()
     @Builtin(name = "getpeername", minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
@@ -222,13 +271,16 @@ public class SocketBuiltins extends PythonBuiltins {
         @Specialization
         @TruffleBoundary
         Object get(PSocket socket) {
-            if (socket.getSocket() == null) {
+            if (socket.getByteChannel() == null) {
                 throw raise(PythonBuiltinClassType.OSError, ErrorMessages.ERROR57_SOCKET_CANNOT_BE_CONNECTED);
             }
 
             try {
-                InetSocketAddress addr = (InetSocketAddress) socket.getSocket().getRemoteAddress();
-                return factory().createTuple(new Object[]{addr.getAddress().getHostAddress(), addr.getPort()});
+                SocketAddress addr = socket.getSocket() != null ? socket.getSocket().getRemoteAddress() : socket.getDatagramSocket().getRemoteAddress();
+                if (addr == null) {
+                    throw raise(PythonBuiltinClassType.OSError, ErrorMessages.ERROR57_SOCKET_CANNOT_BE_CONNECTED);
+                }
+                return factory().createTuple(fromInetSocketAddress(addr));
             } catch (IOException e) {
                 throw raise(PythonBuiltinClassType.OSError);
             }
@@ -260,6 +312,17 @@ public class SocketBuiltins extends PythonBuiltins {
                 }
             }
 
+            if (socket.getDatagramSocket() != null) {
+                try {
+                    SocketAddress addr = socket.getDatagramSocket().getLocalAddress();
+                    if (addr != null) {
+                        return factory().createTuple(fromInetSocketAddress(addr));
+                    }
+                } catch (IOException e) {
+                    throw raise(PythonBuiltinClassType.OSError);
+                }
+            }
+
             if (socket.serverHost != null) {
                 return factory().createTuple(new Object[]{socket.serverHost, socket.serverPort});
             }
@@ -294,18 +357,21 @@ public class SocketBuiltins extends PythonBuiltins {
 
         @Specialization
         Object get(PSocket socket) {
+            if (!socket.isBlocking()) {
+                return 0.0;
+            }
+            int timeout = 0;
             try {
                 if (socket.getSocket() != null) {
-                    return getSoTimeout(socket.getSocket());
-                }
-
-                if (socket.getServerSocket() != null) {
-                    return getSoTimeout(socket.getServerSocket());
+                    timeout = getSoTimeout(socket.getSocket());
+                } else if (socket.getServerSocket() != null) {
+                    timeout = getSoTimeout(socket.getServerSocket());
                 }
             } catch (IOException e) {
                 throw raise(PythonBuiltinClassType.OSError);
             }
-            return PNone.NONE;
+            // like in CPython, a blocking socket without timeout reports None
+            return timeout == 0 ? PNone.NONE : timeout;
         }
     }
 
@@ -341,25 +407,64 @@ public class SocketBuiltins extends PythonBuiltins {
         }
     }
 
+    /**
+     * Returns the channel to receive from: the receiver of a datagram socket, which also accepts
+     * datagrams on unconnected sockets, or the receiver of a connected stream socket.
+     */
+    @TruffleBoundary
+    private static Receiver getReceiveChannel(PSocket socket) throws IOException {
+        if (socket.isDatagram()) {
+            return socket.getDatagramReceiver();
+        }
+        return socket.getStreamReceiver();
+    }
+
+    /**
+     * Returns the received bytes, or {@code null} if no data was available in non-blocking mode.
+     */
+    @TruffleBoundary
+    private static byte[] receive(PSocket socket, Receiver channel, ByteBuffer buffer) throws IOException {
+        socket.awaitReady(SelectionKey.OP_READ);
+        int length = channel.read(buffer);
+        if (length == Receiver.NOTHING_RECEIVED) {
+            return null;
+        } else if (length <= 0) {
+            // the end of the stream
+            return new byte[0];
+        }
+        byte[] result = new byte[length];
+        buffer.flip();
+        buffer.get(result);
+        return result;
+    }
+
     // recv(bufsize[, flags])
     @Builtin(name = "recv", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 3)
     @GenerateNodeFactory
     abstract static class RecvNode extends PythonTernaryBuiltinNode {
         @Specialization
-        Object recv(PSocket socket, int bufsize, int flags) {
-            return recv(socket, bufsize, PNone.NONE);
-        }
-
-        @Specialization
-        @TruffleBoundary
-        PBytes recv(PSocket socket, int bufsize, PNone flags) {
-            SocketChannel nativeSocket = socket.getSocket();
-            ByteBuffer readBytes = ByteBuffer.allocate(bufsize);
+        PBytes recv(VirtualFrame frame, PSocket socket, int bufsize, Object flags) {
+            // TODO: do not ignore flags
+            if (bufsize < 0) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.NEGATIVE_BUFFERSIZE_IN_S, "recv");
+            }
+            ByteBuffer buffer = socket.takeReceiveBuffer(bufsize);
             try {
-                int length = nativeSocket.read(readBytes);
-                return factory().createBytes(Arrays.copyOfRange(readBytes.array(), 0, length));
-            } catch (IOException | NullPointerException e) {
+                Receiver channel = getReceiveChannel(socket);
+                if (channel == null) {
+                    throw raise(PythonBuiltinClassType.OSError);
+                }
+                byte[] data = receive(socket, channel, buffer);
+                if (data == null) {
+                    throw raiseOSError(frame, OSErrorEnum.EAGAIN);
+                }
+                return factory().createBytes(data);
+            } catch (SocketTimeoutException e) {
+                throw raise(PythonBuiltinClassType.SocketTimeout, ErrorMessages.TIMED_OUT);
+            } catch (IOException | NotYetConnectedException e) {
                 throw raise(PythonBuiltinClassType.OSError);
+            } finally {
+                socket.releaseReceiveBuffer(buffer);
             }
         }
     }
@@ -369,90 +474,143 @@ public class SocketBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     abstract static class RecvFromNode extends PythonTernaryBuiltinNode {
         @Specialization
-        Object recvFrom(PSocket socket, int bufsize, int flags) {
-            return PNotImplemented.NOT_IMPLEMENTED;
+        PTuple recvFrom(VirtualFrame frame, PSocket socket, int bufsize, Object flags) {
+            // TODO: do not ignore flags
+            if (bufsize < 0) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.NEGATIVE_BUFFERSIZE_IN_S, "recvfrom");
+            }
+            ByteBuffer buffer = socket.takeReceiveBuffer(bufsize);
+            try {
+                Receiver channel = getReceiveChannel(socket);
+                if (channel == null) {
+                    throw raiseOSError(frame, OSErrorEnum.ENOTCONN);
+                }
+                byte[] data = receive(socket, channel, buffer);
+                if (data == null) {
+                    throw raiseOSError(frame, OSErrorEnum.EAGAIN);
+                }
+                return factory().createTuple(new Object[]{factory().createBytes(data), getSource(channel)});
+            } catch (SocketTimeoutException e) {
+                throw raise(PythonBuiltinClassType.SocketTimeout, ErrorMessages.TIMED_OUT);
+            } catch (IOException e) {
+                throw raise(PythonBuiltinClassType.OSError);
+            } catch (NotYetConnectedException e) {
+                throw raiseOSError(frame, OSErrorEnum.ENOTCONN, e);
+            } finally {
+                socket.releaseReceiveBuffer(buffer);
+            }
         }
 
-        @Specialization
-        Object recvFrom(PSocket socket, int bufsize, PNone flags) {
-            return PNotImplemented.NOT_IMPLEMENTED;
+        private Object getSource(Receiver channel) {
+            if (channel instanceof DatagramReceiver) {
+                SocketAddress source = ((DatagramReceiver) channel).getSource();
+                return factory().createTuple(fromInetSocketAddress(source));
+            }
+            // like CPython on Linux, connected stream sockets do not report the sender
+            return PNone.NONE;
         }
     }
 
-    // recv_into(bufsize[, flags])
-    @Builtin(name = "recv_into", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 3, needsFrame = true)
-    @GenerateNodeFactory
-    abstract static class RecvIntoNode extends PythonTernaryBuiltinNode {
-        protected static SequenceStorageNodes.SetItemNode createSetItem() {
-            return SequenceStorageNodes.SetItemNode.create("cannot happen: non-byte store in socket.recv_into");
-        }
-
-        @Specialization
-        Object recvInto(VirtualFrame frame, PSocket socket, PMemoryView buffer, Object flags,
-                        @Cached("createBinaryProfile()") ConditionProfile byteStorage,
-                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib,
-                        @Cached("create(__LEN__)") LookupAndCallUnaryNode callLen,
-                        @Cached("create(__SETITEM__)") LookupAndCallTernaryNode setItem) {
-            int bufferLen = lib.asSizeWithState(callLen.executeObject(frame, buffer), PArguments.getThreadState(frame));
-            byte[] targetBuffer = new byte[bufferLen];
-            ByteBuffer byteBuffer = ByteBuffer.wrap(targetBuffer);
-            int length;
+    abstract static class RecvIntoBaseNode extends PythonQuaternaryBuiltinNode {
+        /**
+         * Receives into the memory of a writable buffer object. With {@code nbytes} missing or
+         * zero, at most as many bytes as the buffer holds are received. Returns the result of the
+         * receiver's {@link Receiver#read}, i.e. a negative value at the end of the stream or if
+         * nothing was received.
+         */
+        int receiveInto(VirtualFrame frame, PSocket socket, Receiver channel, Object buffer, Object nbytes, String name,
+                        PythonObjectLibrary bufferLib, PythonObjectLibrary lib, ReadIntoBufferNode readIntoBufferNode) {
+            if (!bufferLib.isBuffer(buffer)) {
+                throw raise(PythonBuiltinClassType.TypeError, ErrorMessages.ARG_MUST_BE_READ_WRITE_BYTESLIKE_NOT_P, buffer);
+            }
+            int bufferLen;
+            try {
+                bufferLen = bufferLib.getBufferLength(buffer);
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+            int size = bufferLen;
+            if (!PGuards.isPNone(nbytes)) {
+                int requested = lib.asSizeWithState(nbytes, PArguments.getThreadState(frame));
+                if (requested < 0) {
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.NEGATIVE_BUFFERSIZE_IN_S, name);
+                } else if (requested > bufferLen) {
+                    throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.BUFFER_TOO_SMALL_FOR_REQUESTED_BYTES);
+                } else if (requested > 0) {
+                    size = requested;
+                }
+            }
+            if (channel == null) {
+                throw raiseOSError(frame, OSErrorEnum.ENOTCONN);
+            }
             try {
-                length = fillBuffer(socket, byteBuffer);
+                awaitReady(socket, SelectionKey.OP_READ);
+                // reads straight into the memory of the buffer
+                return readIntoBufferNode.execute(channel, buffer, size);
             } catch (NotYetConnectedException e) {
                 throw raiseOSError(frame, OSErrorEnum.ENOTCONN, e);
+            }
+        }
+
+        void awaitReady(PSocket socket, int ops) {
+            try {
+                socket.awaitReady(ops);
+            } catch (SocketTimeoutException e) {
+                throw raise(PythonBuiltinClassType.SocketTimeout, ErrorMessages.TIMED_OUT);
             } catch (IOException e) {
-                throw raiseOSError(frame, OSErrorEnum.EBADF, e);
+                throw raise(PythonBuiltinClassType.OSError);
             }
-            for (int i = 0; i < length; i++) {
-                int b = targetBuffer[i];
-                if (b < 0) {
-                    b += 256;
-                }
-                setItem.execute(frame, buffer, i, (Object) b);
+        }
+
+        Receiver getChannel(PSocket socket) {
+            try {
+                return getReceiveChannel(socket);
+            } catch (IOException e) {
+                throw raise(PythonBuiltinClassType.OSError);
             }
-            return length;
         }
+    }
 
-        @Specialization
-        Object recvInto(VirtualFrame frame, PSocket socket, PByteArray buffer, Object flags,
-                        @Cached("createBinaryProfile()") ConditionProfile byteStorage,
-                        @Cached SequenceStorageNodes.LenNode lenNode,
-                        @Cached("createSetItem()") SequenceStorageNodes.SetItemNode setItem) {
-            SequenceStorage storage = buffer.getSequenceStorage();
-            int bufferLen = lenNode.execute(storage);
-            if (byteStorage.profile(storage instanceof ByteSequenceStorage)) {
-                ByteBuffer byteBuffer = ((ByteSequenceStorage) storage).getBufferView();
-                try {
-                    return fillBuffer(socket, byteBuffer);
-                } catch (NotYetConnectedException e) {
-                    throw raiseOSError(frame, OSErrorEnum.ENOTCONN, e);
-                } catch (IOException e) {
-                    throw raiseOSError(frame, OSErrorEnum.EBADF, e);
-                }
-            } else {
-                byte[] targetBuffer = new byte[bufferLen];
-                ByteBuffer byteBuffer = ByteBuffer.wrap(targetBuffer);
-                int length;
-                try {
-                    length = fillBuffer(socket, byteBuffer);
-                } catch (NotYetConnectedException e) {
-                    throw raiseOSError(frame, OSErrorEnum.ENOTCONN, e);
-                } catch (IOException e) {
-                    throw raiseOSError(frame, OSErrorEnum.EBADF, e);
-                }
-                for (int i = 0; i < length; i++) {
-                    // we don't allow generalization
-                    setItem.execute(frame, storage, i, targetBuffer[i]);
-                }
-                return length;
+    // recv_into(buffer[, nbytes[, flags]])
+    @Builtin(name = "recv_into", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 4, needsFrame = true)
+    @GenerateNodeFactory
+    abstract static class RecvIntoNode extends RecvIntoBaseNode {
+        @Specialization(limit = "3")
+        Object recvInto(VirtualFrame frame, PSocket socket, Object buffer, Object nbytes, Object flags,
+                        @CachedLibrary("buffer") PythonObjectLibrary bufferLib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary lib,
+                        @Cached ReadIntoBufferNode readIntoBufferNode) {
+            // TODO: do not ignore flags
+            Receiver channel = getChannel(socket);
+            int length = receiveInto(frame, socket, channel, buffer, nbytes, "recv_into", bufferLib, lib, readIntoBufferNode);
+            if (length == Receiver.NOTHING_RECEIVED) {
+                throw raiseOSError(frame, OSErrorEnum.EAGAIN);
             }
+            return Math.max(length, 0);
         }
+    }
 
-        @TruffleBoundary
-        private static int fillBuffer(PSocket socket, ByteBuffer byteBuffer) throws IOException {
-            SocketChannel nativeSocket = socket.getSocket();
-            return nativeSocket.read(byteBuffer);
+    // recvfrom_into(buffer[, nbytes[, flags]])
+    @Builtin(name = "recvfrom_into", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 4, needsFrame = true)
+    @GenerateNodeFactory
+    abstract static class RecvFromIntoNode extends RecvIntoBaseNode {
+        @Specialization(limit = "3")
+        Object recvFromInto(VirtualFrame frame, PSocket socket, Object buffer, Object nbytes, Object flags,
+                        @CachedLibrary("buffer") PythonObjectLibrary bufferLib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary lib,
+                        @Cached ReadIntoBufferNode readIntoBufferNode) {
+            // TODO: do not ignore flags
+            Receiver channel = getChannel(socket);
+            int length = receiveInto(frame, socket, channel, buffer, nbytes, "recvfrom_into", bufferLib, lib, readIntoBufferNode);
+            if (length == Receiver.NOTHING_RECEIVED) {
+                throw raiseOSError(frame, OSErrorEnum.EAGAIN);
+            }
+            Object source = PNone.NONE;
+            if (channel instanceof DatagramReceiver) {
+                SocketAddress address = ((DatagramReceiver) channel).getSource();
+                source = factory().createTuple(fromInetSocketAddress(address));
+            }
+            return factory().createTuple(new Object[]{Math.max(length, 0), source});
         }
     }
 
@@ -481,10 +639,10 @@ public class SocketBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     abstract static class SendNode extends PythonTernaryBuiltinNode {
         @Specialization
-        Object send(VirtualFrame frame, PSocket socket, PBytes bytes, Object flags,
-                        @Cached SequenceStorageNodes.ToByteArrayNode toBytes) {
+        Object send(VirtualFrame frame, PSocket socket, Object bytes, Object flags,
+                        @Cached ToByteBufferNode toByteBufferNode) {
             // TODO: do not ignore flags
-            if (socket.getSocket() == null) {
+            if (socket.getByteChannel() == null) {
                 throw raise(PythonBuiltinClassType.OSError);
             }
 
@@ -493,19 +651,52 @@ public class SocketBuiltins extends PythonBuiltins {
             }
 
             try {
-                byte[] storageArray = toBytes.execute(bytes.getSequenceStorage());
-                ByteBuffer buffer = ByteBuffer.wrap(storageArray);
-                doWrite(socket, buffer);
-                return PNone.NONE;
+                int written = doWrite(socket, toByteBufferNode.execute(bytes));
+                if (written < 0) {
+                    throw raiseOSError(frame, OSErrorEnum.EAGAIN);
+                }
+                return written;
+            } catch (SocketTimeoutException e) {
+                throw raise(PythonBuiltinClassType.SocketTimeout, ErrorMessages.TIMED_OUT);
             } catch (IOException e) {
                 throw raise(PythonBuiltinClassType.OSError);
+            } catch (NotYetConnectedException e) {
+                throw raiseOSError(frame, OSErrorEnum.EDESTADDRREQ, e);
             }
         }
     }
 
+    /**
+     * Writes as much of the buffer as the channel takes.
+     *
+     * @return the number of bytes written, or {@code -1} if a non-blocking socket could not take
+     *         any data
+     */
     @TruffleBoundary
-    private static void doWrite(PSocket socket, ByteBuffer buffer) throws IOException {
-        socket.getSocket().write(buffer);
+    private static int doWrite(PSocket socket, ByteBuffer buffer) throws IOException {
+        socket.awaitReady(SelectionKey.OP_WRITE);
+        return markWouldBlock(socket, buffer, socket.getByteChannel().write(buffer));
+    }
+
+    /** Replaces a write of nothing on a non-blocking socket with {@code -1}. */
+    private static int markWouldBlock(PSocket socket, ByteBuffer buffer, int written) {
+        return written == 0 && buffer.hasRemaining() && !socket.isBlocking() ? -1 : written;
+    }
+
+    /**
+     * Writes the whole buffer, waiting for the channel of a blocking socket to take more data.
+     *
+     * @return {@code false} if a non-blocking socket could not take all data
+     */
+    @TruffleBoundary
+    private static boolean doWriteAll(PSocket socket, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            socket.awaitReady(SelectionKey.OP_WRITE);
+            if (socket.getByteChannel().write(buffer) == 0 && !socket.isBlocking()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     // sendall(bytes[, flags])
@@ -513,15 +704,23 @@ public class SocketBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     abstract static class SendAllNode extends PythonTernaryBuiltinNode {
         @Specialization
-        Object sendAll(VirtualFrame frame, PSocket socket, PBytesLike bytes, Object flags,
-                        @Cached SequenceStorageNodes.ToByteArrayNode toBytes) {
+        Object sendAll(VirtualFrame frame, PSocket socket, Object bytes, Object flags,
+                        @Cached ToByteBufferNode toByteBufferNode) {
             // TODO: do not ignore flags
+            if (socket.getByteChannel() == null) {
+                throw raise(PythonBuiltinClassType.OSError);
+            }
             try {
-                ByteBuffer buffer = ByteBuffer.wrap(toBytes.execute(bytes.getSequenceStorage()));
-                doWrite(socket, buffer);
+                if (!doWriteAll(socket, toByteBufferNode.execute(bytes))) {
+                    throw raiseOSError(frame, OSErrorEnum.EAGAIN);
+                }
                 return PNone.NONE;
+            } catch (SocketTimeoutException e) {
+                throw raise(PythonBuiltinClassType.SocketTimeout, ErrorMessages.TIMED_OUT);
             } catch (IOException e) {
                 throw raise(PythonBuiltinClassType.OSError);
+            } catch (NotYetConnectedException e) {
+                throw raiseOSError(frame, OSErrorEnum.EDESTADDRREQ, e);
             }
         }
     }
@@ -530,15 +729,47 @@ public class SocketBuiltins extends PythonBuiltins {
     // sendto(bytes, flags, address)
     @Builtin(name = "sendto", minNumOfPositionalArgs = 3, maxNumOfPositionalArgs = 4)
     @GenerateNodeFactory
-    abstract static class SendToNode extends PythonBuiltinNode {
+    abstract static class SendToNode extends PythonQuaternaryBuiltinNode {
         @Specialization
-        Object sendTo(PSocket socket, Object bytes, int flags, Object address) {
-            return PNotImplemented.NOT_IMPLEMENTED;
+        Object sendTo(VirtualFrame frame, PSocket socket, Object bytes, PTuple address, @SuppressWarnings("unused") PNone missing,
+                        @Shared("toByteBuffer") @Cached ToByteBufferNode toByteBufferNode,
+                        @Shared("getObjectArray") @Cached GetObjectArrayNode getObjectArrayNode) {
+            ByteBuffer buffer = toByteBufferNode.execute(bytes);
+            try {
+                int written;
+                if (!socket.isDatagram()) {
+                    // like in CPython, the address is ignored for connected stream sockets
+                    if (socket.getByteChannel() == null) {
+                        throw raiseOSError(frame, OSErrorEnum.ENOTCONN);
+                    }
+                    written = doWrite(socket, buffer);
+                } else {
+                    written = doSend(socket, buffer, getObjectArrayNode.execute(address));
+                }
+                if (written < 0) {
+                    throw raiseOSError(frame, OSErrorEnum.EAGAIN);
+                }
+                return written;
+            } catch (SocketTimeoutException e) {
+                throw raise(PythonBuiltinClassType.SocketTimeout, ErrorMessages.TIMED_OUT);
+            } catch (IOException e) {
+                throw raise(PythonBuiltinClassType.OSError);
+            }
         }
 
         @Specialization
-        Object sendTo(PSocket socket, Object bytes, PNone flags, Object address) {
-            return PNotImplemented.NOT_IMPLEMENTED;
+        Object sendTo(VirtualFrame frame, PSocket socket, Object bytes, Object flags, PTuple address,
+                        @Shared("toByteBuffer") @Cached ToByteBufferNode toByteBufferNode,
+                        @Shared("getObjectArray") @Cached GetObjectArrayNode getObjectArrayNode) {
+            // TODO: do not ignore flags
+            return sendTo(frame, socket, bytes, address, PNone.NO_VALUE, toByteBufferNode, getObjectArrayNode);
+        }
+
+        @TruffleBoundary
+        private static int doSend(PSocket socket, ByteBuffer buffer, Object[] hostAndPort) throws IOException {
+            DatagramChannel channel = socket.getOrOpenDatagramSocket();
+            socket.awaitReady(SelectionKey.OP_WRITE);
+            return markWouldBlock(socket, buffer, channel.send(buffer, toInetSocketAddress(hostAndPort)));
         }
     }
 
@@ -561,19 +792,23 @@ public class SocketBuiltins extends PythonBuiltins {
             socket.setBlocking(blocking);
 
             try {
-                if (socket.getSocket() != null) {
-                    socket.getSocket().configureBlocking(socket.isBlocking());
-                }
-
-                if (socket.getServerSocket() != null) {
-                    socket.getServerSocket().configureBlocking(socket.isBlocking());
-                }
-            } catch (IOException e) {
+                configureBlocking(socket.getSocket(), blocking);
+                configureBlocking(socket.getServerSocket(), blocking);
+                configureBlocking(socket.getDatagramSocket(), blocking);
+            } catch (IOException | IllegalBlockingModeException e) {
                 throw raise(PythonBuiltinClassType.OSError);
             }
 
             return PNone.NONE;
         }
+
+        private static void configureBlocking(SelectableChannel channel, boolean blocking) throws IOException {
+            // a channel registered with a poll object must stay non-blocking; blocking operations
+            // on the socket wait for the channel to become ready instead
+            if (channel != null && !(blocking && channel.isRegistered())) {
+                channel.configureBlocking(blocking);
+            }
+        }
     }
 
     // settimeout(value)
@@ -583,6 +818,8 @@ public class SocketBuiltins extends PythonBuiltins {
         @Specialization
         @TruffleBoundary
         Object setTimeout(PSocket socket, Integer value) {
+            // remembered for waiting on a channel that is registered with a poll object
+            socket.setTimeout(value);
             try {
                 if (socket.getSocket() != null) {
                     socket.getSocket().socket().setSoTimeout(value);
@@ -591,6 +828,10 @@ public class SocketBuiltins extends PythonBuiltins {
                 if (socket.getServerSocket() != null) {
                     socket.getServerSocket().socket().setSoTimeout(value);
                 }
+
+                if (socket.getDatagramSocket() != null) {
+                    socket.getDatagramSocket().socket().setSoTimeout(value);
+                }
             } catch (SocketException e) {
                 throw raise(PythonBuiltinClassType.OSError);
             }
@@ -601,7 +842,9 @@ public class SocketBuiltins extends PythonBuiltins {
         @Specialization
         Object setTimeout(PSocket socket, double value) {
             Integer intValue = (int) value;
-            return setTimeout(socket, intValue);
+            setTimeout(socket, intValue);
+            socket.setTimeout(value);
+            return PNone.NONE;
         }
     }
 
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A {@code re.Match}. The group boundaries are read from the TRegex result when the match is
+ * created.
+ */
+public final class PSREMatch extends PythonBuiltinObject {
+    private final PSREPattern pattern;
+    private final Object string;
+    private final Object input;
+    private final int pos;
+    private final int endpos;
+    private final int[] bounds;
+
+    /**
+     * @param string the object that was searched
+     * @param input the searched {@code String} of a {@code str} pattern, otherwise the bytes-like
+     *            object
+     * @param bounds the start and end of each group, {@code -1} for groups that did not
+     *            participate
+     */
+    public PSREMatch(Object cls, Shape instanceShape, PSREPattern pattern, Object string, Object input, int pos, int endpos, int[] bounds) {
+        super(cls, instanceShape);
+        this.pattern = pattern;
+        this.string = string;
+        this.input = input;
+        this.pos = pos;
+        this.endpos = endpos;
+        this.bounds = bounds;
+    }
+
+    public PSREPattern getPattern() {
+        return pattern;
+    }
+
+    public Object getString() {
+        return string;
+    }
+
+    public Object getInput() {
+        return input;
+    }
+
+    public int getPos() {
+        return pos;
+    }
+
+    public int getEndpos() {
+        return endpos;
+    }
+
+    public int[] getBounds() {
+        return bounds;
+    }
+
+    public int getStart(int group) {
+        return bounds[group * 2];
+    }
+
+    public int getEnd(int group) {
+        return bounds[group * 2 + 1];
+    }
+
+    /**
+     * The number of the last matched group, or {@code -1}. Like in SRE, this is the group that was
+     * closed last, which is the outermost of the groups ending at the largest position.
+     */
+    public int getLastIndex() {
+        int last = -1;
+        int lastEnd = -1;
+        for (int i = 1; i < bounds.length / 2; i++) {
+            int start = getStart(i);
+            if (start >= 0 && getEnd(i) > lastEnd) {
+                last = i;
+                lastEnd = getEnd(i);
+            }
+        }
+        return last;
+    }
+}
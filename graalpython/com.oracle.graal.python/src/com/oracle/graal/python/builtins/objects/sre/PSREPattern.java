@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import java.util.HashMap;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A compiled {@code re.Pattern}. The TRegex regexes for {@code match} and {@code fullmatch} are
+ * compiled lazily by calling back into {@code _sre.py}, the regex for {@code search} is compiled
+ * when the pattern is created.
+ */
+public final class PSREPattern extends PythonBuiltinObject {
+    public static final int SEARCH = 0;
+    public static final int MATCH = 1;
+    public static final int FULLMATCH = 2;
+
+    private static final int MAX_TEMPLATES = 32;
+
+    private final Object pattern;
+    private final int flags;
+    private final boolean binary;
+    private final Object groupIndex;
+    @CompilationFinal(dimensions = 1) private final String[] groupNames;
+    private final Object compiler;
+    private final Object[] execs = new Object[3];
+    private final HashMap<String, SRETemplate> templates = new HashMap<>();
+
+    public PSREPattern(Object cls, Shape instanceShape, Object pattern, int flags, boolean binary, Object groupIndex, String[] groupNames, Object compiler, Object searchExec) {
+        super(cls, instanceShape);
+        this.pattern = pattern;
+        this.flags = flags;
+        this.binary = binary;
+        this.groupIndex = groupIndex;
+        this.groupNames = groupNames;
+        this.compiler = compiler;
+        this.execs[SEARCH] = searchExec;
+    }
+
+    public Object getPattern() {
+        return pattern;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    /** Whether this is a {@code bytes} pattern. */
+    public boolean isBinary() {
+        return binary;
+    }
+
+    public Object getGroupIndex() {
+        return groupIndex;
+    }
+
+    /** The number of capturing groups, not counting the whole match. */
+    public int getGroups() {
+        return groupNames.length - 1;
+    }
+
+    /** Returns the name of the group, or {@code null} if it is not a named group. */
+    public String getGroupName(int group) {
+        return groupNames[group];
+    }
+
+    /** Returns the number of the named group, or {@code -1} if there is no such group. */
+    public int getGroupNumber(String name) {
+        for (int i = 1; i < groupNames.length; i++) {
+            if (name.equals(groupNames[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The callable that compiles the TRegex regex for a mode. It takes the flags {@code sticky}
+     * and {@code fullmatch}.
+     */
+    public Object getCompiler() {
+        return compiler;
+    }
+
+    /** Returns the {@code exec} member of the regex for the mode, or {@code null}. */
+    public Object getExec(int mode) {
+        return execs[mode];
+    }
+
+    public void setExec(int mode, Object exec) {
+        execs[mode] = exec;
+    }
+
+    @TruffleBoundary
+    public SRETemplate getTemplate(String template) {
+        synchronized (templates) {
+            return templates.get(template);
+        }
+    }
+
+    /**
+     * Remembers a compiled replacement template. The cache is bounded, it is simply emptied when it
+     * is full.
+     */
+    @TruffleBoundary
+    public void putTemplate(String template, SRETemplate compiled) {
+        synchronized (templates) {
+            if (templates.size() >= MAX_TEMPLATES) {
+                templates.clear();
+            }
+            templates.put(template, compiled);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The scanner behind {@code finditer}. Each search continues after the previous match.
+ */
+public final class PSREScanner extends PythonBuiltinObject {
+    private final PSREPattern pattern;
+    private final Object string;
+    private final Object input;
+    private final int initialPos;
+    private final int endpos;
+    private int pos;
+
+    public PSREScanner(Object cls, Shape instanceShape, PSREPattern pattern, Object string, Object input, int pos, int endpos) {
+        super(cls, instanceShape);
+        this.pattern = pattern;
+        this.string = string;
+        this.input = input;
+        this.initialPos = pos;
+        this.pos = pos;
+        this.endpos = endpos;
+    }
+
+    public PSREPattern getPattern() {
+        return pattern;
+    }
+
+    public Object getString() {
+        return string;
+    }
+
+    /** The searched input, already cut at {@code endpos}. */
+    public Object getInput() {
+        return input;
+    }
+
+    /** The {@code pos} argument the scanner was created with, reported by its matches. */
+    public int getInitialPos() {
+        return initialPos;
+    }
+
+    public int getEndpos() {
+        return endpos;
+    }
+
+    public int getPos() {
+        return pos;
+    }
+
+    public boolean isExhausted() {
+        return pos > endpos;
+    }
+
+    /** Continues after the match, or one position further if the match was empty. */
+    public void advance(int start, int end) {
+        pos = start == end ? end + 1 : end;
+    }
+
+    public void exhaust() {
+        pos = endpos + 1;
+    }
+}
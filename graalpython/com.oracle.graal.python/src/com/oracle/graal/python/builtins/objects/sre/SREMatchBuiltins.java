@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.GetGroupNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.GetTemplateNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.GroupNumberNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.InputToTextNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.TextToResultNode;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PSREMatch)
+public class SREMatchBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return SREMatchBuiltinsFactory.getFactories();
+    }
+
+    // Match.group([group1, ...])
+    @Builtin(name = "group", minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    public abstract static class GroupNode extends PythonBuiltinNode {
+        @Specialization(guards = "args.length == 0")
+        static Object groupZero(PSREMatch self, @SuppressWarnings("unused") Object[] args,
+                        @Cached GetGroupNode getGroupNode) {
+            return getGroupNode.execute(self, 0, PNone.NONE);
+        }
+
+        @Specialization(guards = "args.length == 1")
+        static Object group(VirtualFrame frame, PSREMatch self, Object[] args,
+                        @Cached GroupNumberNode groupNumberNode,
+                        @Cached GetGroupNode getGroupNode) {
+            return getGroupNode.execute(self, groupNumberNode.execute(frame, self.getPattern(), args[0]), PNone.NONE);
+        }
+
+        @Specialization(guards = "args.length > 1")
+        Object groups(VirtualFrame frame, PSREMatch self, Object[] args,
+                        @Cached GroupNumberNode groupNumberNode,
+                        @Cached GetGroupNode getGroupNode) {
+            Object[] result = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                result[i] = getGroupNode.execute(self, groupNumberNode.execute(frame, self.getPattern(), args[i]), PNone.NONE);
+            }
+            return factory().createTuple(result);
+        }
+    }
+
+    @Builtin(name = __GETITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class GetItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object getitem(VirtualFrame frame, PSREMatch self, Object group,
+                        @Cached GroupNumberNode groupNumberNode,
+                        @Cached GetGroupNode getGroupNode) {
+            return getGroupNode.execute(self, groupNumberNode.execute(frame, self.getPattern(), group), PNone.NONE);
+        }
+    }
+
+    // Match.groups(default=None)
+    @Builtin(name = "groups", minNumOfPositionalArgs = 1, parameterNames = {"$self", "default"})
+    @GenerateNodeFactory
+    public abstract static class GroupsNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTuple groups(PSREMatch self, Object defaultValue,
+                        @Cached GetGroupNode getGroupNode) {
+            Object dflt = PGuards.isNoValue(defaultValue) ? PNone.NONE : defaultValue;
+            Object[] result = new Object[self.getPattern().getGroups()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = getGroupNode.execute(self, i + 1, dflt);
+            }
+            return factory().createTuple(result);
+        }
+    }
+
+    // Match.groupdict(default=None)
+    @Builtin(name = "groupdict", minNumOfPositionalArgs = 1, parameterNames = {"$self", "default"})
+    @GenerateNodeFactory
+    public abstract static class GroupDictNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PDict groupdict(PSREMatch self, Object defaultValue,
+                        @Cached GetGroupNode getGroupNode,
+                        @CachedLibrary(limit = "1") HashingStorageLibrary lib) {
+            Object dflt = PGuards.isNoValue(defaultValue) ? PNone.NONE : defaultValue;
+            PSREPattern pattern = self.getPattern();
+            PDict result = factory().createDict();
+            HashingStorage storage = result.getDictStorage();
+            for (int i = 1; i <= pattern.getGroups(); i++) {
+                String name = pattern.getGroupName(i);
+                if (name != null) {
+                    storage = lib.setItem(storage, name, getGroupNode.execute(self, i, dflt));
+                }
+            }
+            result.setDictStorage(storage);
+            return result;
+        }
+    }
+
+    // Match.start(group=0)
+    @Builtin(name = "start", minNumOfPositionalArgs = 1, parameterNames = {"$self", "group"})
+    @GenerateNodeFactory
+    public abstract static class StartNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static int start(VirtualFrame frame, PSREMatch self, Object group,
+                        @Cached GroupNumberNode groupNumberNode) {
+            return self.getStart(PGuards.isNoValue(group) ? 0 : groupNumberNode.execute(frame, self.getPattern(), group));
+        }
+    }
+
+    // Match.end(group=0)
+    @Builtin(name = "end", minNumOfPositionalArgs = 1, parameterNames = {"$self", "group"})
+    @GenerateNodeFactory
+    public abstract static class EndNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static int end(VirtualFrame frame, PSREMatch self, Object group,
+                        @Cached GroupNumberNode groupNumberNode) {
+            return self.getEnd(PGuards.isNoValue(group) ? 0 : groupNumberNode.execute(frame, self.getPattern(), group));
+        }
+    }
+
+    // Match.span(group=0)
+    @Builtin(name = "span", minNumOfPositionalArgs = 1, parameterNames = {"$self", "group"})
+    @GenerateNodeFactory
+    public abstract static class SpanNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTuple span(VirtualFrame frame, PSREMatch self, Object group,
+                        @Cached GroupNumberNode groupNumberNode) {
+            int g = PGuards.isNoValue(group) ? 0 : groupNumberNode.execute(frame, self.getPattern(), group);
+            return factory().createTuple(new Object[]{self.getStart(g), self.getEnd(g)});
+        }
+    }
+
+    // Match.expand(template)
+    @Builtin(name = "expand", minNumOfPositionalArgs = 2, parameterNames = {"$self", "template"})
+    @GenerateNodeFactory
+    public abstract static class ExpandNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object expand(PSREMatch self, Object template,
+                        @Cached GetTemplateNode getTemplateNode,
+                        @Cached InputToTextNode inputToTextNode,
+                        @Cached TextToResultNode textToResultNode) {
+            SRETemplate compiled = getTemplateNode.execute(self.getPattern(), template);
+            String result;
+            if (compiled.isLiteral()) {
+                result = compiled.getLiteral();
+            } else {
+                result = expand(compiled, inputToTextNode.execute(self.getInput()), self.getBounds());
+            }
+            return textToResultNode.execute(self.getPattern(), result);
+        }
+
+        @TruffleBoundary
+        private static String expand(SRETemplate template, String text, int[] bounds) {
+            StringBuilder sb = new StringBuilder();
+            template.expand(sb, text, bounds);
+            return sb.toString();
+        }
+    }
+
+    @Builtin(name = "string", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class StringNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object string(PSREMatch self) {
+            return self.getString();
+        }
+    }
+
+    @Builtin(name = "re", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class ReNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object re(PSREMatch self) {
+            return self.getPattern();
+        }
+    }
+
+    @Builtin(name = "pos", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class PosNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int pos(PSREMatch self) {
+            return self.getPos();
+        }
+    }
+
+    @Builtin(name = "endpos", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class EndPosNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int endpos(PSREMatch self) {
+            return self.getEndpos();
+        }
+    }
+
+    @Builtin(name = "lastindex", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class LastIndexNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object lastindex(PSREMatch self) {
+            int lastIndex = self.getLastIndex();
+            return lastIndex < 0 ? PNone.NONE : lastIndex;
+        }
+    }
+
+    @Builtin(name = "lastgroup", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class LastGroupNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object lastgroup(PSREMatch self) {
+            int lastIndex = self.getLastIndex();
+            if (lastIndex < 0) {
+                return PNone.NONE;
+            }
+            String name = self.getPattern().getGroupName(lastIndex);
+            return name == null ? PNone.NONE : name;
+        }
+    }
+
+    @Builtin(name = "regs", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class RegsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple regs(PSREMatch self) {
+            Object[] regs = new Object[self.getPattern().getGroups() + 1];
+            for (int i = 0; i < regs.length; i++) {
+                regs[i] = factory().createTuple(new Object[]{self.getStart(i), self.getEnd(i)});
+            }
+            return factory().createTuple(regs);
+        }
+    }
+
+    @Builtin(name = __COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PSREMatch copy(PSREMatch self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "__deepcopy__", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DeepCopyNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PSREMatch deepcopy(PSREMatch self, @SuppressWarnings("unused") Object memo) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static String repr(VirtualFrame frame, PSREMatch self,
+                        @Cached GetGroupNode getGroupNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode,
+                        @Cached CastToJavaStringNode castToJavaStringNode) {
+            Object group = getGroupNode.execute(self, 0, PNone.NONE);
+            return format(self.getStart(0), self.getEnd(0), castToJavaStringNode.execute(reprNode.executeObject(frame, group)));
+        }
+
+        @TruffleBoundary
+        private static String format(int start, int end, String group) {
+            return String.format("<re.Match object; span=(%d, %d), match=%s>", start, end, group);
+        }
+    }
+}
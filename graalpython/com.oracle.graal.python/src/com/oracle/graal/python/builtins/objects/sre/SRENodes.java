@@ -0,0 +1,555 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.exception.PBaseException;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.builtins.objects.mmap.PMMap;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.IndirectCallNode;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ArityException;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+public final class SRENodes {
+
+    private SRENodes() {
+    }
+
+    static boolean isBytesLike(Object object) {
+        return object instanceof PBytesLike || object instanceof PMemoryView || object instanceof PMMap;
+    }
+
+    static boolean isByteStorage(PBytesLike bytes) {
+        return bytes.getSequenceStorage() instanceof ByteSequenceStorage;
+    }
+
+    /**
+     * Checks that the searched object fits the pattern and returns the input TRegex executes on: a
+     * {@code String} for {@code str} patterns, the bytes-like object itself otherwise.
+     */
+    public abstract static class CheckInputNode extends PNodeWithContext {
+
+        public abstract Object execute(PSREPattern pattern, Object string);
+
+        @Specialization
+        static Object check(PSREPattern pattern, Object string,
+                        @Cached CastToJavaStringNode castToJavaStringNode,
+                        @Cached PRaiseNode raiseNode) {
+            if (isBytesLike(string)) {
+                if (!pattern.isBinary()) {
+                    throw raiseNode.raise(TypeError, ErrorMessages.CANNOT_USE_STR_PATTERN_ON_BYTES);
+                }
+                return string;
+            }
+            String str;
+            try {
+                str = castToJavaStringNode.execute(string);
+            } catch (CannotCastException e) {
+                throw raiseNode.raise(TypeError, ErrorMessages.EXPECTED_STR_OR_BYTESLIKE_OBJ);
+            }
+            if (pattern.isBinary()) {
+                throw raiseNode.raise(TypeError, ErrorMessages.CANNOT_USE_BYTES_PATTERN_ON_STR);
+            }
+            return str;
+        }
+
+        public static CheckInputNode create() {
+            return SRENodesFactory.CheckInputNodeGen.create();
+        }
+    }
+
+    /**
+     * Returns the length of an input returned by {@link CheckInputNode}.
+     */
+    public abstract static class InputLengthNode extends PNodeWithContext {
+
+        public abstract int execute(Object input);
+
+        @Specialization
+        static int doString(String input) {
+            return input.length();
+        }
+
+        @Specialization(guards = "!isString(input)", limit = "3")
+        static int doBytesLike(Object input,
+                        @CachedLibrary("input") PythonObjectLibrary lib) {
+            try {
+                return lib.getBufferLength(input);
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        static boolean isString(Object input) {
+            return input instanceof String;
+        }
+
+        public static InputLengthNode create() {
+            return SRENodesFactory.InputLengthNodeGen.create();
+        }
+    }
+
+    /**
+     * Returns a {@code str} or {@code bytes} object of a part of the input.
+     */
+    public abstract static class InputSliceNode extends PNodeWithContext {
+
+        public abstract Object execute(Object input, int start, int end);
+
+        @Specialization
+        static String doString(String input, int start, int end) {
+            return substring(input, start, end);
+        }
+
+        @Specialization(guards = "isByteStorage(input)")
+        static Object doBytes(PBytesLike input, int start, int end,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            byte[] bytes = ((ByteSequenceStorage) input.getSequenceStorage()).getInternalByteArray();
+            return factory.createBytes(Arrays.copyOfRange(bytes, start, end));
+        }
+
+        @Specialization(guards = {"!isString(input)", "!isDirectBytes(input)"}, limit = "3")
+        static Object doBytesLike(Object input, int start, int end,
+                        @CachedLibrary("input") PythonObjectLibrary lib,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            try {
+                return factory.createBytes(Arrays.copyOfRange(lib.getBufferBytes(input), start, end));
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        static boolean isString(Object input) {
+            return input instanceof String;
+        }
+
+        static boolean isDirectBytes(Object input) {
+            return input instanceof PBytesLike && isByteStorage((PBytesLike) input);
+        }
+
+        @TruffleBoundary
+        private static String substring(String input, int start, int end) {
+            return input.substring(start, end);
+        }
+
+        public static InputSliceNode create() {
+            return SRENodesFactory.InputSliceNodeGen.create();
+        }
+    }
+
+    /**
+     * Cuts the input at {@code endpos}, like {@code string[:endpos]}.
+     */
+    public abstract static class CutInputNode extends PNodeWithContext {
+
+        public abstract Object execute(Object input, int length, int endpos);
+
+        @Specialization(guards = "endpos >= length")
+        static Object doWhole(Object input, @SuppressWarnings("unused") int length, @SuppressWarnings("unused") int endpos) {
+            return input;
+        }
+
+        @Specialization(guards = "endpos < length")
+        static Object doCut(Object input, @SuppressWarnings("unused") int length, int endpos,
+                        @Cached InputSliceNode sliceNode) {
+            return sliceNode.execute(input, 0, endpos);
+        }
+
+        public static CutInputNode create() {
+            return SRENodesFactory.CutInputNodeGen.create();
+        }
+    }
+
+    /**
+     * Returns the input as a {@code String}. The bytes of a {@code bytes} input are decoded as
+     * ISO-8859-1, so that each character stands for one byte.
+     */
+    public abstract static class InputToTextNode extends PNodeWithContext {
+
+        public abstract String execute(Object input);
+
+        @Specialization
+        static String doString(String input) {
+            return input;
+        }
+
+        @Specialization(guards = "!isString(input)", limit = "3")
+        static String doBytesLike(Object input,
+                        @CachedLibrary("input") PythonObjectLibrary lib) {
+            try {
+                return decode(lib.getBufferBytes(input));
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        static boolean isString(Object input) {
+            return input instanceof String;
+        }
+
+        @TruffleBoundary
+        static String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        public static InputToTextNode create() {
+            return SRENodesFactory.InputToTextNodeGen.create();
+        }
+    }
+
+    /**
+     * Converts a text built by the {@code sub} or {@code split} loops back to a {@code str} or
+     * {@code bytes} object.
+     */
+    public abstract static class TextToResultNode extends PNodeWithContext {
+
+        public abstract Object execute(PSREPattern pattern, String text);
+
+        @Specialization
+        static Object convert(PSREPattern pattern, String text,
+                        @Cached ConditionProfile binaryProfile,
+                        @Cached PythonObjectFactory factory) {
+            if (binaryProfile.profile(pattern.isBinary())) {
+                return factory.createBytes(encode(text));
+            }
+            return text;
+        }
+
+        @TruffleBoundary
+        private static byte[] encode(String text) {
+            return text.getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        public static TextToResultNode create() {
+            return SRENodesFactory.TextToResultNodeGen.create();
+        }
+    }
+
+    /**
+     * Executes a TRegex regex of the pattern at {@code pos} and reads the boundaries of all groups
+     * from the result. Returns {@code null} if there is no match.
+     */
+    public abstract static class TRegexExecNode extends PNodeWithContext implements IndirectCallNode {
+        @CompilationFinal private Assumption dontNeedExceptionState = Truffle.getRuntime().createAssumption();
+        @CompilationFinal private Assumption dontNeedCallerFrame = Truffle.getRuntime().createAssumption();
+
+        @Override
+        public Assumption needNotPassFrameAssumption() {
+            return dontNeedCallerFrame;
+        }
+
+        @Override
+        public Assumption needNotPassExceptionAssumption() {
+            return dontNeedExceptionState;
+        }
+
+        public abstract int[] execute(VirtualFrame frame, PSREPattern pattern, int mode, Object input, int pos);
+
+        @Specialization
+        int[] exec(VirtualFrame frame, PSREPattern pattern, int mode, Object input, int pos,
+                        @CachedLibrary(limit = "2") InteropLibrary execLib,
+                        @CachedLibrary(limit = "2") InteropLibrary resultLib,
+                        @CachedLibrary(limit = "2") InteropLibrary valueLib,
+                        @CachedContext(PythonLanguage.class) PythonContext context,
+                        @Cached PRaiseNode raiseNode) {
+            Object exec = pattern.getExec(mode);
+            if (exec == null) {
+                exec = compile(pattern, mode);
+            }
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                Object result = execLib.execute(exec, input, pos);
+                if (!valueLib.asBoolean(resultLib.readMember(result, "isMatch"))) {
+                    return null;
+                }
+                int groupCount = pattern.getGroups() + 1;
+                int[] bounds = new int[groupCount * 2];
+                for (int i = 0; i < groupCount; i++) {
+                    bounds[i * 2] = valueLib.asInt(resultLib.invokeMember(result, "getStart", i));
+                    bounds[i * 2 + 1] = valueLib.asInt(resultLib.invokeMember(result, "getEnd", i));
+                }
+                return bounds;
+            } catch (ArityException | UnsupportedTypeException | UnsupportedMessageException | UnknownIdentifierException e) {
+                throw raiseNode.raise(TypeError, "%s", e);
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+        }
+
+        /**
+         * Compiles the regex for {@code match} or {@code fullmatch} the first time it is needed.
+         */
+        @TruffleBoundary
+        private static Object compile(PSREPattern pattern, int mode) {
+            Object regex = CallNode.getUncached().execute(pattern.getCompiler(), mode != PSREPattern.SEARCH, mode == PSREPattern.FULLMATCH);
+            Object exec;
+            try {
+                exec = InteropLibrary.getUncached().readMember(regex, "exec");
+            } catch (InteropException e) {
+                throw PRaiseNode.getUncached().raise(TypeError, "%s", e);
+            }
+            pattern.setExec(mode, exec);
+            return exec;
+        }
+
+        public static TRegexExecNode create() {
+            return SRENodesFactory.TRegexExecNodeGen.create();
+        }
+    }
+
+    /**
+     * Returns the compiled template for a {@code str} or bytes-like replacement, using the cache of
+     * the pattern. Invalid templates raise {@code re.error}.
+     */
+    public abstract static class GetTemplateNode extends PNodeWithContext {
+
+        public abstract SRETemplate execute(PSREPattern pattern, Object template);
+
+        @Specialization
+        static SRETemplate get(PSREPattern pattern, Object template,
+                        @Cached CheckInputNode checkInputNode,
+                        @Cached InputToTextNode inputToTextNode) {
+            String text = inputToTextNode.execute(checkInputNode.execute(pattern, template));
+            SRETemplate compiled = pattern.getTemplate(text);
+            if (compiled == null) {
+                compiled = compile(pattern, text);
+                pattern.putTemplate(text, compiled);
+            }
+            return compiled;
+        }
+
+        @TruffleBoundary
+        private static SRETemplate compile(PSREPattern pattern, String text) {
+            try {
+                return SRETemplate.compile(text, pattern);
+            } catch (SRETemplate.TemplateError e) {
+                if (e.isIndexError()) {
+                    throw PRaiseNode.getUncached().raise(IndexError, "%s", e.getMessage());
+                }
+                PythonModule sre = PythonLanguage.getCore().lookupBuiltinModule("_sre");
+                Object errorType = ReadAttributeFromObjectNode.getUncached().execute(sre, "error");
+                Object error = CallNode.getUncached().execute(errorType, e.getMessage());
+                throw PRaiseNode.raise(PRaiseNode.getUncached(), (PBaseException) error, false);
+            }
+        }
+
+        public static GetTemplateNode create() {
+            return SRENodesFactory.GetTemplateNodeGen.create();
+        }
+    }
+
+    /**
+     * Converts a group argument of {@code group}, {@code start} and the like to the number of the
+     * group. Raises {@code IndexError} for unknown groups.
+     */
+    public abstract static class GroupNumberNode extends PNodeWithContext {
+
+        public abstract int execute(VirtualFrame frame, PSREPattern pattern, Object group);
+
+        @Specialization
+        static int doInt(PSREPattern pattern, int group,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            if (group < 0 || group > pattern.getGroups()) {
+                throw raiseNode.raise(IndexError, ErrorMessages.NO_SUCH_GROUP);
+            }
+            return group;
+        }
+
+        @Specialization
+        static int doString(PSREPattern pattern, String group,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            int number = pattern.getGroupNumber(group);
+            if (number < 0) {
+                throw raiseNode.raise(IndexError, ErrorMessages.NO_SUCH_GROUP);
+            }
+            return number;
+        }
+
+        @Specialization(replaces = {"doInt", "doString"}, limit = "3")
+        static int doGeneric(VirtualFrame frame, PSREPattern pattern, Object group,
+                        @CachedLibrary("group") PythonObjectLibrary lib,
+                        @Cached CastToJavaStringNode castToJavaStringNode,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            if (PGuards.isString(group)) {
+                return doString(pattern, castToJavaStringNode.execute(group), raiseNode);
+            } else if (lib.canBeIndex(group)) {
+                return doInt(pattern, lib.asSizeWithState(group, null, PArguments.getThreadState(frame)), raiseNode);
+            }
+            throw raiseNode.raise(IndexError, ErrorMessages.NO_SUCH_GROUP);
+        }
+
+        public static GroupNumberNode create() {
+            return SRENodesFactory.GroupNumberNodeGen.create();
+        }
+    }
+
+    /**
+     * Returns the text of a group of the match, or {@code defaultValue} if the group did not
+     * participate.
+     */
+    public abstract static class GetGroupNode extends PNodeWithContext {
+
+        public abstract Object execute(PSREMatch match, int group, Object defaultValue);
+
+        @Specialization
+        static Object get(PSREMatch match, int group, Object defaultValue,
+                        @Cached ConditionProfile unmatchedProfile,
+                        @Cached InputSliceNode sliceNode) {
+            int start = match.getStart(group);
+            if (unmatchedProfile.profile(start < 0)) {
+                return defaultValue;
+            }
+            return sliceNode.execute(match.getInput(), start, match.getEnd(group));
+        }
+
+        public static GetGroupNode create() {
+            return SRENodesFactory.GetGroupNodeGen.create();
+        }
+    }
+
+    /**
+     * Converts a {@code pos} or {@code endpos} argument and clips it to the input, like
+     * {@code state_init} of SRE.
+     */
+    public abstract static class PositionNode extends PNodeWithContext {
+
+        public abstract int execute(VirtualFrame frame, Object value, int defaultValue, int length);
+
+        @Specialization
+        static int doInt(int value, @SuppressWarnings("unused") int defaultValue, int length) {
+            return Math.max(0, Math.min(value, length));
+        }
+
+        @Specialization(guards = "isNoValue(value)")
+        static int doDefault(@SuppressWarnings("unused") Object value, int defaultValue, int length) {
+            return Math.max(0, Math.min(defaultValue, length));
+        }
+
+        @Specialization(guards = "!isNoValue(value)", replaces = "doInt", limit = "3")
+        static int doGeneric(VirtualFrame frame, Object value, @SuppressWarnings("unused") int defaultValue, int length,
+                        @CachedLibrary("value") PythonObjectLibrary lib) {
+            return doInt(lib.asSizeWithState(value, null, PArguments.getThreadState(frame)), defaultValue, length);
+        }
+
+        static boolean isNoValue(Object value) {
+            return PGuards.isNoValue(value);
+        }
+
+        public static PositionNode create() {
+            return SRENodesFactory.PositionNodeGen.create();
+        }
+    }
+
+    /**
+     * Implements {@code search}, {@code match} and {@code fullmatch}. Returns the match object or
+     * {@code None}.
+     */
+    public abstract static class SearchNode extends PNodeWithContext {
+
+        public abstract Object execute(VirtualFrame frame, PSREPattern pattern, int mode, Object string, Object pos, Object endpos);
+
+        @Specialization
+        static Object search(VirtualFrame frame, PSREPattern pattern, int mode, Object string, Object pos, Object endpos,
+                        @Cached CheckInputNode checkInputNode,
+                        @Cached InputLengthNode inputLengthNode,
+                        @Cached PositionNode posNode,
+                        @Cached PositionNode endposNode,
+                        @Cached CutInputNode cutInputNode,
+                        @Cached TRegexExecNode execNode,
+                        @Cached PythonObjectFactory factory) {
+            Object input = checkInputNode.execute(pattern, string);
+            int length = inputLengthNode.execute(input);
+            int start = posNode.execute(frame, pos, 0, length);
+            int end = endposNode.execute(frame, endpos, length, length);
+            if (start > end) {
+                return PNone.NONE;
+            }
+            int[] bounds = execNode.execute(frame, pattern, mode, cutInputNode.execute(input, length, end), start);
+            if (bounds == null) {
+                return PNone.NONE;
+            }
+            return factory.createSREMatch(pattern, string, input, start, end, bounds);
+        }
+
+        public static SearchNode create() {
+            return SRENodesFactory.SearchNodeGen.create();
+        }
+    }
+}
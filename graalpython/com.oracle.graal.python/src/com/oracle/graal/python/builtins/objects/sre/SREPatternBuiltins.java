@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.CheckInputNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.CutInputNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.GetTemplateNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.InputLengthNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.InputSliceNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.InputToTextNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.PositionNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.SearchNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.TRegexExecNode;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.TextToResultNode;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PSREPattern)
+public class SREPatternBuiltins extends PythonBuiltins {
+    private static final int FLAG_LOCALE = 4;
+    private static final int FLAG_UNICODE = 32;
+    private static final int FLAG_ASCII = 256;
+    private static final String[] FLAG_NAMES = {"re.TEMPLATE", "re.IGNORECASE", "re.LOCALE", "re.MULTILINE", "re.DOTALL", "re.UNICODE", "re.VERBOSE", "re.DEBUG", "re.ASCII"};
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return SREPatternBuiltinsFactory.getFactories();
+    }
+
+    @TruffleBoundary
+    private static void add(ArrayList<Object> list, Object item) {
+        list.add(item);
+    }
+
+    @TruffleBoundary
+    private static Object[] toArray(ArrayList<Object> list) {
+        return list.toArray();
+    }
+
+    @TruffleBoundary
+    private static StringBuilder newStringBuilder() {
+        return new StringBuilder();
+    }
+
+    @TruffleBoundary
+    private static void append(StringBuilder sb, String text, int start, int end) {
+        sb.append(text, start, end);
+    }
+
+    @TruffleBoundary
+    private static void append(StringBuilder sb, String text) {
+        sb.append(text);
+    }
+
+    @TruffleBoundary
+    private static String toString(StringBuilder sb) {
+        return sb.toString();
+    }
+
+    // Pattern.match(string, pos=0, endpos=sys.maxsize)
+    @Builtin(name = "match", minNumOfPositionalArgs = 2, parameterNames = {"$self", "string", "pos", "endpos"})
+    @GenerateNodeFactory
+    public abstract static class MatchNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object match(VirtualFrame frame, PSREPattern self, Object string, Object pos, Object endpos,
+                        @Cached SearchNode searchNode) {
+            return searchNode.execute(frame, self, PSREPattern.MATCH, string, pos, endpos);
+        }
+    }
+
+    // Pattern.fullmatch(string, pos=0, endpos=sys.maxsize)
+    @Builtin(name = "fullmatch", minNumOfPositionalArgs = 2, parameterNames = {"$self", "string", "pos", "endpos"})
+    @GenerateNodeFactory
+    public abstract static class FullMatchNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object fullmatch(VirtualFrame frame, PSREPattern self, Object string, Object pos, Object endpos,
+                        @Cached SearchNode searchNode) {
+            return searchNode.execute(frame, self, PSREPattern.FULLMATCH, string, pos, endpos);
+        }
+    }
+
+    // Pattern.search(string, pos=0, endpos=sys.maxsize)
+    @Builtin(name = "search", minNumOfPositionalArgs = 2, parameterNames = {"$self", "string", "pos", "endpos"})
+    @GenerateNodeFactory
+    public abstract static class SearchMethodNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object search(VirtualFrame frame, PSREPattern self, Object string, Object pos, Object endpos,
+                        @Cached SearchNode searchNode) {
+            return searchNode.execute(frame, self, PSREPattern.SEARCH, string, pos, endpos);
+        }
+    }
+
+    // Pattern.findall(string, pos=0, endpos=sys.maxsize)
+    @Builtin(name = "findall", minNumOfPositionalArgs = 2, parameterNames = {"$self", "string", "pos", "endpos"})
+    @GenerateNodeFactory
+    public abstract static class FindAllNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        PList findall(VirtualFrame frame, PSREPattern self, Object string, Object pos, Object endpos,
+                        @Cached CheckInputNode checkInputNode,
+                        @Cached InputLengthNode inputLengthNode,
+                        @Cached PositionNode posNode,
+                        @Cached PositionNode endposNode,
+                        @Cached CutInputNode cutInputNode,
+                        @Cached TRegexExecNode execNode,
+                        @Cached InputSliceNode sliceNode) {
+            Object input = checkInputNode.execute(self, string);
+            int length = inputLengthNode.execute(input);
+            int start = posNode.execute(frame, pos, 0, length);
+            int end = endposNode.execute(frame, endpos, length, length);
+            Object cut = cutInputNode.execute(input, length, end);
+            int groups = self.getGroups();
+            ArrayList<Object> result = new ArrayList<>();
+            while (start <= end) {
+                int[] bounds = execNode.execute(frame, self, PSREPattern.SEARCH, cut, start);
+                if (bounds == null) {
+                    break;
+                }
+                if (groups == 0) {
+                    add(result, sliceNode.execute(input, bounds[0], bounds[1]));
+                } else if (groups == 1) {
+                    add(result, group(input, bounds, 1, sliceNode));
+                } else {
+                    Object[] items = new Object[groups];
+                    for (int i = 0; i < groups; i++) {
+                        items[i] = group(input, bounds, i + 1, sliceNode);
+                    }
+                    add(result, factory().createTuple(items));
+                }
+                start = bounds[0] == bounds[1] ? bounds[1] + 1 : bounds[1];
+            }
+            return factory().createList(toArray(result));
+        }
+
+        /** Returns the group, or an empty {@code str} or {@code bytes} if it did not match. */
+        private static Object group(Object input, int[] bounds, int group, InputSliceNode sliceNode) {
+            int start = bounds[group * 2];
+            if (start < 0) {
+                return sliceNode.execute(input, 0, 0);
+            }
+            return sliceNode.execute(input, start, bounds[group * 2 + 1]);
+        }
+    }
+
+    // Pattern.finditer(string, pos=0, endpos=sys.maxsize)
+    @Builtin(name = "finditer", minNumOfPositionalArgs = 2, parameterNames = {"$self", "string", "pos", "endpos"})
+    @GenerateNodeFactory
+    public abstract static class FindIterNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        PSREScanner finditer(VirtualFrame frame, PSREPattern self, Object string, Object pos, Object endpos,
+                        @Cached CheckInputNode checkInputNode,
+                        @Cached InputLengthNode inputLengthNode,
+                        @Cached PositionNode posNode,
+                        @Cached PositionNode endposNode,
+                        @Cached CutInputNode cutInputNode) {
+            return createScanner(frame, factory(), self, string, pos, endpos, checkInputNode, inputLengthNode, posNode, endposNode, cutInputNode);
+        }
+    }
+
+    // Pattern.scanner(string, pos=0, endpos=sys.maxsize)
+    @Builtin(name = "scanner", minNumOfPositionalArgs = 2, parameterNames = {"$self", "string", "pos", "endpos"})
+    @GenerateNodeFactory
+    public abstract static class ScannerNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        PSREScanner scanner(VirtualFrame frame, PSREPattern self, Object string, Object pos, Object endpos,
+                        @Cached CheckInputNode checkInputNode,
+                        @Cached InputLengthNode inputLengthNode,
+                        @Cached PositionNode posNode,
+                        @Cached PositionNode endposNode,
+                        @Cached CutInputNode cutInputNode) {
+            return createScanner(frame, factory(), self, string, pos, endpos, checkInputNode, inputLengthNode, posNode, endposNode, cutInputNode);
+        }
+    }
+
+    private static PSREScanner createScanner(VirtualFrame frame, PythonObjectFactory factory, PSREPattern self, Object string, Object pos, Object endpos,
+                    CheckInputNode checkInputNode, InputLengthNode inputLengthNode, PositionNode posNode, PositionNode endposNode, CutInputNode cutInputNode) {
+        Object input = checkInputNode.execute(self, string);
+        int length = inputLengthNode.execute(input);
+        int start = posNode.execute(frame, pos, 0, length);
+        int end = endposNode.execute(frame, endpos, length, length);
+        return factory.createSREScanner(self, string, cutInputNode.execute(input, length, end), start, end);
+    }
+
+    // Pattern.split(string, maxsplit=0)
+    @Builtin(name = "split", minNumOfPositionalArgs = 2, parameterNames = {"$self", "string", "maxsplit"})
+    @GenerateNodeFactory
+    public abstract static class SplitNode extends PythonTernaryBuiltinNode {
+        @Specialization(limit = "3")
+        PList split(VirtualFrame frame, PSREPattern self, Object string, Object maxsplit,
+                        @CachedLibrary("maxsplit") PythonObjectLibrary lib,
+                        @Cached CheckInputNode checkInputNode,
+                        @Cached InputLengthNode inputLengthNode,
+                        @Cached TRegexExecNode execNode,
+                        @Cached InputSliceNode sliceNode) {
+            int max = PGuards.isNoValue(maxsplit) ? 0 : lib.asSizeWithState(maxsplit, null, PArguments.getThreadState(frame));
+            Object input = checkInputNode.execute(self, string);
+            int length = inputLengthNode.execute(input);
+            int groups = self.getGroups();
+            ArrayList<Object> result = new ArrayList<>();
+            int n = 0;
+            int last = 0;
+            int pos = 0;
+            while ((max <= 0 || n < max) && pos <= length) {
+                int[] bounds = execNode.execute(frame, self, PSREPattern.SEARCH, input, pos);
+                if (bounds == null) {
+                    break;
+                }
+                n++;
+                add(result, sliceNode.execute(input, last, bounds[0]));
+                for (int i = 1; i <= groups; i++) {
+                    int start = bounds[i * 2];
+                    add(result, start >= 0 ? sliceNode.execute(input, start, bounds[i * 2 + 1]) : PNone.NONE);
+                }
+                last = bounds[1];
+                pos = bounds[0] == bounds[1] ? bounds[1] + 1 : bounds[1];
+            }
+            add(result, sliceNode.execute(input, last, length));
+            return factory().createList(toArray(result));
+        }
+    }
+
+    // Pattern.sub(repl, string, count=0)
+    @Builtin(name = "sub", minNumOfPositionalArgs = 3, parameterNames = {"$self", "repl", "string", "count"})
+    @GenerateNodeFactory
+    public abstract static class SubNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        static Object sub(VirtualFrame frame, PSREPattern self, Object repl, Object string, Object count,
+                        @Cached SubnNode subnNode) {
+            return subnNode.execute(frame, self, repl, string, count).getSequenceStorage().getItemNormalized(0);
+        }
+    }
+
+    // Pattern.subn(repl, string, count=0)
+    @Builtin(name = "subn", minNumOfPositionalArgs = 3, parameterNames = {"$self", "repl", "string", "count"})
+    @GenerateNodeFactory
+    public abstract static class SubnNode extends PythonQuaternaryBuiltinNode {
+
+        public abstract PTuple execute(VirtualFrame frame, PSREPattern self, Object repl, Object string, Object count);
+
+        public static SubnNode create() {
+            return SREPatternBuiltinsFactory.SubnNodeFactory.create();
+        }
+
+        @Specialization(limit = "3")
+        PTuple subn(VirtualFrame frame, PSREPattern self, Object repl, Object string, Object count,
+                        @CachedLibrary("count") PythonObjectLibrary lib,
+                        @Cached CheckInputNode checkInputNode,
+                        @Cached InputToTextNode inputToTextNode,
+                        @Cached GetTemplateNode getTemplateNode,
+                        @Cached TRegexExecNode execNode,
+                        @Cached CallNode callNode,
+                        @Cached CastToJavaStringNode castToJavaStringNode,
+                        @Cached TextToResultNode textToResultNode,
+                        @Cached("createBinaryProfile()") ConditionProfile templateProfile,
+                        @Cached("createBinaryProfile()") ConditionProfile literalProfile) {
+            int max = PGuards.isNoValue(count) ? 0 : lib.asSizeWithState(count, null, PArguments.getThreadState(frame));
+            Object input = checkInputNode.execute(self, string);
+            String text = inputToTextNode.execute(input);
+            int length = text.length();
+            SRETemplate template = null;
+            if (templateProfile.profile(PGuards.isString(repl) || SRENodes.isBytesLike(repl))) {
+                template = getTemplateNode.execute(self, repl);
+            }
+            StringBuilder sb = newStringBuilder();
+            int n = 0;
+            int pos = 0;
+            while ((max <= 0 || n < max) && pos <= length) {
+                int[] bounds = execNode.execute(frame, self, PSREPattern.SEARCH, input, pos);
+                if (bounds == null) {
+                    break;
+                }
+                n++;
+                append(sb, text, pos, bounds[0]);
+                if (template == null) {
+                    PSREMatch match = factory().createSREMatch(self, string, input, 0, length, bounds);
+                    appendReplacement(self, sb, callNode.execute(frame, repl, match), inputToTextNode, castToJavaStringNode);
+                } else if (literalProfile.profile(template.isLiteral())) {
+                    append(sb, template.getLiteral());
+                } else {
+                    template.expand(sb, text, bounds);
+                }
+                pos = bounds[1];
+                if (bounds[0] == bounds[1]) {
+                    if (pos < length) {
+                        append(sb, text, pos, pos + 1);
+                    }
+                    pos++;
+                }
+            }
+            if (pos < length) {
+                append(sb, text, pos, length);
+            }
+            return factory().createTuple(new Object[]{textToResultNode.execute(self, toString(sb)), n});
+        }
+
+        private void appendReplacement(PSREPattern self, StringBuilder sb, Object replacement, InputToTextNode inputToTextNode, CastToJavaStringNode castToJavaStringNode) {
+            if (replacement == PNone.NONE) {
+                return;
+            }
+            if (self.isBinary()) {
+                if (!SRENodes.isBytesLike(replacement)) {
+                    throw raise(TypeError, ErrorMessages.EXPECTED_S_INSTANCE_P_FOUND, "a bytes-like object", replacement);
+                }
+                append(sb, inputToTextNode.execute(replacement));
+            } else {
+                try {
+                    append(sb, castToJavaStringNode.execute(replacement));
+                } catch (CannotCastException e) {
+                    throw raise(TypeError, ErrorMessages.EXPECTED_S_INSTANCE_P_FOUND, "str", replacement);
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "pattern", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class PatternNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object pattern(PSREPattern self) {
+            return self.getPattern();
+        }
+    }
+
+    @Builtin(name = "flags", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class FlagsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int flags(PSREPattern self) {
+            return self.getFlags();
+        }
+    }
+
+    @Builtin(name = "groups", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class GroupsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int groups(PSREPattern self) {
+            return self.getGroups();
+        }
+    }
+
+    @Builtin(name = "groupindex", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class GroupIndexNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object groupindex(PSREPattern self) {
+            return self.getGroupIndex();
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static String repr(VirtualFrame frame, PSREPattern self,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode,
+                        @Cached CastToJavaStringNode castToJavaStringNode) {
+            int flags = self.getFlags();
+            if (!self.isBinary() && (flags & (FLAG_LOCALE | FLAG_UNICODE | FLAG_ASCII)) == FLAG_UNICODE) {
+                // the UNICODE flag is implied for str patterns
+                flags &= ~FLAG_UNICODE;
+            }
+            return format(castToJavaStringNode.execute(reprNode.executeObject(frame, self.getPattern())), flags);
+        }
+
+        @TruffleBoundary
+        private static String format(String pattern, int flags) {
+            StringBuilder sb = new StringBuilder("re.compile(").append(pattern);
+            int remaining = flags;
+            String sep = ", ";
+            for (int i = 0; i < FLAG_NAMES.length; i++) {
+                if ((remaining & (1 << i)) != 0) {
+                    remaining &= ~(1 << i);
+                    sb.append(sep).append(FLAG_NAMES[i]);
+                    sep = "|";
+                }
+            }
+            if (remaining != 0) {
+                sb.append(sep).append(String.format("0x%x", remaining));
+            }
+            return sb.append(')').toString();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.sre.SRENodes.TRegexExecNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PSREScanner)
+public class SREScannerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return SREScannerBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Runs the pattern at the scanner's current position and advances it. Returns {@code null}
+     * once the scanner is exhausted.
+     */
+    static PSREMatch next(VirtualFrame frame, PSREScanner self, int mode, TRegexExecNode execNode, PythonObjectFactory factory) {
+        if (self.isExhausted()) {
+            return null;
+        }
+        int[] bounds = execNode.execute(frame, self.getPattern(), mode, self.getInput(), self.getPos());
+        if (bounds == null) {
+            self.exhaust();
+            return null;
+        }
+        PSREMatch match = factory.createSREMatch(self.getPattern(), self.getString(), self.getInput(), self.getInitialPos(), self.getEndpos(), bounds);
+        self.advance(bounds[0], bounds[1]);
+        return match;
+    }
+
+    @Builtin(name = "match", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class MatchNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object match(VirtualFrame frame, PSREScanner self,
+                        @Cached TRegexExecNode execNode) {
+            PSREMatch match = next(frame, self, PSREPattern.MATCH, execNode, factory());
+            return match == null ? PNone.NONE : match;
+        }
+    }
+
+    @Builtin(name = "search", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class SearchNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object search(VirtualFrame frame, PSREScanner self,
+                        @Cached TRegexExecNode execNode) {
+            PSREMatch match = next(frame, self, PSREPattern.SEARCH, execNode, factory());
+            return match == null ? PNone.NONE : match;
+        }
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PSREScanner iter(PSREScanner self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class NextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PSREMatch next(VirtualFrame frame, PSREScanner self,
+                        @Cached TRegexExecNode execNode) {
+            PSREMatch match = SREScannerBuiltins.next(frame, self, PSREPattern.SEARCH, execNode, factory());
+            if (match == null) {
+                throw raise(StopIteration);
+            }
+            return match;
+        }
+    }
+
+    @Builtin(name = "pattern", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class PatternNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PSREPattern pattern(PSREScanner self) {
+            return self.getPattern();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.sre;
+
+import java.util.ArrayList;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * A compiled replacement template of {@code sub}, {@code subn} and {@code expand}, like the result
+ * of {@code sre_parse.parse_template}. The expansion is the first literal, then alternately a group
+ * and the next literal. Templates of {@code bytes} patterns are handled as ISO-8859-1 strings.
+ */
+public final class SRETemplate {
+    private final String[] literals;
+    private final int[] groups;
+
+    private SRETemplate(String[] literals, int[] groups) {
+        assert literals.length == groups.length + 1;
+        this.literals = literals;
+        this.groups = groups;
+    }
+
+    /** Whether the template does not refer to any group. */
+    public boolean isLiteral() {
+        return groups.length == 0;
+    }
+
+    public String getLiteral() {
+        assert isLiteral();
+        return literals[0];
+    }
+
+    /**
+     * Appends the expansion for a match. Groups that did not participate are replaced by nothing.
+     */
+    @TruffleBoundary
+    public void expand(StringBuilder sb, String text, int[] bounds) {
+        sb.append(literals[0]);
+        for (int i = 0; i < groups.length; i++) {
+            int start = bounds[groups[i] * 2];
+            if (start >= 0) {
+                sb.append(text, start, bounds[groups[i] * 2 + 1]);
+            }
+            sb.append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * Thrown for an invalid template. {@link #isIndexError()} tells whether Python raises
+     * {@code IndexError} instead of {@code re.error}.
+     */
+    public static final class TemplateError extends Exception {
+        private static final long serialVersionUID = 1L;
+        private final boolean indexError;
+
+        TemplateError(String message, boolean indexError) {
+            super(message);
+            this.indexError = indexError;
+        }
+
+        public boolean isIndexError() {
+            return indexError;
+        }
+
+        @SuppressWarnings("sync-override")
+        @Override
+        public Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    @TruffleBoundary
+    public static SRETemplate compile(String template, PSREPattern pattern) throws TemplateError {
+        ArrayList<String> literals = new ArrayList<>();
+        ArrayList<Integer> groups = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int n = template.length();
+        int i = 0;
+        while (i < n) {
+            char c = template.charAt(i++);
+            if (c != '\\') {
+                literal.append(c);
+                continue;
+            }
+            if (i >= n) {
+                throw new TemplateError("bad escape (end of pattern)", false);
+            }
+            c = template.charAt(i++);
+            int group = -1;
+            if (c == 'g') {
+                if (i >= n || template.charAt(i) != '<') {
+                    throw new TemplateError("missing <", false);
+                }
+                int close = template.indexOf('>', i + 1);
+                if (close < 0) {
+                    throw new TemplateError("missing >, unterminated name", false);
+                }
+                String name = template.substring(i + 1, close);
+                i = close + 1;
+                group = parseGroupName(name, pattern);
+            } else if (c == '0') {
+                int value = 0;
+                for (int k = 0; k < 2 && i < n && isOctal(template.charAt(i)); k++) {
+                    value = value * 8 + (template.charAt(i++) - '0');
+                }
+                literal.append((char) value);
+            } else if (c >= '1' && c <= '9') {
+                group = c - '0';
+                if (i < n && isDigit(template.charAt(i))) {
+                    char c2 = template.charAt(i);
+                    if (isOctal(c) && isOctal(c2) && i + 1 < n && isOctal(template.charAt(i + 1))) {
+                        int value = (c - '0') * 64 + (c2 - '0') * 8 + (template.charAt(i + 1) - '0');
+                        if (value > 0377) {
+                            throw new TemplateError(String.format("octal escape value \\%s outside of range 0-0o377", template.substring(i - 1, i + 2)), false);
+                        }
+                        i += 2;
+                        literal.append((char) value);
+                        continue;
+                    }
+                    group = group * 10 + (c2 - '0');
+                    i++;
+                }
+                if (group > pattern.getGroups()) {
+                    throw new TemplateError("invalid group reference " + group, false);
+                }
+            } else {
+                char escaped = escape(c);
+                if (escaped != 0) {
+                    literal.append(escaped);
+                } else if (c < 128 && Character.isLetter(c)) {
+                    throw new TemplateError("bad escape \\" + c, false);
+                } else {
+                    literal.append('\\').append(c);
+                }
+            }
+            if (group >= 0) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                groups.add(group);
+            }
+        }
+        literals.add(literal.toString());
+        int[] groupArray = new int[groups.size()];
+        for (int k = 0; k < groupArray.length; k++) {
+            groupArray[k] = groups.get(k);
+        }
+        return new SRETemplate(literals.toArray(new String[0]), groupArray);
+    }
+
+    private static int parseGroupName(String name, PSREPattern pattern) throws TemplateError {
+        if (name.isEmpty()) {
+            throw new TemplateError("missing group name", false);
+        }
+        int group;
+        if (isDigits(name)) {
+            group = name.length() > 9 ? Integer.MAX_VALUE : Integer.parseInt(name);
+            if (group > pattern.getGroups()) {
+                throw new TemplateError("invalid group reference " + name, false);
+            }
+        } else {
+            if (!isIdentifier(name)) {
+                throw new TemplateError("bad character in group name '" + name + "'", false);
+            }
+            group = pattern.getGroupNumber(name);
+            if (group < 0) {
+                throw new TemplateError("unknown group name '" + name + "'", true);
+            }
+        }
+        return group;
+    }
+
+    private static char escape(char c) {
+        switch (c) {
+            case 'a':
+                return '\u0007';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'v':
+                return '\u000b';
+            case '\\':
+                return '\\';
+            default:
+                return 0;
+        }
+    }
+
+    private static boolean isOctal(char c) {
+        return c >= '0' && c <= '7';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isDigits(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIdentifier(String s) {
+        if (!Character.isUnicodeIdentifierStart(s.codePointAt(0)) && s.charAt(0) != '_') {
+            return false;
+        }
+        for (int i = Character.charCount(s.codePointAt(0)); i < s.length(); i += Character.charCount(s.codePointAt(i))) {
+            if (!Character.isUnicodeIdentifierPart(s.codePointAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
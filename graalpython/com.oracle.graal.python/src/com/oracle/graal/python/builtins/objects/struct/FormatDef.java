@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+/**
+ * The format characters of the {@code struct} syntax with their standard and native sizes, like
+ * the {@code formatdef} tables of CPython's {@code _struct.c}. Native sizes and alignments are
+ * those of LP64 platforms.
+ */
+public enum FormatDef {
+    PAD('x', 1, 1, 1),
+    CHAR('c', 1, 1, 1),
+    BYTE('b', 1, 1, 1),
+    UNSIGNED_BYTE('B', 1, 1, 1),
+    BOOL('?', 1, 1, 1),
+    SHORT('h', 2, 2, 2),
+    UNSIGNED_SHORT('H', 2, 2, 2),
+    INT('i', 4, 4, 4),
+    UNSIGNED_INT('I', 4, 4, 4),
+    LONG('l', 4, 8, 8),
+    UNSIGNED_LONG('L', 4, 8, 8),
+    LONG_LONG('q', 8, 8, 8),
+    UNSIGNED_LONG_LONG('Q', 8, 8, 8),
+    SSIZE_T('n', -1, 8, 8),
+    SIZE_T('N', -1, 8, 8),
+    HALF_FLOAT('e', 2, 2, 2),
+    FLOAT('f', 4, 4, 4),
+    DOUBLE('d', 8, 8, 8),
+    STRING('s', 1, 1, 1),
+    PASCAL_STRING('p', 1, 1, 1),
+    VOID_POINTER('P', -1, 8, 8);
+
+    public final char code;
+    /** The size in the standard modes, or {@code -1} if only available in native mode. */
+    public final int standardSize;
+    public final int nativeSize;
+    public final int nativeAlignment;
+
+    FormatDef(char code, int standardSize, int nativeSize, int nativeAlignment) {
+        this.code = code;
+        this.standardSize = standardSize;
+        this.nativeSize = nativeSize;
+        this.nativeAlignment = nativeAlignment;
+    }
+
+    public boolean isInteger() {
+        switch (this) {
+            case BYTE:
+            case UNSIGNED_BYTE:
+            case SHORT:
+            case UNSIGNED_SHORT:
+            case INT:
+            case UNSIGNED_INT:
+            case LONG:
+            case UNSIGNED_LONG:
+            case LONG_LONG:
+            case UNSIGNED_LONG_LONG:
+            case SSIZE_T:
+            case SIZE_T:
+            case VOID_POINTER:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public boolean isSigned() {
+        switch (this) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case LONG_LONG:
+            case SSIZE_T:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return the format for the character or {@code null} if there is none in the mode
+     */
+    public static FormatDef forCode(char c, boolean nativeMode) {
+        for (FormatDef def : values()) {
+            if (def.code == c) {
+                return nativeMode || def.standardSize != -1 ? def : null;
+            }
+        }
+        return null;
+    }
+}
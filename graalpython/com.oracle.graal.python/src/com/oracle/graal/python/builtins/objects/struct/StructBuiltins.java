@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.GetStructFormatNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.IterUnpackNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.PackIntoNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.PackNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.UnpackFromNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.UnpackNode;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PStruct)
+public class StructBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return StructBuiltinsFactory.getFactories();
+    }
+
+    static StructFormat getFormat(PStruct self, PRaiseNode raiseNode) {
+        StructFormat format = self.getFormat();
+        if (format == null) {
+            throw raiseNode.raise(ValueError, ErrorMessages.STRUCT_NOT_INITIALIZED);
+        }
+        return format;
+    }
+
+    // Struct.__init__(format)
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "format"})
+    @GenerateNodeFactory
+    public abstract static class InitNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone init(PStruct self, Object format,
+                        @Cached GetStructFormatNode getStructFormatNode) {
+            self.setFormat(getStructFormatNode.execute(format, null));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "pack", minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    public abstract static class PackMethodNode extends PythonBuiltinNode {
+        @Specialization
+        static PBytes pack(VirtualFrame frame, PStruct self, Object[] args,
+                        @Cached PackNode packNode,
+                        @Cached PRaiseNode raiseNode) {
+            return packNode.execute(frame, getFormat(self, raiseNode), args);
+        }
+    }
+
+    @Builtin(name = "pack_into", minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    public abstract static class PackIntoMethodNode extends PythonBuiltinNode {
+        @Specialization
+        static PNone packInto(VirtualFrame frame, PStruct self, Object[] args,
+                        @Cached PackIntoNode packIntoNode,
+                        @Cached PRaiseNode raiseNode) {
+            packIntoNode.execute(frame, getFormat(self, raiseNode), args);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unpack", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer"})
+    @GenerateNodeFactory
+    public abstract static class UnpackMethodNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PTuple unpack(PStruct self, Object buffer,
+                        @Cached UnpackNode unpackNode,
+                        @Cached PRaiseNode raiseNode) {
+            return unpackNode.execute(getFormat(self, raiseNode), buffer);
+        }
+    }
+
+    // Struct.unpack_from(buffer, offset=0)
+    @Builtin(name = "unpack_from", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer", "offset"})
+    @GenerateNodeFactory
+    public abstract static class UnpackFromMethodNode extends PythonTernaryBuiltinNode {
+        @Specialization(limit = "2")
+        static PTuple unpackFrom(VirtualFrame frame, PStruct self, Object buffer, Object offset,
+                        @CachedLibrary("offset") PythonObjectLibrary lib,
+                        @Cached UnpackFromNode unpackFromNode,
+                        @Cached PRaiseNode raiseNode) {
+            int offsetValue = PGuards.isNoValue(offset) ? 0 : lib.asSizeWithState(offset, IndexError, PArguments.getThreadState(frame));
+            return unpackFromNode.execute(getFormat(self, raiseNode), buffer, offsetValue);
+        }
+    }
+
+    @Builtin(name = "iter_unpack", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer"})
+    @GenerateNodeFactory
+    public abstract static class IterUnpackMethodNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PStructUnpackIterator iterUnpack(PStruct self, Object buffer,
+                        @Cached IterUnpackNode iterUnpackNode,
+                        @Cached PRaiseNode raiseNode) {
+            return iterUnpackNode.execute(getFormat(self, raiseNode), buffer);
+        }
+    }
+
+    @Builtin(name = "format", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class FormatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static String format(PStruct self,
+                        @Cached PRaiseNode raiseNode) {
+            return getFormat(self, raiseNode).getFormat();
+        }
+    }
+
+    @Builtin(name = "size", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class SizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int size(PStruct self,
+                        @Cached PRaiseNode raiseNode) {
+            return getFormat(self, raiseNode).getSize();
+        }
+    }
+}
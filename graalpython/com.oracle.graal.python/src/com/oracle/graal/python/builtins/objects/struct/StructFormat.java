@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * A compiled {@code struct} format: the byte order and the offsets of all items, like the
+ * {@code s_codes} of a {@code PyStructObject} in CPython. A format is immutable and does not
+ * depend on the context, so it can be cached and shared freely.
+ */
+public final class StructFormat {
+    private static final boolean NATIVE_BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+    private static final BigInteger TWO_POW_64 = BigInteger.ONE.shiftLeft(64);
+
+    /**
+     * A run of items of the same format character. A {@code 's'} or {@code 'p'} code is a single
+     * item of {@link #size} bytes.
+     */
+    public static final class Code {
+        public final FormatDef def;
+        public final int offset;
+        public final int size;
+        public final int repeat;
+
+        Code(FormatDef def, int offset, int size, int repeat) {
+            this.def = def;
+            this.offset = offset;
+            this.size = size;
+            this.repeat = repeat;
+        }
+    }
+
+    private final String format;
+    private final boolean nativeMode;
+    private final boolean bigEndian;
+    @CompilationFinal(dimensions = 1) private final Code[] codes;
+    private final int size;
+    private final int length;
+
+    private StructFormat(String format, boolean nativeMode, boolean bigEndian, Code[] codes, int size, int length) {
+        this.format = format;
+        this.nativeMode = nativeMode;
+        this.bigEndian = bigEndian;
+        this.codes = codes;
+        this.size = size;
+        this.length = length;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public boolean isNativeMode() {
+        return nativeMode;
+    }
+
+    public Code[] getCodes() {
+        return codes;
+    }
+
+    /** The number of bytes of a packed struct, exposed as {@code size}. */
+    public int getSize() {
+        return size;
+    }
+
+    /** The number of values of a struct. */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Compiles a format string like {@code prepare_s} in CPython.
+     */
+    @TruffleBoundary
+    public static StructFormat compile(String format, PRaiseNode raiseNode) {
+        if (format.indexOf('\0') >= 0) {
+            throw raiseNode.raise(PythonBuiltinClassType.StructError, ErrorMessages.EMBEDDED_NULL_CHARACTER);
+        }
+        boolean nativeMode = false;
+        boolean bigEndian = NATIVE_BIG_ENDIAN;
+        int i = 0;
+        char first = format.isEmpty() ? '\0' : format.charAt(0);
+        switch (first) {
+            case '<':
+                bigEndian = false;
+                i++;
+                break;
+            case '>':
+            case '!':
+                bigEndian = true;
+                i++;
+                break;
+            case '=':
+                i++;
+                break;
+            case '@':
+                i++;
+                nativeMode = true;
+                break;
+            default:
+                nativeMode = true;
+        }
+        ArrayList<Code> codes = new ArrayList<>();
+        long size = 0;
+        int length = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i++);
+            if (isSpace(c)) {
+                continue;
+            }
+            long num = 1;
+            if (c >= '0' && c <= '9') {
+                num = c - '0';
+                while (i < format.length() && (c = format.charAt(i++)) >= '0' && c <= '9') {
+                    num = num * 10 + (c - '0');
+                    if (num > Integer.MAX_VALUE) {
+                        throw raiseNode.raise(PythonBuiltinClassType.StructError, ErrorMessages.TOTAL_STRUCT_SIZE_TOO_LONG);
+                    }
+                }
+                if (c >= '0' && c <= '9') {
+                    throw raiseNode.raise(PythonBuiltinClassType.StructError, ErrorMessages.REPEAT_COUNT_WITHOUT_FORMAT_SPECIFIER);
+                }
+            }
+            FormatDef def = FormatDef.forCode(c, nativeMode);
+            if (def == null) {
+                throw raiseNode.raise(PythonBuiltinClassType.StructError, ErrorMessages.BAD_CHAR_IN_STRUCT_FORMAT);
+            }
+            int itemSize = nativeMode ? def.nativeSize : def.standardSize;
+            if (nativeMode && size > 0) {
+                // align the item like a C compiler would
+                size = (size + def.nativeAlignment - 1) / def.nativeAlignment * def.nativeAlignment;
+            }
+            if (def == FormatDef.STRING || def == FormatDef.PASCAL_STRING) {
+                codes.add(new Code(def, (int) size, (int) num, 1));
+                length++;
+            } else if (def != FormatDef.PAD && num > 0) {
+                codes.add(new Code(def, (int) size, itemSize, (int) num));
+                length += num;
+            }
+            size += num * itemSize;
+            if (size > Integer.MAX_VALUE) {
+                throw raiseNode.raise(PythonBuiltinClassType.StructError, ErrorMessages.TOTAL_STRUCT_SIZE_TOO_LONG);
+            }
+        }
+        return new StructFormat(format, nativeMode, bigEndian, codes.toArray(new Code[codes.size()]), (int) size, length);
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\u000b' || c == '\f';
+    }
+
+    /**
+     * Returns the value of the item of the given code starting at {@code offset} as Python object.
+     */
+    public Object unpack(Code code, byte[] bytes, int offset, PythonObjectFactory factory) {
+        switch (code.def) {
+            case CHAR:
+                return factory.createBytes(new byte[]{bytes[offset]});
+            case BYTE:
+                return (int) bytes[offset];
+            case UNSIGNED_BYTE:
+                return bytes[offset] & 0xff;
+            case BOOL:
+                return bytes[offset] != 0;
+            case HALF_FLOAT:
+                return unpackHalf((short) readRaw(bytes, offset, 2));
+            case FLOAT:
+                return (double) Float.intBitsToFloat((int) readRaw(bytes, offset, 4));
+            case DOUBLE:
+                return Double.longBitsToDouble(readRaw(bytes, offset, 8));
+            case STRING:
+                return factory.createBytes(copyOfRange(bytes, offset, code.size));
+            case PASCAL_STRING: {
+                if (code.size == 0) {
+                    return factory.createBytes(new byte[0]);
+                }
+                int n = Math.min(bytes[offset] & 0xff, code.size - 1);
+                return factory.createBytes(copyOfRange(bytes, offset + 1, n));
+            }
+            default:
+                long raw = readRaw(bytes, offset, code.size);
+                int bits = code.size * 8;
+                if (code.def.isSigned()) {
+                    long value = bits == 64 ? raw : (raw << (64 - bits)) >> (64 - bits);
+                    return bits <= 32 ? (Object) (int) value : (Object) value;
+                } else if (bits == 64 && raw < 0) {
+                    return factory.createInt(toUnsignedBigInteger(raw));
+                }
+                return bits < 32 ? (Object) (int) raw : (Object) raw;
+        }
+    }
+
+    @TruffleBoundary
+    private static BigInteger toUnsignedBigInteger(long value) {
+        return BigInteger.valueOf(value).add(TWO_POW_64);
+    }
+
+    private static byte[] copyOfRange(byte[] bytes, int offset, int n) {
+        byte[] result = new byte[n];
+        System.arraycopy(bytes, offset, result, 0, n);
+        return result;
+    }
+
+    long readRaw(byte[] bytes, int offset, int n) {
+        long result = 0;
+        for (int i = 0; i < n; i++) {
+            int b = bytes[offset + (bigEndian ? i : n - 1 - i)] & 0xff;
+            result = (result << 8) | b;
+        }
+        return result;
+    }
+
+    void writeRaw(byte[] bytes, int offset, int n, long value) {
+        long v = value;
+        for (int i = 0; i < n; i++) {
+            bytes[offset + (bigEndian ? n - 1 - i : i)] = (byte) v;
+            v >>>= 8;
+        }
+    }
+
+    /**
+     * Converts an IEEE 754 binary16 value like {@code _PyFloat_Unpack2}.
+     */
+    static double unpackHalf(short bits) {
+        int sign = (bits >> 15) & 1;
+        int e = (bits >> 10) & 0x1f;
+        int f = bits & 0x3ff;
+        if (e == 0x1f) {
+            if (f == 0) {
+                return sign == 0 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+            }
+            return sign == 0 ? Double.NaN : -Double.NaN;
+        }
+        double x = f / 1024.0;
+        if (e == 0) {
+            e = -14;
+        } else {
+            x += 1.0;
+            e -= 15;
+        }
+        x = Math.scalb(x, e);
+        return sign == 0 ? x : -x;
+    }
+
+    /**
+     * Converts a double to an IEEE 754 binary16 value with round-half-even like
+     * {@code _PyFloat_Pack2}.
+     *
+     * @return the bits of the half float or {@code -1} if the value is too large
+     */
+    static int packHalf(double x) {
+        int sign = Double.doubleToRawLongBits(x) < 0 ? 1 : 0;
+        int e;
+        int bits;
+        if (Double.isNaN(x)) {
+            e = 0x1f;
+            bits = 512;
+        } else if (Double.isInfinite(x)) {
+            e = 0x1f;
+            bits = 0;
+        } else if (x == 0.0) {
+            e = 0;
+            bits = 0;
+        } else {
+            // f in [1.0, 2.0) such that |x| == f * 2**e
+            double a = Math.abs(x);
+            e = Math.getExponent(a);
+            double f = Math.scalb(a, -e);
+            if (e >= 16) {
+                return -1;
+            } else if (e < -25) {
+                // |x| < 2**-25, underflow to zero
+                f = 0.0;
+                e = 0;
+            } else if (e < -14) {
+                // |x| < 2**-14, a subnormal half float
+                f = Math.scalb(f, 14 + e);
+                e = 0;
+            } else {
+                e += 15;
+                f -= 1.0;
+            }
+            f *= 1024.0;
+            bits = (int) f;
+            f -= bits;
+            if (f > 0.5 || (f == 0.5 && bits % 2 == 1)) {
+                bits++;
+                if (bits == 1024) {
+                    bits = 0;
+                    e++;
+                    if (e == 31) {
+                        return -1;
+                    }
+                }
+            }
+        }
+        return (sign << 15) | (e << 10) | bits;
+    }
+}
@@ -0,0 +1,801 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.BufferError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StructError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.objects.array.PArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PArguments.ThreadState;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.ReadBytesNode;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.WriteBytesNode;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.builtins.objects.mmap.PMMap;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.struct.StructFormat.Code;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+
+public final class StructNodes {
+
+    private StructNodes() {
+    }
+
+    /**
+     * Whether the object is a byte sequence whose storage the struct functions access directly.
+     */
+    static boolean isDirectSequence(Object object) {
+        return (object instanceof PBytesLike || object instanceof PArray) && ((PSequence) object).getSequenceStorage() instanceof ByteSequenceStorage;
+    }
+
+    static boolean isGenericBuffer(Object object) {
+        return !(object instanceof PBytesLike || object instanceof PMemoryView || object instanceof PMMap) && !isDirectSequence(object);
+    }
+
+    /**
+     * Returns the compiled format for a {@code str} or {@code bytes} format. Each node caches the
+     * formats it sees most often, other formats are looked up in the given cache first, if any.
+     */
+    @ImportStatic(StructNodes.class)
+    public abstract static class GetStructFormatNode extends PNodeWithContext {
+        static final int CACHE_LIMIT = 4;
+
+        public abstract StructFormat execute(Object format, StructFormatCache cache);
+
+        @Specialization(guards = "cachedString.equals(format)", limit = "CACHE_LIMIT")
+        static StructFormat doCached(@SuppressWarnings("unused") String format, @SuppressWarnings("unused") StructFormatCache cache,
+                        @SuppressWarnings("unused") @Cached("format") String cachedString,
+                        @Cached("compileUncached(format)") StructFormat cachedFormat) {
+            return cachedFormat;
+        }
+
+        @Specialization(replaces = "doCached")
+        static StructFormat doGeneric(Object format, StructFormatCache cache,
+                        @Cached CastToJavaStringNode castToJavaStringNode,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib,
+                        @Cached PRaiseNode raiseNode) {
+            String string;
+            if (format instanceof PBytes) {
+                try {
+                    string = decode(lib.getBufferBytes(format));
+                } catch (UnsupportedMessageException e) {
+                    throw CompilerDirectives.shouldNotReachHere(e);
+                }
+            } else {
+                try {
+                    string = castToJavaStringNode.execute(format);
+                } catch (CannotCastException e) {
+                    throw raiseNode.raise(TypeError, ErrorMessages.STRUCT_ARG_MUST_BE_STR_OR_BYTES, format);
+                }
+            }
+            if (cache == null) {
+                return StructFormat.compile(string, raiseNode);
+            }
+            StructFormat compiled = cache.get(string);
+            if (compiled == null) {
+                compiled = StructFormat.compile(string, raiseNode);
+                cache.put(string, compiled);
+            }
+            return compiled;
+        }
+
+        static StructFormat compileUncached(String format) {
+            return StructFormat.compile(format, PRaiseNode.getUncached());
+        }
+
+        @TruffleBoundary
+        private static String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        public static GetStructFormatNode create() {
+            return StructNodesFactory.GetStructFormatNodeGen.create();
+        }
+    }
+
+    /**
+     * Packs one item like the {@code np_*}, {@code lp_*} and {@code bp_*} functions of CPython.
+     */
+    public abstract static class PackItemNode extends PNodeWithContext {
+
+        public abstract void execute(VirtualFrame frame, StructFormat format, Code code, Object value, byte[] dest, int offset);
+
+        @Specialization
+        static void pack(VirtualFrame frame, StructFormat format, Code code, Object value, byte[] dest, int offset,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached PRaiseNode raiseNode) {
+            ThreadState state = PArguments.getThreadState(frame);
+            switch (code.def) {
+                case CHAR: {
+                    byte[] bytes = getBytes(value, lib);
+                    if (bytes == null || bytes.length != 1) {
+                        throw raiseNode.raise(StructError, ErrorMessages.CHAR_FORMAT_REQUIRES_BYTES_OF_LENGTH_1);
+                    }
+                    dest[offset] = bytes[0];
+                    break;
+                }
+                case BOOL:
+                    dest[offset] = (byte) (lib.isTrueWithState(value, state) ? 1 : 0);
+                    break;
+                case HALF_FLOAT: {
+                    int bits = StructFormat.packHalf(asDouble(value, lib, state, raiseNode));
+                    if (bits == -1) {
+                        throw raiseNode.raise(OverflowError, ErrorMessages.FLOAT_TOO_LARGE_TO_PACK_WITH_S_FORMAT, code.def.code);
+                    }
+                    format.writeRaw(dest, offset, 2, bits);
+                    break;
+                }
+                case FLOAT: {
+                    double value64 = asDouble(value, lib, state, raiseNode);
+                    float value32 = (float) value64;
+                    if (Float.isInfinite(value32) && !Double.isInfinite(value64)) {
+                        throw raiseNode.raise(OverflowError, ErrorMessages.FLOAT_TOO_LARGE_TO_PACK_WITH_S_FORMAT, code.def.code);
+                    }
+                    format.writeRaw(dest, offset, 4, Float.floatToRawIntBits(value32));
+                    break;
+                }
+                case DOUBLE:
+                    format.writeRaw(dest, offset, 8, Double.doubleToRawLongBits(asDouble(value, lib, state, raiseNode)));
+                    break;
+                case STRING: {
+                    byte[] bytes = getBytes(value, lib);
+                    if (bytes == null) {
+                        throw raiseNode.raise(StructError, ErrorMessages.ARG_FOR_S_MUST_BE_BYTES, code.def.code);
+                    }
+                    System.arraycopy(bytes, 0, dest, offset, Math.min(bytes.length, code.size));
+                    break;
+                }
+                case PASCAL_STRING: {
+                    byte[] bytes = getBytes(value, lib);
+                    if (bytes == null) {
+                        throw raiseNode.raise(StructError, ErrorMessages.ARG_FOR_S_MUST_BE_BYTES, code.def.code);
+                    }
+                    if (code.size > 0) {
+                        int n = Math.min(bytes.length, code.size - 1);
+                        System.arraycopy(bytes, 0, dest, offset + 1, n);
+                        dest[offset] = (byte) Math.min(n, 255);
+                    }
+                    break;
+                }
+                default:
+                    format.writeRaw(dest, offset, code.size, asLong(format, code, value, lib, state, raiseNode));
+            }
+        }
+
+        private static byte[] getBytes(Object value, PythonObjectLibrary lib) {
+            if (!(value instanceof PBytesLike)) {
+                return null;
+            }
+            try {
+                return lib.getBufferBytes(value);
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        private static double asDouble(Object value, PythonObjectLibrary lib, ThreadState state, PRaiseNode raiseNode) {
+            if (!lib.canBeJavaDouble(value)) {
+                throw raiseNode.raise(StructError, ErrorMessages.REQUIRED_ARGUMENT_IS_NOT_A_FLOAT);
+            }
+            return lib.asJavaDoubleWithState(value, state);
+        }
+
+        /**
+         * Converts an integer value to the bits of an item, like {@code get_pylong} and the range
+         * checks of the packing functions.
+         */
+        private static long asLong(StructFormat format, Code code, Object value, PythonObjectLibrary lib, ThreadState state, PRaiseNode raiseNode) {
+            if (!lib.canBeIndex(value)) {
+                throw raiseNode.raise(StructError, ErrorMessages.REQUIRED_ARGUMENT_IS_NOT_AN_INTEGER);
+            }
+            Object index = lib.asIndexWithState(value, state);
+            long result;
+            if (index instanceof PInt) {
+                BigInteger big = ((PInt) index).getValue();
+                boolean unsigned64 = code.size == 8 && (!code.def.isSigned());
+                if (!fitsLong(big, unsigned64 || code.def == FormatDef.VOID_POINTER)) {
+                    throw rangeError(format, code, raiseNode);
+                }
+                result = PInt.longValue(big);
+                if (unsigned64) {
+                    // the value may not fit a signed long but all its bits do
+                    return result;
+                }
+            } else {
+                result = lib.asJavaLong(index);
+            }
+            if (!inRange(code, result)) {
+                throw rangeError(format, code, raiseNode);
+            }
+            return result;
+        }
+
+        @TruffleBoundary
+        private static boolean fitsLong(BigInteger value, boolean allowUnsigned) {
+            return value.bitLength() <= 63 || allowUnsigned && value.signum() >= 0 && value.bitLength() <= 64;
+        }
+
+        private static boolean inRange(Code code, long value) {
+            int bits = code.size * 8;
+            if (code.def == FormatDef.VOID_POINTER) {
+                return true;
+            } else if (code.def.isSigned()) {
+                return bits == 64 || (value >= -(1L << (bits - 1)) && value < (1L << (bits - 1)));
+            } else {
+                return value >= 0 && (bits == 64 || value < (1L << bits));
+            }
+        }
+
+        private static PException rangeError(StructFormat format, Code code, PRaiseNode raiseNode) {
+            if (code.size == 8) {
+                throw raiseNode.raise(StructError, ErrorMessages.ARGUMENT_OUT_OF_RANGE);
+            }
+            switch (code.def) {
+                case BYTE:
+                    throw raiseNode.raise(StructError, ErrorMessages.BYTE_FORMAT_REQUIRES_NUMBER_IN_RANGE);
+                case UNSIGNED_BYTE:
+                    throw raiseNode.raise(StructError, ErrorMessages.UBYTE_FORMAT_REQUIRES_NUMBER_IN_RANGE);
+                case SHORT:
+                    if (format.isNativeMode()) {
+                        throw raiseNode.raise(StructError, ErrorMessages.SHORT_FORMAT_REQUIRES_NUMBER_IN_RANGE);
+                    }
+                    break;
+                case UNSIGNED_SHORT:
+                    if (format.isNativeMode()) {
+                        throw raiseNode.raise(StructError, ErrorMessages.USHORT_FORMAT_REQUIRES_NUMBER_IN_RANGE);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            int bits = code.size * 8;
+            if (code.def.isSigned()) {
+                throw raiseNode.raise(StructError, ErrorMessages.FORMAT_S_REQUIRES_D_LE_NUMBER_LE_D, code.def.code, -(1L << (bits - 1)), (1L << (bits - 1)) - 1);
+            }
+            throw raiseNode.raise(StructError, ErrorMessages.FORMAT_S_REQUIRES_0_LE_NUMBER_LE_D, code.def.code, (1L << bits) - 1);
+        }
+
+        public static PackItemNode create() {
+            return StructNodesFactory.PackItemNodeGen.create();
+        }
+    }
+
+    /**
+     * Packs the values starting at {@code valuesOffset} into the zeroed bytes of the destination.
+     * The loop over the items is unrolled for the formats a node sees most often.
+     */
+    public abstract static class PackValuesNode extends PNodeWithContext {
+
+        public abstract void execute(VirtualFrame frame, StructFormat format, Object[] values, int valuesOffset, byte[] dest, int destOffset);
+
+        @Specialization(guards = "format == cachedFormat", limit = "3")
+        @ExplodeLoop
+        static void doCached(VirtualFrame frame, @SuppressWarnings("unused") StructFormat format, Object[] values, int valuesOffset, byte[] dest, int destOffset,
+                        @Cached("format") StructFormat cachedFormat,
+                        @Shared("pack") @Cached PackItemNode packItemNode) {
+            Code[] codes = cachedFormat.getCodes();
+            int valueIndex = valuesOffset;
+            for (int i = 0; i < codes.length; i++) {
+                valueIndex = packCode(frame, cachedFormat, codes[i], values, valueIndex, dest, destOffset, packItemNode);
+            }
+        }
+
+        @Specialization(replaces = "doCached")
+        static void doGeneric(VirtualFrame frame, StructFormat format, Object[] values, int valuesOffset, byte[] dest, int destOffset,
+                        @Shared("pack") @Cached PackItemNode packItemNode) {
+            Code[] codes = format.getCodes();
+            int valueIndex = valuesOffset;
+            for (int i = 0; i < codes.length; i++) {
+                valueIndex = packCode(frame, format, codes[i], values, valueIndex, dest, destOffset, packItemNode);
+            }
+        }
+
+        private static int packCode(VirtualFrame frame, StructFormat format, Code code, Object[] values, int valueIndex, byte[] dest, int destOffset, PackItemNode packItemNode) {
+            for (int j = 0; j < code.repeat; j++) {
+                packItemNode.execute(frame, format, code, values[valueIndex + j], dest, destOffset + code.offset + j * code.size);
+            }
+            return valueIndex + code.repeat;
+        }
+
+        public static PackValuesNode create() {
+            return StructNodesFactory.PackValuesNodeGen.create();
+        }
+    }
+
+    /**
+     * Unpacks all values of a struct starting at {@code srcOffset}. The loop over the items is
+     * unrolled for the formats a node sees most often.
+     */
+    public abstract static class UnpackValuesNode extends PNodeWithContext {
+
+        public abstract Object[] execute(StructFormat format, byte[] src, int srcOffset);
+
+        @Specialization(guards = "format == cachedFormat", limit = "3")
+        @ExplodeLoop
+        static Object[] doCached(@SuppressWarnings("unused") StructFormat format, byte[] src, int srcOffset,
+                        @Cached("format") StructFormat cachedFormat,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            Code[] codes = cachedFormat.getCodes();
+            Object[] result = new Object[cachedFormat.getLength()];
+            int valueIndex = 0;
+            for (int i = 0; i < codes.length; i++) {
+                valueIndex = unpackCode(cachedFormat, codes[i], src, srcOffset, result, valueIndex, factory);
+            }
+            return result;
+        }
+
+        @Specialization(replaces = "doCached")
+        static Object[] doGeneric(StructFormat format, byte[] src, int srcOffset,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            Code[] codes = format.getCodes();
+            Object[] result = new Object[format.getLength()];
+            int valueIndex = 0;
+            for (int i = 0; i < codes.length; i++) {
+                valueIndex = unpackCode(format, codes[i], src, srcOffset, result, valueIndex, factory);
+            }
+            return result;
+        }
+
+        private static int unpackCode(StructFormat format, Code code, byte[] src, int srcOffset, Object[] result, int valueIndex, PythonObjectFactory factory) {
+            for (int j = 0; j < code.repeat; j++) {
+                result[valueIndex + j] = format.unpack(code, src, srcOffset + code.offset + j * code.size, factory);
+            }
+            return valueIndex + code.repeat;
+        }
+
+        public static UnpackValuesNode create() {
+            return StructNodesFactory.UnpackValuesNodeGen.create();
+        }
+    }
+
+    /**
+     * Returns the number of bytes of a buffer the struct functions read from or, if
+     * {@code writable} is set, write into. Like {@code PyObject_GetBuffer}, a memoryview must be
+     * C-contiguous.
+     */
+    @ImportStatic(StructNodes.class)
+    public abstract static class GetBufferLengthNode extends PNodeWithContext {
+
+        public abstract int execute(Object buffer, boolean writable);
+
+        @Specialization
+        static int doBytes(PBytes buffer, boolean writable,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            if (writable) {
+                throw raiseNode.raise(TypeError, ErrorMessages.ARG_MUST_BE_READ_WRITE_BYTESLIKE_NOT_P, buffer);
+            }
+            return buffer.getSequenceStorage().length();
+        }
+
+        @Specialization(guards = "!isBytes(buffer)")
+        static int doByteArray(PBytesLike buffer, @SuppressWarnings("unused") boolean writable) {
+            return buffer.getSequenceStorage().length();
+        }
+
+        @Specialization(guards = "isDirectSequence(buffer)")
+        static int doArray(PArray buffer, @SuppressWarnings("unused") boolean writable) {
+            return buffer.getSequenceStorage().length();
+        }
+
+        @Specialization
+        static int doMemoryView(PMemoryView buffer, boolean writable,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            buffer.checkReleased(raiseNode);
+            if (writable && buffer.isReadonly()) {
+                throw raiseNode.raise(TypeError, ErrorMessages.ARG_MUST_BE_READ_WRITE_BYTESLIKE_NOT_P, buffer);
+            } else if (!buffer.isCContiguous()) {
+                throw raiseNode.raise(BufferError, ErrorMessages.MEMORYVIEW_UNDERLYING_BUFFER_NOT_C_CONTIGUOUS);
+            }
+            return buffer.getLength();
+        }
+
+        @Specialization
+        static int doMMap(PMMap buffer, boolean writable,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            if (buffer.isClosed()) {
+                throw raiseNode.raise(ValueError, ErrorMessages.MMAP_CLOSED_OR_INVALID);
+            } else if (writable && buffer.isReadonly()) {
+                throw raiseNode.raise(TypeError, ErrorMessages.ARG_MUST_BE_READ_WRITE_BYTESLIKE_NOT_P, buffer);
+            }
+            try {
+                return PInt.intValueExact(buffer.getLength());
+            } catch (OverflowException e) {
+                throw raiseNode.raise(OverflowError, e);
+            }
+        }
+
+        @Specialization(guards = "isGenericBuffer(buffer)", limit = "3")
+        static int doGeneric(Object buffer, boolean writable,
+                        @CachedLibrary("buffer") PythonObjectLibrary lib,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            if (PGuards.isString(buffer) || !lib.isBuffer(buffer)) {
+                throw raiseNode.raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, buffer);
+            } else if (writable) {
+                throw raiseNode.raise(TypeError, ErrorMessages.ARG_MUST_BE_READ_WRITE_BYTESLIKE_NOT_P, buffer);
+            }
+            try {
+                return lib.getBufferLength(buffer);
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        static boolean isBytes(Object buffer) {
+            return buffer instanceof PBytes;
+        }
+
+        public static GetBufferLengthNode create() {
+            return StructNodesFactory.GetBufferLengthNodeGen.create();
+        }
+    }
+
+    /**
+     * Unpacks a struct at the given offset of a buffer checked by {@link GetBufferLengthNode}.
+     * Byte storages, also behind a memoryview, are read in place.
+     */
+    @ImportStatic(StructNodes.class)
+    public abstract static class UnpackBufferNode extends PNodeWithContext {
+
+        public abstract Object[] execute(StructFormat format, Object buffer, int offset);
+
+        @Specialization(guards = "isDirectSequence(buffer)")
+        static Object[] doSequence(StructFormat format, PSequence buffer, int offset,
+                        @Shared("unpack") @Cached UnpackValuesNode unpackValuesNode,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) buffer.getSequenceStorage();
+            MemoryViewNodes.checkBounds(storage.length(), offset, format.getSize(), raiseNode);
+            return unpackValuesNode.execute(format, storage.getInternalByteArray(), offset);
+        }
+
+        @Specialization(guards = "isDirectSequence(buffer.getBuffer())")
+        static Object[] doMemoryView(StructFormat format, PMemoryView buffer, int offset,
+                        @Shared("unpack") @Cached UnpackValuesNode unpackValuesNode,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) ((PSequence) buffer.getBuffer()).getSequenceStorage();
+            int start = buffer.getOffset() + offset;
+            MemoryViewNodes.checkBounds(storage.length(), start, format.getSize(), raiseNode);
+            return unpackValuesNode.execute(format, storage.getInternalByteArray(), start);
+        }
+
+        @Specialization(guards = "!isDirectSequence(buffer.getBuffer())")
+        static Object[] doMemoryViewGeneric(StructFormat format, PMemoryView buffer, int offset,
+                        @Shared("read") @Cached ReadBytesNode readBytesNode,
+                        @Shared("unpack") @Cached UnpackValuesNode unpackValuesNode) {
+            byte[] bytes = new byte[format.getSize()];
+            readBytesNode.execute(buffer.getBuffer(), buffer.getOffset() + offset, bytes, 0, bytes.length);
+            return unpackValuesNode.execute(format, bytes, 0);
+        }
+
+        @Specialization(guards = "!isDirectSequence(buffer)")
+        static Object[] doBytesLike(StructFormat format, PBytesLike buffer, int offset,
+                        @Shared("read") @Cached ReadBytesNode readBytesNode,
+                        @Shared("unpack") @Cached UnpackValuesNode unpackValuesNode) {
+            byte[] bytes = new byte[format.getSize()];
+            readBytesNode.execute(buffer, offset, bytes, 0, bytes.length);
+            return unpackValuesNode.execute(format, bytes, 0);
+        }
+
+        @Specialization
+        static Object[] doMMap(StructFormat format, PMMap buffer, int offset,
+                        @Shared("read") @Cached ReadBytesNode readBytesNode,
+                        @Shared("unpack") @Cached UnpackValuesNode unpackValuesNode) {
+            byte[] bytes = new byte[format.getSize()];
+            readBytesNode.execute(buffer, offset, bytes, 0, bytes.length);
+            return unpackValuesNode.execute(format, bytes, 0);
+        }
+
+        @Specialization(guards = "isGenericBuffer(buffer)", limit = "3")
+        static Object[] doGeneric(StructFormat format, Object buffer, int offset,
+                        @CachedLibrary("buffer") PythonObjectLibrary lib,
+                        @Shared("unpack") @Cached UnpackValuesNode unpackValuesNode) {
+            try {
+                return unpackValuesNode.execute(format, lib.getBufferBytes(buffer), offset);
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
+        public static UnpackBufferNode create() {
+            return StructNodesFactory.UnpackBufferNodeGen.create();
+        }
+    }
+
+    /**
+     * Packs a struct at the given offset of a buffer checked by {@link GetBufferLengthNode}. Byte
+     * storages, also behind a memoryview, are written in place.
+     */
+    @ImportStatic(StructNodes.class)
+    public abstract static class PackIntoBufferNode extends PNodeWithContext {
+
+        public abstract void execute(VirtualFrame frame, StructFormat format, Object buffer, int offset, Object[] values, int valuesOffset);
+
+        @Specialization(guards = "isDirectSequence(buffer)")
+        static void doSequence(VirtualFrame frame, StructFormat format, PSequence buffer, int offset, Object[] values, int valuesOffset,
+                        @Shared("pack") @Cached PackValuesNode packValuesNode,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) buffer.getSequenceStorage();
+            packInPlace(frame, format, storage, offset, values, valuesOffset, packValuesNode, raiseNode);
+        }
+
+        @Specialization(guards = "isDirectSequence(buffer.getBuffer())")
+        static void doMemoryView(VirtualFrame frame, StructFormat format, PMemoryView buffer, int offset, Object[] values, int valuesOffset,
+                        @Shared("pack") @Cached PackValuesNode packValuesNode,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) ((PSequence) buffer.getBuffer()).getSequenceStorage();
+            packInPlace(frame, format, storage, buffer.getOffset() + offset, values, valuesOffset, packValuesNode, raiseNode);
+        }
+
+        @Specialization(guards = "!isDirectSequence(buffer.getBuffer())")
+        static void doMemoryViewGeneric(VirtualFrame frame, StructFormat format, PMemoryView buffer, int offset, Object[] values, int valuesOffset,
+                        @Shared("pack") @Cached PackValuesNode packValuesNode,
+                        @Shared("write") @Cached WriteBytesNode writeBytesNode) {
+            byte[] bytes = new byte[format.getSize()];
+            packValuesNode.execute(frame, format, values, valuesOffset, bytes, 0);
+            writeBytesNode.execute(buffer.getBuffer(), buffer.getOffset() + offset, bytes, 0, bytes.length);
+        }
+
+        @Specialization(guards = "!isDirectSequence(buffer)")
+        static void doBytesLike(VirtualFrame frame, StructFormat format, PBytesLike buffer, int offset, Object[] values, int valuesOffset,
+                        @Shared("pack") @Cached PackValuesNode packValuesNode,
+                        @Shared("write") @Cached WriteBytesNode writeBytesNode) {
+            byte[] bytes = new byte[format.getSize()];
+            packValuesNode.execute(frame, format, values, valuesOffset, bytes, 0);
+            writeBytesNode.execute(buffer, offset, bytes, 0, bytes.length);
+        }
+
+        @Specialization
+        static void doMMap(VirtualFrame frame, StructFormat format, PMMap buffer, int offset, Object[] values, int valuesOffset,
+                        @Shared("pack") @Cached PackValuesNode packValuesNode,
+                        @Shared("write") @Cached WriteBytesNode writeBytesNode) {
+            byte[] bytes = new byte[format.getSize()];
+            packValuesNode.execute(frame, format, values, valuesOffset, bytes, 0);
+            writeBytesNode.execute(buffer, offset, bytes, 0, bytes.length);
+        }
+
+        @Specialization(guards = "isGenericBuffer(buffer)")
+        @SuppressWarnings("unused")
+        static void doGeneric(VirtualFrame frame, StructFormat format, Object buffer, int offset, Object[] values, int valuesOffset,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            throw raiseNode.raise(TypeError, ErrorMessages.ARG_MUST_BE_READ_WRITE_BYTESLIKE_NOT_P, buffer);
+        }
+
+        private static void packInPlace(VirtualFrame frame, StructFormat format, ByteSequenceStorage storage, int offset, Object[] values, int valuesOffset, PackValuesNode packValuesNode,
+                        PRaiseNode raiseNode) {
+            MemoryViewNodes.checkBounds(storage.length(), offset, format.getSize(), raiseNode);
+            byte[] bytes = storage.getInternalByteArray();
+            Arrays.fill(bytes, offset, offset + format.getSize(), (byte) 0);
+            packValuesNode.execute(frame, format, values, valuesOffset, bytes, offset);
+        }
+
+        public static PackIntoBufferNode create() {
+            return StructNodesFactory.PackIntoBufferNodeGen.create();
+        }
+    }
+
+    /**
+     * Implements {@code pack} for a compiled format.
+     */
+    public abstract static class PackNode extends PNodeWithContext {
+
+        public abstract PBytes execute(VirtualFrame frame, StructFormat format, Object[] values);
+
+        @Specialization
+        static PBytes pack(VirtualFrame frame, StructFormat format, Object[] values,
+                        @Cached PackValuesNode packValuesNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode raiseNode) {
+            if (values.length != format.getLength()) {
+                throw raiseNode.raise(StructError, ErrorMessages.PACK_EXPECTED_D_ITEMS_FOR_PACKING_GOT_D, format.getLength(), values.length);
+            }
+            byte[] bytes = new byte[format.getSize()];
+            packValuesNode.execute(frame, format, values, 0, bytes, 0);
+            return factory.createBytes(bytes);
+        }
+
+        public static PackNode create() {
+            return StructNodesFactory.PackNodeGen.create();
+        }
+    }
+
+    /**
+     * Implements {@code pack_into} for a compiled format. The arguments are the buffer, the offset
+     * and the values.
+     */
+    public abstract static class PackIntoNode extends PNodeWithContext {
+
+        public abstract void execute(VirtualFrame frame, StructFormat format, Object[] args);
+
+        @Specialization
+        static void packInto(VirtualFrame frame, StructFormat format, Object[] args,
+                        @Cached GetBufferLengthNode getBufferLengthNode,
+                        @Cached PackIntoBufferNode packIntoBufferNode,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib,
+                        @Cached PRaiseNode raiseNode) {
+            if (args.length != format.getLength() + 2) {
+                if (args.length == 0) {
+                    throw raiseNode.raise(StructError, ErrorMessages.PACK_INTO_EXPECTED_BUFFER_ARGUMENT);
+                } else if (args.length == 1) {
+                    throw raiseNode.raise(StructError, ErrorMessages.PACK_INTO_EXPECTED_OFFSET_ARGUMENT);
+                }
+                throw raiseNode.raise(StructError, ErrorMessages.PACK_INTO_EXPECTED_D_ITEMS_FOR_PACKING_GOT_D, format.getLength(), args.length - 2);
+            }
+            Object buffer = args[0];
+            int length = getBufferLengthNode.execute(buffer, true);
+            int offset = lib.asSizeWithState(args[1], IndexError, PArguments.getThreadState(frame));
+            int size = format.getSize();
+            if (offset < 0) {
+                if (offset + size > 0) {
+                    throw raiseNode.raise(StructError, ErrorMessages.NO_SPACE_TO_PACK_D_BYTES_AT_OFFSET_D, size, offset);
+                } else if (offset + length < 0) {
+                    throw raiseNode.raise(StructError, ErrorMessages.OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER, offset, length);
+                }
+                offset += length;
+            }
+            if (length - offset < size) {
+                throw raiseNode.raise(StructError, ErrorMessages.PACK_INTO_REQUIRES_BUFFER_OF_AT_LEAST_D_BYTES, (long) size + offset, size, offset, length);
+            }
+            packIntoBufferNode.execute(frame, format, buffer, offset, args, 2);
+        }
+
+        public static PackIntoNode create() {
+            return StructNodesFactory.PackIntoNodeGen.create();
+        }
+    }
+
+    /**
+     * Implements {@code unpack} for a compiled format.
+     */
+    public abstract static class UnpackNode extends PNodeWithContext {
+
+        public abstract PTuple execute(StructFormat format, Object buffer);
+
+        @Specialization
+        static PTuple unpack(StructFormat format, Object buffer,
+                        @Cached GetBufferLengthNode getBufferLengthNode,
+                        @Cached UnpackBufferNode unpackBufferNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode raiseNode) {
+            if (getBufferLengthNode.execute(buffer, false) != format.getSize()) {
+                throw raiseNode.raise(StructError, ErrorMessages.UNPACK_REQUIRES_BUFFER_OF_D_BYTES, format.getSize());
+            }
+            return factory.createTuple(unpackBufferNode.execute(format, buffer, 0));
+        }
+
+        public static UnpackNode create() {
+            return StructNodesFactory.UnpackNodeGen.create();
+        }
+    }
+
+    /**
+     * Implements {@code unpack_from} for a compiled format.
+     */
+    public abstract static class UnpackFromNode extends PNodeWithContext {
+
+        public abstract PTuple execute(StructFormat format, Object buffer, int offset);
+
+        @Specialization
+        static PTuple unpackFrom(StructFormat format, Object buffer, int offset,
+                        @Cached GetBufferLengthNode getBufferLengthNode,
+                        @Cached UnpackBufferNode unpackBufferNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode raiseNode) {
+            int length = getBufferLengthNode.execute(buffer, false);
+            int size = format.getSize();
+            int start = offset;
+            if (start < 0) {
+                if (start + size > 0) {
+                    throw raiseNode.raise(StructError, ErrorMessages.NOT_ENOUGH_DATA_TO_UNPACK_D_BYTES_AT_OFFSET_D, size, start);
+                } else if (start + length < 0) {
+                    throw raiseNode.raise(StructError, ErrorMessages.OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER, start, length);
+                }
+                start += length;
+            }
+            if (length - start < size) {
+                throw raiseNode.raise(StructError, ErrorMessages.UNPACK_FROM_REQUIRES_BUFFER_OF_AT_LEAST_D_BYTES, (long) size + start, size, start, length);
+            }
+            return factory.createTuple(unpackBufferNode.execute(format, buffer, start));
+        }
+
+        public static UnpackFromNode create() {
+            return StructNodesFactory.UnpackFromNodeGen.create();
+        }
+    }
+
+    /**
+     * Implements {@code iter_unpack} for a compiled format.
+     */
+    public abstract static class IterUnpackNode extends PNodeWithContext {
+
+        public abstract PStructUnpackIterator execute(StructFormat format, Object buffer);
+
+        @Specialization
+        static PStructUnpackIterator iterUnpack(StructFormat format, Object buffer,
+                        @Cached GetBufferLengthNode getBufferLengthNode,
+                        @Cached PythonObjectFactory factory,
+                        @Cached PRaiseNode raiseNode) {
+            if (format.getSize() == 0) {
+                throw raiseNode.raise(StructError, ErrorMessages.CANNOT_ITERATIVELY_UNPACK_WITH_STRUCT_OF_LENGTH_0);
+            }
+            int length = getBufferLengthNode.execute(buffer, false);
+            if (length % format.getSize() != 0) {
+                throw raiseNode.raise(StructError, ErrorMessages.ITERATIVE_UNPACKING_REQUIRES_BUFFER_OF_MULTIPLE_OF_D_BYTES, format.getSize());
+            }
+            return factory.createStructUnpackIterator(format, buffer, length);
+        }
+
+        public static IterUnpackNode create() {
+            return StructNodesFactory.IterUnpackNodeGen.create();
+        }
+    }
+}
@@ -52,6 +52,10 @@ public final class PythonClass extends PythonManagedClass {
         super(typeClass, instanceShape, null, name, invokeMro, baseClasses);
     }
 
+    public PythonClass(Object typeClass, Shape instanceShape, String name, boolean invokeMro, int instanceSlotCount, PythonAbstractClass[] baseClasses) {
+        super(typeClass, instanceShape, null, name, invokeMro, instanceSlotCount, baseClasses);
+    }
+
     @ExportMessage(library = PythonObjectLibrary.class, name = "isLazyPythonClass")
     @ExportMessage(library = InteropLibrary.class)
     @SuppressWarnings("static-method")
@@ -38,6 +38,7 @@ import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.cext.PythonClassNativeWrapper;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.object.PythonSlotsObject;
 import com.oracle.graal.python.builtins.objects.type.TypeNodes.ComputeMroNode;
 import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetSubclassesNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
@@ -68,6 +69,12 @@ public abstract class PythonManagedClass extends PythonObject implements PythonA
     private String name;
     private String qualName;
 
+    /**
+     * The number of slots of instances allocated as {@link PythonSlotsObject}, or {@code -1} if
+     * instances of this class are not slots objects.
+     */
+    private final int instanceSlotCount;
+
     /** {@code true} if the MRO contains a native class. */
     private final boolean needsNativeAllocation;
     @CompilationFinal private Object sulongType;
@@ -77,8 +84,12 @@ public abstract class PythonManagedClass extends PythonObject implements PythonA
         this(typeClass, classShape, instanceShape, name, true, baseClasses);
     }
 
-    @TruffleBoundary
     protected PythonManagedClass(Object typeClass, Shape classShape, Shape instanceShape, String name, boolean invokeMro, PythonAbstractClass... baseClasses) {
+        this(typeClass, classShape, instanceShape, name, invokeMro, -1, baseClasses);
+    }
+
+    @TruffleBoundary
+    protected PythonManagedClass(Object typeClass, Shape classShape, Shape instanceShape, String name, boolean invokeMro, int instanceSlotCount, PythonAbstractClass... baseClasses) {
         super(typeClass, classShape);
         this.name = getBaseName(name);
         this.qualName = name;
@@ -97,6 +108,7 @@ public abstract class PythonManagedClass extends PythonObject implements PythonA
         }
 
         this.needsNativeAllocation = computeNeedsNativeAllocation();
+        this.instanceSlotCount = instanceSlotCount;
 
         setAttribute(__DOC__, PNone.NONE);
 
@@ -104,7 +116,13 @@ public abstract class PythonManagedClass extends PythonObject implements PythonA
             this.instanceShape = instanceShape;
         } else {
             // provide our instances with a fresh shape tree
-            if (PythonLanguage.getCurrent().singleContextAssumption.isValid()) {
+            if (instanceSlotCount >= 0) {
+                if (PythonLanguage.getCurrent().singleContextAssumption.isValid()) {
+                    this.instanceShape = PythonSlotsObject.freshShape(this, instanceSlotCount);
+                } else {
+                    this.instanceShape = PythonSlotsObject.freshShape(instanceSlotCount);
+                }
+            } else if (PythonLanguage.getCurrent().singleContextAssumption.isValid()) {
                 this.instanceShape = PythonObject.freshShape(this);
             } else {
                 this.instanceShape = PythonObject.freshShape();
@@ -153,6 +171,17 @@ public abstract class PythonManagedClass extends PythonObject implements PythonA
         return instanceShape;
     }
 
+    public final int getInstanceSlotCount() {
+        return instanceSlotCount;
+    }
+
+    /**
+     * Instances of this class are {@link PythonSlotsObject}s and have no {@code __dict__}.
+     */
+    public final boolean hasSlotsLayout() {
+        return instanceSlotCount >= 0;
+    }
+
     PythonAbstractClass getSuperClass() {
         return getBaseClasses().length > 0 ? getBaseClasses()[0] : null;
     }
@@ -188,6 +188,11 @@ public abstract class TypeNodes {
                 case PMappingproxy:
                 case PFrame:
                 case PGenerator:
+                case PCoroutine:
+                case PCoroutineWrapper:
+                case PAsyncGenerator:
+                case PAsyncGenASend:
+                case PAsyncGenAThrow:
                 case PMemoryView:
                 case PBuffer:
                 case PSlice:
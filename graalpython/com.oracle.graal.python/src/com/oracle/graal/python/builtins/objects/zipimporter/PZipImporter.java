@@ -25,19 +25,21 @@
  */
 package com.oracle.graal.python.builtins.objects.zipimporter;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.EnumSet;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import com.oracle.graal.python.PythonFileDetector;
 import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodesFactory.GetObjectArrayNodeGen;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.Shape;
 
@@ -62,6 +64,20 @@ public class PZipImporter extends PythonBuiltinObject {
      */
     private final PDict moduleZipDirectoryCache;
 
+    /**
+     * The archive opened by the first read of a module. It stays open for the lifetime of the
+     * importer, so that consecutive imports from the same archive do not reopen it. The
+     * {@link #archiveCleaner} closes it once the importer was collected.
+     */
+    private ZipFile zipFile;
+
+    private final ZipArchiveCleaner archiveCleaner;
+
+    /**
+     * Index of the entries of {@link #zipFile} by their name.
+     */
+    private HashMap<String, ZipEntry> zipEntries;
+
     /**
      * Is the entry source or package
      */
@@ -88,12 +104,12 @@ public class PZipImporter extends PythonBuiltinObject {
 
     protected static class ModuleCodeData {
 
-        String code;
+        String entryName;
         boolean isPackage;
         String path;
 
-        ModuleCodeData(String code, boolean isPackage, String path) {
-            this.code = code;
+        ModuleCodeData(String entryName, boolean isPackage, String path) {
+            this.entryName = entryName;
             this.isPackage = isPackage;
             this.path = path;
         }
@@ -114,12 +130,13 @@ public class PZipImporter extends PythonBuiltinObject {
         PACKAGE
     }
 
-    public PZipImporter(Object cls, Shape instanceShape, PDict zipDirectoryCache, String separator) {
+    public PZipImporter(Object cls, Shape instanceShape, PDict zipDirectoryCache, ZipArchiveCleaner archiveCleaner, String separator) {
         super(cls, instanceShape);
         this.archive = null;
         this.prefix = null;
         this.separator = separator;
         this.moduleZipDirectoryCache = zipDirectoryCache;
+        this.archiveCleaner = archiveCleaner;
         this.searchOrder = defineSearchOrder();
     }
 
@@ -208,47 +225,80 @@ public class PZipImporter extends PythonBuiltinObject {
         return archive + separator + prefix + getSubname(fullname);
     }
 
+    @TruffleBoundary
+    private ZipEntry getZipEntry(String filenameAndSuffix) throws IOException {
+        if (zipFile == null) {
+            ZipFile zip = new ZipFile(archive);
+            HashMap<String, ZipEntry> entries = new HashMap<>();
+            Enumeration<? extends ZipEntry> e = zip.entries();
+            while (e.hasMoreElements()) {
+                ZipEntry entry = e.nextElement();
+                entries.put(entry.getName(), entry);
+            }
+            zipEntries = entries;
+            zipFile = zip;
+            archiveCleaner.register(this, zip);
+        }
+        return zipEntries.get(filenameAndSuffix);
+    }
+
     /**
-     *
-     * @param filenameAndSuffix
-     * @return code
-     * @throws IOException
+     * Reads the raw content of the archive entry.
      */
-    @CompilerDirectives.TruffleBoundary
-    private String getCode(String filenameAndSuffix) throws IOException {
-        ZipFile zip = null;
+    @TruffleBoundary
+    private byte[] readEntry(String filenameAndSuffix) throws IOException {
         try {
-            zip = new ZipFile(archive);
-            ZipEntry entry = zip.getEntry(filenameAndSuffix);
-            InputStream in = zip.getInputStream(entry);
-
-            // reading the file should be done better?
-            BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-            int size = (int) entry.getSize();
-            if (size < 0) {
-                size = (int) entry.getCompressedSize();
+            ZipEntry entry = getZipEntry(filenameAndSuffix);
+            if (entry == null) {
+                throw new IOException("No entry " + filenameAndSuffix);
             }
-            StringBuilder code = new StringBuilder(size < 16 ? 16 : size);
-            String line;
-            while ((line = reader.readLine()) != null) {
-                code.append(line);
-                code.append(System.lineSeparator());
+            long size = entry.getSize();
+            if (size < 0 || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid size of entry " + filenameAndSuffix);
             }
-            reader.close();
-            return code.toString();
-        } catch (IOException e) {
-            throw new IOException("Can not read code from " + makePackagePath(filenameAndSuffix), e);
-        } finally {
-            if (zip != null) {
-                try {
-                    zip.close();
-                } catch (IOException e) {
-                    // just ignore it.
+            byte[] bytes = new byte[(int) size];
+            try (InputStream in = zipFile.getInputStream(entry)) {
+                int bytesRead = 0;
+                while (bytesRead < bytes.length) {
+                    int n = in.read(bytes, bytesRead, bytes.length - bytesRead);
+                    if (n < 0) {
+                        throw new IOException("Unexpected end of entry " + filenameAndSuffix);
+                    }
+                    bytesRead += n;
                 }
             }
+            return bytes;
+        } catch (IOException e) {
+            throw new IOException("Can not read code from " + makePackagePath(filenameAndSuffix), e);
         }
     }
 
+    /**
+     * Reads the source of the module decoding it as declared by its coding comment.
+     */
+    @TruffleBoundary
+    protected final String getSource(ModuleCodeData md) throws IOException {
+        byte[] bytes = readEntry(md.entryName);
+        Charset charset;
+        try {
+            charset = PythonFileDetector.findEncodingStrict(bytes);
+        } catch (PythonFileDetector.InvalidEncodingException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return new String(bytes, charset);
+    }
+
+    /**
+     * The key under which the code of the module is cached in the language. Besides the path of
+     * the entry, it contains the CRC and size from the directory of the archive, so that a changed
+     * archive at the same path does not reuse stale code.
+     */
+    @TruffleBoundary
+    protected final String getCodeCacheKey(ModuleCodeData md) {
+        Object[] tocEntry = GetObjectArrayNodeGen.getUncached().execute(getEntry(md.entryName));
+        return md.path + ':' + tocEntry[5] + ':' + tocEntry[3];
+    }
+
     /**
      * Return module information for the module with the fully qualified name.
      *
@@ -286,30 +336,22 @@ public class PZipImporter extends PythonBuiltinObject {
         return this;
     }
 
+    /**
+     * Finds the archive entry for the module with the fully qualified name without reading it.
+     *
+     * @return the entry information or {@code null} if the module is not in this archive
+     */
     @TruffleBoundary
-    protected final ModuleCodeData getModuleCode(String fullname) throws IOException {
+    protected final ModuleCodeData getModuleCode(String fullname) {
         String path = makeFilename(fullname);
         String fullPath = makePackagePath(fullname);
 
-        if (path.length() < 0) {
-            return null;
-        }
-
         for (SearchOrderEntry entry : searchOrder) {
-            String suffix = entry.suffix;
-            String searchPath = path + suffix;
-            String fullSearchPath = fullPath + suffix;
-
-            PTuple tocEntry = getEntry(searchPath);
-            if (tocEntry == null) {
+            String searchPath = path + entry.suffix;
+            if (getEntry(searchPath) == null) {
                 continue;
             }
-
-            boolean isPackage = entry.type.contains(EntryType.IS_PACKAGE);
-
-            String code = "";
-            code = getCode(searchPath);
-            return new ModuleCodeData(code, isPackage, fullSearchPath);
+            return new ModuleCodeData(searchPath, entry.type.contains(EntryType.IS_PACKAGE), fullPath + entry.suffix);
         }
         return null;
     }
@@ -34,14 +34,15 @@ import java.io.InputStream;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
-import com.oracle.graal.python.builtins.modules.BuiltinFunctions.CompileNode;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.bytes.BytesUtils;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
@@ -65,10 +66,15 @@ import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonParser.ParserMode;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
@@ -78,7 +84,9 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.dsl.TypeSystemReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.source.Source;
 
 @CoreFunctions(extendClasses = PythonBuiltinClassType.PZipImporter)
 public class ZipImporterBuiltins extends PythonBuiltins {
@@ -423,8 +431,6 @@ public class ZipImporterBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class GetCodeNode extends PythonBinaryBuiltinNode {
 
-        @Child private CompileNode compileNode;
-
         @Specialization
         public PCode doit(VirtualFrame frame, PZipImporter self, String fullname,
                         @Cached("createBinaryProfile()") ConditionProfile canNotFind,
@@ -432,21 +438,40 @@ public class ZipImporterBuiltins extends PythonBuiltins {
             if (initWasNotCalled.profile(self.getPrefix() == null)) {
                 throw raise(PythonErrorType.ValueError, INIT_WAS_NOT_CALLED);
             }
-            if (compileNode == null) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                compileNode = insert(CompileNode.create(false));
+            ModuleCodeData md = self.getModuleCode(fullname);
+            if (canNotFind.profile(md == null)) {
+                throw raise(PythonErrorType.ZipImportError, ErrorMessages.CANT_FIND_MODULE, fullname);
             }
-            ModuleCodeData md;
             try {
-                md = self.getModuleCode(fullname);
+                return factory().createCode(getCallTarget(self, md));
             } catch (IOException e) {
                 throw raiseOSError(frame, OSErrorEnum.EIO, e);
             }
-            if (canNotFind.profile(md == null)) {
-                throw raise(PythonErrorType.ZipImportError, ErrorMessages.CANT_FIND_MODULE, fullname);
+        }
+
+        /**
+         * Like {@code compile()}, the code is cached in the language while the core is
+         * initialized. Later on, it is only cached if the language is shared by several contexts,
+         * so that only the first context that imports an archive entry pays for reading and
+         * parsing it.
+         */
+        @TruffleBoundary
+        private RootCallTarget getCallTarget(PZipImporter self, ModuleCodeData md) throws IOException {
+            PythonContext context = getContext();
+            PythonLanguage language = context.getLanguage();
+            boolean cache = !context.getCore().isInitialized() || !language.singleContextAssumption.isValid();
+            String key = null;
+            if (cache) {
+                key = self.getCodeCacheKey(md);
+                if (language.hasCachedCode(key)) {
+                    return (RootCallTarget) language.cacheCode(key, () -> null);
+                }
             }
-            PCode code = compileNode.execute(frame, md.code, md.path, "exec", 0, false, -1);
-            return code;
+            String code = self.getSource(md);
+            // like compile(), parse the file with a trailing newline
+            Source source = PythonLanguage.newSource(context, code.endsWith("\n") ? code : code + '\n', md.path, false);
+            Supplier<CallTarget> createCode = () -> PythonUtils.getOrCreateCallTarget((RootNode) context.getCore().getParser().parse(ParserMode.File, context.getCore(), source, null, null));
+            return (RootCallTarget) (cache ? language.cacheCode(key, createCode) : createCode.get());
         }
 
         public static GetCodeNode create() {
@@ -526,18 +551,13 @@ public class ZipImporterBuiltins extends PythonBuiltins {
     public abstract static class GetFileNameNode extends PythonBinaryBuiltinNode {
 
         @Specialization
-        public Object doit(VirtualFrame frame, PZipImporter self, String fullname,
+        public Object doit(PZipImporter self, String fullname,
                         @Cached("createBinaryProfile()") ConditionProfile canNotFind,
                         @Cached("createBinaryProfile()") ConditionProfile initWasNotCalled) {
             if (initWasNotCalled.profile(self.getPrefix() == null)) {
                 throw raise(PythonErrorType.ValueError, INIT_WAS_NOT_CALLED);
             }
-            ModuleCodeData moduleCodeData;
-            try {
-                moduleCodeData = self.getModuleCode(fullname);
-            } catch (IOException e) {
-                throw raiseOSError(frame, OSErrorEnum.EIO, e);
-            }
+            ModuleCodeData moduleCodeData = self.getModuleCode(fullname);
             if (canNotFind.profile(moduleCodeData == null)) {
                 throw raise(PythonErrorType.ZipImportError, ErrorMessages.CANT_FIND_MODULE, fullname);
             }
@@ -558,16 +578,15 @@ public class ZipImporterBuiltins extends PythonBuiltins {
             if (initWasNotCalled.profile(self.getPrefix() == null)) {
                 throw raise(PythonErrorType.ValueError, INIT_WAS_NOT_CALLED);
             }
-            ModuleCodeData md;
+            ModuleCodeData md = self.getModuleCode(fullname);
+            if (canNotFind.profile(md == null)) {
+                throw raise(PythonErrorType.ZipImportError, ErrorMessages.CANT_FIND_MODULE, fullname);
+            }
             try {
-                md = self.getModuleCode(fullname);
+                return self.getSource(md);
             } catch (IOException e) {
                 throw raiseOSError(frame, OSErrorEnum.EIO, e);
             }
-            if (canNotFind.profile(md == null)) {
-                throw raise(PythonErrorType.ZipImportError, ErrorMessages.CANT_FIND_MODULE, fullname);
-            }
-            return md.code;
         }
 
     }
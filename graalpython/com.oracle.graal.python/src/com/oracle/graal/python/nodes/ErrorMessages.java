@@ -42,10 +42,19 @@ package com.oracle.graal.python.nodes;
 
 public abstract class ErrorMessages {
     public static final String ABSOLUTE_VALUE_TOO_LARGE = "absolute value too large";
+    public static final String ARGS_0_FROM_S_ARGS_HAS_WRONG_CLASS = "args[0] from %s args has the wrong class";
+    public static final String ARGS_0_FROM_S_ARGS_IS_NOT_TYPE = "args[0] from %s args is not a type";
+    public static final String ARGS_D_FROM_NEWOBJ_EX_ARGS_MUST_BE_S_NOT_P = "args[%d] from __newobj_ex__ args must be a %s, not %p";
+    public static final String ARGUMENTS_MUST_BE_ITERATORS = "Arguments must be iterators.";
+    public static final String ARGUMENT_LIST_MUST_BE_TUPLE = "argument list must be a tuple";
+    public static final String ARGUMENT_OUT_OF_RANGE = "argument out of range";
+    public static final String ARG_2_MUST_BE_SEQUENCE = "%s() arg 2 must be a sequence";
     public static final String ARG_AFTER_MUST_BE_ITERABLE = "argument after * must be an iterable, not %p";
     public static final String ARG_CONVERTED_NOT_EXECUTABLE = "argument converted is not executable";
     public static final String ARG_D_MUST_BE_S = "%s arg %d must be a %s";
     public static final String ARG_D_MUST_BE_S_NOT_P = "%s argument %d must be %s, not %p";
+    public static final String ARG_FOR_S_MUST_BE_BYTES = "argument for '%s' must be a bytes object";
+    public static final String ARG_MUST_BE_READ_WRITE_BYTESLIKE_NOT_P = "argument must be read-write bytes-like object, not %p";
     public static final String ARG_S_MUST_BE_S_NOT_P = "%s argument %s must be %s, not %p";
     public static final String ARG_D_MUST_BE_S_OR_S = "%s argument %d must be '%s' or '%s'";
     public static final String ARG_D_MUST_NOT_BE_EMPTY = "arg %d must not be empty";
@@ -64,6 +73,8 @@ public abstract class ErrorMessages {
     public static final String ARRAY_ASSIGN_OUT_OF_BOUNDS = "array assignment index out of range";
     public static final String ARRAY_OUT_OF_BOUNDS = "array index out of range";
     public static final String ARRAY_SIZE_TOO_LARGE = "array size too large";
+    public static final String ASYNC_GEN_IGNORED_EXIT = "async generator ignored GeneratorExit";
+    public static final String ASYNC_GEN_RAISED_STOP_ASYNC_ITERATION = "async generator raised StopAsyncIteration";
     public static final String ATTEMP_TO_RELEASE_RECURSIVE_LOCK = "attempt to release recursive lock not owned by thread";
     public static final String ATTEMPT_TO_ASSIGN_SEQ_OF_SIZE_TO_SLICE_OF_SIZE = "attempt to assign sequence of size %d to extended slice of size %d";
     public static final String ATTR_NAME_MUST_BE_STRING = "attribute name must be string, not '%p'";
@@ -72,6 +83,11 @@ public abstract class ErrorMessages {
     public static final String ATTR_S_OF_S_OBJ_IS_NOT_WRITABLE = "attribute %s of %s object is not writable";
     public static final String ATTR_S_READONLY = "attribute %s is read-only";
     public static final String ATTR_VALUE_MUST_BE_BOOL = "attribute value type must be bool";
+    public static final String AWAIT_RETURNED_COROUTINE = "__await__() returned a coroutine";
+    public static final String AWAIT_RETURNED_NON_ITERATOR = "__await__() returned non-iterator of type '%p'";
+    public static final String BAD_CHAR_IN_STRUCT_FORMAT = "bad char in struct format";
+    public static final String BUFFER_TOO_SMALL_FOR_REQUESTED_BYTES = "buffer too small for requested bytes";
+    public static final String BYTE_FORMAT_REQUIRES_NUMBER_IN_RANGE = "byte format requires -128 <= number <= 127";
     public static final String B_REQUIRES_BYTES_OR_OBJ_THAT_IMPLEMENTS_S_NOT_P = "%%b requires a bytes-like object, or an object that implements __bytes__, not '%p'";
     public static final String BAD_ARG_TO_INTERNAL_FUNC = "bad argument to internal function";
     public static final String BAD_ARG_TO_INTERNAL_FUNC_P = "bad argument to internal function %p";
@@ -87,11 +103,21 @@ public abstract class ErrorMessages {
     public static final String BASES_ITEM_CAUSES_INHERITANCE_CYCLE = "a __bases__ item causes an inheritance cycle";
     public static final String BOOL_SHOULD_RETURN_BOOL = "__bool__ should return bool, returned %p";
     public static final String BOTH_POINTS_MUST_HAVE_THE_SAME_NUMBER_OF_DIMENSIONS = "both points must have the same number of dimensions";
+    public static final String BUFFER_CALLBACK_NEEDS_PROTOCOL_5 = "buffer_callback needs protocol >= 5";
     public static final String BUFFER_INDICES_MUST_BE_INTS = "buffer indices must be integers, not %p";
+    public static final String BUF_SIZE_MUST_BE_POSITIVE = "buffer size must be strictly positive";
     public static final String BYTE_STR_IS_TOO_LARGE = "byte string is too large";
     public static final String BYTEARRAY_OUT_OF_BOUNDS = "bytearray index out of range";
     public static final String BYTEORDER_MUST_BE_LITTLE_OR_BIG = "byteorder must be either 'little' or 'big'";
     public static final String BYTESLIKE_OBJ_REQUIRED = "a bytes-like object is required, not '%p'";
+    public static final String CANNOT_ITERATIVELY_UNPACK_WITH_STRUCT_OF_LENGTH_0 = "cannot iteratively unpack with a struct of length 0";
+    public static final String CANNOT_REENTER_TEE_ITERATOR = "cannot re-enter the tee iterator";
+    public static final String CANNOT_REUSE_ALREADY_AWAITED_COROUTINE = "cannot reuse already awaited coroutine";
+    public static final String CANNOT_USE_BYTES_PATTERN_ON_STR = "cannot use a bytes pattern on a string-like object";
+    public static final String CANNOT_USE_STR_PATTERN_ON_BYTES = "cannot use a string pattern on a bytes-like object";
+    public static final String CHAR_FORMAT_REQUIRES_BYTES_OF_LENGTH_1 = "char format requires a bytes object of length 1";
+    public static final String CIRCULAR_REFERENCE_DETECTED = "Circular reference detected";
+    public static final String COROUTINE_IGNORED_EXIT = "coroutine ignored GeneratorExit";
     public static final String C_ARG_NOT_IN_RANGE = "%%c arg not in range(0x%s)";
     public static final String CALL_STACK_NOT_DEEP_ENOUGH = "call stack is not deep enough";
     public static final String CALLING_ARG_CONVERTER_FAIL_EXPECTED_D_GOT_P = "calling argument converter failed; expected %d but got %d parameters.";
@@ -120,17 +146,23 @@ public abstract class ErrorMessages {
     public static final String CANNOT_CREATE_INSTANCES = "cannot create '%s' instances";
     public static final String CANNOT_CREATE_WEAK_REFERENCE_TO = "cannot create weak reference to '%p' object";
     public static final String CANNOT_DELETE_ATTRIBUTE = "can't delete %s.%s";
+    public static final String CANNOT_DELETE_MEMORY = "cannot delete memory";
     public static final String CANNOT_EXTEND_INCOMPLETE_P = "Cannot extend an incomplete type '%p'";
     public static final String CANNOT_GET_SHAPE_OF_NATIVE_CLS = "cannot get shape of native class";
     public static final String CANNOT_GET_CONSISTEMT_METHOD_RESOLUTION = "Cannot create a consistent method resolution\norder (MRO) for bases %s";
     public static final String CANNOT_HANDLE_ZIP_FILE = "cannot handle Zip file: '%s'";
+    public static final String CANNOT_HASH_WRITABLE_MEMORYVIEW = "cannot hash writable memoryview object";
     public static final String CANNOT_IMPORT_NAME = "cannot import name '%s'";
+    public static final String CANNOT_INDEX_D_DIMENSION_VIEW_WITH_D = "cannot index %d-dimension view with %d-element tuple";
     public static final String CANNOT_INITIALIZE_WITH = "cannot initialize %s with %s%s";
     public static final String CANNOT_LOAD = "cannot load %s: %s";
     public static final String CANNOT_LOAD_M = "cannot load %s: %m";
     public static final String CANNOT_MMAP_FILE = "cannot mmap file";
+    public static final String CANNOT_MODIFY_READONLY_MEMORY = "cannot modify read-only memory";
+    public static final String CANNOT_PICKLE_P_OBJECT = "cannot pickle '%p' object";
     public static final String CANNOT_RELEASE_UNAQUIRED_LOCK = "cannot release un-acquired lock";
     public static final String CANNOT_RESIZE_BUFFER = "cannot resize buffer";
+    public static final String CANNOT_SERIALIZE_P_OBJ = "cannot serialize '%p' object";
     public static final String CANNOT_SPECIFY_FILTERS = "Cannot specify filters except with FORMAT_RAW";
     public static final String CANNOT_SPECIFY_BOTH_COMMA_AND_UNDERSCORE = "Cannot specify both ',' and '_'.";
     public static final String CANNOT_SPECIFY_C_WITH_C = "Cannot specify '%c' with '%c'.";
@@ -141,9 +173,20 @@ public abstract class ErrorMessages {
     public static final String CANT_CONVERT_TO_FLOAT = "can't convert %s to float";
     public static final String CANT_CONVERT_TO_STR_EXPLICITELY = "Can't convert '%p' object to str implicitly";
     public static final String CANT_DELETE = "can't delete '%s'";
+    public static final String CANT_DO_NONZERO_CUR_RELATIVE_SEEKS = "can't do nonzero cur-relative seeks";
+    public static final String CANT_DO_NONZERO_END_RELATIVE_SEEKS = "can't do nonzero end-relative seeks";
     public static final String CANT_FIND_MODULE = "can't find module '%s'";
+    public static final String CANT_GET_LOCAL_ATTRIBUTE_S_ON_S = "Can't get local attribute %s on %s";
     public static final String CANT_MULTIPLY_SEQ_BY_NON_INT = "can't multiply sequence by non-int of type '%p'";
     public static final String CANT_PICKLE_FUNC_OBJS = "can't pickle function objects";
+    public static final String CANT_PICKLE_LOCAL_OBJECT_S = "Can't pickle local object %s";
+    public static final String CANT_PICKLE_P_OBJECT_S = "can't pickle '%p' object: %s";
+    public static final String CANT_PICKLE_S_ATTR_LOOKUP_S_ON_S_FAILED = "Can't pickle %s: attribute lookup %s on %s failed";
+    public static final String CANT_PICKLE_S_EXTENSION_CODE_D_IS_OUT_OF_RANGE = "Can't pickle %s: extension code %d is out of range";
+    public static final String CANT_PICKLE_S_IDENTIFIER_S_USING_PROTOCOL_D = "can't pickle %s identifier '%s' using pickle protocol %d";
+    public static final String CANT_PICKLE_S_IMPORT_OF_MODULE_S_FAILED = "Can't pickle %s: import of module %s failed";
+    public static final String CANT_PICKLE_S_NOT_SAME_OBJECT_AS_S_S = "Can't pickle %s: it's not the same object as %s.%s";
+    public static final String CANT_RECONSTRUCT_LOGICAL_FILE_POSITION = "can't reconstruct logical file position";
     public static final String CANT_SET_ATTRIBUTES_OF_TYPE = "can't set attributes of %s";
     public static final String CANT_SET_ATTRIBUTES_OF_TYPE_S = "can't set attributes of built-in/extension type '%s'";
     public static final String CANT_SPECIFY_TIMEOUT_FOR_NONBLOCKING = "can't specify a timeout for a non-blocking call";
@@ -156,6 +199,22 @@ public abstract class ErrorMessages {
     public static final String CLASS_ASIGMENT_S_LAYOUT_DIFFERS_FROM_S = "__class__ assignment: '%s' object layout differs from '%s'";
     public static final String CLASS_ASSIGMENT_ONLY_SUPPORTED_FOR_HEAP_TYPES_OR_MODTYPE_SUBCLASSES = "__class__ assignment only supported for heap types or ModuleType subclasses, not '%p'";
     public static final String CLASS_MUST_BE_SET_TO_CLASS = "__class__ must be set to a class, not '%p' object";
+    public static final String EMBEDDED_NULL_CHARACTER = "embedded null character";
+    public static final String EXPECTED_STR_OR_BYTESLIKE_OBJ = "expected string or bytes-like object";
+    public static final String EXPECTED_S_INSTANCE_P_FOUND = "expected %s instance, %p found";
+    public static final String FLOAT_TOO_LARGE_TO_PACK_WITH_S_FORMAT = "float too large to pack with %s format";
+    public static final String FORMAT_S_REQUIRES_0_LE_NUMBER_LE_D = "'%s' format requires 0 <= number <= %d";
+    public static final String FORMAT_S_REQUIRES_D_LE_NUMBER_LE_D = "'%s' format requires %d <= number <= %d";
+    public static final String INVALID_ARGUMENTS = "invalid arguments";
+    public static final String INVALID_PARTIAL_STATE = "invalid partial state";
+    public static final String ISLICE_INDICES_MUST_BE_NONE_OR_INT = "Indices for islice() must be None or an integer: 0 <= x <= sys.maxsize.";
+    public static final String ISLICE_STEP_MUST_BE_POSITIVE_OR_NONE = "Step for islice() must be a positive integer or None.";
+    public static final String ISLICE_STOP_MUST_BE_NONE_OR_INT = "Stop argument for islice() must be None or an integer: 0 <= x <= sys.maxsize.";
+    public static final String ITERATIVE_UNPACKING_REQUIRES_BUFFER_OF_MULTIPLE_OF_D_BYTES = "iterative unpacking requires a buffer of a multiple of %d bytes";
+    public static final String JSON_KEYS_MUST_BE_STR_INT_NOT_P = "keys must be str, int, float, bool or None, not %p";
+    public static final String LEN_OF_UNSIZED_OBJECT = "len() of unsized object";
+    public static final String MAXSIZE_SHOULD_BE_INTEGER_OR_NONE = "maxsize should be integer or None";
+    public static final String MEMORYVIEW_UNDERLYING_BUFFER_NOT_C_CONTIGUOUS = "memoryview: underlying buffer is not C-contiguous";
     public static final String MUST_BE_SET_TO_S_NOT_P = "%s must be set to a %s, not a '%p'";
     public static final String CLASSPATH_ARG_MUST_BE_STRING = "classpath argument %d must be string, not %p";
     public static final String CODE_OBJ_NO_FREE_VARIABLES = "code object passed to %s may not contain free variables";
@@ -172,25 +231,56 @@ public abstract class ErrorMessages {
     public static final String CORRUPTED_CAPI_LIB_OBJ = "corrupted C API library object: %s";
     public static final String COULD_NOT_CONVERT_STRING_TO_COMPLEX = "could not convert string to complex: %s";
     public static final String COULD_NOT_CONVERT_STRING_TO_FLOAT = "could not convert string to float: %s";
+    public static final String COULD_NOT_FIND_MARK = "could not find MARK";
     public static final String COULD_NOT_GET_BYTES_OF_MEMORYVIEW = "could not get bytes of memoryview";
     public static final String COUNT_FUNC_MATH = "count function in Math";
     public static final String COVERAGE_TRACKER_NOT_RUNNING = "coverage tracker not running";
     public static final String CREATING_SOCKETS_NOT_ALLOWED = "creating sockets not allowed";
+    public static final String DATA_OUT_OF_RANGE = "data out of range";
     public static final String DEFAULT_EXCEPT_MUST_BE_LAST = "default 'except:' must be last";
+    public static final String DEQUE_ALREADY_AT_MAX_SIZE = "deque already at its maximum size";
+    public static final String DEQUE_INDEX_OUT_OF_RANGE = "deque index out of range";
+    public static final String DEQUE_MUTATED_DURING_ITERATION = "deque mutated during iteration";
+    public static final String DEQUE_MUTATED_DURING_REMOVE = "deque mutated during remove().";
+    public static final String DEQUE_REMOVE_X_NOT_IN_DEQUE = "deque.remove(x): x not in deque";
     public static final String DESC_S_FOR_S_DOESNT_APPLY_TO_S = "descriptor '%s' for '%s' objects doesn't apply to '%s' object";
     public static final String DESCRIPTOR_REQUIRES_OBJ = "descriptor '%s' requires a '%s' object but received a '%p'";
     public static final String DICT_CHANGED_DURING_COMPARISON = "dictionary changed during comparison operation";
     public static final String CHANGED_SIZE_DURING_ITERATION = "%s changed size during iteration";
+    public static final String DICT_ITEMS_ITERATOR_MUST_RETURN_2_TUPLES = "dict items iterator must return 2-tuples";
     public static final String DICT_MUST_BE_SET_TO_DICT = "__dict__ must be set to a dictionary, not a '%p'";
     public static final String DICT_OF_P_OBJECTS_HAS_NO_ATTR = "'%p' dict of '%p' object has no attribute '__setitem__'";
     public static final String DICT_UPDATE_SEQ_ELEM_HAS_LENGTH_2_REQUIRED = "dictionary update sequence element #%d has length %d; 2 is required";
+    public static final String DIGEST_SIZE_MUST_BE_BETWEEN_1_AND_D_BYTES = "digest_size must be between 1 and %d bytes";
     public static final String DIVISION_BY_ZERO = "division by zero";
+    public static final String NEGATIVE_BUFFERSIZE_IN_S = "negative buffersize in %s";
+    public static final String NOT_ENOUGH_DATA_TO_UNPACK_D_BYTES_AT_OFFSET_D = "not enough data to unpack %d bytes at offset %d";
+    public static final String NO_SPACE_TO_PACK_D_BYTES_AT_OFFSET_D = "no space to pack %d bytes at offset %d";
+    public static final String NO_SUCH_GROUP = "no such group";
+    public static final String NUMBER_IS_REQUIRED = "a number is required";
+    public static final String OBJECT_CANNOT_BE_USED_IN_AWAIT = "object %p can't be used in 'await' expression";
+    public static final String OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER = "offset %d out of range for %d-byte buffer";
+    public static final String PACK_EXPECTED_D_ITEMS_FOR_PACKING_GOT_D = "pack expected %d items for packing (got %d)";
+    public static final String PACK_INTO_EXPECTED_BUFFER_ARGUMENT = "pack_into expected buffer argument";
+    public static final String PACK_INTO_EXPECTED_D_ITEMS_FOR_PACKING_GOT_D = "pack_into expected %d items for packing (got %d)";
+    public static final String PACK_INTO_EXPECTED_OFFSET_ARGUMENT = "pack_into expected offset argument";
+    public static final String PACK_INTO_REQUIRES_BUFFER_OF_AT_LEAST_D_BYTES = "pack_into requires a buffer of at least %d bytes for packing %d bytes at offset %d (actual buffer size is %d)";
+    public static final String REDUCE_EMPTY_SEQ = "reduce() of empty sequence with no initial value";
+    public static final String REPEAT_COUNT_WITHOUT_FORMAT_SPECIFIER = "repeat count given without format specifier";
+    public static final String REQUIRED_ARGUMENT_IS_NOT_AN_INTEGER = "required argument is not an integer";
+    public static final String REQUIRED_ARGUMENT_IS_NOT_A_FLOAT = "required argument is not a float";
+    public static final String SHORT_FORMAT_REQUIRES_NUMBER_IN_RANGE = "short format requires -32768 <= number <= 32767";
+    public static final String STATE_IS_NOT_A_TUPLE = "state is not a tuple";
+    public static final String STRUCT_ARG_MUST_BE_STR_OR_BYTES = "Struct() argument 1 must be a str or bytes object, not %p";
+    public static final String STRUCT_NOT_INITIALIZED = "Struct object is not initialized";
     public static final String S_DIVISION_BY_ZERO = "%s division by zero";
     public static final String S_DIVISION_OR_MODULO_BY_ZERO = "%s division or modulo by zero";
     public static final String SUPER_NO_CLASS = "super(): no arguments";
     public static final String SUPER_EMPTY_CLASS = "super(): empty __class__ cell";
     public static final String EMPTY_SEPARATOR = "empty separator";
     public static final String EMPTY_STR_FOR_COMPLEX = "empty string for complex()";
+    public static final String ENCODER_MUST_RETURN_STR_NOT_P = "encoder() must return a string, not %p";
+    public static final String END_IS_OUT_OF_BOUNDS = "end is out of bounds";
     public static final String END_MUST_BE_NONE_OR_STRING = "end must be None or a string, not %p";
     public static final String ERROR57_SOCKET_CANNOT_BE_CONNECTED = "[Errno 57] Socket is not connected";
     public static final String ERROR_5_WHILE_DECOMPRESSING = "Error -5 while decompressing data: incomplete or truncated stream";
@@ -212,12 +302,16 @@ public abstract class ErrorMessages {
     public static final String EXPECTED_STR_BYTE_OSPATHLIKE_OBJ = "expected str, bytes or os.PathLike object, not %p";
     public static final String EXPECTED_UNICODE_CHAR_NOT_P = "expected a unicode character, not %p";
     public static final String EXPONENT_TOO_LARGE = "exponent too large";
+    public static final String EXT_SPECIFIES_CODE_LE_0 = "EXT specifies code <= 0";
     public static final String FACTORIAL_NOT_DEFINED_FOR_NEGATIVE = "factorial() not defined for negative values";
+    public static final String FILE_MUST_HAVE_READ_AND_READLINE_ATTRS = "file must have 'read' and 'readline' attributes";
+    public static final String FILE_MUST_HAVE_WRITE_ATTR = "file must have a 'write' attribute";
     public static final String FILE_NOT_OPENED_FOR_READING = "file not opened for reading";
     public static final String FILL_CHAR_MUST_BE_LENGTH_1 = "The fill character must be exactly one character long";
     public static final String FILTER_SPEC_MUST_BE_DICT = "Filter specifier must be a dict or dict-like object";
     public static final String FILTER_SPECIFIER_MUST_HAVE = "Filter specifier must have an \"id\" entry";
     public static final String FIRST_ARG_MUST_BE_CALLABLE = "first argument must be callable";
+    public static final String FIRST_ARG_MUST_BE_STRING_NOT_P = "first argument must be a string, not %p";
     public static final String FIRST_ARG_MUST_BE_S_OR_TUPLE_NOT_P = "%s first arg must be %s or a tuple of str, not %p";
     public static final String FIRST_TWO_MAKETRANS_ARGS_MUST_HAVE_EQ_LENGTH = "the first two maketrans arguments must have equal length";
     public static final String FLOAT_ARG_REQUIRED = "float argument required, not %p";
@@ -243,6 +337,7 @@ public abstract class ErrorMessages {
     public static final String GOT_UNEXPECTED_KEYWORD_ARG = "%s() got an unexpected keyword argument '%s'";
     public static final String HAS_NO_ATTR = "%s has no attribute %s";
     public static final String HASH_SHOULD_RETURN_INTEGER = "__hash__ method should return an integer";
+    public static final String HEAP_ARGUMENT_MUST_BE_A_LIST = "heap argument must be a list";
     public static final String HEX_VALUE_TOO_LARGE_AS_FLOAT = "hexadecimal value too large to represent as a float";
     public static final String HOST_ACCESS_NOT_ALLOWED = "host access is not allowed";
     public static final String HOST_LOOKUP_NOT_ALLOWED = "host lookup is not allowed";
@@ -252,11 +347,13 @@ public abstract class ErrorMessages {
     public static final String ILLEGAL_ARG = "illegal argument";
     public static final String ILLEGAL_EXPRESSION_FOR_AUGMENTED_ASSIGNEMNT = "illegal expression for augmented assignment";
     public static final String ILLEGAL_IP_STRING_PASSED_TO = "illegal IP address string passed to %s";
+    public static final String ILLEGAL_NEWLINE_VALUE_S = "illegal newline value: %s";
     public static final String ILLEGAL_SOCKET_ADDR_ARG = "%s: illegal sockaddr argument";
     public static final String IMPORT_START_ONLY_ALLOWED_AT_MODULE_LEVEL = "import * only allowed at module level";
     public static final String INCOMPLETE_FORMAT = "incomplete format";
     public static final String INDEX_NOT_INT = "%s: index not int";
     public static final String INDEX_OUT_OF_BOUNDS = "index out of bounds";
+    public static final String INDEX_OUT_OF_BOUNDS_ON_DIMENSION_D = "index out of bounds on dimension %d";
     public static final String INDEX_OUT_OF_RANGE = "index out of range";
     public static final String INDEX_RETURNED_NON_INT = "__index__ returned non-int (type %p)";
     public static final String INSTANCE_EX_MAY_NOT_HAVE_SEP_VALUE = "instance exception may not have a separate value";
@@ -286,11 +383,13 @@ public abstract class ErrorMessages {
     public static final String INVALID_FILE_DESCRIPTOR = "invalid file descriptor";
     public static final String INVALID_FILTER = "Invalid filter ID: %d";
     public static final String INVALID_FILTER_CHAIN_FOR_FORMAT = "Invalid filter chain for FORMAT_ALONE - must be a single LZMA1 filter";
+    public static final String INVALID_INDEXING_OF_0_DIM_MEMORY = "invalid indexing of 0-dim memory";
     public static final String INVALID_INDEX_S = "invalid index %s";
     public static final String INVALID_INPUT_ELEM_TYPE = "Invalid input element type '%p'";
     public static final String INVALID_INSTANTIATION_OF_FOREIGN_OBJ = "invalid instantiation of foreign object";
     public static final String INVALID_ITEM_RETURNED_FROM_NATIVE_SEQ = "Invalid item type %s returned from native sequence storage (expected: %s)";
     public static final String INVALID_LITERAL_FOR_INT_WITH_BASE = "invalid literal for int() with base %s: %s";
+    public static final String INVALID_LOAD_KEY_S = "invalid load key, '%s'.";
     public static final String INVALID_LOCALE_CATEGORY = "invalid locale category";
     public static final String INVALID_MRO_OBJ = "invalid mro object";
     public static final String INVALID_NORMALIZATION_FORM = "invalid normalization form";
@@ -300,6 +399,12 @@ public abstract class ErrorMessages {
     public static final String INVALID_PTR_OBJ = "invalid pointer object: %s";
     public static final String INVALID_SYNTAX = "invalid syntax";
     public static final String INVALID_USE_OF_W_FORMAT_CHAR = "invalid use of 'w' format character";
+    public static final String INVALID_WHENCE_D = "invalid whence (%d, should be 0, 1 or 2)";
+    public static final String INVALID_X_ESCAPE_AT_POSITION_D = "invalid \\x escape at position %d";
+    public static final String INVERTED_REGISTRY_D_ISNT_2_TUPLE_OF_STRINGS = "_inverted_registry[%d] isn't a 2-tuple of strings";
+    public static final String IO_OPERATION_ON_CLOSED_EPOLL = "I/O operation on closed epoll object";
+    public static final String IO_OPERATION_ON_CLOSED_FILE = "I/O operation on closed file.";
+    public static final String IO_OPERATION_ON_UNINIT_OBJECT = "I/O operation on uninitialized object";
     public static final String IS_EMPTY = "%s is empty";
     public static final String IS_NOT_A_DICTIONARY = "%s is not a dictionary";
     public static final String IS_NOT_IN_RANGE = "%s is not in range";
@@ -324,23 +429,56 @@ public abstract class ErrorMessages {
     public static final String LIST_ASSIGMENT_INDEX_OUT_OF_RANGE = "list assignment index out of range";
     public static final String LIST_INDEX_OUT_OF_RANGE = "list index out of range";
     public static final String LIST_LENGTH_OUT_OF_RANGE = "list length out of range";
+    public static final String LIST_MODIFIED_DURING_SORT = "list modified during sort";
     public static final String LOCAL_VAR_REFERENCED_BEFORE_ASSIGMENT = "local variable '%s' referenced before assignment";
     public static final String LOCALS_MUST_BE_MAPPING = "%s() locals must be a mapping or None, not %p";
     public static final String LOST_SYSBREAKPOINTHOOK = "lost sys.breakpointhook";
     public static final String LENGTH_SHOULD_NOT_BE_NEG = "length should not be negative";
+    public static final String MAKE_ENCODER_ARG_1_MUST_BE_DICT_NOT_P = "make_encoder() argument 1 must be dict or None, not %p";
     public static final String MATH_DOMAIN_ERROR = "math domain error";
     public static final String MATH_RANGE_ERROR = "math range error";
+    public static final String MAXEVENTS_MUST_BE_GREATER_THAN_ZERO = "maxevents must be greater than 0, got %d";
+    public static final String MAXIMUM_S_LENGTH_IS_D_BYTES = "maximum %s length is %d bytes";
     public static final String MAX_MARSHAL_STACK_DEPTH = "Maximum marshal stack depth";
+    public static final String MEMORYVIEW_BUFFER_SMALLER_THAN_VIEW = "memoryview: underlying buffer is smaller than the view";
+    public static final String MEMORYVIEW_BYTESLIKE_OBJ_REQUIRED = "memoryview: a bytes-like object is required, not '%p'";
+    public static final String MEMORYVIEW_CANNOT_CAST_NON_BYTE = "memoryview: cannot cast between two non-byte formats";
+    public static final String MEMORYVIEW_CANNOT_CAST_VIEW_WITH_ZEROS_IN_SHAPE_OR_STRIDES = "memoryview: cannot cast view with zeros in shape or strides";
+    public static final String MEMORYVIEW_CASTS_RESTRICTED_TO_C_CONTIGUOUS = "memoryview: casts are restricted to C-contiguous views";
+    public static final String MEMORYVIEW_CAST_ELEMENTS_MUST_BE_INTS = "memoryview.cast(): elements of shape must be integers";
+    public static final String MEMORYVIEW_CAST_ELEMENTS_MUST_BE_POSITIVE_INTS = "memoryview.cast(): elements of shape must be integers > 0";
+    public static final String MEMORYVIEW_CAST_MUST_BE_1D_TO_ND_OR_ND_TO_1D = "memoryview: cast must be 1D -> ND or ND -> 1D";
+    public static final String MEMORYVIEW_DESTINATION_FORMAT_ERROR = "memoryview: destination format must be a native single character format prefixed with an optional '@'";
+    public static final String MEMORYVIEW_DIFFERENT_STRUCTURES = "memoryview assignment: lvalue and rvalue have different structures";
+    public static final String MEMORYVIEW_HASHING_RESTRICTED_TO_BYTE_FORMATS = "memoryview: hashing is restricted to formats 'B', 'b' or 'c'";
+    public static final String MEMORYVIEW_INVALID_SLICE_KEY = "memoryview: invalid slice key";
+    public static final String MEMORYVIEW_INVALID_TYPE_FOR_FORMAT_S = "memoryview: invalid type for format '%s'";
+    public static final String MEMORYVIEW_INVALID_VALUE_FOR_FORMAT_S = "memoryview: invalid value for format '%s'";
+    public static final String MEMORYVIEW_LENGTH_NOT_MULTIPLE_OF_ITEMSIZE = "memoryview: length is not a multiple of itemsize";
+    public static final String MEMORYVIEW_NUMBER_OF_DIMENSIONS_MUST_NOT_EXCEED_D = "memoryview: number of dimensions must not exceed %d";
+    public static final String MEMORYVIEW_PRODUCT_SHAPE_ITEMSIZE_NOT_BUFFER_SIZE = "memoryview: product(shape) * itemsize != buffer size";
+    public static final String MEMORYVIEW_SLICE_ASSIGNMENT_RESTRICTED_TO_DIM_1 = "memoryview slice assignments are currently restricted to ndim = 1";
+    public static final String MEMORY_MAPPED_READ_TOO_LARGE = "memory mapped read too large";
     public static final String MEM_MAPPED_LENGTH_MUST_BE_POSITIVE = "memory mapped length must be positive";
+    public static final String MEM_MAPPED_OFFSET_MUST_BE_POSITIVE = "memory mapped offset must be positive";
     public static final String METACLASS_CONFLICT = "metaclass conflict: the metaclass of a derived class must be a (non-strict) subclass of the metaclasses of all its bases";
     public static final String METHOD_NAME_MUST_BE = "method name must be string, not %p";
     public static final String MISSING_D_REQUIRED_S_ARGUMENT_S_POS = "%s() missing required argument '%s' (pos %d)";
     public static final String MISSING_D_REQUIRED_S_ARGUMENT_S_S = "%s() missing %d required %s argument%s: '%s'";
+    public static final String MMAP_CANT_MODIFY_READONLY = "mmap can't modify a readonly memory map.";
+    public static final String MMAP_CLOSED_OR_INVALID = "mmap closed or invalid";
     public static final String MMAP_INDEX_OUT_OF_RANGE = "mmap index out of range";
+    public static final String MMAP_INVALID_ACCESS_PARAMETER = "mmap invalid access parameter.";
+    public static final String MMAP_LENGTH_GREATER_THAN_FILE_SIZE = "mmap length is greater than file size";
+    public static final String MMAP_OFFSET_GREATER_THAN_FILE_SIZE = "mmap offset is greater than file size";
+    public static final String MMAP_SLICE_ASSIGNMENT_WRONG_SIZE = "mmap slice assignment is wrong size";
+    public static final String MMAP_TOO_LARGE_TO_EXPORT = "mmap of %d bytes is too large to export as a buffer";
     public static final String MODULE_HAS_NO_ATTR_S = "module has no attribute '%s'";
     public static final String MODULE_PARTIALLY_INITIALIZED_S_HAS_NO_ATTR_S = "partially initialized module '%s' has no attribute '%s' (most likely due to a circular import)";
     public static final String MODULE_S_HAS_NO_ATTR_S = "module '%s' has no attribute '%s'";
     public static final String MULTIPLE_BASES_LAYOUT_CONFLICT = "multiple bases have instance lay-out conflict";
+    public static final String MULTI_DIMENSIONAL_SLICING_NOT_IMPLEMENTED = "multi-dimensional slicing is not implemented";
+    public static final String MULTI_DIMENSIONAL_SUB_VIEWS_NOT_IMPLEMENTED = "multi-dimensional sub-views are not implemented";
     public static final String MUST_BE_A_CELL = "%s must be a cell";
     public static final String MUST_BE_BYTE_STRING_LEGTH1_NOT_P = "must be a byte string of length 1, not %p";
     public static final String MUST_BE_EITHER_OR = "%s: '%s' must be either %s or %s";
@@ -366,7 +504,14 @@ public abstract class ErrorMessages {
     public static final String NEG_INF_PLUS_INF_IN = "-inf + inf in fsum";
     public static final String NEGATIVE_COUNT = "negative count";
     public static final String NEGATIVE_DATA_SIZE = "negative data size";
+    public static final String NEGATIVE_SEEK_POSITION_D = "negative seek position %d";
     public static final String NEGATIVE_SHIFT_COUNT = "negative shift count";
+    public static final String NEGATIVE_S_ARGUMENT = "negative %s argument";
+    public static final String NEWOBJ_ARGLIST_IS_EMPTY = "__newobj__ arglist is empty";
+    public static final String NEWOBJ_CLASS_ARG_ISNT_TYPE = "NEWOBJ class argument isn't a type object";
+    public static final String NEWOBJ_EXPECTED_ARG_TUPLE = "NEWOBJ expected an arg tuple.";
+    public static final String NEWOBJ_EX_ARGS_LENGTH_MUST_BE_3_NOT_D = "length of the NEWOBJ_EX argument tuple must be exactly 3, not %d";
+    public static final String NEWOBJ_EX_S_ARGUMENT_MUST_BE_S_NOT_P = "NEWOBJ_EX %s argument must be a %s, not %p";
     public static final String NEW_TAKES_ONE_ARG = "object.__new__() takes exactly one argument (the type to instantiate)";
     public static final String NEW_TAKES_NO_ARGS = "%N() takes no arguments";
     public static final String NO_ACTIVE_EX_TO_RERAISE = "No active exception to reraise";
@@ -375,6 +520,7 @@ public abstract class ErrorMessages {
     public static final String NO_CACHED_CODE = "no cached code for %s";
     public static final String NO_CURRENT_FRAME = "%s: no current frame";
     public static final String NO_FUNCTION_FOUND = "no function %s%s found in %s";
+    public static final String NO_PERSISTENT_LOAD_FUNCTION = "A load persistent id instruction was encountered,\nbut no persistent_load function was specified.";
     public static final String NO_SUCH_FILE_OR_DIR = "No such file or directory: '%s:/%s'";
     public static final String NO_SUCH_NAME = "no such name";
     public static final String NONLOCAL_AND_GLOBAL = "name '%s' is nonlocal and global";
@@ -383,6 +529,7 @@ public abstract class ErrorMessages {
     public static final String NOT_A_ZIP_FILE = "not a Zip file: '%s'";
     public static final String NOT_ALL_ARGS_CONVERTED_DURING_FORMATTING = "not all arguments converted during %s formatting";
     public static final String NOT_ENOUGH_ARGS_FOR_FORMAT_STRING = "not enough arguments for format string";
+    public static final String NOT_ENOUGH_OUT_OF_BAND_BUFFERS = "not enough out-of-band buffers";
     public static final String NOT_ENOUGH_VALUES_TO_UNPACK = "not enough values to unpack (expected %d, got %d)";
     public static final String NOT_SUPPORTED_BETWEEN_INSTANCES = "'%s' not supported between instances of '%p' and '%p'";
     public static final String NUMBER_S_CANNOT_FIT_INTO_INDEXSIZED_INT = "number %s cannot fit into index-sized integer";
@@ -390,6 +537,15 @@ public abstract class ErrorMessages {
     public static final String OBJ_CANNOT_BE_INTERPRETED_AS_INTEGER = "'%p' object cannot be interpreted as an int";
     public static final String OBJ_DOES_NOT_SUPPORT_INDEXING = "'%s' object does not support indexing";
     public static final String OBJ_DOES_NOT_SUPPORT_ITEM_ASSIGMENT = "'%s' object does not support item assignment";
+    public static final String OPERATION_FORBIDDEN_ON_RELEASED_MEMORYVIEW = "operation forbidden on released memoryview object";
+    public static final String OPERATION_FORBIDDEN_ON_RELEASED_PICKLEBUFFER = "operation forbidden on released PickleBuffer object";
+    public static final String ORDER_MUST_BE_C_F_OR_A = "order must be 'C', 'F' or 'A'";
+    public static final String OUT_OF_RANGE_FLOAT_NOT_JSON_COMPLIANT = "Out of range float values are not JSON compliant";
+    public static final String PERSISTENT_IDS_IN_PROTOCOL_0_MUST_BE_ASCII = "persistent IDs in protocol 0 must be ASCII strings";
+    public static final String PICKLEBUFFER_NEEDS_PROTOCOL_5 = "PickleBuffer can only pickled with protocol >= 5";
+    public static final String PICKLE_DATA_WAS_TRUNCATED = "pickle data was truncated";
+    public static final String PICKLE_PROTOCOL_MUST_BE_LE_D = "pickle protocol must be <= %d";
+    public static final String PICKLE_STREAM_REFERS_TO_OUT_OF_BAND_DATA = "pickle stream refers to out-of-band data but no *buffers* argument was given";
     public static final String P_OBJ_DOES_NOT_SUPPORT_ITEM_ASSIGMENT = "'%p' object does not support item assignment";
     public static final String OBJ_DOESNT_SUPPORT_DELETION = "'%p' object doesn't support item deletion";
     public static final String OBJ_HAS_NO_LEN = "object of type '%p' has no len()";
@@ -400,8 +556,10 @@ public abstract class ErrorMessages {
     public static final String OBJ_NOT_SUBSCRIPTABLE = "'%p' object is not subscriptable";
     public static final String OBJ_OR_KLASS_ARGS_IS_NOT_HOST_OBJ = "the object '%p' or klass '%p' arguments is not a host object";
     public static final String OBJ_P_HAS_NO_ATTR_S = "'%p' object has no attribute '%s'";
+    public static final String OBJ_SUPPORTING_BUFFER_API_REQUIRED = "object supporting the buffer API required";
     public static final String OBJ_S_HAS_NO_ATTR_S = "'%s' object has no attribute '%s'";
     public static final String ODD_LENGTH_STRING = "Odd-length string";
+    public static final String ODD_NUMBER_OF_ITEMS_FOR_S = "odd number of items for %s";
     public static final String ONLY_ACCEPTS_INTEGRAL_VALUES = "%s only accepts integral values";
     public static final String ONLY_DEFLATED_ALLOWED_AS_METHOD = "only DEFLATED (%d) allowed as method, got %d";
     public static final String PACKED_IP_WRONG_LENGTH = "packed IP wrong length for %s";
@@ -410,6 +568,7 @@ public abstract class ErrorMessages {
     public static final String POLYGLOT_ACCESS_NOT_ALLOWED = "polyglot access is not allowed";
     public static final String POLYGLOT_EVAL_MUST_PASS_STRINGS = "polyglot.eval must pass strings as either 'path' or a 'string' keyword";
     public static final String POLYGLOT_EVAL_WITH_STRING_MUST_PASS_LANG = "polyglot.eval with a string argument must pass a language or mime-type";
+    public static final String POP_FROM_EMPTY_DEQUE = "pop from an empty deque";
     public static final String POP_FROM_EMPTY_SET = "pop from an emtpy set";
     public static final String PORT_PROTO_NOT_FOUND = "port/proto not found";
     public static final String PRIVATE_IDENTIFIER_TOO_LARGE_TO_BE_MANGLED = "private identifier too large to be mangled";
@@ -417,13 +576,25 @@ public abstract class ErrorMessages {
     public static final String PYTHON_INT_TOO_LARGE_TO_CONV_TO = "Python int too large to convert to %s";
     public static final String PYTHON_INT_TOO_LARGE_TO_CONV_TO_C_TYPE = "Python int too large to convert to %s-byte C type";
     public static final String RANGE_OUT_OF_BOUNDS = "range index out of range";
+    public static final String RAN_OUT_OF_INPUT = "Ran out of input";
     public static final String RAW_FORMAT_NOT_SUPPORTED = "RAW format unsupported";
+    public static final String RAW_STREAM_DETACHED = "raw stream has been detached";
+    public static final String RAW_S_RETURNED_INVALID_LENGTH = "raw %s() returned invalid length %d (should have been between 0 and %d)";
     public static final String READ_BYTE_OUT_OF_RANGE = "read byte out of range";
     public static final String READ_WRITE_BYTELIKE_OBJ = "read-write bytes-like object";
     public static final String READONLY_ATTRIBUTE = "readonly attribute";
+    public static final String REDUCE_FIRST_ITEM_MUST_BE_CALLABLE = "first item of the tuple returned by __reduce__ must be callable";
+    public static final String REDUCE_MUST_RETURN_STR_OR_TUPLE = "__reduce__ must return a string or tuple";
+    public static final String REDUCE_SECOND_ITEM_MUST_BE_TUPLE = "second item of the tuple returned by __reduce__ must be a tuple";
+    public static final String REENTRANT_CALL_INSIDE_P = "reentrant call inside %p";
+    public static final String REDUCE_SIXTH_ELEMENT_MUST_BE_FUNCTION_NOT_P = "sixth element of the tuple returned by __reduce__ must be a function, not %p";
+    public static final String REDUCE_S_ELEMENT_MUST_BE_ITERATOR_NOT_P = "%s element of the tuple returned by __reduce__ must be an iterator, not %p";
+    public static final String REDUCE_TUPLE_MUST_CONTAIN_2_THROUGH_6 = "tuple returned by __reduce__ must contain 2 through 6 elements";
     public static final String REQUIRES_CODE_OBJ = "%s() requires a code object with %d free vars, not %d";
     public static final String REQUIRES_INT_OR_CHAR = "%%%c requires int or char";
     public static final String ROUNDED_VALUE_TOO_LARGE = "rounded value too large to represent";
+    public static final String R_IS_NOT_IN_DEQUE = "%r is not in deque";
+    public static final String S_EXCEEDS_SYSTEM_MAXIMUM_SIZE_OF_D_BYTES = "%s exceeds system's maximum size of %d bytes";
     public static final String S_FORMAT_NUMBER_IS_REQUIRED_NOT_S = "%%%s format: a number is required, not %p";
     public static final String S_FORMAT_INTEGER_IS_REQUIRED_NOT_S = "%%%s format: an integer is required, not %p";
     public static final String C_ARG_NOT_IN_RANGE256_DECIMAL = "%%c arg not in range(256)";
@@ -432,6 +603,13 @@ public abstract class ErrorMessages {
     public static final String REQUIRES_STRING_AS_LEFT_OPERAND = "'in <string>' requires string as left operand, not %P";
     public static final String REQUIRES_STR_OBJECT_BUT_RECEIVED_P = "'%s' requires a 'str' object but received a '%p'";
     public static final String RETURN_OUTSIDE_FUNC = "'return' outside function";
+    public static final String RETURN_WITH_VALUE_IN_ASYNC_GEN = "'return' with value in async generator";
+    public static final String S_INIT_WAS_NOT_CALLED_BY_P = "%s.__init__() was not called by %p.__init__()";
+    public static final String S_IS_TOO_LARGE = "%s is too large";
+    public static final String S_MUST_BE_BETWEEN_D_AND_D = "%s must be between %d and %d";
+    public static final String S_MUST_BE_GE_ZERO = "%s must be >= 0";
+    public static final String S_OUTSIDE_ASYNC_FUNCTION = "%s outside async function";
+    public static final String S_PICKLE_HAS_NEGATIVE_BYTE_COUNT = "%s pickle has negative byte count";
     public static final String S_RETURNED_BASE_WITH_UNSUITABLE_LAYOUT = "%s returned base with unsuitable layout ('%p')";
     public static final String RETURNED_NON_FLOAT = "%p.%s returned non-float (type %p)";
     public static final String RETURNED_NON_INT = "%s returned a non-int (type %p)";
@@ -449,8 +627,13 @@ public abstract class ErrorMessages {
     public static final String SECURITY_EX_WHILE_READING = "security exception while reading: '%s'";
     public static final String SEEK_OUT_OF_RANGE = "seek out of range";
     public static final String SEMAPHORE_NAME_TAKEN = "Semaphore name taken: '%s'";
+    public static final String SEP_MUST_BE_ASCII = "sep must be ASCII.";
+    public static final String SEP_MUST_BE_LENGTH_1 = "sep must be length 1.";
     public static final String SEP_MUST_BE_NONE_OR_STRING = "sep must be None or a string, not %p";
+    public static final String SEP_MUST_BE_STR_OR_BYTES = "sep must be str or bytes.";
+    public static final String SEQUENCE_INDEX_MUST_BE_INT_NOT_P = "sequence index must be integer, not '%p'";
     public static final String SET_DOES_NOT_SUPPORT_ITERABLE_OBJ = "set does not support iterable object %s";
+    public static final String SHAPE_MUST_BE_A_LIST_OR_TUPLE = "shape must be a list or a tuple";
     public static final String SHOULD_RETURN = "%s should return %s";
     public static final String SHOULD_RETURN_NONE = "%s should return None";
     public static final String SIGNAL_MUST_BE_SIGIGN_SIGDFL_OR_CALLABLE_OBJ = "signal handler must be signal.SIG_IGN, signal.SIG_DFL, or a callable object";
@@ -463,15 +646,25 @@ public abstract class ErrorMessages {
     public static final String SLICE_INDICES_MUST_BE_INT_NONE_HAVE_INDEX = "slice indices must be integers or None or have an __index__ method";
     public static final String SLICE_STEP_CANNOT_BE_ZERO = "slice step cannot be zero";
     public static final String SLOT_DISALLOWED_WE_GOT_ONE = "%s slot disallowed: we already got one";
+    public static final String SLOT_STATE_IS_NOT_A_DICT = "slot state is not a dictionary";
+    public static final String STACK_GLOBAL_REQUIRES_STR = "STACK_GLOBAL requires str";
     public static final String STAR_WANTS_INT = "* wants int";
     public static final String STARRED_ASSIGMENT_MUST_BE_IN_LIST_OR_TUPLE = "starred assignment target must be in a list or tuple";
+    public static final String STATE_IS_NOT_A_DICT = "state is not a dictionary";
     public static final String STATE_VECTOR_INVALID = "state vector invalid.";
     public static final String STEP_1_NOT_SUPPORTED = "step != 1 not supported";
+    public static final String STREAM_NOT_READABLE = "File or stream is not readable.";
+    public static final String STREAM_NOT_SEEKABLE = "File or stream is not seekable.";
+    public static final String STREAM_NOT_WRITABLE = "File or stream is not writable.";
     public static final String STRING_ARG_WO_ENCODING = "string argument without an encoding";
     public static final String STRING_INDEX_OUT_OF_RANGE = "IndexError: string index out of range";
+    public static final String STRING_OPCODE_ARG_MUST_BE_QUOTED = "the STRING opcode argument must be quoted";
     public static final String SUBSTRING_NOT_FOUND = "substring not found";
     public static final String SUBSECTION_NOT_FOUND = "subsection not found";
+    public static final String SUB_VIEWS_NOT_IMPLEMENTED = "sub-views are not implemented";
     public static final String SUPER_OBJ_MUST_BE_INST_SUB_OR_TYPE = "super(type, obj): obj must be an instance or subtype of type";
+    public static final String S_TAKES_NO_ARGUMENTS_D_GIVEN = "%s() takes no arguments (%d given)";
+    public static final String S_TAKES_NO_POSITIONAL_ARGS = "%s() takes no positional arguments";
     public static final String TAKES_D_OR_D_ARGS = "%s takes %d or %d arguments";
     public static final String TAKES_D_POS_ARG_S_BUT_D_POS_ARG_S = "%s() takes %d positional argument%s but %d positional argument%s (and %d keyword-only argument%s) were given%s";
     public static final String TAKES_D_POS_ARG_S_BUT_GIVEN_S = "%s() takes %d positional argument%s but %d %s given%s";
@@ -479,13 +672,16 @@ public abstract class ErrorMessages {
     public static final String TAKES_FROM_D_TO_D_POS_ARG_S_BUT_D_S_GIVEN_S = "%s() takes from %d to %d positional argument%s but %d %s given%s";
     public static final String TAKES_EXACTLY_D_ARGUMENTS_D_GIVEN = "%s() takes exactly %d arguments (%d given)";
     public static final String TAKES_NO_KEYWORD_ARGS = "%s takes no keyword arguments";
+    public static final String THE_FIRST_ARGUMENT_MUST_BE_CALLABLE = "the first argument must be callable";
     public static final String THROW_THIRD_ARG_MUST_BE_TRACEBACK = "throw() third argument must be a traceback object";
+    public static final String TIMED_OUT = "timed out";
     public static final String TIMEOUT_VALUE_MUST_BE_POSITIVE = "timeout value must be positive";
     public static final String TIMEOUT_VALUE_TOO_LARGE = "timeout value is too large";
     public static final String TOLERANCE_MUST_NON_NEGATIVE = "tolerances must be non-negative";
     public static final String TOO_LARGE_TO_CONVERT_TO = "%s too large to convert to %s";
     public static final String TOO_MANY_ARG = "%s: too many arguments";
     public static final String TOO_MANY_VALUES_TO_UNPACK = "too many values to unpack (expected %d)";
+    public static final String TOTAL_STRUCT_SIZE_TOO_LONG = "total struct size too long";
     public static final String TRAILING_S_IN_STR = "Trailing %s in string";
     public static final String TRANS_TABLE_MUST_BE_256 = "translation table must be 256 characters long";
     public static final String TUPLE_ASSIGN_OUT_OF_BOUNDS = "tuple assignment index out of range";
@@ -497,8 +693,13 @@ public abstract class ErrorMessages {
     public static final String TYPE_NAME_NO_NULL_CHARS = "type name must not contain null characters";
     public static final String TYPE_P_NOT_SUPPORTED_BY_FOREIGN_OBJ = "type '%p' is not supported by the foreign object";
     public static final String TYPE_DOESNT_SUPPORT_MRO_ENTRY_RESOLUTION = "type() doesn't support MRO entry resolution; use types.new_class()";
+    public static final String UBYTE_FORMAT_REQUIRES_NUMBER_IN_RANGE = "ubyte format requires 0 <= number <= 255";
+    public static final String UNDERLYING_BUFFER_DETACHED = "underlying buffer has been detached";
+    public static final String UNDERLYING_READ_SHOULD_HAVE_RETURNED_BYTES = "underlying %s() should have returned a bytes-like object, not '%p'";
     public static final String UNEXPECTED_KEYWORD_ARGS = "%s: unexpected keyword arguments";
+    public static final String UNEXPECTED_MARK_FOUND = "unexpected MARK found";
     public static final String UNHASHABLE_TYPE = "unhashable type: '%p'";
+    public static final String UNICODE_OBJECTS_MUST_BE_ENCODED_BEFORE_HASHING = "Unicode-objects must be encoded before hashing";
     public static final String UNINITIALIZED_S_OBJECT = "uninitialized classmethod object";
     public static final String UNKNOWN_ADDR_FAMILY = "unknown address family %d";
     public static final String UNKNOWN_ATTR = "Unknown attribute: '%s'";
@@ -506,8 +707,12 @@ public abstract class ErrorMessages {
     public static final String UNKNOWN_ERROR_HANDLER = "unknown error handler name '%s'";
     public static final String UNKNOWN_FORMAT_CODE = "Unknown format code '%c' for object of type '%s'";
     public static final String UNKNOWN_S_TYPE = "unknown %s type";
+    public static final String UNPACK_FROM_REQUIRES_BUFFER_OF_AT_LEAST_D_BYTES = "unpack_from requires a buffer of at least %d bytes for unpacking %d bytes at offset %d (actual buffer size is %d)";
+    public static final String UNPACK_REQUIRES_BUFFER_OF_D_BYTES = "unpack requires a buffer of %d bytes";
+    public static final String UNPICKLING_STACK_UNDERFLOW = "unpickling stack underflow";
     public static final String UNRECOGNIZED_FORMAT_CHAR = "unrecognized format char in arguments parsing: %c";
     public static final String UNRECOGNIZED_KIND = "unrecognized kind";
+    public static final String UNREGISTERED_EXTENSION_CODE_D = "unregistered extension code %d";
     public static final String UNSIGNED_BYTE_INT_GREATER_THAN_MAX = "unsigned byte integer is greater than maximum";
     public static final String UNSIGNED_BYTE_INT_LESS_THAN_MIN = "unsigned byte integer is less than minimum";
     public static final String UNSUPPORTED_FORMAT_CHAR_AT_INDEX = "unsupported format character '%c' (0x%x) at index %d";
@@ -518,9 +723,11 @@ public abstract class ErrorMessages {
     public static final String UNSUPPORTED_OPERAND_TYPES_FOR_S_P_AND_P = "unsupported operand type(s) for %s: '%p' and '%p'";
     public static final String UNSUPPORTED_OPERAND_TYPES_FOR_S_P_P_P = "unsupported operand type(s) for %s(): '%p', '%p', '%p'";
     public static final String UNSUPPORTED_OPERAND_TYPES_FOR_S_PR_S_P_AND_P = "unsupported operand type(s) for %s or %s(): '%p' and '%p'";
+    public static final String UNSUPPORTED_PICKLE_PROTOCOL_D = "unsupported pickle protocol: %d";
     public static final String UNSUPPORTED_SIZE_WAS = "unsupported %s size; was: %d";
     public static final String UNSUPPORTED_STR_TYPE = "unsupported string type: %s";
     public static final String UNSUPPORTED_TARGET_SIZE = "Unsupported target size: %d";
+    public static final String USHORT_FORMAT_REQUIRES_NUMBER_IN_RANGE = "ushort format requires 0 <= number <= 65535";
     public static final String VALUE_EXPECTED = "%s value expected";
     public static final String VALUE_TOO_LARGE_TO_FIT_INTO_INDEX = "value too large to fit into index-sized integer";
     public static final String WAS_NOT_POSSIBLE_TO_MARSHAL = "Was not possible to marshal";
@@ -529,8 +736,10 @@ public abstract class ErrorMessages {
     public static final String WHILE_PREPARING_TO_DECOMPRESS_DATA = "while preparing to decompress data";
     public static final String WORK_DIR_NOT_ACCESSIBLE = "working directory %s is not accessible";
     public static final String WRITE_BYTE_OUT_OF_RANGE = "write byte out of range";
+    public static final String WRITE_COULD_NOT_COMPLETE_WITHOUT_BLOCKING = "write could not complete without blocking";
     public static final String X_NOT_IN_LIST = "x not in list";
     public static final String X_NOT_IN_TUPLE = "tuple.index(x): x not in tuple";
+    public static final String YIELD_FROM_INSIDE_ASYNC_FUNCTION = "'yield from' inside async function";
     public static final String YOU_MAY_SPECIFY_EITHER_OR_BUT_NOT_BOTH = "%s: you may specify either '%s' or '%s' but not both";
     public static final String ZIPIMPORT_CANNOT_REWAD_ARCH_MEMBERS = "zipimport: cannot read archive members large than 2GB";
     public static final String ZIPIMPORT_CANT_READ_DATA = "zipimport: can't read data";
@@ -552,6 +761,7 @@ public abstract class ErrorMessages {
     public static final String HPY_LOAD_ERROR = "Could not load HPy C API from %s.";
     public static final String CANNOT_CONVERT_NEGATIVE_VALUE_TO_UNSIGNED_INT = "can't convert negative value to unsigned int";
     public static final String SEND_NON_NONE_TO_UNSTARTED_GENERATOR = "can't send non-None value to a just-started generator";
+    public static final String SEND_NON_NONE_TO_UNSTARTED_COROUTINE = "can't send non-None value to a just-started coroutine";
     public static final String UNSUPPORTED_FORMAT_STRING_PASSED_TO_P_FORMAT = "unsupported format string passed to %p.__format__";
     public static final String ONLY_SINGLE_TARGET_CAN_BE_ANNOTATED = "only single target (not %s) can be annotated";
     public static final String ILLEGAL_TARGET_FOR_ANNOTATION = "illegal target for annotation";
@@ -71,6 +71,7 @@ import com.oracle.graal.python.nodes.frame.WriteLocalVariableNode;
 import com.oracle.graal.python.nodes.frame.WriteNode;
 import com.oracle.graal.python.nodes.function.ClassBodyRootNode;
 import com.oracle.graal.python.nodes.function.FunctionRootNode;
+import com.oracle.graal.python.nodes.generator.AwaitNode;
 import com.oracle.graal.python.nodes.generator.DictConcatNodeFactory;
 import com.oracle.graal.python.nodes.generator.YieldFromNode;
 import com.oracle.graal.python.nodes.generator.YieldNode;
@@ -219,6 +220,10 @@ public class NodeFactory {
         return new YieldFromNode(right, generatorInfo);
     }
 
+    public AwaitNode createAwait(ExpressionNode right, GeneratorInfo.Mutable generatorInfo) {
+        return new AwaitNode(right, generatorInfo);
+    }
+
     public ExpressionNode createIntegerLiteral(int value) {
         return new IntegerLiteralNode(value);
     }
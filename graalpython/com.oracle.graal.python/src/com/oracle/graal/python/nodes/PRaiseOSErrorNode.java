@@ -117,4 +117,8 @@ public abstract class PRaiseOSErrorNode extends Node {
     public static PRaiseOSErrorNode create() {
         return PRaiseOSErrorNodeGen.create();
     }
+
+    public static PRaiseOSErrorNode getUncached() {
+        return PRaiseOSErrorNodeGen.getUncached();
+    }
 }
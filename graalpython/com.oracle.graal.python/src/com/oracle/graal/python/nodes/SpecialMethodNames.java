@@ -153,6 +153,7 @@ public abstract class SpecialMethodNames {
     public static final String __GETNEWARGS__ = "__getnewargs__";
     public static final String __GETSTATE__ = "__getstate__";
     public static final String __SETSTATE__ = "__setstate__";
+    public static final String __COPY__ = "__copy__";
     public static final String __GETFORMAT__ = "__getformat__";
     public static final String __SETFORMAT__ = "__setformat__";
     public static final String __OBJCLASS__ = "__objclass__";
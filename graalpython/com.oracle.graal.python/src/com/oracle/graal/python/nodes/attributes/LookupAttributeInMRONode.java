@@ -44,6 +44,7 @@ import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.type.PythonAbstractClass;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.builtins.objects.type.TypeNodes;
 import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetMroStorageNode;
@@ -64,6 +65,7 @@ import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.ReportPolymorphism;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @ImportStatic(PythonOptions.class)
 @ReportPolymorphism
@@ -106,9 +108,17 @@ public abstract class LookupAttributeInMRONode extends PNodeWithContext {
         }
 
         @Specialization(replaces = "lookupConstantMRO")
-        protected static Object lookup(Object klass, Object key,
+        protected Object lookup(Object klass, Object key,
                         @Cached("create()") GetMroStorageNode getMroNode,
-                        @Cached("createForceType()") ReadAttributeFromObjectNode readAttrNode) {
+                        @Cached("createForceType()") ReadAttributeFromObjectNode readAttrNode,
+                        @Cached("createBinaryProfile()") ConditionProfile stringKeyProfile) {
+            if (stringKeyProfile.profile(key instanceof String)) {
+                if (contextRef == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    contextRef = lookupContextReference(PythonLanguage.class);
+                }
+                return lookupWithTypeAttributeCache(contextRef.get().getTypeAttributeCache(), klass, (String) key, getMroNode, readAttrNode);
+            }
             return lookupSlow(klass, key, getMroNode, readAttrNode, false);
         }
     }
@@ -123,6 +133,9 @@ public abstract class LookupAttributeInMRONode extends PNodeWithContext {
             if (klass instanceof PythonBuiltinClassType) {
                 return findAttr(PythonLanguage.getCore(), (PythonBuiltinClassType) klass, key);
             } else if (klass instanceof PythonAbstractClass) {
+                if (key instanceof String) {
+                    return lookupWithTypeAttributeCache(PythonLanguage.getContext().getTypeAttributeCache(), klass, (String) key, getMroNode, readAttrNode);
+                }
                 return lookupSlow(klass, key, getMroNode, readAttrNode, false);
             } else {
                 CompilerDirectives.transferToInterpreter();
@@ -137,12 +150,16 @@ public abstract class LookupAttributeInMRONode extends PNodeWithContext {
     @Child private TypeNodes.IsSameTypeNode isSameTypeNode = IsSameTypeNodeGen.create();
     @Child private GetMroStorageNode getMroNode;
 
-    protected PythonCore getCore() {
+    protected PythonContext getContext() {
         if (contextRef == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
             contextRef = lookupContextReference(PythonLanguage.class);
         }
-        return contextRef.get().getCore();
+        return contextRef.get();
+    }
+
+    protected PythonCore getCore() {
+        return getContext().getCore();
     }
 
     public LookupAttributeInMRONode(String key, boolean skipPythonClasses) {
@@ -266,10 +283,54 @@ public abstract class LookupAttributeInMRONode extends PNodeWithContext {
         return PNone.NO_VALUE;
     }
 
-    @Specialization(replaces = {"lookupConstantMROCached", "lookupConstantMRO"})
+    /**
+     * Finds the built-in class in the MRO of {@code klass} that defines the key, or {@code null}
+     * if there is none. Built-in classes are immutable once the core is initialized and their MROs
+     * are the same in every context, so the result does not depend on the context.
+     */
+    protected PythonBuiltinClassType findOwnerInBuiltinMRO(PythonBuiltinClass klass) {
+        CompilerAsserts.neverPartOfCompilation();
+        MroSequenceStorage mro = getMro(klass);
+        for (int i = 0; i < mro.length(); i++) {
+            Object clsObj = mro.getItemNormalized(i);
+            assert clsObj instanceof PythonBuiltinClass : "built-in class '" + klass + "' has non-built-in class in MRO";
+            if (ReadAttributeFromObjectNode.getUncachedForceType().execute(clsObj, key) != PNone.NO_VALUE) {
+                return ((PythonBuiltinClass) clsObj).getType();
+            }
+        }
+        return null;
+    }
+
+    protected boolean isCoreInitialized() {
+        return getCore().isInitialized();
+    }
+
+    // Used when multiple contexts share this node and the caches above are not active: the
+    // built-in class is identified by its type and the attribute is read from the class object of
+    // the current context.
+    @Specialization(guards = {"klass.getType() == cachedType", "isCoreInitialized()"}, limit = "getAttributeAccessInlineCacheMaxDepth()")
+    protected Object lookupBuiltinClassCached(PythonBuiltinClass klass,
+                    @Cached("klass.getType()") @SuppressWarnings("unused") PythonBuiltinClassType cachedType,
+                    @Cached("findOwnerInBuiltinMRO(klass)") PythonBuiltinClassType owner,
+                    @Cached("createForceType()") ReadAttributeFromObjectNode readAttrNode) {
+        if (owner == null) {
+            return PNone.NO_VALUE;
+        }
+        Object value = readAttrNode.execute(getCore().lookupType(owner), key);
+        if (value == PNone.NO_VALUE) {
+            CompilerDirectives.transferToInterpreter();
+            return lookupSlow(klass, key, ensureGetMroNode(), readAttrNode, skipPythonClasses);
+        }
+        return value;
+    }
+
+    @Specialization(replaces = {"lookupConstantMROCached", "lookupConstantMRO", "lookupBuiltinClassCached"})
     protected Object lookup(Object klass,
                     @Cached("createForceType()") ReadAttributeFromObjectNode readAttrNode) {
-        return lookupSlow(klass, key, ensureGetMroNode(), readAttrNode, skipPythonClasses);
+        if (skipPythonClasses) {
+            return lookupSlow(klass, key, ensureGetMroNode(), readAttrNode, true);
+        }
+        return lookupWithTypeAttributeCache(getContext().getTypeAttributeCache(), klass, key, ensureGetMroNode(), readAttrNode);
     }
 
     protected GetMroStorageNode ensureGetMroNode() {
@@ -284,8 +345,27 @@ public abstract class LookupAttributeInMRONode extends PNodeWithContext {
         return ensureGetMroNode().execute(clazz);
     }
 
-    public static Object lookupSlow(Object klass, Object key, GetMroStorageNode getMroNode, ReadAttributeFromObjectNode readAttrNode, boolean skipPythonClasses) {
+    /**
+     * Like {@link #lookupSlow} but consults the context's {@link TypeAttributeCache} first and
+     * records the result there.
+     */
+    public static Object lookupWithTypeAttributeCache(TypeAttributeCache cache, Object klass, String key, GetMroStorageNode getMroNode, ReadAttributeFromObjectNode readAttrNode) {
         MroSequenceStorage mro = getMroNode.execute(klass);
+        Object value = cache.get(mro, key);
+        if (value != null) {
+            return value;
+        }
+        Assumption assumption = TypeAttributeCache.prepare(mro, key);
+        value = lookupInMro(mro, key, readAttrNode, false);
+        cache.put(mro, key, value, assumption);
+        return value;
+    }
+
+    public static Object lookupSlow(Object klass, Object key, GetMroStorageNode getMroNode, ReadAttributeFromObjectNode readAttrNode, boolean skipPythonClasses) {
+        return lookupInMro(getMroNode.execute(klass), key, readAttrNode, skipPythonClasses);
+    }
+
+    private static Object lookupInMro(MroSequenceStorage mro, Object key, ReadAttributeFromObjectNode readAttrNode, boolean skipPythonClasses) {
         for (int i = 0; i < mro.length(); i++) {
             Object kls = mro.getItemNormalized(i);
             if (skipPythonClasses && kls instanceof PythonClass) {
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.nodes.attributes;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetMroStorageNode;
+import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.sequence.storage.MroSequenceStorage;
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * A per-context cache of MRO lookups, similar to CPython's method cache. It is used by the generic
+ * paths of {@link LookupAttributeInMRONode} once the inline caches are exhausted.
+ *
+ * Entries are keyed on the {@link MroSequenceStorage#getVersionTag() version tag} of the MRO and the
+ * attribute name. Each entry is guarded by the shared attribute-in-MRO-final assumption of the MRO,
+ * which is invalidated when the attribute is written to any of the classes in the MRO.
+ */
+public final class TypeAttributeCache {
+    private static final int SIZE_BITS = 12;
+    private static final int SIZE = 1 << SIZE_BITS;
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    /** Only present if {@link PythonOptions#TypeAttributeCacheStatistics} is enabled. */
+    private final Counters counters;
+
+    public TypeAttributeCache(boolean collectStatistics) {
+        this.counters = collectStatistics ? new Counters() : null;
+    }
+
+    /**
+     * Hit and miss counts. They are updated behind a boundary since the cache is shared by all
+     * threads of the context.
+     */
+    public static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        @TruffleBoundary
+        void record(boolean hit) {
+            (hit ? hits : misses).increment();
+        }
+
+        @TruffleBoundary
+        public long getHits() {
+            return hits.sum();
+        }
+
+        @TruffleBoundary
+        public long getMisses() {
+            return misses.sum();
+        }
+    }
+
+    private static final class Entry {
+        final int versionTag;
+        final String key;
+        final Object value;
+        final Assumption assumption;
+
+        Entry(int versionTag, String key, Object value, Assumption assumption) {
+            this.versionTag = versionTag;
+            this.key = key;
+            this.value = value;
+            this.assumption = assumption;
+        }
+    }
+
+    private static int index(int versionTag, String key) {
+        int h = versionTag * 31 + key.hashCode();
+        return (h ^ (h >>> SIZE_BITS)) & (SIZE - 1);
+    }
+
+    /**
+     * Returns the cached result of looking up {@code key} in {@code mro}, or {@code null} if there
+     * is no valid entry.
+     */
+    public Object get(MroSequenceStorage mro, String key) {
+        int versionTag = mro.getVersionTag();
+        Entry entry = entries[index(versionTag, key)];
+        if (entry != null && entry.versionTag == versionTag && entry.assumption.isValid() && (entry.key == key || entry.key.equals(key))) {
+            if (counters != null) {
+                counters.record(true);
+            }
+            return entry.value;
+        }
+        if (counters != null) {
+            counters.record(false);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the assumption a new entry for {@code key} in {@code mro} must be guarded with. This
+     * must be called before the lookup is performed so that concurrent changes invalidate it.
+     */
+    @TruffleBoundary
+    public static Assumption prepare(MroSequenceStorage mro, String key) {
+        return mro.getSharedAttributeInMROFinalAssumption(key, GetMroStorageNode.getUncached()::execute);
+    }
+
+    public void put(MroSequenceStorage mro, String key, Object value, Assumption assumption) {
+        int versionTag = mro.getVersionTag();
+        entries[index(versionTag, key)] = new Entry(versionTag, key, value, assumption);
+    }
+
+    /**
+     * Returns the hit and miss counts, or {@code null} if they are not collected.
+     */
+    public Counters getCounters() {
+        return counters;
+    }
+}
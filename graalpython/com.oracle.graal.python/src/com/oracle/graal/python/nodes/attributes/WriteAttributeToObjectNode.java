@@ -52,10 +52,13 @@ import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.exception.PBaseException;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
+import com.oracle.graal.python.builtins.objects.functools.PLruCacheWrapper;
+import com.oracle.graal.python.builtins.objects.functools.PPartial;
 import com.oracle.graal.python.builtins.objects.method.PDecoratedMethod;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.object.PythonSlotsObject;
 import com.oracle.graal.python.builtins.objects.type.PythonManagedClass;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PRaiseNode;
@@ -94,9 +97,13 @@ public abstract class WriteAttributeToObjectNode extends ObjectAttributeNode {
 
     protected static boolean isAttrWritable(IsBuiltinClassProfile exactBuiltinInstanceProfile, PythonObject self, Object key) {
         if (isHiddenKey(key) || self instanceof PythonManagedClass || self instanceof PFunction || self instanceof PDecoratedMethod || self instanceof PythonModule ||
-                        self instanceof PBaseException) {
+                        self instanceof PBaseException || self instanceof PPartial || self instanceof PLruCacheWrapper) {
             return true;
         }
+        if (self instanceof PythonSlotsObject) {
+            // only the hidden slot keys can be stored, there is no __dict__
+            return false;
+        }
         return !exactBuiltinInstanceProfile.profileIsAnyBuiltinObject(self);
     }
 
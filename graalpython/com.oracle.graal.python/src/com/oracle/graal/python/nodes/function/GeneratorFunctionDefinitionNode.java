@@ -52,23 +52,33 @@ import com.oracle.truffle.api.nodes.ExplodeLoop;
 public class GeneratorFunctionDefinitionNode extends FunctionDefinitionNode {
     protected final GeneratorInfo generatorInfo;
     protected final FrameDescriptor frameDescriptor;
+    protected final boolean isCoroutine;
+    protected final boolean isAsyncGenerator;
 
     @CompilationFinal private RootCallTarget generatorCallTarget;
     @CompilationFinal private PCode generatorCode;
 
     public GeneratorFunctionDefinitionNode(String name, String qualname, String enclosingClassName, ExpressionNode doc, ExpressionNode[] defaults, KwDefaultExpressionNode[] kwDefaults,
                     RootCallTarget callTarget, FrameDescriptor frameDescriptor, DefinitionCellSlots definitionCellSlots, ExecutionCellSlots executionCellSlots, GeneratorInfo generatorInfo,
-                    Map<String, ExpressionNode> annotations) {
+                    Map<String, ExpressionNode> annotations, boolean isCoroutine, boolean isAsyncGenerator) {
         super(name, qualname, enclosingClassName, doc, defaults, kwDefaults, callTarget, definitionCellSlots, executionCellSlots, annotations);
         this.frameDescriptor = frameDescriptor;
         this.generatorInfo = generatorInfo;
+        this.isCoroutine = isCoroutine;
+        this.isAsyncGenerator = isAsyncGenerator;
     }
 
     public static GeneratorFunctionDefinitionNode create(String name, String qualname, String enclosingClassName, ExpressionNode doc, ExpressionNode[] defaults, KwDefaultExpressionNode[] kwDefaults,
                     RootCallTarget callTarget, FrameDescriptor frameDescriptor, DefinitionCellSlots definitionCellSlots, ExecutionCellSlots executionCellSlots, GeneratorInfo generatorInfo,
                     Map<String, ExpressionNode> annotations) {
+        return create(name, qualname, enclosingClassName, doc, defaults, kwDefaults, callTarget, frameDescriptor, definitionCellSlots, executionCellSlots, generatorInfo, annotations, false, false);
+    }
+
+    public static GeneratorFunctionDefinitionNode create(String name, String qualname, String enclosingClassName, ExpressionNode doc, ExpressionNode[] defaults, KwDefaultExpressionNode[] kwDefaults,
+                    RootCallTarget callTarget, FrameDescriptor frameDescriptor, DefinitionCellSlots definitionCellSlots, ExecutionCellSlots executionCellSlots, GeneratorInfo generatorInfo,
+                    Map<String, ExpressionNode> annotations, boolean isCoroutine, boolean isAsyncGenerator) {
         return new GeneratorFunctionDefinitionNode(name, qualname, enclosingClassName, doc, defaults, kwDefaults, callTarget,
-                        frameDescriptor, definitionCellSlots, executionCellSlots, generatorInfo, annotations);
+                        frameDescriptor, definitionCellSlots, executionCellSlots, generatorInfo, annotations, isCoroutine, isAsyncGenerator);
     }
 
     @Override
@@ -96,7 +106,7 @@ public class GeneratorFunctionDefinitionNode extends FunctionDefinitionNode {
     public GeneratorFunctionRootNode getGeneratorFunctionRootNode(PythonContext ctx) {
         if (generatorCallTarget == null) {
             return new GeneratorFunctionRootNode(ctx.getLanguage(), callTarget, functionName, frameDescriptor,
-                            executionCellSlots, ((PRootNode) callTarget.getRootNode()).getSignature(), generatorInfo);
+                            executionCellSlots, ((PRootNode) callTarget.getRootNode()).getSignature(), generatorInfo, isCoroutine);
         }
         return (GeneratorFunctionRootNode) generatorCallTarget.getRootNode();
     }
@@ -127,4 +137,12 @@ public class GeneratorFunctionDefinitionNode extends FunctionDefinitionNode {
         return frameDescriptor;
     }
 
+    public boolean isCoroutine() {
+        return isCoroutine;
+    }
+
+    public boolean isAsyncGenerator() {
+        return isAsyncGenerator;
+    }
+
 }
@@ -44,6 +44,7 @@ import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
 import com.oracle.graal.python.builtins.objects.function.Signature;
+import com.oracle.graal.python.builtins.objects.generator.PGenerator;
 import com.oracle.graal.python.nodes.PClosureFunctionRootNode;
 import com.oracle.graal.python.nodes.PRootNode;
 import com.oracle.graal.python.parser.ExecutionCellSlots;
@@ -67,17 +68,26 @@ public class GeneratorFunctionRootNode extends PClosureFunctionRootNode {
     private final GeneratorInfo generatorInfo;
     private final ExecutionCellSlots cellSlots;
     private final String originalName;
+    private final boolean isCoroutine;
+    private final boolean isAsyncGenerator;
 
     @Child private PythonObjectFactory factory = PythonObjectFactory.create();
 
     public GeneratorFunctionRootNode(PythonLanguage language, RootCallTarget callTarget, String originalName, FrameDescriptor frameDescriptor, ExecutionCellSlots executionCellSlots,
                     Signature signature, GeneratorInfo generatorInfo) {
+        this(language, callTarget, originalName, frameDescriptor, executionCellSlots, signature, generatorInfo, false, false);
+    }
+
+    public GeneratorFunctionRootNode(PythonLanguage language, RootCallTarget callTarget, String originalName, FrameDescriptor frameDescriptor, ExecutionCellSlots executionCellSlots,
+                    Signature signature, GeneratorInfo generatorInfo, boolean isCoroutine, boolean isAsyncGenerator) {
         super(language, frameDescriptor, executionCellSlots, signature);
         this.callTarget = callTarget;
         this.originalName = originalName;
         this.frameDescriptor = frameDescriptor;
         this.cellSlots = executionCellSlots;
         this.generatorInfo = generatorInfo;
+        this.isCoroutine = isCoroutine;
+        this.isAsyncGenerator = isAsyncGenerator;
     }
 
     @Override
@@ -93,8 +103,20 @@ public class GeneratorFunctionRootNode extends PClosureFunctionRootNode {
         // This is passed from CallDispatch node
         PFunction generatorFunction = PArguments.getGeneratorFunction(arguments);
 
-        return factory.createGenerator(generatorFunction.getName(), generatorFunction.getQualname(), callTargets, frameDescriptor, arguments, PArguments.getClosure(frame), cellSlots,
-                        generatorInfo, null);
+        PGenerator generator;
+        if (isAsyncGenerator) {
+            generator = factory.createAsyncGenerator(generatorFunction.getName(), generatorFunction.getQualname(), callTargets, frameDescriptor, arguments, PArguments.getClosure(frame), cellSlots,
+                            generatorInfo);
+        } else if (isCoroutine) {
+            generator = factory.createCoroutine(generatorFunction.getName(), generatorFunction.getQualname(), callTargets, frameDescriptor, arguments, PArguments.getClosure(frame), cellSlots,
+                            generatorInfo);
+        } else {
+            generator = factory.createGenerator(generatorFunction.getName(), generatorFunction.getQualname(), callTargets, frameDescriptor, arguments, PArguments.getClosure(frame), cellSlots,
+                            generatorInfo, null);
+        }
+        // share the function's code object, it carries the flags set by 'types.coroutine'
+        generator.setCode(generatorFunction.getCode());
+        return generator;
     }
 
     public static RootCallTarget[] createYieldTargets(RootCallTarget callTarget) {
@@ -108,6 +130,22 @@ public class GeneratorFunctionRootNode extends PClosureFunctionRootNode {
         return callTargets;
     }
 
+    /**
+     * Returns {@code true} if calling this function creates a coroutine object ({@code async def})
+     * instead of a generator.
+     */
+    public boolean isCoroutine() {
+        return isCoroutine && !isAsyncGenerator;
+    }
+
+    /**
+     * Returns {@code true} if calling this function creates an asynchronous generator object
+     * ({@code async def} containing {@code yield}).
+     */
+    public boolean isAsyncGenerator() {
+        return isAsyncGenerator;
+    }
+
     public RootNode getFunctionRootNode() {
         return callTarget.getRootNode();
     }
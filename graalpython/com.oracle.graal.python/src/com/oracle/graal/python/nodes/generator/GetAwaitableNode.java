@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.nodes.generator;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__AWAIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.code.PCode;
+import com.oracle.graal.python.builtins.objects.generator.PGenerator;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.attributes.LookupInheritedAttributeNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ValueProfile;
+
+/**
+ * Implements CPython's {@code _PyCoro_GetAwaitableIter}: returns the iterator an {@code await}
+ * expression delegates to. Native coroutines and generators marked by {@code types.coroutine} are
+ * handled without any attribute lookup, everything else must implement {@code __await__}.
+ */
+public abstract class GetAwaitableNode extends Node {
+    public abstract Object execute(VirtualFrame frame, Object awaitable);
+
+    @Specialization(guards = "coroutine.isCoroutine()")
+    static Object doCoroutine(PGenerator coroutine,
+                    @Cached PythonObjectFactory factory) {
+        return factory.createCoroutineWrapper(coroutine);
+    }
+
+    @Specialization(guards = "isIterableCoroutine(generator)")
+    static Object doIterableCoroutine(PGenerator generator) {
+        return generator;
+    }
+
+    @Specialization(guards = "!isCoroutineLike(awaitable)", limit = "4")
+    static Object doGeneric(VirtualFrame frame, Object awaitable,
+                    @Cached("createIdentityProfile()") ValueProfile awaitMethodProfile,
+                    @CachedLibrary("awaitable") PythonObjectLibrary plib,
+                    @CachedLibrary(limit = "2") PythonObjectLibrary methodLib,
+                    @Cached LookupInheritedAttributeNode.Dynamic lookupNext,
+                    @Cached PRaiseNode raiseNode) {
+        Object awaitMethod = awaitMethodProfile.profile(plib.lookupAttributeOnType(awaitable, __AWAIT__));
+        if (awaitMethod == PNone.NO_VALUE || awaitMethod == PNone.NONE) {
+            throw raiseNode.raise(TypeError, ErrorMessages.OBJECT_CANNOT_BE_USED_IN_AWAIT, awaitable);
+        }
+        Object iterator = methodLib.callUnboundMethodIgnoreGetException(awaitMethod, frame, awaitable);
+        if (iterator instanceof PGenerator && ((PGenerator) iterator).isCoroutine()) {
+            throw raiseNode.raise(TypeError, ErrorMessages.AWAIT_RETURNED_COROUTINE);
+        }
+        if (lookupNext.execute(iterator, __NEXT__) == PNone.NO_VALUE) {
+            throw raiseNode.raise(TypeError, ErrorMessages.AWAIT_RETURNED_NON_ITERATOR, iterator);
+        }
+        return iterator;
+    }
+
+    @Specialization(guards = "!isCoroutineLike(awaitable)", replaces = "doGeneric")
+    static Object doGenericUncached(VirtualFrame frame, Object awaitable,
+                    @Cached("createIdentityProfile()") ValueProfile awaitMethodProfile,
+                    @CachedLibrary(limit = "2") PythonObjectLibrary plib,
+                    @CachedLibrary(limit = "2") PythonObjectLibrary methodLib,
+                    @Cached LookupInheritedAttributeNode.Dynamic lookupNext,
+                    @Cached PRaiseNode raiseNode) {
+        return doGeneric(frame, awaitable, awaitMethodProfile, plib, methodLib, lookupNext, raiseNode);
+    }
+
+    static boolean isIterableCoroutine(PGenerator generator) {
+        PCode code = generator.getCode();
+        return code != null && code.isIterableCoroutine();
+    }
+
+    static boolean isCoroutineLike(Object object) {
+        return object instanceof PGenerator && (((PGenerator) object).isCoroutine() || isIterableCoroutine((PGenerator) object));
+    }
+
+    public static GetAwaitableNode create() {
+        return GetAwaitableNodeGen.create();
+    }
+}
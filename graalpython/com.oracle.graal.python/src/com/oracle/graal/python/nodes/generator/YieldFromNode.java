@@ -106,7 +106,7 @@ public class YieldFromNode extends AbstractYieldNode implements GeneratorControl
             // ........_y = next(_i)
             // ....except StopIteration as _e:
             // ........_r = _e.value
-            _i = iter.executeWith(frame, right.execute(frame));
+            _i = getIterator(frame, right.execute(frame));
             try {
                 _y = next.execute(frame, _i);
             } catch (PException e) {
@@ -217,6 +217,10 @@ public class YieldFromNode extends AbstractYieldNode implements GeneratorControl
         }
     }
 
+    protected Object getIterator(VirtualFrame frame, Object value) {
+        return iter.executeWith(frame, value);
+    }
+
     public int getIteratorSlot() {
         return iteratorSlot;
     }
@@ -40,32 +40,50 @@
  */
 package com.oracle.graal.python.nodes.util;
 
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.BufferError;
 import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OSError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodesFactory.ToByteArrayNodeGen;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.ToJavaBytesNode;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes.WriteBytesNode;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.builtins.objects.mmap.PMMap;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.PNodeWithContext;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.util.ChannelNodesFactory.ReadByteFromChannelNodeGen;
+import com.oracle.graal.python.nodes.util.ChannelNodesFactory.ReadIntoBufferNodeGen;
+import com.oracle.graal.python.nodes.util.ChannelNodesFactory.ReadIntoMemoryNodeGen;
+import com.oracle.graal.python.nodes.util.ChannelNodesFactory.ToByteBufferNodeGen;
 import com.oracle.graal.python.nodes.util.ChannelNodesFactory.WriteByteToChannelNodeGen;
 import com.oracle.graal.python.nodes.util.ChannelNodesFactory.WriteToChannelNodeGen;
+import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.util.Supplier;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 
@@ -363,4 +381,282 @@ public abstract class ChannelNodes {
             return WriteToChannelNodeGen.create();
         }
     }
+
+    static boolean isByteSequence(Object object) {
+        return object instanceof PSequence && ((PSequence) object).getSequenceStorage() instanceof ByteSequenceStorage;
+    }
+
+    static boolean isByteArray(Object object) {
+        return object instanceof PByteArray;
+    }
+
+    static boolean isMemoryView(Object object) {
+        return object instanceof PMemoryView;
+    }
+
+    static boolean isMMap(Object object) {
+        return object instanceof PMMap;
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    static ByteBuffer wrap(byte[] array, int offset, int length) {
+        return ByteBuffer.wrap(array, offset, length);
+    }
+
+    private static final int TRANSFER_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Copies at most {@code count} bytes of {@code in}, starting at {@code position}, to the
+     * current position of {@code out} and returns the number of bytes copied ({@code 0} at the end
+     * of the file or if a non-blocking {@code out} cannot take any data). File channels use
+     * {@link FileChannel#transferTo} or {@link FileChannel#transferFrom}, which let the JDK use
+     * {@code sendfile(2)} and friends. Other channels are copied through a single direct buffer.
+     * The position of {@code in} is left unchanged.
+     */
+    @TruffleBoundary
+    public static long transfer(SeekableByteChannel in, long position, WritableByteChannel out, long count) throws IOException {
+        if (count <= 0) {
+            return 0;
+        }
+        if (in instanceof FileChannel) {
+            return ((FileChannel) in).transferTo(position, count, out);
+        }
+        long oldPosition = in.position();
+        try {
+            in.position(position);
+            if (out instanceof FileChannel) {
+                FileChannel fileOut = (FileChannel) out;
+                long outPosition = fileOut.position();
+                long n = fileOut.transferFrom(in, outPosition, count);
+                fileOut.position(outPosition + n);
+                return n;
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(count, TRANSFER_CHUNK_SIZE));
+            long total = 0;
+            while (total < count) {
+                buffer.clear();
+                buffer.limit((int) Math.min(count - total, buffer.capacity()));
+                if (in.read(buffer) <= 0) {
+                    break;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    int n = out.write(buffer);
+                    if (n == 0) {
+                        // non-blocking channel that is full, report what was sent so far
+                        return total;
+                    }
+                    total += n;
+                }
+            }
+            return total;
+        } finally {
+            in.position(oldPosition);
+        }
+    }
+
+    /**
+     * Reads into {@code dst} from the given position of the channel without changing its position,
+     * like {@code pread(2)}.
+     */
+    @TruffleBoundary
+    public static int readAt(SeekableByteChannel channel, ByteBuffer dst, long position) throws IOException {
+        if (channel instanceof FileChannel) {
+            return ((FileChannel) channel).read(dst, position);
+        }
+        long oldPosition = channel.position();
+        try {
+            channel.position(position);
+            return channel.read(dst);
+        } finally {
+            channel.position(oldPosition);
+        }
+    }
+
+    /**
+     * Writes {@code src} at the given position of the channel without changing its position, like
+     * {@code pwrite(2)}.
+     */
+    @TruffleBoundary
+    public static int writeAt(SeekableByteChannel channel, ByteBuffer src, long position) throws IOException {
+        if (channel instanceof FileChannel) {
+            return ((FileChannel) channel).write(src, position);
+        }
+        long oldPosition = channel.position();
+        try {
+            channel.position(position);
+            return channel.write(src);
+        } finally {
+            channel.position(oldPosition);
+        }
+    }
+
+    /**
+     * Reads at most {@code size} bytes from a channel into the memory of a writable bytes-like
+     * object, i.e. a {@code bytearray} or a writable C-contiguous {@code memoryview}, and returns
+     * the number of bytes read, or the negative result of the channel's read ({@code -1} at the end
+     * of the stream). The caller must ensure that {@code size} does not exceed the length of the
+     * buffer.
+     */
+    @ImportStatic(ChannelNodes.class)
+    public abstract static class ReadIntoBufferNode extends PNodeWithContext {
+
+        public abstract int execute(Object channel, Object buffer, int size);
+
+        @Specialization
+        static int readIntoByteArray(Object channel, PByteArray buffer, int size,
+                        @Shared("readNode") @Cached ReadIntoMemoryNode readNode) {
+            return readNode.execute(channel, buffer, 0, size);
+        }
+
+        @Specialization
+        static int readIntoMemoryView(Object channel, PMemoryView view, int size,
+                        @Shared("readNode") @Cached ReadIntoMemoryNode readNode,
+                        @Cached PRaiseNode raiseNode) {
+            view.checkReleased(raiseNode);
+            if (view.isReadonly()) {
+                throw raiseNode.raise(TypeError, ErrorMessages.ARG_MUST_BE_READ_WRITE_BYTESLIKE_NOT_P, view);
+            }
+            if (!view.isCContiguous()) {
+                throw raiseNode.raise(BufferError, ErrorMessages.MEMORYVIEW_UNDERLYING_BUFFER_NOT_C_CONTIGUOUS);
+            }
+            return readNode.execute(channel, view.getBuffer(), view.getOffset(), size);
+        }
+
+        @Specialization(guards = {"!isByteArray(buffer)", "!isMemoryView(buffer)"})
+        static int readIntoOther(@SuppressWarnings("unused") Object channel, Object buffer, @SuppressWarnings("unused") int size,
+                        @Cached PRaiseNode raiseNode) {
+            throw raiseNode.raise(TypeError, ErrorMessages.ARG_MUST_BE_READ_WRITE_BYTESLIKE_NOT_P, buffer);
+        }
+
+        public static ReadIntoBufferNode create() {
+            return ReadIntoBufferNodeGen.create();
+        }
+    }
+
+    /**
+     * Reads into the memory {@code [offset, offset + size)} of the object holding the memory of a
+     * view. Managed byte storage and memory maps are filled through a {@link ByteBuffer} sharing
+     * their memory, anything else is filled in bulk from a temporary array.
+     */
+    @ImportStatic(ChannelNodes.class)
+    abstract static class ReadIntoMemoryNode extends ReadFromChannelBaseNode {
+
+        abstract int execute(Object channel, Object buffer, int offset, int size);
+
+        @Specialization(guards = "isByteSequence(sequence)")
+        static int readIntoBytes(Object channel, PSequence sequence, int offset, int size,
+                        @Shared("gotException") @Cached BranchProfile gotException,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) sequence.getSequenceStorage();
+            MemoryViewNodes.checkBounds(storage.length(), offset, size, raiseNode);
+            return readIntoBuffer(channel, wrap(storage.getInternalByteArray(), offset, size), gotException, raiseNode);
+        }
+
+        @Specialization
+        static int readIntoMMap(Object channel, PMMap mmap, int offset, int size,
+                        @Shared("writeBytes") @Cached WriteBytesNode writeBytesNode,
+                        @Shared("gotException") @Cached BranchProfile gotException,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            if (mmap.isClosed()) {
+                throw raiseNode.raise(ValueError, ErrorMessages.MMAP_CLOSED_OR_INVALID);
+            }
+            ByteBuffer view = mmap.getBufferView(offset, size);
+            if (view == null) {
+                return readIntoCopy(channel, mmap, offset, size, writeBytesNode, gotException, raiseNode);
+            }
+            return readIntoBuffer(channel, view, gotException, raiseNode);
+        }
+
+        @Specialization(guards = {"!isByteSequence(buffer)", "!isMMap(buffer)"})
+        static int readIntoCopy(Object channel, Object buffer, int offset, int size,
+                        @Shared("writeBytes") @Cached WriteBytesNode writeBytesNode,
+                        @Shared("gotException") @Cached BranchProfile gotException,
+                        @Shared("raise") @Cached PRaiseNode raiseNode) {
+            byte[] data = new byte[size];
+            int n = readIntoBuffer(channel, wrap(data, 0, size), gotException, raiseNode);
+            if (n > 0) {
+                writeBytesNode.execute(buffer, offset, data, 0, n);
+            }
+            return n;
+        }
+
+        static ReadIntoMemoryNode create() {
+            return ReadIntoMemoryNodeGen.create();
+        }
+    }
+
+    /**
+     * Returns a {@link ByteBuffer} with the contents of a bytes-like object, positioned at the
+     * first byte and limited to its length. The buffer shares the memory of managed byte storage,
+     * of C-contiguous views of such storage and of memory maps; other objects are copied.
+     */
+    @ImportStatic(ChannelNodes.class)
+    public abstract static class ToByteBufferNode extends PNodeWithContext {
+
+        public abstract ByteBuffer execute(Object data);
+
+        @Specialization(guards = "isByteSequence(data)")
+        static ByteBuffer doBytes(PSequence data) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) data.getSequenceStorage();
+            return wrap(storage.getInternalByteArray(), 0, storage.length());
+        }
+
+        @Specialization
+        static ByteBuffer doMemoryView(PMemoryView view,
+                        @Cached ToJavaBytesNode toJavaBytesNode,
+                        @Cached PRaiseNode raiseNode) {
+            view.checkReleased(raiseNode);
+            Object buffer = view.getBuffer();
+            int length = view.getLength();
+            if (view.isCContiguous()) {
+                if (isByteSequence(buffer)) {
+                    ByteSequenceStorage storage = (ByteSequenceStorage) ((PSequence) buffer).getSequenceStorage();
+                    MemoryViewNodes.checkBounds(storage.length(), view.getOffset(), length, raiseNode);
+                    return wrap(storage.getInternalByteArray(), view.getOffset(), length);
+                } else if (buffer instanceof PMMap && !((PMMap) buffer).isClosed()) {
+                    ByteBuffer mapped = ((PMMap) buffer).getBufferView(view.getOffset(), length);
+                    if (mapped != null) {
+                        return mapped;
+                    }
+                }
+            }
+            byte[] bytes = toJavaBytesNode.execute(view);
+            return wrap(bytes, 0, bytes.length);
+        }
+
+        @Specialization
+        static ByteBuffer doMMap(PMMap mmap,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary lib,
+                        @Cached PRaiseNode raiseNode) {
+            if (mmap.isClosed()) {
+                throw raiseNode.raise(ValueError, ErrorMessages.MMAP_CLOSED_OR_INVALID);
+            }
+            long length = mmap.getLength();
+            if (length <= PMMap.SEGMENT_SIZE) {
+                return mmap.getBufferView(0, (int) length);
+            }
+            // spans several segments, only maps below 2 GiB can be copied
+            return doGeneric(mmap, lib, raiseNode);
+        }
+
+        @Specialization(guards = {"!isByteSequence(data)", "!isMemoryView(data)", "!isMMap(data)"}, limit = "3")
+        static ByteBuffer doGeneric(Object data,
+                        @CachedLibrary("data") PythonObjectLibrary lib,
+                        @Cached PRaiseNode raiseNode) {
+            if (lib.isBuffer(data)) {
+                try {
+                    byte[] bytes = lib.getBufferBytes(data);
+                    return wrap(bytes, 0, bytes.length);
+                } catch (UnsupportedMessageException e) {
+                    throw CompilerDirectives.shouldNotReachHere(e);
+                }
+            }
+            throw raiseNode.raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, data);
+        }
+
+        public static ToByteBufferNode create() {
+            return ToByteBufferNodeGen.create();
+        }
+    }
 }
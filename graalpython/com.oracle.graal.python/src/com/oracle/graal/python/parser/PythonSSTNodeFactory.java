@@ -47,6 +47,8 @@ import com.oracle.graal.python.builtins.objects.function.Signature;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.ModuleRootNode;
 import com.oracle.graal.python.nodes.NodeFactory;
+import com.oracle.graal.python.nodes.SpecialAttributeNames;
+import com.oracle.graal.python.nodes.SpecialMethodNames;
 import com.oracle.graal.python.nodes.control.ReturnTargetNode;
 import com.oracle.graal.python.nodes.expression.ExpressionNode;
 import com.oracle.graal.python.nodes.function.FunctionDefinitionNode;
@@ -59,21 +61,31 @@ import com.oracle.graal.python.parser.sst.ArgListBuilder;
 import com.oracle.graal.python.parser.sst.AssignmentSSTNode;
 import com.oracle.graal.python.parser.sst.AugAssignmentSSTNode;
 import com.oracle.graal.python.parser.sst.BlockSSTNode;
+import com.oracle.graal.python.parser.sst.BooleanLiteralSSTNode;
+import com.oracle.graal.python.parser.sst.CallSSTNode;
 import com.oracle.graal.python.parser.sst.ClassSSTNode;
 import com.oracle.graal.python.parser.sst.CollectionSSTNode;
+import com.oracle.graal.python.parser.sst.ExceptSSTNode;
+import com.oracle.graal.python.parser.sst.ExpressionStatementSSTNode;
 import com.oracle.graal.python.parser.sst.FactorySSTVisitor;
 import com.oracle.graal.python.parser.sst.ForComprehensionSSTNode;
 import com.oracle.graal.python.parser.sst.ForSSTNode;
 import com.oracle.graal.python.parser.sst.FunctionDefSSTNode;
 import com.oracle.graal.python.parser.sst.GeneratorFactorySSTVisitor;
+import com.oracle.graal.python.parser.sst.GetAttributeSSTNode;
+import com.oracle.graal.python.parser.sst.IfSSTNode;
 import com.oracle.graal.python.parser.sst.ImportFromSSTNode;
 import com.oracle.graal.python.parser.sst.ImportSSTNode;
+import com.oracle.graal.python.parser.sst.NotSSTNode;
+import com.oracle.graal.python.parser.sst.RaiseSSTNode;
 import com.oracle.graal.python.parser.sst.SSTNode;
 import com.oracle.graal.python.parser.sst.SimpleSSTNode;
 import com.oracle.graal.python.parser.sst.StarSSTNode;
 import com.oracle.graal.python.parser.sst.StringLiteralSSTNode;
 import com.oracle.graal.python.parser.sst.StringUtils;
+import com.oracle.graal.python.parser.sst.TrySSTNode;
 import com.oracle.graal.python.parser.sst.VarLookupSSTNode;
+import com.oracle.graal.python.parser.sst.WhileSSTNode;
 import com.oracle.graal.python.parser.sst.WithSSTNode;
 import com.oracle.graal.python.parser.sst.YieldExpressionSSTNode;
 import com.oracle.graal.python.runtime.PythonParser;
@@ -97,6 +109,7 @@ public final class PythonSSTNodeFactory {
     private final Source source;
     private final PythonParser.ParserErrorCallback errors;
     private FStringExprParser fStringExprParser;
+    private int asyncTempCounter;
 
     public PythonSSTNodeFactory(PythonParser.ParserErrorCallback errors, Source source, FStringExprParser fStringExprParser) {
         this.errors = errors;
@@ -281,10 +294,184 @@ public final class PythonSSTNodeFactory {
             }
             throw errors.raiseInvalidSyntax(source, createSourceSection(startOffset, endOffset), message);
         }
+        ScopeInfo currentScope = scopeEnvironment.getCurrentScope();
+        if (currentScope.isCoroutine()) {
+            if (isFrom) {
+                throw errors.raiseInvalidSyntax(source, createSourceSection(startOffset, endOffset), ErrorMessages.YIELD_FROM_INSIDE_ASYNC_FUNCTION);
+            }
+            currentScope.setAsAsyncGenerator();
+        }
         scopeEnvironment.setToGeneratorScope();
         return new YieldExpressionSSTNode(value, isFrom, startOffset, endOffset);
     }
 
+    /**
+     * Creates an {@code await} expression. It is compiled like {@code yield from}, which makes the
+     * enclosing coroutine resumable at this point.
+     */
+    public YieldExpressionSSTNode createAwait(SSTNode value, int startOffset, int endOffset) {
+        checkInCoroutine("'await'", startOffset, endOffset);
+        scopeEnvironment.setToGeneratorScope();
+        return new YieldExpressionSSTNode(value, true, true, startOffset, endOffset);
+    }
+
+    /**
+     * Lowers {@code async for TARGET in ITER: BODY else: ELSE} to the equivalent loop from PEP 492,
+     * so that the generator nodes can resume inside of it:
+     *
+     * <pre>
+     * it = ITER
+     * it = it.__class__.__aiter__(it)
+     * anext = it.__class__.__anext__
+     * more = True
+     * while more:
+     *     try:
+     *         TARGET = await anext(it)
+     *     except StopAsyncIteration:
+     *         more = False
+     *     else:
+     *         BODY
+     * else:
+     *     ELSE
+     * </pre>
+     */
+    public SSTNode createAsyncFor(SSTNode[] targets, SSTNode iterator, SSTNode body, SSTNode elseStatement, boolean containsContinue, boolean containsBreak, int startOffset, int endOffset) {
+        checkInCoroutine("'async for'", startOffset, endOffset);
+        for (SSTNode target : targets) {
+            createLocalVariable(target);
+        }
+        String it = createAsyncTemp("aiter");
+        String anext = createAsyncTemp("anext");
+        String more = createAsyncTemp("amore");
+        SSTNode target = targets.length == 1 ? targets[0] : new CollectionSSTNode(targets, PythonBuiltinClassType.PTuple, startOffset, endOffset);
+
+        SSTNode nextItem = new AssignmentSSTNode(new SSTNode[]{target}, createAwait(createCall(readAsyncTemp(anext, startOffset, endOffset), startOffset, endOffset,
+                        readAsyncTemp(it, startOffset, endOffset)), startOffset, endOffset), startOffset, endOffset);
+        ExceptSSTNode stop = new ExceptSSTNode(readBuiltin(PythonBuiltinClassType.StopAsyncIteration, startOffset, endOffset), null,
+                        writeAsyncTemp(more, new BooleanLiteralSSTNode(false, startOffset, endOffset), startOffset, endOffset), startOffset, endOffset);
+        SSTNode step = new TrySSTNode(nextItem, new ExceptSSTNode[]{stop}, body, null, startOffset, endOffset);
+        WhileSSTNode loop = new WhileSSTNode(readAsyncTemp(more, startOffset, endOffset), step, containsContinue, containsBreak, startOffset, endOffset);
+        if (elseStatement != null) {
+            loop.setElse(elseStatement);
+        }
+        return new BlockSSTNode(new SSTNode[]{
+                        writeAsyncTemp(it, iterator, startOffset, endOffset),
+                        writeAsyncTemp(it, createCall(lookupOnClass(it, SpecialMethodNames.__AITER__, startOffset, endOffset), startOffset, endOffset, readAsyncTemp(it, startOffset, endOffset)),
+                                        startOffset, endOffset),
+                        writeAsyncTemp(anext, lookupOnClass(it, SpecialMethodNames.__ANEXT__, startOffset, endOffset), startOffset, endOffset),
+                        writeAsyncTemp(more, new BooleanLiteralSSTNode(true, startOffset, endOffset), startOffset, endOffset),
+                        loop}, startOffset, endOffset);
+    }
+
+    /**
+     * Lowers one item of {@code async with EXPR as TARGET: BODY} to the statements from PEP 492:
+     *
+     * <pre>
+     * mgr = EXPR
+     * aexit = mgr.__class__.__aexit__
+     * value = await mgr.__class__.__aenter__(mgr)
+     * ok = True
+     * try:
+     *     try:
+     *         TARGET = value
+     *         BODY
+     *     except BaseException as exc:
+     *         ok = False
+     *         if not await aexit(mgr, exc.__class__, exc, exc.__traceback__):
+     *             raise
+     * finally:
+     *     if ok:
+     *         await aexit(mgr, None, None, None)
+     * </pre>
+     */
+    public SSTNode createAsyncWith(SSTNode expression, SSTNode target, SSTNode body, int startOffset, int endOffset) {
+        checkInCoroutine("'async with'", startOffset, endOffset);
+        if (target != null) {
+            createLocalVariable(target);
+        }
+        String mgr = createAsyncTemp("amgr");
+        String aexit = createAsyncTemp("aexit");
+        String value = createAsyncTemp("avalue");
+        String ok = createAsyncTemp("aok");
+        String exc = createAsyncTemp("aexc");
+
+        SSTNode enter = createAwait(createCall(lookupOnClass(mgr, SpecialMethodNames.__AENTER__, startOffset, endOffset), startOffset, endOffset, readAsyncTemp(mgr, startOffset, endOffset)),
+                        startOffset, endOffset);
+        SSTNode protectedBody = body;
+        if (target != null) {
+            protectedBody = new BlockSSTNode(new SSTNode[]{new AssignmentSSTNode(new SSTNode[]{target}, readAsyncTemp(value, startOffset, endOffset), startOffset, endOffset), body}, startOffset,
+                            endOffset);
+        }
+        SSTNode exitWithException = createAwait(createCall(readAsyncTemp(aexit, startOffset, endOffset), startOffset, endOffset,
+                        readAsyncTemp(mgr, startOffset, endOffset),
+                        new GetAttributeSSTNode(readAsyncTemp(exc, startOffset, endOffset), SpecialAttributeNames.__CLASS__, startOffset, endOffset),
+                        readAsyncTemp(exc, startOffset, endOffset),
+                        new GetAttributeSSTNode(readAsyncTemp(exc, startOffset, endOffset), SpecialAttributeNames.__TRACEBACK__, startOffset, endOffset)), startOffset, endOffset);
+        SSTNode handler = new BlockSSTNode(new SSTNode[]{
+                        writeAsyncTemp(ok, new BooleanLiteralSSTNode(false, startOffset, endOffset), startOffset, endOffset),
+                        new IfSSTNode(new NotSSTNode(exitWithException, startOffset, endOffset), new RaiseSSTNode(null, null, startOffset, endOffset), null, startOffset, endOffset)},
+                        startOffset, endOffset);
+        ExceptSSTNode except = new ExceptSSTNode(readBuiltin(PythonBuiltinClassType.PBaseException, startOffset, endOffset), exc, handler, startOffset, endOffset);
+        SSTNode exitWithoutException = new ExpressionStatementSSTNode(createAwait(createCall(readAsyncTemp(aexit, startOffset, endOffset), startOffset, endOffset,
+                        readAsyncTemp(mgr, startOffset, endOffset),
+                        new SimpleSSTNode(SimpleSSTNode.Type.NONE, startOffset, endOffset),
+                        new SimpleSSTNode(SimpleSSTNode.Type.NONE, startOffset, endOffset),
+                        new SimpleSSTNode(SimpleSSTNode.Type.NONE, startOffset, endOffset)), startOffset, endOffset));
+        SSTNode finallyStatement = new IfSSTNode(readAsyncTemp(ok, startOffset, endOffset), exitWithoutException, null, startOffset, endOffset);
+        SSTNode tryExcept = new TrySSTNode(protectedBody, new ExceptSSTNode[]{except}, null, null, startOffset, endOffset);
+        return new BlockSSTNode(new SSTNode[]{
+                        writeAsyncTemp(mgr, expression, startOffset, endOffset),
+                        writeAsyncTemp(aexit, lookupOnClass(mgr, SpecialMethodNames.__AEXIT__, startOffset, endOffset), startOffset, endOffset),
+                        writeAsyncTemp(value, enter, startOffset, endOffset),
+                        writeAsyncTemp(ok, new BooleanLiteralSSTNode(true, startOffset, endOffset), startOffset, endOffset),
+                        new TrySSTNode(tryExcept, new ExceptSSTNode[0], null, finallyStatement, startOffset, endOffset)}, startOffset, endOffset);
+    }
+
+    private void checkInCoroutine(String what, int startOffset, int endOffset) {
+        if (!scopeEnvironment.getCurrentScope().isCoroutine()) {
+            throw errors.raiseInvalidSyntax(source, createSourceSection(startOffset, endOffset), ErrorMessages.S_OUTSIDE_ASYNC_FUNCTION, what);
+        }
+    }
+
+    /**
+     * Declares a hidden local used by the {@code async for} and {@code async with} lowering. The
+     * name is not a valid identifier, so it cannot clash with user code.
+     */
+    private String createAsyncTemp(String kind) {
+        String name = "." + kind + asyncTempCounter++;
+        scopeEnvironment.createLocal(name);
+        return name;
+    }
+
+    /**
+     * Reads a builtin class from the builtins module, so that globals of the same name do not
+     * change the meaning of the lowered code.
+     */
+    private static SSTNode readBuiltin(PythonBuiltinClassType type, int startOffset, int endOffset) {
+        return new GetAttributeSSTNode(new SimpleSSTNode(SimpleSSTNode.Type.BUILTINS, startOffset, endOffset), type.getName(), startOffset, endOffset);
+    }
+
+    private static VarLookupSSTNode readAsyncTemp(String name, int startOffset, int endOffset) {
+        return new VarLookupSSTNode(name, startOffset, endOffset);
+    }
+
+    private static SSTNode writeAsyncTemp(String name, SSTNode value, int startOffset, int endOffset) {
+        return new AssignmentSSTNode(new SSTNode[]{new VarLookupSSTNode(name, startOffset, endOffset)}, value, startOffset, endOffset);
+    }
+
+    private static SSTNode lookupOnClass(String receiver, String name, int startOffset, int endOffset) {
+        SSTNode cls = new GetAttributeSSTNode(readAsyncTemp(receiver, startOffset, endOffset), SpecialAttributeNames.__CLASS__, startOffset, endOffset);
+        return new GetAttributeSSTNode(cls, name, startOffset, endOffset);
+    }
+
+    private static SSTNode createCall(SSTNode callable, int startOffset, int endOffset, SSTNode... arguments) {
+        ArgListBuilder args = new ArgListBuilder();
+        for (SSTNode argument : arguments) {
+            args.addArg(argument);
+        }
+        return new CallSSTNode(callable, args, startOffset, endOffset);
+    }
+
     public StringLiteralSSTNode createStringLiteral(String[] values, int startOffset, int endOffset) {
         return StringLiteralSSTNode.create(values, startOffset, endOffset, source, errors, this, fStringExprParser);
     }
@@ -105,6 +105,10 @@ public final class ScopeInfo {
     private TreeSet<String> seenVars;
 
     private boolean annotationsField;
+    // Set for the scope of an 'async def' function
+    private boolean coroutineField;
+    // Set for the scope of an 'async def' function that contains 'yield'
+    private boolean asyncGeneratorField;
     // Used for serialization and deseraialization
     private final int serializationId;
 
@@ -198,6 +202,33 @@ public final class ScopeInfo {
         scopeKind = ScopeKind.Generator;
     }
 
+    /**
+     * Marks the scope as the body of an {@code async def} function. Coroutines are executed by the
+     * generator machinery, so the scope also becomes a generator scope, even if it contains no
+     * {@code await} expression.
+     */
+    public void setAsCoroutine() {
+        setAsGenerator();
+        coroutineField = true;
+    }
+
+    public boolean isCoroutine() {
+        return coroutineField;
+    }
+
+    /**
+     * Marks the scope of an {@code async def} function that contains {@code yield}. Calling such a
+     * function creates an asynchronous generator instead of a coroutine.
+     */
+    public void setAsAsyncGenerator() {
+        assert coroutineField;
+        asyncGeneratorField = true;
+    }
+
+    public boolean isAsyncGenerator() {
+        return asyncGeneratorField;
+    }
+
     public FrameDescriptor getFrameDescriptor() {
         return frameDescriptor;
     }
@@ -509,6 +540,8 @@ public final class ScopeInfo {
         out.writeUTF(scope.scopeId);
         out.writeInt(scope.getSerializetionId());
         out.writeBoolean(scope.hasAnnotations());
+        out.writeBoolean(scope.isCoroutine());
+        out.writeBoolean(scope.isAsyncGenerator());
         // for recreating frame descriptor
         Set<Object> identifiers = scope.getFrameDescriptor().getIdentifiers();
         List<String> names = new ArrayList<>();
@@ -588,9 +621,13 @@ public final class ScopeInfo {
         String id = input.readUTF();
         int serializationId = input.readInt();
         boolean hasAnnotations = input.readBoolean();
+        boolean isCoroutine = input.readBoolean();
+        boolean isAsyncGenerator = input.readBoolean();
 
         ScopeInfo scope = new ScopeInfo(id, serializationId, kind, null, parent);
         scope.annotationsField = hasAnnotations;
+        scope.coroutineField = isCoroutine;
+        scope.asyncGeneratorField = isAsyncGenerator;
         int len = input.readInt();
         for (int i = 0; i < len; i++) {
             scope.createSlotIfNotPresent(input.readUTF());
@@ -529,14 +529,14 @@ decorated:
     decorators 
         (
             classdef | 
-            funcdef | 
+            funcdef[false] | 
             async_funcdef 
         )
     { stack[stackIndex-1] = new DecoratedSSTNode($decorators.result, (SSTNode)stack[stackIndex-1], getStartIndex($ctx), getLastIndex($ctx)); }
 ;
 
-async_funcdef: ASYNC funcdef;
-funcdef
+async_funcdef: ASYNC funcdef[true];
+funcdef [boolean isAsync]
 :
 	'def' n=NAME parameters
 	(
@@ -547,6 +547,9 @@ funcdef
             ScopeInfo enclosingScope = scopeEnvironment.getCurrentScope();
             String enclosingClassName = enclosingScope.isInClassScope() ? enclosingScope.getScopeId() : null;
             ScopeInfo functionScope = scopeEnvironment.pushScope(name, ScopeInfo.ScopeKind.Function);
+            if (isAsync) {
+                functionScope.setAsCoroutine();
+            }
             LoopState savedLoopState = saveLoopState();
             functionScope.setHasAnnotations(true);
             $parameters.result.defineParamsInScope(functionScope); 
@@ -984,16 +987,16 @@ compound_stmt
 :
 	if_stmt 
 	| while_stmt 
-	| for_stmt
+	| for_stmt[false]
 	| try_stmt
-	| with_stmt
-	| funcdef
+	| with_stmt[false]
+	| funcdef[false]
 	| classdef
 	| decorated
 	| async_stmt
 ;
 
-async_stmt: ASYNC (funcdef | with_stmt | for_stmt);
+async_stmt: ASYNC (funcdef[true] | with_stmt[true] | for_stmt[true]);
 if_stmt
 :
 	'if' if_test=test ':' if_suite=suite elif_stmt
@@ -1033,25 +1036,37 @@ while_stmt
         }
 ;
 
-for_stmt
+for_stmt [boolean isAsync]
 :
 	'for' exprlist 'in' testlist ':'
 	{ LoopState savedState = startLoop(); }
 	suite
 	{ 
-            ForSSTNode result = factory.createForSSTNode($exprlist.result, $testlist.result, $suite.result, loopState.containsContinue, getStartIndex($ctx),getStopIndex($suite.stop));
-            result.setContainsBreak(loopState.containsBreak);
+            SSTNode body = $suite.result;
+            SSTNode elseStatement = null;
+            boolean containsContinue = loopState.containsContinue;
+            boolean containsBreak = loopState.containsBreak;
+            int endIndex = getStopIndex($suite.stop);
             loopState = savedState;
         }
 	(
 		'else' ':' suite 
                 { 
-                    result.setElse($suite.result); 
-                    result.setEndOffset(getStopIndex($suite.stop));
+                    elseStatement = $suite.result; 
+                    endIndex = getStopIndex($suite.stop);
                 }
 	)?
 	{  
-            push(result);
+            if (isAsync) {
+                push(factory.createAsyncFor($exprlist.result, $testlist.result, body, elseStatement, containsContinue, containsBreak, getStartIndex($ctx), endIndex));
+            } else {
+                ForSSTNode result = factory.createForSSTNode($exprlist.result, $testlist.result, body, containsContinue, getStartIndex($ctx), endIndex);
+                result.setContainsBreak(containsBreak);
+                if (elseStatement != null) {
+                    result.setElse(elseStatement);
+                }
+                push(result);
+            }
         }
 ;
 
@@ -1090,28 +1105,32 @@ except_clause returns [SSTNode result]
 	{ $result = new ExceptSSTNode(testNode, asName, $suite.result, getStartIndex($ctx), getStopIndex($suite.stop)); }
 ;
 
-with_stmt
+with_stmt [boolean isAsync]
 :
-	'with' with_item
+	'with' with_item[isAsync]
 	{ 
             $with_item.result.setStartOffset(getStartIndex($ctx));
             push($with_item.result); 
         }
 ;
 
-with_item returns [SSTNode result]
+with_item [boolean isAsync] returns [SSTNode result]
 :
 	test
 	{ SSTNode asName = null; }
 	( 'as' expr { asName = $expr.result; } )?
 	{ SSTNode sub; }
 	(
-		',' with_item
+		',' with_item[isAsync]
 		{ sub = $with_item.result; }
 		| ':' suite
 		{ sub = $suite.result; }
 	)
-	{ $result = factory.createWith($test.result, asName, sub, -1, getLastIndex($ctx)); }
+	{ 
+            $result = isAsync 
+                    ? factory.createAsyncWith($test.result, asName, sub, getStartIndex($ctx), getLastIndex($ctx))
+                    : factory.createWith($test.result, asName, sub, -1, getLastIndex($ctx)); 
+        }
 ;
 
 // NB compile.c makes sure that the default except clause is last
@@ -1340,7 +1359,7 @@ power returns [SSTNode result]
 
 atom_expr returns [SSTNode result]
 :
-	( AWAIT )? // 'await' is ignored for now 
+	( aw=AWAIT )?
 	atom
 	{ $result = $atom.result; }
 	(
@@ -1352,6 +1371,11 @@ atom_expr returns [SSTNode result]
                     $result = new GetAttributeSSTNode($result, $NAME.text, getStartIndex($ctx), getStopIndex($NAME));
                 }
 	)*
+	{
+            if ($aw != null) {
+                $result = factory.createAwait($result, getStartIndex($ctx), getLastIndex($ctx));
+            }
+        }
 ;
 
 atom returns [SSTNode result]
@@ -1023,7 +1023,7 @@ public class Python3Parser extends Parser {
 			case DEF:
 				{
 				setState(260);
-				funcdef();
+				funcdef(false);
 				}
 				break;
 			case ASYNC:
@@ -1069,7 +1069,7 @@ public class Python3Parser extends Parser {
 			setState(266);
 			match(ASYNC);
 			setState(267);
-			funcdef();
+			funcdef(true);
 			}
 		}
 		catch (RecognitionException re) {
@@ -1084,6 +1084,7 @@ public class Python3Parser extends Parser {
 	}
 
 	public static class FuncdefContext extends ParserRuleContext {
+		public boolean isAsync;
 		public Token n;
 		public ParametersContext parameters;
 		public SuiteContext s;
@@ -1100,14 +1101,16 @@ public class Python3Parser extends Parser {
 		public TestContext test() {
 			return getRuleContext(TestContext.class,0);
 		}
-		public FuncdefContext(ParserRuleContext parent, int invokingState) {
+		public FuncdefContext(ParserRuleContext parent, int invokingState) { super(parent, invokingState); }
+		public FuncdefContext(ParserRuleContext parent, int invokingState, boolean isAsync) {
 			super(parent, invokingState);
+			this.isAsync = isAsync;
 		}
 		@Override public int getRuleIndex() { return RULE_funcdef; }
 	}
 
-	public final FuncdefContext funcdef() throws RecognitionException {
-		FuncdefContext _localctx = new FuncdefContext(_ctx, getState());
+	public final FuncdefContext funcdef(boolean isAsync) throws RecognitionException {
+		FuncdefContext _localctx = new FuncdefContext(_ctx, getState(), isAsync);
 		enterRule(_localctx, 16, RULE_funcdef);
 		int _la;
 		try {
@@ -1138,6 +1141,9 @@ public class Python3Parser extends Parser {
 			            ScopeInfo enclosingScope = scopeEnvironment.getCurrentScope();
 			            String enclosingClassName = enclosingScope.isInClassScope() ? enclosingScope.getScopeId() : null;
 			            ScopeInfo functionScope = scopeEnvironment.pushScope(name, ScopeInfo.ScopeKind.Function);
+			            if (isAsync) {
+			                functionScope.setAsCoroutine();
+			            }
 			            LoopState savedLoopState = saveLoopState();
 			            functionScope.setHasAnnotations(true);
 			            _localctx.parameters.result.defineParamsInScope(functionScope); 
@@ -4193,7 +4199,7 @@ public class Python3Parser extends Parser {
 				enterOuterAlt(_localctx, 3);
 				{
 				setState(858);
-				for_stmt();
+				for_stmt(false);
 				}
 				break;
 			case TRY:
@@ -4207,14 +4213,14 @@ public class Python3Parser extends Parser {
 				enterOuterAlt(_localctx, 5);
 				{
 				setState(860);
-				with_stmt();
+				with_stmt(false);
 				}
 				break;
 			case DEF:
 				enterOuterAlt(_localctx, 6);
 				{
 				setState(861);
-				funcdef();
+				funcdef(false);
 				}
 				break;
 			case CLASS:
@@ -4284,19 +4290,19 @@ public class Python3Parser extends Parser {
 			case DEF:
 				{
 				setState(868);
-				funcdef();
+				funcdef(true);
 				}
 				break;
 			case WITH:
 				{
 				setState(869);
-				with_stmt();
+				with_stmt(true);
 				}
 				break;
 			case FOR:
 				{
 				setState(870);
-				for_stmt();
+				for_stmt(true);
 				}
 				break;
 			default:
@@ -4569,6 +4575,7 @@ public class Python3Parser extends Parser {
 	}
 
 	public static class For_stmtContext extends ParserRuleContext {
+		public boolean isAsync;
 		public ExprlistContext exprlist;
 		public TestlistContext testlist;
 		public SuiteContext suite;
@@ -4591,14 +4598,16 @@ public class Python3Parser extends Parser {
 			return getRuleContext(SuiteContext.class,i);
 		}
 		public TerminalNode ELSE() { return getToken(Python3Parser.ELSE, 0); }
-		public For_stmtContext(ParserRuleContext parent, int invokingState) {
+		public For_stmtContext(ParserRuleContext parent, int invokingState) { super(parent, invokingState); }
+		public For_stmtContext(ParserRuleContext parent, int invokingState, boolean isAsync) {
 			super(parent, invokingState);
+			this.isAsync = isAsync;
 		}
 		@Override public int getRuleIndex() { return RULE_for_stmt; }
 	}
 
-	public final For_stmtContext for_stmt() throws RecognitionException {
-		For_stmtContext _localctx = new For_stmtContext(_ctx, getState());
+	public final For_stmtContext for_stmt(boolean isAsync) throws RecognitionException {
+		For_stmtContext _localctx = new For_stmtContext(_ctx, getState(), isAsync);
 		enterRule(_localctx, 90, RULE_for_stmt);
 		int _la;
 		try {
@@ -4618,8 +4627,11 @@ public class Python3Parser extends Parser {
 			setState(916);
 			_localctx.suite = suite();
 			 
-			            ForSSTNode result = factory.createForSSTNode(_localctx.exprlist.result, _localctx.testlist.result, _localctx.suite.result, loopState.containsContinue, getStartIndex(_localctx),getStopIndex((_localctx.suite!=null?(_localctx.suite.stop):null)));
-			            result.setContainsBreak(loopState.containsBreak);
+			            SSTNode body = _localctx.suite.result;
+			            SSTNode elseStatement = null;
+			            boolean containsContinue = loopState.containsContinue;
+			            boolean containsBreak = loopState.containsBreak;
+			            int endIndex = getStopIndex((_localctx.suite!=null?(_localctx.suite.stop):null));
 			            loopState = savedState;
 			        
 			setState(923);
@@ -4634,14 +4646,23 @@ public class Python3Parser extends Parser {
 				setState(920);
 				_localctx.suite = suite();
 				 
-				                    result.setElse(_localctx.suite.result); 
-				                    result.setEndOffset(getStopIndex((_localctx.suite!=null?(_localctx.suite.stop):null)));
+				                    elseStatement = _localctx.suite.result; 
+				                    endIndex = getStopIndex((_localctx.suite!=null?(_localctx.suite.stop):null));
 				                
 				}
 			}
 
 			  
-			            push(result);
+			            if (isAsync) {
+			                push(factory.createAsyncFor(_localctx.exprlist.result, _localctx.testlist.result, body, elseStatement, containsContinue, containsBreak, getStartIndex(_localctx), endIndex));
+			            } else {
+			                ForSSTNode result = factory.createForSSTNode(_localctx.exprlist.result, _localctx.testlist.result, body, containsContinue, getStartIndex(_localctx), endIndex);
+			                result.setContainsBreak(containsBreak);
+			                if (elseStatement != null) {
+			                    result.setElse(elseStatement);
+			                }
+			                push(result);
+			            }
 			        
 			}
 		}
@@ -4860,19 +4881,22 @@ public class Python3Parser extends Parser {
 	}
 
 	public static class With_stmtContext extends ParserRuleContext {
+		public boolean isAsync;
 		public With_itemContext with_item;
 		public TerminalNode WITH() { return getToken(Python3Parser.WITH, 0); }
 		public With_itemContext with_item() {
 			return getRuleContext(With_itemContext.class,0);
 		}
-		public With_stmtContext(ParserRuleContext parent, int invokingState) {
+		public With_stmtContext(ParserRuleContext parent, int invokingState) { super(parent, invokingState); }
+		public With_stmtContext(ParserRuleContext parent, int invokingState, boolean isAsync) {
 			super(parent, invokingState);
+			this.isAsync = isAsync;
 		}
 		@Override public int getRuleIndex() { return RULE_with_stmt; }
 	}
 
-	public final With_stmtContext with_stmt() throws RecognitionException {
-		With_stmtContext _localctx = new With_stmtContext(_ctx, getState());
+	public final With_stmtContext with_stmt(boolean isAsync) throws RecognitionException {
+		With_stmtContext _localctx = new With_stmtContext(_ctx, getState(), isAsync);
 		enterRule(_localctx, 96, RULE_with_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
@@ -4880,7 +4904,7 @@ public class Python3Parser extends Parser {
 			setState(977);
 			match(WITH);
 			setState(978);
-			_localctx.with_item = with_item();
+			_localctx.with_item = with_item(isAsync);
 			 
 			            _localctx.with_item.result.setStartOffset(getStartIndex(_localctx));
 			            push(_localctx.with_item.result); 
@@ -4899,6 +4923,7 @@ public class Python3Parser extends Parser {
 	}
 
 	public static class With_itemContext extends ParserRuleContext {
+		public boolean isAsync;
 		public SSTNode result;
 		public TestContext test;
 		public ExprContext expr;
@@ -4919,14 +4944,16 @@ public class Python3Parser extends Parser {
 		public ExprContext expr() {
 			return getRuleContext(ExprContext.class,0);
 		}
-		public With_itemContext(ParserRuleContext parent, int invokingState) {
+		public With_itemContext(ParserRuleContext parent, int invokingState) { super(parent, invokingState); }
+		public With_itemContext(ParserRuleContext parent, int invokingState, boolean isAsync) {
 			super(parent, invokingState);
+			this.isAsync = isAsync;
 		}
 		@Override public int getRuleIndex() { return RULE_with_item; }
 	}
 
-	public final With_itemContext with_item() throws RecognitionException {
-		With_itemContext _localctx = new With_itemContext(_ctx, getState());
+	public final With_itemContext with_item(boolean isAsync) throws RecognitionException {
+		With_itemContext _localctx = new With_itemContext(_ctx, getState(), isAsync);
 		enterRule(_localctx, 98, RULE_with_item);
 		int _la;
 		try {
@@ -4957,7 +4984,7 @@ public class Python3Parser extends Parser {
 				setState(990);
 				match(COMMA);
 				setState(991);
-				_localctx.with_item = with_item();
+				_localctx.with_item = with_item(isAsync);
 				 sub = _localctx.with_item.result; 
 				}
 				break;
@@ -4973,7 +5000,11 @@ public class Python3Parser extends Parser {
 			default:
 				throw new NoViableAltException(this);
 			}
-			 _localctx.result =  factory.createWith(_localctx.test.result, asName, sub, -1, getLastIndex(_localctx)); 
+			 
+			            _localctx.result =  isAsync 
+			                    ? factory.createAsyncWith(_localctx.test.result, asName, sub, getStartIndex(_localctx), getLastIndex(_localctx))
+			                    : factory.createWith(_localctx.test.result, asName, sub, -1, getLastIndex(_localctx)); 
+			        
 			}
 		}
 		catch (RecognitionException re) {
@@ -6605,6 +6636,7 @@ public class Python3Parser extends Parser {
 
 	public static class Atom_exprContext extends ParserRuleContext {
 		public SSTNode result;
+		public Token aw;
 		public AtomContext atom;
 		public ArglistContext arglist;
 		public Token CloseB;
@@ -6614,7 +6646,6 @@ public class Python3Parser extends Parser {
 		public AtomContext atom() {
 			return getRuleContext(AtomContext.class,0);
 		}
-		public TerminalNode AWAIT() { return getToken(Python3Parser.AWAIT, 0); }
 		public List<TerminalNode> OPEN_PAREN() { return getTokens(Python3Parser.OPEN_PAREN); }
 		public TerminalNode OPEN_PAREN(int i) {
 			return getToken(Python3Parser.OPEN_PAREN, i);
@@ -6643,6 +6674,7 @@ public class Python3Parser extends Parser {
 		public TerminalNode NAME(int i) {
 			return getToken(Python3Parser.NAME, i);
 		}
+		public TerminalNode AWAIT() { return getToken(Python3Parser.AWAIT, 0); }
 		public List<TerminalNode> CLOSE_PAREN() { return getTokens(Python3Parser.CLOSE_PAREN); }
 		public TerminalNode CLOSE_PAREN(int i) {
 			return getToken(Python3Parser.CLOSE_PAREN, i);
@@ -6670,7 +6702,7 @@ public class Python3Parser extends Parser {
 			if (_la==AWAIT) {
 				{
 				setState(1267);
-				match(AWAIT);
+				_localctx.aw = match(AWAIT);
 				}
 			}
 
@@ -6727,6 +6759,11 @@ public class Python3Parser extends Parser {
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
+
+			            if (_localctx.aw != null) {
+			                _localctx.result =  factory.createAwait(_localctx.result, getStartIndex(_localctx), getLastIndex(_localctx));
+			            }
+			        
 			}
 		}
 		catch (RecognitionException re) {
@@ -6798,20 +6835,20 @@ public class Python3Parser extends Parser {
 		enterRule(_localctx, 140, RULE_atom);
 		int _la;
 		try {
-			setState(1353);
+			setState(1355);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case OPEN_PAREN:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(1290);
+				setState(1292);
 				match(OPEN_PAREN);
-				setState(1298);
+				setState(1300);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case YIELD:
 					{
-					setState(1291);
+					setState(1293);
 					_localctx.yield_expr = yield_expr();
 					 _localctx.result =  _localctx.yield_expr.result; 
 					}
@@ -6839,7 +6876,7 @@ public class Python3Parser extends Parser {
 				case NOT_OP:
 				case OPEN_BRACE:
 					{
-					setState(1294);
+					setState(1296);
 					_localctx.setlisttuplemaker = setlisttuplemaker(PythonBuiltinClassType.PTuple, PythonBuiltinClassType.PGenerator);
 					 _localctx.result =  _localctx.setlisttuplemaker.result; 
 					}
@@ -6852,7 +6889,7 @@ public class Python3Parser extends Parser {
 				default:
 					throw new NoViableAltException(this);
 				}
-				setState(1300);
+				setState(1302);
 				_localctx.cp = match(CLOSE_PAREN);
 				   
 				            if (_localctx.result instanceof CollectionSSTNode) {
@@ -6865,9 +6902,9 @@ public class Python3Parser extends Parser {
 			case OPEN_BRACK:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(1302);
+				setState(1304);
 				_localctx.startIndex = match(OPEN_BRACK);
-				setState(1307);
+				setState(1309);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case STRING:
@@ -6893,7 +6930,7 @@ public class Python3Parser extends Parser {
 				case NOT_OP:
 				case OPEN_BRACE:
 					{
-					setState(1303);
+					setState(1305);
 					_localctx.setlisttuplemaker = setlisttuplemaker(PythonBuiltinClassType.PList, PythonBuiltinClassType.PList);
 					 _localctx.result =  _localctx.setlisttuplemaker.result; 
 					}
@@ -6906,7 +6943,7 @@ public class Python3Parser extends Parser {
 				default:
 					throw new NoViableAltException(this);
 				}
-				setState(1309);
+				setState(1311);
 				_localctx.endIndex = match(CLOSE_BRACK);
 
 				            if (!(_localctx.result instanceof ForComprehensionSSTNode)) {
@@ -6919,21 +6956,21 @@ public class Python3Parser extends Parser {
 			case OPEN_BRACE:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(1311);
+				setState(1313);
 				_localctx.startIndex = match(OPEN_BRACE);
-				setState(1319);
+				setState(1321);
 				_errHandler.sync(this);
 				switch ( getInterpreter().adaptivePredict(_input,152,_ctx) ) {
 				case 1:
 					{
-					setState(1312);
+					setState(1314);
 					_localctx.dictmaker = dictmaker();
 					 _localctx.result =  _localctx.dictmaker.result; 
 					}
 					break;
 				case 2:
 					{
-					setState(1315);
+					setState(1317);
 					_localctx.setlisttuplemaker = setlisttuplemaker(PythonBuiltinClassType.PSet, PythonBuiltinClassType.PSet);
 					 _localctx.result =  _localctx.setlisttuplemaker.result; 
 					}
@@ -6944,7 +6981,7 @@ public class Python3Parser extends Parser {
 					}
 					break;
 				}
-				setState(1321);
+				setState(1323);
 				_localctx.endIndex = match(CLOSE_BRACE);
 
 				            if (!(_localctx.result instanceof ForComprehensionSSTNode)) {
@@ -6957,7 +6994,7 @@ public class Python3Parser extends Parser {
 			case NAME:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(1323);
+				setState(1325);
 				_localctx.NAME = match(NAME);
 				   
 				                String text = (_localctx.NAME!=null?_localctx.NAME.getText():null);
@@ -6968,7 +7005,7 @@ public class Python3Parser extends Parser {
 			case DECIMAL_INTEGER:
 				enterOuterAlt(_localctx, 5);
 				{
-				setState(1325);
+				setState(1327);
 				_localctx.DECIMAL_INTEGER = match(DECIMAL_INTEGER);
 				 
 				                String text = (_localctx.DECIMAL_INTEGER!=null?_localctx.DECIMAL_INTEGER.getText():null);
@@ -6979,7 +7016,7 @@ public class Python3Parser extends Parser {
 			case OCT_INTEGER:
 				enterOuterAlt(_localctx, 6);
 				{
-				setState(1327);
+				setState(1329);
 				_localctx.OCT_INTEGER = match(OCT_INTEGER);
 				 
 				                String text = (_localctx.OCT_INTEGER!=null?_localctx.OCT_INTEGER.getText():null);
@@ -6990,7 +7027,7 @@ public class Python3Parser extends Parser {
 			case HEX_INTEGER:
 				enterOuterAlt(_localctx, 7);
 				{
-				setState(1329);
+				setState(1331);
 				_localctx.HEX_INTEGER = match(HEX_INTEGER);
 				 
 				                String text = (_localctx.HEX_INTEGER!=null?_localctx.HEX_INTEGER.getText():null);
@@ -7001,7 +7038,7 @@ public class Python3Parser extends Parser {
 			case BIN_INTEGER:
 				enterOuterAlt(_localctx, 8);
 				{
-				setState(1331);
+				setState(1333);
 				_localctx.BIN_INTEGER = match(BIN_INTEGER);
 				 
 				                String text = (_localctx.BIN_INTEGER!=null?_localctx.BIN_INTEGER.getText():null);
@@ -7012,7 +7049,7 @@ public class Python3Parser extends Parser {
 			case FLOAT_NUMBER:
 				enterOuterAlt(_localctx, 9);
 				{
-				setState(1333);
+				setState(1335);
 				_localctx.FLOAT_NUMBER = match(FLOAT_NUMBER);
 				   
 				                String text = (_localctx.FLOAT_NUMBER!=null?_localctx.FLOAT_NUMBER.getText():null);
@@ -7023,7 +7060,7 @@ public class Python3Parser extends Parser {
 			case IMAG_NUMBER:
 				enterOuterAlt(_localctx, 10);
 				{
-				setState(1335);
+				setState(1337);
 				_localctx.IMAG_NUMBER = match(IMAG_NUMBER);
 				 
 				                String text = (_localctx.IMAG_NUMBER!=null?_localctx.IMAG_NUMBER.getText():null);
@@ -7035,18 +7072,18 @@ public class Python3Parser extends Parser {
 				enterOuterAlt(_localctx, 11);
 				{
 				 int start = stringStart(); 
-				setState(1340); 
+				setState(1342); 
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				do {
 					{
 					{
-					setState(1338);
+					setState(1340);
 					_localctx.STRING = match(STRING);
 					 pushString((_localctx.STRING!=null?_localctx.STRING.getText():null)); 
 					}
 					}
-					setState(1342); 
+					setState(1344); 
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				} while ( _la==STRING );
@@ -7056,7 +7093,7 @@ public class Python3Parser extends Parser {
 			case ELLIPSIS:
 				enterOuterAlt(_localctx, 12);
 				{
-				setState(1345);
+				setState(1347);
 				_localctx.t = match(ELLIPSIS);
 				 int start = _localctx.t.getStartIndex(); _localctx.result =  new SimpleSSTNode(SimpleSSTNode.Type.ELLIPSIS,  start, start + 3);
 				}
@@ -7064,7 +7101,7 @@ public class Python3Parser extends Parser {
 			case NONE:
 				enterOuterAlt(_localctx, 13);
 				{
-				setState(1347);
+				setState(1349);
 				_localctx.t = match(NONE);
 				 int start = _localctx.t.getStartIndex(); _localctx.result =  new SimpleSSTNode(SimpleSSTNode.Type.NONE,  start, start + 4);
 				}
@@ -7072,7 +7109,7 @@ public class Python3Parser extends Parser {
 			case TRUE:
 				enterOuterAlt(_localctx, 14);
 				{
-				setState(1349);
+				setState(1351);
 				_localctx.t = match(TRUE);
 				 int start = _localctx.t.getStartIndex(); _localctx.result =  new BooleanLiteralSSTNode(true,  start, start + 4); 
 				}
@@ -7080,7 +7117,7 @@ public class Python3Parser extends Parser {
 			case FALSE:
 				enterOuterAlt(_localctx, 15);
 				{
-				setState(1351);
+				setState(1353);
 				_localctx.t = match(FALSE);
 				 int start = _localctx.t.getStartIndex(); _localctx.result =  new BooleanLiteralSSTNode(false, start, start + 5); 
 				}
@@ -7127,50 +7164,50 @@ public class Python3Parser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(1355);
+			setState(1357);
 			_localctx.subscript = subscript();
 			 _localctx.result =  _localctx.subscript.result; 
-			setState(1376);
+			setState(1378);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==COMMA) {
 				{
 				 int start = start(); push(_localctx.result); 
-				setState(1358);
+				setState(1360);
 				match(COMMA);
-				setState(1373);
+				setState(1375);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << STRING) | (1L << LAMBDA) | (1L << NOT) | (1L << NONE) | (1L << TRUE) | (1L << FALSE) | (1L << AWAIT) | (1L << NAME) | (1L << DECIMAL_INTEGER) | (1L << OCT_INTEGER) | (1L << HEX_INTEGER) | (1L << BIN_INTEGER) | (1L << FLOAT_NUMBER) | (1L << IMAG_NUMBER) | (1L << ELLIPSIS) | (1L << OPEN_PAREN) | (1L << COLON) | (1L << OPEN_BRACK))) != 0) || ((((_la - 64)) & ~0x3f) == 0 && ((1L << (_la - 64)) & ((1L << (ADD - 64)) | (1L << (MINUS - 64)) | (1L << (NOT_OP - 64)) | (1L << (OPEN_BRACE - 64)))) != 0)) {
 					{
-					setState(1359);
+					setState(1361);
 					_localctx.subscript = subscript();
 					 push(_localctx.subscript.result); 
-					setState(1367);
+					setState(1369);
 					_errHandler.sync(this);
 					_alt = getInterpreter().adaptivePredict(_input,155,_ctx);
 					while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 						if ( _alt==1 ) {
 							{
 							{
-							setState(1361);
+							setState(1363);
 							match(COMMA);
-							setState(1362);
+							setState(1364);
 							_localctx.subscript = subscript();
 							 push(_localctx.subscript.result); 
 							}
 							} 
 						}
-						setState(1369);
+						setState(1371);
 						_errHandler.sync(this);
 						_alt = getInterpreter().adaptivePredict(_input,155,_ctx);
 					}
-					setState(1371);
+					setState(1373);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					if (_la==COMMA) {
 						{
-						setState(1370);
+						setState(1372);
 						match(COMMA);
 						}
 					}
@@ -7219,13 +7256,13 @@ public class Python3Parser extends Parser {
 		enterRule(_localctx, 144, RULE_subscript);
 		int _la;
 		try {
-			setState(1402);
+			setState(1404);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,163,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(1378);
+				setState(1380);
 				_localctx.test = test();
 				 _localctx.result =  _localctx.test.result; 
 				}
@@ -7234,43 +7271,43 @@ public class Python3Parser extends Parser {
 				enterOuterAlt(_localctx, 2);
 				{
 				 SSTNode sliceStart = null; SSTNode sliceEnd = null; SSTNode sliceStep = null; 
-				setState(1385);
+				setState(1387);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << STRING) | (1L << LAMBDA) | (1L << NOT) | (1L << NONE) | (1L << TRUE) | (1L << FALSE) | (1L << AWAIT) | (1L << NAME) | (1L << DECIMAL_INTEGER) | (1L << OCT_INTEGER) | (1L << HEX_INTEGER) | (1L << BIN_INTEGER) | (1L << FLOAT_NUMBER) | (1L << IMAG_NUMBER) | (1L << ELLIPSIS) | (1L << OPEN_PAREN) | (1L << OPEN_BRACK))) != 0) || ((((_la - 64)) & ~0x3f) == 0 && ((1L << (_la - 64)) & ((1L << (ADD - 64)) | (1L << (MINUS - 64)) | (1L << (NOT_OP - 64)) | (1L << (OPEN_BRACE - 64)))) != 0)) {
 					{
-					setState(1382);
+					setState(1384);
 					_localctx.test = test();
 					 sliceStart = _localctx.test.result; 
 					}
 				}
 
-				setState(1387);
+				setState(1389);
 				match(COLON);
-				setState(1391);
+				setState(1393);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << STRING) | (1L << LAMBDA) | (1L << NOT) | (1L << NONE) | (1L << TRUE) | (1L << FALSE) | (1L << AWAIT) | (1L << NAME) | (1L << DECIMAL_INTEGER) | (1L << OCT_INTEGER) | (1L << HEX_INTEGER) | (1L << BIN_INTEGER) | (1L << FLOAT_NUMBER) | (1L << IMAG_NUMBER) | (1L << ELLIPSIS) | (1L << OPEN_PAREN) | (1L << OPEN_BRACK))) != 0) || ((((_la - 64)) & ~0x3f) == 0 && ((1L << (_la - 64)) & ((1L << (ADD - 64)) | (1L << (MINUS - 64)) | (1L << (NOT_OP - 64)) | (1L << (OPEN_BRACE - 64)))) != 0)) {
 					{
-					setState(1388);
+					setState(1390);
 					_localctx.test = test();
 					 sliceEnd = _localctx.test.result; 
 					}
 				}
 
-				setState(1399);
+				setState(1401);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if (_la==COLON) {
 					{
-					setState(1393);
+					setState(1395);
 					match(COLON);
-					setState(1397);
+					setState(1399);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << STRING) | (1L << LAMBDA) | (1L << NOT) | (1L << NONE) | (1L << TRUE) | (1L << FALSE) | (1L << AWAIT) | (1L << NAME) | (1L << DECIMAL_INTEGER) | (1L << OCT_INTEGER) | (1L << HEX_INTEGER) | (1L << BIN_INTEGER) | (1L << FLOAT_NUMBER) | (1L << IMAG_NUMBER) | (1L << ELLIPSIS) | (1L << OPEN_PAREN) | (1L << OPEN_BRACK))) != 0) || ((((_la - 64)) & ~0x3f) == 0 && ((1L << (_la - 64)) & ((1L << (ADD - 64)) | (1L << (MINUS - 64)) | (1L << (NOT_OP - 64)) | (1L << (OPEN_BRACE - 64)))) != 0)) {
 						{
-						setState(1394);
+						setState(1396);
 						_localctx.test = test();
 						 sliceStep = _localctx.test.result; 
 						}
@@ -7330,7 +7367,7 @@ public class Python3Parser extends Parser {
 			enterOuterAlt(_localctx, 1);
 			{
 			 int start = start(); 
-			setState(1411);
+			setState(1413);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case STRING:
@@ -7353,14 +7390,14 @@ public class Python3Parser extends Parser {
 			case NOT_OP:
 			case OPEN_BRACE:
 				{
-				setState(1405);
+				setState(1407);
 				_localctx.expr = expr();
 				 push(_localctx.expr.result); 
 				}
 				break;
 			case STAR:
 				{
-				setState(1408);
+				setState(1410);
 				_localctx.star_expr = star_expr();
 				 push(_localctx.star_expr.result); 
 				}
@@ -7368,16 +7405,16 @@ public class Python3Parser extends Parser {
 			default:
 				throw new NoViableAltException(this);
 			}
-			setState(1424);
+			setState(1426);
 			_errHandler.sync(this);
 			_alt = getInterpreter().adaptivePredict(_input,166,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					{
 					{
-					setState(1413);
+					setState(1415);
 					match(COMMA);
-					setState(1420);
+					setState(1422);
 					_errHandler.sync(this);
 					switch (_input.LA(1)) {
 					case STRING:
@@ -7400,14 +7437,14 @@ public class Python3Parser extends Parser {
 					case NOT_OP:
 					case OPEN_BRACE:
 						{
-						setState(1414);
+						setState(1416);
 						_localctx.expr = expr();
 						 push(_localctx.expr.result); 
 						}
 						break;
 					case STAR:
 						{
-						setState(1417);
+						setState(1419);
 						_localctx.star_expr = star_expr();
 						 push(_localctx.star_expr.result); 
 						}
@@ -7418,16 +7455,16 @@ public class Python3Parser extends Parser {
 					}
 					} 
 				}
-				setState(1426);
+				setState(1428);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,166,_ctx);
 			}
-			setState(1428);
+			setState(1430);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==COMMA) {
 				{
-				setState(1427);
+				setState(1429);
 				match(COMMA);
 				}
 			}
@@ -7473,50 +7510,50 @@ public class Python3Parser extends Parser {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(1432);
+			setState(1434);
 			_localctx.test = test();
 			 _localctx.result =  _localctx.test.result; 
-			setState(1453);
+			setState(1455);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==COMMA) {
 				{
 				 int start = start(); push(_localctx.result); 
-				setState(1435);
+				setState(1437);
 				match(COMMA);
-				setState(1450);
+				setState(1452);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << STRING) | (1L << LAMBDA) | (1L << NOT) | (1L << NONE) | (1L << TRUE) | (1L << FALSE) | (1L << AWAIT) | (1L << NAME) | (1L << DECIMAL_INTEGER) | (1L << OCT_INTEGER) | (1L << HEX_INTEGER) | (1L << BIN_INTEGER) | (1L << FLOAT_NUMBER) | (1L << IMAG_NUMBER) | (1L << ELLIPSIS) | (1L << OPEN_PAREN) | (1L << OPEN_BRACK))) != 0) || ((((_la - 64)) & ~0x3f) == 0 && ((1L << (_la - 64)) & ((1L << (ADD - 64)) | (1L << (MINUS - 64)) | (1L << (NOT_OP - 64)) | (1L << (OPEN_BRACE - 64)))) != 0)) {
 					{
-					setState(1436);
+					setState(1438);
 					_localctx.test = test();
 					 push(_localctx.test.result); 
-					setState(1444);
+					setState(1446);
 					_errHandler.sync(this);
 					_alt = getInterpreter().adaptivePredict(_input,168,_ctx);
 					while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 						if ( _alt==1 ) {
 							{
 							{
-							setState(1438);
+							setState(1440);
 							match(COMMA);
-							setState(1439);
+							setState(1441);
 							_localctx.test = test();
 							 push(_localctx.test.result); 
 							}
 							} 
 						}
-						setState(1446);
+						setState(1448);
 						_errHandler.sync(this);
 						_alt = getInterpreter().adaptivePredict(_input,168,_ctx);
 					}
-					setState(1448);
+					setState(1450);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 					if (_la==COMMA) {
 						{
-						setState(1447);
+						setState(1449);
 						match(COMMA);
 						}
 					}
@@ -7586,7 +7623,7 @@ public class Python3Parser extends Parser {
 		int _la;
 		try {
 			int _alt;
-			setState(1505);
+			setState(1507);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,177,_ctx) ) {
 			case 1:
@@ -7600,7 +7637,7 @@ public class Python3Parser extends Parser {
 				                generator.setHasAnnotations(true);
 				                
 				            
-				setState(1465);
+				setState(1467);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case STRING:
@@ -7625,20 +7662,20 @@ public class Python3Parser extends Parser {
 				case NOT_OP:
 				case OPEN_BRACE:
 					{
-					setState(1456);
+					setState(1458);
 					_localctx.n = test();
-					setState(1457);
+					setState(1459);
 					match(COLON);
-					setState(1458);
+					setState(1460);
 					_localctx.v = test();
 					 name = _localctx.n.result; value = _localctx.v.result; 
 					}
 					break;
 				case POWER:
 					{
-					setState(1461);
+					setState(1463);
 					match(POWER);
-					setState(1462);
+					setState(1464);
 					_localctx.expr = expr();
 					 name = null; value = _localctx.expr.result; 
 					}
@@ -7646,7 +7683,7 @@ public class Python3Parser extends Parser {
 				default:
 					throw new NoViableAltException(this);
 				}
-				setState(1467);
+				setState(1469);
 				_localctx.comp_for = comp_for(value, name, PythonBuiltinClassType.PDict, 0);
 				 
 				                _localctx.result =  _localctx.comp_for.result;
@@ -7663,7 +7700,7 @@ public class Python3Parser extends Parser {
 				                SSTNode value; 
 				                SSTNode name;
 				            
-				setState(1480);
+				setState(1482);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case STRING:
@@ -7688,20 +7725,20 @@ public class Python3Parser extends Parser {
 				case NOT_OP:
 				case OPEN_BRACE:
 					{
-					setState(1471);
+					setState(1473);
 					_localctx.n = test();
-					setState(1472);
+					setState(1474);
 					match(COLON);
-					setState(1473);
+					setState(1475);
 					_localctx.v = test();
 					 name = _localctx.n.result; value = _localctx.v.result; 
 					}
 					break;
 				case POWER:
 					{
-					setState(1476);
+					setState(1478);
 					match(POWER);
-					setState(1477);
+					setState(1479);
 					_localctx.expr = expr();
 					 name = null; value = _localctx.expr.result; 
 					}
@@ -7710,16 +7747,16 @@ public class Python3Parser extends Parser {
 					throw new NoViableAltException(this);
 				}
 				 int start = start(); push(name); push(value); 
-				setState(1497);
+				setState(1499);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,175,_ctx);
 				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 					if ( _alt==1 ) {
 						{
 						{
-						setState(1483);
+						setState(1485);
 						match(COMMA);
-						setState(1493);
+						setState(1495);
 						_errHandler.sync(this);
 						switch (_input.LA(1)) {
 						case STRING:
@@ -7744,20 +7781,20 @@ public class Python3Parser extends Parser {
 						case NOT_OP:
 						case OPEN_BRACE:
 							{
-							setState(1484);
+							setState(1486);
 							_localctx.n = test();
-							setState(1485);
+							setState(1487);
 							match(COLON);
-							setState(1486);
+							setState(1488);
 							_localctx.v = test();
 							 push(_localctx.n.result); push(_localctx.v.result); 
 							}
 							break;
 						case POWER:
 							{
-							setState(1489);
+							setState(1491);
 							match(POWER);
-							setState(1490);
+							setState(1492);
 							_localctx.expr = expr();
 							 push(null); push(_localctx.expr.result); 
 							}
@@ -7768,16 +7805,16 @@ public class Python3Parser extends Parser {
 						}
 						} 
 					}
-					setState(1499);
+					setState(1501);
 					_errHandler.sync(this);
 					_alt = getInterpreter().adaptivePredict(_input,175,_ctx);
 				}
-				setState(1501);
+				setState(1503);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if (_la==COMMA) {
 					{
-					setState(1500);
+					setState(1502);
 					match(COMMA);
 					}
 				}
@@ -7840,7 +7877,7 @@ public class Python3Parser extends Parser {
 		int _la;
 		try {
 			int _alt;
-			setState(1550);
+			setState(1552);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,183,_ctx) ) {
 			case 1:
@@ -7859,7 +7896,7 @@ public class Python3Parser extends Parser {
 				                ScopeInfo generator = scopeEnvironment.pushScope(ScopeEnvironment.GENEXPR_NAME, scopeKind);
 				                generator.setHasAnnotations(true);
 				            
-				setState(1514);
+				setState(1516);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case STRING:
@@ -7884,14 +7921,14 @@ public class Python3Parser extends Parser {
 				case NOT_OP:
 				case OPEN_BRACE:
 					{
-					setState(1508);
+					setState(1510);
 					_localctx.test = test();
 					 value = _localctx.test.result; 
 					}
 					break;
 				case STAR:
 					{
-					setState(1511);
+					setState(1513);
 					_localctx.star_expr = star_expr();
 					 value = _localctx.star_expr.result; 
 					}
@@ -7899,7 +7936,7 @@ public class Python3Parser extends Parser {
 				default:
 					throw new NoViableAltException(this);
 				}
-				setState(1516);
+				setState(1518);
 				_localctx.comp_for = comp_for(value, null, _localctx.compType, 0);
 				 
 				                _localctx.result =  _localctx.comp_for.result; 
@@ -7913,7 +7950,7 @@ public class Python3Parser extends Parser {
 				{
 				{
 				 SSTNode value; 
-				setState(1526);
+				setState(1528);
 				_errHandler.sync(this);
 				switch (_input.LA(1)) {
 				case STRING:
@@ -7938,14 +7975,14 @@ public class Python3Parser extends Parser {
 				case NOT_OP:
 				case OPEN_BRACE:
 					{
-					setState(1520);
+					setState(1522);
 					_localctx.test = test();
 					 value = _localctx.test.result; 
 					}
 					break;
 				case STAR:
 					{
-					setState(1523);
+					setState(1525);
 					_localctx.star_expr = star_expr();
 					 value = _localctx.star_expr.result; 
 					}
@@ -7954,16 +7991,16 @@ public class Python3Parser extends Parser {
 					throw new NoViableAltException(this);
 				}
 				 int start = start(); push(value); 
-				setState(1540);
+				setState(1542);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,181,_ctx);
 				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 					if ( _alt==1 ) {
 						{
 						{
-						setState(1529);
+						setState(1531);
 						match(COMMA);
-						setState(1536);
+						setState(1538);
 						_errHandler.sync(this);
 						switch (_input.LA(1)) {
 						case STRING:
@@ -7988,14 +8025,14 @@ public class Python3Parser extends Parser {
 						case NOT_OP:
 						case OPEN_BRACE:
 							{
-							setState(1530);
+							setState(1532);
 							_localctx.test = test();
 							 push(_localctx.test.result); 
 							}
 							break;
 						case STAR:
 							{
-							setState(1533);
+							setState(1535);
 							_localctx.star_expr = star_expr();
 							 push(_localctx.star_expr.result); 
 							}
@@ -8006,17 +8043,17 @@ public class Python3Parser extends Parser {
 						}
 						} 
 					}
-					setState(1542);
+					setState(1544);
 					_errHandler.sync(this);
 					_alt = getInterpreter().adaptivePredict(_input,181,_ctx);
 				}
 				 boolean comma = false; 
-				setState(1546);
+				setState(1548);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if (_la==COMMA) {
 					{
-					setState(1544);
+					setState(1546);
 					match(COMMA);
 					 comma = true; 
 					}
@@ -8075,21 +8112,21 @@ public class Python3Parser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(1552);
+			setState(1554);
 			match(CLASS);
-			setState(1553);
+			setState(1555);
 			_localctx.NAME = match(NAME);
 			 ArgListBuilder baseClasses = null; 
-			setState(1560);
+			setState(1562);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==OPEN_PAREN) {
 				{
-				setState(1555);
+				setState(1557);
 				match(OPEN_PAREN);
-				setState(1556);
+				setState(1558);
 				_localctx.arglist = arglist();
-				setState(1557);
+				setState(1559);
 				match(CLOSE_PAREN);
 				 baseClasses = _localctx.arglist.result; 
 				}
@@ -8101,9 +8138,9 @@ public class Python3Parser extends Parser {
 			            ScopeInfo classScope = scopeEnvironment.pushScope((_localctx.NAME!=null?_localctx.NAME.getText():null), ScopeInfo.ScopeKind.Class); 
 			        
 			 LoopState savedLoopState = saveLoopState(); 
-			setState(1564);
+			setState(1566);
 			match(COLON);
-			setState(1565);
+			setState(1567);
 			_localctx.suite = suite();
 			 push(factory.createClassDefinition((_localctx.NAME!=null?_localctx.NAME.getText():null), baseClasses, _localctx.suite.result, getStartIndex(_localctx), getStopIndex((_localctx.suite!=null?(_localctx.suite.stop):null)))); 
 			 scopeEnvironment.popScope(); 
@@ -8148,37 +8185,37 @@ public class Python3Parser extends Parser {
 			enterOuterAlt(_localctx, 1);
 			{
 			 ArgListBuilder args = new ArgListBuilder(); 
-			setState(1582);
+			setState(1584);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << STRING) | (1L << LAMBDA) | (1L << NOT) | (1L << NONE) | (1L << TRUE) | (1L << FALSE) | (1L << AWAIT) | (1L << NAME) | (1L << DECIMAL_INTEGER) | (1L << OCT_INTEGER) | (1L << HEX_INTEGER) | (1L << BIN_INTEGER) | (1L << FLOAT_NUMBER) | (1L << IMAG_NUMBER) | (1L << ELLIPSIS) | (1L << STAR) | (1L << OPEN_PAREN) | (1L << POWER) | (1L << OPEN_BRACK))) != 0) || ((((_la - 64)) & ~0x3f) == 0 && ((1L << (_la - 64)) & ((1L << (ADD - 64)) | (1L << (MINUS - 64)) | (1L << (NOT_OP - 64)) | (1L << (OPEN_BRACE - 64)))) != 0)) {
 				{
-				setState(1571);
+				setState(1573);
 				argument(args);
-				setState(1576);
+				setState(1578);
 				_errHandler.sync(this);
 				_alt = getInterpreter().adaptivePredict(_input,185,_ctx);
 				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 					if ( _alt==1 ) {
 						{
 						{
-						setState(1572);
+						setState(1574);
 						match(COMMA);
-						setState(1573);
+						setState(1575);
 						argument(args);
 						}
 						} 
 					}
-					setState(1578);
+					setState(1580);
 					_errHandler.sync(this);
 					_alt = getInterpreter().adaptivePredict(_input,185,_ctx);
 				}
-				setState(1580);
+				setState(1582);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if (_la==COMMA) {
 					{
-					setState(1579);
+					setState(1581);
 					match(COMMA);
 					}
 				}
@@ -8230,7 +8267,7 @@ public class Python3Parser extends Parser {
 		ArgumentContext _localctx = new ArgumentContext(_ctx, getState(), args);
 		enterRule(_localctx, 158, RULE_argument);
 		try {
-			setState(1609);
+			setState(1611);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,188,_ctx) ) {
 			case 1:
@@ -8240,9 +8277,9 @@ public class Python3Parser extends Parser {
 				                    ScopeInfo generator = scopeEnvironment.pushScope(ScopeEnvironment.GENEXPR_NAME, ScopeInfo.ScopeKind.GenExp);
 				                    generator.setHasAnnotations(true);
 				                
-				setState(1587);
+				setState(1589);
 				_localctx.test = test();
-				setState(1588);
+				setState(1590);
 				_localctx.comp_for = comp_for(_localctx.test.result, null, PythonBuiltinClassType.PGenerator, 0);
 
 				                    args.addNakedForComp(_localctx.comp_for.result);
@@ -8260,7 +8297,7 @@ public class Python3Parser extends Parser {
 				                  // TODO this is not nice. There is done two times lookup in collection to remove name from seen variables. !!!
 				                  boolean isNameAsVariableInScope = scopeEnvironment.getCurrentScope().getSeenVars() == null ? false : scopeEnvironment.getCurrentScope().getSeenVars().contains(name);
 				                
-				setState(1592);
+				setState(1594);
 				_localctx.n = _localctx.test = test();
 
 				                    if (!((_localctx.n).result instanceof VarLookupSSTNode)) {
@@ -8270,9 +8307,9 @@ public class Python3Parser extends Parser {
 				                        scopeEnvironment.getCurrentScope().getSeenVars().remove(name);
 				                    }
 				                
-				setState(1594);
+				setState(1596);
 				match(ASSIGN);
-				setState(1595);
+				setState(1597);
 				_localctx.test = test();
 				 
 				                        if (!args.hasNameArg(name)) {
@@ -8286,7 +8323,7 @@ public class Python3Parser extends Parser {
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(1598);
+				setState(1600);
 				_localctx.test = test();
 				  
 				                        if (args.hasNameArg()) {
@@ -8302,9 +8339,9 @@ public class Python3Parser extends Parser {
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(1601);
+				setState(1603);
 				match(POWER);
-				setState(1602);
+				setState(1604);
 				_localctx.test = test();
 				 args.addKwArg(_localctx.test.result); 
 				}
@@ -8312,9 +8349,9 @@ public class Python3Parser extends Parser {
 			case 5:
 				enterOuterAlt(_localctx, 5);
 				{
-				setState(1605);
+				setState(1607);
 				match(STAR);
-				setState(1606);
+				setState(1608);
 				_localctx.test = test();
 				 
 				                        if (args.hasKwArg()) {
@@ -8395,12 +8432,12 @@ public class Python3Parser extends Parser {
 			            boolean scopeCreated = true; 
 			            boolean async = false; 
 			        
-			setState(1614);
+			setState(1616);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==ASYNC) {
 				{
-				setState(1612);
+				setState(1614);
 				match(ASYNC);
 				 async = true; 
 				}
@@ -8411,11 +8448,11 @@ public class Python3Parser extends Parser {
 			            SSTNode[] variables;
 			            int lineNumber;
 			        
-			setState(1617);
+			setState(1619);
 			_localctx.f = match(FOR);
-			setState(1618);
+			setState(1620);
 			_localctx.exprlist = exprlist();
-			setState(1619);
+			setState(1621);
 			match(IN);
 
 			                ScopeInfo currentScope = null;
@@ -8424,7 +8461,7 @@ public class Python3Parser extends Parser {
 			                    factory.getScopeEnvironment().setCurrentScope(currentScope.getParent());
 			                }
 			            
-			setState(1621);
+			setState(1623);
 			_localctx.or_test = or_test();
 			   
 			            if (level == 0) {
@@ -8435,30 +8472,30 @@ public class Python3Parser extends Parser {
 			            variables = _localctx.exprlist.result;
 			        
 			 int start = start(); 
-			setState(1630);
+			setState(1632);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==IF) {
 				{
 				{
-				setState(1624);
+				setState(1626);
 				match(IF);
-				setState(1625);
+				setState(1627);
 				_localctx.test_nocond = test_nocond();
 				 push(_localctx.test_nocond.result); 
 				}
 				}
-				setState(1632);
+				setState(1634);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
 			 SSTNode[] conditions = getArray(start, SSTNode[].class); 
-			setState(1637);
+			setState(1639);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==FOR || _la==ASYNC) {
 				{
-				setState(1634);
+				setState(1636);
 				_localctx.comp_for = comp_for(iterator, null, PythonBuiltinClassType.PGenerator, level + 1);
 				 
 				                iterator = _localctx.comp_for.result; 
@@ -8494,7 +8531,7 @@ public class Python3Parser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(1641);
+			setState(1643);
 			match(NAME);
 			}
 		}
@@ -8537,16 +8574,16 @@ public class Python3Parser extends Parser {
 			        SSTNode value = null;
 			        boolean isFrom = false; 
 			    
-			setState(1644);
+			setState(1646);
 			match(YIELD);
-			setState(1652);
+			setState(1654);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case FROM:
 				{
-				setState(1645);
+				setState(1647);
 				match(FROM);
-				setState(1646);
+				setState(1648);
 				_localctx.test = test();
 				value = _localctx.test.result; isFrom = true;
 				}
@@ -8574,7 +8611,7 @@ public class Python3Parser extends Parser {
 			case NOT_OP:
 			case OPEN_BRACE:
 				{
-				setState(1649);
+				setState(1651);
 				_localctx.testlist_star_expr = testlist_star_expr();
 				 value = _localctx.testlist_star_expr.result; 
 				}
@@ -8602,7 +8639,7 @@ public class Python3Parser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3i\u067b\4\2\t\2\4"+
+		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3i\u067d\4\2\t\2\4"+
 		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
 		"\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
 		"\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4\31\t\31"+
@@ -8693,31 +8730,31 @@ public class Python3Parser extends Parser {
 		"D\3D\3D\3D\7D\u04d8\nD\fD\16D\u04db\13D\3E\3E\3E\3E\3E\3E\3E\5E\u04e4"+
 		"\nE\3E\3E\3E\3E\3E\3E\5E\u04ec\nE\3F\3F\3F\3F\3F\3F\5F\u04f4\nF\3G\5G"+
 		"\u04f7\nG\3G\3G\3G\3G\3G\3G\3G\3G\3G\3G\3G\3G\3G\3G\3G\7G\u0508\nG\fG"+
-		"\16G\u050b\13G\3H\3H\3H\3H\3H\3H\3H\3H\5H\u0515\nH\3H\3H\3H\3H\3H\3H\3"+
-		"H\5H\u051e\nH\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\5H\u052a\nH\3H\3H\3H\3H\3"+
-		"H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\6H\u053f\nH\rH\16H\u0540\3"+
-		"H\3H\3H\3H\3H\3H\3H\3H\3H\5H\u054c\nH\3I\3I\3I\3I\3I\3I\3I\3I\3I\3I\7"+
-		"I\u0558\nI\fI\16I\u055b\13I\3I\5I\u055e\nI\5I\u0560\nI\3I\5I\u0563\nI"+
-		"\3J\3J\3J\3J\3J\3J\3J\5J\u056c\nJ\3J\3J\3J\3J\5J\u0572\nJ\3J\3J\3J\3J"+
-		"\5J\u0578\nJ\5J\u057a\nJ\3J\5J\u057d\nJ\3K\3K\3K\3K\3K\3K\3K\5K\u0586"+
-		"\nK\3K\3K\3K\3K\3K\3K\3K\5K\u058f\nK\7K\u0591\nK\fK\16K\u0594\13K\3K\5"+
-		"K\u0597\nK\3K\3K\3L\3L\3L\3L\3L\3L\3L\3L\3L\3L\7L\u05a5\nL\fL\16L\u05a8"+
-		"\13L\3L\5L\u05ab\nL\5L\u05ad\nL\3L\5L\u05b0\nL\3M\3M\3M\3M\3M\3M\3M\3"+
-		"M\3M\3M\5M\u05bc\nM\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\5M\u05cb\n"+
-		"M\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\5M\u05d8\nM\7M\u05da\nM\fM\16M\u05dd"+
-		"\13M\3M\5M\u05e0\nM\3M\3M\5M\u05e4\nM\3N\3N\3N\3N\3N\3N\3N\5N\u05ed\n"+
-		"N\3N\3N\3N\3N\3N\3N\3N\3N\3N\3N\5N\u05f9\nN\3N\3N\3N\3N\3N\3N\3N\3N\5"+
-		"N\u0603\nN\7N\u0605\nN\fN\16N\u0608\13N\3N\3N\3N\5N\u060d\nN\3N\3N\5N"+
-		"\u0611\nN\3O\3O\3O\3O\3O\3O\3O\3O\5O\u061b\nO\3O\3O\3O\3O\3O\3O\3O\3O"+
-		"\3P\3P\3P\3P\7P\u0629\nP\fP\16P\u062c\13P\3P\5P\u062f\nP\5P\u0631\nP\3"+
+		"\16G\u050b\13G\3G\3G\3H\3H\3H\3H\3H\3H\3H\3H\5H\u0517\nH\3H\3H\3H\3H\3"+
+		"H\3H\3H\5H\u0520\nH\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\5H\u052c\nH\3H\3H\3"+
+		"H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\3H\6H\u0541\nH\rH\16H\u0542"+
+		"\3H\3H\3H\3H\3H\3H\3H\3H\3H\5H\u054e\nH\3I\3I\3I\3I\3I\3I\3I\3I\3I\3I"+
+		"\7I\u055a\nI\fI\16I\u055d\13I\3I\5I\u0560\nI\5I\u0562\nI\3I\5I\u0565\n"+
+		"I\3J\3J\3J\3J\3J\3J\3J\5J\u056e\nJ\3J\3J\3J\3J\5J\u0574\nJ\3J\3J\3J\3"+
+		"J\5J\u057a\nJ\5J\u057c\nJ\3J\5J\u057f\nJ\3K\3K\3K\3K\3K\3K\3K\5K\u0588"+
+		"\nK\3K\3K\3K\3K\3K\3K\3K\5K\u0591\nK\7K\u0593\nK\fK\16K\u0596\13K\3K\5"+
+		"K\u0599\nK\3K\3K\3L\3L\3L\3L\3L\3L\3L\3L\3L\3L\7L\u05a7\nL\fL\16L\u05aa"+
+		"\13L\3L\5L\u05ad\nL\5L\u05af\nL\3L\5L\u05b2\nL\3M\3M\3M\3M\3M\3M\3M\3"+
+		"M\3M\3M\5M\u05be\nM\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\5M\u05cd\n"+
+		"M\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\3M\5M\u05da\nM\7M\u05dc\nM\fM\16M\u05df"+
+		"\13M\3M\5M\u05e2\nM\3M\3M\5M\u05e6\nM\3N\3N\3N\3N\3N\3N\3N\5N\u05ef\n"+
+		"N\3N\3N\3N\3N\3N\3N\3N\3N\3N\3N\5N\u05fb\nN\3N\3N\3N\3N\3N\3N\3N\3N\5"+
+		"N\u0605\nN\7N\u0607\nN\fN\16N\u060a\13N\3N\3N\3N\5N\u060f\nN\3N\3N\5N"+
+		"\u0613\nN\3O\3O\3O\3O\3O\3O\3O\3O\5O\u061d\nO\3O\3O\3O\3O\3O\3O\3O\3O"+
+		"\3P\3P\3P\3P\7P\u062b\nP\fP\16P\u062e\13P\3P\5P\u0631\nP\5P\u0633\nP\3"+
 		"P\3P\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3Q\3"+
-		"Q\3Q\5Q\u064c\nQ\3R\3R\3R\5R\u0651\nR\3R\3R\3R\3R\3R\3R\3R\3R\3R\3R\3"+
-		"R\3R\7R\u065f\nR\fR\16R\u0662\13R\3R\3R\3R\3R\5R\u0668\nR\3R\3R\3S\3S"+
-		"\3T\3T\3T\3T\3T\3T\3T\3T\3T\5T\u0677\nT\3T\3T\3T\2\2U\2\4\6\b\n\f\16\20"+
+		"Q\3Q\5Q\u064e\nQ\3R\3R\3R\5R\u0653\nR\3R\3R\3R\3R\3R\3R\3R\3R\3R\3R\3"+
+		"R\3R\7R\u0661\nR\fR\16R\u0664\13R\3R\3R\3R\3R\5R\u066a\nR\3R\3R\3S\3S"+
+		"\3T\3T\3T\3T\3T\3T\3T\3T\3T\5T\u0679\nT\3T\3T\3T\2\2U\2\4\6\b\n\f\16\20"+
 		"\22\24\26\30\32\34\36 \"$&(*,.\60\62\64\668:<>@BDFHJLNPRTVXZ\\^`bdfhj"+
 		"lnprtvxz|~\u0080\u0082\u0084\u0086\u0088\u008a\u008c\u008e\u0090\u0092"+
 		"\u0094\u0096\u0098\u009a\u009c\u009e\u00a0\u00a2\u00a4\u00a6\2\3\3\2S"+
-		"_\2\u0727\2\u00a8\3\2\2\2\4\u00bd\3\2\2\2\6\u00ce\3\2\2\2\b\u00df\3\2"+
+		"_\2\u0729\2\u00a8\3\2\2\2\4\u00bd\3\2\2\2\6\u00ce\3\2\2\2\b\u00df\3\2"+
 		"\2\2\n\u00ee\3\2\2\2\f\u00fb\3\2\2\2\16\u0103\3\2\2\2\20\u010c\3\2\2\2"+
 		"\22\u010f\3\2\2\2\24\u011b\3\2\2\2\26\u018a\3\2\2\2\30\u018e\3\2\2\2\32"+
 		"\u019e\3\2\2\2\34\u01ac\3\2\2\2\36\u01b7\3\2\2\2 \u0224\3\2\2\2\"\u022e"+
@@ -8733,10 +8770,10 @@ public class Python3Parser extends Parser {
 		"\u0455\3\2\2\2x\u047c\3\2\2\2z\u047e\3\2\2\2|\u0482\3\2\2\2~\u048d\3\2"+
 		"\2\2\u0080\u0498\3\2\2\2\u0082\u04a3\3\2\2\2\u0084\u04b4\3\2\2\2\u0086"+
 		"\u04c5\3\2\2\2\u0088\u04eb\3\2\2\2\u008a\u04ed\3\2\2\2\u008c\u04f6\3\2"+
-		"\2\2\u008e\u054b\3\2\2\2\u0090\u054d\3\2\2\2\u0092\u057c\3\2\2\2\u0094"+
-		"\u057e\3\2\2\2\u0096\u059a\3\2\2\2\u0098\u05e3\3\2\2\2\u009a\u0610\3\2"+
-		"\2\2\u009c\u0612\3\2\2\2\u009e\u0624\3\2\2\2\u00a0\u064b\3\2\2\2\u00a2"+
-		"\u064d\3\2\2\2\u00a4\u066b\3\2\2\2\u00a6\u066d\3\2\2\2\u00a8\u00a9\b\2"+
+		"\2\2\u008e\u054d\3\2\2\2\u0090\u054f\3\2\2\2\u0092\u057e\3\2\2\2\u0094"+
+		"\u0580\3\2\2\2\u0096\u059c\3\2\2\2\u0098\u05e5\3\2\2\2\u009a\u0612\3\2"+
+		"\2\2\u009c\u0614\3\2\2\2\u009e\u0626\3\2\2\2\u00a0\u064d\3\2\2\2\u00a2"+
+		"\u064f\3\2\2\2\u00a4\u066d\3\2\2\2\u00a6\u066f\3\2\2\2\u00a8\u00a9\b\2"+
 		"\1\2\u00a9\u00aa\b\2\1\2\u00aa\u00ac\b\2\1\2\u00ab\u00ad\7c\2\2\u00ac"+
 		"\u00ab\3\2\2\2\u00ac\u00ad\3\2\2\2\u00ad\u00b1\3\2\2\2\u00ae\u00b2\7\'"+
 		"\2\2\u00af\u00b2\5(\25\2\u00b0\u00b2\5R*\2\u00b1\u00ae\3\2\2\2\u00b1\u00af"+
@@ -9105,144 +9142,144 @@ public class Python3Parser extends Parser {
 		"\u0501\u0502\7<\2\2\u0502\u0503\bG\1\2\u0503\u0508\3\2\2\2\u0504\u0505"+
 		"\7\61\2\2\u0505\u0506\7(\2\2\u0506\u0508\bG\1\2\u0507\u04fa\3\2\2\2\u0507"+
 		"\u04ff\3\2\2\2\u0507\u0504\3\2\2\2\u0508\u050b\3\2\2\2\u0509\u0507\3\2"+
-		"\2\2\u0509\u050a\3\2\2\2\u050a\u008d\3\2\2\2\u050b\u0509\3\2\2\2\u050c"+
-		"\u0514\7\64\2\2\u050d\u050e\5\u00a6T\2\u050e\u050f\bH\1\2\u050f\u0515"+
-		"\3\2\2\2\u0510\u0511\5\u009aN\2\u0511\u0512\bH\1\2\u0512\u0515\3\2\2\2"+
-		"\u0513\u0515\bH\1\2\u0514\u050d\3\2\2\2\u0514\u0510\3\2\2\2\u0514\u0513"+
-		"\3\2\2\2\u0515\u0516\3\2\2\2\u0516\u0517\7\65\2\2\u0517\u054c\bH\1\2\u0518"+
-		"\u051d\7;\2\2\u0519\u051a\5\u009aN\2\u051a\u051b\bH\1\2\u051b\u051e\3"+
-		"\2\2\2\u051c\u051e\bH\1\2\u051d\u0519\3\2\2\2\u051d\u051c\3\2\2\2\u051e"+
-		"\u051f\3\2\2\2\u051f\u0520\7<\2\2\u0520\u054c\bH\1\2\u0521\u0529\7H\2"+
-		"\2\u0522\u0523\5\u0098M\2\u0523\u0524\bH\1\2\u0524\u052a\3\2\2\2\u0525"+
-		"\u0526\5\u009aN\2\u0526\u0527\bH\1\2\u0527\u052a\3\2\2\2\u0528\u052a\b"+
-		"H\1\2\u0529\u0522\3\2\2\2\u0529\u0525\3\2\2\2\u0529\u0528\3\2\2\2\u052a"+
-		"\u052b\3\2\2\2\u052b\u052c\7I\2\2\u052c\u054c\bH\1\2\u052d\u052e\7(\2"+
-		"\2\u052e\u054c\bH\1\2\u052f\u0530\7+\2\2\u0530\u054c\bH\1\2\u0531\u0532"+
-		"\7,\2\2\u0532\u054c\bH\1\2\u0533\u0534\7-\2\2\u0534\u054c\bH\1\2\u0535"+
-		"\u0536\7.\2\2\u0536\u054c\bH\1\2\u0537\u0538\7/\2\2\u0538\u054c\bH\1\2"+
-		"\u0539\u053a\7\60\2\2\u053a\u054c\bH\1\2\u053b\u053e\bH\1\2\u053c\u053d"+
-		"\7\3\2\2\u053d\u053f\bH\1\2\u053e\u053c\3\2\2\2\u053f\u0540\3\2\2\2\u0540"+
-		"\u053e\3\2\2\2\u0540\u0541\3\2\2\2\u0541\u0542\3\2\2\2\u0542\u054c\bH"+
-		"\1\2\u0543\u0544\7\62\2\2\u0544\u054c\bH\1\2\u0545\u0546\7\34\2\2\u0546"+
-		"\u054c\bH\1\2\u0547\u0548\7\35\2\2\u0548\u054c\bH\1\2\u0549\u054a\7\36"+
-		"\2\2\u054a\u054c\bH\1\2\u054b\u050c\3\2\2\2\u054b\u0518\3\2\2\2\u054b"+
-		"\u0521\3\2\2\2\u054b\u052d\3\2\2\2\u054b\u052f\3\2\2\2\u054b\u0531\3\2"+
-		"\2\2\u054b\u0533\3\2\2\2\u054b\u0535\3\2\2\2\u054b\u0537\3\2\2\2\u054b"+
-		"\u0539\3\2\2\2\u054b\u053b\3\2\2\2\u054b\u0543\3\2\2\2\u054b\u0545\3\2"+
-		"\2\2\u054b\u0547\3\2\2\2\u054b\u0549\3\2\2\2\u054c\u008f\3\2\2\2\u054d"+
-		"\u054e\5\u0092J\2\u054e\u0562\bI\1\2\u054f\u0550\bI\1\2\u0550\u055f\7"+
-		"\66\2\2\u0551\u0552\5\u0092J\2\u0552\u0559\bI\1\2\u0553\u0554\7\66\2\2"+
-		"\u0554\u0555\5\u0092J\2\u0555\u0556\bI\1\2\u0556\u0558\3\2\2\2\u0557\u0553"+
-		"\3\2\2\2\u0558\u055b\3\2\2\2\u0559\u0557\3\2\2\2\u0559\u055a\3\2\2\2\u055a"+
-		"\u055d\3\2\2\2\u055b\u0559\3\2\2\2\u055c\u055e\7\66\2\2\u055d\u055c\3"+
-		"\2\2\2\u055d\u055e\3\2\2\2\u055e\u0560\3\2\2\2\u055f\u0551\3\2\2\2\u055f"+
-		"\u0560\3\2\2\2\u0560\u0561\3\2\2\2\u0561\u0563\bI\1\2\u0562\u054f\3\2"+
-		"\2\2\u0562\u0563\3\2\2\2\u0563\u0091\3\2\2\2\u0564\u0565\5h\65\2\u0565"+
-		"\u0566\bJ\1\2\u0566\u057d\3\2\2\2\u0567\u056b\bJ\1\2\u0568\u0569\5h\65"+
-		"\2\u0569\u056a\bJ\1\2\u056a\u056c\3\2\2\2\u056b\u0568\3\2\2\2\u056b\u056c"+
-		"\3\2\2\2\u056c\u056d\3\2\2\2\u056d\u0571\7\67\2\2\u056e\u056f\5h\65\2"+
-		"\u056f\u0570\bJ\1\2\u0570\u0572\3\2\2\2\u0571\u056e\3\2\2\2\u0571\u0572"+
-		"\3\2\2\2\u0572\u0579\3\2\2\2\u0573\u0577\7\67\2\2\u0574\u0575\5h\65\2"+
-		"\u0575\u0576\bJ\1\2\u0576\u0578\3\2\2\2\u0577\u0574\3\2\2\2\u0577\u0578"+
-		"\3\2\2\2\u0578\u057a\3\2\2\2\u0579\u0573\3\2\2\2\u0579\u057a\3\2\2\2\u057a"+
-		"\u057b\3\2\2\2\u057b\u057d\bJ\1\2\u057c\u0564\3\2\2\2\u057c\u0567\3\2"+
-		"\2\2\u057d\u0093\3\2\2\2\u057e\u0585\bK\1\2\u057f\u0580\5|?\2\u0580\u0581"+
-		"\bK\1\2\u0581\u0586\3\2\2\2\u0582\u0583\5z>\2\u0583\u0584\bK\1\2\u0584"+
-		"\u0586\3\2\2\2\u0585\u057f\3\2\2\2\u0585\u0582\3\2\2\2\u0586\u0592\3\2"+
-		"\2\2\u0587\u058e\7\66\2\2\u0588\u0589\5|?\2\u0589\u058a\bK\1\2\u058a\u058f"+
-		"\3\2\2\2\u058b\u058c\5z>\2\u058c\u058d\bK\1\2\u058d\u058f\3\2\2\2\u058e"+
-		"\u0588\3\2\2\2\u058e\u058b\3\2\2\2\u058f\u0591\3\2\2\2\u0590\u0587\3\2"+
-		"\2\2\u0591\u0594\3\2\2\2\u0592\u0590\3\2\2\2\u0592\u0593\3\2\2\2\u0593"+
-		"\u0596\3\2\2\2\u0594\u0592\3\2\2\2\u0595\u0597\7\66\2\2\u0596\u0595\3"+
-		"\2\2\2\u0596\u0597\3\2\2\2\u0597\u0598\3\2\2\2\u0598\u0599\bK\1\2\u0599"+
-		"\u0095\3\2\2\2\u059a\u059b\5h\65\2\u059b\u05af\bL\1\2\u059c\u059d\bL\1"+
-		"\2\u059d\u05ac\7\66\2\2\u059e\u059f\5h\65\2\u059f\u05a6\bL\1\2\u05a0\u05a1"+
-		"\7\66\2\2\u05a1\u05a2\5h\65\2\u05a2\u05a3\bL\1\2\u05a3\u05a5\3\2\2\2\u05a4"+
-		"\u05a0\3\2\2\2\u05a5\u05a8\3\2\2\2\u05a6\u05a4\3\2\2\2\u05a6\u05a7\3\2"+
-		"\2\2\u05a7\u05aa\3\2\2\2\u05a8\u05a6\3\2\2\2\u05a9\u05ab\7\66\2\2\u05aa"+
-		"\u05a9\3\2\2\2\u05aa\u05ab\3\2\2\2\u05ab\u05ad\3\2\2\2\u05ac\u059e\3\2"+
-		"\2\2\u05ac\u05ad\3\2\2\2\u05ad\u05ae\3\2\2\2\u05ae\u05b0\bL\1\2\u05af"+
-		"\u059c\3\2\2\2\u05af\u05b0\3\2\2\2\u05b0\u0097\3\2\2\2\u05b1\u05bb\bM"+
-		"\1\2\u05b2\u05b3\5h\65\2\u05b3\u05b4\7\67\2\2\u05b4\u05b5\5h\65\2\u05b5"+
-		"\u05b6\bM\1\2\u05b6\u05bc\3\2\2\2\u05b7\u05b8\79\2\2\u05b8\u05b9\5|?\2"+
-		"\u05b9\u05ba\bM\1\2\u05ba\u05bc\3\2\2\2\u05bb\u05b2\3\2\2\2\u05bb\u05b7"+
-		"\3\2\2\2\u05bc\u05bd\3\2\2\2\u05bd\u05be\5\u00a2R\2\u05be\u05bf\bM\1\2"+
-		"\u05bf\u05e4\3\2\2\2\u05c0\u05ca\bM\1\2\u05c1\u05c2\5h\65\2\u05c2\u05c3"+
-		"\7\67\2\2\u05c3\u05c4\5h\65\2\u05c4\u05c5\bM\1\2\u05c5\u05cb\3\2\2\2\u05c6"+
-		"\u05c7\79\2\2\u05c7\u05c8\5|?\2\u05c8\u05c9\bM\1\2\u05c9\u05cb\3\2\2\2"+
-		"\u05ca\u05c1\3\2\2\2\u05ca\u05c6\3\2\2\2\u05cb\u05cc\3\2\2\2\u05cc\u05db"+
-		"\bM\1\2\u05cd\u05d7\7\66\2\2\u05ce\u05cf\5h\65\2\u05cf\u05d0\7\67\2\2"+
-		"\u05d0\u05d1\5h\65\2\u05d1\u05d2\bM\1\2\u05d2\u05d8\3\2\2\2\u05d3\u05d4"+
-		"\79\2\2\u05d4\u05d5\5|?\2\u05d5\u05d6\bM\1\2\u05d6\u05d8\3\2\2\2\u05d7"+
-		"\u05ce\3\2\2\2\u05d7\u05d3\3\2\2\2\u05d8\u05da\3\2\2\2\u05d9\u05cd\3\2"+
-		"\2\2\u05da\u05dd\3\2\2\2\u05db\u05d9\3\2\2\2\u05db\u05dc\3\2\2\2\u05dc"+
-		"\u05df\3\2\2\2\u05dd\u05db\3\2\2\2\u05de\u05e0\7\66\2\2\u05df\u05de\3"+
-		"\2\2\2\u05df\u05e0\3\2\2\2\u05e0\u05e1\3\2\2\2\u05e1\u05e2\bM\1\2\u05e2"+
-		"\u05e4\3\2\2\2\u05e3\u05b1\3\2\2\2\u05e3\u05c0\3\2\2\2\u05e4\u0099\3\2"+
-		"\2\2\u05e5\u05ec\bN\1\2\u05e6\u05e7\5h\65\2\u05e7\u05e8\bN\1\2\u05e8\u05ed"+
-		"\3\2\2\2\u05e9\u05ea\5z>\2\u05ea\u05eb\bN\1\2\u05eb\u05ed\3\2\2\2\u05ec"+
-		"\u05e6\3\2\2\2\u05ec\u05e9\3\2\2\2\u05ed\u05ee\3\2\2\2\u05ee\u05ef\5\u00a2"+
-		"R\2\u05ef\u05f0\bN\1\2\u05f0\u0611\3\2\2\2\u05f1\u05f8\bN\1\2\u05f2\u05f3"+
-		"\5h\65\2\u05f3\u05f4\bN\1\2\u05f4\u05f9\3\2\2\2\u05f5\u05f6\5z>\2\u05f6"+
-		"\u05f7\bN\1\2\u05f7\u05f9\3\2\2\2\u05f8\u05f2\3\2\2\2\u05f8\u05f5\3\2"+
-		"\2\2\u05f9\u05fa\3\2\2\2\u05fa\u0606\bN\1\2\u05fb\u0602\7\66\2\2\u05fc"+
-		"\u05fd\5h\65\2\u05fd\u05fe\bN\1\2\u05fe\u0603\3\2\2\2\u05ff\u0600\5z>"+
-		"\2\u0600\u0601\bN\1\2\u0601\u0603\3\2\2\2\u0602\u05fc\3\2\2\2\u0602\u05ff"+
-		"\3\2\2\2\u0603\u0605\3\2\2\2\u0604\u05fb\3\2\2\2\u0605\u0608\3\2\2\2\u0606"+
-		"\u0604\3\2\2\2\u0606\u0607\3\2\2\2\u0607\u0609\3\2\2\2\u0608\u0606\3\2"+
-		"\2\2\u0609\u060c\bN\1\2\u060a\u060b\7\66\2\2\u060b\u060d\bN\1\2\u060c"+
-		"\u060a\3\2\2\2\u060c\u060d\3\2\2\2\u060d\u060e\3\2\2\2\u060e\u060f\bN"+
-		"\1\2\u060f\u0611\3\2\2\2\u0610\u05e5\3\2\2\2\u0610\u05f1\3\2\2\2\u0611"+
-		"\u009b\3\2\2\2\u0612\u0613\7\37\2\2\u0613\u0614\7(\2\2\u0614\u061a\bO"+
-		"\1\2\u0615\u0616\7\64\2\2\u0616\u0617\5\u009eP\2\u0617\u0618\7\65\2\2"+
-		"\u0618\u0619\bO\1\2\u0619\u061b\3\2\2\2\u061a\u0615\3\2\2\2\u061a\u061b"+
-		"\3\2\2\2\u061b\u061c\3\2\2\2\u061c\u061d\bO\1\2\u061d\u061e\bO\1\2\u061e"+
-		"\u061f\7\67\2\2\u061f\u0620\5f\64\2\u0620\u0621\bO\1\2\u0621\u0622\bO"+
-		"\1\2\u0622\u0623\bO\1\2\u0623\u009d\3\2\2\2\u0624\u0630\bP\1\2\u0625\u062a"+
-		"\5\u00a0Q\2\u0626\u0627\7\66\2\2\u0627\u0629\5\u00a0Q\2\u0628\u0626\3"+
-		"\2\2\2\u0629\u062c\3\2\2\2\u062a\u0628\3\2\2\2\u062a\u062b\3\2\2\2\u062b"+
-		"\u062e\3\2\2\2\u062c\u062a\3\2\2\2\u062d\u062f\7\66\2\2\u062e\u062d\3"+
-		"\2\2\2\u062e\u062f\3\2\2\2\u062f\u0631\3\2\2\2\u0630\u0625\3\2\2\2\u0630"+
-		"\u0631\3\2\2\2\u0631\u0632\3\2\2\2\u0632\u0633\bP\1\2\u0633\u009f\3\2"+
-		"\2\2\u0634\u0635\bQ\1\2\u0635\u0636\5h\65\2\u0636\u0637\5\u00a2R\2\u0637"+
-		"\u0638\bQ\1\2\u0638\u064c\3\2\2\2\u0639\u063a\bQ\1\2\u063a\u063b\5h\65"+
-		"\2\u063b\u063c\bQ\1\2\u063c\u063d\7:\2\2\u063d\u063e\5h\65\2\u063e\u063f"+
-		"\bQ\1\2\u063f\u064c\3\2\2\2\u0640\u0641\5h\65\2\u0641\u0642\bQ\1\2\u0642"+
-		"\u064c\3\2\2\2\u0643\u0644\79\2\2\u0644\u0645\5h\65\2\u0645\u0646\bQ\1"+
-		"\2\u0646\u064c\3\2\2\2\u0647\u0648\7\63\2\2\u0648\u0649\5h\65\2\u0649"+
-		"\u064a\bQ\1\2\u064a\u064c\3\2\2\2\u064b\u0634\3\2\2\2\u064b\u0639\3\2"+
-		"\2\2\u064b\u0640\3\2\2\2\u064b\u0643\3\2\2\2\u064b\u0647\3\2\2\2\u064c"+
-		"\u00a1\3\2\2\2\u064d\u0650\bR\1\2\u064e\u064f\7%\2\2\u064f\u0651\bR\1"+
-		"\2\u0650\u064e\3\2\2\2\u0650\u0651\3\2\2\2\u0651\u0652\3\2\2\2\u0652\u0653"+
-		"\bR\1\2\u0653\u0654\7\21\2\2\u0654\u0655\5\u0094K\2\u0655\u0656\7\22\2"+
-		"\2\u0656\u0657\bR\1\2\u0657\u0658\5p9\2\u0658\u0659\bR\1\2\u0659\u0660"+
-		"\bR\1\2\u065a\u065b\7\r\2\2\u065b\u065c\5j\66\2\u065c\u065d\bR\1\2\u065d"+
-		"\u065f\3\2\2\2\u065e\u065a\3\2\2\2\u065f\u0662\3\2\2\2\u0660\u065e\3\2"+
-		"\2\2\u0660\u0661\3\2\2\2\u0661\u0663\3\2\2\2\u0662\u0660\3\2\2\2\u0663"+
-		"\u0667\bR\1\2\u0664\u0665\5\u00a2R\2\u0665\u0666\bR\1\2\u0666\u0668\3"+
-		"\2\2\2\u0667\u0664\3\2\2\2\u0667\u0668\3\2\2\2\u0668\u0669\3\2\2\2\u0669"+
-		"\u066a\bR\1\2\u066a\u00a3\3\2\2\2\u066b\u066c\7(\2\2\u066c\u00a5\3\2\2"+
-		"\2\u066d\u066e\bT\1\2\u066e\u0676\7 \2\2\u066f\u0670\7\7\2\2\u0670\u0671"+
-		"\5h\65\2\u0671\u0672\bT\1\2\u0672\u0677\3\2\2\2\u0673\u0674\5.\30\2\u0674"+
-		"\u0675\bT\1\2\u0675\u0677\3\2\2\2\u0676\u066f\3\2\2\2\u0676\u0673\3\2"+
-		"\2\2\u0676\u0677\3\2\2\2\u0677\u0678\3\2\2\2\u0678\u0679\bT\1\2\u0679"+
-		"\u00a7\3\2\2\2\u00c3\u00ac\u00b1\u00b6\u00c1\u00c5\u00c7\u00d2\u00d6\u00d8"+
-		"\u00e1\u00e7\u00f6\u00ff\u0108\u0114\u011e\u0128\u0134\u0137\u013f\u0145"+
-		"\u0147\u0149\u014d\u014f\u0151\u0158\u0161\u0167\u0169\u016b\u016f\u0171"+
-		"\u0173\u017a\u0180\u0182\u0184\u0188\u018a\u0194\u019a\u01a6\u01a8\u01b3"+
-		"\u01bd\u01c9\u01cc\u01d4\u01da\u01dc\u01de\u01e2\u01e4\u01e6\u01ed\u01f6"+
-		"\u01fc\u01fe\u0200\u0204\u0206\u0208\u020f\u0215\u0217\u0219\u021d\u021f"+
-		"\u022a\u0232\u023c\u0243\u0247\u0254\u025e\u0269\u0277\u027b\u027f\u0287"+
-		"\u0291\u029a\u029e\u02a2\u02a4\u02a7\u02b6\u02bd\u02cc\u02ce\u02d4\u02df"+
-		"\u02e1\u02eb\u02ed\u02ef\u02fc\u0305\u0312\u0316\u0321\u0329\u0330\u033c"+
-		"\u034a\u0356\u0363\u0369\u037f\u038c\u039d\u03ab\u03b2\u03b9\u03c0\u03cb"+
-		"\u03cd\u03dd\u03e8\u03f3\u03f7\u0403\u0408\u0410\u0417\u0424\u0435\u043a"+
-		"\u0445\u044a\u0453\u045d\u0462\u047c\u048a\u0495\u04a0\u04aa\u04b1\u04bb"+
-		"\u04c2\u04d2\u04d9\u04e3\u04eb\u04f3\u04f6\u0507\u0509\u0514\u051d\u0529"+
-		"\u0540\u054b\u0559\u055d\u055f\u0562\u056b\u0571\u0577\u0579\u057c\u0585"+
-		"\u058e\u0592\u0596\u05a6\u05aa\u05ac\u05af\u05bb\u05ca\u05d7\u05db\u05df"+
-		"\u05e3\u05ec\u05f8\u0602\u0606\u060c\u0610\u061a\u062a\u062e\u0630\u064b"+
-		"\u0650\u0660\u0667\u0676";
+		"\2\2\u0509\u050a\3\2\2\2\u050a\u050c\3\2\2\2\u050b\u0509\3\2\2\2\u050c"+
+		"\u050d\bG\1\2\u050d\u008d\3\2\2\2\u050e\u0516\7\64\2\2\u050f\u0510\5\u00a6"+
+		"T\2\u0510\u0511\bH\1\2\u0511\u0517\3\2\2\2\u0512\u0513\5\u009aN\2\u0513"+
+		"\u0514\bH\1\2\u0514\u0517\3\2\2\2\u0515\u0517\bH\1\2\u0516\u050f\3\2\2"+
+		"\2\u0516\u0512\3\2\2\2\u0516\u0515\3\2\2\2\u0517\u0518\3\2\2\2\u0518\u0519"+
+		"\7\65\2\2\u0519\u054e\bH\1\2\u051a\u051f\7;\2\2\u051b\u051c\5\u009aN\2"+
+		"\u051c\u051d\bH\1\2\u051d\u0520\3\2\2\2\u051e\u0520\bH\1\2\u051f\u051b"+
+		"\3\2\2\2\u051f\u051e\3\2\2\2\u0520\u0521\3\2\2\2\u0521\u0522\7<\2\2\u0522"+
+		"\u054e\bH\1\2\u0523\u052b\7H\2\2\u0524\u0525\5\u0098M\2\u0525\u0526\b"+
+		"H\1\2\u0526\u052c\3\2\2\2\u0527\u0528\5\u009aN\2\u0528\u0529\bH\1\2\u0529"+
+		"\u052c\3\2\2\2\u052a\u052c\bH\1\2\u052b\u0524\3\2\2\2\u052b\u0527\3\2"+
+		"\2\2\u052b\u052a\3\2\2\2\u052c\u052d\3\2\2\2\u052d\u052e\7I\2\2\u052e"+
+		"\u054e\bH\1\2\u052f\u0530\7(\2\2\u0530\u054e\bH\1\2\u0531\u0532\7+\2\2"+
+		"\u0532\u054e\bH\1\2\u0533\u0534\7,\2\2\u0534\u054e\bH\1\2\u0535\u0536"+
+		"\7-\2\2\u0536\u054e\bH\1\2\u0537\u0538\7.\2\2\u0538\u054e\bH\1\2\u0539"+
+		"\u053a\7/\2\2\u053a\u054e\bH\1\2\u053b\u053c\7\60\2\2\u053c\u054e\bH\1"+
+		"\2\u053d\u0540\bH\1\2\u053e\u053f\7\3\2\2\u053f\u0541\bH\1\2\u0540\u053e"+
+		"\3\2\2\2\u0541\u0542\3\2\2\2\u0542\u0540\3\2\2\2\u0542\u0543\3\2\2\2\u0543"+
+		"\u0544\3\2\2\2\u0544\u054e\bH\1\2\u0545\u0546\7\62\2\2\u0546\u054e\bH"+
+		"\1\2\u0547\u0548\7\34\2\2\u0548\u054e\bH\1\2\u0549\u054a\7\35\2\2\u054a"+
+		"\u054e\bH\1\2\u054b\u054c\7\36\2\2\u054c\u054e\bH\1\2\u054d\u050e\3\2"+
+		"\2\2\u054d\u051a\3\2\2\2\u054d\u0523\3\2\2\2\u054d\u052f\3\2\2\2\u054d"+
+		"\u0531\3\2\2\2\u054d\u0533\3\2\2\2\u054d\u0535\3\2\2\2\u054d\u0537\3\2"+
+		"\2\2\u054d\u0539\3\2\2\2\u054d\u053b\3\2\2\2\u054d\u053d\3\2\2\2\u054d"+
+		"\u0545\3\2\2\2\u054d\u0547\3\2\2\2\u054d\u0549\3\2\2\2\u054d\u054b\3\2"+
+		"\2\2\u054e\u008f\3\2\2\2\u054f\u0550\5\u0092J\2\u0550\u0564\bI\1\2\u0551"+
+		"\u0552\bI\1\2\u0552\u0561\7\66\2\2\u0553\u0554\5\u0092J\2\u0554\u055b"+
+		"\bI\1\2\u0555\u0556\7\66\2\2\u0556\u0557\5\u0092J\2\u0557\u0558\bI\1\2"+
+		"\u0558\u055a\3\2\2\2\u0559\u0555\3\2\2\2\u055a\u055d\3\2\2\2\u055b\u0559"+
+		"\3\2\2\2\u055b\u055c\3\2\2\2\u055c\u055f\3\2\2\2\u055d\u055b\3\2\2\2\u055e"+
+		"\u0560\7\66\2\2\u055f\u055e\3\2\2\2\u055f\u0560\3\2\2\2\u0560\u0562\3"+
+		"\2\2\2\u0561\u0553\3\2\2\2\u0561\u0562\3\2\2\2\u0562\u0563\3\2\2\2\u0563"+
+		"\u0565\bI\1\2\u0564\u0551\3\2\2\2\u0564\u0565\3\2\2\2\u0565\u0091\3\2"+
+		"\2\2\u0566\u0567\5h\65\2\u0567\u0568\bJ\1\2\u0568\u057f\3\2\2\2\u0569"+
+		"\u056d\bJ\1\2\u056a\u056b\5h\65\2\u056b\u056c\bJ\1\2\u056c\u056e\3\2\2"+
+		"\2\u056d\u056a\3\2\2\2\u056d\u056e\3\2\2\2\u056e\u056f\3\2\2\2\u056f\u0573"+
+		"\7\67\2\2\u0570\u0571\5h\65\2\u0571\u0572\bJ\1\2\u0572\u0574\3\2\2\2\u0573"+
+		"\u0570\3\2\2\2\u0573\u0574\3\2\2\2\u0574\u057b\3\2\2\2\u0575\u0579\7\67"+
+		"\2\2\u0576\u0577\5h\65\2\u0577\u0578\bJ\1\2\u0578\u057a\3\2\2\2\u0579"+
+		"\u0576\3\2\2\2\u0579\u057a\3\2\2\2\u057a\u057c\3\2\2\2\u057b\u0575\3\2"+
+		"\2\2\u057b\u057c\3\2\2\2\u057c\u057d\3\2\2\2\u057d\u057f\bJ\1\2\u057e"+
+		"\u0566\3\2\2\2\u057e\u0569\3\2\2\2\u057f\u0093\3\2\2\2\u0580\u0587\bK"+
+		"\1\2\u0581\u0582\5|?\2\u0582\u0583\bK\1\2\u0583\u0588\3\2\2\2\u0584\u0585"+
+		"\5z>\2\u0585\u0586\bK\1\2\u0586\u0588\3\2\2\2\u0587\u0581\3\2\2\2\u0587"+
+		"\u0584\3\2\2\2\u0588\u0594\3\2\2\2\u0589\u0590\7\66\2\2\u058a\u058b\5"+
+		"|?\2\u058b\u058c\bK\1\2\u058c\u0591\3\2\2\2\u058d\u058e\5z>\2\u058e\u058f"+
+		"\bK\1\2\u058f\u0591\3\2\2\2\u0590\u058a\3\2\2\2\u0590\u058d\3\2\2\2\u0591"+
+		"\u0593\3\2\2\2\u0592\u0589\3\2\2\2\u0593\u0596\3\2\2\2\u0594\u0592\3\2"+
+		"\2\2\u0594\u0595\3\2\2\2\u0595\u0598\3\2\2\2\u0596\u0594\3\2\2\2\u0597"+
+		"\u0599\7\66\2\2\u0598\u0597\3\2\2\2\u0598\u0599\3\2\2\2\u0599\u059a\3"+
+		"\2\2\2\u059a\u059b\bK\1\2\u059b\u0095\3\2\2\2\u059c\u059d\5h\65\2\u059d"+
+		"\u05b1\bL\1\2\u059e\u059f\bL\1\2\u059f\u05ae\7\66\2\2\u05a0\u05a1\5h\65"+
+		"\2\u05a1\u05a8\bL\1\2\u05a2\u05a3\7\66\2\2\u05a3\u05a4\5h\65\2\u05a4\u05a5"+
+		"\bL\1\2\u05a5\u05a7\3\2\2\2\u05a6\u05a2\3\2\2\2\u05a7\u05aa\3\2\2\2\u05a8"+
+		"\u05a6\3\2\2\2\u05a8\u05a9\3\2\2\2\u05a9\u05ac\3\2\2\2\u05aa\u05a8\3\2"+
+		"\2\2\u05ab\u05ad\7\66\2\2\u05ac\u05ab\3\2\2\2\u05ac\u05ad\3\2\2\2\u05ad"+
+		"\u05af\3\2\2\2\u05ae\u05a0\3\2\2\2\u05ae\u05af\3\2\2\2\u05af\u05b0\3\2"+
+		"\2\2\u05b0\u05b2\bL\1\2\u05b1\u059e\3\2\2\2\u05b1\u05b2\3\2\2\2\u05b2"+
+		"\u0097\3\2\2\2\u05b3\u05bd\bM\1\2\u05b4\u05b5\5h\65\2\u05b5\u05b6\7\67"+
+		"\2\2\u05b6\u05b7\5h\65\2\u05b7\u05b8\bM\1\2\u05b8\u05be\3\2\2\2\u05b9"+
+		"\u05ba\79\2\2\u05ba\u05bb\5|?\2\u05bb\u05bc\bM\1\2\u05bc\u05be\3\2\2\2"+
+		"\u05bd\u05b4\3\2\2\2\u05bd\u05b9\3\2\2\2\u05be\u05bf\3\2\2\2\u05bf\u05c0"+
+		"\5\u00a2R\2\u05c0\u05c1\bM\1\2\u05c1\u05e6\3\2\2\2\u05c2\u05cc\bM\1\2"+
+		"\u05c3\u05c4\5h\65\2\u05c4\u05c5\7\67\2\2\u05c5\u05c6\5h\65\2\u05c6\u05c7"+
+		"\bM\1\2\u05c7\u05cd\3\2\2\2\u05c8\u05c9\79\2\2\u05c9\u05ca\5|?\2\u05ca"+
+		"\u05cb\bM\1\2\u05cb\u05cd\3\2\2\2\u05cc\u05c3\3\2\2\2\u05cc\u05c8\3\2"+
+		"\2\2\u05cd\u05ce\3\2\2\2\u05ce\u05dd\bM\1\2\u05cf\u05d9\7\66\2\2\u05d0"+
+		"\u05d1\5h\65\2\u05d1\u05d2\7\67\2\2\u05d2\u05d3\5h\65\2\u05d3\u05d4\b"+
+		"M\1\2\u05d4\u05da\3\2\2\2\u05d5\u05d6\79\2\2\u05d6\u05d7\5|?\2\u05d7\u05d8"+
+		"\bM\1\2\u05d8\u05da\3\2\2\2\u05d9\u05d0\3\2\2\2\u05d9\u05d5\3\2\2\2\u05da"+
+		"\u05dc\3\2\2\2\u05db\u05cf\3\2\2\2\u05dc\u05df\3\2\2\2\u05dd\u05db\3\2"+
+		"\2\2\u05dd\u05de\3\2\2\2\u05de\u05e1\3\2\2\2\u05df\u05dd\3\2\2\2\u05e0"+
+		"\u05e2\7\66\2\2\u05e1\u05e0\3\2\2\2\u05e1\u05e2\3\2\2\2\u05e2\u05e3\3"+
+		"\2\2\2\u05e3\u05e4\bM\1\2\u05e4\u05e6\3\2\2\2\u05e5\u05b3\3\2\2\2\u05e5"+
+		"\u05c2\3\2\2\2\u05e6\u0099\3\2\2\2\u05e7\u05ee\bN\1\2\u05e8\u05e9\5h\65"+
+		"\2\u05e9\u05ea\bN\1\2\u05ea\u05ef\3\2\2\2\u05eb\u05ec\5z>\2\u05ec\u05ed"+
+		"\bN\1\2\u05ed\u05ef\3\2\2\2\u05ee\u05e8\3\2\2\2\u05ee\u05eb\3\2\2\2\u05ef"+
+		"\u05f0\3\2\2\2\u05f0\u05f1\5\u00a2R\2\u05f1\u05f2\bN\1\2\u05f2\u0613\3"+
+		"\2\2\2\u05f3\u05fa\bN\1\2\u05f4\u05f5\5h\65\2\u05f5\u05f6\bN\1\2\u05f6"+
+		"\u05fb\3\2\2\2\u05f7\u05f8\5z>\2\u05f8\u05f9\bN\1\2\u05f9\u05fb\3\2\2"+
+		"\2\u05fa\u05f4\3\2\2\2\u05fa\u05f7\3\2\2\2\u05fb\u05fc\3\2\2\2\u05fc\u0608"+
+		"\bN\1\2\u05fd\u0604\7\66\2\2\u05fe\u05ff\5h\65\2\u05ff\u0600\bN\1\2\u0600"+
+		"\u0605\3\2\2\2\u0601\u0602\5z>\2\u0602\u0603\bN\1\2\u0603\u0605\3\2\2"+
+		"\2\u0604\u05fe\3\2\2\2\u0604\u0601\3\2\2\2\u0605\u0607\3\2\2\2\u0606\u05fd"+
+		"\3\2\2\2\u0607\u060a\3\2\2\2\u0608\u0606\3\2\2\2\u0608\u0609\3\2\2\2\u0609"+
+		"\u060b\3\2\2\2\u060a\u0608\3\2\2\2\u060b\u060e\bN\1\2\u060c\u060d\7\66"+
+		"\2\2\u060d\u060f\bN\1\2\u060e\u060c\3\2\2\2\u060e\u060f\3\2\2\2\u060f"+
+		"\u0610\3\2\2\2\u0610\u0611\bN\1\2\u0611\u0613\3\2\2\2\u0612\u05e7\3\2"+
+		"\2\2\u0612\u05f3\3\2\2\2\u0613\u009b\3\2\2\2\u0614\u0615\7\37\2\2\u0615"+
+		"\u0616\7(\2\2\u0616\u061c\bO\1\2\u0617\u0618\7\64\2\2\u0618\u0619\5\u009e"+
+		"P\2\u0619\u061a\7\65\2\2\u061a\u061b\bO\1\2\u061b\u061d\3\2\2\2\u061c"+
+		"\u0617\3\2\2\2\u061c\u061d\3\2\2\2\u061d\u061e\3\2\2\2\u061e\u061f\bO"+
+		"\1\2\u061f\u0620\bO\1\2\u0620\u0621\7\67\2\2\u0621\u0622\5f\64\2\u0622"+
+		"\u0623\bO\1\2\u0623\u0624\bO\1\2\u0624\u0625\bO\1\2\u0625\u009d\3\2\2"+
+		"\2\u0626\u0632\bP\1\2\u0627\u062c\5\u00a0Q\2\u0628\u0629\7\66\2\2\u0629"+
+		"\u062b\5\u00a0Q\2\u062a\u0628\3\2\2\2\u062b\u062e\3\2\2\2\u062c\u062a"+
+		"\3\2\2\2\u062c\u062d\3\2\2\2\u062d\u0630\3\2\2\2\u062e\u062c\3\2\2\2\u062f"+
+		"\u0631\7\66\2\2\u0630\u062f\3\2\2\2\u0630\u0631\3\2\2\2\u0631\u0633\3"+
+		"\2\2\2\u0632\u0627\3\2\2\2\u0632\u0633\3\2\2\2\u0633\u0634\3\2\2\2\u0634"+
+		"\u0635\bP\1\2\u0635\u009f\3\2\2\2\u0636\u0637\bQ\1\2\u0637\u0638\5h\65"+
+		"\2\u0638\u0639\5\u00a2R\2\u0639\u063a\bQ\1\2\u063a\u064e\3\2\2\2\u063b"+
+		"\u063c\bQ\1\2\u063c\u063d\5h\65\2\u063d\u063e\bQ\1\2\u063e\u063f\7:\2"+
+		"\2\u063f\u0640\5h\65\2\u0640\u0641\bQ\1\2\u0641\u064e\3\2\2\2\u0642\u0643"+
+		"\5h\65\2\u0643\u0644\bQ\1\2\u0644\u064e\3\2\2\2\u0645\u0646\79\2\2\u0646"+
+		"\u0647\5h\65\2\u0647\u0648\bQ\1\2\u0648\u064e\3\2\2\2\u0649\u064a\7\63"+
+		"\2\2\u064a\u064b\5h\65\2\u064b\u064c\bQ\1\2\u064c\u064e\3\2\2\2\u064d"+
+		"\u0636\3\2\2\2\u064d\u063b\3\2\2\2\u064d\u0642\3\2\2\2\u064d\u0645\3\2"+
+		"\2\2\u064d\u0649\3\2\2\2\u064e\u00a1\3\2\2\2\u064f\u0652\bR\1\2\u0650"+
+		"\u0651\7%\2\2\u0651\u0653\bR\1\2\u0652\u0650\3\2\2\2\u0652\u0653\3\2\2"+
+		"\2\u0653\u0654\3\2\2\2\u0654\u0655\bR\1\2\u0655\u0656\7\21\2\2\u0656\u0657"+
+		"\5\u0094K\2\u0657\u0658\7\22\2\2\u0658\u0659\bR\1\2\u0659\u065a\5p9\2"+
+		"\u065a\u065b\bR\1\2\u065b\u0662\bR\1\2\u065c\u065d\7\r\2\2\u065d\u065e"+
+		"\5j\66\2\u065e\u065f\bR\1\2\u065f\u0661\3\2\2\2\u0660\u065c\3\2\2\2\u0661"+
+		"\u0664\3\2\2\2\u0662\u0660\3\2\2\2\u0662\u0663\3\2\2\2\u0663\u0665\3\2"+
+		"\2\2\u0664\u0662\3\2\2\2\u0665\u0669\bR\1\2\u0666\u0667\5\u00a2R\2\u0667"+
+		"\u0668\bR\1\2\u0668\u066a\3\2\2\2\u0669\u0666\3\2\2\2\u0669\u066a\3\2"+
+		"\2\2\u066a\u066b\3\2\2\2\u066b\u066c\bR\1\2\u066c\u00a3\3\2\2\2\u066d"+
+		"\u066e\7(\2\2\u066e\u00a5\3\2\2\2\u066f\u0670\bT\1\2\u0670\u0678\7 \2"+
+		"\2\u0671\u0672\7\7\2\2\u0672\u0673\5h\65\2\u0673\u0674\bT\1\2\u0674\u0679"+
+		"\3\2\2\2\u0675\u0676\5.\30\2\u0676\u0677\bT\1\2\u0677\u0679\3\2\2\2\u0678"+
+		"\u0671\3\2\2\2\u0678\u0675\3\2\2\2\u0678\u0679\3\2\2\2\u0679\u067a\3\2"+
+		"\2\2\u067a\u067b\bT\1\2\u067b\u00a7\3\2\2\2\u00c3\u00ac\u00b1\u00b6\u00c1"+
+		"\u00c5\u00c7\u00d2\u00d6\u00d8\u00e1\u00e7\u00f6\u00ff\u0108\u0114\u011e"+
+		"\u0128\u0134\u0137\u013f\u0145\u0147\u0149\u014d\u014f\u0151\u0158\u0161"+
+		"\u0167\u0169\u016b\u016f\u0171\u0173\u017a\u0180\u0182\u0184\u0188\u018a"+
+		"\u0194\u019a\u01a6\u01a8\u01b3\u01bd\u01c9\u01cc\u01d4\u01da\u01dc\u01de"+
+		"\u01e2\u01e4\u01e6\u01ed\u01f6\u01fc\u01fe\u0200\u0204\u0206\u0208\u020f"+
+		"\u0215\u0217\u0219\u021d\u021f\u022a\u0232\u023c\u0243\u0247\u0254\u025e"+
+		"\u0269\u0277\u027b\u027f\u0287\u0291\u029a\u029e\u02a2\u02a4\u02a7\u02b6"+
+		"\u02bd\u02cc\u02ce\u02d4\u02df\u02e1\u02eb\u02ed\u02ef\u02fc\u0305\u0312"+
+		"\u0316\u0321\u0329\u0330\u033c\u034a\u0356\u0363\u0369\u037f\u038c\u039d"+
+		"\u03ab\u03b2\u03b9\u03c0\u03cb\u03cd\u03dd\u03e8\u03f3\u03f7\u0403\u0408"+
+		"\u0410\u0417\u0424\u0435\u043a\u0445\u044a\u0453\u045d\u0462\u047c\u048a"+
+		"\u0495\u04a0\u04aa\u04b1\u04bb\u04c2\u04d2\u04d9\u04e3\u04eb\u04f3\u04f6"+
+		"\u0507\u0509\u0516\u051f\u052b\u0542\u054d\u055b\u055f\u0561\u0564\u056d"+
+		"\u0573\u0579\u057b\u057e\u0587\u0590\u0594\u0598\u05a8\u05ac\u05ae\u05b1"+
+		"\u05bd\u05cc\u05d9\u05dd\u05e1\u05e5\u05ee\u05fa\u0604\u0608\u060e\u0612"+
+		"\u061c\u062c\u0630\u0632\u064d\u0652\u0662\u0669\u0678";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
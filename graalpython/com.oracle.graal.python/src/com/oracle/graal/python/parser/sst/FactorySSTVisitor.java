@@ -902,7 +902,7 @@ public class FactorySSTVisitor implements SSTreeVisitor<PNode> {
         if (scopeEnvironment.isInGeneratorScope()) {
             funcDef = GeneratorFunctionDefinitionNode.create(name, qualname, node.enclosingClassName, doc, defaults, kwDefaults, ct, fd,
                             scopeEnvironment.getDefinitionCellSlots(), scopeEnvironment.getExecutionCellSlots(),
-                            generatorFactory.getGeneratorInfo(), annotations);
+                            generatorFactory.getGeneratorInfo(), annotations, node.scope.isCoroutine(), node.scope.isAsyncGenerator());
         } else {
             funcDef = new FunctionDefinitionNode(name, qualname, node.enclosingClassName, doc, defaults, kwDefaults, ct, scopeEnvironment.getDefinitionCellSlots(),
                             scopeEnvironment.getExecutionCellSlots(), annotations);
@@ -1127,6 +1127,9 @@ public class FactorySSTVisitor implements SSTreeVisitor<PNode> {
         if (!scopeEnvironment.isInFunctionScope()) {
             errors.raiseInvalidSyntax(source, createSourceSection(node.startOffset, node.endOffset), ErrorMessages.RETURN_OUTSIDE_FUNC);
         }
+        if (node.value != null && scopeEnvironment.getCurrentScope().isAsyncGenerator()) {
+            throw errors.raiseInvalidSyntax(source, createSourceSection(node.startOffset, node.endOffset), ErrorMessages.RETURN_WITH_VALUE_IN_ASYNC_GEN);
+        }
         StatementNode result;
         if (node.value != null) {
             result = new ReturnNode.FrameReturnNode(createWriteLocal((ExpressionNode) node.value.accept(this), scopeEnvironment.getReturnSlot()));
@@ -1169,6 +1172,9 @@ public class FactorySSTVisitor implements SSTreeVisitor<PNode> {
                 empty.assignSourceSection(createSourceSection(node.startOffset, node.endOffset));
                 result = empty.asStatement();
                 break;
+            case BUILTINS:
+                result = nodeFactory.createBuiltinsLiteral();
+                break;
         }
         return result;
     }
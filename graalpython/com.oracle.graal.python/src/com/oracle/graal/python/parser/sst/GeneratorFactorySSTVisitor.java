@@ -404,7 +404,9 @@ public class GeneratorFactorySSTVisitor extends FactorySSTVisitor {
     public PNode visit(YieldExpressionSSTNode node) {
         ExpressionNode value = node.value != null ? (ExpressionNode) node.value.accept(this) : EmptyNode.create();
         ExpressionNode result;
-        if (node.isFrom) {
+        if (node.isAwait) {
+            result = nodeFactory.createAwait(value, generatorInfo);
+        } else if (node.isFrom) {
             result = nodeFactory.createYieldFrom(value, generatorInfo);
         } else {
             result = nodeFactory.createYield(value, generatorInfo);
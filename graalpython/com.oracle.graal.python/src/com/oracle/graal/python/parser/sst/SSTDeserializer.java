@@ -745,8 +745,9 @@ public final class SSTDeserializer {
         int startOffset = startIndex;
         int endOffset = endIndex;
         boolean isFrom = stream.readBoolean();
+        boolean isAwait = stream.readBoolean();
         SSTNode value = readNode();
-        return new YieldExpressionSSTNode(value, isFrom, startOffset, endOffset);
+        return new YieldExpressionSSTNode(value, isFrom, isAwait, startOffset, endOffset);
     }
 
     private SSTNode readVarLookup() throws IOException {
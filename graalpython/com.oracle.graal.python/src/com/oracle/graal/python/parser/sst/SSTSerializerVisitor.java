@@ -885,6 +885,7 @@ public class SSTSerializerVisitor implements SSTreeVisitor<Boolean> {
             writeId(SSTId.YieldExpressionID);
             writePosition(node);
             out.writeBoolean(node.isFrom);
+            out.writeBoolean(node.isAwait);
             writeNodeOrNull(node.value);
         } catch (IOException e) {
             handleIOExceptin(e);
@@ -45,7 +45,7 @@ import com.oracle.graal.python.nodes.expression.BinaryArithmetic;
 import com.oracle.graal.python.nodes.expression.UnaryArithmetic;
 
 public class SerializationUtils {
-    public static byte VERSION = 6;
+    public static byte VERSION = 7;
 
     public static enum SSTId {
         AndID,
@@ -249,6 +249,8 @@ public class SerializationUtils {
                 return 5;
             case EMPTY:
                 return 6;
+            case BUILTINS:
+                return 7;
             default:
                 throw new UnsupportedOperationException("Serialization of " + st.name() + " is not supported.");
         }
@@ -268,6 +270,8 @@ public class SerializationUtils {
                 return SimpleSSTNode.Type.ELLIPSIS;
             case 6:
                 return SimpleSSTNode.Type.EMPTY;
+            case 7:
+                return SimpleSSTNode.Type.BUILTINS;
             default:
                 throw new UnsupportedOperationException("Deserialization SimpleSSTNode.Type with id " + id + " is not supported.");
         }
@@ -48,7 +48,9 @@ public class SimpleSSTNode extends SSTNode {
         PASS,
         NONE,
         ELLIPSIS,
-        EMPTY
+        EMPTY,
+        /** The builtins module, used to refer to builtins that user code cannot shadow. */
+        BUILTINS
     }
 
     protected final Type type;
@@ -44,11 +44,21 @@ package com.oracle.graal.python.parser.sst;
 public class YieldExpressionSSTNode extends SSTNode {
     protected final SSTNode value;
     protected final boolean isFrom;
+    /**
+     * An {@code await} expression is a {@code yield from} over the awaitable's iterator.
+     */
+    protected final boolean isAwait;
 
     public YieldExpressionSSTNode(SSTNode value, boolean isFrom, int startOffset, int endOffset) {
+        this(value, isFrom, false, startOffset, endOffset);
+    }
+
+    public YieldExpressionSSTNode(SSTNode value, boolean isFrom, boolean isAwait, int startOffset, int endOffset) {
         super(startOffset, endOffset);
+        assert !isAwait || isFrom;
         this.value = value;
         this.isFrom = isFrom;
+        this.isAwait = isAwait;
     }
 
     @Override
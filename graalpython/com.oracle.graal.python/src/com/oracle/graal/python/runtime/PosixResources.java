@@ -49,13 +49,13 @@ import java.nio.channels.FileLock;
 import java.nio.channels.Pipe;
 import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.oracle.graal.python.builtins.objects.socket.PSocket;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -75,9 +75,19 @@ public class PosixResources {
     private final int FD_STDOUT = 1;
     private final int FD_STDERR = 2;
 
-    /** Context-local file-descriptor mappings and PID mappings */
-    private final SortedMap<Integer, ChannelWrapper> files;
-    private final Map<Integer, String> filePaths;
+    private static final int INITIAL_FD_TABLE_SIZE = 64;
+
+    /**
+     * Context-local file-descriptor table indexed by fd. Lookups read it without locking.
+     * Allocating, replacing and releasing descriptors synchronize on {@link #fdLock}, which also
+     * guards the {@link #usedFds} bitmap used to find the lowest free descriptor. When the table is
+     * full, it is replaced by a larger copy, so readers always see a consistent array.
+     */
+    private volatile AtomicReferenceArray<ChannelWrapper> files;
+    private final BitSet usedFds;
+    private final Object fdLock = new Object();
+
+    /** Context-local PID mappings */
     private final List<Process> children;
     private final Map<String, Integer> inodes;
     private int inodeCnt = 0;
@@ -149,21 +159,27 @@ public class PosixResources {
         }
     }
 
+    /**
+     * A channel shared by all descriptors duplicated from the same original one. {@link #cnt}
+     * counts these descriptors and is guarded by {@link PosixResources#fdLock}.
+     */
     private static class ChannelWrapper {
-        Channel channel;
+        volatile Channel channel;
+        final String path;
         int cnt;
-        FileLock lock;
+        volatile FileLock lock;
 
-        ChannelWrapper() {
-            this(null, 0);
+        ChannelWrapper(String path) {
+            this(null, path, 0);
         }
 
-        ChannelWrapper(Channel channel) {
-            this(channel, 1);
+        ChannelWrapper(Channel channel, String path) {
+            this(channel, path, 1);
         }
 
-        ChannelWrapper(Channel channel, int cnt) {
+        ChannelWrapper(Channel channel, String path, int cnt) {
             this.channel = channel;
+            this.path = path;
             this.cnt = cnt;
         }
 
@@ -179,22 +195,19 @@ public class PosixResources {
     }
 
     public PosixResources() {
-        files = Collections.synchronizedSortedMap(new TreeMap<>());
-        filePaths = Collections.synchronizedMap(new HashMap<>());
+        files = new AtomicReferenceArray<>(INITIAL_FD_TABLE_SIZE);
+        usedFds = new BitSet(INITIAL_FD_TABLE_SIZE);
         children = Collections.synchronizedList(new ArrayList<>());
         String osProperty = System.getProperty("os.name");
 
-        files.put(FD_STDIN, new ChannelWrapper());
-        files.put(FD_STDOUT, new ChannelWrapper());
-        files.put(FD_STDERR, new ChannelWrapper());
         if (osProperty != null && osProperty.toLowerCase(Locale.ENGLISH).contains("win")) {
-            filePaths.put(FD_STDIN, "STDIN");
-            filePaths.put(FD_STDOUT, "STDOUT");
-            filePaths.put(FD_STDERR, "STDERR");
+            setEntry(FD_STDIN, new ChannelWrapper("STDIN"));
+            setEntry(FD_STDOUT, new ChannelWrapper("STDOUT"));
+            setEntry(FD_STDERR, new ChannelWrapper("STDERR"));
         } else {
-            filePaths.put(FD_STDIN, "/dev/stdin");
-            filePaths.put(FD_STDOUT, "/dev/stdout");
-            filePaths.put(FD_STDERR, "/dev/stderr");
+            setEntry(FD_STDIN, new ChannelWrapper("/dev/stdin"));
+            setEntry(FD_STDOUT, new ChannelWrapper("/dev/stdout"));
+            setEntry(FD_STDERR, new ChannelWrapper("/dev/stderr"));
         }
 
         children.add(new ProcessGroup(children)); // PID 0 is special, and refers to all processes
@@ -204,57 +217,99 @@ public class PosixResources {
 
     @TruffleBoundary(allowInlining = true)
     public void setEnv(Env env) {
-        synchronized (files) {
-            files.get(FD_STDIN).setNewChannel(env.in());
-            files.get(FD_STDOUT).setNewChannel(env.out());
-            files.get(FD_STDERR).setNewChannel(env.err());
+        synchronized (fdLock) {
+            getEntry(FD_STDIN).setNewChannel(env.in());
+            getEntry(FD_STDOUT).setNewChannel(env.out());
+            getEntry(FD_STDERR).setNewChannel(env.err());
+        }
+    }
+
+    private ChannelWrapper getEntry(int fd) {
+        AtomicReferenceArray<ChannelWrapper> table = files;
+        if (fd >= 0 && fd < table.length()) {
+            return table.get(fd);
+        }
+        return null;
+    }
+
+    /**
+     * Installs or clears the entry of a descriptor, growing the table if necessary. Must be called
+     * with {@link #fdLock} held (or during construction).
+     */
+    private void setEntry(int fd, ChannelWrapper channelWrapper) {
+        AtomicReferenceArray<ChannelWrapper> table = files;
+        if (fd >= table.length()) {
+            AtomicReferenceArray<ChannelWrapper> newTable = new AtomicReferenceArray<>(Math.max(table.length() * 2, fd + 1));
+            for (int i = 0; i < table.length(); i++) {
+                newTable.set(i, table.get(i));
+            }
+            files = table = newTable;
         }
+        table.set(fd, channelWrapper);
+        usedFds.set(fd, channelWrapper != null);
     }
 
+    @TruffleBoundary
     private void addFD(int fd, Channel channel) {
-        addFD(fd, channel, null);
+        synchronized (fdLock) {
+            setEntry(fd, new ChannelWrapper(channel, null));
+        }
     }
 
     @TruffleBoundary
-    private void addFD(int fd, Channel channel, String path) {
-        files.put(fd, new ChannelWrapper(channel));
-        if (path != null) {
-            filePaths.put(fd, path);
+    private int allocateFD(Channel channel, String path) {
+        synchronized (fdLock) {
+            int fd = usedFds.nextClearBit(0);
+            setEntry(fd, new ChannelWrapper(channel, path));
+            return fd;
         }
     }
 
     @TruffleBoundary
     private void removeFD(int fd) throws IOException {
-        ChannelWrapper channelWrapper = files.getOrDefault(fd, null);
-
-        if (channelWrapper != null) {
-            synchronized (files) {
-                if (channelWrapper.cnt == 1) {
-                    channelWrapper.channel.close();
-                } else if (channelWrapper.cnt > 1) {
-                    channelWrapper.cnt -= 1;
-                }
+        Channel channel;
+        synchronized (fdLock) {
+            channel = releaseFD(fd);
+        }
+        // the last descriptor for the channel is gone; close it without holding the lock
+        if (channel != null) {
+            channel.close();
+        }
+    }
 
-                files.remove(fd);
-                filePaths.remove(fd);
-            }
+    /**
+     * Clears the entry of a descriptor. Must be called with {@link #fdLock} held.
+     *
+     * @return the channel if this was its last descriptor, so that the caller closes it after
+     *         releasing the lock, or {@code null}
+     */
+    private Channel releaseFD(int fd) {
+        ChannelWrapper channelWrapper = getEntry(fd);
+        if (channelWrapper == null) {
+            return null;
         }
+        setEntry(fd, null);
+        if (channelWrapper.cnt > 1) {
+            channelWrapper.cnt -= 1;
+            return null;
+        } else if (channelWrapper.cnt == 0) {
+            return null;
+        }
+        return channelWrapper.channel;
     }
 
-    @TruffleBoundary
+    /** Must be called with {@link #fdLock} held. */
     private void dupFD(int fd1, int fd2) {
-        ChannelWrapper channelWrapper = files.getOrDefault(fd1, null);
+        ChannelWrapper channelWrapper = getEntry(fd1);
         if (channelWrapper != null) {
-            synchronized (files) {
-                channelWrapper.cnt += 1;
-                files.put(fd2, channelWrapper);
-            }
+            channelWrapper.cnt += 1;
+            setEntry(fd2, channelWrapper);
         }
     }
 
     @TruffleBoundary(allowInlining = true)
     public Channel getFileChannel(int fd, ValueProfile classProfile) {
-        ChannelWrapper channelWrapper = files.getOrDefault(fd, null);
+        ChannelWrapper channelWrapper = getEntry(fd);
         if (channelWrapper != null) {
             return classProfile.profile(channelWrapper.channel);
         }
@@ -263,7 +318,7 @@ public class PosixResources {
 
     @TruffleBoundary(allowInlining = true)
     public FileLock getFileLock(int fd) {
-        ChannelWrapper channelWrapper = files.getOrDefault(fd, null);
+        ChannelWrapper channelWrapper = getEntry(fd);
         if (channelWrapper != null) {
             return channelWrapper.lock;
         }
@@ -272,7 +327,7 @@ public class PosixResources {
 
     @TruffleBoundary(allowInlining = true)
     public void setFileLock(int fd, FileLock lock) {
-        ChannelWrapper channelWrapper = files.getOrDefault(fd, null);
+        ChannelWrapper channelWrapper = getEntry(fd);
         if (channelWrapper != null) {
             channelWrapper.lock = lock;
         }
@@ -280,7 +335,7 @@ public class PosixResources {
 
     @TruffleBoundary(allowInlining = true)
     public Channel getFileChannel(int fd) {
-        ChannelWrapper channelWrapper = files.getOrDefault(fd, null);
+        ChannelWrapper channelWrapper = getEntry(fd);
         if (channelWrapper != null) {
             return channelWrapper.channel;
         }
@@ -289,12 +344,16 @@ public class PosixResources {
 
     @TruffleBoundary
     public String getFilePath(int fd) {
-        return filePaths.getOrDefault(fd, null);
+        ChannelWrapper channelWrapper = getEntry(fd);
+        if (channelWrapper != null) {
+            return channelWrapper.path;
+        }
+        return null;
     }
 
     @TruffleBoundary
     public PSocket getSocket(int fd) {
-        ChannelWrapper channelWrapper = files.getOrDefault(fd, null);
+        ChannelWrapper channelWrapper = getEntry(fd);
         if (channelWrapper != null && channelWrapper.channel instanceof PSocket) {
             return (PSocket) channelWrapper.channel;
         }
@@ -311,9 +370,7 @@ public class PosixResources {
 
     @TruffleBoundary
     public int openSocket(PSocket socket) {
-        int fd = nextFreeFd();
-        addFD(fd, socket);
-        return fd;
+        return allocateFD(socket, null);
     }
 
     @TruffleBoundary
@@ -323,7 +380,7 @@ public class PosixResources {
 
     @TruffleBoundary(allowInlining = true)
     public void fdopen(int fd, Channel fc) {
-        files.get(fd).channel = fc;
+        getEntry(fd).channel = fc;
     }
 
     /**
@@ -335,28 +392,42 @@ public class PosixResources {
      */
     @TruffleBoundary(allowInlining = true)
     public int open(TruffleFile path, Channel fc) {
-        int fd = nextFreeFd();
-        addFD(fd, fc, path.getAbsoluteFile().getPath());
-        return fd;
+        return allocateFD(fc, path.getAbsoluteFile().getPath());
     }
 
     @TruffleBoundary(allowInlining = true)
     public int dup(int fd) {
-        int dupFd = nextFreeFd();
-        dupFD(fd, dupFd);
-        return dupFd;
+        synchronized (fdLock) {
+            int dupFd = usedFds.nextClearBit(0);
+            dupFD(fd, dupFd);
+            return dupFd;
+        }
     }
 
     @TruffleBoundary(allowInlining = true)
     public int dup2(int fd, int fd2) throws IOException {
-        removeFD(fd2);
-        dupFD(fd, fd2);
+        Channel displaced;
+        synchronized (fdLock) {
+            // like dup2(2), an unopened fd fails before the target is touched, also if fd == fd2
+            if (getEntry(fd) == null) {
+                throw new IOException("bad file descriptor: " + fd);
+            }
+            if (fd == fd2) {
+                return fd2;
+            }
+            // replace the descriptor atomically, such that no other thread can allocate it
+            displaced = releaseFD(fd2);
+            dupFD(fd, fd2);
+        }
+        if (displaced != null) {
+            displaced.close();
+        }
         return fd2;
     }
 
     @TruffleBoundary(allowInlining = true)
     public boolean fsync(int fd) {
-        return files.getOrDefault(fd, null) != null;
+        return getEntry(fd) != null;
     }
 
     @TruffleBoundary(allowInlining = true)
@@ -370,33 +441,11 @@ public class PosixResources {
     @TruffleBoundary(allowInlining = true)
     public int[] pipe() throws IOException {
         Pipe pipe = Pipe.open();
-        int readFD = nextFreeFd();
-        addFD(readFD, pipe.source());
-
-        int writeFD = nextFreeFd();
-        addFD(writeFD, pipe.sink());
-
+        int readFD = allocateFD(pipe.source(), null);
+        int writeFD = allocateFD(pipe.sink(), null);
         return new int[]{readFD, writeFD};
     }
 
-    @TruffleBoundary(allowInlining = true)
-    private int nextFreeFd() {
-        synchronized (files) {
-            int fd1 = files.firstKey();
-            for (int fd2 : files.keySet()) {
-                if (fd2 == fd1) {
-                    continue;
-                }
-                if (fd2 - fd1 > 1) {
-                    return fd1 + 1;
-                } else {
-                    fd1 = fd2;
-                }
-            }
-            return files.lastKey() + 1;
-        }
-    }
-
     @TruffleBoundary(allowInlining = true)
     public int registerChild(Process child) {
         int pid = nextFreePid();
@@ -75,6 +75,7 @@ import com.oracle.graal.python.builtins.objects.thread.PLock;
 import com.oracle.graal.python.nodes.SpecialAttributeNames;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
 import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.attributes.TypeAttributeCache;
 import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.runtime.AsyncHandler.AsyncAction;
 import com.oracle.graal.python.runtime.exception.ExceptionUtils;
@@ -197,6 +198,7 @@ public final class PythonContext {
     private Map<Long, PythonThreadState> threadStateMapping;
 
     private final ReentrantLock importLock = new ReentrantLock();
+    private final TypeAttributeCache typeAttributeCache;
     @CompilationFinal private boolean isInitialized = false;
 
     @CompilationFinal private PythonModule builtinsModule;
@@ -237,6 +239,7 @@ public final class PythonContext {
         this.resources = new PosixResources();
         this.handler = new AsyncHandler(this);
         this.optionValues = PythonOptions.createOptionValuesStorage(env);
+        this.typeAttributeCache = new TypeAttributeCache(env.getOptions().get(PythonOptions.TypeAttributeCacheStatistics));
         this.resources.setEnv(env);
         this.in = env.in();
         this.out = env.out();
@@ -274,6 +277,10 @@ public final class PythonContext {
         return language;
     }
 
+    public TypeAttributeCache getTypeAttributeCache() {
+        return typeAttributeCache;
+    }
+
     public ReentrantLock getImportLock() {
         return importLock;
     }
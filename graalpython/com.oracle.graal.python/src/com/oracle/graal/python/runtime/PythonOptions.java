@@ -106,8 +106,9 @@ public final class PythonOptions {
     @Option(category = OptionCategory.USER, help = "Equivalent to the Python -I flag. Isolate from the users environment by not adding the cwd to the path", stability = OptionStability.STABLE) //
     public static final OptionKey<Boolean> IsolateFlag = new OptionKey<>(false);
 
-    @Option(category = OptionCategory.USER, help = "Equivalent to the Python -B flag. Don't write bytecode files.", stability = OptionStability.STABLE) //
-    public static final OptionKey<Boolean> DontWriteBytecodeFlag = new OptionKey<>(true);
+    @Option(category = OptionCategory.USER, help = "Equivalent to the Python -B flag. Don't write bytecode files. " +
+                    "By default, the parsed code of imported modules is cached in __pycache__ directories (or under PyCachePrefix) and reused by later imports.", stability = OptionStability.STABLE) //
+    public static final OptionKey<Boolean> DontWriteBytecodeFlag = new OptionKey<>(false);
 
     @Option(category = OptionCategory.USER, help = "If this is set, GraalPython will write .pyc files in a mirror directory tree at this path, " +
                     "instead of in __pycache__ directories within the source tree. " +
@@ -141,6 +142,9 @@ public final class PythonOptions {
     @Option(category = OptionCategory.EXPERT, help = "Prints parser time statistics after number of parsed files, set by this option. 0 or <0 means no statistics are printed.") //
     public static final OptionKey<Integer> ParserStatistics = new OptionKey<>(0);
 
+    @Option(category = OptionCategory.EXPERT, help = "Count hits and misses of the type attribute cache, see __graalpython__.type_attribute_cache_stats.") //
+    public static final OptionKey<Boolean> TypeAttributeCacheStatistics = new OptionKey<>(false);
+
     @EngineOption @Option(category = OptionCategory.EXPERT, help = "") //
     public static final OptionKey<Integer> AttributeAccessInlineCacheMaxDepth = new OptionKey<>(5);
 
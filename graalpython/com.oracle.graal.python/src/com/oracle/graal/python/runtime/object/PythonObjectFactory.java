@@ -28,6 +28,7 @@ package com.oracle.graal.python.runtime.object;
 import java.io.ByteArrayOutputStream;
 import java.lang.ref.ReferenceQueue;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.DirectoryStream;
 import java.util.concurrent.Semaphore;
@@ -51,6 +52,8 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary.Has
 import com.oracle.graal.python.builtins.objects.common.LocalsStorage;
 import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
 import com.oracle.graal.python.builtins.objects.complex.PComplex;
+import com.oracle.graal.python.builtins.objects.deque.PDeque;
+import com.oracle.graal.python.builtins.objects.deque.PDequeIterator;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.dict.PDictView;
 import com.oracle.graal.python.builtins.objects.dict.PDictView.PDictItemIterator;
@@ -67,11 +70,20 @@ import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.function.Signature;
+import com.oracle.graal.python.builtins.objects.functools.PLruCacheWrapper;
+import com.oracle.graal.python.builtins.objects.functools.PPartial;
+import com.oracle.graal.python.builtins.objects.generator.PAsyncGenASend;
+import com.oracle.graal.python.builtins.objects.generator.PAsyncGenAThrow;
+import com.oracle.graal.python.builtins.objects.generator.PCoroutineWrapper;
 import com.oracle.graal.python.builtins.objects.generator.PGenerator;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.GetSetDescriptor;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.HiddenKeyDescriptor;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.HiddenPythonKey;
+import com.oracle.graal.python.builtins.objects.hashlib.DigestEngine;
+import com.oracle.graal.python.builtins.objects.hashlib.PHashObject;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.io.PBuffered;
+import com.oracle.graal.python.builtins.objects.io.PTextIO;
 import com.oracle.graal.python.builtins.objects.iterator.PArrayIterator;
 import com.oracle.graal.python.builtins.objects.iterator.PBaseSetIterator;
 import com.oracle.graal.python.builtins.objects.iterator.PBigRangeIterator;
@@ -84,11 +96,33 @@ import com.oracle.graal.python.builtins.objects.iterator.PSentinelIterator;
 import com.oracle.graal.python.builtins.objects.iterator.PSequenceIterator;
 import com.oracle.graal.python.builtins.objects.iterator.PStringIterator;
 import com.oracle.graal.python.builtins.objects.iterator.PZip;
+import com.oracle.graal.python.builtins.objects.itertools.PAccumulate;
+import com.oracle.graal.python.builtins.objects.itertools.PChain;
+import com.oracle.graal.python.builtins.objects.itertools.PCombinations;
+import com.oracle.graal.python.builtins.objects.itertools.PCompress;
+import com.oracle.graal.python.builtins.objects.itertools.PCount;
+import com.oracle.graal.python.builtins.objects.itertools.PCycle;
+import com.oracle.graal.python.builtins.objects.itertools.PDropwhile;
+import com.oracle.graal.python.builtins.objects.itertools.PFilterfalse;
+import com.oracle.graal.python.builtins.objects.itertools.PGroupBy;
+import com.oracle.graal.python.builtins.objects.itertools.PGrouper;
+import com.oracle.graal.python.builtins.objects.itertools.PIslice;
+import com.oracle.graal.python.builtins.objects.itertools.PPermutations;
+import com.oracle.graal.python.builtins.objects.itertools.PProduct;
+import com.oracle.graal.python.builtins.objects.itertools.PRepeat;
+import com.oracle.graal.python.builtins.objects.itertools.PStarmap;
+import com.oracle.graal.python.builtins.objects.itertools.PTakewhile;
+import com.oracle.graal.python.builtins.objects.itertools.PTee;
+import com.oracle.graal.python.builtins.objects.itertools.PZipLongest;
+import com.oracle.graal.python.builtins.objects.itertools.TeeDataObject;
+import com.oracle.graal.python.builtins.objects.json.PJSONEncoder;
+import com.oracle.graal.python.builtins.objects.json.PJSONScanner;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.lzma.PLZMACompressor;
 import com.oracle.graal.python.builtins.objects.lzma.PLZMADecompressor;
 import com.oracle.graal.python.builtins.objects.map.PMap;
 import com.oracle.graal.python.builtins.objects.mappingproxy.PMappingproxy;
+import com.oracle.graal.python.builtins.objects.memoryview.BufferFormat;
 import com.oracle.graal.python.builtins.objects.memoryview.PBuffer;
 import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
 import com.oracle.graal.python.builtins.objects.method.PBuiltinMethod;
@@ -97,6 +131,10 @@ import com.oracle.graal.python.builtins.objects.method.PMethod;
 import com.oracle.graal.python.builtins.objects.mmap.PMMap;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.object.PythonSlotsObject;
+import com.oracle.graal.python.builtins.objects.pickle.PPickleBuffer;
+import com.oracle.graal.python.builtins.objects.pickle.PPickler;
+import com.oracle.graal.python.builtins.objects.pickle.PUnpickler;
 import com.oracle.graal.python.builtins.objects.posix.PDirEntry;
 import com.oracle.graal.python.builtins.objects.posix.PScandirIterator;
 import com.oracle.graal.python.builtins.objects.random.PRandom;
@@ -105,13 +143,21 @@ import com.oracle.graal.python.builtins.objects.range.PIntRange;
 import com.oracle.graal.python.builtins.objects.referencetype.PReferenceType;
 import com.oracle.graal.python.builtins.objects.reversed.PSequenceReverseIterator;
 import com.oracle.graal.python.builtins.objects.reversed.PStringReverseIterator;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
+import com.oracle.graal.python.builtins.objects.select.PollCleaner;
 import com.oracle.graal.python.builtins.objects.set.PBaseSet;
 import com.oracle.graal.python.builtins.objects.set.PFrozenSet;
 import com.oracle.graal.python.builtins.objects.set.PSet;
 import com.oracle.graal.python.builtins.objects.slice.PIntSlice;
 import com.oracle.graal.python.builtins.objects.slice.PObjectSlice;
 import com.oracle.graal.python.builtins.objects.socket.PSocket;
+import com.oracle.graal.python.builtins.objects.sre.PSREMatch;
+import com.oracle.graal.python.builtins.objects.sre.PSREPattern;
+import com.oracle.graal.python.builtins.objects.sre.PSREScanner;
 import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.struct.PStruct;
+import com.oracle.graal.python.builtins.objects.struct.PStructUnpackIterator;
+import com.oracle.graal.python.builtins.objects.struct.StructFormat;
 import com.oracle.graal.python.builtins.objects.superobject.SuperObject;
 import com.oracle.graal.python.builtins.objects.thread.PLock;
 import com.oracle.graal.python.builtins.objects.thread.PRLock;
@@ -122,13 +168,16 @@ import com.oracle.graal.python.builtins.objects.traceback.PTraceback;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.builtins.objects.type.PythonAbstractClass;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
+import com.oracle.graal.python.builtins.objects.type.PythonManagedClass;
 import com.oracle.graal.python.builtins.objects.type.TypeNodes;
 import com.oracle.graal.python.builtins.objects.zipimporter.PZipImporter;
+import com.oracle.graal.python.builtins.objects.zipimporter.ZipArchiveCleaner;
 import com.oracle.graal.python.nodes.literal.ListLiteralNode;
 import com.oracle.graal.python.parser.ExecutionCellSlots;
 import com.oracle.graal.python.parser.GeneratorInfo;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
+import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.CharSequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
@@ -219,6 +268,9 @@ public abstract class PythonObjectFactory extends Node {
      * shape if possible.
      */
     public PythonObject createPythonObject(Object klass, Shape instanceShape) {
+        if (klass instanceof PythonManagedClass && ((PythonManagedClass) klass).hasSlotsLayout()) {
+            return trace(PythonSlotsObject.create(klass, instanceShape, ((PythonManagedClass) klass).getInstanceSlotCount()));
+        }
         return trace(new PythonObject(klass, instanceShape));
     }
 
@@ -385,8 +437,16 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PythonClass(metaclass, getShape(metaclass), name, invokeMro, bases));
     }
 
-    public PMemoryView createMemoryView(Object cls, Object value) {
-        return trace(new PMemoryView(cls, getShape(cls), value));
+    public PythonClass createPythonClass(Object metaclass, String name, boolean invokeMro, int instanceSlotCount, PythonAbstractClass[] bases) {
+        return trace(new PythonClass(metaclass, getShape(metaclass), name, invokeMro, instanceSlotCount, bases));
+    }
+
+    public PMemoryView createMemoryView(Object cls, Object owner, Object buffer, int offset, boolean readonly, String formatString, BufferFormat format, int[] shape, int[] strides) {
+        return trace(new PMemoryView(cls, getShape(cls), owner, buffer, offset, readonly, formatString, format, shape, strides));
+    }
+
+    public PMemoryView createMemoryView(Object owner, Object buffer, int offset, boolean readonly, String formatString, BufferFormat format, int[] shape, int[] strides) {
+        return createMemoryView(PythonBuiltinClassType.PMemoryView, owner, buffer, offset, readonly, formatString, format, shape, strides);
     }
 
     public final PMethod createMethod(Object cls, Object self, Object function) {
@@ -574,6 +634,28 @@ public abstract class PythonObjectFactory extends Node {
         return trace(PGenerator.create(name, qualname, callTargets, frameDescriptor, arguments, closure, cellSlots, generatorInfo, this, iterator));
     }
 
+    public PGenerator createCoroutine(String name, String qualname, RootCallTarget[] callTargets, FrameDescriptor frameDescriptor, Object[] arguments, PCell[] closure, ExecutionCellSlots cellSlots,
+                    GeneratorInfo generatorInfo) {
+        return trace(PGenerator.create(PythonBuiltinClassType.PCoroutine, name, qualname, callTargets, frameDescriptor, arguments, closure, cellSlots, generatorInfo, this, null));
+    }
+
+    public PCoroutineWrapper createCoroutineWrapper(PGenerator coroutine) {
+        return trace(new PCoroutineWrapper(PythonBuiltinClassType.PCoroutineWrapper, PythonBuiltinClassType.PCoroutineWrapper.getInstanceShape(), coroutine));
+    }
+
+    public PGenerator createAsyncGenerator(String name, String qualname, RootCallTarget[] callTargets, FrameDescriptor frameDescriptor, Object[] arguments, PCell[] closure,
+                    ExecutionCellSlots cellSlots, GeneratorInfo generatorInfo) {
+        return trace(PGenerator.create(PythonBuiltinClassType.PAsyncGenerator, name, qualname, callTargets, frameDescriptor, arguments, closure, cellSlots, generatorInfo, this, null));
+    }
+
+    public PAsyncGenASend createAsyncGenASend(PGenerator asyncGenerator, Object sendValue) {
+        return trace(new PAsyncGenASend(PythonBuiltinClassType.PAsyncGenASend, PythonBuiltinClassType.PAsyncGenASend.getInstanceShape(), asyncGenerator, sendValue));
+    }
+
+    public PAsyncGenAThrow createAsyncGenAThrow(PGenerator asyncGenerator, Object type, Object value, Object traceback, boolean isClose) {
+        return trace(new PAsyncGenAThrow(PythonBuiltinClassType.PAsyncGenAThrow, PythonBuiltinClassType.PAsyncGenAThrow.getInstanceShape(), asyncGenerator, type, value, traceback, isClose));
+    }
+
     public PMappingproxy createMappingproxy(PythonObject object) {
         PythonBuiltinClassType mpClass = PythonBuiltinClassType.PMappingproxy;
         return trace(new PMappingproxy(mpClass, mpClass.getInstanceShape(), object));
@@ -843,8 +925,8 @@ public abstract class PythonObjectFactory extends Node {
                         filename, name, firstlineno, lnotab));
     }
 
-    public PZipImporter createZipImporter(Object cls, PDict zipDirectoryCache, String separator) {
-        return trace(new PZipImporter(cls, getShape(cls), zipDirectoryCache, separator));
+    public PZipImporter createZipImporter(Object cls, PDict zipDirectoryCache, ZipArchiveCleaner archiveCleaner, String separator) {
+        return trace(new PZipImporter(cls, getShape(cls), zipDirectoryCache, archiveCleaner, separator));
     }
 
     /*
@@ -907,12 +989,12 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PDirEntry(cls, getShape(cls), name, file));
     }
 
-    public PMMap createMMap(SeekableByteChannel channel, long length, long offset) {
-        return trace(new PMMap(PythonBuiltinClassType.PMMap, PythonBuiltinClassType.PMMap.getInstanceShape(), channel, length, offset));
+    public PMMap createMMap(SeekableByteChannel writeBackChannel, ByteBuffer[] segments, long length, long offset, int access) {
+        return trace(new PMMap(PythonBuiltinClassType.PMMap, PythonBuiltinClassType.PMMap.getInstanceShape(), writeBackChannel, segments, length, offset, access));
     }
 
-    public PMMap createMMap(Object clazz, SeekableByteChannel channel, long length, long offset) {
-        return trace(new PMMap(clazz, getShape(clazz), channel, length, offset));
+    public PMMap createMMap(Object clazz, SeekableByteChannel writeBackChannel, ByteBuffer[] segments, long length, long offset, int access) {
+        return trace(new PMMap(clazz, getShape(clazz), writeBackChannel, segments, length, offset, access));
     }
 
     public PLZMACompressor createLZMACompressor(Object clazz, FinishableOutputStream lzmaStream, ByteArrayOutputStream bos) {
@@ -922,4 +1004,152 @@ public abstract class PythonObjectFactory extends Node {
     public PLZMADecompressor createLZMADecompressor(Object clazz, int format, int memlimit) {
         return trace(new PLZMADecompressor(clazz, getShape(clazz), format, memlimit));
     }
+
+    public PPoll createPoll(Object clazz, PollCleaner cleaner) {
+        return trace(new PPoll(clazz, getShape(clazz), cleaner));
+    }
+
+    public PBuffered createBuffered(Object clazz) {
+        return trace(new PBuffered(clazz, getShape(clazz)));
+    }
+
+    public PTextIO createTextIO(Object clazz) {
+        return trace(new PTextIO(clazz, getShape(clazz)));
+    }
+
+    public PJSONScanner createJSONScanner(Object clazz) {
+        return trace(new PJSONScanner(clazz, getShape(clazz)));
+    }
+
+    public PJSONEncoder createJSONEncoder(Object clazz) {
+        return trace(new PJSONEncoder(clazz, getShape(clazz)));
+    }
+
+    public PPickler createPickler(Object clazz) {
+        return trace(new PPickler(clazz, getShape(clazz)));
+    }
+
+    public PUnpickler createUnpickler(Object clazz) {
+        return trace(new PUnpickler(clazz, getShape(clazz)));
+    }
+
+    public PPickleBuffer createPickleBuffer(Object clazz, Object owner, boolean readonly) {
+        return trace(new PPickleBuffer(clazz, getShape(clazz), owner, readonly));
+    }
+
+    public PHashObject createHashObject(Object clazz, DigestEngine engine) {
+        return trace(new PHashObject(clazz, getShape(clazz), engine));
+    }
+
+    public PStruct createStruct(Object clazz) {
+        return trace(new PStruct(clazz, getShape(clazz)));
+    }
+
+    public PStructUnpackIterator createStructUnpackIterator(StructFormat format, Object buffer, int length) {
+        return trace(new PStructUnpackIterator(PythonBuiltinClassType.PStructUnpackIterator, PythonBuiltinClassType.PStructUnpackIterator.getInstanceShape(), format, buffer, length));
+    }
+
+    public PSREPattern createSREPattern(Object pattern, int flags, boolean binary, Object groupIndex, String[] groupNames, Object compiler, Object searchExec) {
+        return trace(new PSREPattern(PythonBuiltinClassType.PSREPattern, PythonBuiltinClassType.PSREPattern.getInstanceShape(), pattern, flags, binary, groupIndex, groupNames, compiler, searchExec));
+    }
+
+    public PSREMatch createSREMatch(PSREPattern pattern, Object string, Object input, int pos, int endpos, int[] bounds) {
+        return trace(new PSREMatch(PythonBuiltinClassType.PSREMatch, PythonBuiltinClassType.PSREMatch.getInstanceShape(), pattern, string, input, pos, endpos, bounds));
+    }
+
+    public PSREScanner createSREScanner(PSREPattern pattern, Object string, Object input, int pos, int endpos) {
+        return trace(new PSREScanner(PythonBuiltinClassType.PSREScanner, PythonBuiltinClassType.PSREScanner.getInstanceShape(), pattern, string, input, pos, endpos));
+    }
+
+    public PDeque createDeque(Object clazz) {
+        return trace(new PDeque(clazz, getShape(clazz)));
+    }
+
+    public PDequeIterator createDequeIterator(PDeque deque) {
+        return trace(new PDequeIterator(PythonBuiltinClassType.PDequeIter, PythonBuiltinClassType.PDequeIter.getInstanceShape(), deque, false));
+    }
+
+    public PDequeIterator createDequeReverseIterator(PDeque deque) {
+        return trace(new PDequeIterator(PythonBuiltinClassType.PDequeRevIter, PythonBuiltinClassType.PDequeRevIter.getInstanceShape(), deque, true));
+    }
+
+    public PAccumulate createAccumulate(Object cls, Object iterator, Object function, Object initial) {
+        return trace(new PAccumulate(cls, getShape(cls), iterator, function, initial));
+    }
+
+    public PChain createChain(Object cls, Object source) {
+        return trace(new PChain(cls, getShape(cls), source));
+    }
+
+    public PCombinations createCombinations(Object cls, Object[] pool, int r, int[] indices, boolean stopped) {
+        return trace(new PCombinations(cls, getShape(cls), pool, r, indices, stopped));
+    }
+
+    public PCompress createCompress(Object cls, Object data, Object selectors) {
+        return trace(new PCompress(cls, getShape(cls), data, selectors));
+    }
+
+    public PCount createCount(Object cls, Object start, Object step) {
+        return trace(new PCount(cls, getShape(cls), start, step));
+    }
+
+    public PCycle createCycle(Object cls, Object iterator) {
+        return trace(new PCycle(cls, getShape(cls), iterator));
+    }
+
+    public PDropwhile createDropwhile(Object cls, Object predicate, Object iterator) {
+        return trace(new PDropwhile(cls, getShape(cls), predicate, iterator));
+    }
+
+    public PFilterfalse createFilterfalse(Object cls, Object function, Object iterator) {
+        return trace(new PFilterfalse(cls, getShape(cls), function, iterator));
+    }
+
+    public PGroupBy createGroupBy(Object cls, Object iterator, Object keyFunction) {
+        return trace(new PGroupBy(cls, getShape(cls), iterator, keyFunction));
+    }
+
+    public PGrouper createGrouper(Object cls, PGroupBy parent, Object targetKey) {
+        return trace(new PGrouper(cls, getShape(cls), parent, targetKey));
+    }
+
+    public PIslice createIslice(Object cls, Object iterator, PSequence sequence, int start, int stop, int step) {
+        return trace(new PIslice(cls, getShape(cls), iterator, sequence, start, stop, step));
+    }
+
+    public PPermutations createPermutations(Object cls, Object[] pool, int r) {
+        return trace(new PPermutations(cls, getShape(cls), pool, r));
+    }
+
+    public PProduct createProduct(Object cls, Object[][] pools) {
+        return trace(new PProduct(cls, getShape(cls), pools));
+    }
+
+    public PRepeat createRepeat(Object cls, Object element, int count) {
+        return trace(new PRepeat(cls, getShape(cls), element, count));
+    }
+
+    public PStarmap createStarmap(Object cls, Object function, Object iterator) {
+        return trace(new PStarmap(cls, getShape(cls), function, iterator));
+    }
+
+    public PTakewhile createTakewhile(Object cls, Object predicate, Object iterator) {
+        return trace(new PTakewhile(cls, getShape(cls), predicate, iterator));
+    }
+
+    public PTee createTee(Object cls, TeeDataObject dataObject, int index) {
+        return trace(new PTee(cls, getShape(cls), dataObject, index));
+    }
+
+    public PZipLongest createZipLongest(Object cls, Object[] iterators, Object fillValue) {
+        return trace(new PZipLongest(cls, getShape(cls), iterators, fillValue));
+    }
+
+    public PPartial createPartial(Object cls, Object function, PTuple args, PDict keywords) {
+        return trace(new PPartial(cls, getShape(cls), function, args, keywords));
+    }
+
+    public PLruCacheWrapper createLruCacheWrapper(Object cls, Object function, int maxSize, boolean typed, Object cacheInfoType) {
+        return trace(new PLruCacheWrapper(cls, getShape(cls), function, maxSize, typed, cacheInfoType));
+    }
 }
@@ -45,6 +45,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import com.oracle.graal.python.builtins.objects.type.PythonAbstractClass;
 import com.oracle.graal.python.nodes.PGuards;
@@ -60,7 +63,15 @@ import com.oracle.truffle.api.utilities.CyclicAssumption;
 
 public final class MroSequenceStorage extends TypedSequenceStorage {
 
+    private static final AtomicInteger NEXT_VERSION_TAG = new AtomicInteger();
+
     private final String className;
+
+    /**
+     * Identifies the current state of the MRO. A new tag is assigned whenever the MRO changes, so
+     * entries keyed on the tag become unreachable.
+     */
+    private int versionTag = NEXT_VERSION_TAG.incrementAndGet();
     /**
      * This assumption will be invalidated whenever the mro changes.
      */
@@ -72,6 +83,12 @@ public final class MroSequenceStorage extends TypedSequenceStorage {
      */
     private final Map<String, List<Assumption>> attributesInMROFinalAssumptions;
 
+    /**
+     * The assumption per attribute name that is shared by all type attribute cache entries for this
+     * MRO. It is registered with all classes in the MRO and reused until it is invalidated.
+     */
+    private final Map<String, Assumption> sharedAttributeAssumptions = new ConcurrentHashMap<>();
+
     @CompilationFinal(dimensions = 1) private PythonAbstractClass[] values;
 
     @CompilationFinal private boolean initialized = false;
@@ -302,10 +319,33 @@ public final class MroSequenceStorage extends TypedSequenceStorage {
         attrAssumptions.add(assumption);
     }
 
+    /**
+     * Returns the assumption that the lookup of {@code name} in this MRO does not change, creating
+     * and registering a new one with all classes in the MRO if the previous one was invalidated.
+     * {@code getMro} is used to get the MROs of the classes in this MRO.
+     */
+    @TruffleBoundary
+    public Assumption getSharedAttributeInMROFinalAssumption(String name, Function<Object, MroSequenceStorage> getMro) {
+        Assumption assumption = sharedAttributeAssumptions.computeIfAbsent(name, k -> createSharedAttributeInMROFinalAssumption(k, getMro));
+        if (!assumption.isValid()) {
+            // replace the invalidated assumption unless another thread already did
+            assumption = sharedAttributeAssumptions.compute(name, (k, existing) -> existing != null && existing.isValid() ? existing : createSharedAttributeInMROFinalAssumption(k, getMro));
+        }
+        return assumption;
+    }
+
+    private Assumption createSharedAttributeInMROFinalAssumption(String name, Function<Object, MroSequenceStorage> getMro) {
+        Assumption assumption = createAttributeInMROFinalAssumption(name);
+        for (int i = 1; i < length; i++) {
+            getMro.apply(values[i]).addAttributeInMROFinalAssumption(name, assumption);
+        }
+        return assumption;
+    }
+
     @TruffleBoundary
     public void invalidateAttributeInMROFinalAssumptions(String name) {
-        List<Assumption> assumptions = attributesInMROFinalAssumptions.getOrDefault(name, new ArrayList<>());
-        if (!assumptions.isEmpty()) {
+        List<Assumption> assumptions = attributesInMROFinalAssumptions.remove(name);
+        if (assumptions != null && !assumptions.isEmpty()) {
             String message = getClassName() + "." + name;
             for (Assumption assumption : assumptions) {
                 assumption.invalidate(message);
@@ -315,22 +355,30 @@ public final class MroSequenceStorage extends TypedSequenceStorage {
 
     public void lookupChanged() {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        for (List<Assumption> list : attributesInMROFinalAssumptions.values()) {
-            for (Assumption assumption : list) {
-                assumption.invalidate();
-            }
-        }
+        invalidateAllAttributeInMROFinalAssumptions();
         lookupStableAssumption.invalidate();
     }
 
     public void lookupChanged(String msg) {
         CompilerDirectives.transferToInterpreterAndInvalidate();
+        invalidateAllAttributeInMROFinalAssumptions();
+        lookupStableAssumption.invalidate(msg);
+    }
+
+    private void invalidateAllAttributeInMROFinalAssumptions() {
         for (List<Assumption> list : attributesInMROFinalAssumptions.values()) {
             for (Assumption assumption : list) {
                 assumption.invalidate();
             }
         }
-        lookupStableAssumption.invalidate(msg);
+        // invalidated assumptions stay invalid, there is no need to keep them
+        attributesInMROFinalAssumptions.clear();
+        sharedAttributeAssumptions.clear();
+        versionTag = NEXT_VERSION_TAG.incrementAndGet();
+    }
+
+    public int getVersionTag() {
+        return versionTag;
     }
 
     @Override
@@ -498,9 +498,11 @@ class FileIO(_RawIOBase):
     def readinto(self, rwbuffer):
         self._checkClosed()
         self._checkReadable()
-        length = len(rwbuffer)
-        buf = _os.read(self.__fd__, length)
-        rwbuffer[:] = buf
+        if isinstance(rwbuffer, (bytearray, memoryview)):
+            # reads straight into the buffer
+            return _os._readinto(self.__fd__, rwbuffer)
+        buf = _os.read(self.__fd__, len(rwbuffer))
+        rwbuffer[:len(buf)] = buf
         return len(buf)
 
     def readall(self):
@@ -571,30 +573,14 @@ class StringIO(_TextIOBase):
     pass
 
 
-class BufferedReader(_BufferedIOBase):
-    pass
-
-
-class BufferedWriter(_BufferedIOBase):
-    pass
-
-
 class BufferedRWPair(_BufferedIOBase):
     pass
 
 
-class BufferedRandom(_BufferedIOBase):
-    pass
-
-
 class IncrementalNewlineDecoder(object):
     pass
 
 
-class TextIOWrapper(_TextIOBase):
-    pass
-
-
 def open(*args, **kwargs):
     raise NotImplementedError
 
@@ -23,8 +23,7 @@
 
 def __reduce__(obj, proto=0):
     if proto >= 2:
-        descr = getattr(w_obj, '__getnewargs_ex__', None)
-        hasargs = True
+        descr = getattr(obj, '__getnewargs_ex__', None)
         if descr is not None:
             result = descr()
             if not isinstance(result, tuple):
@@ -33,28 +32,19 @@ def __reduce__(obj, proto=0):
             if n != 2:
                 raise ValueError("__getnewargs_ex__ should return a tuple of length 2, not %d", n)
             args, kwargs = result
-            if isinstance(args, tuple):
+            if not isinstance(args, tuple):
                 raise TypeError("first item of the tuple returned by __getnewargs_ex__ must be a tuple, not '%s'", type(args))
             if not isinstance(kwargs, dict):
                 raise TypeError("second item of the tuple returned by __getnewargs_ex__ must be a dict, not '%s'", type(kwargs))
         else:
             descr = getattr(obj, '__getnewargs__', None)
             if descr is not None:
-                args = descr(obj)
+                args = descr()
                 if not isinstance(args, tuple):
                     raise TypeError("__getnewargs__ should return a tuple, not '%s'", type(args))
             else:
-                hasargs = False
                 args = tuple()
             kwargs = None
-        getstate = getattr(obj, '__getstate__')
-        if getstate is None:
-            required = (not hasargs and
-                not isinstance(obj, list) and
-                not isinstance(obj, dict))
-            obj_type = type(obj)
-            if required:
-                raise TypeError("cannot pickle %s objects", obj_type)
         return reduce_2(obj, proto, args, kwargs)
     return reduce_1(obj, proto)
 
@@ -111,13 +101,10 @@ def reduce_2(obj, proto, args, kwargs):
     if not kwargs:
        newobj = copyreg.__newobj__
        args2 = (cls,) + args
-    elif proto >= 4:
+    else:
+       # the pickler emulates NEWOBJ_EX for protocols < 4
        newobj = copyreg.__newobj_ex__
        args2 = (cls, args, kwargs)
-    else:
-       raise ValueError("must use protocol 4 or greater to copy this "
-                        "object; since __getnewargs_ex__ returned "
-                        "keyword arguments.")
     state = _getstate(obj)
     listitems = iter(obj) if isinstance(obj, list) else None
     dictitems = iter(obj.items()) if isinstance(obj, dict) else None
@@ -144,14 +131,11 @@ def slotnames(cls):
 
 
 def __reduce_ex__(obj, proto=0):
-    obj_reduce = getattr(obj, "__reduce__", None)
-    if obj_reduce is not None:
-        # Check if __reduce__ has been overridden:
-        # "type(obj).__reduce__ is not object.__reduce__"
-        cls_reduce = getattr(type(obj), "__reduce__", None)
-        override = cls_reduce is not obj_reduce
-        if override:
-            return obj_reduce()
+    # Check if __reduce__ has been overridden:
+    # "type(obj).__reduce__ is not object.__reduce__"
+    cls_reduce = getattr(type(obj), "__reduce__", None)
+    if cls_reduce is not None and cls_reduce is not __reduce__:
+        return obj.__reduce__()
     return __reduce__(obj, proto)
 
 
@@ -61,18 +61,94 @@ import builtins
 # ----------------------------------------------------------------------------------------------------------------------
 
 @__graalpython__.builtin
-def open(*args, **kwargs):
-    return _pyio.open(*args, **kwargs)
+def open(file, mode="r", buffering=-1, encoding=None, errors=None, newline=None, closefd=True, opener=None):
+    # the mode handling mirrors _pyio.open, but the buffered and text layers are the Java
+    # implementations from _io
+    if not isinstance(file, int):
+        file = _pyio.os.fspath(file)
+    if not isinstance(file, (str, bytes, int)):
+        raise TypeError("invalid file: %r" % file)
+    if not isinstance(mode, str):
+        raise TypeError("invalid mode: %r" % mode)
+    if not isinstance(buffering, int):
+        raise TypeError("invalid buffering: %r" % buffering)
+    if encoding is not None and not isinstance(encoding, str):
+        raise TypeError("invalid encoding: %r" % encoding)
+    if errors is not None and not isinstance(errors, str):
+        raise TypeError("invalid errors: %r" % errors)
+    modes = set(mode)
+    if modes - set("axrwb+tU") or len(mode) > len(modes):
+        raise ValueError("invalid mode: %r" % mode)
+    creating = "x" in modes
+    reading = "r" in modes
+    writing = "w" in modes
+    appending = "a" in modes
+    updating = "+" in modes
+    text = "t" in modes
+    binary = "b" in modes
+    if "U" in modes:
+        if creating or writing or appending or updating:
+            raise ValueError("mode U cannot be combined with 'x', 'w', 'a', or '+'")
+        import warnings
+        warnings.warn("'U' mode is deprecated", DeprecationWarning, 2)
+        reading = True
+    if text and binary:
+        raise ValueError("can't have text and binary mode at once")
+    if creating + reading + writing + appending > 1:
+        raise ValueError("can't have read/write/append mode at once")
+    if not (creating or reading or writing or appending):
+        raise ValueError("must have exactly one of read/write/append mode")
+    if binary and encoding is not None:
+        raise ValueError("binary mode doesn't take an encoding argument")
+    if binary and errors is not None:
+        raise ValueError("binary mode doesn't take an errors argument")
+    if binary and newline is not None:
+        raise ValueError("binary mode doesn't take a newline argument")
+    if binary and buffering == 1:
+        import warnings
+        warnings.warn("line buffering (buffering=1) isn't supported in binary "
+                      "mode, the default buffer size will be used",
+                      RuntimeWarning, 2)
+    raw = _pyio.FileIO(file,
+                       (creating and "x" or "") +
+                       (reading and "r" or "") +
+                       (writing and "w" or "") +
+                       (appending and "a" or "") +
+                       (updating and "+" or ""),
+                       closefd, opener=opener)
+    result = raw
+    try:
+        line_buffering = False
+        if buffering == 1 or buffering < 0 and raw.isatty():
+            buffering = -1
+            line_buffering = True
+        if buffering < 0:
+            buffering = _io.DEFAULT_BUFFER_SIZE
+        if buffering == 0:
+            if binary:
+                return result
+            raise ValueError("can't have unbuffered text I/O")
+        if updating:
+            buffer = _io.BufferedRandom(raw, buffering)
+        elif creating or writing or appending:
+            buffer = _io.BufferedWriter(raw, buffering)
+        else:
+            buffer = _io.BufferedReader(raw, buffering)
+        result = buffer
+        if binary:
+            return result
+        result = _io.TextIOWrapper(buffer, encoding, errors, newline, line_buffering)
+        result.mode = mode
+        return result
+    except:
+        result.close()
+        raise
 
 
 for module in [_io, io]:
     setattr(module, 'open', open)
-    setattr(module, 'TextIOWrapper', _pyio.TextIOWrapper)
     setattr(module, 'IncrementalNewlineDecoder', _pyio.IncrementalNewlineDecoder)
-    setattr(module, 'BufferedRandom', _pyio.BufferedRandom)
     setattr(module, 'BufferedRWPair', _pyio.BufferedRWPair)
-    setattr(module, 'BufferedWriter', _pyio.BufferedWriter)
-    setattr(module, 'BufferedReader', _pyio.BufferedReader)
     setattr(module, 'StringIO', _pyio.StringIO)
     setattr(module, '_IOBase', _pyio.IOBase)
     setattr(module, 'BufferedIOBase', _pyio.BufferedIOBase)
@@ -82,33 +158,29 @@ for module in [_io, io]:
     setattr(module, '_TextIOBase', _pyio.TextIOBase)
 
 
+for cls in [_io.BufferedReader, _io.BufferedWriter, _io.BufferedRandom]:
+    _pyio.BufferedIOBase.register(cls)
+_pyio.TextIOBase.register(_io.TextIOWrapper)
+
+
 setattr(builtins, 'open', open)
 
 
-sys.stdin = _pyio.TextIOWrapper(_pyio.BufferedReader(sys.stdin), encoding="utf-8", line_buffering=True)
-sys.stdin.mode = "r"
-sys.__stdin__ = sys.stdin
-sys.stdout = _pyio.TextIOWrapper(_pyio.BufferedWriter(sys.stdout), encoding="utf-8", line_buffering=True)
-sys.stdout.mode = "w"
-sys.__stdout__ = sys.stdout
-sys.stderr = _pyio.TextIOWrapper(_pyio.BufferedWriter(sys.stderr), encoding="utf-8", line_buffering=True)
-sys.stderr.mode = "w"
-sys.__stderr__ = sys.stderr
-
-
-# Try to close the std streams when we exit. This currently doesn't work due to GR-25185
-# To make this work reliably, we probably have to implement the _io module in Java
-# import atexit
-# def close_stdouts(so=sys.stdout, se=sys.stderr):
-#     try:
-#         so.close()
-#     except:
-#         pass
-#     try:
-#         se.close()
-#     except:
-#         pass
-# atexit.register(close_stdouts)
+def _std_stream(fd, mode, name):
+    raw = _pyio.FileIO(fd, mode, closefd=False)
+    raw.name = name
+    if mode == "r":
+        buffer = _io.BufferedReader(raw)
+    else:
+        buffer = _io.BufferedWriter(raw)
+    stream = _io.TextIOWrapper(buffer, encoding="utf-8", line_buffering=True)
+    stream.mode = mode
+    return stream
+
+
+sys.stdin = sys.__stdin__ = _std_stream(0, "r", "<stdin>")
+sys.stdout = sys.__stdout__ = _std_stream(1, "w", "<stdout>")
+sys.stderr = sys.__stderr__ = _std_stream(2, "w", "<stderr>")
 
 
 # See comment in _pyio.py. This method isn't strictly necessary and is provided
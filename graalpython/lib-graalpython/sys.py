@@ -167,6 +167,38 @@ def addaudithook(hook):
     pass
 
 
+def make_asyncgen_hooks():
+    from _descriptor import make_named_tuple_class
+    asyncgen_hooks = make_named_tuple_class("asyncgen_hooks", ["firstiter", "finalizer"])
+    # the hooks are only stored, async generators do not call them yet
+    hooks = asyncgen_hooks((None, None))
+
+    def get_asyncgen_hooks():
+        return hooks
+
+    def set_asyncgen_hooks(*args, **kwargs):
+        nonlocal hooks
+        if len(args) > 2:
+            raise TypeError("set_asyncgen_hooks() takes at most 2 positional arguments (%d given)" % len(args))
+        names = ("firstiter", "finalizer")
+        new_hooks = list(hooks)
+        for i, value in enumerate(args):
+            kwargs[names[i]] = value
+        for name, value in kwargs.items():
+            if name not in names:
+                raise TypeError("set_asyncgen_hooks() got an unexpected keyword argument '%s'" % name)
+            if value is not None and not callable(value):
+                raise TypeError("callable %s expected, got %s" % (name, type(value).__name__))
+            new_hooks[names.index(name)] = value
+        hooks = asyncgen_hooks(new_hooks)
+
+    return get_asyncgen_hooks, set_asyncgen_hooks
+
+
+get_asyncgen_hooks, set_asyncgen_hooks = make_asyncgen_hooks()
+del make_asyncgen_hooks
+
+
 @__graalpython__.builtin
 def exit(arg=0):
     raise SystemExit(arg)
@@ -82,13 +82,3 @@ def __subclasshook(cls, subclass):
 
 type.__subclasshook__ = classmethod(__subclasshook)
 
-
-# TODO -----------------------------------------------------------------------------------------------------------------
-# TODO: REMOVEME, temporary patch for coroutines
-async def _c(): pass
-_c = _c()
-def _coro_close():
-    pass
-ctype = type(_c)
-ctype.close = _coro_close
-# TODO -----------------------------------------------------------------------------------------------------------------
@@ -1199,19 +1199,12 @@ def import_python_sources(args):
 
     # mappings for files that are renamed
     mapping = {
-        "memoryobject.c": "_memoryview.c",
         "_sre.c": "_cpython_sre.c",
         "unicodedata.c": "_cpython_unicodedata.c",
         "_bz2module.c": "_bz2.c",
         "mmapmodule.c": "_mmap.c",
-        "_struct.c": "_cpython_struct.c",
     }
-    extra_pypy_files = [
-        "graalpython/lib-python/3/_md5.py",
-        "graalpython/lib-python/3/_sha1.py",
-        "graalpython/lib-python/3/_sha256.py",
-        "graalpython/lib-python/3/_sha512.py",
-    ]
+    extra_pypy_files = []
 
     parser = ArgumentParser(prog='mx python-src-import')
     parser.add_argument('--cpython', action='store', help='Path to CPython sources', required=True)
@@ -55,6 +55,7 @@ MICRO_BENCHMARKS = {
     'arith-binop': ITER_10 + ['5'],
     'arith-modulo-sized': ITER_10 + ['500'],
     'attribute-access-polymorphic': ITER_10 + ['1000'],
+    'attribute-access-megamorphic': ITER_10 + ['1000'],
     'attribute-access': ITER_10 + ['5000'],
     'attribute-access-super': ITER_10 + ['5_000'],
     'attribute-bool': ITER_10 + ['3000'],
@@ -69,6 +70,8 @@ MICRO_BENCHMARKS = {
     'generator-notaligned-sized': ITER_10 + ['30_000'],
     'generator-sized': ITER_10 + ['30_000'],
     'genexp-builtin-call-sized': ITER_10 + ['50_000'],
+    'heapq-push-pop-sized': ITER_10 + ['1_000_000'],
+    'heapq-priority-queue': ITER_10 + ['1_000_000'],
     'list-comp': ITER_10 + ['5000'],
     'list-indexing': ITER_10 + ['1000000'],
     'list-indexing-from-constructor': ITER_10 + ['10000000'],
@@ -80,7 +83,10 @@ MICRO_BENCHMARKS = {
     'dict-getitem-sized': ITER_10 + ['50_000_000'],
     'math-sqrt': ITER_10 + ['500000000'],
     'object-allocate': ITER_10 + ['5000'],
+    'object-allocate-slots': ITER_10 + ['5000'],
     'object-layout-change': ITER_10 + ['1000000'],
+    'socket-udp-batch': ITER_10 + ['100_000'],
+    'posix-io-threads': ITER_10 + ['50_000'],
     'special-add-int-sized': ITER_10 + ['20_000'],
     'special-add-sized': ITER_10 + ['20_000'],
     'special-len': ITER_10 + ['5'],
@@ -168,6 +174,7 @@ MESO_BENCHMARKS = {
     'raytrace-simple': ITER_10 + [],
     'lud': ITER_10 + ['512'],
     'mm': ITER_10 + ['10'],
+    'json-dumps-loads': ITER_10 + ['200'],
     # Rodinia
     'backprop_rodinia': ITER_10 + ['1048576'],
     'lavaMD_rodinia': ITER_10 + ['32'],
@@ -179,6 +186,8 @@ MESO_BENCHMARKS = {
 
 MACRO_BENCHMARKS = {
     'gcbench': ITER_10 + ['10'],
+    'import-package-cold': ITER_10 + ['1000'],
+    'import-package-warm': ITER_10 + ['1000'],
 }
 
 